@@ -17,3 +17,58 @@
 --bus_objct_frmt
 
 alter table bus_objct_frmt add column doc_schm_tx text;
+
+--strge_file_mnfst
+
+create table strge_file_mnfst
+(
+    strge_file_mnfst_id BIGINT          NOT NULL,
+    mnfst_bn            BYTEA           NOT NULL,
+    file_ct             INTEGER         NOT NULL,
+    s3_key_pfx_tx       VARCHAR(1024)   NOT NULL,
+    creat_ts            TIMESTAMP       NOT NULL DEFAULT ('now'::text)::timestamp without time zone,
+    creat_user_id       VARCHAR(100)    NOT NULL,
+    updt_ts             TIMESTAMP       NOT NULL DEFAULT ('now'::text)::timestamp without time zone,
+    updt_user_id        VARCHAR(100)    NOT NULL
+);
+
+alter table strge_file_mnfst add constraint strge_file_mnfst_pk primary key (strge_file_mnfst_id);
+
+create sequence strge_file_mnfst_seq;
+
+create index strge_file_mnfst_ix1 on strge_file_mnfst (s3_key_pfx_tx);
+
+--strge_file
+
+alter sequence strge_file_seq increment by 50;
+
+--strge_unit
+
+alter table strge_unit add column strge_file_mnfst_id BIGINT;
+
+alter table strge_unit add constraint strge_unit_fk5 foreign key (strge_file_mnfst_id) references strge_file_mnfst (strge_file_mnfst_id);
+
+create unique index strge_unit_ix5 on strge_unit (strge_file_mnfst_id);
+
+--cache_evctn_evnt
+
+create table cache_evctn_evnt
+(
+    cache_evctn_evnt_id BIGINT          NOT NULL,
+    cache_nm            VARCHAR(255)    NOT NULL,
+    creat_ts            TIMESTAMP       NOT NULL DEFAULT ('now'::text)::timestamp without time zone,
+    creat_user_id       VARCHAR(100)    NOT NULL,
+    updt_ts             TIMESTAMP       NOT NULL DEFAULT ('now'::text)::timestamp without time zone,
+    updt_user_id        VARCHAR(100)    NOT NULL
+);
+
+alter table cache_evctn_evnt add constraint cache_evctn_evnt_pk primary key (cache_evctn_evnt_id);
+
+create index cache_evctn_evnt_ix1 on cache_evctn_evnt (creat_ts);
+
+create sequence cache_evctn_evnt_seq;
+
+--scrty_fn_lk
+
+insert into scrty_fn_lk (scrty_fn_cd, creat_ts, creat_user_id, updt_ts, updt_user_id)
+values ('FN_METRICS_GET', current_timestamp, 'SYSTEM', current_timestamp, 'SYSTEM');
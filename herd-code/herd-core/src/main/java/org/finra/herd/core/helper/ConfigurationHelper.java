@@ -16,6 +16,10 @@
 package org.finra.herd.core.helper;
 
 import java.math.BigDecimal;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
 
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
@@ -39,6 +43,11 @@ public class ConfigurationHelper
     @Autowired
     private Environment environment;
 
+    /**
+     * The values converted from the environment property values, keyed by configuration value.
+     */
+    private final ConcurrentMap<ConfigurationValue, ParsedValue> parsedValues = new ConcurrentHashMap<>();
+
     /**
      * Calls {@link #getProperty(ConfigurationValue, Class, Environment)} using String targetType.
      *
@@ -160,7 +169,7 @@ public class ConfigurationHelper
      */
     public Boolean getBooleanProperty(ConfigurationValue configurationValue)
     {
-        return getBooleanProperty(configurationValue, environment);
+        return getParsedProperty(configurationValue, CustomBooleanEditor.class, () -> getBooleanProperty(configurationValue, environment));
     }
 
     /**
@@ -237,7 +246,8 @@ public class ConfigurationHelper
     }
 
     /**
-     * Calls {@link #getProperty(ConfigurationValue, Class, Environment)}
+     * Calls {@link #getProperty(ConfigurationValue, Class, Environment)}. Values of other types than {@link String} are converted only when the property's
+     * string value in the environment changes.
      *
      * @param configurationValue The {@link ConfigurationValue}
      * @param targetType The return type
@@ -246,7 +256,13 @@ public class ConfigurationHelper
      */
     public <T> T getProperty(ConfigurationValue configurationValue, Class<T> targetType)
     {
-        return getProperty(configurationValue, targetType, environment);
+        // The string values do not need any conversion.
+        if (String.class.equals(targetType))
+        {
+            return getProperty(configurationValue, targetType, environment);
+        }
+
+        return getParsedProperty(configurationValue, targetType, () -> getProperty(configurationValue, targetType, environment));
     }
 
     /**
@@ -281,6 +297,37 @@ public class ConfigurationHelper
         return property;
     }
 
+    /**
+     * Gets a property value converted from its string value in the environment. The converted value is reused for as long as the property keeps the same
+     * string value in the environment, so the conversion is not repeated on each call.
+     *
+     * @param configurationValue the configuration value
+     * @param conversionType the type identifying the conversion, since the same configuration value might get converted in different ways
+     * @param converter the converter that gets the converted property value from the environment
+     *
+     * @return the converted property value
+     */
+    private <T> T getParsedProperty(ConfigurationValue configurationValue, Class<?> conversionType, Supplier<T> converter)
+    {
+        // Let the converter validate the parameters.
+        if (configurationValue == null || conversionType == null)
+        {
+            return converter.get();
+        }
+
+        String stringValue = environment.getProperty(configurationValue.getKey());
+        ParsedValue parsedValue = parsedValues.get(configurationValue);
+        if (parsedValue == null || !parsedValue.conversionType.equals(conversionType) || !Objects.equals(parsedValue.stringValue, stringValue))
+        {
+            parsedValue = new ParsedValue(conversionType, stringValue, converter.get());
+            parsedValues.put(configurationValue, parsedValue);
+        }
+
+        @SuppressWarnings("unchecked")
+        T value = (T) parsedValue.value;
+        return value;
+    }
+
     /**
      * Logs the error message, and then throws {@link IllegalStateException}
      *
@@ -300,4 +347,23 @@ public class ConfigurationHelper
         // This will produce a 500 HTTP status code error.
         throw illegalStateException;
     }
+
+    /**
+     * A property value converted from its string value in the environment.
+     */
+    private static class ParsedValue
+    {
+        private final Class<?> conversionType;
+
+        private final String stringValue;
+
+        private final Object value;
+
+        private ParsedValue(Class<?> conversionType, String stringValue, Object value)
+        {
+            this.conversionType = conversionType;
+            this.stringValue = stringValue;
+            this.value = value;
+        }
+    }
 }
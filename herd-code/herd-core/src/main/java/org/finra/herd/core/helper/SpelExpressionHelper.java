@@ -20,6 +20,8 @@ import java.util.Map;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.expression.Expression;
 import org.springframework.expression.ParseException;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 import org.springframework.stereotype.Component;
@@ -33,6 +35,13 @@ public class SpelExpressionHelper
     @Autowired
     private SpelExpressionParser spelExpressionParser;
 
+    /**
+     * The parser for expressions that get evaluated many times. The expressions it creates get compiled to bytecode once they have been interpreted a number
+     * of times and fall back to the interpreter whenever the compiled form can not handle the evaluation context.
+     */
+    private final SpelExpressionParser compilingSpelExpressionParser =
+        new SpelExpressionParser(new SpelParserConfiguration(SpelCompilerMode.MIXED, SpelExpressionHelper.class.getClassLoader()));
+
     /**
      * Evaluates the given expression string using the given variables as context variables.
      * 
@@ -78,6 +87,25 @@ public class SpelExpressionHelper
         }
     }
 
+    /**
+     * Parses the given expression string into a SpEL expression that gets compiled once it has been evaluated a number of times. The parsed expression is
+     * meant to be cached and evaluated many times by the caller.
+     * 
+     * @param expressionString The expression string
+     * @return The parsed expression
+     */
+    public Expression parseCompilableExpression(String expressionString)
+    {
+        try
+        {
+            return compilingSpelExpressionParser.parseExpression(expressionString);
+        }
+        catch (ParseException e)
+        {
+            throw new IllegalArgumentException("Error parsing SpEL \"" + expressionString + "\"", e);
+        }
+    }
+
     /**
      * Evaluates the given expression using the given variables as context variables.
      * 
@@ -24,6 +24,8 @@ import java.math.BigDecimal;
 
 import org.junit.Test;
 import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.env.MockPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import org.finra.herd.core.AbstractCoreTest;
 import org.finra.herd.model.dto.ConfigurationValue;
@@ -392,4 +394,61 @@ public class ConfigurationHelperTest extends AbstractCoreTest
             assertEquals(String.format("Configuration \"%s\" must have a value.", ConfigurationValue.HERD_ENVIRONMENT.getKey()), e.getMessage());
         }
     }
+
+    @Test
+    public void testGetPropertyInstanceConvertedValueUpdated()
+    {
+        ConfigurationValue configurationValue = ConfigurationValue.HERD_CACHE_MAX_ELEMENTS_IN_MEMORY;
+
+        // Create a configuration helper that reads the properties from a mock environment.
+        MockEnvironment environment = new MockEnvironment();
+        ConfigurationHelper configurationHelper = new ConfigurationHelper();
+        ReflectionTestUtils.setField(configurationHelper, "environment", environment);
+
+        // The default value is returned while the property is not set.
+        assertEquals(configurationValue.getDefaultValue(), configurationHelper.getProperty(configurationValue, Integer.class));
+
+        // The converted value is returned once the property is set and it is updated each time the property value changes.
+        environment.setProperty(configurationValue.getKey(), "100");
+        assertEquals(Integer.valueOf(100), configurationHelper.getProperty(configurationValue, Integer.class));
+        assertEquals(Integer.valueOf(100), configurationHelper.getProperty(configurationValue, Integer.class));
+        environment.setProperty(configurationValue.getKey(), "200");
+        assertEquals(Integer.valueOf(200), configurationHelper.getProperty(configurationValue, Integer.class));
+
+        // The default value is returned again once the property is removed.
+        environment.getPropertySources().remove(MockPropertySource.MOCK_PROPERTIES_PROPERTY_SOURCE_NAME);
+        assertEquals(configurationValue.getDefaultValue(), configurationHelper.getProperty(configurationValue, Integer.class));
+    }
+
+    @Test
+    public void testGetBooleanPropertyInstanceValueUpdated()
+    {
+        ConfigurationValue configurationValue = ConfigurationValue.USER_NAMESPACE_AUTHORIZATION_ENABLED;
+
+        // Create a configuration helper that reads the properties from a mock environment.
+        MockEnvironment environment = new MockEnvironment();
+        ConfigurationHelper configurationHelper = new ConfigurationHelper();
+        ReflectionTestUtils.setField(configurationHelper, "environment", environment);
+
+        environment.setProperty(configurationValue.getKey(), "true");
+        assertEquals(Boolean.TRUE, configurationHelper.getBooleanProperty(configurationValue));
+        environment.setProperty(configurationValue.getKey(), "false");
+        assertEquals(Boolean.FALSE, configurationHelper.getBooleanProperty(configurationValue));
+
+        // An invalid value keeps failing the conversion on each call.
+        environment.setProperty(configurationValue.getKey(), "NOT_A_BOOLEAN");
+        for (int i = 0; i < 2; i++)
+        {
+            try
+            {
+                configurationHelper.getBooleanProperty(configurationValue);
+                fail();
+            }
+            catch (IllegalStateException e)
+            {
+                assertEquals(String.format("Configuration \"%s\" has an invalid boolean value: \"NOT_A_BOOLEAN\".", configurationValue.getKey()),
+                    e.getMessage());
+            }
+        }
+    }
 }
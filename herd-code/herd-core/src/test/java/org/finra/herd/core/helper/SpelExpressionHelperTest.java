@@ -20,6 +20,7 @@ import java.util.Map;
 
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.expression.Expression;
 
 import org.finra.herd.core.AbstractCoreTest;
 
@@ -54,4 +55,37 @@ public class SpelExpressionHelperTest extends AbstractCoreTest
             assertEquals("Error parsing SpEL \"this is an invalid expression\"", e.getMessage());
         }
     }
+
+    @Test
+    public void parseCompilableExpressionAssertEvaluatesManyTimes()
+    {
+        Expression expression = spelExpressionHelper.parseCompilableExpression("#foo?.length()");
+
+        // Evaluate the expression often enough for it to get compiled, using a null value to make sure the compiled expression falls back when needed.
+        for (int i = 0; i < 200; i++)
+        {
+            Map<String, Object> variables = new HashMap<>();
+            variables.put("foo", "bar" + i);
+            assertEquals(("bar" + i).length(), (int) spelExpressionHelper.evaluate(expression, Integer.class, variables));
+        }
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("foo", null);
+        assertNull(spelExpressionHelper.evaluate(expression, Integer.class, variables));
+    }
+
+    @Test
+    public void parseCompilableExpressionAssertIllegalArgumentOnInvalidExpression()
+    {
+        String expressionString = "this is an invalid expression";
+        try
+        {
+            spelExpressionHelper.parseCompilableExpression(expressionString);
+            fail();
+        }
+        catch (Exception e)
+        {
+            assertEquals(IllegalArgumentException.class, e.getClass());
+            assertEquals("Error parsing SpEL \"this is an invalid expression\"", e.getMessage());
+        }
+    }
 }
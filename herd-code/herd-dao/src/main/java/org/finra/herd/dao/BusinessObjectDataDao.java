@@ -15,6 +15,7 @@
 */
 package org.finra.herd.dao;
 
+import java.sql.Timestamp;
 import java.util.List;
 import java.util.Map;
 
@@ -159,22 +160,35 @@ public interface BusinessObjectDataDao extends BaseJpaDao
 
     /**
      * Retrieves a map of business object data entities to their corresponding storage policy entities, where the business object data status is supported by
-     * the storage policy feature and the business object data alternate key values match storage policy's filter and transition (not taking into account
-     * storage policy rules). The storage policy priority level identifies a particular storage policy priority that will be selected by the query. The returned
-     * map is ordered by the business object data "created on" timestamp, starting with the oldest business object data entity.
+     * the storage policy feature and the business object data alternate key values match storage policy's filter and transition. The storage policy priority
+     * level identifies a particular storage policy priority that will be selected by the query. The returned map is ordered by the business object data
+     * "created on" timestamp and id, starting right after the specified last business object data, so the callers can page through the results without the
+     * database having to skip the rows of the earlier pages.
+     * <p>
+     * When the current timestamp is specified, the storage policy rules are also applied by the query: business object data matching a storage policy with
+     * DAYS_SINCE_BDATA_REGISTERED rule type must have been registered at least the rule value of days ago, and business object data matching a storage policy
+     * with DAYS_SINCE_BDATA_PRIMARY_PARTITION_VALUE rule type must have been last updated on or before the specified "updated on" threshold timestamp. The
+     * primary partition value of the business object data is not checked by the query. Business object data matching a storage policy with any other rule
+     * type is returned as is.
      *
      * @param storagePolicyPriorityLevel the storage policy priority level
      * @param supportedBusinessObjectDataStatuses the list of business object data statuses that storage policies apply to
      * @param storagePolicyTransitionMaxAllowedAttempts the maximum number of failed storage policy transition attempts before the relative storage unit gets
      * excluded from being selected. 0 means the maximum is not set
-     * @param startPosition the position of the first result, numbered from 0
+     * @param currentTimestamp the optional current timestamp used to apply the storage policy rules, may be null
+     * @param updatedOnThresholdTimestamp the "updated on" threshold timestamp for the DAYS_SINCE_BDATA_PRIMARY_PARTITION_VALUE storage policy rule type,
+     * ignored when the current timestamp is not specified
+     * @param lastBusinessObjectDataCreatedOn the "created on" timestamp of the last business object data entity retrieved by the previous call, or null to
+     * start from the beginning
+     * @param lastBusinessObjectDataId the id of the last business object data entity retrieved by the previous call, or null to start from the beginning
      * @param maxResult the maximum number of results to retrieve
      *
      * @return the map of business object data entities to their corresponding storage policy entities
      */
     public Map<BusinessObjectDataEntity, StoragePolicyEntity> getBusinessObjectDataEntitiesMatchingStoragePolicies(
         StoragePolicyPriorityLevel storagePolicyPriorityLevel, List<String> supportedBusinessObjectDataStatuses, int storagePolicyTransitionMaxAllowedAttempts,
-        int startPosition, int maxResult);
+        Timestamp currentTimestamp, Timestamp updatedOnThresholdTimestamp, Timestamp lastBusinessObjectDataCreatedOn, Integer lastBusinessObjectDataId,
+        int maxResult);
 
     /**
      * Retrieves a list of business object data by their partition value.
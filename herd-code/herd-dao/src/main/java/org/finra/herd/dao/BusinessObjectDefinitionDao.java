@@ -49,6 +49,17 @@ public interface BusinessObjectDefinitionDao extends BaseJpaDao
      */
     public List<BusinessObjectDefinitionEntity> getAllBusinessObjectDefinitionsByIds(List<Integer> ids);
 
+    /**
+     * Gets a chunk of business object definition ids sorted in ascending order, starting right after the specified id. This allows paging through all
+     * business object definitions defined in the system without the cost of skipping rows that an offset based pagination has.
+     *
+     * @param lastId the last business object definition id of the previous chunk, maybe null to get the first chunk
+     * @param maxResult the maximum number of results to retrieve
+     *
+     * @return the list of business object definition ids
+     */
+    public List<Integer> getBusinessObjectDefinitionIds(Integer lastId, int maxResult);
+
     /**
      * Gets a business object definition by key.
      *
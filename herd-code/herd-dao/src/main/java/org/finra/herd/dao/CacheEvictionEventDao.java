@@ -0,0 +1,42 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.dao;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import org.finra.herd.model.jpa.CacheEvictionEventEntity;
+
+public interface CacheEvictionEventDao extends BaseJpaDao
+{
+    /**
+     * Gets the cache eviction events created on or after the specified time.
+     *
+     * @param createdOnThreshold the threshold creation time
+     *
+     * @return the list of cache eviction events ordered by their sequence generated ids
+     */
+    public List<CacheEvictionEventEntity> getCacheEvictionEventsCreatedOnOrAfter(Timestamp createdOnThreshold);
+
+    /**
+     * Deletes the cache eviction events created before the specified time using a single delete statement.
+     *
+     * @param createdOnThreshold the threshold creation time
+     *
+     * @return the number of deleted cache eviction events
+     */
+    public int deleteCacheEvictionEventsCreatedBefore(Timestamp createdOnThreshold);
+}
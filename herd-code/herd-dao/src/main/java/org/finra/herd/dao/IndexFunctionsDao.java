@@ -58,6 +58,7 @@ public interface IndexFunctionsDao extends BaseJpaDao
      * @param indexName index name
      * @param documentType document type
      * @param documentMap document map
+     * @throws IllegalStateException if the bulk request fails, after resending the documents rejected by an overloaded Elasticsearch
      */
     public void createIndexDocuments(String indexName, String documentType, Map<String, String> documentMap);
 
@@ -0,0 +1,83 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.dao;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+@Component
+@Aspect
+public class MethodMetricsAdvice
+{
+    /**
+     * The name of the metrics of the herd DAO and DAO operations method calls.
+     */
+    public static final String DAO_METHOD_METRIC_NAME = "herd_dao_method";
+
+    @Autowired
+    private MetricsRegistry metricsRegistry;
+
+    /**
+     * A pointcut for all herd DAO methods.
+     */
+    @Pointcut("execution(* org.finra.herd.dao.*Dao.*(..))")
+    protected void daoMethods()
+    {
+        // Pointcut methods are defined by their annotation and don't have an implementation.
+    }
+
+    /**
+     * A pointcut for all herd DAO operations methods.
+     */
+    @Pointcut("execution(* org.finra.herd.dao.*Operations.*(..))")
+    protected void operationsMethods()
+    {
+        // Pointcut methods are defined by their annotation and don't have an implementation.
+    }
+
+    /**
+     * Around advice that records the method times for all DAO and DAO operations methods in the metrics registry.
+     *
+     * @param pjp the proceeding join point.
+     *
+     * @return the return value of the method we are advising.
+     * @throws Throwable if there were any problems executing the method.
+     */
+    @Around("daoMethods() || operationsMethods()")
+    public Object recordMethodTime(ProceedingJoinPoint pjp) throws Throwable
+    {
+        MetricsRegistry.MethodTimer methodTimer =
+            metricsRegistry.getMethodTimer(DAO_METHOD_METRIC_NAME, "herd DAO method calls", pjp.getTarget().getClass(), pjp.getSignature().getName());
+
+        long startTime = System.nanoTime();
+        boolean failed = true;
+        try
+        {
+            // Proceed to the join point (i.e. call the method and let it return).
+            Object returnValue = pjp.proceed();
+            failed = false;
+            return returnValue;
+        }
+        finally
+        {
+            methodTimer.record(System.nanoTime() - startTime, failed);
+        }
+    }
+}
@@ -0,0 +1,375 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.dao;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import org.finra.herd.core.helper.ConfigurationHelper;
+import org.finra.herd.model.dto.ConfigurationValue;
+
+/**
+ * The in-process registry of the herd metrics, which are written in the Prometheus text exposition format.
+ * <p/>
+ * The method timers record the method durations in microseconds into HdrHistogram recorders, which are wait-free for the recording threads. The timers are
+ * looked up by the metric name, the target class, and the method name without building any keys, so recording a method call does not allocate or format any
+ * strings. The labels of the timers are only rendered when the metrics are written.
+ */
+@Component
+public class MetricsRegistry
+{
+    /**
+     * The number of significant decimal digits of the recorded method durations.
+     */
+    private static final int NUMBER_OF_SIGNIFICANT_VALUE_DIGITS = 2;
+
+    @Autowired
+    private ConfigurationHelper configurationHelper;
+
+    private final ConcurrentMap<String, MethodTimerFamily> methodTimerFamilies = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, GaugeFamily> gaugeFamilies = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the timer of the specified method, creating it if it does not exist yet. The method durations are written as the "{metricName}_duration_seconds"
+     * summary and the failed method calls as the "{metricName}_errors_total" counter, both labeled by the class and method names.
+     *
+     * @param metricName the metric name
+     * @param help the description of the methods that are timed
+     * @param targetClass the class of the method
+     * @param methodName the method name
+     *
+     * @return the method timer
+     */
+    public MethodTimer getMethodTimer(String metricName, String help, Class<?> targetClass, String methodName)
+    {
+        MethodTimerFamily methodTimerFamily = methodTimerFamilies.get(metricName);
+        if (methodTimerFamily == null)
+        {
+            validateMetricName(metricName, gaugeFamilies);
+            methodTimerFamily = methodTimerFamilies.computeIfAbsent(metricName, name -> new MethodTimerFamily(help));
+        }
+
+        ConcurrentMap<String, MethodTimer> methodTimers = methodTimerFamily.methodTimers.get(targetClass);
+        if (methodTimers == null)
+        {
+            methodTimers = methodTimerFamily.methodTimers.computeIfAbsent(targetClass, clazz -> new ConcurrentHashMap<>());
+        }
+
+        MethodTimer methodTimer = methodTimers.get(methodName);
+        if (methodTimer == null)
+        {
+            methodTimer = methodTimers.computeIfAbsent(methodName, name -> new MethodTimer());
+        }
+
+        return methodTimer;
+    }
+
+    /**
+     * Registers a gauge whose value is read from the specified supplier whenever the metrics are written. A gauge registered again with the same metric name
+     * and label replaces the previous one.
+     *
+     * @param metricName the metric name
+     * @param help the description of the metric
+     * @param labelName the label name, may be null if the gauge has no label
+     * @param labelValue the label value
+     * @param valueSupplier the supplier of the gauge value
+     */
+    public void registerGauge(String metricName, String help, String labelName, String labelValue, DoubleSupplier valueSupplier)
+    {
+        validateMetricName(metricName, methodTimerFamilies);
+        String labels = labelName == null ? "" : "{" + formatLabel(labelName, labelValue) + "}";
+        gaugeFamilies.computeIfAbsent(metricName, name -> new GaugeFamily(help)).gauges.put(labels, valueSupplier);
+    }
+
+    /**
+     * Writes all metrics in the Prometheus text exposition format. The method duration quantiles are configured by the "metrics.percentiles" configuration
+     * value and cover all method calls since the start of this herd node.
+     *
+     * @param writer the writer to write the metrics to
+     *
+     * @throws IOException if an I/O error occurred while writing the metrics
+     */
+    public void writeMetrics(Writer writer) throws IOException
+    {
+        List<Double> quantiles = getQuantiles();
+
+        for (Map.Entry<String, MethodTimerFamily> familyEntry : new TreeMap<>(methodTimerFamilies).entrySet())
+        {
+            // Take the snapshots of all timers of the family first, so the summary and the counter of the family are consistent.
+            Map<String, MethodTimerSnapshot> snapshots = new TreeMap<>();
+            for (Map.Entry<Class<?>, ConcurrentMap<String, MethodTimer>> classEntry : familyEntry.getValue().methodTimers.entrySet())
+            {
+                for (Map.Entry<String, MethodTimer> methodEntry : classEntry.getValue().entrySet())
+                {
+                    String labels = formatLabel("class", classEntry.getKey().getName()) + "," + formatLabel("method", methodEntry.getKey());
+                    snapshots.put(labels, methodEntry.getValue().getSnapshot(quantiles));
+                }
+            }
+
+            String durationMetricName = familyEntry.getKey() + "_duration_seconds";
+            writeHeader(writer, durationMetricName, "The durations of the " + familyEntry.getValue().help + " in seconds.", "summary");
+            for (Map.Entry<String, MethodTimerSnapshot> snapshotEntry : snapshots.entrySet())
+            {
+                MethodTimerSnapshot snapshot = snapshotEntry.getValue();
+                for (int i = 0; i < quantiles.size(); i++)
+                {
+                    writeSample(writer, durationMetricName,
+                        "{" + snapshotEntry.getKey() + "," + formatLabel("quantile", String.valueOf(quantiles.get(i))) + "}",
+                        toSeconds(snapshot.quantileValues[i]));
+                }
+                writeSample(writer, durationMetricName + "_sum", "{" + snapshotEntry.getKey() + "}", toSeconds(snapshot.sumMicroseconds));
+                writeSample(writer, durationMetricName + "_count", "{" + snapshotEntry.getKey() + "}", snapshot.count);
+            }
+
+            String errorsMetricName = familyEntry.getKey() + "_errors_total";
+            writeHeader(writer, errorsMetricName, "The number of the " + familyEntry.getValue().help + " that threw an exception.", "counter");
+            for (Map.Entry<String, MethodTimerSnapshot> snapshotEntry : snapshots.entrySet())
+            {
+                writeSample(writer, errorsMetricName, "{" + snapshotEntry.getKey() + "}", snapshotEntry.getValue().errorCount);
+            }
+        }
+
+        for (Map.Entry<String, GaugeFamily> familyEntry : new TreeMap<>(gaugeFamilies).entrySet())
+        {
+            writeHeader(writer, familyEntry.getKey(), familyEntry.getValue().help, "gauge");
+            for (Map.Entry<String, DoubleSupplier> gaugeEntry : familyEntry.getValue().gauges.entrySet())
+            {
+                writeSample(writer, familyEntry.getKey(), gaugeEntry.getKey(), gaugeEntry.getValue().getAsDouble());
+            }
+        }
+    }
+
+    /**
+     * Gets the configured quantiles of the method durations.
+     *
+     * @return the list of quantiles
+     */
+    private List<Double> getQuantiles()
+    {
+        String percentiles = configurationHelper.getProperty(ConfigurationValue.METRICS_PERCENTILES);
+
+        List<Double> quantiles = new ArrayList<>();
+        for (String percentile : StringUtils.split(StringUtils.defaultString(percentiles), ','))
+        {
+            if (StringUtils.isNotBlank(percentile))
+            {
+                double quantile;
+                try
+                {
+                    quantile = Double.parseDouble(percentile.trim());
+                }
+                catch (NumberFormatException e)
+                {
+                    quantile = Double.NaN;
+                }
+
+                if (!(quantile >= 0 && quantile <= 1))
+                {
+                    throw new IllegalStateException(String
+                        .format("Configuration \"%s\" has an invalid quantile \"%s\". The quantiles must be between 0 and 1.",
+                            ConfigurationValue.METRICS_PERCENTILES.getKey(), percentile.trim()));
+                }
+                quantiles.add(quantile);
+            }
+        }
+
+        return quantiles;
+    }
+
+    /**
+     * Validates that the specified metric name is not already used by a metric of a different type.
+     *
+     * @param metricName the metric name
+     * @param otherFamilies the metric families of the other type
+     */
+    private void validateMetricName(String metricName, Map<String, ?> otherFamilies)
+    {
+        if (otherFamilies.containsKey(metricName))
+        {
+            throw new IllegalArgumentException(String.format("Metric \"%s\" is already registered with a different type.", metricName));
+        }
+    }
+
+    private void writeHeader(Writer writer, String metricName, String help, String type) throws IOException
+    {
+        writer.write("# HELP " + metricName + " " + help.replace("\\", "\\\\").replace("\n", "\\n") + "\n");
+        writer.write("# TYPE " + metricName + " " + type + "\n");
+    }
+
+    private void writeSample(Writer writer, String metricName, String labels, double value) throws IOException
+    {
+        writer.write(metricName + labels + " " + formatValue(value) + "\n");
+    }
+
+    private String formatLabel(String labelName, String labelValue)
+    {
+        return labelName + "=\"" + labelValue.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n") + "\"";
+    }
+
+    private String formatValue(double value)
+    {
+        if (Double.isNaN(value))
+        {
+            return "NaN";
+        }
+        else if (Double.isInfinite(value))
+        {
+            return value > 0 ? "+Inf" : "-Inf";
+        }
+        else if (value == Math.rint(value) && Math.abs(value) < 1e15)
+        {
+            return String.valueOf((long) value);
+        }
+        else
+        {
+            return String.valueOf(value);
+        }
+    }
+
+    private double toSeconds(double microseconds)
+    {
+        return microseconds / TimeUnit.SECONDS.toMicros(1);
+    }
+
+    /**
+     * The timer of a method, which records the durations and the failures of the method calls.
+     */
+    public static class MethodTimer
+    {
+        private final Recorder recorder = new Recorder(NUMBER_OF_SIGNIFICANT_VALUE_DIGITS);
+
+        private final LongAdder count = new LongAdder();
+
+        private final LongAdder sumMicroseconds = new LongAdder();
+
+        private final LongAdder errorCount = new LongAdder();
+
+        /**
+         * The histogram of all recorded durations, which the interval histograms of the recorder are added to when the metrics are written.
+         */
+        private final Histogram histogram = new Histogram(NUMBER_OF_SIGNIFICANT_VALUE_DIGITS);
+
+        private Histogram intervalHistogram;
+
+        /**
+         * Records a method call.
+         *
+         * @param durationNanoseconds the duration of the method call in nanoseconds
+         * @param failed true if the method call threw an exception, false otherwise
+         */
+        public void record(long durationNanoseconds, boolean failed)
+        {
+            long durationMicroseconds = Math.max(0, TimeUnit.NANOSECONDS.toMicros(durationNanoseconds));
+            recorder.recordValue(durationMicroseconds);
+            count.increment();
+            sumMicroseconds.add(durationMicroseconds);
+            if (failed)
+            {
+                errorCount.increment();
+            }
+        }
+
+        /**
+         * Takes a snapshot of the recorded method calls.
+         *
+         * @param quantiles the quantiles of the method durations to get
+         *
+         * @return the snapshot
+         */
+        private synchronized MethodTimerSnapshot getSnapshot(List<Double> quantiles)
+        {
+            intervalHistogram = recorder.getIntervalHistogram(intervalHistogram);
+            histogram.add(intervalHistogram);
+
+            double[] quantileValues = new double[quantiles.size()];
+            for (int i = 0; i < quantileValues.length; i++)
+            {
+                quantileValues[i] = histogram.getTotalCount() == 0 ? Double.NaN : histogram.getValueAtPercentile(quantiles.get(i) * 100);
+            }
+
+            return new MethodTimerSnapshot(quantileValues, count.sum(), sumMicroseconds.sum(), errorCount.sum());
+        }
+    }
+
+    /**
+     * The recorded method calls of a method timer at the time the metrics are written.
+     */
+    private static class MethodTimerSnapshot
+    {
+        private final double[] quantileValues;
+
+        private final long count;
+
+        private final long sumMicroseconds;
+
+        private final long errorCount;
+
+        private MethodTimerSnapshot(double[] quantileValues, long count, long sumMicroseconds, long errorCount)
+        {
+            this.quantileValues = quantileValues;
+            this.count = count;
+            this.sumMicroseconds = sumMicroseconds;
+            this.errorCount = errorCount;
+        }
+    }
+
+    /**
+     * The method timers of a metric keyed by the class and the method names.
+     */
+    private static class MethodTimerFamily
+    {
+        private final String help;
+
+        private final ConcurrentMap<Class<?>, ConcurrentMap<String, MethodTimer>> methodTimers = new ConcurrentHashMap<>();
+
+        private MethodTimerFamily(String help)
+        {
+            this.help = help;
+        }
+    }
+
+    /**
+     * The gauges of a metric keyed by their rendered labels.
+     */
+    private static class GaugeFamily
+    {
+        private final String help;
+
+        private final ConcurrentMap<String, DoubleSupplier> gauges = new ConcurrentSkipListMap<>();
+
+        private GaugeFamily(String help)
+        {
+            this.help = help;
+        }
+    }
+}
@@ -15,6 +15,8 @@
 */
 package org.finra.herd.dao;
 
+import java.util.List;
+
 import org.finra.herd.model.jpa.NotificationMessageEntity;
 
 public interface NotificationMessageDao extends BaseJpaDao
@@ -25,4 +27,23 @@ public interface NotificationMessageDao extends BaseJpaDao
      * @return the notification message
      */
     public NotificationMessageEntity getOldestNotificationMessage();
+
+    /**
+     * Selects and locks up to the specified number of the oldest notification messages from the queue. The notification messages that are already locked by
+     * other transactions are skipped, so the queue can be drained by several herd nodes at the same time.
+     *
+     * @param maxResults the maximum number of notification messages to select
+     *
+     * @return the list of notification messages ordered by their sequence generated ids
+     */
+    public List<NotificationMessageEntity> getOldestNotificationMessages(int maxResults);
+
+    /**
+     * Deletes notification messages with the specified ids from the queue using a single delete statement.
+     *
+     * @param notificationMessageIds the list of notification message ids
+     *
+     * @return the number of deleted notification messages
+     */
+    public int deleteNotificationMessages(List<Integer> notificationMessageIds);
 }
@@ -15,8 +15,18 @@
 */
 package org.finra.herd.dao;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.commons.configuration.Configuration;
 import org.apache.commons.configuration.ConfigurationConverter;
@@ -26,14 +36,19 @@ import org.apache.commons.configuration.event.EventSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.env.MapPropertySource;
+import org.springframework.util.ObjectUtils;
 import org.springframework.util.StringUtils;
 
 /**
- * A property source that will possibly re-load itself each time a property is requested. A reload will take place if the configured refresh interval has
- * elapsed. A refresh interval of 0 will cause the properties to refresh every time a property is requested.
+ * A property source that periodically re-loads its properties from a configuration. The properties are kept in an immutable snapshot that gets replaced as a
+ * whole on each reload, so property lookups never block. When a refresh interval greater than 0 is configured, the properties are reloaded by a background
+ * daemon thread once the refresh interval has elapsed since the previous reload. A refresh interval of 0 will cause the properties to refresh every time a
+ * property is requested on the requesting thread.
  * <p/>
  * If a property is loaded with the key org.finra.herd.dao.ReloadablePropertiesSource.refreshIntervalSecs, it will be used as a way to override the previously
  * configured refresh interval.
+ * <p/>
+ * Change listeners can be registered to get notified with the names of the properties that got added, removed, or updated by a reload.
  */
 public class ReloadablePropertySource extends MapPropertySource
 {
@@ -43,13 +58,25 @@ public class ReloadablePropertySource extends MapPropertySource
     protected Configuration configuration;
 
     // The last time the properties were refreshed.
-    protected long lastRefreshTime;
+    protected volatile long lastRefreshTime;
 
     // The interval in milliseconds to wait before refreshing the properties. Defaults to 0 (i.e. always refresh).
-    protected long refreshIntervalMillis = 0;
+    protected volatile long refreshIntervalMillis = 0;
 
     protected ConfigurationErrorEvent lastConfigurationErrorEvent;
 
+    // The immutable snapshot of the current properties.
+    private volatile Map<String, Object> properties;
+
+    // The listeners to notify when the properties change.
+    private final List<ChangeListener> changeListeners = new CopyOnWriteArrayList<>();
+
+    // The executor that refreshes the properties in the background when a refresh interval greater than 0 is configured.
+    private final ScheduledExecutorService refreshExecutor;
+
+    // Whether a background refresh of the properties is currently scheduled.
+    private final AtomicBoolean refreshScheduled = new AtomicBoolean();
+
     // The number of milliseconds in a second.
     private static final int MILLISECONDS_IN_A_SECOND = 1000;
 
@@ -76,13 +103,14 @@ public class ReloadablePropertySource extends MapPropertySource
      * @param name the name of the property source.
      * @param source the properties.
      * @param configuration the configuration that knows how to read properties.
-     * @param refreshIntervalSecs the refresh interval in seconds to wait before refreshing the properties when a property is requested.
+     * @param refreshIntervalSecs the refresh interval in seconds to wait before refreshing the properties.
      */
     @SuppressWarnings({"unchecked", "rawtypes"})
     public ReloadablePropertySource(String name, Properties source, Configuration configuration, long refreshIntervalSecs)
     {
         super(name, (Map) source);
         this.configuration = configuration;
+        this.properties = Collections.unmodifiableMap(new HashMap<>((Map) source));
 
         /*
          * Catches any errors and records it in the lastConfigurationErrorEvent variable.
@@ -98,14 +126,23 @@ public class ReloadablePropertySource extends MapPropertySource
             }
         });
 
+        // Create the background refresher. It only gets a refresh scheduled while the refresh interval is greater than 0.
+        refreshExecutor = Executors.newSingleThreadScheduledExecutor(runnable ->
+        {
+            Thread thread = new Thread(runnable, ReloadablePropertySource.class.getSimpleName() + "-" + name);
+            thread.setDaemon(true);
+            return thread;
+        });
+
         this.refreshIntervalMillis = refreshIntervalSecs * MILLISECONDS_IN_A_SECOND;
         updateLastRefreshTime();
         updateRefreshInterval();
-        LOGGER.info("A refresh interval has been configured. propertiesRefreshIntervalInSeconds={}", refreshIntervalSecs);
+        LOGGER.info("A refresh interval has been configured. propertiesRefreshIntervalInSeconds={}", refreshIntervalMillis / MILLISECONDS_IN_A_SECOND);
+        scheduleRefresh();
     }
 
     /**
-     * Gets a property by name while possibly refreshing the properties if needed.
+     * Gets a property by name from the current snapshot of the properties. When the refresh interval is 0, the properties are refreshed first.
      *
      * @param name the property name.
      *
@@ -114,72 +151,212 @@ public class ReloadablePropertySource extends MapPropertySource
     @Override
     public Object getProperty(String name)
     {
-        // Refresh the properties before returning the value.
-        refreshPropertiesIfNeeded();
-        return this.source.get(name);
+        // Refresh the properties before returning the value if they are configured to always get refreshed.
+        if (refreshIntervalMillis <= 0)
+        {
+            refreshPropertiesIfNeeded();
+        }
+        return properties.get(name);
+    }
+
+    /**
+     * Gets the current snapshot of the properties.
+     *
+     * @return the unmodifiable map of the properties.
+     */
+    @Override
+    public Map<String, Object> getSource()
+    {
+        return properties;
+    }
+
+    @Override
+    public boolean containsProperty(String name)
+    {
+        return properties.containsKey(name);
+    }
+
+    @Override
+    public String[] getPropertyNames()
+    {
+        return StringUtils.toStringArray(properties.keySet());
+    }
+
+    /**
+     * Registers a listener that gets notified when a reload of the properties adds, removes, or updates any properties.
+     *
+     * @param changeListener the change listener
+     */
+    public void addChangeListener(ChangeListener changeListener)
+    {
+        changeListeners.add(changeListener);
+    }
+
+    /**
+     * Unregisters a previously registered change listener.
+     *
+     * @param changeListener the change listener
+     */
+    public void removeChangeListener(ChangeListener changeListener)
+    {
+        changeListeners.remove(changeListener);
+    }
+
+    /**
+     * Stops the background refresh of the properties. This is registered as the destroy callback of the reloadable property source bean.
+     */
+    public void close()
+    {
+        refreshExecutor.shutdownNow();
     }
 
     /**
      * Refreshes the properties from the configuration if it's time to.
      */
     @SuppressWarnings({"unchecked", "rawtypes"})
-    protected void refreshPropertiesIfNeeded()
+    protected synchronized void refreshPropertiesIfNeeded()
     {
-        // Ensure we update the properties in a synchronized fashion to avoid possibly corrupting the properties.
-        synchronized (this)
-        {
-            // See if it's time to refresh the properties (i.e. the elapsed time is greater than the configured refresh interval).
-            LOGGER.debug("Checking if properties need to be refreshed. currentTime={} lastRefreshTime={} millisecondsSinceLastPropertiesRefresh={}",
-                System.currentTimeMillis(), lastRefreshTime, System.currentTimeMillis() - lastRefreshTime);
+        // See if it's time to refresh the properties (i.e. the elapsed time is greater than the configured refresh interval).
+        LOGGER.debug("Checking if properties need to be refreshed. currentTime={} lastRefreshTime={} millisecondsSinceLastPropertiesRefresh={}",
+            System.currentTimeMillis(), lastRefreshTime, System.currentTimeMillis() - lastRefreshTime);
 
-            if (System.currentTimeMillis() - lastRefreshTime >= refreshIntervalMillis)
-            {
-                // Enough time has passed so refresh the properties.
-                LOGGER.debug("Refreshing properties...");
+        if (System.currentTimeMillis() - lastRefreshTime >= refreshIntervalMillis)
+        {
+            // Enough time has passed so refresh the properties.
+            LOGGER.debug("Refreshing properties...");
 
-                // Get the latest properties from the configuration.
-                Properties properties = ConfigurationConverter.getProperties(configuration);
+            // Get the latest properties from the configuration.
+            Properties newProperties = ConfigurationConverter.getProperties(configuration);
 
-                if (lastConfigurationErrorEvent != null)
-                {
-                    LOGGER.error("An error occurred while retrieving configurations. Previous values are retained. See cause for details.",
-                        lastConfigurationErrorEvent.getCause());
-                    lastConfigurationErrorEvent = null;
-                }
-                else
+            if (lastConfigurationErrorEvent != null)
+            {
+                LOGGER.error("An error occurred while retrieving configurations. Previous values are retained. See cause for details.",
+                    lastConfigurationErrorEvent.getCause());
+                lastConfigurationErrorEvent = null;
+            }
+            else
+            {
+                // Log the properties we just retrieved from the configuration.
+                if (LOGGER.isDebugEnabled())
                 {
-                    // Log the properties we just retrieved from the configuration.
-                    if (LOGGER.isDebugEnabled())
+                    LOGGER.debug("New properties just retrieved.");
+                    for (Map.Entry<Object, Object> entry : newProperties.entrySet())
                     {
-                        LOGGER.debug("New properties just retrieved.");
-                        for (Map.Entry<Object, Object> entry : properties.entrySet())
-                        {
-                            LOGGER.debug("{}=\"{}\"", entry.getKey(), entry.getValue());
-                        }
+                        LOGGER.debug("{}=\"{}\"", entry.getKey(), entry.getValue());
                     }
+                }
 
-                    // Update our property sources properties with the ones just read by clearing and adding in the new ones since the "source" is final.
-                    this.source.clear();
-                    this.source.putAll((Map) properties);
+                // Replace the snapshot of the properties with the ones just read.
+                Map<String, Object> oldProperties = properties;
+                properties = Collections.unmodifiableMap(new HashMap<>((Map) newProperties));
 
-                    // Log the properties we have in our property source.
-                    if (LOGGER.isDebugEnabled())
+                // Log the properties we have in our property source.
+                if (LOGGER.isDebugEnabled())
+                {
+                    LOGGER.debug("Updated reloadable properties.");
+                    for (Map.Entry<String, Object> entry : properties.entrySet())
                     {
-                        LOGGER.debug("Updated reloadable properties.");
-                        for (Object key : source.keySet())
-                        {
-                            LOGGER.debug("{}=\"{}\"", key, properties.get(key));
-                        }
+                        LOGGER.debug("{}=\"{}\"", entry.getKey(), entry.getValue());
                     }
                 }
 
-                // Update the last refresh time and refresh interval.
-                updateLastRefreshTime();
-                updateRefreshInterval();
+                // Notify the change listeners about the changed properties, if any.
+                notifyChangeListeners(getChangedPropertyNames(oldProperties, properties));
+            }
+
+            // Update the last refresh time and refresh interval.
+            updateLastRefreshTime();
+            updateRefreshInterval();
 
-                LOGGER.debug("The properties have been refreshed from the configuration.");
+            LOGGER.debug("The properties have been refreshed from the configuration.");
+        }
+    }
+
+    /**
+     * Gets the names of the properties that are only present in one of the specified property maps or that have different values in them.
+     *
+     * @param oldProperties the old properties
+     * @param newProperties the new properties
+     *
+     * @return the set of changed property names
+     */
+    private Set<String> getChangedPropertyNames(Map<String, Object> oldProperties, Map<String, Object> newProperties)
+    {
+        Set<String> changedPropertyNames = new HashSet<>();
+        for (Map.Entry<String, Object> entry : newProperties.entrySet())
+        {
+            if (!ObjectUtils.nullSafeEquals(entry.getValue(), oldProperties.get(entry.getKey())))
+            {
+                changedPropertyNames.add(entry.getKey());
+            }
+        }
+        for (String propertyName : oldProperties.keySet())
+        {
+            if (!newProperties.containsKey(propertyName))
+            {
+                changedPropertyNames.add(propertyName);
             }
         }
+
+        return changedPropertyNames;
+    }
+
+    /**
+     * Notifies the registered change listeners about the specified changed properties. A failing listener does not prevent other listeners from getting
+     * notified.
+     *
+     * @param changedPropertyNames the names of the changed properties
+     */
+    private void notifyChangeListeners(Set<String> changedPropertyNames)
+    {
+        if (!changedPropertyNames.isEmpty())
+        {
+            LOGGER.info("Reloadable properties changed. changedPropertyNames={}", changedPropertyNames);
+
+            Set<String> unmodifiableChangedPropertyNames = Collections.unmodifiableSet(changedPropertyNames);
+            for (ChangeListener changeListener : changeListeners)
+            {
+                try
+                {
+                    changeListener.propertiesChanged(unmodifiableChangedPropertyNames);
+                }
+                catch (RuntimeException e)
+                {
+                    LOGGER.error("Failed to notify a reloadable properties change listener. changeListener={}", changeListener, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Schedules the next background refresh of the properties, unless the refresh interval is 0 or a refresh is already scheduled. The refresh interval is
+     * re-read each time, so an overridden refresh interval takes effect with the next refresh.
+     */
+    private void scheduleRefresh()
+    {
+        // While the refresh interval is 0, the properties get refreshed on each lookup, so there is nothing to schedule.
+        if (refreshIntervalMillis <= 0 || refreshExecutor.isShutdown() || !refreshScheduled.compareAndSet(false, true))
+        {
+            return;
+        }
+
+        long delayMillis = Math.max(0, lastRefreshTime + refreshIntervalMillis - System.currentTimeMillis());
+        refreshExecutor.schedule(() ->
+        {
+            try
+            {
+                refreshPropertiesIfNeeded();
+            }
+            catch (RuntimeException e)
+            {
+                LOGGER.error("Failed to refresh the reloadable properties. Previous values are retained.", e);
+            }
+            finally
+            {
+                refreshScheduled.set(false);
+                scheduleRefresh();
+            }
+        }, delayMillis, TimeUnit.MILLISECONDS);
     }
 
     /**
@@ -198,7 +375,7 @@ public class ReloadablePropertySource extends MapPropertySource
     private void updateRefreshInterval()
     {
         // Get the property based on the override key.
-        String refreshIntervalSecsString = (String) this.source.get(REFRESH_INTERVAL_SECS_OVERRIDE_KEY);
+        String refreshIntervalSecsString = (String) properties.get(REFRESH_INTERVAL_SECS_OVERRIDE_KEY);
 
         // If a value was found, try to update the refresh interval.
         if (StringUtils.hasText(refreshIntervalSecsString))
@@ -210,6 +387,9 @@ public class ReloadablePropertySource extends MapPropertySource
                 {
                     refreshIntervalMillis = newRefreshIntervalMillis;
                     LOGGER.info("A new refresh interval of " + refreshIntervalSecsString + " seconds has been configured.");
+
+                    // Start the background refresh in case the refresh interval was 0 until now.
+                    scheduleRefresh();
                 }
             }
             catch (NumberFormatException ex)
@@ -219,4 +399,17 @@ public class ReloadablePropertySource extends MapPropertySource
             }
         }
     }
+
+    /**
+     * A listener that gets notified when a reload changes the properties of a reloadable property source.
+     */
+    public interface ChangeListener
+    {
+        /**
+         * Called after a reload of the properties added, removed, or updated some properties. This is called on the thread that reloaded the properties.
+         *
+         * @param changedPropertyNames the names of the changed properties
+         */
+        void propertiesChanged(Set<String> changedPropertyNames);
+    }
 }
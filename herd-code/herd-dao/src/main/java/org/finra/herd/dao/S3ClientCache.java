@@ -0,0 +1,305 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.dao;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import javax.annotation.PreDestroy;
+
+import com.amazonaws.ClientConfiguration;
+import com.amazonaws.auth.AWSCredentialsProvider;
+import com.amazonaws.services.s3.AmazonS3Client;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import org.finra.herd.core.helper.ConfigurationHelper;
+import org.finra.herd.model.dto.ConfigurationValue;
+
+/**
+ * A cache of Amazon S3 clients that are shared across S3 operations, so the connection pools get reused instead of being created and shut down for each
+ * operation. The cached clients are leased to the callers. Calling shutdown() on a cached client only returns the lease, while the actual shutdown happens
+ * once the cached client gets evicted after being idle for the configured amount of time or when the cache is destroyed. The idle clients are evicted by a
+ * scheduled task rather than by the callers.
+ */
+@Component
+public class S3ClientCache
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(S3ClientCache.class);
+
+    @Autowired
+    private ConfigurationHelper configurationHelper;
+
+    private final Map<List<Object>, CachedAmazonS3Client> amazonS3Clients = new ConcurrentHashMap<>();
+
+    private final AtomicLong hitCount = new AtomicLong();
+
+    private final AtomicLong missCount = new AtomicLong();
+
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    /**
+     * Returns true if caching of S3 clients is enabled.
+     *
+     * @return true if caching of S3 clients is enabled, false otherwise
+     */
+    public boolean isEnabled()
+    {
+        return configurationHelper.getBooleanProperty(ConfigurationValue.S3_CLIENT_CACHE_ENABLED);
+    }
+
+    /**
+     * Leases a cached Amazon S3 client for the specified cache key, creating a new one using the supplier if there is no cached client for the key. If the
+     * cache is full, the newly created client is returned without being cached, so its shutdown() releases the resources.
+     *
+     * @param cacheKey the cache key that identifies the client configuration and the credentials provider, which must not include any secrets
+     * @param amazonS3ClientSupplier the supplier of a new cached Amazon S3 client
+     *
+     * @return the Amazon S3 client
+     */
+    public AmazonS3Client getAmazonS3Client(List<Object> cacheKey, Supplier<CachedAmazonS3Client> amazonS3ClientSupplier)
+    {
+        // Lease an already cached client.
+        CachedAmazonS3Client cachedClient = amazonS3Clients.computeIfPresent(cacheKey, (key, value) ->
+        {
+            value.getLease().acquire();
+            return value;
+        });
+        if (cachedClient != null)
+        {
+            hitCount.incrementAndGet();
+            return cachedClient;
+        }
+
+        missCount.incrementAndGet();
+
+        // If the cache is full, return a new client that is not cached, so it gets shut down by the caller.
+        if (getCachedClientCount() >= configurationHelper.getProperty(ConfigurationValue.S3_CLIENT_CACHE_MAX_SIZE, Integer.class))
+        {
+            LOGGER.info("S3 client cache is full. Creating a non-cached S3 client. cachedClientCount={} activeClientCount={}", getCachedClientCount(),
+                getActiveClientCount());
+            CachedAmazonS3Client client = amazonS3ClientSupplier.get();
+            client.getLease().setCached(false);
+            return client;
+        }
+
+        // Create and cache a new client. Another thread might have cached a client for the same key in the meantime, in which case that one gets leased.
+        cachedClient = amazonS3Clients.compute(cacheKey, (key, value) ->
+        {
+            CachedAmazonS3Client client = value != null ? value : amazonS3ClientSupplier.get();
+            client.getLease().acquire();
+            return client;
+        });
+
+        LOGGER.info("Cached a new S3 client. cacheHitCount={} cacheMissCount={} cachedClientCount={} activeClientCount={}", hitCount.get(), missCount.get(),
+            getCachedClientCount(), getActiveClientCount());
+
+        return cachedClient;
+    }
+
+    /**
+     * Gets the number of times a cached client was found for the requested cache key.
+     *
+     * @return the cache hit count
+     */
+    public long getHitCount()
+    {
+        return hitCount.get();
+    }
+
+    /**
+     * Gets the number of times a new client had to be created for the requested cache key.
+     *
+     * @return the cache miss count
+     */
+    public long getMissCount()
+    {
+        return missCount.get();
+    }
+
+    /**
+     * Gets the number of cached clients that were evicted after being idle.
+     *
+     * @return the eviction count
+     */
+    public long getEvictionCount()
+    {
+        return evictionCount.get();
+    }
+
+    /**
+     * Gets the number of Amazon S3 clients currently held by the cache.
+     *
+     * @return the cached client count
+     */
+    public int getCachedClientCount()
+    {
+        return amazonS3Clients.size();
+    }
+
+    /**
+     * Gets the number of cached Amazon S3 clients that are currently leased, i.e. that are used by in-flight S3 operations.
+     *
+     * @return the active client count
+     */
+    public int getActiveClientCount()
+    {
+        int activeClientCount = 0;
+        for (CachedAmazonS3Client amazonS3Client : amazonS3Clients.values())
+        {
+            activeClientCount += amazonS3Client.getLease().isLeased() ? 1 : 0;
+        }
+        return activeClientCount;
+    }
+
+    /**
+     * Periodically evicts all cached clients that have not been leased for longer than the configured idle timeout.
+     */
+    @Scheduled(fixedDelay = 60000)
+    public void evictIdleClients()
+    {
+        long idleTimeoutMillis = configurationHelper.getProperty(ConfigurationValue.S3_CLIENT_CACHE_IDLE_TIMEOUT_SECS, Integer.class) * 1000L;
+        long currentTimeMillis = System.currentTimeMillis();
+        List<CachedAmazonS3Client> evictedClients = new ArrayList<>();
+
+        for (List<Object> cacheKey : amazonS3Clients.keySet())
+        {
+            amazonS3Clients.computeIfPresent(cacheKey, (key, value) ->
+            {
+                if (value.getLease().isIdle(currentTimeMillis, idleTimeoutMillis))
+                {
+                    evictedClients.add(value);
+                    return null;
+                }
+                return value;
+            });
+        }
+
+        for (CachedAmazonS3Client evictedClient : evictedClients)
+        {
+            evictedClient.close();
+            evictionCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * Shuts down all cached clients.
+     */
+    @PreDestroy
+    public void destroy()
+    {
+        for (CachedAmazonS3Client amazonS3Client : amazonS3Clients.values())
+        {
+            amazonS3Client.close();
+        }
+        amazonS3Clients.clear();
+    }
+
+    /**
+     * Tracks the number of callers currently using a cached client and the time when it was last released.
+     */
+    private static class Lease
+    {
+        private final AtomicInteger leaseCount = new AtomicInteger();
+
+        private volatile long lastReleaseTimeMillis = System.currentTimeMillis();
+
+        private volatile boolean cached = true;
+
+        private void acquire()
+        {
+            leaseCount.incrementAndGet();
+        }
+
+        /**
+         * Releases the lease.
+         *
+         * @return true if the client is cached and therefore must not be shut down, false otherwise
+         */
+        private boolean release()
+        {
+            if (cached)
+            {
+                leaseCount.updateAndGet(count -> count > 0 ? count - 1 : 0);
+                lastReleaseTimeMillis = System.currentTimeMillis();
+            }
+            return cached;
+        }
+
+        private boolean isLeased()
+        {
+            return leaseCount.get() > 0;
+        }
+
+        private boolean isIdle(long currentTimeMillis, long idleTimeoutMillis)
+        {
+            return leaseCount.get() == 0 && currentTimeMillis - lastReleaseTimeMillis >= idleTimeoutMillis;
+        }
+
+        private void setCached(boolean cached)
+        {
+            this.cached = cached;
+        }
+    }
+
+    /**
+     * An Amazon S3 client that can be held by this cache. Calling shutdown() returns the lease instead of shutting down the client.
+     */
+    public static class CachedAmazonS3Client extends AmazonS3Client
+    {
+        private final Lease lease = new Lease();
+
+        /**
+         * Creates a new cached Amazon S3 client using the specified AWS credentials provider.
+         *
+         * @param awsCredentialsProvider the AWS credentials provider
+         * @param clientConfiguration the client configuration
+         */
+        public CachedAmazonS3Client(AWSCredentialsProvider awsCredentialsProvider, ClientConfiguration clientConfiguration)
+        {
+            super(awsCredentialsProvider, clientConfiguration);
+        }
+
+        @Override
+        public void shutdown()
+        {
+            if (!lease.release())
+            {
+                super.shutdown();
+            }
+        }
+
+        private Lease getLease()
+        {
+            return lease;
+        }
+
+        /**
+         * Shuts down this client releasing all its resources.
+         */
+        private void close()
+        {
+            super.shutdown();
+        }
+    }
+}
@@ -15,12 +15,14 @@
 */
 package org.finra.herd.dao;
 
+import java.io.InputStream;
 import java.util.Date;
 import java.util.List;
 import java.util.Properties;
 
 import com.amazonaws.services.s3.model.DeleteObjectsRequest;
 import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PartETag;
 import com.amazonaws.services.s3.model.S3ObjectSummary;
 import com.amazonaws.services.s3.model.Tag;
 
@@ -39,6 +41,15 @@ public interface S3Dao
      */
     public static final String SIGNER_OVERRIDE_V4 = "AWSS3V4SignerType";
 
+    /**
+     * Aborts a multipart upload, so S3 frees the storage used by its uploaded parts.
+     *
+     * @param s3FileTransferRequestParamsDto the S3 file transfer request parameters. The S3 bucket name and S3 key prefix identify the S3 object being
+     * uploaded.
+     * @param uploadId the upload ID of the multipart upload
+     */
+    public void abortMultipartUpload(S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto, String uploadId);
+
     /**
      * Aborts any multipart uploads that were initiated in the specified S3 storage older than threshold date.
      *
@@ -50,6 +61,18 @@ public interface S3Dao
      */
     public int abortMultipartUploads(S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto, Date thresholdDate);
 
+    /**
+     * Completes a multipart upload by assembling the previously uploaded parts into a single S3 object.
+     *
+     * @param s3FileTransferRequestParamsDto the S3 file transfer request parameters. The S3 bucket name and S3 key prefix identify the S3 object being
+     * uploaded.
+     * @param uploadId the upload ID of the multipart upload
+     * @param partETags the part numbers and ETags of all the uploaded parts
+     *
+     * @return the ETag of the S3 object
+     */
+    public String completeMultipartUpload(S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto, String uploadId, List<PartETag> partETags);
+
     /**
      * Copies an S3 object from the source S3 bucket to the same path in target bucket.  This method does not delete the source S3 object.
      *
@@ -106,6 +129,19 @@ public interface S3Dao
      */
     public S3FileTransferResultsDto downloadFile(S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto) throws InterruptedException;
 
+    /**
+     * Downloads the specified byte range of an S3 object to the same offset within a local file. The local file is not truncated, so multiple byte ranges of
+     * the same S3 object can be downloaded in parallel into a preallocated local file.
+     *
+     * @param s3FileTransferRequestParamsDto the S3 file transfer request parameters. The S3 bucket name and S3 key prefix identify the S3 object. The local
+     * path is the local file name where the byte range will be written into.
+     * @param startByte the zero-based offset of the first byte to download
+     * @param endByte the zero-based offset of the last byte to download, inclusive
+     *
+     * @return the number of bytes downloaded
+     */
+    public long downloadFileRange(S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto, long startByte, long endByte);
+
     /**
      * Generates a GET pre-signed URL for the given object in S3 identified by its bucket name and key. Uses the proxy information and signer override specified
      * in the given {@link S3FileTransferRequestParamsDto}.
@@ -140,6 +176,16 @@ public interface S3Dao
      */
     public Properties getProperties(String bucketName, String key, S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto);
 
+    /**
+     * Initiates a multipart upload of a single S3 object. The server side encryption and the storage class of the S3 object are set the same way as by the
+     * other upload methods.
+     *
+     * @param s3FileTransferRequestParamsDto the S3 file transfer request parameters. The S3 bucket name and S3 key prefix identify the S3 object to upload.
+     *
+     * @return the upload ID of the multipart upload
+     */
+    public String initiateMultipartUpload(S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto);
+
     /**
      * Lists all S3 objects matching the S3 key prefix in the given bucket (S3 bucket name).
      *
@@ -161,6 +207,18 @@ public interface S3Dao
      */
     public List<S3ObjectSummary> listDirectory(S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto, boolean ignoreZeroByteDirectoryMarkers);
 
+    /**
+     * Returns an iterator over all S3 objects matching the S3 key prefix in the given bucket (S3 bucket name). Unlike listDirectory(), this method does not
+     * load the entire listing into memory. S3 objects are listed one page at a time as the iterator gets consumed. The returned iterator must be closed.
+     *
+     * @param s3FileTransferRequestParamsDto the S3 file transfer request parameters. The S3 bucket name and S3 key prefix identify the S3 objects to get
+     * listed.
+     * @param ignoreZeroByteDirectoryMarkers specifies whether to ignore 0 byte objects that represent S3 directories.
+     *
+     * @return the iterator over all S3 objects represented by S3 object summaries that match the prefix in the given bucket.
+     */
+    public S3ObjectSummaryIterator iterateDirectory(S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto, boolean ignoreZeroByteDirectoryMarkers);
+
     /**
      * Lists all S3 versions matching the S3 key prefix in the given bucket (S3 bucket name). The S3 bucket name and S3 key prefix that identify the S3 versions
      * to get listed are taken from the S3 file transfer request parameters DTO.
@@ -191,7 +249,7 @@ public interface S3Dao
     public boolean s3FileExists(S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto) throws RuntimeException;
 
     /**
-     * Tags all objects with the specified S3 object tag.
+     * Tags all objects with the specified S3 object tag. The S3 objects are tagged concurrently by a bounded worker pool.
      *
      * @param s3FileTransferRequestParamsDto the S3 file transfer request parameters. The S3 bucket name and the file list identify the S3 objects to be tagged
      * @param s3ObjectTaggerParamsDto the S3 file transfer request parameters to be used for tagging S3 objects
@@ -234,6 +292,22 @@ public interface S3Dao
      */
     public S3FileTransferResultsDto uploadFileList(S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto) throws InterruptedException;
 
+    /**
+     * Uploads a single part of a multipart upload.
+     *
+     * @param s3FileTransferRequestParamsDto the S3 file transfer request parameters. The S3 bucket name and S3 key prefix identify the S3 object being
+     * uploaded.
+     * @param uploadId the upload ID of the multipart upload
+     * @param partNumber the part number, starting with 1
+     * @param inputStream the input stream to read the part data from
+     * @param partSize the size of the part in bytes
+     * @param md5Digest the optional Base64 encoded MD5 digest of the part data, which is used by S3 to validate the received data
+     *
+     * @return the ETag of the uploaded part
+     */
+    public String uploadPart(S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto, String uploadId, int partNumber,
+        InputStream inputStream, long partSize, String md5Digest);
+
     /**
      * Validates that all specified Glacier storage class files are restored.
      *
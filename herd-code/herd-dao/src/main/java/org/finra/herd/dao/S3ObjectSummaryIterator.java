@@ -0,0 +1,34 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.dao;
+
+import java.io.Closeable;
+import java.util.Iterator;
+
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+
+/**
+ * An iterator over S3 objects that retrieves S3 object summaries one listing page at a time, as the iterator gets consumed. The iterator holds an S3 client,
+ * so it must be closed once the caller is done with it, even if the iteration was not completed.
+ */
+public interface S3ObjectSummaryIterator extends Iterator<S3ObjectSummary>, Closeable
+{
+    /**
+     * Releases all resources held by this iterator. This method does not throw checked exceptions.
+     */
+    @Override
+    public void close();
+}
@@ -21,6 +21,8 @@ import java.util.List;
 
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadResult;
 import com.amazonaws.services.s3.model.CopyObjectRequest;
 import com.amazonaws.services.s3.model.DeleteObjectsRequest;
 import com.amazonaws.services.s3.model.DeleteObjectsResult;
@@ -28,6 +30,8 @@ import com.amazonaws.services.s3.model.GeneratePresignedUrlRequest;
 import com.amazonaws.services.s3.model.GetObjectRequest;
 import com.amazonaws.services.s3.model.GetObjectTaggingRequest;
 import com.amazonaws.services.s3.model.GetObjectTaggingResult;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadResult;
 import com.amazonaws.services.s3.model.ListMultipartUploadsRequest;
 import com.amazonaws.services.s3.model.ListObjectsRequest;
 import com.amazonaws.services.s3.model.ListVersionsRequest;
@@ -40,6 +44,8 @@ import com.amazonaws.services.s3.model.RestoreObjectRequest;
 import com.amazonaws.services.s3.model.S3Object;
 import com.amazonaws.services.s3.model.SetObjectTaggingRequest;
 import com.amazonaws.services.s3.model.SetObjectTaggingResult;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+import com.amazonaws.services.s3.model.UploadPartResult;
 import com.amazonaws.services.s3.model.VersionListing;
 import com.amazonaws.services.s3.transfer.Copy;
 import com.amazonaws.services.s3.transfer.Download;
@@ -67,6 +73,16 @@ public interface S3Operations
      */
     public void abortMultipartUpload(AbortMultipartUploadRequest abortMultipartUploadRequest, AmazonS3 s3Client);
 
+    /**
+     * Completes a multipart upload by assembling the previously uploaded parts.
+     *
+     * @param completeMultipartUploadRequest the request object containing all the parameters for the operation
+     * @param s3Client the {@link AmazonS3} implementation to use
+     *
+     * @return the result of the multipart upload completion, including the ETag of the new S3 object
+     */
+    public CompleteMultipartUploadResult completeMultipartUpload(CompleteMultipartUploadRequest completeMultipartUploadRequest, AmazonS3 s3Client);
+
     /**
      * Schedules a new transfer to copy data from one Amazon S3 location to another Amazon S3 location.
      *
@@ -152,6 +168,16 @@ public interface S3Operations
      */
     public S3Object getS3Object(GetObjectRequest getObjectRequest, AmazonS3 s3Client);
 
+    /**
+     * Initiates a multipart upload and returns the upload ID that identifies the multipart upload in the subsequent operations.
+     *
+     * @param initiateMultipartUploadRequest the request object containing all the parameters for the operation
+     * @param s3Client the {@link AmazonS3} implementation to use
+     *
+     * @return the result of the multipart upload initiation, including the upload ID
+     */
+    public InitiateMultipartUploadResult initiateMultipartUpload(InitiateMultipartUploadRequest initiateMultipartUploadRequest, AmazonS3 s3Client);
+
     /**
      * Lists in-progress multipart uploads. An in-progress multipart upload is a multipart upload that has been initiated, but has not yet been completed or
      * aborted. This operation returns at most 1,000 multipart uploads in the response by default.
@@ -257,4 +283,14 @@ public interface S3Operations
      */
     public MultipleFileUpload uploadFileList(String s3BucketName, String virtualDirectoryKeyPrefix, File directory, List<File> files,
         ObjectMetadataProvider metadataProvider, TransferManager transferManager);
+
+    /**
+     * Uploads a part of a multipart upload.
+     *
+     * @param uploadPartRequest the request object containing all the parameters for the operation
+     * @param s3Client the {@link AmazonS3} implementation to use
+     *
+     * @return the result of the part upload, including the ETag of the part
+     */
+    public UploadPartResult uploadPart(UploadPartRequest uploadPartRequest, AmazonS3 s3Client);
 }
@@ -17,6 +17,7 @@ package org.finra.herd.dao;
 
 import java.util.List;
 
+import com.amazonaws.services.sqs.model.SendMessageBatchResult;
 import com.amazonaws.services.sqs.model.SendMessageResult;
 
 import org.finra.herd.model.dto.AwsParamsDto;
@@ -38,4 +39,20 @@ public interface SqsDao
      * @return the result the send message operation returned by the service
      */
     public SendMessageResult sendMessage(AwsParamsDto awsParamsDto, String queueName, String messageText, List<MessageHeader> messageHeaders);
+
+    /**
+     * Delivers messages to the specified queue using SQS batch requests of up to ten messages and 256 KB of total payload each. The batch requests are sent in
+     * parallel and the messages that SQS fails to accept through no fault of the sender are resent up to the configured number of attempts. A batch request
+     * that fails as a whole is reported as failed entries rather than thrown, so the caller always learns which messages got delivered. The id of each result
+     * entry is the index of the relative message in the specified list.
+     *
+     * @param awsParamsDto the AWS related parameters that contain optional proxy information
+     * @param queueName the name of the Amazon SQS queue to which messages are sent
+     * @param messageTexts the list of message texts to send
+     * @param messageHeaders the optional list of message headers per message, in the order of the message texts
+     *
+     * @return the combined result of the send message batch operations, listing both the successful and the failed messages
+     */
+    public SendMessageBatchResult sendMessageBatch(AwsParamsDto awsParamsDto, String queueName, List<String> messageTexts,
+        List<List<MessageHeader>> messageHeaders);
 }
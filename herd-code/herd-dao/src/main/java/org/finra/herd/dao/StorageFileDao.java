@@ -43,6 +43,17 @@ public interface StorageFileDao extends BaseJpaDao
      */
     public Long getStorageFileCount(String storageName, String filePathPrefix);
 
+    /**
+     * Counts all storage files compacted into the storage file manifests of the storage units in the specified storage, where the S3 key prefix of the storage
+     * file manifest matches the file path prefix.
+     *
+     * @param storageName the storage name (case-insensitive)
+     * @param filePathPrefix the file path prefix that the S3 key prefixes of the storage file manifests should match
+     *
+     * @return the storage file count
+     */
+    public Long getStorageFileManifestFileCount(String storageName, String filePathPrefix);
+
     /**
      * Retrieves a map of storage unit ids to their corresponding storage file paths.
      *
@@ -61,4 +72,12 @@ public interface StorageFileDao extends BaseJpaDao
      * @return the list of storage file paths
      */
     public List<String> getStorageFilesByStorageAndFilePathPrefix(String storageName, String filePathPrefix);
+
+    /**
+     * Saves a list of new storage file entities. The entities are flushed to the database in JDBC batches and detached from the persistence context once they
+     * are flushed, so registering a large number of storage files does not keep all of them in the persistence context.
+     *
+     * @param storageFileEntities the list of storage file entities
+     */
+    public void saveStorageFiles(List<StorageFileEntity> storageFileEntities);
 }
@@ -47,6 +47,17 @@ public interface StorageUnitDao extends BaseJpaDao
      */
     List<StorageUnitEntity> getS3StorageUnitsToCleanup(int maxResult);
 
+    /**
+     * Retrieves a list of storage units that belong to S3 storage, have ENABLED status, have no storage file manifest, and have at least the specified number
+     * of storage files registered as individual storage file entities. The returned list is ordered by the storage unit ID.
+     *
+     * @param minStorageFileCount the minimum number of registered storage files
+     * @param maxResult the maximum number of results to retrieve
+     *
+     * @return the list of storage unit entities
+     */
+    List<StorageUnitEntity> getS3StorageUnitsToCompactStorageFiles(int minStorageFileCount, int maxResult);
+
     /**
      * Retrieves a list of storage units that belong to S3 storage, have RESTORED status, and ready to be expired. The returned list is ordered by the
      * "restoreExpirationOn" timestamp of the S3 storage units, starting with an S3 storage unit that is ready to be expired the longest.
@@ -69,6 +69,17 @@ public interface TagDao extends BaseJpaDao
      */
     public List<TagEntity> getTagsByIds(List<Integer> ids);
 
+    /**
+     * Gets a chunk of tag ids sorted in ascending order, starting right after the specified id. This allows paging through all tags registered in the system
+     * without loading all of them at once.
+     *
+     * @param lastId the last tag id of the previous chunk, maybe null to get the first chunk
+     * @param maxResult the maximum number of results to retrieve
+     *
+     * @return the list of tag ids
+     */
+    public List<Integer> getTagIds(Integer lastId, int maxResult);
+
     /**
      * Gets a list of tag child objects with children flags, whose parent tag code is the specified tag code.
      * <p/>
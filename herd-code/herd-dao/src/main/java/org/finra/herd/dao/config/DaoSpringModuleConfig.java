@@ -16,6 +16,7 @@
 package org.finra.herd.dao.config;
 
 import java.util.Properties;
+import java.util.concurrent.ThreadPoolExecutor;
 
 import javax.sql.DataSource;
 
@@ -42,6 +43,8 @@ import org.springframework.context.annotation.FilterType;
 import org.springframework.context.support.PropertySourcesPlaceholderConfigurer;
 import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.core.env.Environment;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.ldap.core.LdapTemplate;
 import org.springframework.ldap.core.support.LdapContextSource;
 import org.springframework.orm.jpa.JpaTransactionManager;
@@ -49,6 +52,7 @@ import org.springframework.orm.jpa.JpaVendorAdapter;
 import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
 import org.springframework.orm.jpa.vendor.Database;
 import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 import org.finra.herd.core.ApplicationContextHolder;
@@ -96,6 +100,16 @@ public class DaoSpringModuleConfig implements CachingConfigurer
      */
     public static final String HIBERNATE_HBM2DDL_AUTO_PARAM_BEAN_NAME = "hibernateHbm2DdlAutoParam";
 
+    /**
+     * The name of the cache that holds the resolved namespace authorizations of the users.
+     */
+    public static final String NAMESPACE_AUTHORIZATION_CACHE_NAME = "herd_namespace_authorization_cache";
+
+    /**
+     * The name of the Hibernate query cache region that holds the results of the reference data lookups.
+     */
+    public static final String REFERENCE_DATA_QUERY_CACHE_NAME = "herd_reference_data_query_cache";
+
     /**
      * Model packages to scan by entity manager.
      */
@@ -178,6 +192,10 @@ public class DaoSpringModuleConfig implements CachingConfigurer
         properties.setProperty(ConfigurationValue.SHOW_SQL.getKey(), configurationHelper.getProperty(ConfigurationValue.SHOW_SQL));
         LOGGER.info("hibernateShowSql={}", properties.getProperty(ConfigurationValue.SHOW_SQL.getKey()));
         properties.setProperty("hibernate.archive.autodetection", "class, hbm");
+        // Send the inserts and updates in JDBC batches. Ordering the inserts by entity allows the rows of the same table to be grouped into a single batch.
+        properties.setProperty(ConfigurationValue.HIBERNATE_JDBC_BATCH_SIZE.getKey(),
+            configurationHelper.getProperty(ConfigurationValue.HIBERNATE_JDBC_BATCH_SIZE, Integer.class).toString());
+        properties.setProperty("hibernate.order_inserts", "true");
 
         // Set the Hibernate HBM2DDL Auto param if it is configured. This is only needed in JUnits.
         String hibernateHbm2DdlAutoParam = getHibernateHbm2DdlAutoParam();
@@ -229,6 +247,28 @@ public class DaoSpringModuleConfig implements CachingConfigurer
         return new PropertySourcesPlaceholderConfigurer();
     }
 
+    /**
+     * Gets the reloadable property source that was added to the environment by the database property sources placeholder configurer, so its background
+     * refresh gets stopped when the application context is closed.
+     *
+     * @return the reloadable property source or null if the environment has no reloadable property source.
+     */
+    @Bean(destroyMethod = "close")
+    public ReloadablePropertySource reloadablePropertySource()
+    {
+        Environment environment = ApplicationContextHolder.getApplicationContext().getEnvironment();
+        if (environment instanceof ConfigurableEnvironment)
+        {
+            PropertySource<?> propertySource = ((ConfigurableEnvironment) environment).getPropertySources().get(ReloadablePropertySource.class.getName());
+            if (propertySource instanceof ReloadablePropertySource)
+            {
+                return (ReloadablePropertySource) propertySource;
+            }
+        }
+
+        return null;
+    }
+
     /**
      * Gets a database configuration that can be used to read database properties.
      *
@@ -275,10 +315,61 @@ public class DaoSpringModuleConfig implements CachingConfigurer
         cacheConfiguration.setMaxElementsInMemory(configurationHelper.getProperty(ConfigurationValue.HERD_CACHE_MAX_ELEMENTS_IN_MEMORY, Integer.class));
         cacheConfiguration.setMemoryStoreEvictionPolicy(configurationHelper.getProperty(ConfigurationValue.HERD_CACHE_MEMORY_STORE_EVICTION_POLICY));
 
+        CacheConfiguration namespaceAuthorizationCacheConfiguration = new CacheConfiguration();
+        namespaceAuthorizationCacheConfiguration.setName(NAMESPACE_AUTHORIZATION_CACHE_NAME);
+        namespaceAuthorizationCacheConfiguration
+            .setTimeToLiveSeconds(configurationHelper.getProperty(ConfigurationValue.NAMESPACE_AUTHORIZATION_CACHE_TIME_TO_LIVE_SECONDS, Long.class));
+        namespaceAuthorizationCacheConfiguration
+            .setMaxElementsInMemory(configurationHelper.getProperty(ConfigurationValue.NAMESPACE_AUTHORIZATION_CACHE_MAX_ELEMENTS_IN_MEMORY, Integer.class));
+        namespaceAuthorizationCacheConfiguration.setMemoryStoreEvictionPolicy("LRU");
+
         net.sf.ehcache.config.Configuration config = new net.sf.ehcache.config.Configuration();
         config.addCache(cacheConfiguration);
+        config.addCache(namespaceAuthorizationCacheConfiguration);
 
-        return net.sf.ehcache.CacheManager.create(config);
+        net.sf.ehcache.CacheManager cacheManager = net.sf.ehcache.CacheManager.create(config);
+
+        // Apply the changes of the dynamically changeable cache settings to the herd caches as soon as the reloadable properties change.
+        Environment environment = ApplicationContextHolder.getApplicationContext().getEnvironment();
+        if (environment instanceof ConfigurableEnvironment)
+        {
+            PropertySource<?> propertySource = ((ConfigurableEnvironment) environment).getPropertySources().get(ReloadablePropertySource.class.getName());
+            if (propertySource instanceof ReloadablePropertySource)
+            {
+                ((ReloadablePropertySource) propertySource).addChangeListener(changedPropertyNames ->
+                {
+                    if (changedPropertyNames.contains(ConfigurationValue.HERD_CACHE_TIME_TO_LIVE_SECONDS.getKey()) ||
+                        changedPropertyNames.contains(ConfigurationValue.HERD_CACHE_TIME_TO_IDLE_SECONDS.getKey()) ||
+                        changedPropertyNames.contains(ConfigurationValue.HERD_CACHE_MAX_ELEMENTS_IN_MEMORY.getKey()))
+                    {
+                        CacheConfiguration herdCacheConfiguration = cacheManager.getCache(HERD_CACHE_NAME).getCacheConfiguration();
+                        herdCacheConfiguration
+                            .setTimeToLiveSeconds(configurationHelper.getProperty(ConfigurationValue.HERD_CACHE_TIME_TO_LIVE_SECONDS, Long.class));
+                        herdCacheConfiguration
+                            .setTimeToIdleSeconds(configurationHelper.getProperty(ConfigurationValue.HERD_CACHE_TIME_TO_IDLE_SECONDS, Long.class));
+                        herdCacheConfiguration
+                            .setMaxElementsInMemory(configurationHelper.getProperty(ConfigurationValue.HERD_CACHE_MAX_ELEMENTS_IN_MEMORY, Integer.class));
+                        LOGGER.info("Updated herd cache configuration. timeToLiveSeconds={} timeToIdleSeconds={} maxElementsInMemory={}",
+                            herdCacheConfiguration.getTimeToLiveSeconds(), herdCacheConfiguration.getTimeToIdleSeconds(),
+                            herdCacheConfiguration.getMaxEntriesLocalHeap());
+                    }
+                    if (changedPropertyNames.contains(ConfigurationValue.NAMESPACE_AUTHORIZATION_CACHE_TIME_TO_LIVE_SECONDS.getKey()) ||
+                        changedPropertyNames.contains(ConfigurationValue.NAMESPACE_AUTHORIZATION_CACHE_MAX_ELEMENTS_IN_MEMORY.getKey()))
+                    {
+                        CacheConfiguration namespaceAuthorizationCacheConfig =
+                            cacheManager.getCache(NAMESPACE_AUTHORIZATION_CACHE_NAME).getCacheConfiguration();
+                        namespaceAuthorizationCacheConfig.setTimeToLiveSeconds(
+                            configurationHelper.getProperty(ConfigurationValue.NAMESPACE_AUTHORIZATION_CACHE_TIME_TO_LIVE_SECONDS, Long.class));
+                        namespaceAuthorizationCacheConfig.setMaxElementsInMemory(
+                            configurationHelper.getProperty(ConfigurationValue.NAMESPACE_AUTHORIZATION_CACHE_MAX_ELEMENTS_IN_MEMORY, Integer.class));
+                        LOGGER.info("Updated namespace authorization cache configuration. timeToLiveSeconds={} maxElementsInMemory={}",
+                            namespaceAuthorizationCacheConfig.getTimeToLiveSeconds(), namespaceAuthorizationCacheConfig.getMaxEntriesLocalHeap());
+                    }
+                });
+            }
+        }
+
+        return cacheManager;
     }
 
     @Bean
@@ -318,6 +409,46 @@ public class DaoSpringModuleConfig implements CachingConfigurer
         return new SimpleExponentialBackoffStrategy();
     }
 
+    /**
+     * Gets the task executor that is shared by all S3 object tagging requests. The pool is bounded, and when its queue is full the requesting thread runs the
+     * tagging work itself.
+     *
+     * @return the S3 object tagging task executor
+     */
+    @Bean // This will call the "initialize" method of the ThreadPoolTaskExecutor automatically.
+    public TaskExecutor s3ObjectTaggingTaskExecutor()
+    {
+        int poolSize = configurationHelper.getProperty(ConfigurationValue.S3_OBJECT_TAGGING_THREAD_POOL_SIZE, Integer.class);
+
+        ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.setCorePoolSize(poolSize);
+        taskExecutor.setMaxPoolSize(poolSize);
+        taskExecutor.setQueueCapacity(configurationHelper.getProperty(ConfigurationValue.S3_OBJECT_TAGGING_THREAD_POOL_QUEUE_CAPACITY, Integer.class));
+        taskExecutor.setThreadNamePrefix("s3ObjectTagging-");
+        taskExecutor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return taskExecutor;
+    }
+
+    /**
+     * Gets the task executor shared by the SQS DAO to send send message batch requests in parallel. When the queue of the thread pool is full, the requesting
+     * thread runs the task itself.
+     *
+     * @return the SQS send message batch task executor
+     */
+    @Bean // This will call the "initialize" method of the ThreadPoolTaskExecutor automatically.
+    public TaskExecutor sqsSendMessageBatchTaskExecutor()
+    {
+        int poolSize = configurationHelper.getProperty(ConfigurationValue.SQS_SEND_MESSAGE_BATCH_THREAD_POOL_SIZE, Integer.class);
+
+        ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.setCorePoolSize(poolSize);
+        taskExecutor.setMaxPoolSize(poolSize);
+        taskExecutor.setQueueCapacity(configurationHelper.getProperty(ConfigurationValue.SQS_SEND_MESSAGE_BATCH_THREAD_POOL_QUEUE_CAPACITY, Integer.class));
+        taskExecutor.setThreadNamePrefix("sqsSendMessageBatch-");
+        taskExecutor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return taskExecutor;
+    }
+
     /**
      * Gets an LDAP context source.
      *
@@ -18,27 +18,62 @@ package org.finra.herd.dao.helper;
 import java.security.KeyManagementException;
 import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
+import javax.annotation.PreDestroy;
 import javax.net.ssl.HostnameVerifier;
 
 import org.apache.commons.lang3.BooleanUtils;
+import org.apache.http.HttpResponseInterceptor;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
 import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
 import org.apache.http.conn.ssl.TrustSelfSignedStrategy;
 import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
 import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.ManagedHttpClientConnectionFactory;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
 import org.apache.http.ssl.SSLContextBuilder;
 import org.apache.http.ssl.SSLContexts;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import org.finra.herd.core.helper.ConfigurationHelper;
+import org.finra.herd.model.dto.ConfigurationValue;
+
 /**
- * A base helper class that provides HTTP client functions.
+ * A base helper class that provides HTTP client functions. The HTTP clients created by this helper share long-lived pooled connection managers, so the
+ * keep-alive connections outlive the individual HTTP clients and get reused by the subsequent requests to the same host.
  */
 @Component
 public class HttpClientHelper
 {
+    private static final Logger LOGGER = LoggerFactory.getLogger(HttpClientHelper.class);
+
+    @Autowired
+    private ConfigurationHelper configurationHelper;
+
     /**
-     * Creates a new HTTP client.
+     * The pooled connection managers keyed by the trust self-signed certificate and the disable hostname verification flags.
+     */
+    private final Map<String, PoolingHttpClientConnectionManager> connectionManagers = new HashMap<>();
+
+    private final AtomicLong connectionCount = new AtomicLong();
+
+    private final AtomicLong requestCount = new AtomicLong();
+
+    /**
+     * Creates a new HTTP client. The HTTP client is backed by a shared pooled connection manager, so closing the HTTP client keeps the pooled keep-alive
+     * connections open for the HTTP clients created later on.
      *
      * @param trustSelfSignedCertificate specifies whether to trust a self-signed certificate
      * @param disableHostnameVerification specifies whether to turn off hostname verification
@@ -51,27 +86,112 @@ public class HttpClientHelper
     public CloseableHttpClient createHttpClient(Boolean trustSelfSignedCertificate, Boolean disableHostnameVerification)
         throws KeyStoreException, NoSuchAlgorithmException, KeyManagementException
     {
-        // Create an HTTP client builder.
+        PoolingHttpClientConnectionManager connectionManager = getConnectionManager(trustSelfSignedCertificate, disableHostnameVerification);
+
+        // Create an HTTP client builder. Content compression stays enabled, so the requests advertise gzip support and the gzip encoded responses get
+        // transparently decompressed.
         HttpClientBuilder httpClientBuilder = HttpClients.custom();
+        httpClientBuilder.setConnectionManager(connectionManager);
+        httpClientBuilder.setConnectionManagerShared(true);
+        httpClientBuilder.setKeepAliveStrategy(DefaultConnectionKeepAliveStrategy.INSTANCE);
+
+        // Log the connection reuse counters once a response is received, so the connection used by the request has been either reused or opened.
+        httpClientBuilder.addInterceptorLast((HttpResponseInterceptor) (response, context) -> {
+            long requests = requestCount.incrementAndGet();
+            long connections = connectionCount.get();
+            PoolStats poolStats = connectionManager.getTotalStats();
+            LOGGER.info("HTTP connection statistics: requestCount={} connectionCount={} reusedConnectionCount={} leasedConnectionCount={} " +
+                "availableConnectionCount={}", requests, connections, Math.max(requests - connections, 0), poolStats.getLeased(), poolStats.getAvailable());
+        });
 
-        // Create an SSL context builder.
-        SSLContextBuilder sslContextBuilder = SSLContexts.custom();
+        // Build and return an HTTP client.
+        return httpClientBuilder.build();
+    }
+
+    /**
+     * Gets the number of connections opened by the HTTP clients created by this helper.
+     *
+     * @return the number of opened connections
+     */
+    public long getConnectionCount()
+    {
+        return connectionCount.get();
+    }
+
+    /**
+     * Gets the number of requests that received a response using the HTTP clients created by this helper.
+     *
+     * @return the number of requests
+     */
+    public long getRequestCount()
+    {
+        return requestCount.get();
+    }
 
-        // If specified, setup a trust strategy that allows all certificates.
-        if (BooleanUtils.isTrue(trustSelfSignedCertificate))
+    /**
+     * Shuts down the pooled connection managers, closing all pooled connections.
+     */
+    @PreDestroy
+    public synchronized void destroy()
+    {
+        for (PoolingHttpClientConnectionManager connectionManager : connectionManagers.values())
         {
-            sslContextBuilder.loadTrustMaterial(null, new TrustSelfSignedStrategy());
+            connectionManager.shutdown();
         }
+        connectionManagers.clear();
+    }
+
+    /**
+     * Gets the pooled connection manager for the specified SSL settings, creating and caching a new one when needed.
+     *
+     * @param trustSelfSignedCertificate specifies whether to trust a self-signed certificate
+     * @param disableHostnameVerification specifies whether to turn off hostname verification
+     *
+     * @return the pooled connection manager
+     * @throws KeyStoreException if a key store exception occurs
+     * @throws NoSuchAlgorithmException if a no such algorithm exception occurs
+     * @throws KeyManagementException if key management exception
+     */
+    private synchronized PoolingHttpClientConnectionManager getConnectionManager(Boolean trustSelfSignedCertificate, Boolean disableHostnameVerification)
+        throws KeyStoreException, NoSuchAlgorithmException, KeyManagementException
+    {
+        String connectionManagerKey = BooleanUtils.isTrue(trustSelfSignedCertificate) + "|" + BooleanUtils.isTrue(disableHostnameVerification);
+        PoolingHttpClientConnectionManager connectionManager = connectionManagers.get(connectionManagerKey);
 
-        // If specified, turn hostname verification off.
-        HostnameVerifier hostnameVerifier = BooleanUtils.isTrue(disableHostnameVerification) ? SSLConnectionSocketFactory.ALLOW_ALL_HOSTNAME_VERIFIER :
-            SSLConnectionSocketFactory.STRICT_HOSTNAME_VERIFIER;
+        if (connectionManager == null)
+        {
+            // Create an SSL context builder.
+            SSLContextBuilder sslContextBuilder = SSLContexts.custom();
 
-        // Create and assign an SSL connection socket factory.
-        SSLConnectionSocketFactory sslConnectionSocketFactory = new SSLConnectionSocketFactory(sslContextBuilder.build(), hostnameVerifier);
-        httpClientBuilder.setSSLSocketFactory(sslConnectionSocketFactory);
+            // If specified, setup a trust strategy that allows all certificates.
+            if (BooleanUtils.isTrue(trustSelfSignedCertificate))
+            {
+                sslContextBuilder.loadTrustMaterial(null, new TrustSelfSignedStrategy());
+            }
 
-        // Build and return an HTTP client.
-        return httpClientBuilder.build();
+            // If specified, turn hostname verification off.
+            HostnameVerifier hostnameVerifier = BooleanUtils.isTrue(disableHostnameVerification) ? SSLConnectionSocketFactory.ALLOW_ALL_HOSTNAME_VERIFIER :
+                SSLConnectionSocketFactory.STRICT_HOSTNAME_VERIFIER;
+
+            // Create and register an SSL connection socket factory.
+            SSLConnectionSocketFactory sslConnectionSocketFactory = new SSLConnectionSocketFactory(sslContextBuilder.build(), hostnameVerifier);
+            Registry<ConnectionSocketFactory> socketFactoryRegistry =
+                RegistryBuilder.<ConnectionSocketFactory>create().register("http", PlainConnectionSocketFactory.getSocketFactory())
+                    .register("https", sslConnectionSocketFactory).build();
+
+            // Create a pooled connection manager that counts the connections it opens. All the requests go to the registration server, so a single route
+            // is allowed to use the entire pool.
+            connectionManager = new PoolingHttpClientConnectionManager(socketFactoryRegistry, (route, config) -> {
+                connectionCount.incrementAndGet();
+                return ManagedHttpClientConnectionFactory.INSTANCE.create(route, config);
+            });
+            int maxConnections = configurationHelper.getProperty(ConfigurationValue.HTTP_CLIENT_POOL_MAX_CONNECTIONS, Integer.class);
+            connectionManager.setMaxTotal(maxConnections);
+            connectionManager.setDefaultMaxPerRoute(maxConnections);
+
+            connectionManagers.put(connectionManagerKey, connectionManager);
+        }
+
+        return connectionManager;
     }
 }
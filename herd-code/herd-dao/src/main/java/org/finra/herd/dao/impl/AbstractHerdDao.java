@@ -43,6 +43,7 @@ import org.finra.herd.core.helper.ConfigurationHelper;
 import org.finra.herd.dao.helper.HerdDaoSecurityHelper;
 import org.finra.herd.model.api.xml.BusinessObjectDataKey;
 import org.finra.herd.model.api.xml.BusinessObjectFormatKey;
+import org.finra.herd.model.dto.ConfigurationValue;
 import org.finra.herd.model.jpa.AuditableEntity;
 import org.finra.herd.model.jpa.BusinessObjectDataEntity;
 import org.finra.herd.model.jpa.BusinessObjectDataEntity_;
@@ -254,6 +255,19 @@ public abstract class AbstractHerdDao extends BaseJpaDaoImpl
     protected Predicate getQueryRestrictionOnPartitionValues(CriteriaBuilder builder, From<?, BusinessObjectDataEntity> businessObjectDataEntity,
         List<List<String>> partitionFilters)
     {
+        // If all partition filters select business object data by the same single partition level, build a set-based "in" clause on that partition column.
+        Integer singlePartitionLevel = getSinglePartitionLevel(partitionFilters);
+        if (singlePartitionLevel != null)
+        {
+            List<String> partitionValues = new ArrayList<>();
+            for (List<String> partitionFilter : partitionFilters)
+            {
+                partitionValues.add(partitionFilter.get(singlePartitionLevel));
+            }
+
+            return getPredicateForInClause(builder, businessObjectDataEntity.get(BUSINESS_OBJECT_DATA_PARTITIONS.get(singlePartitionLevel)), partitionValues);
+        }
+
         // Create a query restriction as per specified primary and/or sub-partition values.
         Predicate predicate = null;
         for (List<String> partitionFilter : partitionFilters)
@@ -277,6 +291,59 @@ public abstract class AbstractHerdDao extends BaseJpaDaoImpl
         return predicate;
     }
 
+    /**
+     * Gets the maximum number of partition filters to be processed by a single query. Partition filters that select business object data by the same single
+     * partition level are matched using a set-based "in" clause, so they can be processed in much larger chunks than the partition filters that specify
+     * multiple partition levels.
+     *
+     * @param partitionFilters the list of partition filters
+     *
+     * @return the maximum number of partition filters per query
+     */
+    protected int getMaxPartitionFiltersPerQuery(List<List<String>> partitionFilters)
+    {
+        return getSinglePartitionLevel(partitionFilters) != null ?
+            configurationHelper.getProperty(ConfigurationValue.STORAGE_UNIT_SELECTION_MAX_PARTITION_VALUES_PER_QUERY, Integer.class) :
+            MAX_PARTITION_FILTERS_PER_REQUEST;
+    }
+
+    /**
+     * Gets the partition level that is the only partition level specified by each of the partition filters.
+     *
+     * @param partitionFilters the list of partition filters
+     *
+     * @return the partition level (0 for the primary partition) or null if partition filters are empty, specify more than one partition level, or specify
+     * different partition levels
+     */
+    private Integer getSinglePartitionLevel(List<List<String>> partitionFilters)
+    {
+        Integer singlePartitionLevel = null;
+
+        for (List<String> partitionFilter : partitionFilters)
+        {
+            Integer partitionFilterLevel = null;
+            for (int partitionLevel = 0; partitionLevel < BusinessObjectDataEntity.MAX_SUBPARTITIONS + 1; partitionLevel++)
+            {
+                if (StringUtils.isNotBlank(partitionFilter.get(partitionLevel)))
+                {
+                    if (partitionFilterLevel != null)
+                    {
+                        return null;
+                    }
+                    partitionFilterLevel = partitionLevel;
+                }
+            }
+
+            if (partitionFilterLevel == null || (singlePartitionLevel != null && !singlePartitionLevel.equals(partitionFilterLevel)))
+            {
+                return null;
+            }
+            singlePartitionLevel = partitionFilterLevel;
+        }
+
+        return singlePartitionLevel;
+    }
+
     /**
      * TODO This method may be bdata specific. Consider creating new abstract class to group all bdata related DAO. Builds a query restriction predicate for the
      * sub-query business object data entity as per partition values from the specified main query business object data entity.
@@ -29,12 +29,14 @@ import javax.persistence.criteria.Path;
 import javax.persistence.criteria.Predicate;
 
 import org.apache.commons.lang3.Validate;
+import org.hibernate.annotations.QueryHints;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.StringUtils;
 
 import org.finra.herd.core.helper.ConfigurationHelper;
 import org.finra.herd.dao.BaseJpaDao;
+import org.finra.herd.dao.config.DaoSpringModuleConfig;
 import org.finra.herd.model.dto.ConfigurationValue;
 import org.finra.herd.model.jpa.ConfigurationEntity;
 
@@ -116,6 +118,33 @@ public class BaseJpaDaoImpl implements BaseJpaDao
         return resultList.size() == 1 ? resultList.get(0) : null;
     }
 
+    /**
+     * Executes a reference data lookup query, validates if result list contains no more than record and returns the query result. The query results are served
+     * from the reference data query cache, so this should only be used to look up small and rarely changing entities that are cached in the second-level cache.
+     * An empty result is always confirmed against the database, since a cached empty result does not see the entities created by the other herd nodes.
+     *
+     * @param <T> The type of the root entity class
+     * @param criteria the criteria select query to be executed
+     * @param message the exception message to use if the query returns fails
+     *
+     * @return the query result or null if 0 records were selected
+     */
+    protected <T> T executeSingleResultCacheableQuery(CriteriaQuery<T> criteria, String message)
+    {
+        List<T> resultList = entityManager.createQuery(criteria).setHint(QueryHints.CACHEABLE, true)
+            .setHint(QueryHints.CACHE_REGION, DaoSpringModuleConfig.REFERENCE_DATA_QUERY_CACHE_NAME).getResultList();
+
+        if (resultList.isEmpty())
+        {
+            resultList = entityManager.createQuery(criteria).getResultList();
+        }
+
+        // Validate that the query returned no more than one record.
+        Validate.isTrue(resultList.size() < 2, message);
+
+        return resultList.size() == 1 ? resultList.get(0) : null;
+    }
+
     @Override
     public Timestamp getCurrentTimestamp()
     {
@@ -86,6 +86,8 @@ import org.finra.herd.model.jpa.StorageEntity_;
 import org.finra.herd.model.jpa.StoragePlatformEntity;
 import org.finra.herd.model.jpa.StoragePolicyEntity;
 import org.finra.herd.model.jpa.StoragePolicyEntity_;
+import org.finra.herd.model.jpa.StoragePolicyRuleTypeEntity;
+import org.finra.herd.model.jpa.StoragePolicyRuleTypeEntity_;
 import org.finra.herd.model.jpa.StoragePolicyStatusEntity;
 import org.finra.herd.model.jpa.StoragePolicyStatusEntity_;
 import org.finra.herd.model.jpa.StoragePolicyTransitionTypeEntity;
@@ -375,13 +377,16 @@ public class BusinessObjectDataDaoImpl extends AbstractHerdDao implements Busine
     {
         List<BusinessObjectDataEntity> resultBusinessObjectDataEntities = new ArrayList<>();
 
+        // Get the chunk size as per specified partition filters.
+        int maxPartitionFiltersPerQuery = getMaxPartitionFiltersPerQuery(partitionFilters);
+
         // Loop through each chunk of partition filters until we have reached the end of the list.
-        for (int i = 0; i < partitionFilters.size(); i += MAX_PARTITION_FILTERS_PER_REQUEST)
+        for (int i = 0; i < partitionFilters.size(); i += maxPartitionFiltersPerQuery)
         {
             // Get a sub-list for the current chunk of partition filters.
             List<BusinessObjectDataEntity> chunkBusinessObjectDataEntities =
                 getBusinessObjectDataEntities(businessObjectFormatKey, partitionFilters, businessObjectDataVersion, businessObjectDataStatus, storageName, i,
-                    (i + MAX_PARTITION_FILTERS_PER_REQUEST) > partitionFilters.size() ? partitionFilters.size() - i : MAX_PARTITION_FILTERS_PER_REQUEST);
+                    (i + maxPartitionFiltersPerQuery) > partitionFilters.size() ? partitionFilters.size() - i : maxPartitionFiltersPerQuery);
 
             // Add the sub-list to the result.
             resultBusinessObjectDataEntities.addAll(chunkBusinessObjectDataEntities);
@@ -426,7 +431,8 @@ public class BusinessObjectDataDaoImpl extends AbstractHerdDao implements Busine
     @Override
     public Map<BusinessObjectDataEntity, StoragePolicyEntity> getBusinessObjectDataEntitiesMatchingStoragePolicies(
         StoragePolicyPriorityLevel storagePolicyPriorityLevel, List<String> supportedBusinessObjectDataStatuses, int storagePolicyTransitionMaxAllowedAttempts,
-        int startPosition, int maxResult)
+        Timestamp currentTimestamp, Timestamp updatedOnThresholdTimestamp, Timestamp lastBusinessObjectDataCreatedOn, Integer lastBusinessObjectDataId,
+        int maxResult)
     {
         // Create the criteria builder and a tuple style criteria query.
         CriteriaBuilder builder = entityManager.getCriteriaBuilder();
@@ -453,6 +459,15 @@ public class BusinessObjectDataDaoImpl extends AbstractHerdDao implements Busine
         // Create main query restrictions based on the specified parameters.
         List<Predicate> mainQueryPredicates = new ArrayList<>();
 
+        // If specified, add a restriction to start after the last business object data retrieved by the previous call.
+        if (lastBusinessObjectDataCreatedOn != null && lastBusinessObjectDataId != null)
+        {
+            Expression<Timestamp> businessObjectDataCreatedOn = businessObjectDataEntityRoot.get(BusinessObjectDataEntity_.createdOn);
+            mainQueryPredicates.add(builder.or(builder.greaterThan(businessObjectDataCreatedOn, lastBusinessObjectDataCreatedOn), builder
+                .and(builder.equal(businessObjectDataCreatedOn, lastBusinessObjectDataCreatedOn),
+                    builder.greaterThan(businessObjectDataEntityRoot.get(BusinessObjectDataEntity_.id), lastBusinessObjectDataId))));
+        }
+
         // Add a restriction on business object definition.
         mainQueryPredicates.add(storagePolicyPriorityLevel.isBusinessObjectDefinitionIsNull() ?
             builder.isNull(storagePolicyEntityRoot.get(StoragePolicyEntity_.businessObjectDefinition)) :
@@ -493,8 +508,41 @@ public class BusinessObjectDataDaoImpl extends AbstractHerdDao implements Busine
                 .lessThan(storageUnitEntityJoin.get(StorageUnitEntity_.storagePolicyTransitionFailedAttempts), storagePolicyTransitionMaxAllowedAttempts)));
         }
 
-        // Order the results by business object data "created on" value.
+        // If specified, add restrictions as per storage policy rules.
+        if (currentTimestamp != null)
+        {
+            Join<StoragePolicyEntity, StoragePolicyRuleTypeEntity> storagePolicyRuleTypeEntityJoin =
+                storagePolicyEntityRoot.join(StoragePolicyEntity_.storagePolicyRuleType);
+            Expression<String> storagePolicyRuleTypeCode = storagePolicyRuleTypeEntityJoin.get(StoragePolicyRuleTypeEntity_.code);
+
+            // Business object data matching a storage policy with an un-supported storage policy rule type are not filtered by the query.
+            List<Predicate> storagePolicyRulePredicates = new ArrayList<>();
+            storagePolicyRulePredicates.add(builder.not(storagePolicyRuleTypeCode.in(StoragePolicyRuleTypeEntity.DAYS_SINCE_BDATA_REGISTERED,
+                StoragePolicyRuleTypeEntity.DAYS_SINCE_BDATA_PRIMARY_PARTITION_VALUE)));
+
+            // For DAYS_SINCE_BDATA_REGISTERED storage policy rule type, select business object data registered at least the rule value of days ago. Since
+            // the query can not do date arithmetic in a portable way, the "created on" threshold timestamp is computed for each of the rule values in use.
+            for (Integer storagePolicyRuleValue : getStoragePolicyRuleValues(StoragePolicyRuleTypeEntity.DAYS_SINCE_BDATA_REGISTERED))
+            {
+                storagePolicyRulePredicates.add(builder
+                    .and(builder.equal(storagePolicyRuleTypeCode, StoragePolicyRuleTypeEntity.DAYS_SINCE_BDATA_REGISTERED),
+                        builder.equal(storagePolicyEntityRoot.get(StoragePolicyEntity_.storagePolicyRuleValue), storagePolicyRuleValue), builder
+                            .lessThanOrEqualTo(businessObjectDataEntityRoot.get(BusinessObjectDataEntity_.createdOn),
+                                HerdDateUtils.addDays(currentTimestamp, -storagePolicyRuleValue))));
+            }
+
+            // For DAYS_SINCE_BDATA_PRIMARY_PARTITION_VALUE storage policy rule type, select business object data updated on or before the threshold.
+            storagePolicyRulePredicates.add(builder
+                .and(builder.equal(storagePolicyRuleTypeCode, StoragePolicyRuleTypeEntity.DAYS_SINCE_BDATA_PRIMARY_PARTITION_VALUE),
+                    builder.lessThanOrEqualTo(businessObjectDataEntityRoot.get(BusinessObjectDataEntity_.updatedOn), updatedOnThresholdTimestamp)));
+
+            mainQueryPredicates.add(builder.or(storagePolicyRulePredicates.toArray(new Predicate[] {})));
+        }
+
+        // Order the results by business object data "created on" value and id, so the callers can use the last business object data to get the next page.
         Order orderByCreatedOn = builder.asc(businessObjectDataEntityRoot.get(BusinessObjectDataEntity_.createdOn));
+        Order orderByBusinessObjectDataId = builder.asc(businessObjectDataEntityRoot.get(BusinessObjectDataEntity_.id));
+        Order orderByStoragePolicyId = builder.asc(storagePolicyEntityRoot.get(StoragePolicyEntity_.id));
 
         // Add the select clause to the main query.
         criteria.multiselect(businessObjectDataEntityRoot, storagePolicyEntityRoot);
@@ -503,10 +551,10 @@ public class BusinessObjectDataDaoImpl extends AbstractHerdDao implements Busine
         criteria.where(mainQueryPredicates.toArray(new Predicate[] {}));
 
         // Add the order by clause to the main query.
-        criteria.orderBy(orderByCreatedOn);
+        criteria.orderBy(orderByCreatedOn, orderByBusinessObjectDataId, orderByStoragePolicyId);
 
         // Run the query to get a list of tuples back.
-        List<Tuple> tuples = entityManager.createQuery(criteria).setFirstResult(startPosition).setMaxResults(maxResult).getResultList();
+        List<Tuple> tuples = entityManager.createQuery(criteria).setMaxResults(maxResult).getResultList();
 
         // Populate the result map from the returned tuples (i.e. 1 tuple for each row).
         Map<BusinessObjectDataEntity, StoragePolicyEntity> result = new LinkedHashMap<>();
@@ -522,6 +570,41 @@ public class BusinessObjectDataDaoImpl extends AbstractHerdDao implements Busine
         return result;
     }
 
+    /**
+     * Retrieves the distinct rule values of the enabled latest version storage policies with the specified storage policy rule type.
+     *
+     * @param storagePolicyRuleType the storage policy rule type
+     *
+     * @return the list of storage policy rule values
+     */
+    private List<Integer> getStoragePolicyRuleValues(String storagePolicyRuleType)
+    {
+        // Create the criteria builder and the criteria.
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Integer> criteria = builder.createQuery(Integer.class);
+
+        // The criteria root is the storage policy.
+        Root<StoragePolicyEntity> storagePolicyEntityRoot = criteria.from(StoragePolicyEntity.class);
+
+        // Join to the other tables we can filter on.
+        Join<StoragePolicyEntity, StoragePolicyRuleTypeEntity> storagePolicyRuleTypeEntityJoin =
+            storagePolicyEntityRoot.join(StoragePolicyEntity_.storagePolicyRuleType);
+        Join<StoragePolicyEntity, StoragePolicyStatusEntity> storagePolicyStatusEntityJoin = storagePolicyEntityRoot.join(StoragePolicyEntity_.status);
+
+        // Create the restrictions.
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(builder.equal(storagePolicyRuleTypeEntityJoin.get(StoragePolicyRuleTypeEntity_.code), storagePolicyRuleType));
+        predicates.add(builder.isTrue(storagePolicyEntityRoot.get(StoragePolicyEntity_.latestVersion)));
+        predicates.add(builder.equal(storagePolicyStatusEntityJoin.get(StoragePolicyStatusEntity_.code), StoragePolicyStatusEntity.ENABLED));
+        predicates.add(builder.isNotNull(storagePolicyEntityRoot.get(StoragePolicyEntity_.storagePolicyRuleValue)));
+
+        // Add all clauses to the query.
+        criteria.select(storagePolicyEntityRoot.get(StoragePolicyEntity_.storagePolicyRuleValue)).where(predicates.toArray(new Predicate[] {})).distinct(true);
+
+        // Execute the query and return the results.
+        return entityManager.createQuery(criteria).getResultList();
+    }
+
     /**
      * Retrieves partition value per specified parameters that includes the aggregate function.
      * <p>
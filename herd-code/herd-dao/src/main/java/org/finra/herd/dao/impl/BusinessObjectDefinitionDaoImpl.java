@@ -112,6 +112,29 @@ public class BusinessObjectDefinitionDaoImpl extends AbstractHerdDao implements
         return entityManager.createQuery(criteria).getResultList();
     }
 
+    @Override
+    public List<Integer> getBusinessObjectDefinitionIds(Integer lastId, int maxResult)
+    {
+        // Create the criteria builder and the criteria.
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Integer> criteria = builder.createQuery(Integer.class);
+
+        // The criteria root is the business object definition.
+        Root<BusinessObjectDefinitionEntity> businessObjectDefinitionEntityRoot = criteria.from(BusinessObjectDefinitionEntity.class);
+
+        // Get the columns.
+        Path<Integer> businessObjectDefinitionIdColumn = businessObjectDefinitionEntityRoot.get(BusinessObjectDefinitionEntity_.id);
+
+        // Select the ids that follow the last id of the previous chunk.
+        criteria.select(businessObjectDefinitionIdColumn).orderBy(builder.asc(businessObjectDefinitionIdColumn));
+        if (lastId != null)
+        {
+            criteria.where(builder.greaterThan(businessObjectDefinitionIdColumn, lastId));
+        }
+
+        return entityManager.createQuery(criteria).setMaxResults(maxResult).getResultList();
+    }
+
     @Override
     public BusinessObjectDefinitionEntity getBusinessObjectDefinitionByKey(BusinessObjectDefinitionKey businessObjectDefinitionKey)
     {
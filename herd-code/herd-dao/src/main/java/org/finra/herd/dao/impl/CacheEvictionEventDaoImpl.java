@@ -0,0 +1,69 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.dao.impl;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaDelete;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+
+import org.springframework.stereotype.Repository;
+
+import org.finra.herd.dao.CacheEvictionEventDao;
+import org.finra.herd.model.jpa.CacheEvictionEventEntity;
+import org.finra.herd.model.jpa.CacheEvictionEventEntity_;
+
+@Repository
+public class CacheEvictionEventDaoImpl extends AbstractHerdDao implements CacheEvictionEventDao
+{
+    @Override
+    public List<CacheEvictionEventEntity> getCacheEvictionEventsCreatedOnOrAfter(Timestamp createdOnThreshold)
+    {
+        // Create the criteria builder and the criteria.
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<CacheEvictionEventEntity> criteria = builder.createQuery(CacheEvictionEventEntity.class);
+
+        // The criteria root is the cache eviction event.
+        Root<CacheEvictionEventEntity> cacheEvictionEventEntity = criteria.from(CacheEvictionEventEntity.class);
+
+        // Add the clauses for the query.
+        criteria.select(cacheEvictionEventEntity)
+            .where(builder.greaterThanOrEqualTo(cacheEvictionEventEntity.get(CacheEvictionEventEntity_.createdOn), createdOnThreshold))
+            .orderBy(builder.asc(cacheEvictionEventEntity.get(CacheEvictionEventEntity_.id)));
+
+        return entityManager.createQuery(criteria).getResultList();
+    }
+
+    @Override
+    public int deleteCacheEvictionEventsCreatedBefore(Timestamp createdOnThreshold)
+    {
+        // Create the criteria builder and the delete criteria.
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaDelete<CacheEvictionEventEntity> criteria = builder.createCriteriaDelete(CacheEvictionEventEntity.class);
+
+        // The criteria root is the cache eviction event.
+        Root<CacheEvictionEventEntity> cacheEvictionEventEntity = criteria.from(CacheEvictionEventEntity.class);
+
+        // Add the where clause.
+        criteria.where(builder.lessThan(cacheEvictionEventEntity.get(CacheEvictionEventEntity_.createdOn), createdOnThreshold));
+
+        // Execute the delete statement.
+        return entityManager.createQuery(criteria).executeUpdate();
+    }
+}
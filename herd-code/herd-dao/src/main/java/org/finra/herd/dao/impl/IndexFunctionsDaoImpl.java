@@ -16,6 +16,7 @@
 package org.finra.herd.dao.impl;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -27,6 +28,7 @@ import io.searchbox.action.Action;
 import io.searchbox.action.BulkableAction;
 import io.searchbox.client.JestResult;
 import io.searchbox.core.Bulk;
+import io.searchbox.core.BulkResult;
 import io.searchbox.core.Count;
 import io.searchbox.core.Delete;
 import io.searchbox.core.Get;
@@ -60,6 +62,7 @@ import org.springframework.util.Assert;
 import org.finra.herd.dao.IndexFunctionsDao;
 import org.finra.herd.dao.helper.ElasticsearchClientImpl;
 import org.finra.herd.dao.helper.JestClientHelper;
+import org.finra.herd.model.dto.ConfigurationValue;
 
 @Repository
 public class IndexFunctionsDaoImpl extends AbstractHerdDao implements IndexFunctionsDao
@@ -79,6 +82,11 @@ public class IndexFunctionsDaoImpl extends AbstractHerdDao implements IndexFunct
      */
     public static final int ELASTIC_SEARCH_SCROLL_KEEP_ALIVE_TIME = 60000;
 
+    /**
+     * The HTTP status code returned by Elasticsearch when a request gets rejected because of a full thread pool queue.
+     */
+    public static final int ELASTIC_SEARCH_TOO_MANY_REQUESTS_STATUS = 429;
+
     /**
      * jest client helper
      */
@@ -173,23 +181,54 @@ public class IndexFunctionsDaoImpl extends AbstractHerdDao implements IndexFunct
         List<String> allIndices = getAliases(indexName);
 
         allIndices.forEach((index) -> {
-        // Prepare a bulk request builder
-        //final BulkRequestBuilder bulkRequestBuilder = new BulkRequestBuilder(new ElasticsearchClientImpl(), BulkAction.INSTANCE);
-        Bulk.Builder bulkBuilder = new Bulk.Builder();
-        // For each document prepare an insert request and add it to the bulk request builder
-        documentMap.forEach((id, jsonString) ->
+        Map<String, String> pendingDocumentMap = documentMap;
+        for (int attempt = 0; ; attempt++)
         {
-            BulkableAction createIndex = new Index.Builder(jsonString).index(index).type(documentType).id(id).build();
-            bulkBuilder.addAction(createIndex);
+            // Prepare a bulk request builder
+            Bulk.Builder bulkBuilder = new Bulk.Builder();
+            // For each document prepare an insert request and add it to the bulk request builder
+            pendingDocumentMap.forEach((id, jsonString) ->
+            {
+                BulkableAction createIndex = new Index.Builder(jsonString).index(index).type(documentType).id(id).build();
+                bulkBuilder.addAction(createIndex);
 
-        });
+            });
 
-        JestResult jestResult = jestClientHelper.executeAction(bulkBuilder.build());
+            JestResult jestResult = jestClientHelper.executeAction(bulkBuilder.build());
 
-        // If there are failures log them
-        if (!jestResult.isSucceeded())
-        {
-            LOGGER.error("Bulk response error = {}", jestResult.getErrorMessage());
+            if (jestResult.isSucceeded())
+            {
+                break;
+            }
+
+            // Resend the documents that Elasticsearch rejected because it is overloaded, backing off before each attempt, so the callers slow down.
+            Map<String, String> rejectedDocumentMap = getRejectedDocuments(jestResult, pendingDocumentMap);
+            if (rejectedDocumentMap.isEmpty() ||
+                attempt >= configurationHelper.getProperty(ConfigurationValue.ELASTICSEARCH_BULK_REQUEST_MAX_RETRY_ATTEMPTS, Integer.class))
+            {
+                // Fail the request, so the documents that did not get indexed are not silently lost.
+                int failedDocumentCount =
+                    jestResult instanceof BulkResult ? ((BulkResult) jestResult).getFailedItems().size() : pendingDocumentMap.size();
+                throw new IllegalStateException(String
+                    .format("Failed to create Elasticsearch index documents. indexName=\"%s\" documentType=\"%s\" failedDocumentCount=%d errorMessage=\"%s\"",
+                        index, documentType, failedDocumentCount, jestResult.getErrorMessage()));
+            }
+
+            long backoffMillis =
+                configurationHelper.getProperty(ConfigurationValue.ELASTICSEARCH_BULK_REQUEST_RETRY_BACKOFF_MILLIS, Integer.class).longValue() << attempt;
+            LOGGER.warn("Elasticsearch rejected index documents, retrying. indexName={} documentType={} rejectedDocumentCount={} attempt={} backoffMillis={}",
+                index, documentType, rejectedDocumentMap.size(), attempt + 1, backoffMillis);
+            try
+            {
+                Thread.sleep(backoffMillis);
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting to resend rejected index documents.", e);
+            }
+
+            pendingDocumentMap = rejectedDocumentMap;
         }
         });
     }
@@ -379,4 +418,36 @@ public class IndexFunctionsDaoImpl extends AbstractHerdDao implements IndexFunct
             jestResult.getJsonObject().entrySet().stream().filter(e -> e.getKey().startsWith(aliasName)).map(Map.Entry::getKey).collect(Collectors.toList());
         return indexNameList;
     }
+
+    /**
+     * Gets the documents that Elasticsearch rejected because it was too busy to process them.
+     *
+     * @param jestResult the result of the bulk request
+     * @param documentMap the map of document ids to the JSON documents that were sent with the bulk request
+     *
+     * @return the map of document ids to the JSON documents that got rejected
+     */
+    private Map<String, String> getRejectedDocuments(JestResult jestResult, Map<String, String> documentMap)
+    {
+        // The whole bulk request got rejected.
+        if (jestResult.getResponseCode() == ELASTIC_SEARCH_TOO_MANY_REQUESTS_STATUS)
+        {
+            return documentMap;
+        }
+
+        // Some of the bulk items got rejected.
+        Map<String, String> rejectedDocumentMap = new LinkedHashMap<>();
+        if (jestResult instanceof BulkResult)
+        {
+            for (BulkResult.BulkResultItem bulkResultItem : ((BulkResult) jestResult).getFailedItems())
+            {
+                if (bulkResultItem.status == ELASTIC_SEARCH_TOO_MANY_REQUESTS_STATUS && documentMap.containsKey(bulkResultItem.id))
+                {
+                    rejectedDocumentMap.put(bulkResultItem.id, documentMap.get(bulkResultItem.id));
+                }
+            }
+        }
+
+        return rejectedDocumentMap;
+    }
 }
@@ -55,7 +55,7 @@ public class NamespaceDaoImpl extends AbstractHerdDao implements NamespaceDao
 
         criteria.select(namespaceEntity).where(queryRestriction);
 
-        return executeSingleResultQuery(criteria, String.format("Found more than one namespace with namespaceCode=\"%s\".", namespaceCode));
+        return executeSingleResultCacheableQuery(criteria, String.format("Found more than one namespace with namespaceCode=\"%s\".", namespaceCode));
     }
 
     @Override
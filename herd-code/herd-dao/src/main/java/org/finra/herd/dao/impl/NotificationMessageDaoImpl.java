@@ -17,10 +17,14 @@ package org.finra.herd.dao.impl;
 
 import java.util.List;
 
+import javax.persistence.LockModeType;
 import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaDelete;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Root;
 
+import org.apache.commons.collections4.CollectionUtils;
+import org.hibernate.LockOptions;
 import org.springframework.stereotype.Repository;
 
 import org.finra.herd.dao.NotificationMessageDao;
@@ -52,4 +56,49 @@ public class NotificationMessageDaoImpl extends AbstractHerdDao implements Notif
         // Return the result.
         return resultList.size() > 0 ? resultList.get(0) : null;
     }
+
+    @Override
+    public List<NotificationMessageEntity> getOldestNotificationMessages(int maxResults)
+    {
+        // Create the criteria builder and the criteria.
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<NotificationMessageEntity> criteria = builder.createQuery(NotificationMessageEntity.class);
+
+        // The criteria root is the notification message.
+        Root<NotificationMessageEntity> notificationMessageEntity = criteria.from(NotificationMessageEntity.class);
+
+        // Add the select clause.
+        criteria.select(notificationMessageEntity);
+
+        // Add the order by clause, since we want to return the oldest notification messages (messages with the smallest sequence generated ids).
+        criteria.orderBy(builder.asc(notificationMessageEntity.get(NotificationMessageEntity_.id)));
+
+        // Select and lock the notification messages using a single statement. The rows already locked by other transactions are skipped rather than waited
+        // for, so the row limit applies to the rows that are not yet claimed by other transactions.
+        return entityManager.createQuery(criteria).setMaxResults(maxResults).setLockMode(LockModeType.PESSIMISTIC_WRITE)
+            .setHint("javax.persistence.lock.timeout", LockOptions.SKIP_LOCKED).getResultList();
+    }
+
+    @Override
+    public int deleteNotificationMessages(List<Integer> notificationMessageIds)
+    {
+        // Nothing to delete if no ids are specified.
+        if (CollectionUtils.isEmpty(notificationMessageIds))
+        {
+            return 0;
+        }
+
+        // Create the criteria builder and the delete criteria.
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaDelete<NotificationMessageEntity> criteria = builder.createCriteriaDelete(NotificationMessageEntity.class);
+
+        // The criteria root is the notification message.
+        Root<NotificationMessageEntity> notificationMessageEntity = criteria.from(NotificationMessageEntity.class);
+
+        // Add the where clause.
+        criteria.where(getPredicateForInClause(builder, notificationMessageEntity.get(NotificationMessageEntity_.id), notificationMessageIds));
+
+        // Execute the delete statement.
+        return entityManager.createQuery(criteria).executeUpdate();
+    }
 }
@@ -17,15 +17,25 @@ package org.finra.herd.dao.impl;
 
 import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.RandomAccessFile;
 import java.text.DecimalFormat;
 import java.text.NumberFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 import com.amazonaws.AmazonClientException;
 import com.amazonaws.AmazonServiceException;
@@ -42,6 +52,7 @@ import com.amazonaws.services.s3.AmazonS3Client;
 import com.amazonaws.services.s3.Headers;
 import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
 import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
 import com.amazonaws.services.s3.model.CopyObjectRequest;
 import com.amazonaws.services.s3.model.DeleteObjectsRequest;
 import com.amazonaws.services.s3.model.GeneratePresignedUrlRequest;
@@ -49,16 +60,16 @@ import com.amazonaws.services.s3.model.GetObjectRequest;
 import com.amazonaws.services.s3.model.GetObjectTaggingRequest;
 import com.amazonaws.services.s3.model.GetObjectTaggingResult;
 import com.amazonaws.services.s3.model.GlacierJobParameters;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
 import com.amazonaws.services.s3.model.ListMultipartUploadsRequest;
-import com.amazonaws.services.s3.model.ListObjectsRequest;
 import com.amazonaws.services.s3.model.ListVersionsRequest;
 import com.amazonaws.services.s3.model.MultiObjectDeleteException;
 import com.amazonaws.services.s3.model.MultiObjectDeleteException.DeleteError;
 import com.amazonaws.services.s3.model.MultipartUpload;
 import com.amazonaws.services.s3.model.MultipartUploadListing;
-import com.amazonaws.services.s3.model.ObjectListing;
 import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.amazonaws.services.s3.model.ObjectTagging;
+import com.amazonaws.services.s3.model.PartETag;
 import com.amazonaws.services.s3.model.PutObjectRequest;
 import com.amazonaws.services.s3.model.RestoreObjectRequest;
 import com.amazonaws.services.s3.model.S3Object;
@@ -69,6 +80,7 @@ import com.amazonaws.services.s3.model.SSEAwsKeyManagementParams;
 import com.amazonaws.services.s3.model.SetObjectTaggingRequest;
 import com.amazonaws.services.s3.model.StorageClass;
 import com.amazonaws.services.s3.model.Tag;
+import com.amazonaws.services.s3.model.UploadPartRequest;
 import com.amazonaws.services.s3.model.VersionListing;
 import com.amazonaws.services.s3.transfer.Copy;
 import com.amazonaws.services.s3.transfer.MultipleFileDownload;
@@ -86,17 +98,22 @@ import org.apache.http.HttpStatus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.Assert;
 
 import org.finra.herd.core.HerdDateUtils;
+import org.finra.herd.core.helper.ConfigurationHelper;
 import org.finra.herd.dao.RetryPolicyFactory;
+import org.finra.herd.dao.S3ClientCache;
 import org.finra.herd.dao.S3Dao;
+import org.finra.herd.dao.S3ObjectSummaryIterator;
 import org.finra.herd.dao.S3Operations;
 import org.finra.herd.dao.helper.AwsHelper;
 import org.finra.herd.dao.helper.JavaPropertiesHelper;
 import org.finra.herd.model.ObjectNotFoundException;
 import org.finra.herd.model.api.xml.AwsCredential;
+import org.finra.herd.model.dto.ConfigurationValue;
 import org.finra.herd.model.dto.HerdAWSCredentialsProvider;
 import org.finra.herd.model.dto.S3FileCopyRequestParamsDto;
 import org.finra.herd.model.dto.S3FileTransferRequestParamsDto;
@@ -112,6 +129,8 @@ public class S3DaoImpl implements S3Dao
 {
     private static final long DEFAULT_SLEEP_INTERVAL_MILLIS = 100;
 
+    private static final int DOWNLOAD_FILE_RANGE_BUFFER_SIZE = 64 * 1024;
+
     private static final Logger LOGGER = LoggerFactory.getLogger(S3DaoImpl.class);
 
     private static final int MAX_KEYS_PER_DELETE_REQUEST = 1000;
@@ -121,17 +140,51 @@ public class S3DaoImpl implements S3Dao
     @Autowired
     private AwsHelper awsHelper;
 
+    @Autowired
+    private ConfigurationHelper configurationHelper;
+
     @Autowired
     private JavaPropertiesHelper javaPropertiesHelper;
 
     @Autowired
     private RetryPolicyFactory retryPolicyFactory;
 
+    @Autowired
+    private S3ClientCache s3ClientCache;
+
+    @Autowired
+    private TaskExecutor s3ObjectTaggingTaskExecutor;
+
     @Autowired
     private S3Operations s3Operations;
 
     private long sleepIntervalsMillis = DEFAULT_SLEEP_INTERVAL_MILLIS;
 
+    @Override
+    public void abortMultipartUpload(final S3FileTransferRequestParamsDto params, String uploadId)
+    {
+        AmazonS3Client s3Client = getAmazonS3(params);
+
+        try
+        {
+            AbortMultipartUploadRequest abortMultipartUploadRequest =
+                new AbortMultipartUploadRequest(params.getS3BucketName(), params.getS3KeyPrefix(), uploadId);
+
+            s3Operations.abortMultipartUpload(TransferManager.appendSingleObjectUserAgent(abortMultipartUploadRequest), s3Client);
+        }
+        catch (AmazonClientException e)
+        {
+            throw new IllegalStateException(String
+                .format("Failed to abort multipart upload \"%s\" of S3 object key \"%s\" in bucket \"%s\". Reason: %s", uploadId, params.getS3KeyPrefix(),
+                    params.getS3BucketName(), e.getMessage()), e);
+        }
+        finally
+        {
+            // Shutdown the AmazonS3Client instance to release resources.
+            s3Client.shutdown();
+        }
+    }
+
     @Override
     public int abortMultipartUploads(S3FileTransferRequestParamsDto params, Date thresholdDate)
     {
@@ -194,6 +247,31 @@ public class S3DaoImpl implements S3Dao
         return abortedMultipartUploadsCount;
     }
 
+    @Override
+    public String completeMultipartUpload(final S3FileTransferRequestParamsDto params, String uploadId, List<PartETag> partETags)
+    {
+        AmazonS3Client s3Client = getAmazonS3(params);
+
+        try
+        {
+            CompleteMultipartUploadRequest completeMultipartUploadRequest =
+                new CompleteMultipartUploadRequest(params.getS3BucketName(), params.getS3KeyPrefix(), uploadId, partETags);
+
+            return s3Operations.completeMultipartUpload(TransferManager.appendSingleObjectUserAgent(completeMultipartUploadRequest), s3Client).getETag();
+        }
+        catch (AmazonClientException e)
+        {
+            throw new IllegalStateException(String
+                .format("Failed to complete multipart upload \"%s\" of S3 object key \"%s\" in bucket \"%s\". Reason: %s", uploadId, params.getS3KeyPrefix(),
+                    params.getS3BucketName(), e.getMessage()), e);
+        }
+        finally
+        {
+            // Shutdown the AmazonS3Client instance to release resources.
+            s3Client.shutdown();
+        }
+    }
+
     @Override
     public S3FileTransferResultsDto copyFile(final S3FileCopyRequestParamsDto params) throws InterruptedException
     {
@@ -404,6 +482,50 @@ public class S3DaoImpl implements S3Dao
         return results;
     }
 
+    @Override
+    public long downloadFileRange(final S3FileTransferRequestParamsDto params, long startByte, long endByte)
+    {
+        LOGGER.debug("Downloading S3 file byte range... s3Key=\"{}\" s3BucketName=\"{}\" localPath=\"{}\" startByte={} endByte={}", params.getS3KeyPrefix(),
+            params.getS3BucketName(), params.getLocalPath(), startByte, endByte);
+
+        AmazonS3Client s3Client = getAmazonS3(params);
+
+        try
+        {
+            GetObjectRequest getObjectRequest = new GetObjectRequest(params.getS3BucketName(), params.getS3KeyPrefix()).withRange(startByte, endByte);
+
+            try (S3Object s3Object = s3Operations.getS3Object(getObjectRequest, s3Client);
+                RandomAccessFile localFile = new RandomAccessFile(params.getLocalPath(), "rw"))
+            {
+                // Write the byte range at the same offset within the local file, so the byte ranges can be written in any order.
+                localFile.seek(startByte);
+
+                InputStream inputStream = s3Object.getObjectContent();
+                byte[] buffer = new byte[DOWNLOAD_FILE_RANGE_BUFFER_SIZE];
+                long bytesDownloaded = 0;
+                int bytesRead;
+                while ((bytesRead = inputStream.read(buffer)) != -1)
+                {
+                    localFile.write(buffer, 0, bytesRead);
+                    bytesDownloaded += bytesRead;
+                }
+
+                return bytesDownloaded;
+            }
+        }
+        catch (AmazonClientException | IOException e)
+        {
+            throw new IllegalStateException(String
+                .format("Failed to download byte range %d-%d of S3 object key \"%s\" from bucket \"%s\" to \"%s\" local file. Reason: %s", startByte, endByte,
+                    params.getS3KeyPrefix(), params.getS3BucketName(), params.getLocalPath(), e.getMessage()), e);
+        }
+        finally
+        {
+            // Shutdown the AmazonS3Client instance to release resources.
+            s3Client.shutdown();
+        }
+    }
+
     @Override
     public String generateGetObjectPresignedUrl(String bucketName, String key, Date expiration, S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto)
     {
@@ -468,65 +590,67 @@ public class S3DaoImpl implements S3Dao
     }
 
     @Override
-    public List<S3ObjectSummary> listDirectory(final S3FileTransferRequestParamsDto params)
-    {
-        // By default, we do not ignore 0 byte objects that represent S3 directories.
-        return listDirectory(params, false);
-    }
-
-    @Override
-    public List<S3ObjectSummary> listDirectory(final S3FileTransferRequestParamsDto params, boolean ignoreZeroByteDirectoryMarkers)
+    public String initiateMultipartUpload(final S3FileTransferRequestParamsDto params)
     {
-        Assert.isTrue(!isRootKeyPrefix(params.getS3KeyPrefix()), "Listing of S3 objects from root directory is not allowed.");
-
         AmazonS3Client s3Client = getAmazonS3(params);
-        List<S3ObjectSummary> s3ObjectSummaries = new ArrayList<>();
 
         try
         {
-            ListObjectsRequest listObjectsRequest = new ListObjectsRequest().withBucketName(params.getS3BucketName()).withPrefix(params.getS3KeyPrefix());
-            ObjectListing objectListing;
+            // Set the server side encryption and the storage class the same way as for the other uploads.
+            ObjectMetadata metadata = new ObjectMetadata();
+            prepareMetadata(params, metadata);
 
-            do
-            {
-                objectListing = s3Operations.listObjects(listObjectsRequest, s3Client);
+            InitiateMultipartUploadRequest initiateMultipartUploadRequest =
+                new InitiateMultipartUploadRequest(params.getS3BucketName(), params.getS3KeyPrefix(), metadata);
 
-                for (S3ObjectSummary objectSummary : objectListing.getObjectSummaries())
-                {
-                    // Ignore 0 byte objects that represent S3 directories.
-                    if (!(ignoreZeroByteDirectoryMarkers && objectSummary.getKey().endsWith("/") && objectSummary.getSize() == 0L))
-                    {
-                        s3ObjectSummaries.add(objectSummary);
-                    }
-                }
-
-                listObjectsRequest.setMarker(objectListing.getNextMarker());
-            }
-            while (objectListing.isTruncated());
-        }
-        catch (AmazonS3Exception amazonS3Exception)
-        {
-            if (S3Operations.ERROR_CODE_NO_SUCH_BUCKET.equals(amazonS3Exception.getErrorCode()))
-            {
-                throw new IllegalArgumentException("The specified bucket '" + params.getS3BucketName() + "' does not exist.", amazonS3Exception);
-            }
-            throw new IllegalStateException("Error accessing S3", amazonS3Exception);
+            return s3Operations.initiateMultipartUpload(TransferManager.appendSingleObjectUserAgent(initiateMultipartUploadRequest), s3Client).getUploadId();
         }
         catch (AmazonClientException e)
         {
             throw new IllegalStateException(String
-                .format("Failed to list keys with prefix \"%s\" from bucket \"%s\". Reason: %s", params.getS3KeyPrefix(), params.getS3BucketName(),
-                    e.getMessage()), e);
+                .format("Failed to initiate multipart upload of S3 object key \"%s\" to bucket \"%s\". Reason: %s", params.getS3KeyPrefix(),
+                    params.getS3BucketName(), e.getMessage()), e);
         }
         finally
         {
             // Shutdown the AmazonS3Client instance to release resources.
             s3Client.shutdown();
         }
+    }
+
+    @Override
+    public List<S3ObjectSummary> listDirectory(final S3FileTransferRequestParamsDto params)
+    {
+        // By default, we do not ignore 0 byte objects that represent S3 directories.
+        return listDirectory(params, false);
+    }
+
+    @Override
+    public List<S3ObjectSummary> listDirectory(final S3FileTransferRequestParamsDto params, boolean ignoreZeroByteDirectoryMarkers)
+    {
+        List<S3ObjectSummary> s3ObjectSummaries = new ArrayList<>();
+
+        try (S3ObjectSummaryIterator s3ObjectSummaryIterator = iterateDirectory(params, ignoreZeroByteDirectoryMarkers))
+        {
+            while (s3ObjectSummaryIterator.hasNext())
+            {
+                s3ObjectSummaries.add(s3ObjectSummaryIterator.next());
+            }
+        }
 
         return s3ObjectSummaries;
     }
 
+    @Override
+    public S3ObjectSummaryIterator iterateDirectory(final S3FileTransferRequestParamsDto params, boolean ignoreZeroByteDirectoryMarkers)
+    {
+        Assert.isTrue(!isRootKeyPrefix(params.getS3KeyPrefix()), "Listing of S3 objects from root directory is not allowed.");
+
+        // Please note that the iterator takes ownership of the S3 client and shuts it down once it is closed.
+        return new S3ObjectSummaryIteratorImpl(s3Operations, getAmazonS3(params), params.getS3BucketName(), params.getS3KeyPrefix(),
+            ignoreZeroByteDirectoryMarkers, configurationHelper.getBooleanProperty(ConfigurationValue.S3_DIRECTORY_LISTING_PREFETCH_ENABLED));
+    }
+
     @Override
     public List<DeleteObjectsRequest.KeyVersion> listVersions(final S3FileTransferRequestParamsDto params)
     {
@@ -652,8 +776,15 @@ public class S3DaoImpl implements S3Dao
 
         if (!CollectionUtils.isEmpty(s3FileTransferRequestParamsDto.getFiles()))
         {
+            // Prepare a list of S3 keys.
+            List<String> s3Keys = new ArrayList<>();
+            for (File file : s3FileTransferRequestParamsDto.getFiles())
+            {
+                s3Keys.add(file.getPath().replaceAll("\\\\", "/"));
+            }
+
             // Initialize a key value pair for the error message in the catch block.
-            String s3Key = s3FileTransferRequestParamsDto.getFiles().get(0).getPath().replaceAll("\\\\", "/");
+            String s3Key = s3Keys.get(0);
 
             // Amazon S3 client to access S3 objects.
             AmazonS3Client s3Client = null;
@@ -661,57 +792,110 @@ public class S3DaoImpl implements S3Dao
             // Amazon S3 client for S3 object tagging.
             AmazonS3Client s3ObjectTaggerClient = null;
 
+            // The tagging workers, so they can be cancelled when tagging fails.
+            List<Future<Void>> futures = new ArrayList<>();
+
             try
             {
                 // Create an S3 client to access S3 objects.
-                s3Client = getAmazonS3(s3FileTransferRequestParamsDto);
+                final AmazonS3Client finalS3Client = getAmazonS3(s3FileTransferRequestParamsDto);
+                s3Client = finalS3Client;
 
                 // Create an S3 client for S3 object tagging.
-                s3ObjectTaggerClient = getAmazonS3(s3ObjectTaggerParamsDto);
-
-                // Create a get object tagging request.
-                GetObjectTaggingRequest getObjectTaggingRequest = new GetObjectTaggingRequest(s3FileTransferRequestParamsDto.getS3BucketName(), null);
-
-                // Create a restore object request.
-                SetObjectTaggingRequest setObjectTaggingRequest = new SetObjectTaggingRequest(s3FileTransferRequestParamsDto.getS3BucketName(), null, null);
-
-                for (File file : s3FileTransferRequestParamsDto.getFiles())
+                final AmazonS3Client finalS3ObjectTaggerClient = getAmazonS3(s3ObjectTaggerParamsDto);
+                s3ObjectTaggerClient = finalS3ObjectTaggerClient;
+
+                // Run no more tagging workers than the number of S3 objects to tag on the shared S3 object tagging thread pool. Each worker takes the next
+                // S3 key until all S3 keys are tagged or any worker fails, so only the workers, not the S3 keys, are queued. Please note that both S3
+                // clients are configured with the retry policy from the retry policy factory, so each individual get and set object tagging request gets
+                // retried with backoff on retryable errors.
+                int threadCount = Math.max(1,
+                    Math.min(configurationHelper.getProperty(ConfigurationValue.S3_OBJECT_TAGGING_THREAD_POOL_SIZE, Integer.class), s3Keys.size()));
+                CompletionService<Void> completionService = new ExecutorCompletionService<>(s3ObjectTaggingTaskExecutor);
+
+                // Set up the progress and throughput counters.
+                final int progressLogInterval = configurationHelper.getProperty(ConfigurationValue.S3_OBJECT_TAGGING_PROGRESS_LOG_INTERVAL, Integer.class);
+                final AtomicInteger nextS3KeyIndex = new AtomicInteger();
+                final AtomicLong taggedS3KeyCount = new AtomicLong();
+                final AtomicReference<String> failedS3Key = new AtomicReference<>();
+                StopWatch stopWatch = new StopWatch();
+                stopWatch.start();
+
+                // Submit the tagging workers.
+                for (int i = 0; i < threadCount; i++)
                 {
-                    // Prepare an S3 key.
-                    s3Key = file.getPath().replaceAll("\\\\", "/");
-
-                    // Retrieve the current tagging information for the S3 key.
-                    getObjectTaggingRequest.setKey(s3Key);
-                    GetObjectTaggingResult getObjectTaggingResult = s3Operations.getObjectTagging(getObjectTaggingRequest, s3Client);
-
-                    // Update the list of tags to include the specified S3 object tag.
-                    List<Tag> updatedTags = new ArrayList<>();
-                    updatedTags.add(tag);
-                    if (CollectionUtils.isNotEmpty(getObjectTaggingResult.getTagSet()))
+                    futures.add(completionService.submit(() ->
                     {
-                        for (Tag currentTag : getObjectTaggingResult.getTagSet())
+                        int index;
+                        while (failedS3Key.get() == null && (index = nextS3KeyIndex.getAndIncrement()) < s3Keys.size())
                         {
-                            if (!StringUtils.equals(tag.getKey(), currentTag.getKey()))
+                            String key = s3Keys.get(index);
+                            try
                             {
-                                updatedTags.add(currentTag);
+                                tagObject(s3FileTransferRequestParamsDto.getS3BucketName(), key, tag, finalS3Client, finalS3ObjectTaggerClient);
+                            }
+                            catch (RuntimeException e)
+                            {
+                                failedS3Key.compareAndSet(null, key);
+                                throw e;
+                            }
+
+                            long count = taggedS3KeyCount.incrementAndGet();
+                            if (progressLogInterval > 0 && count % progressLogInterval == 0)
+                            {
+                                LOGGER.info("Tagging objects in S3 is in progress. s3BucketName=\"{}\" s3KeyCount={} taggedS3KeyCount={}",
+                                    s3FileTransferRequestParamsDto.getS3BucketName(), s3Keys.size(), count);
                             }
                         }
-                    }
+                        return null;
+                    }));
+                }
 
-                    // Update the tagging information.
-                    setObjectTaggingRequest.setKey(s3Key);
-                    setObjectTaggingRequest.setTagging(new ObjectTagging(updatedTags));
-                    s3Operations.setObjectTagging(setObjectTaggingRequest, s3ObjectTaggerClient);
+                // Wait for the tagging workers to complete in the order they finish, so the first failure is reported as soon as it happens.
+                for (int i = 0; i < futures.size(); i++)
+                {
+                    try
+                    {
+                        completionService.take().get();
+                    }
+                    catch (ExecutionException e)
+                    {
+                        if (failedS3Key.get() != null)
+                        {
+                            s3Key = failedS3Key.get();
+                        }
+                        if (e.getCause() instanceof Exception)
+                        {
+                            throw (Exception) e.getCause();
+                        }
+                        throw e;
+                    }
                 }
+
+                stopWatch.stop();
+                LOGGER.info("Tagged objects in S3. s3BucketName=\"{}\" s3KeyCount={} threadCount={} totalElapsedTimeMs={} objectsPerSecond={}",
+                    s3FileTransferRequestParamsDto.getS3BucketName(), s3Keys.size(), threadCount, stopWatch.getTime(),
+                    String.format("%.2f", s3Keys.size() * 1000.0 / Math.max(1L, stopWatch.getTime())));
             }
             catch (Exception e)
             {
+                if (e instanceof InterruptedException)
+                {
+                    Thread.currentThread().interrupt();
+                }
+
                 throw new IllegalStateException(String
                     .format("Failed to tag S3 object with \"%s\" key in \"%s\" bucket. Reason: %s", s3Key, s3FileTransferRequestParamsDto.getS3BucketName(),
                         e.getMessage()), e);
             }
             finally
             {
+                // Cancel any outstanding tagging workers.
+                for (Future<Void> future : futures)
+                {
+                    future.cancel(true);
+                }
+
                 if (s3Client != null)
                 {
                     s3Client.shutdown();
@@ -837,6 +1021,33 @@ public class S3DaoImpl implements S3Dao
         return results;
     }
 
+    @Override
+    public String uploadPart(final S3FileTransferRequestParamsDto params, String uploadId, int partNumber, InputStream inputStream, long partSize,
+        String md5Digest)
+    {
+        AmazonS3Client s3Client = getAmazonS3(params);
+
+        try
+        {
+            UploadPartRequest uploadPartRequest =
+                new UploadPartRequest().withBucketName(params.getS3BucketName()).withKey(params.getS3KeyPrefix()).withUploadId(uploadId)
+                    .withPartNumber(partNumber).withInputStream(inputStream).withPartSize(partSize).withMD5Digest(md5Digest);
+
+            return s3Operations.uploadPart(TransferManager.appendSingleObjectUserAgent(uploadPartRequest), s3Client).getETag();
+        }
+        catch (AmazonClientException e)
+        {
+            throw new IllegalStateException(String
+                .format("Failed to upload part %d of multipart upload \"%s\" of S3 object key \"%s\" to bucket \"%s\". Reason: %s", partNumber, uploadId,
+                    params.getS3KeyPrefix(), params.getS3BucketName(), e.getMessage()), e);
+        }
+        finally
+        {
+            // Shutdown the AmazonS3Client instance to release resources.
+            s3Client.shutdown();
+        }
+    }
+
     @Override
     public void validateGlacierS3FilesRestored(S3FileTransferRequestParamsDto params) throws RuntimeException
     {
@@ -974,13 +1185,65 @@ public class S3DaoImpl implements S3Dao
     }
 
     /**
-     * Gets a new S3 client based on the specified parameters. The HTTP proxy information will be added if the host and port are specified in the parameters.
+     * Tags an S3 object with the specified S3 object tag. Any other tags already present on the S3 object are preserved, except for a tag with the same key.
+     *
+     * @param s3BucketName the S3 bucket name
+     * @param s3Key the S3 object key
+     * @param tag the S3 object tag
+     * @param s3Client the S3 client to access S3 objects
+     * @param s3ObjectTaggerClient the S3 client for S3 object tagging
+     */
+    private void tagObject(String s3BucketName, String s3Key, Tag tag, AmazonS3Client s3Client, AmazonS3Client s3ObjectTaggerClient)
+    {
+        // Retrieve the current tagging information for the S3 key.
+        GetObjectTaggingResult getObjectTaggingResult = s3Operations.getObjectTagging(new GetObjectTaggingRequest(s3BucketName, s3Key), s3Client);
+
+        // Update the list of tags to include the specified S3 object tag.
+        List<Tag> updatedTags = new ArrayList<>();
+        updatedTags.add(tag);
+        if (CollectionUtils.isNotEmpty(getObjectTaggingResult.getTagSet()))
+        {
+            for (Tag currentTag : getObjectTaggingResult.getTagSet())
+            {
+                if (!StringUtils.equals(tag.getKey(), currentTag.getKey()))
+                {
+                    updatedTags.add(currentTag);
+                }
+            }
+        }
+
+        // Update the tagging information.
+        s3Operations.setObjectTagging(new SetObjectTaggingRequest(s3BucketName, s3Key, new ObjectTagging(updatedTags)), s3ObjectTaggerClient);
+    }
+
+    /**
+     * Gets an S3 client based on the specified parameters. When S3 client caching is enabled, a cached client shared across S3 operations is returned, so the
+     * callers must still call shutdown() on the client once they are done with it in order to release it back to the cache.
      *
      * @param params the parameters.
      *
      * @return the Amazon S3 client.
      */
     private AmazonS3Client getAmazonS3(S3FileTransferRequestParamsDto params)
+    {
+        if (isS3ClientCacheable(params))
+        {
+            return s3ClientCache.getAmazonS3Client(getS3ClientCacheKey(params), () -> (S3ClientCache.CachedAmazonS3Client) createAmazonS3(params, true));
+        }
+
+        return createAmazonS3(params, false);
+    }
+
+    /**
+     * Creates a new S3 client based on the specified parameters. The HTTP proxy information will be added if the host and port are specified in the
+     * parameters.
+     *
+     * @param params the parameters.
+     * @param cached specifies whether to create a client that can be held by the S3 client cache
+     *
+     * @return the Amazon S3 client.
+     */
+    private AmazonS3Client createAmazonS3(S3FileTransferRequestParamsDto params, boolean cached)
     {
         AmazonS3Client amazonS3Client;
 
@@ -1010,13 +1273,16 @@ public class S3DaoImpl implements S3Dao
             StringUtils.isNotBlank(params.getSessionToken()))
         {
             // Create an S3 client using basic session credentials.
-            amazonS3Client = new AmazonS3Client(new BasicSessionCredentials(params.getAwsAccessKeyId(), params.getAwsSecretKey(), params.getSessionToken()),
-                clientConfiguration);
+            BasicSessionCredentials basicSessionCredentials =
+                new BasicSessionCredentials(params.getAwsAccessKeyId(), params.getAwsSecretKey(), params.getSessionToken());
+            amazonS3Client = new AmazonS3Client(basicSessionCredentials, clientConfiguration);
         }
         else
         {
             // Create an S3 client using AWS credentials provider.
-            amazonS3Client = new AmazonS3Client(getAWSCredentialsProvider(params), clientConfiguration);
+            AWSCredentialsProvider awsCredentialsProvider = getAWSCredentialsProvider(params);
+            amazonS3Client = cached ? new S3ClientCache.CachedAmazonS3Client(awsCredentialsProvider, clientConfiguration) :
+                new AmazonS3Client(awsCredentialsProvider, clientConfiguration);
         }
 
         // Set the optional endpoint, if specified.
@@ -1030,6 +1296,38 @@ public class S3DaoImpl implements S3Dao
         return amazonS3Client;
     }
 
+    /**
+     * Returns true if an S3 client for the specified parameters can be cached. Clients that use session credentials or additional AWS credentials providers
+     * are never cached, since those credentials are issued per request and a cached client would hardly ever get reused.
+     *
+     * @param params the parameters.
+     *
+     * @return true if the S3 client can be cached, false otherwise
+     */
+    private boolean isS3ClientCacheable(S3FileTransferRequestParamsDto params)
+    {
+        return s3ClientCache.isEnabled() && StringUtils.isBlank(params.getSessionToken()) &&
+            CollectionUtils.isEmpty(params.getAdditionalAwsCredentialsProviders());
+    }
+
+    /**
+     * Gets the S3 client cache key for the specified parameters. The key is made of the endpoint, which also determines the region, the client configuration
+     * and the identity of the credentials provider, i.e. the AWS access key ID or the default credentials provider chain when no access key is specified. The
+     * key never includes any secrets.
+     *
+     * @param params the parameters.
+     *
+     * @return the S3 client cache key
+     */
+    private List<Object> getS3ClientCacheKey(S3FileTransferRequestParamsDto params)
+    {
+        String credentialsProviderIdentity = StringUtils.isNotBlank(params.getAwsAccessKeyId()) && StringUtils.isNotBlank(params.getAwsSecretKey()) ?
+            params.getAwsAccessKeyId() : DefaultAWSCredentialsProviderChain.class.getSimpleName();
+
+        return Arrays.asList(params.getS3Endpoint(), params.getHttpProxyHost(), params.getHttpProxyPort(), params.getSocketTimeout(),
+            configurationHelper.getProperty(ConfigurationValue.AWS_MAX_RETRY_ATTEMPT, Integer.class), credentialsProviderIdentity);
+    }
+
     /**
      * Retrieves an S3 object.
      *
@@ -1084,13 +1382,15 @@ public class S3DaoImpl implements S3Dao
      *
      * @param params the parameters.
      *
-     * @return a newly created transfer manager.
+     * @return the transfer manager.
      */
     private TransferManager getTransferManager(final S3FileTransferRequestParamsDto params)
     {
         // We are returning a new transfer manager each time it is called. Although the Javadocs of TransferManager say to share a single instance
         // if possible, this could potentially be a problem if TransferManager.shutdown(true) is called and underlying resources are not present when needed
-        // for subsequent transfers.
+        // for subsequent transfers. When S3 client caching is enabled, only the S3 client is shared, while each transfer still gets its own thread pool, so
+        // concurrent transfers never compete for the same threads. Shutting down the transfer manager calls shutdown() on a cached S3 client, which only
+        // releases it back to the cache.
         if (params.getMaxThreads() == null)
         {
             // Create a transfer manager that will internally use an appropriate number of threads.
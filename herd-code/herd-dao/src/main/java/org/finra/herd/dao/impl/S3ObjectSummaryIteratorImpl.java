@@ -0,0 +1,224 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.dao.impl;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.services.s3.AmazonS3Client;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.ListObjectsRequest;
+import com.amazonaws.services.s3.model.ObjectListing;
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+
+import org.finra.herd.dao.S3ObjectSummaryIterator;
+import org.finra.herd.dao.S3Operations;
+
+/**
+ * An S3 object summary iterator that lists S3 objects matching an S3 key prefix one listing page at a time. Only the current listing page is held in memory.
+ * When prefetching is enabled, the next listing page is requested on a background thread while the caller is consuming the current page.
+ */
+public class S3ObjectSummaryIteratorImpl implements S3ObjectSummaryIterator
+{
+    private final S3Operations s3Operations;
+
+    private final AmazonS3Client s3Client;
+
+    private final ListObjectsRequest listObjectsRequest;
+
+    private final boolean ignoreZeroByteDirectoryMarkers;
+
+    private final ExecutorService prefetchExecutorService;
+
+    private boolean closed;
+
+    private Iterator<S3ObjectSummary> currentPageIterator = Collections.emptyIterator();
+
+    private boolean morePagesAvailable = true;
+
+    private S3ObjectSummary nextS3ObjectSummary;
+
+    private Future<ObjectListing> prefetchedObjectListing;
+
+    /**
+     * Creates a new S3 object summary iterator. The iterator takes ownership of the specified S3 client and shuts it down when the iterator gets closed.
+     *
+     * @param s3Operations the S3 operations
+     * @param s3Client the S3 client
+     * @param s3BucketName the S3 bucket name
+     * @param s3KeyPrefix the S3 key prefix
+     * @param ignoreZeroByteDirectoryMarkers specifies whether to ignore 0 byte objects that represent S3 directories
+     * @param prefetchNextPage specifies whether to request the next listing page on a background thread
+     */
+    public S3ObjectSummaryIteratorImpl(S3Operations s3Operations, AmazonS3Client s3Client, String s3BucketName, String s3KeyPrefix,
+        boolean ignoreZeroByteDirectoryMarkers, boolean prefetchNextPage)
+    {
+        this.s3Operations = s3Operations;
+        this.s3Client = s3Client;
+        this.listObjectsRequest = new ListObjectsRequest().withBucketName(s3BucketName).withPrefix(s3KeyPrefix);
+        this.ignoreZeroByteDirectoryMarkers = ignoreZeroByteDirectoryMarkers;
+        this.prefetchExecutorService = prefetchNextPage ? Executors.newSingleThreadExecutor() : null;
+    }
+
+    @Override
+    public boolean hasNext()
+    {
+        while (nextS3ObjectSummary == null)
+        {
+            if (currentPageIterator.hasNext())
+            {
+                S3ObjectSummary s3ObjectSummary = currentPageIterator.next();
+
+                // Ignore 0 byte objects that represent S3 directories.
+                if (!(ignoreZeroByteDirectoryMarkers && s3ObjectSummary.getKey().endsWith("/") && s3ObjectSummary.getSize() == 0L))
+                {
+                    nextS3ObjectSummary = s3ObjectSummary;
+                }
+            }
+            else if (morePagesAvailable && !closed)
+            {
+                currentPageIterator = getNextObjectListing().getObjectSummaries().iterator();
+            }
+            else
+            {
+                // Release the resources as soon as the listing is exhausted.
+                close();
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public S3ObjectSummary next()
+    {
+        if (!hasNext())
+        {
+            throw new NoSuchElementException();
+        }
+
+        S3ObjectSummary s3ObjectSummary = nextS3ObjectSummary;
+        nextS3ObjectSummary = null;
+        return s3ObjectSummary;
+    }
+
+    @Override
+    public void close()
+    {
+        if (!closed)
+        {
+            closed = true;
+
+            if (prefetchExecutorService != null)
+            {
+                prefetchExecutorService.shutdownNow();
+            }
+
+            // Shutdown the AmazonS3Client instance to release resources.
+            s3Client.shutdown();
+        }
+    }
+
+    /**
+     * Gets the next object listing page and, if prefetching is enabled and there are more pages available, submits a request for the following page.
+     *
+     * @return the object listing
+     */
+    private ObjectListing getNextObjectListing()
+    {
+        ObjectListing objectListing;
+
+        if (prefetchedObjectListing != null)
+        {
+            try
+            {
+                objectListing = prefetchedObjectListing.get();
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(String
+                    .format("Interrupted while listing keys with prefix \"%s\" from bucket \"%s\".", listObjectsRequest.getPrefix(),
+                        listObjectsRequest.getBucketName()), e);
+            }
+            catch (ExecutionException e)
+            {
+                // The listing exceptions are already translated by the listObjects() method, so just rethrow them.
+                if (e.getCause() instanceof RuntimeException)
+                {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new IllegalStateException(e.getCause());
+            }
+            finally
+            {
+                prefetchedObjectListing = null;
+            }
+        }
+        else
+        {
+            objectListing = listObjects();
+        }
+
+        morePagesAvailable = objectListing.isTruncated();
+
+        if (morePagesAvailable)
+        {
+            listObjectsRequest.setMarker(objectListing.getNextMarker());
+
+            if (prefetchExecutorService != null)
+            {
+                prefetchedObjectListing = prefetchExecutorService.submit(this::listObjects);
+            }
+        }
+
+        return objectListing;
+    }
+
+    /**
+     * Lists a single page of S3 objects per current state of the list objects request.
+     *
+     * @return the object listing
+     */
+    private ObjectListing listObjects()
+    {
+        try
+        {
+            return s3Operations.listObjects(listObjectsRequest, s3Client);
+        }
+        catch (AmazonS3Exception amazonS3Exception)
+        {
+            if (S3Operations.ERROR_CODE_NO_SUCH_BUCKET.equals(amazonS3Exception.getErrorCode()))
+            {
+                throw new IllegalArgumentException("The specified bucket '" + listObjectsRequest.getBucketName() + "' does not exist.", amazonS3Exception);
+            }
+            throw new IllegalStateException("Error accessing S3", amazonS3Exception);
+        }
+        catch (AmazonClientException e)
+        {
+            throw new IllegalStateException(String
+                .format("Failed to list keys with prefix \"%s\" from bucket \"%s\". Reason: %s", listObjectsRequest.getPrefix(),
+                    listObjectsRequest.getBucketName(), e.getMessage()), e);
+        }
+    }
+}
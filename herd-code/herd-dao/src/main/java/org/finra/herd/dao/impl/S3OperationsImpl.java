@@ -21,6 +21,8 @@ import java.util.List;
 
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadResult;
 import com.amazonaws.services.s3.model.CopyObjectRequest;
 import com.amazonaws.services.s3.model.DeleteObjectsRequest;
 import com.amazonaws.services.s3.model.DeleteObjectsResult;
@@ -28,6 +30,8 @@ import com.amazonaws.services.s3.model.GeneratePresignedUrlRequest;
 import com.amazonaws.services.s3.model.GetObjectRequest;
 import com.amazonaws.services.s3.model.GetObjectTaggingRequest;
 import com.amazonaws.services.s3.model.GetObjectTaggingResult;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadResult;
 import com.amazonaws.services.s3.model.ListMultipartUploadsRequest;
 import com.amazonaws.services.s3.model.ListObjectsRequest;
 import com.amazonaws.services.s3.model.ListVersionsRequest;
@@ -40,6 +44,8 @@ import com.amazonaws.services.s3.model.RestoreObjectRequest;
 import com.amazonaws.services.s3.model.S3Object;
 import com.amazonaws.services.s3.model.SetObjectTaggingRequest;
 import com.amazonaws.services.s3.model.SetObjectTaggingResult;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+import com.amazonaws.services.s3.model.UploadPartResult;
 import com.amazonaws.services.s3.model.VersionListing;
 import com.amazonaws.services.s3.transfer.Copy;
 import com.amazonaws.services.s3.transfer.Download;
@@ -59,6 +65,12 @@ public class S3OperationsImpl implements S3Operations
         s3Client.abortMultipartUpload(abortMultipartUploadRequest);
     }
 
+    @Override
+    public CompleteMultipartUploadResult completeMultipartUpload(CompleteMultipartUploadRequest completeMultipartUploadRequest, AmazonS3 s3Client)
+    {
+        return s3Client.completeMultipartUpload(completeMultipartUploadRequest);
+    }
+
     @Override
     public Copy copyFile(CopyObjectRequest copyObjectRequest, TransferManager transferManager)
     {
@@ -107,6 +119,12 @@ public class S3OperationsImpl implements S3Operations
         return s3.getObject(getObjectRequest);
     }
 
+    @Override
+    public InitiateMultipartUploadResult initiateMultipartUpload(InitiateMultipartUploadRequest initiateMultipartUploadRequest, AmazonS3 s3Client)
+    {
+        return s3Client.initiateMultipartUpload(initiateMultipartUploadRequest);
+    }
+
     @Override
     public MultipartUploadListing listMultipartUploads(ListMultipartUploadsRequest listMultipartUploadsRequest, AmazonS3 s3Client)
     {
@@ -168,4 +186,10 @@ public class S3OperationsImpl implements S3Operations
     {
         return transferManager.uploadFileList(s3BucketName, virtualDirectoryKeyPrefix, directory, files, metadataProvider);
     }
+
+    @Override
+    public UploadPartResult uploadPart(UploadPartRequest uploadPartRequest, AmazonS3 s3Client)
+    {
+        return s3Client.uploadPart(uploadPartRequest);
+    }
 }
@@ -15,20 +15,36 @@
 */
 package org.finra.herd.dao.impl;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 
+import com.amazonaws.services.sqs.AmazonSQS;
+import com.amazonaws.services.sqs.model.BatchResultErrorEntry;
 import com.amazonaws.services.sqs.model.MessageAttributeValue;
+import com.amazonaws.services.sqs.model.SendMessageBatchRequestEntry;
+import com.amazonaws.services.sqs.model.SendMessageBatchResult;
 import com.amazonaws.services.sqs.model.SendMessageResult;
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.BooleanUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.stereotype.Repository;
 
+import org.finra.herd.core.helper.ConfigurationHelper;
 import org.finra.herd.dao.AwsClientFactory;
 import org.finra.herd.dao.SqsDao;
 import org.finra.herd.dao.SqsOperations;
 import org.finra.herd.model.dto.AwsParamsDto;
+import org.finra.herd.model.dto.ConfigurationValue;
 import org.finra.herd.model.dto.MessageHeader;
 
 /**
@@ -37,14 +53,289 @@ import org.finra.herd.model.dto.MessageHeader;
 @Repository
 public class SqsDaoImpl implements SqsDao
 {
+    /**
+     * The maximum number of messages that can be sent to SQS using a single send message batch request.
+     */
+    public static final int MAX_MESSAGES_PER_BATCH_REQUEST = 10;
+
+    /**
+     * The maximum total size in bytes of the message bodies and message attributes that can be sent to SQS using a single send message batch request.
+     */
+    public static final int MAX_PAYLOAD_SIZE_PER_BATCH_REQUEST = 262144;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SqsDaoImpl.class);
+
     @Autowired
     private AwsClientFactory awsClientFactory;
 
+    @Autowired
+    private ConfigurationHelper configurationHelper;
+
+    @Autowired
+    private TaskExecutor sqsSendMessageBatchTaskExecutor;
+
     @Autowired
     private SqsOperations sqsOperations;
 
     @Override
     public SendMessageResult sendMessage(AwsParamsDto awsParamsDto, String queueName, String messageText, List<MessageHeader> messageHeaders)
+    {
+        return sqsOperations.sendMessage(queueName, messageText, getMessageAttributes(messageHeaders), awsClientFactory.getAmazonSQSClient(awsParamsDto));
+    }
+
+    @Override
+    public SendMessageBatchResult sendMessageBatch(AwsParamsDto awsParamsDto, String queueName, List<String> messageTexts,
+        List<List<MessageHeader>> messageHeaders)
+    {
+        AmazonSQS amazonSQS = awsClientFactory.getAmazonSQSClient(awsParamsDto);
+
+        // Build the entries for all batch requests, using the message index as the entry id. A batch request is closed when it reaches either the maximum
+        // number of entries or the maximum total payload size.
+        List<List<SendMessageBatchRequestEntry>> batches = new ArrayList<>();
+        List<SendMessageBatchRequestEntry> sendMessageBatchRequestEntries = new ArrayList<>();
+        int batchPayloadSize = 0;
+        for (int index = 0; index < messageTexts.size(); index++)
+        {
+            SendMessageBatchRequestEntry sendMessageBatchRequestEntry =
+                new SendMessageBatchRequestEntry().withId(String.valueOf(index)).withMessageBody(messageTexts.get(index))
+                    .withMessageAttributes(getMessageAttributes(messageHeaders != null ? messageHeaders.get(index) : null));
+            int payloadSize = getPayloadSize(sendMessageBatchRequestEntry);
+
+            if (sendMessageBatchRequestEntries.size() == MAX_MESSAGES_PER_BATCH_REQUEST ||
+                (!sendMessageBatchRequestEntries.isEmpty() && batchPayloadSize + payloadSize > MAX_PAYLOAD_SIZE_PER_BATCH_REQUEST))
+            {
+                batches.add(sendMessageBatchRequestEntries);
+                sendMessageBatchRequestEntries = new ArrayList<>();
+                batchPayloadSize = 0;
+            }
+
+            sendMessageBatchRequestEntries.add(sendMessageBatchRequestEntry);
+            batchPayloadSize += payloadSize;
+        }
+        if (!sendMessageBatchRequestEntries.isEmpty())
+        {
+            batches.add(sendMessageBatchRequestEntries);
+        }
+
+        SendMessageBatchResult sendMessageBatchResult = new SendMessageBatchResult();
+
+        if (batches.size() <= 1)
+        {
+            // Send a single batch on the current thread.
+            for (List<SendMessageBatchRequestEntry> batch : batches)
+            {
+                addSendMessageBatchResult(sendMessageBatchResult, sendMessageBatchSafely(queueName, batch, amazonSQS));
+            }
+        }
+        else
+        {
+            // Send the batches in parallel on the shared thread pool and collect the per message results in the order of the batches.
+            List<FutureTask<SendMessageBatchResult>> futures = new ArrayList<>();
+            try
+            {
+                for (List<SendMessageBatchRequestEntry> batch : batches)
+                {
+                    FutureTask<SendMessageBatchResult> future = new FutureTask<>(() -> sendMessageBatchSafely(queueName, batch, amazonSQS));
+                    futures.add(future);
+                    sqsSendMessageBatchTaskExecutor.execute(future);
+                }
+
+                for (FutureTask<SendMessageBatchResult> future : futures)
+                {
+                    addSendMessageBatchResult(sendMessageBatchResult, future.get());
+                }
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(String.format("Interrupted while sending messages to \"%s\" SQS queue.", queueName), e);
+            }
+            catch (ExecutionException e)
+            {
+                // The batch requests report their failures as failed entries, so this should never happen.
+                throw new IllegalStateException(e.getCause());
+            }
+            finally
+            {
+                // Cancel the batch requests that have not started yet, if we stopped waiting for them.
+                for (FutureTask<SendMessageBatchResult> future : futures)
+                {
+                    future.cancel(false);
+                }
+            }
+        }
+
+        return sendMessageBatchResult;
+    }
+
+    /**
+     * Adds the per message results of a send message batch operation to the combined result.
+     *
+     * @param sendMessageBatchResult the combined result
+     * @param result the result of a single send message batch operation
+     */
+    private void addSendMessageBatchResult(SendMessageBatchResult sendMessageBatchResult, SendMessageBatchResult result)
+    {
+        sendMessageBatchResult.getSuccessful().addAll(result.getSuccessful());
+        sendMessageBatchResult.getFailed().addAll(result.getFailed());
+    }
+
+    /**
+     * Sends a single batch of messages to the specified queue. When the send message batch request fails as a whole, all messages of the batch are reported
+     * as failed, so the results of the other batch requests of the same call are not lost.
+     *
+     * @param queueName the name of the Amazon SQS queue to which messages are sent
+     * @param sendMessageBatchRequestEntries the entries of the batch request
+     * @param amazonSQS the client for accessing AWS SQS
+     *
+     * @return the result of the send message batch operation, listing both the successful and the failed messages
+     */
+    private SendMessageBatchResult sendMessageBatchSafely(String queueName, List<SendMessageBatchRequestEntry> sendMessageBatchRequestEntries,
+        AmazonSQS amazonSQS)
+    {
+        try
+        {
+            return sendMessageBatchWithRetry(queueName, sendMessageBatchRequestEntries, amazonSQS);
+        }
+        catch (RuntimeException e)
+        {
+            LOGGER.error("Failed to send a batch of messages to the SQS queue. queueName=\"{}\" messageCount={}", queueName,
+                sendMessageBatchRequestEntries.size(), e);
+
+            SendMessageBatchResult sendMessageBatchResult = new SendMessageBatchResult();
+            for (SendMessageBatchRequestEntry sendMessageBatchRequestEntry : sendMessageBatchRequestEntries)
+            {
+                sendMessageBatchResult.getFailed().add(
+                    new BatchResultErrorEntry().withId(sendMessageBatchRequestEntry.getId()).withCode(e.getClass().getSimpleName()).withMessage(e.getMessage())
+                        .withSenderFault(false));
+            }
+            return sendMessageBatchResult;
+        }
+    }
+
+    /**
+     * Sends a single batch of messages to the specified queue. The messages that SQS failed to accept through no fault of the sender are resent, backing off
+     * before each attempt, up to the configured number of attempts.
+     *
+     * @param queueName the name of the Amazon SQS queue to which messages are sent
+     * @param sendMessageBatchRequestEntries the entries of the batch request
+     * @param amazonSQS the client for accessing AWS SQS
+     *
+     * @return the result of the send message batch operation, listing both the successful and the failed messages
+     */
+    private SendMessageBatchResult sendMessageBatchWithRetry(String queueName, List<SendMessageBatchRequestEntry> sendMessageBatchRequestEntries,
+        AmazonSQS amazonSQS)
+    {
+        SendMessageBatchResult sendMessageBatchResult = new SendMessageBatchResult();
+
+        List<SendMessageBatchRequestEntry> pendingEntries = sendMessageBatchRequestEntries;
+        for (int attempt = 0; ; attempt++)
+        {
+            SendMessageBatchResult result = sqsOperations.sendMessageBatch(queueName, pendingEntries, amazonSQS);
+            sendMessageBatchResult.getSuccessful().addAll(result.getSuccessful());
+
+            // Get the failed messages that are worth resending. The messages failed because of the sender fault would fail again.
+            List<BatchResultErrorEntry> retryableFailedEntries = new ArrayList<>();
+            for (BatchResultErrorEntry batchResultErrorEntry : result.getFailed())
+            {
+                if (BooleanUtils.isTrue(batchResultErrorEntry.getSenderFault()))
+                {
+                    sendMessageBatchResult.getFailed().add(batchResultErrorEntry);
+                }
+                else
+                {
+                    retryableFailedEntries.add(batchResultErrorEntry);
+                }
+            }
+
+            if (retryableFailedEntries.isEmpty())
+            {
+                break;
+            }
+
+            if (attempt >= configurationHelper.getProperty(ConfigurationValue.SQS_SEND_MESSAGE_BATCH_MAX_RETRY_ATTEMPTS, Integer.class))
+            {
+                sendMessageBatchResult.getFailed().addAll(retryableFailedEntries);
+                break;
+            }
+
+            long backoffMillis =
+                configurationHelper.getProperty(ConfigurationValue.SQS_SEND_MESSAGE_BATCH_RETRY_BACKOFF_MILLIS, Integer.class).longValue() << attempt;
+            LOGGER.warn("SQS failed to accept messages, retrying. queueName=\"{}\" failedMessageCount={} attempt={} backoffMillis={}", queueName,
+                retryableFailedEntries.size(), attempt + 1, backoffMillis);
+            try
+            {
+                Thread.sleep(backoffMillis);
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(String.format("Interrupted while waiting to resend messages to \"%s\" SQS queue.", queueName), e);
+            }
+
+            // Resend only the failed messages.
+            Set<String> retryableFailedEntryIds = new HashSet<>();
+            for (BatchResultErrorEntry batchResultErrorEntry : retryableFailedEntries)
+            {
+                retryableFailedEntryIds.add(batchResultErrorEntry.getId());
+            }
+            List<SendMessageBatchRequestEntry> failedEntries = new ArrayList<>();
+            for (SendMessageBatchRequestEntry sendMessageBatchRequestEntry : pendingEntries)
+            {
+                if (retryableFailedEntryIds.contains(sendMessageBatchRequestEntry.getId()))
+                {
+                    failedEntries.add(sendMessageBatchRequestEntry);
+                }
+            }
+            pendingEntries = failedEntries;
+        }
+
+        return sendMessageBatchResult;
+    }
+
+    /**
+     * Gets the size in bytes of the message body and the message attributes of a send message batch request entry, as SQS counts it against the payload size
+     * limit.
+     *
+     * @param sendMessageBatchRequestEntry the send message batch request entry
+     *
+     * @return the payload size in bytes
+     */
+    private int getPayloadSize(SendMessageBatchRequestEntry sendMessageBatchRequestEntry)
+    {
+        int payloadSize = getUtf8Length(sendMessageBatchRequestEntry.getMessageBody());
+
+        if (sendMessageBatchRequestEntry.getMessageAttributes() != null)
+        {
+            for (Map.Entry<String, MessageAttributeValue> entry : sendMessageBatchRequestEntry.getMessageAttributes().entrySet())
+            {
+                payloadSize += getUtf8Length(entry.getKey()) + getUtf8Length(entry.getValue().getDataType()) + getUtf8Length(entry.getValue().getStringValue());
+            }
+        }
+
+        return payloadSize;
+    }
+
+    /**
+     * Gets the length in bytes of the UTF-8 encoded string.
+     *
+     * @param value the string value, may be null
+     *
+     * @return the length in bytes or 0 when the string is null
+     */
+    private int getUtf8Length(String value)
+    {
+        return value == null ? 0 : value.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    /**
+     * Converts message headers to SQS message attributes.
+     *
+     * @param messageHeaders the optional list of message headers
+     *
+     * @return the map of SQS message attributes or null when no message headers are specified
+     */
+    private Map<String, MessageAttributeValue> getMessageAttributes(List<MessageHeader> messageHeaders)
     {
         Map<String, MessageAttributeValue> messageAttributes = null;
 
@@ -58,6 +349,6 @@ public class SqsDaoImpl implements SqsDao
             }
         }
 
-        return sqsOperations.sendMessage(queueName, messageText, messageAttributes, awsClientFactory.getAmazonSQSClient(awsParamsDto));
+        return messageAttributes;
     }
 }
@@ -15,11 +15,15 @@
 */
 package org.finra.herd.dao.impl;
 
+import java.util.List;
 import java.util.Map;
 
 import com.amazonaws.services.sqs.AmazonSQS;
 import com.amazonaws.services.sqs.model.MessageAttributeValue;
 import com.amazonaws.services.sqs.model.QueueDoesNotExistException;
+import com.amazonaws.services.sqs.model.SendMessageBatchRequest;
+import com.amazonaws.services.sqs.model.SendMessageBatchRequestEntry;
+import com.amazonaws.services.sqs.model.SendMessageBatchResult;
 import com.amazonaws.services.sqs.model.SendMessageRequest;
 import com.amazonaws.services.sqs.model.SendMessageResult;
 
@@ -40,4 +44,18 @@ public class SqsOperationsImpl implements SqsOperations
             throw new IllegalStateException(String.format("AWS SQS queue with \"%s\" name not found.", queueName), e);
         }
     }
+
+    @Override
+    public SendMessageBatchResult sendMessageBatch(String queueName, List<SendMessageBatchRequestEntry> sendMessageBatchRequestEntries, AmazonSQS amazonSQS)
+    {
+        try
+        {
+            return amazonSQS.sendMessageBatch(
+                new SendMessageBatchRequest().withQueueUrl(amazonSQS.getQueueUrl(queueName).getQueueUrl()).withEntries(sendMessageBatchRequestEntries));
+        }
+        catch (QueueDoesNotExistException e)
+        {
+            throw new IllegalStateException(String.format("AWS SQS queue with \"%s\" name not found.", queueName), e);
+        }
+    }
 }
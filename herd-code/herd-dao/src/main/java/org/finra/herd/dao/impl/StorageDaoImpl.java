@@ -81,6 +81,6 @@ public class StorageDaoImpl extends AbstractHerdDao implements StorageDao
 
         criteria.select(storageEntity).where(queryRestriction);
 
-        return executeSingleResultQuery(criteria, String.format("Found more than one storage with \"%s\" name.", storageName));
+        return executeSingleResultCacheableQuery(criteria, String.format("Found more than one storage with \"%s\" name.", storageName));
     }
 }
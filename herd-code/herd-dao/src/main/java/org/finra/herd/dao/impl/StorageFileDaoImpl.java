@@ -15,7 +15,6 @@
 */
 package org.finra.herd.dao.impl;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import javax.persistence.Tuple;
@@ -38,6 +37,8 @@ import org.finra.herd.model.jpa.StorageEntity;
 import org.finra.herd.model.jpa.StorageEntity_;
 import org.finra.herd.model.jpa.StorageFileEntity;
 import org.finra.herd.model.jpa.StorageFileEntity_;
+import org.finra.herd.model.jpa.StorageFileManifestEntity;
+import org.finra.herd.model.jpa.StorageFileManifestEntity_;
 import org.finra.herd.model.jpa.StorageUnitEntity;
 import org.finra.herd.model.jpa.StorageUnitEntity_;
 
@@ -95,6 +96,36 @@ public class StorageFileDaoImpl extends AbstractHerdDao implements StorageFileDa
         return entityManager.createQuery(criteria).getSingleResult();
     }
 
+    @Override
+    public Long getStorageFileManifestFileCount(String storageName, String filePathPrefix)
+    {
+        // Create the criteria builder and the criteria.
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> criteria = builder.createQuery(Long.class);
+
+        // The criteria root is the storage unit.
+        Root<StorageUnitEntity> storageUnitEntity = criteria.from(StorageUnitEntity.class);
+
+        // Join to the other tables we can filter on.
+        Join<StorageUnitEntity, StorageEntity> storageEntity = storageUnitEntity.join(StorageUnitEntity_.storage);
+        Join<StorageUnitEntity, StorageFileManifestEntity> storageFileManifestEntity = storageUnitEntity.join(StorageUnitEntity_.storageFileManifest);
+
+        // Create path.
+        Expression<Long> storageFileCount = builder.sumAsLong(storageFileManifestEntity.get(StorageFileManifestEntity_.fileCount));
+
+        // Create the standard restrictions (i.e. the standard where clauses).
+        Predicate storageNameRestriction = builder.equal(builder.upper(storageEntity.get(StorageEntity_.name)), storageName.toUpperCase());
+        Predicate s3KeyPrefixRestriction =
+            builder.like(storageFileManifestEntity.get(StorageFileManifestEntity_.s3KeyPrefix), String.format("%s%%", filePathPrefix));
+
+        // Add the clauses for the query.
+        criteria.select(storageFileCount).where(builder.and(storageNameRestriction, s3KeyPrefixRestriction));
+
+        // The sum is null when no storage file manifests match.
+        Long result = entityManager.createQuery(criteria).getSingleResult();
+        return result != null ? result : 0L;
+    }
+
     @Override
     public MultiValuedMap<Integer, String> getStorageFilePathsByStorageUnitIds(List<Integer> storageUnitIds)
     {
@@ -160,7 +191,7 @@ public class StorageFileDaoImpl extends AbstractHerdDao implements StorageFileDa
     {
         // Create the criteria builder and the criteria.
         CriteriaBuilder builder = entityManager.getCriteriaBuilder();
-        CriteriaQuery<StorageFileEntity> criteria = builder.createQuery(StorageFileEntity.class);
+        CriteriaQuery<String> criteria = builder.createQuery(String.class);
 
         // The criteria root is the storage files.
         Root<StorageFileEntity> storageFileEntity = criteria.from(StorageFileEntity.class);
@@ -176,18 +207,35 @@ public class StorageFileDaoImpl extends AbstractHerdDao implements StorageFileDa
         // Order the results by file path.
         Order orderByFilePath = builder.asc(storageFileEntity.get(StorageFileEntity_.path));
 
-        criteria.select(storageFileEntity).where(builder.and(filePathRestriction, storageNameRestriction)).orderBy(orderByFilePath);
+        // Select only the file paths, so the storage file entities do not get loaded into the persistence context.
+        criteria.select(storageFileEntity.get(StorageFileEntity_.path)).where(builder.and(filePathRestriction, storageNameRestriction))
+            .orderBy(orderByFilePath);
 
-        // Retrieve the storage files.
-        List<StorageFileEntity> storageFileEntities = entityManager.createQuery(criteria).getResultList();
+        // Retrieve and return the storage file paths.
+        return entityManager.createQuery(criteria).getResultList();
+    }
+
+    @Override
+    public void saveStorageFiles(List<StorageFileEntity> storageFileEntities)
+    {
+        int batchSize = Math.max(1, configurationHelper.getProperty(ConfigurationValue.HIBERNATE_JDBC_BATCH_SIZE, Integer.class));
 
-        // Build the result list.
-        List<String> storageFilePaths = new ArrayList<>();
-        for (StorageFileEntity storageFile : storageFileEntities)
+        for (int fromIndex = 0; fromIndex < storageFileEntities.size(); fromIndex += batchSize)
         {
-            storageFilePaths.add(storageFile.getPath());
-        }
+            List<StorageFileEntity> batch = storageFileEntities.subList(fromIndex, Math.min(fromIndex + batchSize, storageFileEntities.size()));
+
+            // Persist the batch and flush it, so it gets inserted using a single JDBC batch.
+            for (StorageFileEntity storageFileEntity : batch)
+            {
+                save(storageFileEntity);
+            }
+            entityManager.flush();
 
-        return storageFilePaths;
+            // Detach the inserted entities, so they do not accumulate in the persistence context.
+            for (StorageFileEntity storageFileEntity : batch)
+            {
+                entityManager.detach(storageFileEntity);
+            }
+        }
     }
 }
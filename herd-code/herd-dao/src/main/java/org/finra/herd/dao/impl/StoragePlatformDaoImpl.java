@@ -46,6 +46,6 @@ public class StoragePlatformDaoImpl extends AbstractHerdDao implements StoragePl
         criteria.select(storagePlatformEntity).where(queryRestriction);
 
         // Execute the query and return the result.
-        return executeSingleResultQuery(criteria, String.format("Found more than one storage platform with \"%s\" name.", name));
+        return executeSingleResultCacheableQuery(criteria, String.format("Found more than one storage platform with \"%s\" name.", name));
     }
 }
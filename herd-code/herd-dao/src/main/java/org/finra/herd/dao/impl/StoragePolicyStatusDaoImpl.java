@@ -45,6 +45,6 @@ public class StoragePolicyStatusDaoImpl extends AbstractHerdDao implements Stora
 
         criteria.select(storagePolicyStatusEntity).where(storagePolicyStatusCodeRestriction);
 
-        return executeSingleResultQuery(criteria, String.format("Found more than one storage policy status with code \"%s\".", code));
+        return executeSingleResultCacheableQuery(criteria, String.format("Found more than one storage policy status with code \"%s\".", code));
     }
 }
@@ -51,6 +51,8 @@ import org.finra.herd.model.jpa.NamespaceEntity;
 import org.finra.herd.model.jpa.NamespaceEntity_;
 import org.finra.herd.model.jpa.StorageEntity;
 import org.finra.herd.model.jpa.StorageEntity_;
+import org.finra.herd.model.jpa.StorageFileEntity;
+import org.finra.herd.model.jpa.StorageFileEntity_;
 import org.finra.herd.model.jpa.StoragePlatformEntity;
 import org.finra.herd.model.jpa.StoragePlatformEntity_;
 import org.finra.herd.model.jpa.StorageUnitEntity;
@@ -140,6 +142,49 @@ public class StorageUnitDaoImpl extends AbstractHerdDao implements StorageUnitDa
         return entityManager.createQuery(criteria).setMaxResults(maxResult).getResultList();
     }
 
+    @Override
+    public List<StorageUnitEntity> getS3StorageUnitsToCompactStorageFiles(int minStorageFileCount, int maxResult)
+    {
+        // Create the criteria builder and the criteria.
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<StorageUnitEntity> criteria = builder.createQuery(StorageUnitEntity.class);
+
+        // The criteria root is the storage unit.
+        Root<StorageUnitEntity> storageUnitEntityRoot = criteria.from(StorageUnitEntity.class);
+
+        // Join to the other tables we can filter on.
+        Join<StorageUnitEntity, StorageEntity> storageEntityJoin = storageUnitEntityRoot.join(StorageUnitEntity_.storage);
+        Join<StorageEntity, StoragePlatformEntity> storagePlatformEntityJoin = storageEntityJoin.join(StorageEntity_.storagePlatform);
+        Join<StorageUnitEntity, StorageUnitStatusEntity> storageUnitStatusEntityJoin = storageUnitEntityRoot.join(StorageUnitEntity_.status);
+
+        // Create a sub-query to count the storage files registered with the storage unit.
+        Subquery<Long> storageFileCountSubquery = criteria.subquery(Long.class);
+        Root<StorageFileEntity> storageFileEntitySubqueryRoot = storageFileCountSubquery.from(StorageFileEntity.class);
+        storageFileCountSubquery.select(builder.count(storageFileEntitySubqueryRoot))
+            .where(builder.equal(storageFileEntitySubqueryRoot.get(StorageFileEntity_.storageUnitId), storageUnitEntityRoot.get(StorageUnitEntity_.id)));
+
+        // Create the standard restrictions (i.e. the standard where clauses).
+        // Restrictions include:
+        //      - Storage platform is set to S3 storage
+        //      - Storage unit status is ENABLED
+        //      - Storage unit has no storage file manifest
+        //      - Storage unit has at least the minimum number of storage files registered
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(builder.equal(storagePlatformEntityJoin.get(StoragePlatformEntity_.name), StoragePlatformEntity.S3));
+        predicates.add(builder.equal(storageUnitStatusEntityJoin.get(StorageUnitStatusEntity_.code), StorageUnitStatusEntity.ENABLED));
+        predicates.add(builder.isNull(storageUnitEntityRoot.get(StorageUnitEntity_.storageFileManifest)));
+        predicates.add(builder.ge(storageFileCountSubquery, (long) minStorageFileCount));
+
+        // Order the results.
+        Order orderBy = builder.asc(storageUnitEntityRoot.get(StorageUnitEntity_.id));
+
+        // Add the clauses for the query.
+        criteria.select(storageUnitEntityRoot).where(builder.and(predicates.toArray(new Predicate[predicates.size()]))).orderBy(orderBy);
+
+        // Execute the query and return the results.
+        return entityManager.createQuery(criteria).setMaxResults(maxResult).getResultList();
+    }
+
     @Override
     public List<StorageUnitEntity> getS3StorageUnitsToExpire(int maxResult)
     {
@@ -340,14 +385,17 @@ public class StorageUnitDaoImpl extends AbstractHerdDao implements StorageUnitDa
     {
         List<StorageUnitEntity> resultStorageUnitEntities = new ArrayList<>();
 
+        // Get the chunk size as per specified partition filters.
+        int maxPartitionFiltersPerQuery = getMaxPartitionFiltersPerQuery(partitionFilters);
+
         // Loop through each chunk of partition filters until we have reached the end of the list.
-        for (int i = 0; i < partitionFilters.size(); i += MAX_PARTITION_FILTERS_PER_REQUEST)
+        for (int i = 0; i < partitionFilters.size(); i += maxPartitionFiltersPerQuery)
         {
             // Get a sub-list for the current chunk of partition filters.
             List<StorageUnitEntity> storageUnitEntitiesSubset =
                 getStorageUnitsByPartitionFiltersAndStorages(businessObjectFormatKey, partitionFilters, businessObjectDataVersion, businessObjectDataStatus,
                     storageNames, storagePlatformType, excludedStoragePlatformType, selectOnlyAvailableStorageUnits, i,
-                    (i + MAX_PARTITION_FILTERS_PER_REQUEST) > partitionFilters.size() ? partitionFilters.size() - i : MAX_PARTITION_FILTERS_PER_REQUEST);
+                    (i + maxPartitionFiltersPerQuery) > partitionFilters.size() ? partitionFilters.size() - i : maxPartitionFiltersPerQuery);
 
             // Add the sub-list to the result.
             resultStorageUnitEntities.addAll(storageUnitEntitiesSubset);
@@ -45,6 +45,6 @@ public class StorageUnitStatusDaoImpl extends AbstractHerdDao implements Storage
 
         criteria.select(storageUnitStatusEntity).where(storageUnitStatusCodeRestriction);
 
-        return executeSingleResultQuery(criteria, String.format("Found more than one storage unit status with code \"%s\".", code));
+        return executeSingleResultCacheableQuery(criteria, String.format("Found more than one storage unit status with code \"%s\".", code));
     }
 }
@@ -163,6 +163,29 @@ public class TagDaoImpl extends AbstractHerdDao implements TagDao
         return entityManager.createQuery(criteria).getResultList();
     }
 
+    @Override
+    public List<Integer> getTagIds(Integer lastId, int maxResult)
+    {
+        // Create the criteria builder and the criteria.
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Integer> criteria = builder.createQuery(Integer.class);
+
+        // The criteria root is the tag entity.
+        Root<TagEntity> tagEntityRoot = criteria.from(TagEntity.class);
+
+        // Get the columns.
+        Path<Integer> tagIdColumn = tagEntityRoot.get(TagEntity_.id);
+
+        // Select the ids that follow the last id of the previous chunk.
+        criteria.select(tagIdColumn).orderBy(builder.asc(tagIdColumn));
+        if (lastId != null)
+        {
+            criteria.where(builder.greaterThan(tagIdColumn, lastId));
+        }
+
+        return entityManager.createQuery(criteria).setMaxResults(maxResult).getResultList();
+    }
+
     @Override
     public List<TagChild> getTagsByTagTypeAndParentTagCode(String tagType, String parentTagCode)
     {
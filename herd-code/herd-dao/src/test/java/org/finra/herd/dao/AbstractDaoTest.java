@@ -576,6 +576,8 @@ public abstract class AbstractDaoTest extends AbstractCoreTest
 
     public static final String NO_AWS_SECRET_KEY = null;
 
+    public static final Integer NO_BDATA_ID = null;
+
     public static final String NO_BDATA_STATUS = null;
 
     public static final Boolean NO_BDATA_STATUS_PRE_REGISTRATION_FLAG_SET = false;
@@ -602,6 +604,8 @@ public abstract class AbstractDaoTest extends AbstractCoreTest
 
     public static final Timestamp NO_CREATED_ON_TIMESTAMP = null;
 
+    public static final Timestamp NO_CURRENT_TIMESTAMP = null;
+
     public static final String NO_CUSTOM_DDL_NAME = null;
 
     public static final Integer NO_DATA_VERSION = null;
@@ -1194,6 +1198,9 @@ public abstract class AbstractDaoTest extends AbstractCoreTest
     @Autowired
     protected BusinessObjectFormatDaoTestHelper businessObjectFormatDaoTestHelper;
 
+    @Autowired
+    protected CacheEvictionEventDao cacheEvictionEventDao;
+
     @Autowired
     protected ConfigurationDao configurationDao;
 
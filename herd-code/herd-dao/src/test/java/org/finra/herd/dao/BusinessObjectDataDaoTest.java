@@ -933,7 +933,8 @@ public class BusinessObjectDataDaoTest extends AbstractDaoTest
 
             // Retrieve the match.
             Map<BusinessObjectDataEntity, StoragePolicyEntity> result = businessObjectDataDao
-                .getBusinessObjectDataEntitiesMatchingStoragePolicies(storagePolicyPriorityLevel, Collections.singletonList(BDATA_STATUS), 0, 0, MAX_RESULT);
+                .getBusinessObjectDataEntitiesMatchingStoragePolicies(storagePolicyPriorityLevel, Collections.singletonList(BDATA_STATUS), 0,
+                    NO_CURRENT_TIMESTAMP, NO_UPDATED_ON_TIMESTAMP, NO_CREATED_ON_TIMESTAMP, NO_BDATA_ID, MAX_RESULT);
 
             // Validate the results.
             assertEquals(1, result.size());
@@ -943,7 +944,7 @@ public class BusinessObjectDataDaoTest extends AbstractDaoTest
     }
 
     @Test
-    public void testBusinessObjectDataEntitiesMatchingStoragePoliciesTestingStartPositionAndMaxResult()
+    public void testBusinessObjectDataEntitiesMatchingStoragePoliciesTestingLastBusinessObjectDataAndMaxResult()
     {
         // Create and persist a storage policy entity.
         StoragePolicyEntity storagePolicyEntity = storagePolicyDaoTestHelper
@@ -970,23 +971,75 @@ public class BusinessObjectDataDaoTest extends AbstractDaoTest
         // Try to retrieve both business object data instances as matching to the storage policy, but with max result limit set to 1.
         Map<BusinessObjectDataEntity, StoragePolicyEntity> result = businessObjectDataDao
             .getBusinessObjectDataEntitiesMatchingStoragePolicies(new StoragePolicyPriorityLevel(false, false, false), Collections.singletonList(BDATA_STATUS),
-                0, 0, 1);
+                0, NO_CURRENT_TIMESTAMP, NO_UPDATED_ON_TIMESTAMP, NO_CREATED_ON_TIMESTAMP, NO_BDATA_ID, 1);
 
         // Validate the results. Only the oldest business object data should get selected.
         assertEquals(1, result.size());
         assertTrue(result.containsKey(storageUnitEntity2.getBusinessObjectData()));
         assertEquals(storagePolicyEntity, result.get(storageUnitEntity2.getBusinessObjectData()));
 
-        // Try to retrieve the second business object data instance matching to the storage policy
-        // by specifying the relative start position and max result limit set.
+        // Try to retrieve the second business object data instance matching to the storage policy by specifying the last retrieved business object data.
         result = businessObjectDataDao
             .getBusinessObjectDataEntitiesMatchingStoragePolicies(new StoragePolicyPriorityLevel(false, false, false), Collections.singletonList(BDATA_STATUS),
-                0, 1, 1);
+                0, NO_CURRENT_TIMESTAMP, NO_UPDATED_ON_TIMESTAMP, storageUnitEntity2.getBusinessObjectData().getCreatedOn(),
+                storageUnitEntity2.getBusinessObjectData().getId(), 1);
 
         // Validate the results. Now, the second oldest business object data should get selected.
         assertEquals(1, result.size());
         assertTrue(result.containsKey(storageUnitEntity1.getBusinessObjectData()));
         assertEquals(storagePolicyEntity, result.get(storageUnitEntity1.getBusinessObjectData()));
+
+        // Try to retrieve business object data after the last one. No matches should get returned.
+        result = businessObjectDataDao
+            .getBusinessObjectDataEntitiesMatchingStoragePolicies(new StoragePolicyPriorityLevel(false, false, false), Collections.singletonList(BDATA_STATUS),
+                0, NO_CURRENT_TIMESTAMP, NO_UPDATED_ON_TIMESTAMP, storageUnitEntity1.getBusinessObjectData().getCreatedOn(),
+                storageUnitEntity1.getBusinessObjectData().getId(), 1);
+        assertEquals(0, result.size());
+    }
+
+    @Test
+    public void testBusinessObjectDataEntitiesMatchingStoragePoliciesTestingStoragePolicyRules()
+    {
+        // Create and persist storage policy entities with both supported storage policy rule types.
+        StoragePolicyEntity storagePolicyEntity = storagePolicyDaoTestHelper
+            .createStoragePolicyEntity(new StoragePolicyKey(STORAGE_POLICY_NAMESPACE_CD, STORAGE_POLICY_NAME),
+                StoragePolicyRuleTypeEntity.DAYS_SINCE_BDATA_REGISTERED, BDATA_AGE_IN_DAYS, BDEF_NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE,
+                STORAGE_NAME, StoragePolicyTransitionTypeEntity.GLACIER, StoragePolicyStatusEntity.ENABLED, INITIAL_VERSION, LATEST_VERSION_FLAG_SET);
+        StoragePolicyEntity storagePolicyEntity2 = storagePolicyDaoTestHelper
+            .createStoragePolicyEntity(new StoragePolicyKey(STORAGE_POLICY_NAMESPACE_CD, STORAGE_POLICY_NAME_2),
+                StoragePolicyRuleTypeEntity.DAYS_SINCE_BDATA_PRIMARY_PARTITION_VALUE, BDATA_AGE_IN_DAYS, BDEF_NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE,
+                FORMAT_FILE_TYPE_CODE, STORAGE_NAME_2, StoragePolicyTransitionTypeEntity.GLACIER, StoragePolicyStatusEntity.ENABLED, INITIAL_VERSION,
+                LATEST_VERSION_FLAG_SET);
+
+        // Create and persist a storage unit in the storage policy filter storage of each storage policy.
+        StorageUnitEntity storageUnitEntity = storageUnitDaoTestHelper
+            .createStorageUnitEntity(STORAGE_NAME, BDEF_NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE,
+                SUBPARTITION_VALUES, DATA_VERSION, LATEST_VERSION_FLAG_SET, BDATA_STATUS, StorageUnitStatusEntity.ENABLED, NO_STORAGE_DIRECTORY_PATH);
+        StorageUnitEntity storageUnitEntity2 = storageUnitDaoTestHelper
+            .createStorageUnitEntity(STORAGE_NAME_2, BDEF_NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE_2,
+                SUBPARTITION_VALUES, DATA_VERSION, LATEST_VERSION_FLAG_SET, BDATA_STATUS, StorageUnitStatusEntity.ENABLED, NO_STORAGE_DIRECTORY_PATH);
+
+        // Get the current timestamp.
+        Timestamp currentTimestamp = new Timestamp(System.currentTimeMillis());
+
+        // Try to retrieve the business object data matching to the storage policies. No matches should get returned as neither rule is satisfied yet.
+        Map<BusinessObjectDataEntity, StoragePolicyEntity> result = businessObjectDataDao
+            .getBusinessObjectDataEntitiesMatchingStoragePolicies(new StoragePolicyPriorityLevel(false, false, false), Collections.singletonList(BDATA_STATUS),
+                0, currentTimestamp, HerdDateUtils.addDays(currentTimestamp, -1), NO_CREATED_ON_TIMESTAMP, NO_BDATA_ID, MAX_RESULT);
+        assertEquals(0, result.size());
+
+        // Apply the offset in days to the first business object data "created on" value.
+        businessObjectDataDaoTestHelper.ageBusinessObjectData(storageUnitEntity.getBusinessObjectData(), BDATA_AGE_IN_DAYS + 1);
+
+        // Retrieve the business object data matching to the storage policies using an "updated on" threshold timestamp in the future.
+        result = businessObjectDataDao
+            .getBusinessObjectDataEntitiesMatchingStoragePolicies(new StoragePolicyPriorityLevel(false, false, false), Collections.singletonList(BDATA_STATUS),
+                0, currentTimestamp, HerdDateUtils.addDays(currentTimestamp, 1), NO_CREATED_ON_TIMESTAMP, NO_BDATA_ID, MAX_RESULT);
+
+        // Validate the results. Both business object data instances should get selected now.
+        assertEquals(2, result.size());
+        assertEquals(storagePolicyEntity, result.get(storageUnitEntity.getBusinessObjectData()));
+        assertEquals(storagePolicyEntity2, result.get(storageUnitEntity2.getBusinessObjectData()));
     }
 
     @Test
@@ -1008,7 +1061,7 @@ public class BusinessObjectDataDaoTest extends AbstractDaoTest
         // Retrieve business object data matching storage policy.
         Map<BusinessObjectDataEntity, StoragePolicyEntity> result = businessObjectDataDao
             .getBusinessObjectDataEntitiesMatchingStoragePolicies(new StoragePolicyPriorityLevel(false, false, false), Collections.singletonList(BDATA_STATUS),
-                0, 0, MAX_RESULT);
+                0, NO_CURRENT_TIMESTAMP, NO_UPDATED_ON_TIMESTAMP, NO_CREATED_ON_TIMESTAMP, NO_BDATA_ID, MAX_RESULT);
 
         // Validate the results. Only a single match should get returned.
         assertEquals(1, result.size());
@@ -1031,7 +1084,7 @@ public class BusinessObjectDataDaoTest extends AbstractDaoTest
         // Try to retrieve the business object data matching to the storage policy.
         Map<BusinessObjectDataEntity, StoragePolicyEntity> result = businessObjectDataDao
             .getBusinessObjectDataEntitiesMatchingStoragePolicies(new StoragePolicyPriorityLevel(false, false, false), Collections.singletonList(BDATA_STATUS),
-                0, 0, MAX_RESULT);
+                0, NO_CURRENT_TIMESTAMP, NO_UPDATED_ON_TIMESTAMP, NO_CREATED_ON_TIMESTAMP, NO_BDATA_ID, MAX_RESULT);
 
         // Validate the results.
         assertEquals(0, result.size());
@@ -1053,7 +1106,7 @@ public class BusinessObjectDataDaoTest extends AbstractDaoTest
         // Try to retrieve the business object data matching to the storage policy.
         Map<BusinessObjectDataEntity, StoragePolicyEntity> result = businessObjectDataDao
             .getBusinessObjectDataEntitiesMatchingStoragePolicies(new StoragePolicyPriorityLevel(false, false, false), Collections.singletonList(BDATA_STATUS),
-                0, 0, MAX_RESULT);
+                0, NO_CURRENT_TIMESTAMP, NO_UPDATED_ON_TIMESTAMP, NO_CREATED_ON_TIMESTAMP, NO_BDATA_ID, MAX_RESULT);
 
         // Validate the results.
         assertEquals(0, result.size());
@@ -1075,7 +1128,7 @@ public class BusinessObjectDataDaoTest extends AbstractDaoTest
         // Try to retrieve the business object data matching to the storage policy.
         Map<BusinessObjectDataEntity, StoragePolicyEntity> result = businessObjectDataDao
             .getBusinessObjectDataEntitiesMatchingStoragePolicies(new StoragePolicyPriorityLevel(false, false, false), Collections.singletonList(BDATA_STATUS),
-                0, 0, MAX_RESULT);
+                0, NO_CURRENT_TIMESTAMP, NO_UPDATED_ON_TIMESTAMP, NO_CREATED_ON_TIMESTAMP, NO_BDATA_ID, MAX_RESULT);
 
         // Validate the results.
         assertEquals(0, result.size());
@@ -1097,7 +1150,7 @@ public class BusinessObjectDataDaoTest extends AbstractDaoTest
         // Try to retrieve the business object data matching to the storage policy.
         Map<BusinessObjectDataEntity, StoragePolicyEntity> result = businessObjectDataDao
             .getBusinessObjectDataEntitiesMatchingStoragePolicies(new StoragePolicyPriorityLevel(false, false, false), Collections.singletonList(BDATA_STATUS),
-                0, 0, MAX_RESULT);
+                0, NO_CURRENT_TIMESTAMP, NO_UPDATED_ON_TIMESTAMP, NO_CREATED_ON_TIMESTAMP, NO_BDATA_ID, MAX_RESULT);
 
         // Validate the results.
         assertEquals(0, result.size());
@@ -1119,7 +1172,7 @@ public class BusinessObjectDataDaoTest extends AbstractDaoTest
         // Retrieve the business object data matching to the storage policy, when storagePolicyTransitionMaxAllowedAttempts is not specified.
         Map<BusinessObjectDataEntity, StoragePolicyEntity> result = businessObjectDataDao
             .getBusinessObjectDataEntitiesMatchingStoragePolicies(new StoragePolicyPriorityLevel(false, false, false), Collections.singletonList(BDATA_STATUS),
-                0, 0, MAX_RESULT);
+                0, NO_CURRENT_TIMESTAMP, NO_UPDATED_ON_TIMESTAMP, NO_CREATED_ON_TIMESTAMP, NO_BDATA_ID, MAX_RESULT);
 
         // Validate the results. A single match should get returned.
         assertEquals(1, result.size());
@@ -1131,7 +1184,7 @@ public class BusinessObjectDataDaoTest extends AbstractDaoTest
         storageUnitDao.saveAndRefresh(storageUnitEntity);
         result = businessObjectDataDao
             .getBusinessObjectDataEntitiesMatchingStoragePolicies(new StoragePolicyPriorityLevel(false, false, false), Collections.singletonList(BDATA_STATUS),
-                1, 0, MAX_RESULT);
+                1, NO_CURRENT_TIMESTAMP, NO_UPDATED_ON_TIMESTAMP, NO_CREATED_ON_TIMESTAMP, NO_BDATA_ID, MAX_RESULT);
 
         // Validate the results. A single match should get returned.
         assertEquals(1, result.size());
@@ -1143,7 +1196,7 @@ public class BusinessObjectDataDaoTest extends AbstractDaoTest
         storageUnitDao.saveAndRefresh(storageUnitEntity);
         result = businessObjectDataDao
             .getBusinessObjectDataEntitiesMatchingStoragePolicies(new StoragePolicyPriorityLevel(false, false, false), Collections.singletonList(BDATA_STATUS),
-                1, 0, MAX_RESULT);
+                1, NO_CURRENT_TIMESTAMP, NO_UPDATED_ON_TIMESTAMP, NO_CREATED_ON_TIMESTAMP, NO_BDATA_ID, MAX_RESULT);
 
         // Validate the results. A single match should get returned.
         assertEquals(1, result.size());
@@ -1155,7 +1208,7 @@ public class BusinessObjectDataDaoTest extends AbstractDaoTest
         storageUnitDao.saveAndRefresh(storageUnitEntity);
         result = businessObjectDataDao
             .getBusinessObjectDataEntitiesMatchingStoragePolicies(new StoragePolicyPriorityLevel(false, false, false), Collections.singletonList(BDATA_STATUS),
-                1, 0, MAX_RESULT);
+                1, NO_CURRENT_TIMESTAMP, NO_UPDATED_ON_TIMESTAMP, NO_CREATED_ON_TIMESTAMP, NO_BDATA_ID, MAX_RESULT);
 
         // Validate the results. No matches should get returned.
         assertEquals(0, result.size());
@@ -1166,7 +1219,7 @@ public class BusinessObjectDataDaoTest extends AbstractDaoTest
         storageUnitDao.saveAndRefresh(storageUnitEntity);
         result = businessObjectDataDao
             .getBusinessObjectDataEntitiesMatchingStoragePolicies(new StoragePolicyPriorityLevel(false, false, false), Collections.singletonList(BDATA_STATUS),
-                1, 0, MAX_RESULT);
+                1, NO_CURRENT_TIMESTAMP, NO_UPDATED_ON_TIMESTAMP, NO_CREATED_ON_TIMESTAMP, NO_BDATA_ID, MAX_RESULT);
 
         // Validate the results. No matches should get returned.
         assertEquals(0, result.size());
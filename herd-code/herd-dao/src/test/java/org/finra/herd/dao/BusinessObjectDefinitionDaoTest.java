@@ -20,6 +20,7 @@ import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import com.google.common.collect.ImmutableSet;
@@ -160,6 +161,38 @@ public class BusinessObjectDefinitionDaoTest extends AbstractDaoTest
         assertEquals(businessObjectDefinitionEntities, businessObjectDefinitionDao.getAllBusinessObjectDefinitionsByIds(businessObjectDefinitionIds));
     }
 
+    @Test
+    public void testGetBusinessObjectDefinitionIds()
+    {
+        // Create and persist two business object definition entities.
+        List<BusinessObjectDefinitionEntity> businessObjectDefinitionEntities =
+            businessObjectDefinitionDaoTestHelper.createExpectedBusinessObjectDefinitionEntities();
+
+        // Get the ids of the created business object definitions.
+        List<Integer> businessObjectDefinitionIds = new ArrayList<>();
+        businessObjectDefinitionEntities.forEach(businessObjectDefinitionEntity -> businessObjectDefinitionIds.add(businessObjectDefinitionEntity.getId()));
+
+        // Page through all business object definition ids one id at a time. Please note that the database might contain other business object definitions.
+        List<Integer> resultBusinessObjectDefinitionIds = new ArrayList<>();
+        List<Integer> chunkBusinessObjectDefinitionIds;
+        Integer lastBusinessObjectDefinitionId = null;
+        while (!(chunkBusinessObjectDefinitionIds = businessObjectDefinitionDao.getBusinessObjectDefinitionIds(lastBusinessObjectDefinitionId, 1)).isEmpty())
+        {
+            assertEquals(1, chunkBusinessObjectDefinitionIds.size());
+            lastBusinessObjectDefinitionId = chunkBusinessObjectDefinitionIds.get(0);
+            resultBusinessObjectDefinitionIds.add(lastBusinessObjectDefinitionId);
+        }
+
+        // Validate that the ids got returned in ascending order and include the ids of the created business object definitions.
+        List<Integer> sortedBusinessObjectDefinitionIds = new ArrayList<>(resultBusinessObjectDefinitionIds);
+        Collections.sort(sortedBusinessObjectDefinitionIds);
+        assertEquals(sortedBusinessObjectDefinitionIds, resultBusinessObjectDefinitionIds);
+        assertTrue(resultBusinessObjectDefinitionIds.containsAll(businessObjectDefinitionIds));
+
+        // Get the ids following the last id.
+        assertEquals(new ArrayList<>(), businessObjectDefinitionDao.getBusinessObjectDefinitionIds(lastBusinessObjectDefinitionId, MAX_RESULT));
+    }
+
     @Test
     public void testGetPercentageOfAllBusinessObjectDefinitionsOneHundredPercent()
     {
@@ -0,0 +1,88 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.dao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import org.finra.herd.model.jpa.CacheEvictionEventEntity;
+
+public class CacheEvictionEventDaoTest extends AbstractDaoTest
+{
+    private static final String CACHE_NAME = "UT_Cache_Name_1_" + RANDOM_SUFFIX;
+
+    private static final String CACHE_NAME_2 = "UT_Cache_Name_2_" + RANDOM_SUFFIX;
+
+    @Test
+    public void testGetCacheEvictionEventsCreatedOnOrAfter()
+    {
+        // Create database entries required for testing.
+        long currentTimeMillis = System.currentTimeMillis();
+        List<CacheEvictionEventEntity> cacheEvictionEventEntities = Arrays
+            .asList(createCacheEvictionEventEntity(CACHE_NAME, new Timestamp(currentTimeMillis - 2000)),
+                createCacheEvictionEventEntity(CACHE_NAME_2, new Timestamp(currentTimeMillis - 1000)),
+                createCacheEvictionEventEntity(CACHE_NAME, new Timestamp(currentTimeMillis)));
+
+        // Retrieve the cache eviction events.
+        assertEquals(cacheEvictionEventEntities, cacheEvictionEventDao.getCacheEvictionEventsCreatedOnOrAfter(new Timestamp(currentTimeMillis - 2000)));
+        assertEquals(cacheEvictionEventEntities.subList(1, 3),
+            cacheEvictionEventDao.getCacheEvictionEventsCreatedOnOrAfter(new Timestamp(currentTimeMillis - 1000)));
+        assertTrue(cacheEvictionEventDao.getCacheEvictionEventsCreatedOnOrAfter(new Timestamp(currentTimeMillis + 1000)).isEmpty());
+    }
+
+    @Test
+    public void testDeleteCacheEvictionEventsCreatedBefore()
+    {
+        // Create database entries required for testing.
+        long currentTimeMillis = System.currentTimeMillis();
+        List<CacheEvictionEventEntity> cacheEvictionEventEntities = Arrays
+            .asList(createCacheEvictionEventEntity(CACHE_NAME, new Timestamp(currentTimeMillis - 2000)),
+                createCacheEvictionEventEntity(CACHE_NAME_2, new Timestamp(currentTimeMillis)));
+
+        // Delete the cache eviction events created before the second one.
+        assertEquals(1, cacheEvictionEventDao.deleteCacheEvictionEventsCreatedBefore(new Timestamp(currentTimeMillis - 1000)));
+
+        // Validate that only the second cache eviction event is left.
+        cacheEvictionEventDao.getEntityManager().clear();
+        assertEquals(Collections.singletonList(cacheEvictionEventEntities.get(1).getId()),
+            cacheEvictionEventDao.getCacheEvictionEventsCreatedOnOrAfter(new Timestamp(currentTimeMillis - 2000)).stream().map(CacheEvictionEventEntity::getId)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Creates and persists a cache eviction event entity.
+     *
+     * @param cacheName the name of the cache to evict
+     * @param createdOn the creation time of the cache eviction event
+     *
+     * @return the newly created cache eviction event entity
+     */
+    private CacheEvictionEventEntity createCacheEvictionEventEntity(String cacheName, Timestamp createdOn)
+    {
+        CacheEvictionEventEntity cacheEvictionEventEntity = new CacheEvictionEventEntity();
+        cacheEvictionEventEntity.setCacheName(cacheName);
+        cacheEvictionEventEntity.setCreatedOn(createdOn);
+        return cacheEvictionEventDao.saveAndRefresh(cacheEvictionEventEntity);
+    }
+}
@@ -18,6 +18,8 @@ package org.finra.herd.dao;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -27,12 +29,14 @@ import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import com.google.gson.JsonObject;
 import io.searchbox.client.JestResult;
+import io.searchbox.core.BulkResult;
 import io.searchbox.core.SearchResult;
 import org.junit.Before;
 import org.junit.Test;
@@ -40,16 +44,21 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import org.finra.herd.core.helper.ConfigurationHelper;
 import org.finra.herd.dao.helper.HerdStringHelper;
 import org.finra.herd.dao.helper.JestClientHelper;
 import org.finra.herd.dao.helper.JsonHelper;
 import org.finra.herd.dao.impl.IndexFunctionsDaoImpl;
+import org.finra.herd.model.dto.ConfigurationValue;
 
 public class IndexFunctionsDaoTest
 {
     @InjectMocks
     private IndexFunctionsDaoImpl indexFunctionsDao;
 
+    @Mock
+    private ConfigurationHelper configurationHelper;
+
     @Mock
     private HerdStringHelper herdStringHelper;
 
@@ -281,6 +290,117 @@ public class IndexFunctionsDaoTest
         verifyNoMoreInteractions(jestClientHelper);
     }
 
+    @Test
+    public void testCreateIndexDocumentsFunctionRetryRejectedDocuments()
+    {
+        JestResult jestResultAliases = mock(JestResult.class);
+        JestResult jestResultRejected = mock(JestResult.class);
+        JestResult jestResultSucceeded = mock(JestResult.class);
+        JsonObject jsonObject = new JsonObject();
+        jsonObject.addProperty("INDEX_NAME_1", "INDEX_NAME");
+
+        // Build mocks
+        when(jestClientHelper.executeAction(any())).thenReturn(jestResultAliases, jestResultRejected, jestResultSucceeded);
+        when(jestResultAliases.isSucceeded()).thenReturn(true);
+        when(jestResultAliases.getJsonObject()).thenReturn(jsonObject);
+        when(jestResultRejected.isSucceeded()).thenReturn(false);
+        when(jestResultRejected.getResponseCode()).thenReturn(IndexFunctionsDaoImpl.ELASTIC_SEARCH_TOO_MANY_REQUESTS_STATUS);
+        when(jestResultSucceeded.isSucceeded()).thenReturn(true);
+        when(configurationHelper.getProperty(ConfigurationValue.ELASTICSEARCH_BULK_REQUEST_MAX_RETRY_ATTEMPTS, Integer.class)).thenReturn(5);
+        when(configurationHelper.getProperty(ConfigurationValue.ELASTICSEARCH_BULK_REQUEST_RETRY_BACKOFF_MILLIS, Integer.class)).thenReturn(0);
+
+        Map<String, String> documentMap = new HashMap<>();
+        documentMap.put("1", "JSON");
+        indexFunctionsDao.createIndexDocuments("INDEX_NAME", "DOCUMENT_TYPE", documentMap);
+
+        // The rejected bulk request gets resent once.
+        verify(jestClientHelper, times(3)).executeAction(any());
+        verify(jestResultAliases).getJsonObject();
+        verify(jestResultSucceeded).isSucceeded();
+        verify(configurationHelper).getProperty(ConfigurationValue.ELASTICSEARCH_BULK_REQUEST_MAX_RETRY_ATTEMPTS, Integer.class);
+        verify(configurationHelper).getProperty(ConfigurationValue.ELASTICSEARCH_BULK_REQUEST_RETRY_BACKOFF_MILLIS, Integer.class);
+        verifyNoMoreInteractions(jestClientHelper, configurationHelper);
+    }
+
+    @Test
+    public void testCreateIndexDocumentsFunctionRetryAttemptsExhausted()
+    {
+        JestResult jestResultAliases = mock(JestResult.class);
+        JestResult jestResultRejected = mock(JestResult.class);
+        JsonObject jsonObject = new JsonObject();
+        jsonObject.addProperty("INDEX_NAME_1", "INDEX_NAME");
+
+        // Build mocks
+        when(jestClientHelper.executeAction(any())).thenReturn(jestResultAliases, jestResultRejected);
+        when(jestResultAliases.isSucceeded()).thenReturn(true);
+        when(jestResultAliases.getJsonObject()).thenReturn(jsonObject);
+        when(jestResultRejected.isSucceeded()).thenReturn(false);
+        when(jestResultRejected.getResponseCode()).thenReturn(IndexFunctionsDaoImpl.ELASTIC_SEARCH_TOO_MANY_REQUESTS_STATUS);
+        when(configurationHelper.getProperty(ConfigurationValue.ELASTICSEARCH_BULK_REQUEST_MAX_RETRY_ATTEMPTS, Integer.class)).thenReturn(2);
+        when(configurationHelper.getProperty(ConfigurationValue.ELASTICSEARCH_BULK_REQUEST_RETRY_BACKOFF_MILLIS, Integer.class)).thenReturn(0);
+
+        when(jestResultRejected.getErrorMessage()).thenReturn("ERROR_MESSAGE");
+
+        Map<String, String> documentMap = new HashMap<>();
+        documentMap.put("1", "JSON");
+        try
+        {
+            indexFunctionsDao.createIndexDocuments("INDEX_NAME", "DOCUMENT_TYPE", documentMap);
+            fail();
+        }
+        catch (IllegalStateException e)
+        {
+            assertEquals("Failed to create Elasticsearch index documents. indexName=\"INDEX_NAME_1\" documentType=\"DOCUMENT_TYPE\" failedDocumentCount=1 " +
+                "errorMessage=\"ERROR_MESSAGE\"", e.getMessage());
+        }
+
+        // The rejected bulk request gets sent once and then resent for each of the retry attempts.
+        verify(jestClientHelper, times(4)).executeAction(any());
+        verify(jestResultAliases).getJsonObject();
+        verify(jestResultRejected).getErrorMessage();
+        verify(configurationHelper, times(3)).getProperty(ConfigurationValue.ELASTICSEARCH_BULK_REQUEST_MAX_RETRY_ATTEMPTS, Integer.class);
+        verify(configurationHelper, times(2)).getProperty(ConfigurationValue.ELASTICSEARCH_BULK_REQUEST_RETRY_BACKOFF_MILLIS, Integer.class);
+        verifyNoMoreInteractions(jestClientHelper, configurationHelper);
+    }
+
+    @Test
+    public void testCreateIndexDocumentsFunctionBulkRequestFails()
+    {
+        JestResult jestResultAliases = mock(JestResult.class);
+        BulkResult jestResultFailed = mock(BulkResult.class);
+        BulkResult.BulkResultItem failedItem = mock(BulkResult.BulkResultItem.class);
+        JsonObject jsonObject = new JsonObject();
+        jsonObject.addProperty("INDEX_NAME_1", "INDEX_NAME");
+
+        // Build mocks. The bulk request fails with an error that is not caused by Elasticsearch being overloaded.
+        when(jestClientHelper.executeAction(any())).thenReturn(jestResultAliases, jestResultFailed);
+        when(jestResultAliases.isSucceeded()).thenReturn(true);
+        when(jestResultAliases.getJsonObject()).thenReturn(jsonObject);
+        when(jestResultFailed.isSucceeded()).thenReturn(false);
+        when(jestResultFailed.getResponseCode()).thenReturn(200);
+        when(jestResultFailed.getFailedItems()).thenReturn(Collections.singletonList(failedItem));
+        when(jestResultFailed.getErrorMessage()).thenReturn("ERROR_MESSAGE");
+
+        Map<String, String> documentMap = new HashMap<>();
+        documentMap.put("1", "JSON");
+        documentMap.put("2", "JSON");
+        try
+        {
+            indexFunctionsDao.createIndexDocuments("INDEX_NAME", "DOCUMENT_TYPE", documentMap);
+            fail();
+        }
+        catch (IllegalStateException e)
+        {
+            assertEquals("Failed to create Elasticsearch index documents. indexName=\"INDEX_NAME_1\" documentType=\"DOCUMENT_TYPE\" failedDocumentCount=1 " +
+                "errorMessage=\"ERROR_MESSAGE\"", e.getMessage());
+        }
+
+        // The failed bulk request does not get resent.
+        verify(jestClientHelper, times(2)).executeAction(any());
+        verify(jestResultAliases).getJsonObject();
+        verifyNoMoreInteractions(jestClientHelper, configurationHelper);
+    }
+
     @Test
     public void testDeleteDocumentByIdFunction()
     {
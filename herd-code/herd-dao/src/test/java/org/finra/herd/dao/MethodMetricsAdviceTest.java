@@ -0,0 +1,113 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.dao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.StringWriter;
+
+import org.aspectj.lang.Signature;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import org.finra.herd.core.MockMethodSignature;
+import org.finra.herd.core.MockProceedingJoinPoint;
+import org.finra.herd.dao.impl.NamespaceDaoImpl;
+
+/**
+ * This class tests functionality within the method metrics advice.
+ */
+public class MethodMetricsAdviceTest extends AbstractDaoTest
+{
+    @Autowired
+    private MethodMetricsAdvice methodMetricsAdvice;
+
+    @Autowired
+    private MetricsRegistry metricsRegistry;
+
+    @Test
+    public void testRecordMethodTime() throws Throwable
+    {
+        // Invoke the advice for a successful and a failed method call.
+        methodMetricsAdvice.recordMethodTime(new MockProceedingJoinPointNamedMethod());
+        try
+        {
+            methodMetricsAdvice.recordMethodTime(new MockProceedingJoinPointFailedMethod());
+            fail();
+        }
+        catch (IllegalStateException e)
+        {
+            assertEquals("failedMethod", e.getMessage());
+        }
+
+        // Validate that both method calls got recorded.
+        StringWriter writer = new StringWriter();
+        metricsRegistry.writeMetrics(writer);
+        String metrics = writer.toString();
+        assertTrue(metrics.contains(
+            "herd_dao_method_duration_seconds_count{class=\"" + MockProceedingJoinPointNamedMethod.class.getName() + "\",method=\"namedMethod\"} 1\n"));
+        assertTrue(metrics.contains(
+            "herd_dao_method_errors_total{class=\"" + MockProceedingJoinPointNamedMethod.class.getName() + "\",method=\"namedMethod\"} 0\n"));
+        assertTrue(metrics.contains(
+            "herd_dao_method_errors_total{class=\"" + MockProceedingJoinPointFailedMethod.class.getName() + "\",method=\"namedMethod\"} 1\n"));
+    }
+
+    @Test
+    public void testRecordMethodTimeDaoMethod() throws Throwable
+    {
+        // Call a DAO method.
+        namespaceDao.getNamespaces();
+
+        // Validate that the DAO method call got recorded by the advice.
+        StringWriter writer = new StringWriter();
+        metricsRegistry.writeMetrics(writer);
+        assertTrue(writer.toString().contains(
+            "herd_dao_method_duration_seconds_count{class=\"" + NamespaceDaoImpl.class.getName() + "\",method=\"getNamespaces\"}"));
+    }
+
+    /**
+     * This is a mock proceeding join point whose method has a fixed name.
+     */
+    public class MockProceedingJoinPointNamedMethod extends MockProceedingJoinPoint
+    {
+        @Override
+        public Signature getSignature()
+        {
+            return new MockMethodSignature()
+            {
+                @Override
+                public String getName()
+                {
+                    return "namedMethod";
+                }
+            };
+        }
+    }
+
+    /**
+     * This is a mock proceeding join point whose method throws an exception.
+     */
+    public class MockProceedingJoinPointFailedMethod extends MockProceedingJoinPointNamedMethod
+    {
+        @Override
+        public Object proceed() throws Throwable
+        {
+            throw new IllegalStateException("failedMethod");
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.dao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.StringWriter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import org.finra.herd.model.dto.ConfigurationValue;
+
+/**
+ * This class tests functionality within the metrics registry.
+ */
+public class MetricsRegistryTest extends AbstractDaoTest
+{
+    @Autowired
+    private MetricsRegistry metricsRegistry;
+
+    @Test
+    public void testGetMethodTimer()
+    {
+        MetricsRegistry.MethodTimer methodTimer = metricsRegistry.getMethodTimer("herd_test_method", "test method calls", getClass(), "methodName");
+
+        assertSame(methodTimer, metricsRegistry.getMethodTimer("herd_test_method", "test method calls", getClass(), "methodName"));
+        assertFalse(methodTimer == metricsRegistry.getMethodTimer("herd_test_method", "test method calls", getClass(), "otherMethodName"));
+        assertFalse(methodTimer == metricsRegistry.getMethodTimer("herd_test_method", "test method calls", String.class, "methodName"));
+    }
+
+    @Test
+    public void testWriteMetrics() throws Exception
+    {
+        // Record three method calls, one of which failed.
+        MetricsRegistry.MethodTimer methodTimer = metricsRegistry.getMethodTimer("herd_test_write_method", "test method calls", getClass(), "methodName");
+        methodTimer.record(TimeUnit.MILLISECONDS.toNanos(1), false);
+        methodTimer.record(TimeUnit.MILLISECONDS.toNanos(2), false);
+        methodTimer.record(TimeUnit.MILLISECONDS.toNanos(3), true);
+
+        // Register a gauge whose label value needs to be escaped.
+        metricsRegistry.registerGauge("herd_test_gauge", "The test gauge.", "label", "value \"quoted\"", () -> 1.5);
+
+        // Write the metrics.
+        StringWriter writer = new StringWriter();
+        metricsRegistry.writeMetrics(writer);
+        String metrics = writer.toString();
+
+        // Validate the results.
+        String labels = "class=\"" + getClass().getName() + "\",method=\"methodName\"";
+        assertTrue(metrics.contains("# HELP herd_test_write_method_duration_seconds The durations of the test method calls in seconds.\n"));
+        assertTrue(metrics.contains("# TYPE herd_test_write_method_duration_seconds summary\n"));
+        assertTrue(metrics.contains("herd_test_write_method_duration_seconds{" + labels + ",quantile=\"0.5\"} 0.002"));
+        assertTrue(metrics.contains("herd_test_write_method_duration_seconds{" + labels + ",quantile=\"0.95\"} 0.003"));
+        assertTrue(metrics.contains("herd_test_write_method_duration_seconds{" + labels + ",quantile=\"0.99\"} 0.003"));
+        assertTrue(metrics.contains("herd_test_write_method_duration_seconds_sum{" + labels + "} 0.006\n"));
+        assertTrue(metrics.contains("herd_test_write_method_duration_seconds_count{" + labels + "} 3\n"));
+        assertTrue(metrics.contains("# TYPE herd_test_write_method_errors_total counter\n"));
+        assertTrue(metrics.contains("herd_test_write_method_errors_total{" + labels + "} 1\n"));
+        assertTrue(metrics.contains("# HELP herd_test_gauge The test gauge.\n# TYPE herd_test_gauge gauge\n"));
+        assertTrue(metrics.contains("herd_test_gauge{label=\"value \\\"quoted\\\"\"} 1.5\n"));
+    }
+
+    @Test
+    public void testWriteMetricsConfiguredPercentiles() throws Exception
+    {
+        metricsRegistry.getMethodTimer("herd_test_percentiles_method", "test method calls", getClass(), "methodName")
+            .record(TimeUnit.MILLISECONDS.toNanos(1), false);
+
+        // Override configuration to report only the 90th percentile.
+        Map<String, Object> overrideMap = new HashMap<>();
+        overrideMap.put(ConfigurationValue.METRICS_PERCENTILES.getKey(), " 0.9 ");
+        modifyPropertySourceInEnvironment(overrideMap);
+
+        try
+        {
+            StringWriter writer = new StringWriter();
+            metricsRegistry.writeMetrics(writer);
+            String metrics = writer.toString();
+
+            String labels = "class=\"" + getClass().getName() + "\",method=\"methodName\"";
+            assertTrue(metrics.contains("herd_test_percentiles_method_duration_seconds{" + labels + ",quantile=\"0.9\"} 0.001"));
+            assertFalse(metrics.contains("quantile=\"0.5\""));
+        }
+        finally
+        {
+            restorePropertySourceInEnvironment();
+        }
+    }
+
+    @Test
+    public void testWriteMetricsInvalidPercentile() throws Exception
+    {
+        // Override configuration with an invalid quantile.
+        Map<String, Object> overrideMap = new HashMap<>();
+        overrideMap.put(ConfigurationValue.METRICS_PERCENTILES.getKey(), "0.5,99");
+        modifyPropertySourceInEnvironment(overrideMap);
+
+        try
+        {
+            metricsRegistry.writeMetrics(new StringWriter());
+            fail();
+        }
+        catch (IllegalStateException e)
+        {
+            assertEquals("Configuration \"metrics.percentiles\" has an invalid quantile \"99\". The quantiles must be between 0 and 1.", e.getMessage());
+        }
+        finally
+        {
+            restorePropertySourceInEnvironment();
+        }
+    }
+
+    @Test
+    public void testRegisterGaugeMetricNameInUse()
+    {
+        metricsRegistry.getMethodTimer("herd_test_conflicting_method", "test method calls", getClass(), "methodName");
+
+        try
+        {
+            metricsRegistry.registerGauge("herd_test_conflicting_method", "The test gauge.", null, null, () -> 0);
+            fail();
+        }
+        catch (IllegalArgumentException e)
+        {
+            assertEquals("Metric \"herd_test_conflicting_method\" is already registered with a different type.", e.getMessage());
+        }
+    }
+}
@@ -17,8 +17,10 @@ package org.finra.herd.dao;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import org.junit.Test;
@@ -48,4 +50,45 @@ public class NotificationMessageDaoTest extends AbstractDaoTest
         // Try to retrieve the oldest notification message from an empty table.
         assertNull(notificationMessageDao.getOldestNotificationMessage());
     }
+
+    @Test
+    public void testGetOldestNotificationMessages()
+    {
+        // Create database entries required for testing.
+        List<NotificationMessageEntity> notificationMessageEntities = Arrays
+            .asList(notificationMessageDaoTestHelper.createNotificationMessageEntity(MESSAGE_TYPE, MESSAGE_DESTINATION, MESSAGE_TEXT),
+                notificationMessageDaoTestHelper.createNotificationMessageEntity(MESSAGE_TYPE_2, MESSAGE_DESTINATION_2, MESSAGE_TEXT_2),
+                notificationMessageDaoTestHelper.createNotificationMessageEntity(MESSAGE_TYPE, MESSAGE_DESTINATION_2, MESSAGE_TEXT));
+
+        // Retrieve the oldest notification messages.
+        assertEquals(notificationMessageEntities.subList(0, 2), notificationMessageDao.getOldestNotificationMessages(2));
+        assertEquals(notificationMessageEntities, notificationMessageDao.getOldestNotificationMessages(MAX_RESULT));
+    }
+
+    @Test
+    public void testGetOldestNotificationMessagesQueueIsEmpty()
+    {
+        // Try to retrieve the oldest notification messages from an empty table.
+        assertTrue(notificationMessageDao.getOldestNotificationMessages(MAX_RESULT).isEmpty());
+    }
+
+    @Test
+    public void testDeleteNotificationMessages()
+    {
+        // Create database entries required for testing.
+        List<NotificationMessageEntity> notificationMessageEntities = Arrays
+            .asList(notificationMessageDaoTestHelper.createNotificationMessageEntity(MESSAGE_TYPE, MESSAGE_DESTINATION, MESSAGE_TEXT),
+                notificationMessageDaoTestHelper.createNotificationMessageEntity(MESSAGE_TYPE_2, MESSAGE_DESTINATION_2, MESSAGE_TEXT_2),
+                notificationMessageDaoTestHelper.createNotificationMessageEntity(MESSAGE_TYPE, MESSAGE_DESTINATION_2, MESSAGE_TEXT));
+
+        // Delete the first and the last notification messages.
+        assertEquals(2, notificationMessageDao
+            .deleteNotificationMessages(Arrays.asList(notificationMessageEntities.get(0).getId(), notificationMessageEntities.get(2).getId())));
+
+        // Validate that only the second notification message is left in the queue.
+        assertEquals(Collections.singletonList(notificationMessageEntities.get(1)), notificationMessageDao.getOldestNotificationMessages(MAX_RESULT));
+
+        // Deleting an empty list of notification messages is a no-op.
+        assertEquals(0, notificationMessageDao.deleteNotificationMessages(Collections.emptyList()));
+    }
 }
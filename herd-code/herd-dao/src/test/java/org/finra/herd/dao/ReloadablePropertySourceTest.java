@@ -15,12 +15,18 @@
 */
 package org.finra.herd.dao;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import java.io.File;
 import java.io.FileOutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Enumeration;
+import java.util.List;
 import java.util.Properties;
+import java.util.Set;
 
 import org.apache.commons.configuration.BaseConfiguration;
 import org.apache.commons.configuration.Configuration;
@@ -203,6 +209,81 @@ public class ReloadablePropertySourceTest extends AbstractDaoTest
         verifyPropertySourceValue(reloadablePropertySource, TEST_VALUE_2);
     }
 
+    @Test
+    public void testGetPropertyValueRefreshedInBackground() throws Exception
+    {
+        // Get a reloadable property source that loads properties from the configuration after a configured interval.
+        ReloadablePropertySource reloadablePropertySource = getNewReloadablePropertiesSource(REFRESH_INTERVAL_SECS);
+
+        try
+        {
+            // Read the value which should be the same as what we placed in initially.
+            verifyPropertySourceValue(reloadablePropertySource, TEST_VALUE_1);
+
+            // Update the value from value 1 to value 2.
+            updatePropertyToValue2();
+
+            // Wait for the background refresh to pick up the new value without requesting the properties in between.
+            long timeoutMillis = System.currentTimeMillis() + 10 * REFRESH_INTERVAL_SECS * 1000;
+            while (!TEST_VALUE_2.equals(reloadablePropertySource.getSource().get(TEST_KEY)) && System.currentTimeMillis() < timeoutMillis)
+            {
+                Thread.sleep(50);
+            }
+
+            // Read the key which should return the new value 2.
+            verifyPropertySourceValue(reloadablePropertySource, TEST_VALUE_2);
+        }
+        finally
+        {
+            reloadablePropertySource.close();
+        }
+    }
+
+    @Test
+    public void testNoBackgroundRefreshWithoutRefreshInterval() throws Exception
+    {
+        // Get a reloadable property source that loads properties from the configuration every time a property is read.
+        String name = ReloadablePropertySource.class.getName() + "-" + System.nanoTime();
+        ReloadablePropertySource reloadablePropertySource =
+            new ReloadablePropertySource(name, cloneProperties(properties), getNewPropertiesConfiguration(), 0L);
+
+        try
+        {
+            // Read the value which should be the same as what we placed in initially.
+            verifyPropertySourceValue(reloadablePropertySource, TEST_VALUE_1);
+
+            // Validate that no background refresh thread got started for the property source.
+            String threadName = ReloadablePropertySource.class.getSimpleName() + "-" + name;
+            assertTrue(Thread.getAllStackTraces().keySet().stream().noneMatch(thread -> threadName.equals(thread.getName())));
+        }
+        finally
+        {
+            reloadablePropertySource.close();
+        }
+    }
+
+    @Test
+    public void testChangeListener() throws Exception
+    {
+        // Get a reloadable property source that loads properties from the configuration every time a property is read.
+        ReloadablePropertySource reloadablePropertySource = getNewReloadablePropertiesSource(0L);
+
+        // Register a change listener that records the changed property names.
+        List<Set<String>> changedPropertyNamesList = new ArrayList<>();
+        reloadablePropertySource.addChangeListener(changedPropertyNamesList::add);
+
+        // Read the value which should not notify the listener, since the properties did not change.
+        verifyPropertySourceValue(reloadablePropertySource, TEST_VALUE_1);
+        assertTrue(changedPropertyNamesList.isEmpty());
+
+        // Update the value from value 1 to value 2 and read it back, which should notify the listener about the changed property.
+        updatePropertyToValue2();
+        verifyPropertySourceValue(reloadablePropertySource, TEST_VALUE_2);
+        assertEquals(Collections.singletonList(Collections.singleton(TEST_KEY)), changedPropertyNamesList);
+        assertTrue(reloadablePropertySource.containsProperty(TEST_KEY));
+        assertArrayEquals(new String[] {TEST_KEY}, reloadablePropertySource.getPropertyNames());
+    }
+
     /**
      * Asserts that when a property is requested from the configruation, and it fires an error event (ex. Database is not available), the previously stored
      * values are not cleared.
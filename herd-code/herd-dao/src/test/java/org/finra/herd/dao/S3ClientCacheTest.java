@@ -0,0 +1,158 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.dao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.amazonaws.ClientConfiguration;
+import com.amazonaws.auth.BasicAWSCredentials;
+import com.amazonaws.internal.StaticCredentialsProvider;
+import com.amazonaws.services.s3.AmazonS3Client;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import org.finra.herd.model.dto.ConfigurationValue;
+
+/**
+ * This class tests the S3 client cache.
+ */
+public class S3ClientCacheTest extends AbstractDaoTest
+{
+    private S3ClientCache s3ClientCache;
+
+    @Before
+    public void setup()
+    {
+        // Use a dedicated S3 client cache instance, so the cache counters are not affected by other tests.
+        s3ClientCache = new S3ClientCache();
+        ReflectionTestUtils.setField(s3ClientCache, "configurationHelper", configurationHelper);
+    }
+
+    @After
+    public void cleanup()
+    {
+        s3ClientCache.destroy();
+    }
+
+    @Test
+    public void testGetAmazonS3Client()
+    {
+        List<Object> cacheKey = Arrays.asList(S3_BUCKET_NAME, AWS_ASSUMED_ROLE_ACCESS_KEY);
+        List<Object> otherCacheKey = Collections.singletonList(S3_BUCKET_NAME_2);
+
+        // Lease a client twice for the same key and once for another key.
+        AmazonS3Client amazonS3Client = s3ClientCache.getAmazonS3Client(cacheKey, this::createCachedAmazonS3Client);
+        AmazonS3Client sameAmazonS3Client = s3ClientCache.getAmazonS3Client(cacheKey, this::createCachedAmazonS3Client);
+        AmazonS3Client otherAmazonS3Client = s3ClientCache.getAmazonS3Client(otherCacheKey, this::createCachedAmazonS3Client);
+
+        // Validate that the client got reused for the same key.
+        assertSame(amazonS3Client, sameAmazonS3Client);
+        assertNotSame(amazonS3Client, otherAmazonS3Client);
+        assertEquals(1, s3ClientCache.getHitCount());
+        assertEquals(2, s3ClientCache.getMissCount());
+        assertEquals(2, s3ClientCache.getCachedClientCount());
+        assertEquals(2, s3ClientCache.getActiveClientCount());
+
+        // Shutting down the clients only releases them back to the cache.
+        amazonS3Client.shutdown();
+        sameAmazonS3Client.shutdown();
+        otherAmazonS3Client.shutdown();
+        assertEquals(2, s3ClientCache.getCachedClientCount());
+        assertEquals(0, s3ClientCache.getActiveClientCount());
+        assertSame(amazonS3Client, s3ClientCache.getAmazonS3Client(cacheKey, this::createCachedAmazonS3Client));
+        assertEquals(2, s3ClientCache.getHitCount());
+    }
+
+    @Test
+    public void testGetAmazonS3ClientCacheFull() throws Exception
+    {
+        // Override configuration to allow only a single cached client.
+        Map<String, Object> overrideMap = new HashMap<>();
+        overrideMap.put(ConfigurationValue.S3_CLIENT_CACHE_MAX_SIZE.getKey(), 1);
+        modifyPropertySourceInEnvironment(overrideMap);
+
+        try
+        {
+            AmazonS3Client amazonS3Client = s3ClientCache.getAmazonS3Client(Collections.singletonList(S3_BUCKET_NAME), this::createCachedAmazonS3Client);
+            AmazonS3Client nonCachedAmazonS3Client =
+                s3ClientCache.getAmazonS3Client(Collections.singletonList(S3_BUCKET_NAME_2), this::createCachedAmazonS3Client);
+
+            // Validate that only the first client got cached.
+            assertNotSame(amazonS3Client, nonCachedAmazonS3Client);
+            assertEquals(1, s3ClientCache.getCachedClientCount());
+            assertEquals(2, s3ClientCache.getMissCount());
+
+            // The client that did not get cached is shut down by its caller.
+            nonCachedAmazonS3Client.shutdown();
+            amazonS3Client.shutdown();
+            assertEquals(1, s3ClientCache.getCachedClientCount());
+        }
+        finally
+        {
+            restorePropertySourceInEnvironment();
+        }
+    }
+
+    @Test
+    public void testGetAmazonS3ClientEvictIdleClients() throws Exception
+    {
+        // Override configuration so the released clients are evicted right away.
+        Map<String, Object> overrideMap = new HashMap<>();
+        overrideMap.put(ConfigurationValue.S3_CLIENT_CACHE_IDLE_TIMEOUT_SECS.getKey(), 0);
+        modifyPropertySourceInEnvironment(overrideMap);
+
+        try
+        {
+            List<Object> cacheKey = Collections.singletonList(S3_BUCKET_NAME);
+
+            // A leased client does not get evicted.
+            AmazonS3Client amazonS3Client = s3ClientCache.getAmazonS3Client(cacheKey, this::createCachedAmazonS3Client);
+            s3ClientCache.evictIdleClients();
+            assertEquals(1, s3ClientCache.getCachedClientCount());
+            assertEquals(0, s3ClientCache.getEvictionCount());
+
+            // A released client gets evicted and a new client gets created on the next lease.
+            amazonS3Client.shutdown();
+            s3ClientCache.evictIdleClients();
+            assertEquals(0, s3ClientCache.getCachedClientCount());
+            AmazonS3Client newAmazonS3Client = s3ClientCache.getAmazonS3Client(cacheKey, this::createCachedAmazonS3Client);
+            assertNotSame(amazonS3Client, newAmazonS3Client);
+            assertEquals(1, s3ClientCache.getEvictionCount());
+            assertEquals(2, s3ClientCache.getMissCount());
+            assertEquals(1, s3ClientCache.getCachedClientCount());
+        }
+        finally
+        {
+            restorePropertySourceInEnvironment();
+        }
+    }
+
+    private S3ClientCache.CachedAmazonS3Client createCachedAmazonS3Client()
+    {
+        return new S3ClientCache.CachedAmazonS3Client(
+            new StaticCredentialsProvider(new BasicAWSCredentials(AWS_ASSUMED_ROLE_ACCESS_KEY, AWS_ASSUMED_ROLE_SECRET_KEY)), new ClientConfiguration());
+    }
+}
@@ -33,13 +33,16 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.StringWriter;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 
 import com.amazonaws.AmazonClientException;
@@ -56,6 +59,7 @@ import com.amazonaws.services.s3.Headers;
 import com.amazonaws.services.s3.model.AmazonS3Exception;
 import com.amazonaws.services.s3.model.DeleteObjectsRequest.KeyVersion;
 import com.amazonaws.services.s3.model.DeleteObjectsResult.DeletedObject;
+import com.amazonaws.services.s3.model.GetObjectRequest;
 import com.amazonaws.services.s3.model.GetObjectTaggingRequest;
 import com.amazonaws.services.s3.model.GetObjectTaggingResult;
 import com.amazonaws.services.s3.model.ListMultipartUploadsRequest;
@@ -68,6 +72,7 @@ import com.amazonaws.services.s3.model.MultipartUploadListing;
 import com.amazonaws.services.s3.model.ObjectListing;
 import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.amazonaws.services.s3.model.ObjectTagging;
+import com.amazonaws.services.s3.model.PartETag;
 import com.amazonaws.services.s3.model.PutObjectRequest;
 import com.amazonaws.services.s3.model.PutObjectResult;
 import com.amazonaws.services.s3.model.S3Object;
@@ -82,7 +87,10 @@ import com.amazonaws.services.s3.transfer.Transfer.TransferState;
 import com.amazonaws.services.s3.transfer.TransferProgress;
 import com.amazonaws.services.s3.transfer.Upload;
 import com.google.common.base.Objects;
+import org.apache.commons.codec.binary.Base64;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
@@ -98,6 +106,7 @@ import org.finra.herd.dao.impl.MockS3OperationsImpl;
 import org.finra.herd.dao.impl.S3DaoImpl;
 import org.finra.herd.model.ObjectNotFoundException;
 import org.finra.herd.model.api.xml.AwsCredential;
+import org.finra.herd.model.dto.ConfigurationValue;
 import org.finra.herd.model.dto.HerdAWSCredentialsProvider;
 import org.finra.herd.model.dto.S3FileCopyRequestParamsDto;
 import org.finra.herd.model.dto.S3FileTransferRequestParamsDto;
@@ -337,6 +346,27 @@ public class S3DaoTest extends AbstractDaoTest
     /**
      * Test S3 file copy without any errors.
      */
+    @Test
+    public void testCompleteMultipartUploadInvalidPart()
+    {
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = s3DaoTestHelper.getTestS3FileTransferRequestParamsDto();
+        s3FileTransferRequestParamsDto.setS3KeyPrefix(TARGET_S3_KEY);
+        String uploadId = s3Dao.initiateMultipartUpload(s3FileTransferRequestParamsDto);
+
+        // Try to complete the multipart upload with a part that was never uploaded.
+        try
+        {
+            s3Dao.completeMultipartUpload(s3FileTransferRequestParamsDto, uploadId, Arrays.asList(new PartETag(1, DigestUtils.md5Hex(new byte[0]))));
+            fail();
+        }
+        catch (IllegalStateException e)
+        {
+            assertTrue(e.getMessage().startsWith(String
+                .format("Failed to complete multipart upload \"%s\" of S3 object key \"%s\" in bucket \"%s\"", uploadId, TARGET_S3_KEY,
+                    s3FileTransferRequestParamsDto.getS3BucketName())));
+        }
+    }
+
     @Test
     public void testCopyFile() throws InterruptedException
     {
@@ -942,6 +972,50 @@ public class S3DaoTest extends AbstractDaoTest
         Assert.assertTrue(destinationLocalFile.isFile());
     }
 
+    @Test
+    public void testDownloadFileRange() throws IOException
+    {
+        // Put an S3 object with known content.
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = s3DaoTestHelper.getTestS3FileTransferRequestParamsDto();
+        byte[] s3ObjectData = "0123456789".getBytes(StandardCharsets.UTF_8);
+        s3Operations.putObject(
+            new PutObjectRequest(s3FileTransferRequestParamsDto.getS3BucketName(), TARGET_S3_KEY, new ByteArrayInputStream(s3ObjectData), new ObjectMetadata()),
+            null);
+
+        // Preallocate the destination local file.
+        File destinationLocalFile = Paths.get(localTempPath.toString(), LOCAL_FILE).toFile();
+        Files.write(destinationLocalFile.toPath(), new byte[s3ObjectData.length]);
+
+        // Download the byte ranges out of order, including a last byte range that extends past the end of the S3 object.
+        s3FileTransferRequestParamsDto.setS3KeyPrefix(TARGET_S3_KEY);
+        s3FileTransferRequestParamsDto.setLocalPath(destinationLocalFile.getPath());
+        assertEquals(4L, s3Dao.downloadFileRange(s3FileTransferRequestParamsDto, 6, 11));
+        assertEquals(6L, s3Dao.downloadFileRange(s3FileTransferRequestParamsDto, 0, 5));
+
+        // Validate that the local file matches the S3 object.
+        assertTrue(Arrays.equals(s3ObjectData, Files.readAllBytes(destinationLocalFile.toPath())));
+    }
+
+    @Test
+    public void testDownloadFileRangeS3KeyNoExists()
+    {
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = s3DaoTestHelper.getTestS3FileTransferRequestParamsDto();
+        s3FileTransferRequestParamsDto.setS3KeyPrefix(TARGET_S3_KEY);
+        s3FileTransferRequestParamsDto.setLocalPath(Paths.get(localTempPath.toString(), LOCAL_FILE).toString());
+
+        try
+        {
+            s3Dao.downloadFileRange(s3FileTransferRequestParamsDto, 0, 0);
+            fail();
+        }
+        catch (IllegalStateException e)
+        {
+            assertTrue(e.getMessage().startsWith(String
+                .format("Failed to download byte range 0-0 of S3 object key \"%s\" from bucket \"%s\"", TARGET_S3_KEY,
+                    s3FileTransferRequestParamsDto.getS3BucketName())));
+        }
+    }
+
     /**
      * Asserts that calling generateGetObjectPresignedUrl() will return the expected mocked pre-signed URL.
      */
@@ -1674,6 +1748,73 @@ public class S3DaoTest extends AbstractDaoTest
         }
     }
 
+    @Test
+    public void testIterateDirectoryWithPrefetch() throws Exception
+    {
+        S3Operations originalS3Operations = (S3Operations) ReflectionTestUtils.getField(s3Dao, "s3Operations");
+        S3Operations mockS3Operations = mock(S3Operations.class);
+        ReflectionTestUtils.setField(s3Dao, "s3Operations", mockS3Operations);
+
+        // Enable prefetching of the next S3 listing page.
+        Map<String, Object> overrideMap = new HashMap<>();
+        overrideMap.put(ConfigurationValue.S3_DIRECTORY_LISTING_PREFETCH_ENABLED.getKey(), true);
+        modifyPropertySourceInEnvironment(overrideMap);
+
+        try
+        {
+            S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = new S3FileTransferRequestParamsDto();
+            s3FileTransferRequestParamsDto.setS3BucketName(S3_BUCKET_NAME);
+            s3FileTransferRequestParamsDto.setS3KeyPrefix(TEST_S3_KEY_PREFIX + "/");
+
+            // Return three listing pages, with the first page containing a 0 byte directory marker.
+            when(mockS3Operations.listObjects(any(), any())).then(new Answer<ObjectListing>()
+            {
+                @Override
+                public ObjectListing answer(InvocationOnMock invocation) throws Throwable
+                {
+                    ListObjectsRequest listObjectsRequest = invocation.getArgument(0);
+                    int pageNumber = listObjectsRequest.getMarker() == null ? 0 : Integer.parseInt(listObjectsRequest.getMarker());
+
+                    ObjectListing objectListing = new ObjectListing();
+                    if (pageNumber == 0)
+                    {
+                        S3ObjectSummary s3ObjectSummary = new S3ObjectSummary();
+                        s3ObjectSummary.setKey(TEST_S3_KEY_PREFIX + "/");
+                        s3ObjectSummary.setSize(0L);
+                        objectListing.getObjectSummaries().add(s3ObjectSummary);
+                    }
+                    S3ObjectSummary s3ObjectSummary = new S3ObjectSummary();
+                    s3ObjectSummary.setKey(TEST_S3_KEY_PREFIX + "/" + pageNumber);
+                    s3ObjectSummary.setSize(FILE_SIZE_1_KB);
+                    objectListing.getObjectSummaries().add(s3ObjectSummary);
+                    if (pageNumber < 2)
+                    {
+                        objectListing.setNextMarker(String.valueOf(pageNumber + 1));
+                        objectListing.setTruncated(true);
+                    }
+                    return objectListing;
+                }
+            });
+
+            List<String> actualS3Keys = new ArrayList<>();
+            try (S3ObjectSummaryIterator s3ObjectSummaryIterator = s3Dao.iterateDirectory(s3FileTransferRequestParamsDto, true))
+            {
+                while (s3ObjectSummaryIterator.hasNext())
+                {
+                    actualS3Keys.add(s3ObjectSummaryIterator.next().getKey());
+                }
+            }
+
+            assertEquals(Arrays.asList(TEST_S3_KEY_PREFIX + "/0", TEST_S3_KEY_PREFIX + "/1", TEST_S3_KEY_PREFIX + "/2"), actualS3Keys);
+            verify(mockS3Operations, times(3)).listObjects(any(), any());
+        }
+        finally
+        {
+            restorePropertySourceInEnvironment();
+            ReflectionTestUtils.setField(s3Dao, "s3Operations", originalS3Operations);
+        }
+    }
+
     @Test
     public void testListDirectoryAssertHandleAmazonClientException()
     {
@@ -2098,6 +2239,60 @@ public class S3DaoTest extends AbstractDaoTest
         }
     }
 
+    @Test
+    public void testAbortMultipartUpload()
+    {
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = s3DaoTestHelper.getTestS3FileTransferRequestParamsDto();
+        s3FileTransferRequestParamsDto.setS3KeyPrefix(TARGET_S3_KEY);
+        byte[] partData = "01234".getBytes(StandardCharsets.UTF_8);
+
+        // Initiate the multipart upload and upload a part.
+        String uploadId = s3Dao.initiateMultipartUpload(s3FileTransferRequestParamsDto);
+        s3Dao.uploadPart(s3FileTransferRequestParamsDto, uploadId, 1, new ByteArrayInputStream(partData), partData.length, null);
+
+        // Abort the multipart upload.
+        s3Dao.abortMultipartUpload(s3FileTransferRequestParamsDto, uploadId);
+
+        // Validate that the multipart upload no longer exists, so no more parts can be uploaded to it.
+        try
+        {
+            s3Dao.uploadPart(s3FileTransferRequestParamsDto, uploadId, 2, new ByteArrayInputStream(partData), partData.length, null);
+            fail();
+        }
+        catch (IllegalStateException e)
+        {
+            assertTrue(e.getMessage().contains("NoSuchUpload"));
+        }
+    }
+
+    @Test
+    public void testMultipartUpload() throws IOException
+    {
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = s3DaoTestHelper.getTestS3FileTransferRequestParamsDto();
+        s3FileTransferRequestParamsDto.setS3KeyPrefix(TARGET_S3_KEY);
+        byte[] part1Data = "01234".getBytes(StandardCharsets.UTF_8);
+        byte[] part2Data = "56789".getBytes(StandardCharsets.UTF_8);
+
+        // Initiate the multipart upload and upload the parts out of order.
+        String uploadId = s3Dao.initiateMultipartUpload(s3FileTransferRequestParamsDto);
+        String part2ETag = s3Dao.uploadPart(s3FileTransferRequestParamsDto, uploadId, 2, new ByteArrayInputStream(part2Data), part2Data.length,
+            Base64.encodeBase64String(DigestUtils.md5(part2Data)));
+        String part1ETag = s3Dao.uploadPart(s3FileTransferRequestParamsDto, uploadId, 1, new ByteArrayInputStream(part1Data), part1Data.length, null);
+
+        // Validate the part entity tags.
+        assertEquals(DigestUtils.md5Hex(part1Data), part1ETag);
+        assertEquals(DigestUtils.md5Hex(part2Data), part2ETag);
+
+        // Complete the multipart upload.
+        String eTag =
+            s3Dao.completeMultipartUpload(s3FileTransferRequestParamsDto, uploadId, Arrays.asList(new PartETag(1, part1ETag), new PartETag(2, part2ETag)));
+        assertTrue(eTag.endsWith("-2"));
+
+        // Validate that the S3 object got assembled from the parts.
+        S3Object s3Object = s3Operations.getS3Object(new GetObjectRequest(s3FileTransferRequestParamsDto.getS3BucketName(), TARGET_S3_KEY), null);
+        assertEquals("0123456789", IOUtils.toString(s3Object.getObjectContent(), StandardCharsets.UTF_8));
+    }
+
     @Test
     public void testPerformTransferAssertErrorWhenTransferBytesMismatch() throws Exception
     {
@@ -2517,6 +2712,48 @@ public class S3DaoTest extends AbstractDaoTest
         assertEquals(Arrays.asList(tag), getObjectTaggingResult.getTagSet());
     }
 
+    @Test
+    public void testTagObjectsConcurrently() throws Exception
+    {
+        // Create an S3 object tag.
+        Tag tag = new Tag(S3_OBJECT_TAG_KEY, S3_OBJECT_TAG_VALUE);
+
+        // Put more files in S3 than there are threads in the S3 object tagging worker pool.
+        List<File> files = new ArrayList<>();
+        for (int i = 0; i < 20; i++)
+        {
+            String s3Key = TARGET_S3_KEY + "/" + i;
+            s3Operations.putObject(new PutObjectRequest(S3_BUCKET_NAME, s3Key, new ByteArrayInputStream(new byte[1]), new ObjectMetadata()), null);
+            files.add(new File(s3Key));
+        }
+
+        // Override the configuration to use a small S3 object tagging worker pool and to log progress often.
+        Map<String, Object> overrideMap = new HashMap<>();
+        overrideMap.put(ConfigurationValue.S3_OBJECT_TAGGING_THREAD_POOL_SIZE.getKey(), 3);
+        overrideMap.put(ConfigurationValue.S3_OBJECT_TAGGING_PROGRESS_LOG_INTERVAL.getKey(), 5);
+        modifyPropertySourceInEnvironment(overrideMap);
+
+        try
+        {
+            // Tag the files with an S3 object tag.
+            S3FileTransferRequestParamsDto params = new S3FileTransferRequestParamsDto();
+            params.setS3BucketName(S3_BUCKET_NAME);
+            params.setFiles(files);
+            s3Dao.tagObjects(params, new S3FileTransferRequestParamsDto(), tag);
+        }
+        finally
+        {
+            restorePropertySourceInEnvironment();
+        }
+
+        // Validate that all objects got tagged.
+        for (File file : files)
+        {
+            GetObjectTaggingResult getObjectTaggingResult = s3Operations.getObjectTagging(new GetObjectTaggingRequest(S3_BUCKET_NAME, file.getPath()), null);
+            assertEquals(Arrays.asList(tag), getObjectTaggingResult.getTagSet());
+        }
+    }
+
     @Test
     public void testTagObjectsAmazonServiceException()
     {
@@ -2816,6 +3053,28 @@ public class S3DaoTest extends AbstractDaoTest
         s3DaoTestHelper.validateS3FileUpload(s3FileTransferRequestParamsDto, Arrays.asList(TARGET_S3_KEY));
     }
 
+    @Test
+    public void testUploadPartBadDigest()
+    {
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = s3DaoTestHelper.getTestS3FileTransferRequestParamsDto();
+        s3FileTransferRequestParamsDto.setS3KeyPrefix(TARGET_S3_KEY);
+        String uploadId = s3Dao.initiateMultipartUpload(s3FileTransferRequestParamsDto);
+
+        // Try to upload a part with an MD5 digest that does not match the part data.
+        try
+        {
+            s3Dao.uploadPart(s3FileTransferRequestParamsDto, uploadId, 1, new ByteArrayInputStream(new byte[] {1}), 1,
+                Base64.encodeBase64String(DigestUtils.md5(new byte[] {2})));
+            fail();
+        }
+        catch (IllegalStateException e)
+        {
+            assertTrue(e.getMessage().startsWith(String
+                .format("Failed to upload part 1 of multipart upload \"%s\" of S3 object key \"%s\" to bucket \"%s\"", uploadId, TARGET_S3_KEY,
+                    s3FileTransferRequestParamsDto.getS3BucketName())));
+        }
+    }
+
     @Test
     public void testValidateGlacierS3FilesRestored()
     {
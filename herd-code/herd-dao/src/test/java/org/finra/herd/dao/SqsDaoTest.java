@@ -16,12 +16,21 @@
 package org.finra.herd.dao;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 
+import com.amazonaws.services.sqs.model.BatchResultErrorEntry;
+import com.amazonaws.services.sqs.model.SendMessageBatchResult;
+import com.amazonaws.services.sqs.model.SendMessageBatchResultEntry;
 import com.amazonaws.services.sqs.model.SendMessageResult;
+import org.apache.commons.lang3.StringUtils;
 import org.junit.Test;
 
+import org.finra.herd.dao.impl.MockSqsOperationsImpl;
+import org.finra.herd.dao.impl.SqsDaoImpl;
 import org.finra.herd.model.dto.AwsParamsDto;
 import org.finra.herd.model.dto.MessageHeader;
 
@@ -46,4 +55,93 @@ public class SqsDaoTest extends AbstractDaoTest
         assertEquals(new SendMessageResult().withMessageId(MESSAGE_ID),
             sqsDao.sendMessage(new AwsParamsDto(), AWS_SNS_TOPIC_ARN, MESSAGE_TEXT, Collections.singletonList(new MessageHeader(KEY, VALUE))));
     }
+
+    @Test
+    public void testSendMessageBatch()
+    {
+        // Create more messages than fit into a single batch request and make one of them fail.
+        List<String> messageTexts = new ArrayList<>();
+        List<List<MessageHeader>> messageHeaders = new ArrayList<>();
+        for (int i = 0; i < 25; i++)
+        {
+            messageTexts.add(i == 12 ? MockSqsOperationsImpl.MOCK_SQS_BATCH_ENTRY_FAILURE_MESSAGE_TEXT : MESSAGE_TEXT);
+            messageHeaders.add(Collections.singletonList(new MessageHeader(KEY, VALUE)));
+        }
+
+        // Send the SQS messages.
+        SendMessageBatchResult result = sqsDao.sendMessageBatch(new AwsParamsDto(), AWS_SQS_QUEUE_NAME, messageTexts, messageHeaders);
+
+        // Validate the results.
+        assertEquals(24, result.getSuccessful().size());
+        assertEquals(1, result.getFailed().size());
+        assertEquals("12", result.getFailed().get(0).getId());
+        for (SendMessageBatchResultEntry sendMessageBatchResultEntry : result.getSuccessful())
+        {
+            assertEquals(MESSAGE_ID, sendMessageBatchResultEntry.getMessageId());
+        }
+    }
+
+    @Test
+    public void testSendMessageBatchQueueNotFound()
+    {
+        // Create more messages than fit into a single batch request.
+        List<String> messageTexts = Collections.nCopies(15, MESSAGE_TEXT);
+
+        // Send the SQS messages to a queue that does not exist.
+        SendMessageBatchResult result = sqsDao.sendMessageBatch(new AwsParamsDto(), MockSqsOperationsImpl.MOCK_SQS_QUEUE_NOT_FOUND_NAME, messageTexts, null);
+
+        // Validate the results. The failed batch requests are reported per message instead of being thrown.
+        assertEquals(0, result.getSuccessful().size());
+        assertEquals(15, result.getFailed().size());
+        for (BatchResultErrorEntry batchResultErrorEntry : result.getFailed())
+        {
+            assertEquals(String.format("AWS SQS queue with \"%s\" name not found.", MockSqsOperationsImpl.MOCK_SQS_QUEUE_NOT_FOUND_NAME),
+                batchResultErrorEntry.getMessage());
+        }
+    }
+
+    @Test
+    public void testSendMessageBatchRetryFailedMessages()
+    {
+        // Create messages in two batch requests, where a message fails once in each batch and another message fails because of the sender fault.
+        String transientFailureMessageText = MockSqsOperationsImpl.MOCK_SQS_BATCH_ENTRY_TRANSIENT_FAILURE_MESSAGE_TEXT_PREFIX + RANDOM_SUFFIX;
+        List<String> messageTexts = new ArrayList<>();
+        for (int i = 0; i < 20; i++)
+        {
+            String messageText = MESSAGE_TEXT;
+            if (i == 3)
+            {
+                messageText = MockSqsOperationsImpl.MOCK_SQS_BATCH_ENTRY_SENDER_FAULT_MESSAGE_TEXT;
+            }
+            else if (i == 5 || i == 15)
+            {
+                messageText = transientFailureMessageText + i;
+            }
+            messageTexts.add(messageText);
+        }
+
+        // Send the SQS messages.
+        SendMessageBatchResult result = sqsDao.sendMessageBatch(new AwsParamsDto(), AWS_SQS_QUEUE_NAME, messageTexts, null);
+
+        // Validate the results. The transient failures got resent, but the sender fault did not.
+        assertEquals(19, result.getSuccessful().size());
+        assertEquals(1, result.getFailed().size());
+        assertEquals("3", result.getFailed().get(0).getId());
+        assertTrue(result.getFailed().get(0).getSenderFault());
+    }
+
+    @Test
+    public void testSendMessageBatchSplitByPayloadSize()
+    {
+        // Create messages that fit into a single batch request by count, but not by the total payload size.
+        String messageText = StringUtils.repeat('a', SqsDaoImpl.MAX_PAYLOAD_SIZE_PER_BATCH_REQUEST / 3);
+        List<String> messageTexts = Collections.nCopies(5, messageText);
+
+        // Send the SQS messages.
+        SendMessageBatchResult result = sqsDao.sendMessageBatch(new AwsParamsDto(), AWS_SQS_QUEUE_NAME, messageTexts, null);
+
+        // Validate the results.
+        assertEquals(5, result.getSuccessful().size());
+        assertEquals(0, result.getFailed().size());
+    }
 }
@@ -16,10 +16,13 @@
 package org.finra.herd.dao;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -32,6 +35,7 @@ import org.finra.herd.model.dto.ConfigurationValue;
 import org.finra.herd.model.jpa.BusinessObjectDataEntity;
 import org.finra.herd.model.jpa.StorageEntity;
 import org.finra.herd.model.jpa.StorageFileEntity;
+import org.finra.herd.model.jpa.StorageFileManifestEntity;
 import org.finra.herd.model.jpa.StorageUnitEntity;
 import org.finra.herd.model.jpa.StorageUnitStatusEntity;
 
@@ -123,6 +127,33 @@ public class StorageFileDaoTest extends AbstractDaoTest
         assertEquals(Long.valueOf(3L), storageFileDao.getStorageFileCount(StorageEntity.MANAGED_STORAGE, "folder"));
     }
 
+    @Test
+    public void testGetStorageFileManifestFileCount()
+    {
+        // Create two storage units with storage file manifests in the same storage, one nested under the S3 key prefix of the other.
+        List<String> s3KeyPrefixes = Arrays.asList("prefix/", "prefix/nested/");
+        for (int i = 0; i < s3KeyPrefixes.size(); i++)
+        {
+            StorageUnitEntity storageUnitEntity = storageUnitDaoTestHelper
+                .createStorageUnitEntity(StorageEntity.MANAGED_STORAGE, NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, INITIAL_FORMAT_VERSION,
+                    PARTITION_VALUE + i, SUBPARTITION_VALUES, INITIAL_DATA_VERSION, true, BDATA_STATUS, STORAGE_UNIT_STATUS, NO_STORAGE_DIRECTORY_PATH);
+            StorageFileManifestEntity storageFileManifestEntity = new StorageFileManifestEntity();
+            storageFileManifestEntity.setManifest(new byte[0]);
+            storageFileManifestEntity.setFileCount(10 * (i + 1));
+            storageFileManifestEntity.setS3KeyPrefix(s3KeyPrefixes.get(i));
+            storageUnitEntity.setStorageFileManifest(storageFileManifestEntity);
+            storageUnitDao.saveAndRefresh(storageUnitEntity);
+        }
+
+        // Validate that the storage file manifests are matched when their S3 key prefixes fall under the file path prefix.
+        assertEquals(Long.valueOf(30L), storageFileDao.getStorageFileManifestFileCount(StorageEntity.MANAGED_STORAGE, "prefix/"));
+        assertEquals(Long.valueOf(20L), storageFileDao.getStorageFileManifestFileCount(StorageEntity.MANAGED_STORAGE.toLowerCase(), "prefix/nested/"));
+
+        // Get 0 file count by specifying non-existing storage or a file path prefix that is deeper than any of the S3 key prefixes.
+        assertEquals(Long.valueOf(0L), storageFileDao.getStorageFileManifestFileCount("I_DO_NOT_EXIST", "prefix/"));
+        assertEquals(Long.valueOf(0L), storageFileDao.getStorageFileManifestFileCount(StorageEntity.MANAGED_STORAGE, "prefix/nested/deeper/"));
+    }
+
     @Test
     public void testGetStorageFilesByStorageAndFilePathPrefix()
     {
@@ -193,6 +224,61 @@ public class StorageFileDaoTest extends AbstractDaoTest
         }
     }
 
+    @Test
+    public void testSaveStorageFiles() throws Exception
+    {
+        // Override configuration, so the storage files get saved in multiple batches with the last batch being a partial one.
+        Map<String, Object> overrideMap = new HashMap<>();
+        overrideMap.put(ConfigurationValue.HIBERNATE_JDBC_BATCH_SIZE.getKey(), 2);
+        modifyPropertySourceInEnvironment(overrideMap);
+
+        try
+        {
+            // Create database entities required for testing.
+            StorageUnitEntity storageUnitEntity = storageUnitDaoTestHelper
+                .createStorageUnitEntity(StorageEntity.MANAGED_STORAGE, NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, INITIAL_FORMAT_VERSION,
+                    PARTITION_VALUE, SUBPARTITION_VALUES, INITIAL_DATA_VERSION, true, BDATA_STATUS, STORAGE_UNIT_STATUS, NO_STORAGE_DIRECTORY_PATH);
+
+            // Create the storage file entities.
+            List<StorageFileEntity> storageFileEntities = new ArrayList<>();
+            for (String file : LOCAL_FILES)
+            {
+                StorageFileEntity storageFileEntity = new StorageFileEntity();
+                storageFileEntity.setStorageUnit(storageUnitEntity);
+                storageFileEntity.setPath(file);
+                storageFileEntity.setFileSizeBytes(FILE_SIZE_1_KB);
+                storageFileEntity.setRowCount(ROW_COUNT_1000);
+                storageFileEntities.add(storageFileEntity);
+            }
+
+            // Save the storage file entities.
+            storageFileDao.saveStorageFiles(storageFileEntities);
+
+            // Validate that the storage file entities got saved and detached from the persistence context.
+            for (StorageFileEntity storageFileEntity : storageFileEntities)
+            {
+                assertNotNull(storageFileEntity.getId());
+                assertNotNull(storageFileEntity.getCreatedBy());
+                assertFalse(storageFileDao.getEntityManager().contains(storageFileEntity));
+            }
+
+            // Validate that the storage files can be retrieved.
+            assertEquals(LOCAL_FILES.size(), storageFileDao.getStorageFilePathsByStorageUnitIds(Arrays.asList(storageUnitEntity.getId())).size());
+            for (String file : LOCAL_FILES)
+            {
+                StorageFileEntity storageFileEntity = storageFileDao.getStorageFileByStorageNameAndFilePath(StorageEntity.MANAGED_STORAGE, file);
+                assertEquals(storageUnitEntity.getId(), storageFileEntity.getStorageUnit().getId());
+                assertEquals(Long.valueOf(FILE_SIZE_1_KB), storageFileEntity.getFileSizeBytes());
+                assertEquals(Long.valueOf(ROW_COUNT_1000), storageFileEntity.getRowCount());
+            }
+        }
+        finally
+        {
+            // Restore the property sources so we don't affect other tests.
+            restorePropertySourceInEnvironment();
+        }
+    }
+
     private void createDatabaseEntitiesForStorageFilesTesting()
     {
         // Create relative database entities.
@@ -37,6 +37,7 @@ import org.finra.herd.model.api.xml.BusinessObjectFormatKey;
 import org.finra.herd.model.jpa.BusinessObjectDataEntity;
 import org.finra.herd.model.jpa.BusinessObjectDataStatusEntity;
 import org.finra.herd.model.jpa.StorageEntity;
+import org.finra.herd.model.jpa.StorageFileManifestEntity;
 import org.finra.herd.model.jpa.StoragePlatformEntity;
 import org.finra.herd.model.jpa.StorageUnitEntity;
 import org.finra.herd.model.jpa.StorageUnitStatusEntity;
@@ -171,6 +172,58 @@ public class StorageUnitDaoTest extends AbstractDaoTest
         assertEquals(Collections.singletonList(storageUnitEntities.get(3)), result);
     }
 
+    @Test
+    public void testGetS3StorageUnitsToCompactStorageFiles()
+    {
+        // Create a list of business object data keys.
+        List<BusinessObjectDataKey> businessObjectDataKeys = new ArrayList<>();
+        for (int i = 0; i < 5; i++)
+        {
+            businessObjectDataKeys.add(
+                new BusinessObjectDataKey(BDEF_NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, Integer.toString(i),
+                    SUBPARTITION_VALUES, DATA_VERSION));
+        }
+
+        // Create database entities required for testing.
+        List<StorageUnitEntity> storageUnitEntities = Arrays
+            .asList(storageUnitDaoTestHelper.createStorageUnitEntity(STORAGE_NAME, businessObjectDataKeys.get(0), StorageUnitStatusEntity.ENABLED),
+                storageUnitDaoTestHelper.createStorageUnitEntity(STORAGE_NAME, businessObjectDataKeys.get(1), StorageUnitStatusEntity.ENABLED),
+                storageUnitDaoTestHelper.createStorageUnitEntity(STORAGE_NAME, businessObjectDataKeys.get(2), StorageUnitStatusEntity.ENABLED),
+                storageUnitDaoTestHelper.createStorageUnitEntity(STORAGE_NAME, businessObjectDataKeys.get(3), StorageUnitStatusEntity.DISABLED),
+                storageUnitDaoTestHelper
+                    .createStorageUnitEntity(STORAGE_NAME_2, STORAGE_PLATFORM_CODE, businessObjectDataKeys.get(4), LATEST_VERSION_FLAG_SET, BDATA_STATUS,
+                        StorageUnitStatusEntity.ENABLED, NO_STORAGE_DIRECTORY_PATH));
+
+        // Register two storage files with each storage unit, except for the second one that gets a single storage file.
+        for (int i = 0; i < storageUnitEntities.size(); i++)
+        {
+            storageFileDaoTestHelper.createStorageFileEntity(storageUnitEntities.get(i), String.format("%d/%s", i, LOCAL_FILE), FILE_SIZE_1_KB, ROW_COUNT_1000);
+            if (i != 1)
+            {
+                storageFileDaoTestHelper
+                    .createStorageFileEntity(storageUnitEntities.get(i), String.format("%d/2/%s", i, LOCAL_FILE), FILE_SIZE_1_KB, ROW_COUNT_1000);
+            }
+        }
+
+        // Add a storage file manifest to the third storage unit.
+        StorageFileManifestEntity storageFileManifestEntity = new StorageFileManifestEntity();
+        storageFileManifestEntity.setManifest(new byte[0]);
+        storageFileManifestEntity.setFileCount(0);
+        storageFileManifestEntity.setS3KeyPrefix("2/");
+        storageUnitEntities.get(2).setStorageFileManifest(storageFileManifestEntity);
+        storageUnitDao.saveAndRefresh(storageUnitEntities.get(2));
+
+        // Retrieve the storage units and validate the results. Only the first storage unit is expected to match all select criteria.
+        assertEquals(Collections.singletonList(storageUnitEntities.get(0)), storageUnitDao.getS3StorageUnitsToCompactStorageFiles(2, MAX_RESULT));
+
+        // Retrieve the storage units with a single storage file required. The first two storage units are expected to get selected.
+        assertEquals(Arrays.asList(storageUnitEntities.get(0), storageUnitEntities.get(1)),
+            storageUnitDao.getS3StorageUnitsToCompactStorageFiles(1, MAX_RESULT));
+
+        // Try to retrieve the storage units with max result limit set to 1. Only a single storage unit entity should get selected.
+        assertEquals(Collections.singletonList(storageUnitEntities.get(0)), storageUnitDao.getS3StorageUnitsToCompactStorageFiles(1, 1));
+    }
+
     @Test
     public void testGetS3StorageUnitsToExpire()
     {
@@ -516,6 +569,37 @@ public class StorageUnitDaoTest extends AbstractDaoTest
         assertEquals(Arrays.asList(enabledStorageUnitEntity, disabledStorageUnitEntity), resultStorageUnitEntities);
     }
 
+    @Test
+    public void testGetStorageUnitsByPartitionFiltersAndStoragesSinglePartitionLevel()
+    {
+        // Create storage units for different primary partition values.
+        StorageUnitEntity storageUnitEntity1 = storageUnitDaoTestHelper
+            .createStorageUnitEntity(STORAGE_NAME, BDEF_NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE,
+                NO_SUBPARTITION_VALUES, DATA_VERSION, LATEST_VERSION_FLAG_SET, BDATA_STATUS, StorageUnitStatusEntity.ENABLED, NO_STORAGE_DIRECTORY_PATH);
+        StorageUnitEntity storageUnitEntity2 = storageUnitDaoTestHelper
+            .createStorageUnitEntity(STORAGE_NAME, BDEF_NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE_2,
+                NO_SUBPARTITION_VALUES, DATA_VERSION, LATEST_VERSION_FLAG_SET, BDATA_STATUS, StorageUnitStatusEntity.ENABLED, NO_STORAGE_DIRECTORY_PATH);
+
+        // Build a list of partition filters that specify only primary partition values, large enough to exceed the default chunk size.
+        List<List<String>> partitionFilters = new ArrayList<>();
+        partitionFilters.add(Arrays.asList(PARTITION_VALUE, null, null, null, null));
+        for (int i = 0; i < AbstractHerdDao.MAX_PARTITION_FILTERS_PER_REQUEST * 3; i++)
+        {
+            partitionFilters.add(Arrays.asList(String.format("%s-%s", PARTITION_VALUE, i), null, null, null, null));
+        }
+        partitionFilters.add(Arrays.asList(PARTITION_VALUE_2, null, null, null, null));
+
+        // Retrieve storage units per specified parameters.
+        assertEquals(Arrays.asList(storageUnitEntity1, storageUnitEntity2), storageUnitDao.getStorageUnitsByPartitionFiltersAndStorages(
+            new BusinessObjectFormatKey(BDEF_NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION), partitionFilters, DATA_VERSION,
+            null, Collections.singletonList(STORAGE_NAME), null, null, SELECT_ONLY_AVAILABLE_STORAGE_UNITS));
+
+        // Retrieve storage units without specifying both business object format version and business object data version.
+        assertEquals(Arrays.asList(storageUnitEntity1, storageUnitEntity2), storageUnitDao
+            .getStorageUnitsByPartitionFiltersAndStorages(new BusinessObjectFormatKey(BDEF_NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, null),
+                partitionFilters, null, null, Collections.singletonList(STORAGE_NAME), null, null, SELECT_ONLY_AVAILABLE_STORAGE_UNITS));
+    }
+
     @Test
     public void testGetStorageUnitsByStorageAndBusinessObjectData()
     {
@@ -21,6 +21,7 @@ import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import org.junit.Ignore;
@@ -144,6 +145,28 @@ public class TagDaoTest extends AbstractDaoTest
         assertEquals(Arrays.asList(tagEntities.get(0), tagEntities.get(1), tagEntities.get(2), tagEntities.get(3)), tagDao.getTagsByIds(tagIds));
     }
 
+    @Test
+    public void testGetTagIds()
+    {
+        // Create a tag type entity.
+        TagTypeEntity tagTypeEntity = tagTypeDaoTestHelper.createTagTypeEntity(TAG_TYPE, TAG_TYPE_DISPLAY_NAME, TAG_TYPE_ORDER, TAG_DESCRIPTION);
+
+        // Create three tag entities.
+        List<TagEntity> tagEntities = Arrays.asList(tagDaoTestHelper.createTagEntity(tagTypeEntity, TAG_CODE, TAG_DISPLAY_NAME, TAG_DESCRIPTION),
+            tagDaoTestHelper.createTagEntity(tagTypeEntity, TAG_CODE_2, TAG_DISPLAY_NAME_2, TAG_DESCRIPTION_2),
+            tagDaoTestHelper.createTagEntity(tagTypeEntity, TAG_CODE_3, TAG_DISPLAY_NAME_3, TAG_DESCRIPTION_3));
+
+        // Get the tag ids sorted in ascending order.
+        List<Integer> tagIds = new ArrayList<>();
+        tagEntities.forEach(tagEntity -> tagIds.add(tagEntity.getId()));
+        Collections.sort(tagIds);
+
+        // Page through the tag ids two ids at a time.
+        assertEquals(tagIds.subList(0, 2), tagDao.getTagIds(null, 2));
+        assertEquals(tagIds.subList(2, 3), tagDao.getTagIds(tagIds.get(1), 2));
+        assertEquals(new ArrayList<>(), tagDao.getTagIds(tagIds.get(2), 2));
+    }
+
     @Test
     public void testGetTagsByTagTypeAndParentTagCode()
     {
@@ -0,0 +1,131 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.dao.helper;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.http.HttpHeaders;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.impl.bootstrap.HttpServer;
+import org.apache.http.impl.bootstrap.ServerBootstrap;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.util.EntityUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import org.finra.herd.dao.AbstractDaoTest;
+
+/**
+ * This class tests functionality within the HttpClientHelper class.
+ */
+public class HttpClientHelperTest extends AbstractDaoTest
+{
+    private static final String RESPONSE_CONTENT = "<response>test</response>";
+
+    private HttpClientHelper httpClientHelper;
+
+    private HttpServer httpServer;
+
+    @Before
+    public void before() throws Exception
+    {
+        // Use a new helper instance, so the connection counters and the pooled connections are not shared with the other tests.
+        httpClientHelper = new HttpClientHelper();
+        ReflectionTestUtils.setField(httpClientHelper, "configurationHelper", configurationHelper);
+
+        // Start a local HTTP server that returns gzip encoded responses to the clients that accept them.
+        httpServer = ServerBootstrap.bootstrap().setListenerPort(0).registerHandler("*", (request, response, context) -> {
+            if (request.getFirstHeader(HttpHeaders.ACCEPT_ENCODING) != null && request.getFirstHeader(HttpHeaders.ACCEPT_ENCODING).getValue().contains("gzip"))
+            {
+                ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+                try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(byteArrayOutputStream))
+                {
+                    gzipOutputStream.write(RESPONSE_CONTENT.getBytes(StandardCharsets.UTF_8));
+                }
+                response.setEntity(new ByteArrayEntity(byteArrayOutputStream.toByteArray()));
+                response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            }
+            else
+            {
+                response.setEntity(new ByteArrayEntity(RESPONSE_CONTENT.getBytes(StandardCharsets.UTF_8)));
+            }
+        }).create();
+        httpServer.start();
+    }
+
+    @After
+    public void after()
+    {
+        httpClientHelper.destroy();
+        httpServer.shutdown(0, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testCreateHttpClientReusesPooledConnections() throws Exception
+    {
+        // Execute several requests, each one using its own HTTP client that gets closed once the request completes.
+        for (int i = 0; i < 3; i++)
+        {
+            executeRequest(false, false);
+        }
+
+        // Validate that all the requests reused a single pooled connection.
+        assertEquals(3, httpClientHelper.getRequestCount());
+        assertEquals(1, httpClientHelper.getConnectionCount());
+    }
+
+    @Test
+    public void testCreateHttpClientSeparatePoolsPerSslSettings() throws Exception
+    {
+        // Execute a request using each of the SSL settings combinations.
+        executeRequest(false, false);
+        executeRequest(true, true);
+        executeRequest(false, false);
+
+        // Validate that the HTTP clients with different SSL settings do not share the pooled connections.
+        assertEquals(3, httpClientHelper.getRequestCount());
+        assertEquals(2, httpClientHelper.getConnectionCount());
+    }
+
+    /**
+     * Executes a single request against the local HTTP server using a new HTTP client and validates the response content.
+     *
+     * @param trustSelfSignedCertificate specifies whether to trust a self-signed certificate
+     * @param disableHostnameVerification specifies whether to turn off hostname verification
+     *
+     * @throws Exception if any problems were encountered
+     */
+    private void executeRequest(Boolean trustSelfSignedCertificate, Boolean disableHostnameVerification) throws Exception
+    {
+        try (CloseableHttpClient httpClient = httpClientHelper.createHttpClient(trustSelfSignedCertificate, disableHostnameVerification))
+        {
+            try (CloseableHttpResponse response = httpClient.execute(new HttpGet("http://localhost:" + httpServer.getLocalPort() + "/test")))
+            {
+                // Validate that the gzip encoded response got decompressed.
+                assertEquals(RESPONSE_CONTENT, EntityUtils.toString(response.getEntity(), StandardCharsets.UTF_8));
+            }
+        }
+    }
+}
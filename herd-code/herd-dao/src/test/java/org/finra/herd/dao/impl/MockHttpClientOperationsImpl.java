@@ -58,6 +58,8 @@ import org.finra.herd.model.api.xml.BusinessObjectDataUploadCredential;
 import org.finra.herd.model.api.xml.BusinessObjectDataVersion;
 import org.finra.herd.model.api.xml.BusinessObjectDataVersions;
 import org.finra.herd.model.api.xml.BusinessObjectDefinition;
+import org.finra.herd.model.api.xml.BusinessObjectFormatKey;
+import org.finra.herd.model.api.xml.BusinessObjectFormatKeys;
 import org.finra.herd.model.api.xml.S3KeyPrefixInformation;
 import org.finra.herd.model.api.xml.Storage;
 import org.finra.herd.model.api.xml.StorageDirectory;
@@ -87,6 +89,8 @@ public class MockHttpClientOperationsImpl implements HttpClientOperations
 
     public static final String HOSTNAME_THROW_IO_EXCEPTION_DURING_REGISTER_BDATA = "testThrowIoExceptionDuringRegisterBdata";
 
+    public static final String HOSTNAME_THROW_IO_EXCEPTION_DURING_SEARCH_BDATA = "testSearchBdataThrowsIoException";
+
     public static final String HOSTNAME_THROW_IO_EXCEPTION_DURING_UPDATE_BDATA_STATUS = "testThrowIoExceptionDuringUpdateBdataStatus";
 
     public static final String HOSTNAME_THROW_IO_EXCEPTION = "testThrowIoException";
@@ -136,6 +140,11 @@ public class MockHttpClientOperationsImpl implements HttpClientOperations
                 checkHostname(request, HOSTNAME_THROW_IO_EXCEPTION);
                 buildGetBusinessObjectDefinitionResponse(response, uri);
             }
+            else if (uri.getPath().startsWith("/herd-app/rest/businessObjectFormats/"))
+            {
+                checkHostname(request, HOSTNAME_THROW_IO_EXCEPTION);
+                buildGetBusinessObjectFormatKeysResponse(response, uri);
+            }
             else if (uri.getPath().startsWith("/herd-app/rest/storages/"))
             {
                 checkHostname(request, HOSTNAME_THROW_IO_EXCEPTION_DURING_GET_STORAGE);
@@ -161,6 +170,7 @@ public class MockHttpClientOperationsImpl implements HttpClientOperations
             else if (uri.getPath().equals("/herd-app/rest/businessObjectData/search"))
             {
                 checkHostname(request, HOSTNAME_THROW_IO_EXCEPTION);
+                checkHostname(request, HOSTNAME_THROW_IO_EXCEPTION_DURING_SEARCH_BDATA);
                 buildSearchBusinessObjectDataResponse(response, uri);
             }
             else if (uri.getPath().startsWith("/herd-app/rest/businessObjectData/destroy"))
@@ -273,6 +283,27 @@ public class MockHttpClientOperationsImpl implements HttpClientOperations
         }
     }
 
+    /**
+     * Builds a business object format keys response that lists a single business object format of the business object definition.
+     *
+     * @param response the response
+     * @param uri the URI of the incoming request
+     *
+     * @throws JAXBException if a JAXB error occurred
+     */
+    private void buildGetBusinessObjectFormatKeysResponse(MockCloseableHttpResponse response, URI uri) throws JAXBException
+    {
+        Pattern pattern = Pattern.compile("/herd-app/rest/businessObjectFormats/namespaces/(.*)/businessObjectDefinitionNames/(.*)");
+        Matcher matcher = pattern.matcher(uri.getPath());
+        if (matcher.find())
+        {
+            BusinessObjectFormatKeys businessObjectFormatKeys = new BusinessObjectFormatKeys();
+            businessObjectFormatKeys.getBusinessObjectFormatKeys().add(
+                new BusinessObjectFormatKey(matcher.group(1), matcher.group(2), "testBusinessObjectFormatUsage", "testBusinessObjectFormatFileType", 9));
+            response.setEntity(getHttpEntity(businessObjectFormatKeys));
+        }
+    }
+
     /**
      * Builds a business object definition response.
      *
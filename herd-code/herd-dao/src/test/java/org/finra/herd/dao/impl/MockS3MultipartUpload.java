@@ -0,0 +1,87 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.dao.impl;
+
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import com.amazonaws.services.s3.model.ObjectMetadata;
+
+/**
+ * Simulates an in-progress S3 multipart upload in-memory.
+ */
+public class MockS3MultipartUpload
+{
+    /**
+     * Name of the bucket the S3 object is being uploaded to.
+     */
+    private String bucketName;
+
+    /**
+     * Key of the S3 object being uploaded.
+     */
+    private String key;
+
+    /**
+     * Metadata of the S3 object being uploaded.
+     */
+    private ObjectMetadata objectMetadata;
+
+    /**
+     * Data of the uploaded parts, keyed by part number.
+     */
+    private SortedMap<Integer, byte[]> parts = new TreeMap<>();
+
+    public String getBucketName()
+    {
+        return bucketName;
+    }
+
+    public void setBucketName(String bucketName)
+    {
+        this.bucketName = bucketName;
+    }
+
+    public String getKey()
+    {
+        return key;
+    }
+
+    public void setKey(String key)
+    {
+        this.key = key;
+    }
+
+    public ObjectMetadata getObjectMetadata()
+    {
+        return objectMetadata;
+    }
+
+    public void setObjectMetadata(ObjectMetadata objectMetadata)
+    {
+        this.objectMetadata = objectMetadata;
+    }
+
+    public SortedMap<Integer, byte[]> getParts()
+    {
+        return parts;
+    }
+
+    public void setParts(SortedMap<Integer, byte[]> parts)
+    {
+        this.parts = parts;
+    }
+}
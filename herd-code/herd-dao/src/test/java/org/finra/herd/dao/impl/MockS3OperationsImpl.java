@@ -16,6 +16,7 @@
 package org.finra.herd.dao.impl;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
@@ -37,15 +38,19 @@ import com.amazonaws.AmazonServiceException;
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
 import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadResult;
 import com.amazonaws.services.s3.model.CopyObjectRequest;
-import com.amazonaws.services.s3.model.DeleteObjectsRequest;
 import com.amazonaws.services.s3.model.DeleteObjectsRequest.KeyVersion;
-import com.amazonaws.services.s3.model.DeleteObjectsResult;
+import com.amazonaws.services.s3.model.DeleteObjectsRequest;
 import com.amazonaws.services.s3.model.DeleteObjectsResult.DeletedObject;
+import com.amazonaws.services.s3.model.DeleteObjectsResult;
 import com.amazonaws.services.s3.model.GeneratePresignedUrlRequest;
 import com.amazonaws.services.s3.model.GetObjectRequest;
 import com.amazonaws.services.s3.model.GetObjectTaggingRequest;
 import com.amazonaws.services.s3.model.GetObjectTaggingResult;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadResult;
 import com.amazonaws.services.s3.model.ListMultipartUploadsRequest;
 import com.amazonaws.services.s3.model.ListObjectsRequest;
 import com.amazonaws.services.s3.model.ListVersionsRequest;
@@ -53,6 +58,7 @@ import com.amazonaws.services.s3.model.MultipartUpload;
 import com.amazonaws.services.s3.model.MultipartUploadListing;
 import com.amazonaws.services.s3.model.ObjectListing;
 import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PartETag;
 import com.amazonaws.services.s3.model.PutObjectRequest;
 import com.amazonaws.services.s3.model.PutObjectResult;
 import com.amazonaws.services.s3.model.RestoreObjectRequest;
@@ -62,6 +68,8 @@ import com.amazonaws.services.s3.model.S3VersionSummary;
 import com.amazonaws.services.s3.model.SetObjectTaggingRequest;
 import com.amazonaws.services.s3.model.SetObjectTaggingResult;
 import com.amazonaws.services.s3.model.StorageClass;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+import com.amazonaws.services.s3.model.UploadPartResult;
 import com.amazonaws.services.s3.model.VersionListing;
 import com.amazonaws.services.s3.transfer.Copy;
 import com.amazonaws.services.s3.transfer.Download;
@@ -78,6 +86,8 @@ import com.amazonaws.services.s3.transfer.internal.MultipleFileDownloadImpl;
 import com.amazonaws.services.s3.transfer.internal.MultipleFileUploadImpl;
 import com.amazonaws.services.s3.transfer.internal.TransferMonitor;
 import com.amazonaws.services.s3.transfer.internal.UploadImpl;
+import org.apache.commons.codec.binary.Base64;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.http.concurrent.BasicFuture;
 import org.slf4j.Logger;
@@ -166,15 +176,62 @@ public class MockS3OperationsImpl implements S3Operations
      */
     private Map<String, MockS3Bucket> mockS3Buckets = new HashMap<>();
 
+    /**
+     * The in-progress multipart uploads, keyed by upload ID.
+     */
+    private Map<String, MockS3MultipartUpload> mockS3MultipartUploads = new HashMap<>();
+
     /**
      * {@inheritDoc}
      * <p/>
      * This implementation simulates abort multipart upload operation.
      */
     @Override
-    public void abortMultipartUpload(AbortMultipartUploadRequest abortMultipartUploadRequest, AmazonS3 s3Client)
+    public synchronized void abortMultipartUpload(AbortMultipartUploadRequest abortMultipartUploadRequest, AmazonS3 s3Client)
+    {
+        // Discard the parts of an in-memory multipart upload, if any.
+        mockS3MultipartUploads.remove(abortMultipartUploadRequest.getUploadId());
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * This implementation assembles the uploaded parts in-memory and puts the resulting S3 object into the mock bucket. The returned ETag is calculated the
+     * same way S3 does it for multipart uploads, i.e. an MD5 checksum of the concatenated binary MD5 checksums of the parts followed by the number of parts.
+     */
+    @Override
+    public synchronized CompleteMultipartUploadResult completeMultipartUpload(CompleteMultipartUploadRequest completeMultipartUploadRequest,
+        AmazonS3 s3Client)
     {
-        // This method does nothing.
+        MockS3MultipartUpload mockS3MultipartUpload = getMockS3MultipartUpload(completeMultipartUploadRequest.getUploadId());
+
+        ByteArrayOutputStream s3ObjectData = new ByteArrayOutputStream();
+        ByteArrayOutputStream partMd5Digests = new ByteArrayOutputStream();
+        for (PartETag partETag : completeMultipartUploadRequest.getPartETags())
+        {
+            byte[] partData = mockS3MultipartUpload.getParts().get(partETag.getPartNumber());
+            if (partData == null || !DigestUtils.md5Hex(partData).equals(partETag.getETag()))
+            {
+                AmazonS3Exception amazonS3Exception = new AmazonS3Exception("InvalidPart");
+                amazonS3Exception.setErrorCode("InvalidPart");
+                amazonS3Exception.setStatusCode(400);
+                throw amazonS3Exception;
+            }
+            s3ObjectData.write(partData, 0, partData.length);
+            byte[] partMd5Digest = DigestUtils.md5(partData);
+            partMd5Digests.write(partMd5Digest, 0, partMd5Digest.length);
+        }
+
+        putObject(new PutObjectRequest(mockS3MultipartUpload.getBucketName(), mockS3MultipartUpload.getKey(),
+            new ByteArrayInputStream(s3ObjectData.toByteArray()), mockS3MultipartUpload.getObjectMetadata()), s3Client);
+        mockS3MultipartUploads.remove(completeMultipartUploadRequest.getUploadId());
+
+        CompleteMultipartUploadResult completeMultipartUploadResult = new CompleteMultipartUploadResult();
+        completeMultipartUploadResult.setBucketName(mockS3MultipartUpload.getBucketName());
+        completeMultipartUploadResult.setKey(mockS3MultipartUpload.getKey());
+        completeMultipartUploadResult
+            .setETag(DigestUtils.md5Hex(partMd5Digests.toByteArray()) + "-" + completeMultipartUploadRequest.getPartETags().size());
+        return completeMultipartUploadResult;
     }
 
     /**
@@ -428,12 +485,45 @@ public class MockS3OperationsImpl implements S3Operations
         S3Object s3Object = new S3Object();
         s3Object.setBucketName(getObjectRequest.getBucketName());
         s3Object.setKey(getObjectRequest.getKey());
-        s3Object.setObjectContent(new ByteArrayInputStream(mockS3Object.getData()));
+        // Honor the byte range, if one is specified. As with S3, the end of the range is inclusive and gets capped at the end of the object.
+        byte[] data = mockS3Object.getData();
+        long[] range = getObjectRequest.getRange();
+        if (range != null)
+        {
+            data = Arrays.copyOfRange(data, (int) range[0], (int) Math.min(range[1] + 1, data.length));
+        }
+
+        s3Object.setObjectContent(new ByteArrayInputStream(data));
         s3Object.setObjectMetadata(mockS3Object.getObjectMetadata());
 
         return s3Object;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * This implementation registers a new multipart upload in-memory.
+     */
+    @Override
+    public synchronized InitiateMultipartUploadResult initiateMultipartUpload(InitiateMultipartUploadRequest initiateMultipartUploadRequest,
+        AmazonS3 s3Client)
+    {
+        MockS3MultipartUpload mockS3MultipartUpload = new MockS3MultipartUpload();
+        mockS3MultipartUpload.setBucketName(initiateMultipartUploadRequest.getBucketName());
+        mockS3MultipartUpload.setKey(initiateMultipartUploadRequest.getKey());
+        mockS3MultipartUpload.setObjectMetadata(
+            initiateMultipartUploadRequest.getObjectMetadata() != null ? initiateMultipartUploadRequest.getObjectMetadata() : new ObjectMetadata());
+
+        String uploadId = UUID.randomUUID().toString();
+        mockS3MultipartUploads.put(uploadId, mockS3MultipartUpload);
+
+        InitiateMultipartUploadResult initiateMultipartUploadResult = new InitiateMultipartUploadResult();
+        initiateMultipartUploadResult.setBucketName(initiateMultipartUploadRequest.getBucketName());
+        initiateMultipartUploadResult.setKey(initiateMultipartUploadRequest.getKey());
+        initiateMultipartUploadResult.setUploadId(uploadId);
+        return initiateMultipartUploadResult;
+    }
+
     /**
      * {@inheritDoc} <p/> <p> Since a multipart upload in progress does not exist when in-memory, this method simply returns a preconfigured list. </p> <p>
      * Returns a mock {@link MultipartUploadListing} based on the parameters and hints provided. By default returns a mock listing as defiend by {@link
@@ -503,6 +593,7 @@ public class MockS3OperationsImpl implements S3Operations
                     s3ObjectSummary.setBucketName(bucketName);
                     s3ObjectSummary.setKey(s3ObjectKey);
                     s3ObjectSummary.setSize(mockS3Object.getData().length);
+                    s3ObjectSummary.setETag(DigestUtils.md5Hex(mockS3Object.getData()));
                     s3ObjectSummary.setStorageClass(mockS3Object.getObjectMetadata() != null ? mockS3Object.getObjectMetadata().getStorageClass() : null);
 
                     objectListing.getObjectSummaries().add(s3ObjectSummary);
@@ -708,8 +799,9 @@ public class MockS3OperationsImpl implements S3Operations
     @Override
     public void rollback()
     {
-        // Clear all mock S3 buckets.
+        // Clear all mock S3 buckets and multipart uploads.
         mockS3Buckets.clear();
+        mockS3MultipartUploads.clear();
     }
 
     @Override
@@ -813,6 +905,73 @@ public class MockS3OperationsImpl implements S3Operations
         return multipleFileUpload;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * This implementation stores the part data in-memory. When the request specifies an MD5 digest, the part data is validated against it the same way S3
+     * does it. This operation takes the following hints when suffixed in uploadPartRequest.key: <dl> <p/> <dt>MOCK_S3_FILE_NAME_SERVICE_EXCEPTION</dt>
+     * <dd>Throws a AmazonServiceException for all parts, but the first one</dd> <p/> </dl>
+     */
+    @Override
+    public synchronized UploadPartResult uploadPart(UploadPartRequest uploadPartRequest, AmazonS3 s3Client)
+    {
+        MockS3MultipartUpload mockS3MultipartUpload = getMockS3MultipartUpload(uploadPartRequest.getUploadId());
+
+        if (uploadPartRequest.getKey().endsWith(MOCK_S3_FILE_NAME_SERVICE_EXCEPTION) && uploadPartRequest.getPartNumber() > 1)
+        {
+            throw new AmazonServiceException(null);
+        }
+
+        byte[] partData;
+        try
+        {
+            partData = new byte[(int) uploadPartRequest.getPartSize()];
+            IOUtils.readFully(uploadPartRequest.getInputStream(), partData);
+        }
+        catch (IOException e)
+        {
+            throw new IllegalArgumentException("Error converting input stream into byte array", e);
+        }
+
+        if (uploadPartRequest.getMd5Digest() != null && !uploadPartRequest.getMd5Digest().equals(Base64.encodeBase64String(DigestUtils.md5(partData))))
+        {
+            AmazonS3Exception amazonS3Exception = new AmazonS3Exception("BadDigest");
+            amazonS3Exception.setErrorCode("BadDigest");
+            amazonS3Exception.setStatusCode(400);
+            throw amazonS3Exception;
+        }
+
+        mockS3MultipartUpload.getParts().put(uploadPartRequest.getPartNumber(), partData);
+
+        UploadPartResult uploadPartResult = new UploadPartResult();
+        uploadPartResult.setPartNumber(uploadPartRequest.getPartNumber());
+        uploadPartResult.setETag(DigestUtils.md5Hex(partData));
+        return uploadPartResult;
+    }
+
+    /**
+     * Gets an in-progress mock multipart upload.
+     *
+     * @param uploadId the upload ID of the multipart upload
+     *
+     * @return the mock multipart upload
+     * @throws AmazonS3Exception if the multipart upload does not exist
+     */
+    private MockS3MultipartUpload getMockS3MultipartUpload(String uploadId)
+    {
+        MockS3MultipartUpload mockS3MultipartUpload = mockS3MultipartUploads.get(uploadId);
+
+        if (mockS3MultipartUpload == null)
+        {
+            AmazonS3Exception amazonS3Exception = new AmazonS3Exception("NoSuchUpload");
+            amazonS3Exception.setErrorCode("NoSuchUpload");
+            amazonS3Exception.setStatusCode(404);
+            throw amazonS3Exception;
+        }
+
+        return mockS3MultipartUpload;
+    }
+
     /**
      * Gets a mock S3 object if one exists.
      *
@@ -15,11 +15,19 @@
 */
 package org.finra.herd.dao.impl;
 
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.amazonaws.AmazonServiceException;
 import com.amazonaws.services.sqs.AmazonSQS;
+import com.amazonaws.services.sqs.model.BatchResultErrorEntry;
 import com.amazonaws.services.sqs.model.MessageAttributeValue;
+import com.amazonaws.services.sqs.model.SendMessageBatchRequestEntry;
+import com.amazonaws.services.sqs.model.SendMessageBatchResult;
+import com.amazonaws.services.sqs.model.SendMessageBatchResultEntry;
 import com.amazonaws.services.sqs.model.SendMessageResult;
 
 import org.finra.herd.dao.AbstractDaoTest;
@@ -32,6 +40,17 @@ public class MockSqsOperationsImpl implements SqsOperations
 {
     public static final String MOCK_SQS_QUEUE_NOT_FOUND_NAME = "mock_sqs_queue_not_found_name";
 
+    public static final String MOCK_SQS_BATCH_ENTRY_FAILURE_MESSAGE_TEXT = "mock_sqs_batch_entry_failure_message_text";
+
+    public static final String MOCK_SQS_BATCH_ENTRY_SENDER_FAULT_MESSAGE_TEXT = "mock_sqs_batch_entry_sender_fault_message_text";
+
+    public static final String MOCK_SQS_BATCH_ENTRY_TRANSIENT_FAILURE_MESSAGE_TEXT_PREFIX = "mock_sqs_batch_entry_transient_failure_message_text";
+
+    /**
+     * The message texts of the entries that already failed once, so the transient failure entries succeed when they get resent.
+     */
+    private final Set<String> transientlyFailedMessageTexts = ConcurrentHashMap.newKeySet();
+
     @Override
     public SendMessageResult sendMessage(String queueName, String messageText, Map<String, MessageAttributeValue> messageAttributes, AmazonSQS amazonSQS)
     {
@@ -52,4 +71,53 @@ public class MockSqsOperationsImpl implements SqsOperations
         // Nothing else to do in the normal case since our unit tests aren't reading messages once they have been published.
         return new SendMessageResult().withMessageId(AbstractDaoTest.MESSAGE_ID);
     }
+
+    @Override
+    public SendMessageBatchResult sendMessageBatch(String queueName, List<SendMessageBatchRequestEntry> sendMessageBatchRequestEntries, AmazonSQS amazonSQS)
+    {
+        // Throw an illegal state exception for a specific queue name for testing purposes.
+        if (queueName.equals(MOCK_SQS_QUEUE_NOT_FOUND_NAME))
+        {
+            throw new IllegalStateException(String.format("AWS SQS queue with \"%s\" name not found.", queueName));
+        }
+
+        // Reject the batch requests that SQS would reject as too long.
+        int batchPayloadSize = 0;
+        for (SendMessageBatchRequestEntry sendMessageBatchRequestEntry : sendMessageBatchRequestEntries)
+        {
+            batchPayloadSize += sendMessageBatchRequestEntry.getMessageBody().getBytes(StandardCharsets.UTF_8).length;
+        }
+        if (sendMessageBatchRequestEntries.size() > SqsDaoImpl.MAX_MESSAGES_PER_BATCH_REQUEST ||
+            batchPayloadSize > SqsDaoImpl.MAX_PAYLOAD_SIZE_PER_BATCH_REQUEST)
+        {
+            throw new IllegalArgumentException("Batch requests cannot be longer than 262144 bytes or contain more than 10 entries.");
+        }
+
+        // Fail the entries with a specific message text for testing purposes and report the rest of the entries as successful.
+        SendMessageBatchResult sendMessageBatchResult = new SendMessageBatchResult();
+        for (SendMessageBatchRequestEntry sendMessageBatchRequestEntry : sendMessageBatchRequestEntries)
+        {
+            String messageText = sendMessageBatchRequestEntry.getMessageBody();
+            if (MOCK_SQS_BATCH_ENTRY_FAILURE_MESSAGE_TEXT.equals(messageText) ||
+                (messageText.startsWith(MOCK_SQS_BATCH_ENTRY_TRANSIENT_FAILURE_MESSAGE_TEXT_PREFIX) && transientlyFailedMessageTexts.add(messageText)))
+            {
+                sendMessageBatchResult.getFailed().add(
+                    new BatchResultErrorEntry().withId(sendMessageBatchRequestEntry.getId()).withCode("InternalError").withMessage("test batch entry failure")
+                        .withSenderFault(false));
+            }
+            else if (MOCK_SQS_BATCH_ENTRY_SENDER_FAULT_MESSAGE_TEXT.equals(messageText))
+            {
+                sendMessageBatchResult.getFailed().add(
+                    new BatchResultErrorEntry().withId(sendMessageBatchRequestEntry.getId()).withCode("InvalidParameterValue")
+                        .withMessage("test batch entry sender fault").withSenderFault(true));
+            }
+            else
+            {
+                sendMessageBatchResult.getSuccessful()
+                    .add(new SendMessageBatchResultEntry().withId(sendMessageBatchRequestEntry.getId()).withMessageId(AbstractDaoTest.MESSAGE_ID));
+            }
+        }
+
+        return sendMessageBatchResult;
+    }
 }
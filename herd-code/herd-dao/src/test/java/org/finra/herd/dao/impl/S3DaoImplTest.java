@@ -16,6 +16,7 @@
 package org.finra.herd.dao.impl;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -45,12 +46,18 @@ import org.junit.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
 
+import org.finra.herd.core.helper.ConfigurationHelper;
 import org.finra.herd.dao.AbstractDaoTest;
 import org.finra.herd.dao.RetryPolicyFactory;
+import org.finra.herd.dao.S3ClientCache;
 import org.finra.herd.dao.S3Operations;
 import org.finra.herd.dao.helper.AwsHelper;
 import org.finra.herd.dao.helper.JavaPropertiesHelper;
+import org.finra.herd.model.dto.ConfigurationValue;
 import org.finra.herd.model.dto.S3FileTransferRequestParamsDto;
 
 /**
@@ -61,6 +68,9 @@ public class S3DaoImplTest extends AbstractDaoTest
     @Mock
     private AwsHelper awsHelper;
 
+    @Mock
+    private ConfigurationHelper configurationHelper;
+
     @Mock
     private JavaPropertiesHelper javaPropertiesHelper;
 
@@ -70,6 +80,12 @@ public class S3DaoImplTest extends AbstractDaoTest
     @InjectMocks
     private S3DaoImpl s3DaoImpl;
 
+    @Mock
+    private S3ClientCache s3ClientCache;
+
+    @Spy
+    private TaskExecutor s3ObjectTaggingTaskExecutor = new SyncTaskExecutor();
+
     @Mock
     private S3Operations s3Operations;
 
@@ -129,6 +145,7 @@ public class S3DaoImplTest extends AbstractDaoTest
 
         // Verify the external calls.
         verify(retryPolicyFactory, times(2)).getRetryPolicy();
+        verify(s3ClientCache, times(2)).isEnabled();
         verify(s3Operations).listVersions(any(ListVersionsRequest.class), any(AmazonS3Client.class));
         verify(s3Operations).deleteObjects(any(DeleteObjectsRequest.class), any(AmazonS3Client.class));
         verifyNoMoreInteractionsHelper();
@@ -158,6 +175,7 @@ public class S3DaoImplTest extends AbstractDaoTest
 
         // Verify the external calls.
         verify(retryPolicyFactory).getRetryPolicy();
+        verify(s3ClientCache).isEnabled();
         verify(s3Operations).listVersions(any(ListVersionsRequest.class), any(AmazonS3Client.class));
         verifyNoMoreInteractionsHelper();
     }
@@ -191,6 +209,8 @@ public class S3DaoImplTest extends AbstractDaoTest
 
         // Mock the external calls.
         when(retryPolicyFactory.getRetryPolicy()).thenReturn(retryPolicy);
+        when(configurationHelper.getProperty(ConfigurationValue.S3_OBJECT_TAGGING_THREAD_POOL_SIZE, Integer.class)).thenReturn(INTEGER_VALUE);
+        when(configurationHelper.getProperty(ConfigurationValue.S3_OBJECT_TAGGING_PROGRESS_LOG_INTERVAL, Integer.class)).thenReturn(INTEGER_VALUE);
         when(s3Operations.getObjectTagging(any(GetObjectTaggingRequest.class), any(AmazonS3Client.class))).thenReturn(getObjectTaggingResult);
         when(s3Operations.setObjectTagging(any(SetObjectTaggingRequest.class), any(AmazonS3Client.class))).thenReturn(setObjectTaggingResult);
 
@@ -199,11 +219,68 @@ public class S3DaoImplTest extends AbstractDaoTest
 
         // Verify the external calls.
         verify(retryPolicyFactory, times(2)).getRetryPolicy();
+        verify(s3ClientCache, times(2)).isEnabled();
+        verify(configurationHelper).getProperty(ConfigurationValue.S3_OBJECT_TAGGING_THREAD_POOL_SIZE, Integer.class);
+        verify(configurationHelper).getProperty(ConfigurationValue.S3_OBJECT_TAGGING_PROGRESS_LOG_INTERVAL, Integer.class);
         verify(s3Operations).getObjectTagging(any(GetObjectTaggingRequest.class), any(AmazonS3Client.class));
         verify(s3Operations).setObjectTagging(any(SetObjectTaggingRequest.class), any(AmazonS3Client.class));
         verifyNoMoreInteractionsHelper();
     }
 
+    @Test
+    public void testTagObjectsStopsOnFirstFailure()
+    {
+        // Create S3 keys.
+        String s3Key = S3_KEY_PREFIX + "/" + LOCAL_FILE;
+        String otherS3Key = S3_KEY_PREFIX + "/" + LOCAL_FILE + "_2";
+
+        // Create an S3 file transfer request parameters DTO to access S3 objects.
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = new S3FileTransferRequestParamsDto();
+        s3FileTransferRequestParamsDto.setS3BucketName(S3_BUCKET_NAME);
+        s3FileTransferRequestParamsDto.setFiles(Arrays.asList(new File(s3Key), new File(otherS3Key)));
+
+        // Create an S3 file transfer request parameters DTO to tag S3 objects.
+        S3FileTransferRequestParamsDto s3ObjectTaggerParamsDto = new S3FileTransferRequestParamsDto();
+        s3ObjectTaggerParamsDto.setAwsAccessKeyId(AWS_ASSUMED_ROLE_ACCESS_KEY);
+        s3ObjectTaggerParamsDto.setAwsSecretKey(AWS_ASSUMED_ROLE_SECRET_KEY);
+        s3ObjectTaggerParamsDto.setSessionToken(AWS_ASSUMED_ROLE_SESSION_TOKEN);
+
+        // Create an S3 object tag.
+        Tag tag = new Tag(S3_OBJECT_TAG_KEY, S3_OBJECT_TAG_VALUE);
+
+        // Create a retry policy.
+        RetryPolicy retryPolicy =
+            new RetryPolicy(PredefinedRetryPolicies.DEFAULT_RETRY_CONDITION, PredefinedRetryPolicies.DEFAULT_BACKOFF_STRATEGY, INTEGER_VALUE, true);
+
+        // Mock the external calls.
+        when(retryPolicyFactory.getRetryPolicy()).thenReturn(retryPolicy);
+        when(configurationHelper.getProperty(ConfigurationValue.S3_OBJECT_TAGGING_THREAD_POOL_SIZE, Integer.class)).thenReturn(2);
+        when(configurationHelper.getProperty(ConfigurationValue.S3_OBJECT_TAGGING_PROGRESS_LOG_INTERVAL, Integer.class)).thenReturn(INTEGER_VALUE);
+        when(s3Operations.getObjectTagging(any(GetObjectTaggingRequest.class), any(AmazonS3Client.class)))
+            .thenThrow(new AmazonServiceException(ERROR_MESSAGE));
+
+        // Try to call the method under test.
+        try
+        {
+            s3DaoImpl.tagObjects(s3FileTransferRequestParamsDto, s3ObjectTaggerParamsDto, tag);
+            fail();
+        }
+        catch (IllegalStateException e)
+        {
+            assertEquals(String.format(
+                "Failed to tag S3 object with \"%s\" key in \"%s\" bucket. Reason: %s (Service: null; Status Code: 0; Error Code: null; Request ID: null)",
+                s3Key, S3_BUCKET_NAME, ERROR_MESSAGE), e.getMessage());
+        }
+
+        // Verify the external calls. The remaining S3 object does not get tagged once tagging failed.
+        verify(retryPolicyFactory, times(2)).getRetryPolicy();
+        verify(s3ClientCache, times(2)).isEnabled();
+        verify(configurationHelper).getProperty(ConfigurationValue.S3_OBJECT_TAGGING_THREAD_POOL_SIZE, Integer.class);
+        verify(configurationHelper).getProperty(ConfigurationValue.S3_OBJECT_TAGGING_PROGRESS_LOG_INTERVAL, Integer.class);
+        verify(s3Operations).getObjectTagging(any(GetObjectTaggingRequest.class), any(AmazonS3Client.class));
+        verifyNoMoreInteractionsHelper();
+    }
+
     @Test
     public void testTagObjectsS3ClientCreationFails()
     {
@@ -241,6 +318,7 @@ public class S3DaoImplTest extends AbstractDaoTest
 
         // Verify the external calls.
         verify(retryPolicyFactory).getRetryPolicy();
+        verify(s3ClientCache).isEnabled();
         verifyNoMoreInteractionsHelper();
     }
 
@@ -273,6 +351,6 @@ public class S3DaoImplTest extends AbstractDaoTest
      */
     private void verifyNoMoreInteractionsHelper()
     {
-        verifyNoMoreInteractions(awsHelper, javaPropertiesHelper, retryPolicyFactory, s3Operations);
+        verifyNoMoreInteractions(awsHelper, configurationHelper, javaPropertiesHelper, retryPolicyFactory, s3ClientCache, s3Operations);
     }
 }
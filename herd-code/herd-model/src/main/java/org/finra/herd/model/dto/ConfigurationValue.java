@@ -40,6 +40,13 @@ public enum ConfigurationValue
      */
     SHOW_SQL("hibernate.show_sql", "false"),
 
+    /**
+     * The number of inserts and updates that Hibernate sends to the database in a single JDBC batch. This is a global Hibernate setting, so it applies to the
+     * inserts and updates of all the entities, not only the storage files. It is also the number of storage files that get flushed and detached at a time when
+     * storage files are added to a storage unit. The default is 50.
+     */
+    HIBERNATE_JDBC_BATCH_SIZE("hibernate.jdbc.batch_size", 50),
+
     /**
      * The optional herd data source JNDI name. The default is herdDB.
      */
@@ -120,6 +127,12 @@ public enum ConfigurationValue
      */
     HTTP_PROXY_PORT("http.proxy.port", null),
 
+    /**
+     * The maximum number of pooled keep-alive connections that the HTTP clients created by the HTTP client helper share per trust and hostname verification
+     * combination. The pool lives for the lifetime of the application, so consecutive REST calls to the same host reuse the already established connections.
+     */
+    HTTP_CLIENT_POOL_MAX_CONNECTIONS("http.client.pool.max.connections", 20),
+
     /**
      * The token delimiter to use for Activiti job definition ID template. The default is the tilde character.
      */
@@ -177,6 +190,24 @@ public enum ConfigurationValue
      */
     JMS_PUBLISHING_JOB_CRON_EXPRESSION("jms.publishing.job.cron.expression", "0 0/5 * * * ?"),
 
+    /**
+     * The maximum number of notification messages that "jmsPublishing" system job claims, publishes, and deletes from the database queue in a single
+     * transaction. A value of 1 makes the system job publish notification messages one at a time. The default is 100.
+     */
+    JMS_PUBLISHING_JOB_BATCH_SIZE("jms.publishing.job.batch.size", 100),
+
+    /**
+     * The number of threads in the shared thread pool used by "jmsPublishing" system job to publish SNS notification messages in parallel. Changing the pool
+     * size requires a server restart. The default is 10.
+     */
+    JMS_PUBLISHING_JOB_SNS_THREAD_POOL_SIZE("jms.publishing.job.sns.thread.pool.size", 10),
+
+    /**
+     * The queue capacity of the shared SNS notification publishing thread pool. When the queue is full, the publishing thread publishes the SNS notification
+     * messages itself. Changing the queue capacity requires a server restart. The default is 100.
+     */
+    JMS_PUBLISHING_JOB_SNS_THREAD_POOL_QUEUE_CAPACITY("jms.publishing.job.sns.thread.pool.queue.capacity", 100),
+
     /**
      * The cron expression to schedule "ec2OnDemandPricingUpdate" system job. Default is to disable the job by scheduling it to run way in the future.
      */
@@ -203,6 +234,13 @@ public enum ConfigurationValue
      */
     STORAGE_POLICY_SELECTOR_JOB_SQS_QUEUE_NAME("storage.policy.selector.job.sqs.queue.name", null),
 
+    /**
+     * The maximum number of storage policy selections that storage policy selector job sends in a single SQS message. A value of 1 makes the system job send
+     * a single storage policy selection per message, which is the format understood by all versions of the storage policy processor. Larger values make the
+     * system job send JSON arrays of storage policy selections. The default is 1.
+     */
+    STORAGE_POLICY_SELECTOR_JOB_MAX_SELECTIONS_PER_MESSAGE("storage.policy.selector.job.max.selections.per.message", 1),
+
     /**
      * AWS SQS queue name where sample data upload sends message
      */
@@ -261,6 +299,23 @@ public enum ConfigurationValue
      */
     CLEANUP_DESTROYED_BDATA_JOB_MAX_BDATA_INSTANCES("cleanup.destroyed.business.object.data.job.max.business.object.data.instances", "1000"),
 
+    /**
+     * The cron expression to schedule "compactStorageFiles" system job. The default is to run this system job every 6 hours every day, starting at 5 AM.
+     */
+    COMPACT_STORAGE_FILES_JOB_CRON_EXPRESSION("compact.storage.files.job.cron.expression", "0 0 5/6 * * ?"),
+
+    /**
+     * The maximum number of storage units that can get their storage files compacted into a storage file manifest in a single run of this system job. The
+     * default is 0 storage units, which leaves the compaction of storage files disabled.
+     */
+    COMPACT_STORAGE_FILES_JOB_MAX_STORAGE_UNITS("compact.storage.files.job.max.storage.units", "0"),
+
+    /**
+     * The minimum number of storage files registered with a storage unit for its storage files to get compacted into a storage file manifest. The default is
+     * 100000 storage files.
+     */
+    COMPACT_STORAGE_FILES_MIN_STORAGE_FILES("compact.storage.files.min.storage.files", 100000),
+
     /**
      * The default value for the expiration time for the business object data restore. The default is 30 days
      */
@@ -377,12 +432,77 @@ public enum ConfigurationValue
      */
     AWS_S3_DEFAULT_DOWNLOAD_SESSION_DURATION_SECS("aws.s3.default.download.session.duration.secs", 3600),
 
+    /**
+     * The size in bytes of the byte ranges that the downloader requests in parallel when downloading a single S3 file in resumable mode. The default is 8 MB.
+     */
+    DOWNLOADER_RESUMABLE_DOWNLOAD_PART_SIZE_BYTES("downloader.resumable.download.part.size.bytes", 8 * 1024 * 1024),
+
+    /**
+     * The size in bytes of the parts that the uploader uploads in parallel when uploading a single file to S3 using multipart upload. S3 requires all the parts
+     * but the last one to be at least 5 MB. The default is 8 MB.
+     */
+    UPLOADER_MULTIPART_UPLOAD_PART_SIZE_BYTES("uploader.multipart.upload.part.size.bytes", 8 * 1024 * 1024),
+
+    /**
+     * The number of worker threads that the retention expiration destroyer uses to mark business object data for destruction concurrently.
+     */
+    RETENTION_EXPIRATION_DESTROYER_MAX_THREADS("retention.expiration.destroyer.max.threads", 10),
+
+    /**
+     * The maximum number of destroy requests per second that the retention expiration destroyer sends to the registration server. A value of zero or less
+     * turns the rate limiting off.
+     */
+    RETENTION_EXPIRATION_DESTROYER_MAX_REQUESTS_PER_SECOND("retention.expiration.destroyer.max.requests.per.second", 20),
+
+    /**
+     * The maximum number of attempts that the retention expiration destroyer makes to destroy a single business object data when the registration server
+     * responds with a server error or the request fails with an I/O error.
+     */
+    RETENTION_EXPIRATION_DESTROYER_MAX_ATTEMPTS("retention.expiration.destroyer.max.attempts", 3),
+
+    /**
+     * The delay in milliseconds before the first retry of a failed destroy request. The delay doubles with every subsequent retry of the same request.
+     */
+    RETENTION_EXPIRATION_DESTROYER_RETRY_BACKOFF_MILLIS("retention.expiration.destroyer.retry.backoff.millis", 1000),
+
+    /**
+     * The number of business object formats that the retention expiration exporter exports in parallel. When set to one, the exporter pages through a single
+     * search across all the business object formats of the business object definition.
+     */
+    RETENTION_EXPIRATION_EXPORTER_MAX_THREADS("retention.expiration.exporter.max.threads", 1),
+
     /**
      * The optional maximum number of expected partition values allowed for availability and DDL generation. If not specified, any number of partition values is
      * allowed.
      */
     AVAILABILITY_DDL_MAX_PARTITION_VALUES("availability.ddl.max.partition.values", null),
 
+    /**
+     * The number of threads in the shared thread pool used to generate the "alter table add partition" statements of business object data DDL requests in
+     * parallel. A single request keeps no more than two tasks per thread in progress. A value of 1 disables parallel DDL generation. Changing the pool size
+     * requires a server restart. The default is 4.
+     */
+    BUSINESS_OBJECT_DATA_DDL_THREAD_POOL_SIZE("business.object.data.ddl.thread.pool.size", 4),
+
+    /**
+     * The queue capacity of the shared business object data DDL generation thread pool. When the queue is full, the requesting thread generates the statements
+     * of the task itself. Changing the queue capacity requires a server restart. The default is 100.
+     */
+    BUSINESS_OBJECT_DATA_DDL_THREAD_POOL_QUEUE_CAPACITY("business.object.data.ddl.thread.pool.queue.capacity", 100),
+
+    /**
+     * The number of storage units for which a single parallel DDL generation task generates the "alter table add partition" statements. Requests that select
+     * no more storage units than that get their DDL generated on the calling thread. The default is 500.
+     */
+    BUSINESS_OBJECT_DATA_DDL_STORAGE_UNITS_PER_TASK("business.object.data.ddl.storage.units.per.task", 500),
+
+    /**
+     * The maximum number of single level partition filters to be resolved by one storage unit selection query. Such partition filters are matched using a
+     * set-based "in" clause on the relative partition column, so they are not subject to the default chunking of 100 partition filters per query. The default
+     * is 5000.
+     */
+    STORAGE_UNIT_SELECTION_MAX_PARTITION_VALUES_PER_QUERY("storage.unit.selection.max.partition.values.per.query", 5000),
+
     /**
      * The chunk size to use when creating database "in" clauses. The default chunk size to use for "in" clauses is 1000. For Oracle specifically, "in" clauses
      * can't be greater than 1000 or a SQL error will be thrown.
@@ -576,6 +696,12 @@ public enum ConfigurationValue
      */
     HERD_NOTIFICATION_SQS_SYS_MONITOR_RESPONSE_VELOCITY_TEMPLATE("herd.notification.sqs.sys.monitor.response.velocity.template", null),
 
+    /**
+     * The maximum number of parsed Velocity templates kept in memory, so the notification message templates do not get parsed again each time a message gets
+     * built. The least recently used template gets evicted when the cache is full. The default is 200.
+     */
+    VELOCITY_TEMPLATE_CACHE_MAX_SIZE("velocity.template.cache.max.size", 200),
+
     /**
      * Contains a list of notification message definitions as defined in {@link org.finra.herd.model.api.xml.NotificationMessageDefinitions
      * NotificationMessageDefinitions} to use when generating notification messages for a business object data status change event. There is no default value
@@ -626,6 +752,32 @@ public enum ConfigurationValue
      */
     HERD_CACHE_MEMORY_STORE_EVICTION_POLICY("herd.cache.memory.store.eviction.policy", "LRU"),
 
+    /**
+     * The number of seconds back from the current time to look for the cache eviction events published by the other herd nodes. The events are matched by
+     * their creation time, so this has to cover the longest transaction that publishes a cache eviction event and the clock differences between the nodes.
+     */
+    HERD_CACHE_EVICTION_EVENT_LOOKBACK_SECONDS("herd.cache.eviction.event.lookback.seconds", 300),
+
+    /**
+     * The number of seconds to keep the cache eviction events before they get deleted. The default is 1 day.
+     */
+    HERD_CACHE_EVICTION_EVENT_RETENTION_SECONDS("herd.cache.eviction.event.retention.seconds", 86400),
+
+    /**
+     * The time to live in seconds of the resolved namespace authorizations of the users in the namespace authorization cache.
+     */
+    NAMESPACE_AUTHORIZATION_CACHE_TIME_TO_LIVE_SECONDS("namespace.authorization.cache.time.to.live.seconds", 60L),
+
+    /**
+     * The maximum number of users whose resolved namespace authorizations are kept in the namespace authorization cache.
+     */
+    NAMESPACE_AUTHORIZATION_CACHE_MAX_ELEMENTS_IN_MEMORY("namespace.authorization.cache.max.elements.in.memory", 10000),
+
+    /**
+     * The comma separated list of the quantiles, between 0 and 1, of the method durations that are reported by the metrics endpoint.
+     */
+    METRICS_PERCENTILES("metrics.percentiles", "0.5,0.95,0.99"),
+
     /**
      * The default value for EC2 node IAM profile name when creating EMR cluster.
      */
@@ -897,6 +1049,65 @@ public enum ConfigurationValue
      */
     SEARCH_INDEX_UPDATE_JMS_LISTENER_ENABLED("search.index.update.jms.listener.enabled", "true"),
 
+    /**
+     * The number of threads in the shared thread pool that converts entities to JSON documents and sends them to Elasticsearch when a search index gets fully
+     * built. Each search index build also keeps at most twice this number of chunks waiting for the thread pool. Changing the pool size requires a server
+     * restart. The default is 4.
+     */
+    SEARCH_INDEX_REINDEX_THREAD_COUNT("search.index.reindex.thread.count", 4),
+
+    /**
+     * The queue capacity of the shared search index reindex thread pool. When the queue is full, the thread that reads the entity ids indexes the chunk
+     * itself. Changing the queue capacity requires a server restart. The default is 100.
+     */
+    SEARCH_INDEX_REINDEX_THREAD_POOL_QUEUE_CAPACITY("search.index.reindex.thread.pool.queue.capacity", 100),
+
+    /**
+     * The maximum number of entities that a single worker loads from the database and indexes when a search index gets fully built. The default is 100.
+     */
+    SEARCH_INDEX_REINDEX_CHUNK_SIZE("search.index.reindex.chunk.size", 100),
+
+    /**
+     * The maximum total size in bytes of the JSON documents sent to Elasticsearch in a single bulk request when a search index gets fully built. The default
+     * is 5 MB.
+     */
+    SEARCH_INDEX_REINDEX_BULK_REQUEST_MAX_BYTES("search.index.reindex.bulk.request.max.bytes", 5242880),
+
+    /**
+     * The maximum number of times the documents rejected by Elasticsearch because of a full bulk queue get resent. The default is 5.
+     */
+    ELASTICSEARCH_BULK_REQUEST_MAX_RETRY_ATTEMPTS("elasticsearch.bulk.request.max.retry.attempts", 5),
+
+    /**
+     * The initial delay in milliseconds before the documents rejected by Elasticsearch get resent. The delay doubles with each retry attempt. The default is
+     * 1000 milliseconds.
+     */
+    ELASTICSEARCH_BULK_REQUEST_RETRY_BACKOFF_MILLIS("elasticsearch.bulk.request.retry.backoff.millis", 1000),
+
+    /**
+     * The number of threads in the shared thread pool used to send SQS send message batch requests in parallel. Changing the pool size requires a server
+     * restart. The default is 4.
+     */
+    SQS_SEND_MESSAGE_BATCH_THREAD_POOL_SIZE("sqs.send.message.batch.thread.pool.size", 4),
+
+    /**
+     * The queue capacity of the shared SQS send message batch thread pool. When the queue is full, the requesting thread sends the batch request itself.
+     * Changing the queue capacity requires a server restart. The default is 100.
+     */
+    SQS_SEND_MESSAGE_BATCH_THREAD_POOL_QUEUE_CAPACITY("sqs.send.message.batch.thread.pool.queue.capacity", 100),
+
+    /**
+     * The maximum number of times the messages that SQS failed to accept, through no fault of the sender, get resent in another send message batch request.
+     * The default is 3.
+     */
+    SQS_SEND_MESSAGE_BATCH_MAX_RETRY_ATTEMPTS("sqs.send.message.batch.max.retry.attempts", 3),
+
+    /**
+     * The initial delay in milliseconds before the messages that SQS failed to accept get resent. The delay doubles with each retry attempt. The default is 100
+     * milliseconds.
+     */
+    SQS_SEND_MESSAGE_BATCH_RETRY_BACKOFF_MILLIS("sqs.send.message.batch.retry.backoff.millis", 100),
+
     /**
      * The name of the Credstash table where credentials are stored.
      */
@@ -943,6 +1154,27 @@ public enum ConfigurationValue
      */
     S3_ARCHIVE_TO_GLACIER_ROLE_SESSION_NAME("s3.archive.to.glacier.role.session.name", null),
 
+    /**
+     * Specifies whether Amazon S3 clients get cached and shared across S3 operations. The default is true.
+     */
+    S3_CLIENT_CACHE_ENABLED("s3.client.cache.enabled", "true"),
+
+    /**
+     * The number of seconds a cached Amazon S3 client can stay unused before it gets shut down and evicted. The default is 300.
+     */
+    S3_CLIENT_CACHE_IDLE_TIMEOUT_SECS("s3.client.cache.idle.timeout.secs", 300),
+
+    /**
+     * The maximum number of Amazon S3 clients held by the S3 client cache. The default is 50.
+     */
+    S3_CLIENT_CACHE_MAX_SIZE("s3.client.cache.max.size", 50),
+
+    /**
+     * Specifies whether the next page of an S3 directory listing is requested on a background thread while the current page is being processed. The default
+     * is false.
+     */
+    S3_DIRECTORY_LISTING_PREFETCH_ENABLED("s3.directory.listing.prefetch.enabled", "false"),
+
     /**
      * The S3 object tag key to be used to trigger S3 object deletion.
      */
@@ -963,6 +1195,23 @@ public enum ConfigurationValue
      */
     S3_OBJECT_DELETE_ROLE_SESSION_NAME("s3.object.delete.role.session.name", null),
 
+    /**
+     * The number of threads of the shared S3 object tagging thread pool, which is also the maximum number of S3 objects that get tagged concurrently by a
+     * single S3 object tagging request. Changing the pool size requires a server restart. The default is 10.
+     */
+    S3_OBJECT_TAGGING_THREAD_POOL_SIZE("s3.object.tagging.thread.pool.size", 10),
+
+    /**
+     * The queue capacity of the shared S3 object tagging thread pool. When the queue is full, the requesting thread tags the S3 objects itself. Changing the
+     * queue capacity requires a server restart. The default is 100.
+     */
+    S3_OBJECT_TAGGING_THREAD_POOL_QUEUE_CAPACITY("s3.object.tagging.thread.pool.queue.capacity", 100),
+
+    /**
+     * The number of tagged S3 objects between S3 object tagging progress log messages. The default is 10000.
+     */
+    S3_OBJECT_TAGGING_PROGRESS_LOG_INTERVAL("s3.object.tagging.progress.log.interval", 10000),
+
     /**
      * The business object format attribute name for the relational database schema name. The default is "relational.schema.name".
      */
@@ -0,0 +1,141 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.model.dto;
+
+import java.io.Serializable;
+import java.util.AbstractSet;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.finra.herd.model.api.xml.NamespaceAuthorization;
+import org.finra.herd.model.api.xml.NamespacePermissionEnum;
+
+/**
+ * An immutable set of namespace authorizations that is indexed for the permission checks.
+ * <p/>
+ * The namespace codes are interned into small integer indexes that are shared by all the namespace authorization sets of this JVM, and each set keeps one
+ * bitset of the namespace indexes per permission. Checking whether a namespace is authorized for a permission is then a single lookup of the namespace index
+ * followed by a bit test per permission. The namespace codes are interned case-insensitively, since the namespace codes are case-insensitive.
+ */
+public class NamespaceAuthorizationSet extends AbstractSet<NamespaceAuthorization> implements Serializable
+{
+    private static final long serialVersionUID = 2317705528373427861L;
+
+    /**
+     * The interned namespace indexes keyed by the upper-cased namespace codes. Only the namespace codes that have been authorized are interned, so the number
+     * of the entries is bounded by the number of the namespaces.
+     */
+    private static final ConcurrentMap<String, Integer> NAMESPACE_INDEXES = new ConcurrentHashMap<>();
+
+    private static final AtomicInteger NEXT_NAMESPACE_INDEX = new AtomicInteger();
+
+    private final Set<NamespaceAuthorization> namespaceAuthorizations;
+
+    /**
+     * The bitsets of the authorized namespace indexes, one per namespace permission ordinal. The namespace indexes are only valid in this JVM, so the bitsets
+     * are rebuilt when this set is deserialized.
+     */
+    private final transient BitSet[] permissionNamespaceIndexes;
+
+    /**
+     * Creates a namespace authorization set that contains the specified namespace authorizations.
+     *
+     * @param namespaceAuthorizations the namespace authorizations
+     */
+    public NamespaceAuthorizationSet(Collection<NamespaceAuthorization> namespaceAuthorizations)
+    {
+        this.namespaceAuthorizations = Collections.unmodifiableSet(new LinkedHashSet<>(namespaceAuthorizations));
+
+        permissionNamespaceIndexes = new BitSet[NamespacePermissionEnum.values().length];
+        for (int i = 0; i < permissionNamespaceIndexes.length; i++)
+        {
+            permissionNamespaceIndexes[i] = new BitSet();
+        }
+
+        for (NamespaceAuthorization namespaceAuthorization : this.namespaceAuthorizations)
+        {
+            if (namespaceAuthorization.getNamespace() != null && namespaceAuthorization.getNamespacePermissions() != null)
+            {
+                int namespaceIndex = NAMESPACE_INDEXES.computeIfAbsent(namespaceAuthorization.getNamespace().toUpperCase(),
+                    namespace -> NEXT_NAMESPACE_INDEX.getAndIncrement());
+                for (NamespacePermissionEnum namespacePermission : namespaceAuthorization.getNamespacePermissions())
+                {
+                    permissionNamespaceIndexes[namespacePermission.ordinal()].set(namespaceIndex);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns true if the specified namespace is authorized for at least one of the specified permissions.
+     *
+     * @param namespace the namespace code, case-insensitive
+     * @param namespacePermissions the namespace permissions
+     *
+     * @return true if the namespace is authorized for any of the permissions, false otherwise
+     */
+    public boolean hasAnyNamespacePermission(String namespace, NamespacePermissionEnum... namespacePermissions)
+    {
+        Integer namespaceIndex = NAMESPACE_INDEXES.get(namespace.toUpperCase());
+        if (namespaceIndex != null)
+        {
+            for (NamespacePermissionEnum namespacePermission : namespacePermissions)
+            {
+                if (permissionNamespaceIndexes[namespacePermission.ordinal()].get(namespaceIndex))
+                {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public Iterator<NamespaceAuthorization> iterator()
+    {
+        return namespaceAuthorizations.iterator();
+    }
+
+    @Override
+    public int size()
+    {
+        return namespaceAuthorizations.size();
+    }
+
+    @Override
+    public boolean contains(Object object)
+    {
+        return namespaceAuthorizations.contains(object);
+    }
+
+    /**
+     * Rebuilds the namespace indexes of the deserialized set in this JVM.
+     *
+     * @return the namespace authorization set to use in place of the deserialized one
+     */
+    private Object readResolve()
+    {
+        return new NamespaceAuthorizationSet(namespaceAuthorizations);
+    }
+}
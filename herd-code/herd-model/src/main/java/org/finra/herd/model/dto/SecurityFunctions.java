@@ -292,6 +292,8 @@ public class SecurityFunctions
 
     public static final String FN_JOB_DEFINITIONS_PUT = "FN_JOB_DEFINITIONS_PUT";
 
+    public static final String FN_METRICS_GET = "FN_METRICS_GET";
+
     public static final String FN_NAMESPACES_ALL_GET = "FN_NAMESPACES_ALL_GET";
 
     public static final String FN_NAMESPACES_DELETE = "FN_NAMESPACES_DELETE";
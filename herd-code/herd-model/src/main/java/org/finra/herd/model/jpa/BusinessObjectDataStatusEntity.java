@@ -20,6 +20,8 @@ import javax.persistence.Entity;
 import javax.persistence.Id;
 import javax.persistence.Table;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.Type;
 
 /**
@@ -27,6 +29,7 @@ import org.hibernate.annotations.Type;
  */
 @Table(name = "bus_objct_data_stts_cd_lk")
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class BusinessObjectDataStatusEntity extends AuditableEntity
 {
     // List of common statuses
@@ -0,0 +1,68 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.model.jpa;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+
+/**
+ * A cache eviction event that tells all herd nodes to evict the specified cache.
+ */
+@Table(name = CacheEvictionEventEntity.TABLE_NAME)
+@Entity
+public class CacheEvictionEventEntity extends AuditableEntity
+{
+    /**
+     * The table name.
+     */
+    public static final String TABLE_NAME = "cache_evctn_evnt";
+
+    @Id
+    @Column(name = TABLE_NAME + "_id")
+    @GeneratedValue(generator = TABLE_NAME + "_seq")
+    @SequenceGenerator(name = TABLE_NAME + "_seq", sequenceName = TABLE_NAME + "_seq", allocationSize = 1)
+    private Integer id;
+
+    /**
+     * The name of the cache to evict.
+     */
+    @Column(name = "cache_nm", nullable = false)
+    private String cacheName;
+
+    public Integer getId()
+    {
+        return id;
+    }
+
+    public void setId(Integer id)
+    {
+        this.id = id;
+    }
+
+    public String getCacheName()
+    {
+        return cacheName;
+    }
+
+    public void setCacheName(String cacheName)
+    {
+        this.cacheName = cacheName;
+    }
+}
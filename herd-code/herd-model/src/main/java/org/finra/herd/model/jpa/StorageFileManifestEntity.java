@@ -0,0 +1,100 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.model.jpa;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+
+/**
+ * A compact storage file manifest that holds the storage files of a storage unit in place of the individual storage file rows.
+ */
+@Table(name = StorageFileManifestEntity.TABLE_NAME)
+@Entity
+public class StorageFileManifestEntity extends AuditableEntity
+{
+    /**
+     * The table name.
+     */
+    public static final String TABLE_NAME = "strge_file_mnfst";
+
+    @Id
+    @Column(name = TABLE_NAME + "_id")
+    @GeneratedValue(generator = TABLE_NAME + "_seq")
+    @SequenceGenerator(name = TABLE_NAME + "_seq", sequenceName = TABLE_NAME + "_seq", allocationSize = 1)
+    private Integer id;
+
+    /**
+     * The compressed storage file manifest.
+     */
+    @Column(name = "mnfst_bn", length = Integer.MAX_VALUE, nullable = false)
+    private byte[] manifest;
+
+    /**
+     * The number of storage files in the manifest.
+     */
+    @Column(name = "file_ct", nullable = false)
+    private Integer fileCount;
+
+    /**
+     * The S3 key prefix of the directory that contains all storage files in the manifest, with a trailing '/' character.
+     */
+    @Column(name = "s3_key_pfx_tx", length = 1024, nullable = false)
+    private String s3KeyPrefix;
+
+    public Integer getId()
+    {
+        return id;
+    }
+
+    public void setId(Integer id)
+    {
+        this.id = id;
+    }
+
+    public byte[] getManifest()
+    {
+        return manifest;
+    }
+
+    public void setManifest(byte[] manifest)
+    {
+        this.manifest = manifest;
+    }
+
+    public Integer getFileCount()
+    {
+        return fileCount;
+    }
+
+    public void setFileCount(Integer fileCount)
+    {
+        this.fileCount = fileCount;
+    }
+
+    public String getS3KeyPrefix()
+    {
+        return s3KeyPrefix;
+    }
+
+    public void setS3KeyPrefix(String s3KeyPrefix)
+    {
+        this.s3KeyPrefix = s3KeyPrefix;
+    }
+}
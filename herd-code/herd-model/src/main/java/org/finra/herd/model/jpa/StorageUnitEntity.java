@@ -21,11 +21,13 @@ import java.util.Collection;
 import javax.persistence.CascadeType;
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.OneToMany;
+import javax.persistence.OneToOne;
 import javax.persistence.OrderBy;
 import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
@@ -52,6 +54,14 @@ public class StorageUnitEntity extends AuditableEntity
     @OrderBy("path")
     private Collection<StorageFileEntity> storageFiles;
 
+    /**
+     * The optional compact storage file manifest that holds the storage files not registered as individual storage file entities. It is only loaded when
+     * accessed.
+     */
+    @OneToOne(fetch = FetchType.LAZY, orphanRemoval = true, cascade = {CascadeType.ALL})
+    @JoinColumn(name = "strge_file_mnfst_id", referencedColumnName = "strge_file_mnfst_id")
+    private StorageFileManifestEntity storageFileManifest;
+
     /**
      * The storage column.
      */
@@ -116,6 +126,16 @@ public class StorageUnitEntity extends AuditableEntity
         this.storageFiles = storageFiles;
     }
 
+    public StorageFileManifestEntity getStorageFileManifest()
+    {
+        return storageFileManifest;
+    }
+
+    public void setStorageFileManifest(StorageFileManifestEntity storageFileManifest)
+    {
+        this.storageFileManifest = storageFileManifest;
+    }
+
     public StorageEntity getStorage()
     {
         return storage;
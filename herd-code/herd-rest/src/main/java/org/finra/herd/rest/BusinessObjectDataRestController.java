@@ -15,6 +15,12 @@
  */
 package org.finra.herd.rest;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 
@@ -75,6 +81,11 @@ import org.finra.herd.ui.constants.UiConstants;
 @Api(tags = "Business Object Data")
 public class BusinessObjectDataRestController extends HerdBaseController
 {
+    /**
+     * The line that follows the DDL returned by the streaming DDL endpoint. A response that does not end with this line was truncated.
+     */
+    public static final String DDL_STREAM_TRAILER = "-- End of DDL";
+
     @Autowired
     private BusinessObjectDataDaoHelper businessObjectDataDaoHelper;
 
@@ -385,6 +396,48 @@ public class BusinessObjectDataRestController extends HerdBaseController
         return businessObjectDataService.generateBusinessObjectDataDdl(businessObjectDataDdlRequest);
     }
 
+    /**
+     * Retrieves the DDL to initialize the specified type of the database system to perform queries for a range of requested business object data in the
+     * specified storage. The DDL is returned as plain text followed by a line with the {@link #DDL_STREAM_TRAILER} trailer, so a client can tell the complete
+     * DDL from a truncated response. The DDL gets generated into a temporary file first, so very large DDL does not need to be held in memory as a whole, any
+     * validation error is reported before the DDL gets sent, and the database transaction is not kept open while the DDL is sent to the client. <p> Requires
+     * READ permission on namespace </p>
+     *
+     * @param businessObjectDataDdlRequest the business object data DDL request
+     * @param httpServletResponse the HTTP servlet response
+     *
+     * @throws IOException if an I/O error occurred while writing the DDL to the temporary file or to the HTTP servlet response
+     */
+    @RequestMapping(value = "/businessObjectData/generateDdlStream", method = RequestMethod.POST, consumes = {"application/xml", "application/json"},
+        produces = "text/plain")
+    @Secured(SecurityFunctions.FN_BUSINESS_OBJECT_DATA_GENERATE_DDL_POST)
+    public void generateBusinessObjectDataDdlStream(@RequestBody BusinessObjectDataDdlRequest businessObjectDataDdlRequest,
+        HttpServletResponse httpServletResponse) throws IOException
+    {
+        Path ddlFile = Files.createTempFile("herd-ddl-", ".txt");
+        try
+        {
+            // Generate the DDL into the temporary file. The new transaction started by the service ends before the DDL gets sent.
+            try (Writer writer = Files.newBufferedWriter(ddlFile, StandardCharsets.UTF_8))
+            {
+                businessObjectDataService.generateBusinessObjectDataDdl(businessObjectDataDdlRequest, writer);
+            }
+
+            httpServletResponse.setContentType("text/plain");
+            httpServletResponse.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+            // Please note that we do not use the HTTP servlet response writer, since it silently ignores I/O errors.
+            OutputStream outputStream = httpServletResponse.getOutputStream();
+            Files.copy(ddlFile, outputStream);
+            outputStream.write(("\n" + DDL_STREAM_TRAILER + "\n").getBytes(StandardCharsets.UTF_8));
+            outputStream.flush();
+        }
+        finally
+        {
+            Files.deleteIfExists(ddlFile);
+        }
+    }
+
     /**
      * Retrieves the DDL to initialize the specified type of the database system to perform queries for a collection of business object data in the specified
      * storage. <p> Requires READ permission on ALL namespaces </p>
@@ -15,6 +15,14 @@
 */
 package org.finra.herd.rest;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import javax.servlet.http.HttpServletResponse;
+
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -28,6 +36,7 @@ import org.springframework.web.bind.annotation.RestController;
 import org.finra.herd.model.api.xml.BuildInformation;
 import org.finra.herd.model.api.xml.TimeoutValidationResponse;
 import org.finra.herd.model.dto.SecurityFunctions;
+import org.finra.herd.service.MetricsService;
 import org.finra.herd.ui.constants.UiConstants;
 
 /**
@@ -40,6 +49,10 @@ public class HerdRestController extends HerdBaseController
 {
     @Autowired
     private BuildInformation buildInformation;
+
+    @Autowired
+    private MetricsService metricsService;
+
     private final static Integer MAX_WAIT_FOR_SECONDS = 1800;
 
     /**
@@ -55,6 +68,28 @@ public class HerdRestController extends HerdBaseController
         return buildInformation;
     }
 
+    /**
+     * Gets the metrics of this herd node, such as the durations of the service and DAO method calls, in the Prometheus text exposition format. The reported
+     * quantiles of the method durations are configured by the "metrics.percentiles" configuration value.
+     *
+     * @param httpServletResponse the HTTP servlet response
+     *
+     * @throws IOException if an I/O error occurred while writing the metrics to the HTTP servlet response
+     */
+    @ApiOperation(value = "Gets the metrics in the Prometheus text format")
+    @RequestMapping(value = "/metrics", method = RequestMethod.GET, produces = "text/plain")
+    @Secured(SecurityFunctions.FN_METRICS_GET)
+    public void getMetrics(HttpServletResponse httpServletResponse) throws IOException
+    {
+        httpServletResponse.setContentType("text/plain; version=0.0.4");
+        httpServletResponse.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        // Please note that we do not use the HTTP servlet response writer, since it silently ignores I/O errors.
+        Writer writer = new BufferedWriter(new OutputStreamWriter(httpServletResponse.getOutputStream(), StandardCharsets.UTF_8));
+        metricsService.writeMetrics(writer);
+        writer.flush();
+    }
+
     /**
      * Validates infrastructure timeouts.
      * @param waitForSeconds number of seconds to wait that falls between 0 and 1800 inclusively
@@ -28,6 +28,7 @@ import org.finra.herd.model.api.xml.SearchIndex;
 import org.finra.herd.model.api.xml.SearchIndexCreateRequest;
 import org.finra.herd.model.api.xml.SearchIndexKey;
 import org.finra.herd.model.api.xml.SearchIndexKeys;
+import org.finra.herd.model.api.xml.SearchIndexProgress;
 import org.finra.herd.model.dto.SecurityFunctions;
 import org.finra.herd.service.SearchIndexService;
 import org.finra.herd.ui.constants.UiConstants;
@@ -98,4 +99,19 @@ public class SearchIndexRestController extends HerdBaseController
     {
         return searchIndexService.getSearchIndexes();
     }
+
+    /**
+     * Gets the progress of building an existing search index by its name. The number of indexed entities and the estimated completion time are only reported
+     * by the herd node that builds the search index.
+     *
+     * @param searchIndexName the name of the search index
+     *
+     * @return the search index progress
+     */
+    @RequestMapping(value = SEARCH_INDEXES_URI_PREFIX + "/{searchIndexName}/progress", method = RequestMethod.GET)
+    @Secured(SecurityFunctions.FN_SEARCH_INDEXES_GET)
+    public SearchIndexProgress getSearchIndexProgress(@PathVariable("searchIndexName") String searchIndexName)
+    {
+        return searchIndexService.getSearchIndexProgress(new SearchIndexKey(searchIndexName));
+    }
 }
@@ -16,11 +16,17 @@
 package org.finra.herd.rest;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -35,6 +41,7 @@ import org.junit.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.mock.web.MockHttpServletResponse;
 
 import org.finra.herd.dao.helper.HerdStringHelper;
 import org.finra.herd.model.api.xml.Attribute;
@@ -288,6 +295,73 @@ public class BusinessObjectDataRestControllerTest extends AbstractRestTest
         assertEquals(businessObjectDataDdl, result);
     }
 
+    @Test
+    public void testGenerateBusinessObjectDataDdlStream() throws Exception
+    {
+        // Create a business object data ddl request.
+        BusinessObjectDataDdlRequest businessObjectDataDdlRequest = new BusinessObjectDataDdlRequest();
+
+        // Create an HTTP servlet response.
+        MockHttpServletResponse httpServletResponse = new MockHttpServletResponse();
+
+        // Mock the external calls.
+        doAnswer(invocation ->
+        {
+            Writer writer = (Writer) invocation.getArguments()[1];
+            writer.write(STRING_VALUE);
+            return null;
+        }).when(businessObjectDataService).generateBusinessObjectDataDdl(eq(businessObjectDataDdlRequest), any(Writer.class));
+
+        // Call the method under test.
+        businessObjectDataRestController.generateBusinessObjectDataDdlStream(businessObjectDataDdlRequest, httpServletResponse);
+
+        // Verify the external calls.
+        verify(businessObjectDataService).generateBusinessObjectDataDdl(eq(businessObjectDataDdlRequest), any(Writer.class));
+        verifyNoMoreInteractionsHelper();
+
+        // Validate the results.
+        assertEquals("text/plain", httpServletResponse.getContentType());
+        assertEquals("UTF-8", httpServletResponse.getCharacterEncoding());
+        assertEquals(STRING_VALUE + "\n" + BusinessObjectDataRestController.DDL_STREAM_TRAILER + "\n", httpServletResponse.getContentAsString());
+    }
+
+    @Test
+    public void testGenerateBusinessObjectDataDdlStreamValidationError() throws Exception
+    {
+        // Create a business object data ddl request.
+        BusinessObjectDataDdlRequest businessObjectDataDdlRequest = new BusinessObjectDataDdlRequest();
+
+        // Create an HTTP servlet response.
+        MockHttpServletResponse httpServletResponse = new MockHttpServletResponse();
+
+        // Mock the external calls, so a validation error gets raised after the beginning of the DDL was already generated.
+        doAnswer(invocation ->
+        {
+            Writer writer = (Writer) invocation.getArguments()[1];
+            writer.write(STRING_VALUE);
+            throw new IllegalArgumentException(ERROR_MESSAGE);
+        }).when(businessObjectDataService).generateBusinessObjectDataDdl(eq(businessObjectDataDdlRequest), any(Writer.class));
+
+        // Try to call the method under test.
+        try
+        {
+            businessObjectDataRestController.generateBusinessObjectDataDdlStream(businessObjectDataDdlRequest, httpServletResponse);
+            fail();
+        }
+        catch (IllegalArgumentException e)
+        {
+            assertEquals(ERROR_MESSAGE, e.getMessage());
+        }
+
+        // Verify the external calls.
+        verify(businessObjectDataService).generateBusinessObjectDataDdl(eq(businessObjectDataDdlRequest), any(Writer.class));
+        verifyNoMoreInteractionsHelper();
+
+        // Validate that nothing was sent, so the error can still be reported to the client.
+        assertFalse(httpServletResponse.isCommitted());
+        assertEquals("", httpServletResponse.getContentAsString());
+    }
+
     @Test
     public void testGenerateBusinessObjectDataDdlCollection()
     {
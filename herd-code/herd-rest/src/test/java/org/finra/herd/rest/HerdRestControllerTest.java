@@ -18,7 +18,14 @@ package org.finra.herd.rest;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
-
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Date;
@@ -28,9 +35,11 @@ import org.junit.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.mock.web.MockHttpServletResponse;
 
 import org.finra.herd.model.api.xml.BuildInformation;
 import org.finra.herd.model.api.xml.TimeoutValidationResponse;
+import org.finra.herd.service.MetricsService;
 
 /**
  * This class tests various functionality within the herd REST controller.
@@ -43,6 +52,9 @@ public class HerdRestControllerTest extends AbstractRestTest
     @InjectMocks
     private HerdRestController herdRestController;
 
+    @Mock
+    private MetricsService metricsService;
+
     @Before
     public void before()
     {
@@ -59,6 +71,29 @@ public class HerdRestControllerTest extends AbstractRestTest
         assertEquals(buildInformation, result);
     }
 
+    @Test
+    public void testGetMetrics() throws IOException
+    {
+        // Mock the external calls.
+        doAnswer(invocation -> {
+            ((Writer) invocation.getArguments()[0]).write(STRING_VALUE);
+            return null;
+        }).when(metricsService).writeMetrics(any(Writer.class));
+
+        // Call the method under test.
+        MockHttpServletResponse httpServletResponse = new MockHttpServletResponse();
+        herdRestController.getMetrics(httpServletResponse);
+
+        // Verify the external calls.
+        verify(metricsService).writeMetrics(any(Writer.class));
+        verifyNoMoreInteractions(metricsService);
+
+        // Validate the results.
+        assertTrue(httpServletResponse.getContentType().startsWith("text/plain; version=0.0.4"));
+        assertEquals(StandardCharsets.UTF_8.name(), httpServletResponse.getCharacterEncoding());
+        assertEquals(STRING_VALUE, httpServletResponse.getContentAsString());
+    }
+
     @Test
     public void testGetTimeoutValidation() throws InterruptedException
     {
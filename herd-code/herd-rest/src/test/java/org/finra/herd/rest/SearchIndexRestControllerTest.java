@@ -32,6 +32,7 @@ import org.finra.herd.model.api.xml.SearchIndex;
 import org.finra.herd.model.api.xml.SearchIndexCreateRequest;
 import org.finra.herd.model.api.xml.SearchIndexKey;
 import org.finra.herd.model.api.xml.SearchIndexKeys;
+import org.finra.herd.model.api.xml.SearchIndexProgress;
 import org.finra.herd.service.SearchIndexService;
 
 /**
@@ -124,6 +125,28 @@ public class SearchIndexRestControllerTest extends AbstractRestTest
         assertEquals(searchIndex, response);
     }
 
+    @Test
+    public void testGetSearchIndexProgress()
+    {
+        // Create a search index key.
+        SearchIndexKey searchIndexKey = new SearchIndexKey(SEARCH_INDEX_NAME);
+
+        // Create a search index progress response.
+        SearchIndexProgress searchIndexProgress = new SearchIndexProgress(searchIndexKey, SEARCH_INDEX_STATUS, 2L, 1L, CREATED_ON, UPDATED_ON);
+
+        // Mock the call to the search index service.
+        when(searchIndexService.getSearchIndexProgress(searchIndexKey)).thenReturn(searchIndexProgress);
+
+        // Get the search index progress.
+        SearchIndexProgress response = searchIndexRestController.getSearchIndexProgress(SEARCH_INDEX_NAME);
+
+        // Verify the calls.
+        verify(searchIndexService, times(1)).getSearchIndexProgress(new SearchIndexKey(SEARCH_INDEX_NAME));
+
+        // Validate the returned object.
+        assertEquals(searchIndexProgress, response);
+    }
+
     @Test
     public void testGetSearchIndexes()
     {
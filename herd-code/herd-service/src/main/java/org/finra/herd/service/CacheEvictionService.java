@@ -0,0 +1,36 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.service;
+
+/**
+ * The service that broadcasts the cache evictions to all herd nodes through the cache eviction events stored in the database.
+ */
+public interface CacheEvictionService
+{
+    /**
+     * Publishes a cache eviction event for the specified cache as part of the current transaction. Once the transaction commits, the cache is evicted on this
+     * herd node right away and on the other herd nodes as soon as they process the cache eviction event.
+     *
+     * @param cacheName the name of the cache to evict
+     */
+    void publishCacheEviction(String cacheName);
+
+    /**
+     * Evicts the caches named by the cache eviction events that were published by the other herd nodes and have not been processed by this herd node yet.
+     * The cache eviction events that are older than the configured retention period are deleted.
+     */
+    void processCacheEvictionEvents();
+}
@@ -42,4 +42,14 @@ public interface NotificationMessagePublishingService
      * @return true if notification message was successfully published and false otherwise
      */
     public boolean publishOldestNotificationMessageFromDatabaseQueue();
+
+    /**
+     * Publishes and removes from the database queue a batch of the oldest notification messages. The notification messages that are locked by other
+     * transactions are skipped and the notification messages that fail to get published are kept in the database queue.
+     *
+     * @param maxResults the maximum number of notification messages to publish
+     *
+     * @return the number of notification messages that were successfully published
+     */
+    public int publishOldestNotificationMessagesFromDatabaseQueue(int maxResults);
 }
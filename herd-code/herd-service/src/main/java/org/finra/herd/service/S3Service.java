@@ -15,11 +15,14 @@
 */
 package org.finra.herd.service;
 
+import java.io.InputStream;
 import java.util.List;
 
+import com.amazonaws.services.s3.model.PartETag;
 import com.amazonaws.services.s3.model.S3ObjectSummary;
 import com.amazonaws.services.s3.model.Tag;
 
+import org.finra.herd.dao.S3ObjectSummaryIterator;
 import org.finra.herd.model.dto.S3FileCopyRequestParamsDto;
 import org.finra.herd.model.dto.S3FileTransferRequestParamsDto;
 import org.finra.herd.model.dto.S3FileTransferResultsDto;
@@ -29,6 +32,27 @@ import org.finra.herd.model.dto.S3FileTransferResultsDto;
  */
 public interface S3Service
 {
+    /**
+     * Aborts a multipart upload, so S3 frees the storage used by its uploaded parts.
+     *
+     * @param s3FileTransferRequestParamsDto the S3 file transfer request parameters. The S3 bucket name and S3 key prefix identify the S3 object being
+     * uploaded.
+     * @param uploadId the upload ID of the multipart upload
+     */
+    public void abortMultipartUpload(S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto, String uploadId);
+
+    /**
+     * Completes a multipart upload by assembling the previously uploaded parts into a single S3 object.
+     *
+     * @param s3FileTransferRequestParamsDto the S3 file transfer request parameters. The S3 bucket name and S3 key prefix identify the S3 object being
+     * uploaded.
+     * @param uploadId the upload ID of the multipart upload
+     * @param partETags the part numbers and ETags of all the uploaded parts
+     *
+     * @return the ETag of the S3 object
+     */
+    public String completeMultipartUpload(S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto, String uploadId, List<PartETag> partETags);
+
     /**
      * Copies an S3 object from the source S3 bucket to the same path in target bucket.  This method does not delete the source S3 object.
      *
@@ -94,6 +118,29 @@ public interface S3Service
      */
     public S3FileTransferResultsDto downloadFile(S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto) throws InterruptedException;
 
+    /**
+     * Downloads the specified byte range of an S3 object to the same offset within a local file. The local file is not truncated, so multiple byte ranges of
+     * the same S3 object can be downloaded in parallel into a preallocated local file.
+     *
+     * @param s3FileTransferRequestParamsDto the S3 file transfer request parameters. The S3 bucket name and S3 key prefix identify the S3 object. The local
+     * path is the local file name where the byte range will be written into.
+     * @param startByte the zero-based offset of the first byte to download
+     * @param endByte the zero-based offset of the last byte to download, inclusive
+     *
+     * @return the number of bytes downloaded
+     */
+    public long downloadFileRange(S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto, long startByte, long endByte);
+
+    /**
+     * Initiates a multipart upload of a single S3 object. The server side encryption and the storage class of the S3 object are set the same way as by the
+     * other upload methods.
+     *
+     * @param s3FileTransferRequestParamsDto the S3 file transfer request parameters. The S3 bucket name and S3 key prefix identify the S3 object to upload.
+     *
+     * @return the upload ID of the multipart upload
+     */
+    public String initiateMultipartUpload(S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto);
+
     /**
      * Lists all S3 objects matching the S3 key prefix in the given bucket (S3 bucket name).
      *
@@ -115,6 +162,18 @@ public interface S3Service
      */
     public List<S3ObjectSummary> listDirectory(S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto, boolean ignoreZeroByteDirectoryMarkers);
 
+    /**
+     * Returns an iterator over all S3 objects matching the S3 key prefix in the given bucket (S3 bucket name). S3 objects are listed one page at a time as the
+     * iterator gets consumed, so the entire listing is never held in memory. The returned iterator must be closed.
+     *
+     * @param s3FileTransferRequestParamsDto the S3 file transfer request parameters. The S3 bucket name and S3 key prefix identify the S3 objects to get
+     * listed.
+     * @param ignoreZeroByteDirectoryMarkers specifies whether to ignore 0 byte objects that represent S3 directories.
+     *
+     * @return the iterator over all S3 objects represented by S3 object summary that match the prefix in the given bucket.
+     */
+    public S3ObjectSummaryIterator iterateDirectory(S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto, boolean ignoreZeroByteDirectoryMarkers);
+
     /**
      * Requests to restore a list of keys in the specified bucket.
      *
@@ -168,6 +227,22 @@ public interface S3Service
      */
     public S3FileTransferResultsDto uploadFileList(S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto) throws InterruptedException;
 
+    /**
+     * Uploads a single part of a multipart upload.
+     *
+     * @param s3FileTransferRequestParamsDto the S3 file transfer request parameters. The S3 bucket name and S3 key prefix identify the S3 object being
+     * uploaded.
+     * @param uploadId the upload ID of the multipart upload
+     * @param partNumber the part number, starting with 1
+     * @param inputStream the input stream to read the part data from
+     * @param partSize the size of the part in bytes
+     * @param md5Digest the optional Base64 encoded MD5 digest of the part data, which is used by S3 to validate the received data
+     *
+     * @return the ETag of the uploaded part
+     */
+    public String uploadPart(S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto, String uploadId, int partNumber,
+        InputStream inputStream, long partSize, String md5Digest);
+
     /**
      * Validates that all specified Glacier storage class files are restored.
      *
@@ -0,0 +1,47 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.service;
+
+import java.util.List;
+
+/**
+ * The helper service class that indexes chunks of entities when a search index gets fully built. Each chunk gets loaded and indexed in its own transaction,
+ * so the chunks can be processed by several threads in parallel.
+ */
+public interface SearchIndexDocumentHelperService
+{
+    /**
+     * Indexes the business object definitions with the specified ids. The documents are sent to the search index using bulk requests.
+     *
+     * @param searchIndexName the name of the search index
+     * @param documentType the document type
+     * @param businessObjectDefinitionIds the list of business object definition ids
+     *
+     * @return the number of processed business object definitions
+     */
+    public int indexBusinessObjectDefinitions(String searchIndexName, String documentType, List<Integer> businessObjectDefinitionIds);
+
+    /**
+     * Indexes the tags with the specified ids. The documents are sent to the search index using bulk requests.
+     *
+     * @param searchIndexName the name of the search index
+     * @param documentType the document type
+     * @param tagIds the list of tag ids
+     *
+     * @return the number of processed tags
+     */
+    public int indexTags(String searchIndexName, String documentType, List<Integer> tagIds);
+}
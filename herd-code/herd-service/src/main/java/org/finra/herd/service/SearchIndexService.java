@@ -19,6 +19,7 @@ import org.finra.herd.model.api.xml.SearchIndex;
 import org.finra.herd.model.api.xml.SearchIndexCreateRequest;
 import org.finra.herd.model.api.xml.SearchIndexKey;
 import org.finra.herd.model.api.xml.SearchIndexKeys;
+import org.finra.herd.model.api.xml.SearchIndexProgress;
 
 /**
  * The search index service.
@@ -58,4 +59,14 @@ public interface SearchIndexService
      * @return the search index keys
      */
     public SearchIndexKeys getSearchIndexes();
+
+    /**
+     * Gets the progress of building an existing search index for the specified key. The entity counts and the estimated completion time are only available on
+     * the herd node that builds the search index.
+     *
+     * @param searchIndexKey the search index key
+     *
+     * @return the search index progress
+     */
+    public SearchIndexProgress getSearchIndexProgress(SearchIndexKey searchIndexKey);
 }
@@ -17,22 +17,25 @@ package org.finra.herd.service.advice;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Before;
 import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.expression.Expression;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Component;
 
 import org.finra.herd.core.helper.SpelExpressionHelper;
 import org.finra.herd.model.annotation.NamespacePermission;
 import org.finra.herd.model.annotation.NamespacePermissions;
+import org.finra.herd.model.api.xml.NamespacePermissionEnum;
 import org.finra.herd.service.helper.NamespaceSecurityHelper;
 
 @Component
@@ -45,6 +48,12 @@ public class NamespaceSecurityAdvice extends AbstractServiceAdvice
     @Autowired
     private NamespaceSecurityHelper namespaceSecurityHelper;
 
+    /**
+     * The namespace permission checks of the service methods, resolved from the method annotations the first time each method gets called. Methods without
+     * namespace permission annotations map to an empty list.
+     */
+    private final Map<Method, List<NamespacePermissionCheck>> namespacePermissionChecks = new ConcurrentHashMap<>();
+
     /**
      * Check permission on the service methods before the execution. The method is expected to throw AccessDeniedException if current user does not have the
      * permissions.
@@ -58,17 +67,13 @@ public class NamespaceSecurityAdvice extends AbstractServiceAdvice
         MethodSignature methodSignature = (MethodSignature) joinPoint.getSignature();
         Method method = methodSignature.getMethod();
 
-        List<NamespacePermission> namespacePermissions = new ArrayList<>();
-        if (method.isAnnotationPresent(NamespacePermissions.class))
+        List<NamespacePermissionCheck> methodNamespacePermissionChecks = namespacePermissionChecks.get(method);
+        if (methodNamespacePermissionChecks == null)
         {
-            namespacePermissions.addAll(Arrays.asList(method.getAnnotation(NamespacePermissions.class).value()));
-        }
-        else if (method.isAnnotationPresent(NamespacePermission.class))
-        {
-            namespacePermissions.add(method.getAnnotation(NamespacePermission.class));
+            methodNamespacePermissionChecks = namespacePermissionChecks.computeIfAbsent(method, this::getNamespacePermissionChecks);
         }
 
-        if (!namespacePermissions.isEmpty())
+        if (!methodNamespacePermissionChecks.isEmpty())
         {
             String[] parameterNames = methodSignature.getParameterNames();
             Object[] args = joinPoint.getArgs();
@@ -80,19 +85,16 @@ public class NamespaceSecurityAdvice extends AbstractServiceAdvice
             }
 
             List<AccessDeniedException> accessDeniedExceptions = new ArrayList<>();
-            for (NamespacePermission namespacePermission : namespacePermissions)
+            for (NamespacePermissionCheck namespacePermissionCheck : methodNamespacePermissionChecks)
             {
-                for (String field : namespacePermission.fields())
+                try
+                {
+                    namespaceSecurityHelper.checkPermission(spelExpressionHelper.evaluate(namespacePermissionCheck.fieldExpression, Object.class, variables),
+                        namespacePermissionCheck.permissions);
+                }
+                catch (AccessDeniedException accessDeniedException)
                 {
-                    try
-                    {
-                        namespaceSecurityHelper.checkPermission(spelExpressionHelper.evaluate(field, Object.class, variables), namespacePermission
-                            .permissions());
-                    }
-                    catch (AccessDeniedException accessDeniedException)
-                    {
-                        accessDeniedExceptions.add(accessDeniedException);
-                    }
+                    accessDeniedExceptions.add(accessDeniedException);
                 }
             }
             if (!accessDeniedExceptions.isEmpty())
@@ -101,4 +103,52 @@ public class NamespaceSecurityAdvice extends AbstractServiceAdvice
             }
         }
     }
+
+    /**
+     * Resolves the namespace permission annotations of the specified method into a list of namespace permission checks, one per annotated field.
+     *
+     * @param method the method
+     *
+     * @return the list of namespace permission checks, empty if the method has no namespace permission annotations
+     */
+    private List<NamespacePermissionCheck> getNamespacePermissionChecks(Method method)
+    {
+        List<NamespacePermission> namespacePermissions = new ArrayList<>();
+        if (method.isAnnotationPresent(NamespacePermissions.class))
+        {
+            Collections.addAll(namespacePermissions, method.getAnnotation(NamespacePermissions.class).value());
+        }
+        else if (method.isAnnotationPresent(NamespacePermission.class))
+        {
+            namespacePermissions.add(method.getAnnotation(NamespacePermission.class));
+        }
+
+        List<NamespacePermissionCheck> methodNamespacePermissionChecks = new ArrayList<>();
+        for (NamespacePermission namespacePermission : namespacePermissions)
+        {
+            for (String field : namespacePermission.fields())
+            {
+                methodNamespacePermissionChecks
+                    .add(new NamespacePermissionCheck(spelExpressionHelper.parseCompilableExpression(field), namespacePermission.permissions()));
+            }
+        }
+
+        return methodNamespacePermissionChecks.isEmpty() ? Collections.emptyList() : methodNamespacePermissionChecks;
+    }
+
+    /**
+     * A parsed namespace permission field expression along with the permissions required on the namespaces it evaluates to.
+     */
+    private static class NamespacePermissionCheck
+    {
+        private final Expression fieldExpression;
+
+        private final NamespacePermissionEnum[] permissions;
+
+        private NamespacePermissionCheck(Expression fieldExpression, NamespacePermissionEnum[] permissions)
+        {
+            this.fieldExpression = fieldExpression;
+            this.permissions = permissions;
+        }
+    }
 }
@@ -16,19 +16,21 @@
 package org.finra.herd.service.advice;
 
 import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
 
-import org.apache.commons.lang3.time.StopWatch;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.stereotype.Component;
 
 import org.finra.herd.core.HerdDateUtils;
 import org.finra.herd.core.SuppressLogging;
+import org.finra.herd.dao.MetricsRegistry;
 
 @Component
 @Aspect
@@ -39,7 +41,15 @@ public class StopWatchAdvice extends AbstractServiceAdvice
     private static final Logger LOGGER = LoggerFactory.getLogger("org.finra.herd.core.StopWatchAdvice");
 
     /**
-     * Around advice that logs methods times for all service methods.
+     * The name of the metrics of the herd service method calls.
+     */
+    public static final String SERVICE_METHOD_METRIC_NAME = "herd_service_method";
+
+    @Autowired
+    private MetricsRegistry metricsRegistry;
+
+    /**
+     * Around advice that logs methods times for all service methods and records them in the metrics registry.
      *
      * @param pjp the proceeding join point.
      *
@@ -61,29 +71,35 @@ public class StopWatchAdvice extends AbstractServiceAdvice
             targetMethod = pjp.getTarget().getClass().getMethod(pjp.getSignature().getName(), targetMethod.getParameterTypes());
         }
 
-        // Only keep a stop watch if the class and method aren't suppressing logging and the log level is info.
+        // Get the timer of the method. The method times are always recorded, even when the class or method is suppressing logging.
+        MetricsRegistry.MethodTimer methodTimer =
+            metricsRegistry.getMethodTimer(SERVICE_METHOD_METRIC_NAME, "herd service method calls", targetClass, targetMethodSignature.getName());
+
+        // Proceed to the join point (i.e. call the method and let it return).
+        long startTime = System.nanoTime();
+        Object returnValue;
+        try
+        {
+            returnValue = pjp.proceed();
+        }
+        catch (Throwable throwable)
+        {
+            methodTimer.record(System.nanoTime() - startTime, true);
+            throw throwable;
+        }
+        long durationNanoseconds = System.nanoTime() - startTime;
+        methodTimer.record(durationNanoseconds, false);
+
+        // Only log the duration if the class and method aren't suppressing logging and the log level is info.
         if ((AnnotationUtils.findAnnotation(targetClass, SuppressLogging.class) == null) &&
             (AnnotationUtils.findAnnotation(targetMethod, SuppressLogging.class) == null) && (LOGGER.isInfoEnabled()))
         {
-            // Start the stop watch.
-            StopWatch stopWatch = new StopWatch();
-            stopWatch.start();
-
-            // Proceed to the join point (i.e. call the method and let it return).
-            Object returnValue = pjp.proceed();
-
-            // Log the duration.
-            long durationMilliseconds = stopWatch.getTime();
+            long durationMilliseconds = TimeUnit.NANOSECONDS.toMillis(durationNanoseconds);
             LOGGER.info("javaMethod=\"{}.{}\" javaMethodDurationTimeInMilliseconds={} javaMethodDurationTimeFormatted=\"{}\"", targetClass.getName(),
                 targetMethodSignature.getName(), durationMilliseconds, HerdDateUtils.formatDuration(durationMilliseconds));
-
-            // Return the method return value.
-            return returnValue;
-        }
-        else
-        {
-            // Invoke the method normally.
-            return pjp.proceed();
         }
+
+        // Return the method return value.
+        return returnValue;
     }
 }
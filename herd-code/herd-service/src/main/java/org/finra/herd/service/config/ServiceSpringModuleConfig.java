@@ -24,6 +24,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ThreadPoolExecutor;
 
 import javax.jms.ConnectionFactory;
 import javax.sql.DataSource;
@@ -171,6 +172,66 @@ public class ServiceSpringModuleConfig
         return taskExecutor;
     }
 
+    /**
+     * Returns the task executor shared by the business object data DDL requests to generate the "alter table add partition" statements in parallel. When the
+     * queue of the thread pool is full, the requesting thread runs the task itself.
+     *
+     * @return the business object data DDL generation task executor
+     */
+    @Bean // This will call the "initialize" method of the ThreadPoolTaskExecutor automatically.
+    public TaskExecutor businessObjectDataDdlTaskExecutor()
+    {
+        int poolSize = configurationHelper.getProperty(ConfigurationValue.BUSINESS_OBJECT_DATA_DDL_THREAD_POOL_SIZE, Integer.class);
+
+        ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.setCorePoolSize(poolSize);
+        taskExecutor.setMaxPoolSize(poolSize);
+        taskExecutor.setQueueCapacity(configurationHelper.getProperty(ConfigurationValue.BUSINESS_OBJECT_DATA_DDL_THREAD_POOL_QUEUE_CAPACITY, Integer.class));
+        taskExecutor.setThreadNamePrefix("businessObjectDataDdl-");
+        taskExecutor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return taskExecutor;
+    }
+
+    /**
+     * Returns the task executor shared by the "jmsPublishing" system job runs to publish SNS notification messages in parallel. When the queue of the thread
+     * pool is full, the publishing thread runs the task itself.
+     *
+     * @return the SNS notification publishing task executor
+     */
+    @Bean // This will call the "initialize" method of the ThreadPoolTaskExecutor automatically.
+    public TaskExecutor snsNotificationPublishingTaskExecutor()
+    {
+        int poolSize = configurationHelper.getProperty(ConfigurationValue.JMS_PUBLISHING_JOB_SNS_THREAD_POOL_SIZE, Integer.class);
+
+        ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.setCorePoolSize(poolSize);
+        taskExecutor.setMaxPoolSize(poolSize);
+        taskExecutor.setQueueCapacity(configurationHelper.getProperty(ConfigurationValue.JMS_PUBLISHING_JOB_SNS_THREAD_POOL_QUEUE_CAPACITY, Integer.class));
+        taskExecutor.setThreadNamePrefix("snsNotificationPublishing-");
+        taskExecutor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return taskExecutor;
+    }
+
+    /**
+     * Returns the task executor shared by the search index builds to index chunks of entities in parallel. When the queue of the thread pool is full, the
+     * thread that reads the entity ids runs the task itself.
+     *
+     * @return the search index reindex task executor
+     */
+    @Bean // This will call the "initialize" method of the ThreadPoolTaskExecutor automatically.
+    public TaskExecutor searchIndexReindexTaskExecutor()
+    {
+        int poolSize = configurationHelper.getProperty(ConfigurationValue.SEARCH_INDEX_REINDEX_THREAD_COUNT, Integer.class);
+
+        ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.setCorePoolSize(poolSize);
+        taskExecutor.setMaxPoolSize(poolSize);
+        taskExecutor.setQueueCapacity(configurationHelper.getProperty(ConfigurationValue.SEARCH_INDEX_REINDEX_THREAD_POOL_QUEUE_CAPACITY, Integer.class));
+        taskExecutor.setThreadNamePrefix("searchIndexReindex-");
+        taskExecutor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return taskExecutor;
+    }
+
     /**
      * Returns an Activiti Async executor that uses our configured task executor.
      *
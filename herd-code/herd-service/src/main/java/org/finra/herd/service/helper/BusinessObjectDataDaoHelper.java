@@ -34,7 +34,7 @@ import org.springframework.util.Assert;
 import org.finra.herd.core.helper.ConfigurationHelper;
 import org.finra.herd.dao.BusinessObjectDataDao;
 import org.finra.herd.dao.ExpectedPartitionValueDao;
-import org.finra.herd.dao.StorageFileDao;
+import org.finra.herd.dao.S3ObjectSummaryIterator;
 import org.finra.herd.dao.StorageUnitDao;
 import org.finra.herd.model.AlreadyExistsException;
 import org.finra.herd.model.ObjectNotFoundException;
@@ -124,7 +124,7 @@ public class BusinessObjectDataDaoHelper
     private StorageDaoHelper storageDaoHelper;
 
     @Autowired
-    private StorageFileDao storageFileDao;
+    private StorageFileDaoHelper storageFileDaoHelper;
 
     @Autowired
     private StorageFileHelper storageFileHelper;
@@ -755,16 +755,22 @@ public class BusinessObjectDataDaoHelper
                 params = getFileValidationParams(storageEntity, expectedS3KeyPrefix, storageUnitEntity, validatePathPrefix);
 
                 // When listing S3 files, we ignore 0 byte objects that represent S3 directories.
-                actualS3Keys = storageFileHelper.getStorageFilesMapFromS3ObjectSummaries(s3Service.listDirectory(params, true));
+                // Only S3 files that match the storage files being registered are kept in memory.
+                try (S3ObjectSummaryIterator actualS3Files = s3Service.iterateDirectory(params, true))
+                {
+                    actualS3Keys = storageFileHelper
+                        .getStorageFilesMapFromS3ObjectSummaries(actualS3Files, storageFileHelper.getFilePathsFromStorageFiles(storageFiles));
+                }
             }
 
             // If the validate path prefix flag is configured, ensure that there are no storage files already registered in this
-            // storage by some other business object data that start with the expected S3 key prefix.
+            // storage by some other business object data that start with the expected S3 key prefix, including the storage files compacted into
+            // storage file manifests.
             if (validatePathPrefix && isS3StoragePlatform)
             {
                 // Since the S3 key prefix represents a directory, we add a trailing '/' character to it.
                 String expectedS3KeyPrefixWithTrailingSlash = expectedS3KeyPrefix + "/";
-                Long registeredStorageFileCount = storageFileDao.getStorageFileCount(storageEntity.getName(), expectedS3KeyPrefixWithTrailingSlash);
+                long registeredStorageFileCount = storageFileDaoHelper.getStorageFileCount(storageEntity.getName(), expectedS3KeyPrefixWithTrailingSlash);
                 if (registeredStorageFileCount > 0)
                 {
                     throw new AlreadyExistsException(String.format(
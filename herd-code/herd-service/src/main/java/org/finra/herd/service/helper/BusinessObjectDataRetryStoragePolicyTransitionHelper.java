@@ -24,7 +24,6 @@ import org.springframework.util.Assert;
 
 import org.finra.herd.core.helper.ConfigurationHelper;
 import org.finra.herd.dao.SqsDao;
-import org.finra.herd.dao.StorageFileDao;
 import org.finra.herd.dao.StorageUnitDao;
 import org.finra.herd.dao.helper.AwsHelper;
 import org.finra.herd.dao.helper.JsonHelper;
@@ -67,7 +66,10 @@ public class BusinessObjectDataRetryStoragePolicyTransitionHelper
     private SqsDao sqsDao;
 
     @Autowired
-    private StorageFileDao storageFileDao;
+    private StorageFileDaoHelper storageFileDaoHelper;
+
+    @Autowired
+    private StorageFileHelper storageFileHelper;
 
     @Autowired
     private StoragePolicyDaoHelper storagePolicyDaoHelper;
@@ -123,7 +125,7 @@ public class BusinessObjectDataRetryStoragePolicyTransitionHelper
             .buildS3KeyPrefix(storagePolicyEntity.getStorage(), storageUnitEntity.getBusinessObjectData().getBusinessObjectFormat(), businessObjectDataKey);
 
         // Retrieve storage files registered with this business object data in the  storage.
-        int storageFilesCount = storageUnitEntity.getStorageFiles().size();
+        int storageFilesCount = storageFileHelper.getStorageFileCount(storageUnitEntity);
 
         // Validate that we have storage files registered in the storage.
         Assert.isTrue(storageFilesCount > 0, String.format("Business object data has no storage files registered in \"%s\" storage. Business object data: {%s}",
@@ -132,11 +134,11 @@ public class BusinessObjectDataRetryStoragePolicyTransitionHelper
         // Retrieve all registered storage files from the storage that start with the S3 key prefix.
         // Since the S3 key prefix represents a directory, we add a trailing '/' character to it.
         String s3KeyPrefixWithTrailingSlash = StringUtils.appendIfMissing(s3KeyPrefix, "/");
-        Long registeredStorageFilesMatchingS3KeyPrefixCount =
-            storageFileDao.getStorageFileCount(storageUnitEntity.getStorage().getName(), s3KeyPrefixWithTrailingSlash);
+        long registeredStorageFilesMatchingS3KeyPrefixCount =
+            storageFileDaoHelper.getStorageFileCount(storageUnitEntity.getStorage().getName(), s3KeyPrefixWithTrailingSlash);
 
         // Sanity check for the S3 key prefix.
-        if (registeredStorageFilesMatchingS3KeyPrefixCount.intValue() != storageFilesCount)
+        if (registeredStorageFilesMatchingS3KeyPrefixCount != storageFilesCount)
         {
             throw new IllegalArgumentException(String.format(
                 "Number of storage files (%d) registered for the business object data in \"%s\" storage is not equal to " +
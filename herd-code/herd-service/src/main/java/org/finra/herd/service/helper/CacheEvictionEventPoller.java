@@ -0,0 +1,53 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.service.helper;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import org.finra.herd.service.CacheEvictionService;
+
+/**
+ * Periodically polls the cache eviction events published by the other herd nodes. Polling is cheap, since only the events from the lookback period are
+ * selected using the index on their creation time.
+ */
+@Component
+public class CacheEvictionEventPoller
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(CacheEvictionEventPoller.class);
+
+    @Autowired
+    private CacheEvictionService cacheEvictionService;
+
+    /**
+     * Processes the cache eviction events published by the other herd nodes.
+     */
+    @Scheduled(fixedDelay = 5000)
+    public void pollCacheEvictionEvents()
+    {
+        try
+        {
+            cacheEvictionService.processCacheEvictionEvents();
+        }
+        catch (RuntimeException e)
+        {
+            LOGGER.error("Failed to process the cache eviction events.", e);
+        }
+    }
+}
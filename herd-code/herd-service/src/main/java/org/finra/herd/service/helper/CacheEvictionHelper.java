@@ -0,0 +1,114 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.service.helper;
+
+import org.hibernate.Cache;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import org.finra.herd.dao.HerdDao;
+import org.finra.herd.dao.config.DaoSpringModuleConfig;
+
+/**
+ * A helper class that evicts the herd caches on this herd node. The cache evictions are broadcast to the other herd nodes through the cache eviction
+ * service.
+ */
+@Component
+public class CacheEvictionHelper
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(CacheEvictionHelper.class);
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private HerdDao herdDao;
+
+    /**
+     * Checks whether the specified cache can be evicted. These are the herd cache, the namespace authorization cache, and the reference data cache regions,
+     * which are named after the reference data entity classes.
+     *
+     * @param cacheName the name of the cache
+     *
+     * @return true if the cache can be evicted, false otherwise
+     */
+    public boolean isEvictableCache(String cacheName)
+    {
+        return isSpringCache(cacheName) || getReferenceDataEntityClass(cacheName) != null;
+    }
+
+    /**
+     * Evicts all entries of the specified cache on this herd node. Evicting a reference data cache region also evicts all cached reference data lookups.
+     *
+     * @param cacheName the name of the cache
+     */
+    public void evictCache(String cacheName)
+    {
+        Class<?> referenceDataEntityClass = getReferenceDataEntityClass(cacheName);
+        if (isSpringCache(cacheName))
+        {
+            cacheManager.getCache(cacheName).clear();
+        }
+        else if (referenceDataEntityClass != null)
+        {
+            Cache cache = herdDao.getEntityManager().getEntityManagerFactory().unwrap(SessionFactoryImplementor.class).getCache();
+            cache.evictEntityRegion(referenceDataEntityClass);
+            cache.evictQueryRegion(DaoSpringModuleConfig.REFERENCE_DATA_QUERY_CACHE_NAME);
+        }
+        else
+        {
+            throw new IllegalArgumentException(String.format("Cache \"%s\" can not be evicted.", cacheName));
+        }
+
+        LOGGER.info("Evicted cache. cacheName=\"{}\"", cacheName);
+    }
+
+    /**
+     * Checks whether the specified cache is one of the herd caches managed by the Spring cache manager.
+     *
+     * @param cacheName the name of the cache
+     *
+     * @return true if the cache is managed by the Spring cache manager, false otherwise
+     */
+    private boolean isSpringCache(String cacheName)
+    {
+        return DaoSpringModuleConfig.HERD_CACHE_NAME.equals(cacheName) || DaoSpringModuleConfig.NAMESPACE_AUTHORIZATION_CACHE_NAME.equals(cacheName);
+    }
+
+    /**
+     * Gets the reference data entity class whose cache region has the specified name.
+     *
+     * @param cacheName the name of the cache
+     *
+     * @return the reference data entity class, or null if there is no such class
+     */
+    private Class<?> getReferenceDataEntityClass(String cacheName)
+    {
+        for (Class<?> entityClass : ReferenceDataCacheHelper.REFERENCE_DATA_ENTITY_CLASSES)
+        {
+            if (entityClass.getName().equals(cacheName))
+            {
+                return entityClass;
+            }
+        }
+
+        return null;
+    }
+}
@@ -15,6 +15,7 @@
 */
 package org.finra.herd.service.helper;
 
+import java.io.Writer;
 import java.util.List;
 import java.util.Map;
 
@@ -55,11 +56,11 @@ public abstract class DdlGenerator
      * @param storageNames the list of storage names
      * @param storageEntities the list of storage entities
      * @param s3BucketNames the map of storage entities to the relative S3 bucket names
-     *
-     * @return the generated DDL
+     * @param writer the writer to write the generated DDL to
      */
-    public abstract String generateCreateTableDdl(BusinessObjectDataDdlRequest request, BusinessObjectFormatEntity businessObjectFormatEntity,
-        CustomDdlEntity customDdlEntity, List<String> storageNames, List<StorageEntity> storageEntities, Map<StorageEntity, String> s3BucketNames);
+    public abstract void generateCreateTableDdl(BusinessObjectDataDdlRequest request, BusinessObjectFormatEntity businessObjectFormatEntity,
+        CustomDdlEntity customDdlEntity, List<String> storageNames, List<StorageEntity> storageEntities, Map<StorageEntity, String> s3BucketNames,
+        Writer writer);
 
     public abstract String generateReplaceColumnsStatement(BusinessObjectFormatDdlRequest request, BusinessObjectFormatEntity businessObjectFormatEntity);
 
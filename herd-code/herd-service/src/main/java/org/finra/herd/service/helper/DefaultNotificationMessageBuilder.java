@@ -22,6 +22,7 @@ import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Properties;
 import java.util.UUID;
 
@@ -35,6 +36,7 @@ import javax.xml.xpath.XPathFactory;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.velocity.VelocityContext;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.w3c.dom.Document;
@@ -67,6 +69,8 @@ import org.finra.herd.model.jpa.NamespaceEntity;
 @Component
 public class DefaultNotificationMessageBuilder implements NotificationMessageBuilder
 {
+    private volatile BaseVelocityContext baseVelocityContext;
+
     @Autowired
     private BusinessObjectDataDaoHelper businessObjectDataDaoHelper;
 
@@ -406,32 +410,54 @@ public class DefaultNotificationMessageBuilder implements NotificationMessageBui
         // Process velocity template if it configured.
         if (StringUtils.isNotBlank(velocityTemplate))
         {
-            // Create and populate the velocity context with dynamic values. Note that we can't use periods within the context keys since they can't
-            // be referenced in the velocity template (i.e. they're used to separate fields with the context object being referenced).
+            // Create and populate the velocity context with dynamic values.
             Map<String, Object> context = new HashMap<>();
-            context.put(ConfigurationValue.HERD_ENVIRONMENT.getKey().replace('.', '_'), configurationHelper.getProperty(ConfigurationValue.HERD_ENVIRONMENT));
-            context.put(ConfigurationValue.HERD_NOTIFICATION_SQS_ENVIRONMENT.getKey().replace('.', '_'),
-                configurationHelper.getProperty(ConfigurationValue.HERD_NOTIFICATION_SQS_ENVIRONMENT));
             context.put("current_time", HerdDateUtils.now().toString());
             context.put("uuid", UUID.randomUUID().toString());
             context.put("username", herdDaoSecurityHelper.getCurrentUsername());
-            context.put("StringUtils", StringUtils.class);
-            context.put("CollectionUtils", CollectionUtils.class);
-            context.put("Collections", Collections.class);
 
             // Populate the context map entries into the velocity context.
-            for (Map.Entry<String, Object> mapEntry : contextMap.entrySet())
-            {
-                context.put(mapEntry.getKey(), mapEntry.getValue());
-            }
+            context.putAll(contextMap);
 
-            messageText = velocityHelper.evaluate(velocityTemplate, context, velocityTemplateName);
+            // Chain the velocity context with the shared context that holds the values which do not change between the messages.
+            messageText = velocityHelper.evaluate(velocityTemplate, new VelocityContext(context, getBaseVelocityContext()), velocityTemplateName);
         }
 
         // Return the message text.
         return messageText;
     }
 
+    /**
+     * Gets the shared velocity context with the values that do not change between the messages. The shared context gets built again when any of the
+     * configured environment values changes.
+     *
+     * @return the shared velocity context
+     */
+    private VelocityContext getBaseVelocityContext()
+    {
+        String herdEnvironment = configurationHelper.getProperty(ConfigurationValue.HERD_ENVIRONMENT);
+        String sqsEnvironment = configurationHelper.getProperty(ConfigurationValue.HERD_NOTIFICATION_SQS_ENVIRONMENT);
+
+        BaseVelocityContext baseVelocityContext = this.baseVelocityContext;
+        if (baseVelocityContext == null || !Objects.equals(herdEnvironment, baseVelocityContext.herdEnvironment) ||
+            !Objects.equals(sqsEnvironment, baseVelocityContext.sqsEnvironment))
+        {
+            // Note that we can't use periods within the context keys since they can't be referenced in the velocity template (i.e. they're used to separate
+            // fields with the context object being referenced).
+            Map<String, Object> context = new HashMap<>();
+            context.put(ConfigurationValue.HERD_ENVIRONMENT.getKey().replace('.', '_'), herdEnvironment);
+            context.put(ConfigurationValue.HERD_NOTIFICATION_SQS_ENVIRONMENT.getKey().replace('.', '_'), sqsEnvironment);
+            context.put("StringUtils", StringUtils.class);
+            context.put("CollectionUtils", CollectionUtils.class);
+            context.put("Collections", Collections.class);
+
+            baseVelocityContext = new BaseVelocityContext(herdEnvironment, sqsEnvironment, new VelocityContext(context));
+            this.baseVelocityContext = baseVelocityContext;
+        }
+
+        return baseVelocityContext.velocityContext;
+    }
+
     /**
      * Returns Velocity context map of additional keys and values to place in the velocity context.
      *
@@ -650,4 +676,23 @@ public class DefaultNotificationMessageBuilder implements NotificationMessageBui
 
         return velocityContextMap;
     }
+
+    /**
+     * The shared velocity context along with the environment values it was built for.
+     */
+    private static class BaseVelocityContext
+    {
+        private final String herdEnvironment;
+
+        private final String sqsEnvironment;
+
+        private final VelocityContext velocityContext;
+
+        private BaseVelocityContext(String herdEnvironment, String sqsEnvironment, VelocityContext velocityContext)
+        {
+            this.herdEnvironment = herdEnvironment;
+            this.sqsEnvironment = sqsEnvironment;
+            this.velocityContext = velocityContext;
+        }
+    }
 }
@@ -15,12 +15,19 @@
 */
 package org.finra.herd.service.helper;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -33,6 +40,7 @@ import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.CharUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
 
@@ -47,6 +55,7 @@ import org.finra.herd.model.api.xml.BusinessObjectFormat;
 import org.finra.herd.model.api.xml.BusinessObjectFormatDdlRequest;
 import org.finra.herd.model.api.xml.BusinessObjectFormatKey;
 import org.finra.herd.model.api.xml.SchemaColumn;
+import org.finra.herd.model.api.xml.StorageFile;
 import org.finra.herd.model.dto.ConfigurationValue;
 import org.finra.herd.model.dto.HivePartitionDto;
 import org.finra.herd.model.jpa.BusinessObjectDataEntity;
@@ -90,6 +99,11 @@ public class Hive13DdlGenerator extends DdlGenerator
      */
     public static final String TEXT_HIVE_FILE_FORMAT = "TEXTFILE";
 
+    /**
+     * The number of characters of generated "alter table add partition" statements to accumulate before they get written out.
+     */
+    private static final int DDL_WRITE_THRESHOLD = 64 * 1024;
+
     @Autowired
     private BusinessObjectDataDaoHelper businessObjectDataDaoHelper;
 
@@ -111,6 +125,9 @@ public class Hive13DdlGenerator extends DdlGenerator
     @Autowired
     private StorageFileHelper storageFileHelper;
 
+    @Autowired
+    private StorageFileManifestHelper storageFileManifestHelper;
+
     @Autowired
     private StorageHelper storageHelper;
 
@@ -120,6 +137,9 @@ public class Hive13DdlGenerator extends DdlGenerator
     @Autowired
     private StorageUnitHelper storageUnitHelper;
 
+    @Autowired
+    private TaskExecutor businessObjectDataDdlTaskExecutor;
+
     /**
      * Escapes single quote characters, if not already escaped, with an extra backslash.
      *
@@ -143,7 +163,8 @@ public class Hive13DdlGenerator extends DdlGenerator
     }
 
     /**
-     * Generates the create table Hive 13 DDL as per specified business object data DDL request.
+     * Generates the create table Hive 13 DDL as per specified business object data DDL request. The "alter table add partition" statements get written to the
+     * writer as they are generated, so the DDL for a large number of partitions never needs to be held in memory as a whole.
      *
      * @param request the business object data DDL request
      * @param businessObjectFormatEntity the business object format entity
@@ -151,12 +172,12 @@ public class Hive13DdlGenerator extends DdlGenerator
      * @param storageNames the list of storage names
      * @param storageEntities the list of storage entities
      * @param s3BucketNames the map of storage entities to the relative S3 bucket names
-     *
-     * @return the create table Hive DDL
+     * @param writer the writer to write the create table Hive DDL to
      */
     @Override
-    public String generateCreateTableDdl(BusinessObjectDataDdlRequest request, BusinessObjectFormatEntity businessObjectFormatEntity,
-        CustomDdlEntity customDdlEntity, List<String> storageNames, List<StorageEntity> storageEntities, Map<StorageEntity, String> s3BucketNames)
+    public void generateCreateTableDdl(BusinessObjectDataDdlRequest request, BusinessObjectFormatEntity businessObjectFormatEntity,
+        CustomDdlEntity customDdlEntity, List<String> storageNames, List<StorageEntity> storageEntities, Map<StorageEntity, String> s3BucketNames,
+        Writer writer)
     {
         // Get business object format key from the request.
         BusinessObjectFormatKey businessObjectFormatKey =
@@ -194,7 +215,8 @@ public class Hive13DdlGenerator extends DdlGenerator
         generateDdlRequest.storageNames = storageNames;
         generateDdlRequest.suppressScanForUnregisteredSubPartitions = request.isSuppressScanForUnregisteredSubPartitions();
         generateDdlRequest.tableName = request.getTableName();
-        return generateCreateTableDdlHelper(generateDdlRequest);
+        generateDdlRequest.writer = writer;
+        generateCreateTableDdlHelper(generateDdlRequest);
     }
 
     /**
@@ -221,7 +243,10 @@ public class Hive13DdlGenerator extends DdlGenerator
         generateDdlRequest.tableName = request.getTableName();
         generateDdlRequest.includeDropTableStatement = request.isIncludeDropTableStatement();
         generateDdlRequest.includeIfNotExistsOption = request.isIncludeIfNotExistsOption();
-        return generateCreateTableDdlHelper(generateDdlRequest);
+        StringWriter stringWriter = new StringWriter();
+        generateDdlRequest.writer = stringWriter;
+        generateCreateTableDdlHelper(generateDdlRequest);
+        return stringWriter.toString();
     }
 
     @Override
@@ -323,21 +348,41 @@ public class Hive13DdlGenerator extends DdlGenerator
      */
     public List<HivePartitionDto> getHivePartitions(BusinessObjectDataKey businessObjectDataKey, List<SchemaColumn> autoDiscoverableSubPartitionColumns,
         String s3KeyPrefix, Collection<String> storageFiles, BusinessObjectDataEntity businessObjectDataEntity, String storageName)
+    {
+        return getHivePartitions(businessObjectDataKey, getHivePartitionPathMatcher(autoDiscoverableSubPartitionColumns), s3KeyPrefix, storageFiles,
+            businessObjectDataEntity, storageName);
+    }
+
+    /**
+     * Gets a list of Hive partitions using the specified matcher for the auto-discoverable sub-partition columns. This allows the matcher to be created once
+     * and then reused for all business object data that have the same number of sub-partition values.
+     *
+     * @param businessObjectDataKey the business object data key.
+     * @param hivePartitionPathMatcher the matcher for the auto-discoverable sub-partition columns.
+     * @param s3KeyPrefix the S3 key prefix.
+     * @param storageFiles the storage files.
+     * @param businessObjectDataEntity the business object data entity.
+     * @param storageName the storage name.
+     *
+     * @return the list of Hive partitions
+     */
+    private List<HivePartitionDto> getHivePartitions(BusinessObjectDataKey businessObjectDataKey, HivePartitionPathMatcher hivePartitionPathMatcher,
+        String s3KeyPrefix, Collection<String> storageFiles, BusinessObjectDataEntity businessObjectDataEntity, String storageName)
     {
         // We are using linked hash map to preserve the order of the discovered partitions.
         LinkedHashMap<List<String>, HivePartitionDto> linkedHashMap = new LinkedHashMap<>();
 
-        Pattern pattern = getHivePathPattern(autoDiscoverableSubPartitionColumns);
         for (String storageFile : storageFiles)
         {
             // Remove S3 key prefix from the file path. Please note that the storage files are already validated to start with S3 key prefix.
             String relativeFilePath = storageFile.substring(s3KeyPrefix.length());
 
             // Try to match the relative file path to the expected subpartition folders.
-            Matcher matcher = pattern.matcher(relativeFilePath);
-            Assert.isTrue(matcher.matches(), String.format("Registered storage file or directory does not match the expected Hive sub-directory pattern. " +
-                "Storage: {%s}, file/directory: {%s}, business object data: {%s}, S3 key prefix: {%s}, pattern: {^%s$}", storageName, storageFile,
-                businessObjectDataHelper.businessObjectDataEntityAltKeyToString(businessObjectDataEntity), s3KeyPrefix, pattern.pattern()));
+            List<String> relativePartitionValues = hivePartitionPathMatcher.getPartitionValues(relativeFilePath);
+            Assert.isTrue(relativePartitionValues != null, String.format("Registered storage file or directory does not match the expected Hive " +
+                "sub-directory pattern. Storage: {%s}, file/directory: {%s}, business object data: {%s}, S3 key prefix: {%s}, pattern: {^%s$}", storageName,
+                storageFile, businessObjectDataHelper.businessObjectDataEntityAltKeyToString(businessObjectDataEntity), s3KeyPrefix,
+                hivePartitionPathMatcher.getPattern().pattern()));
 
             // Create a list of partition values.
             List<String> partitionValues = new ArrayList<>();
@@ -346,14 +391,11 @@ public class Hive13DdlGenerator extends DdlGenerator
             partitionValues.add(businessObjectDataKey.getPartitionValue());
             partitionValues.addAll(businessObjectDataKey.getSubPartitionValues());
 
-            // Extract relative partition values.
-            for (int i = 1; i <= matcher.groupCount(); i++)
-            {
-                partitionValues.add(matcher.group(i));
-            }
+            // Add relative partition values.
+            partitionValues.addAll(relativePartitionValues);
 
             // Get path for this partition by removing trailing "/" plus an optional file name from the relative file path.
-            String partitionPath = relativeFilePath.replaceAll("/[^/]*$", "");
+            String partitionPath = relativeFilePath.substring(0, relativeFilePath.lastIndexOf('/'));
 
             // Check if we already have that partition discovered - that would happen if partition contains multiple data files.
             HivePartitionDto hivePartition = linkedHashMap.get(partitionValues);
@@ -411,6 +453,18 @@ public class Hive13DdlGenerator extends DdlGenerator
         return Pattern.compile(sb.toString(), Pattern.CASE_INSENSITIVE);
     }
 
+    /**
+     * Gets a matcher to match Hive partition sub-directories and extract the relative partition values.
+     *
+     * @param partitionColumns the list of partition columns
+     *
+     * @return the newly created matcher for Hive partition sub-directories
+     */
+    public HivePartitionPathMatcher getHivePartitionPathMatcher(List<SchemaColumn> partitionColumns)
+    {
+        return new HivePartitionPathMatcher(partitionColumns, getHivePathPattern(partitionColumns));
+    }
+
     /**
      * Asserts that there exists at least one column specified in the business object format schema.
      *
@@ -424,9 +478,9 @@ public class Hive13DdlGenerator extends DdlGenerator
     }
 
     /**
-     * Generates and append to the string builder the create table Hive 13 DDL as per specified parameters.
+     * Generates and writes to the writer of the generate DDL request the create table Hive 13 DDL as per specified parameters.
      */
-    private String generateCreateTableDdlHelper(GenerateDdlRequest generateDdlRequest)
+    private void generateCreateTableDdlHelper(GenerateDdlRequest generateDdlRequest)
     {
         // TODO: We might want to consider using a template engine such as Velocity to generate this DDL so we don't wind up just doing string manipulation.
 
@@ -506,21 +560,8 @@ public class Hive13DdlGenerator extends DdlGenerator
             sb.append(String.format("LOCATION '%s';", NON_PARTITIONED_TABLE_LOCATION_CUSTOM_DDL_TOKEN));
         }
 
-        // Trim to remove unnecessary end-of-line characters, if any, from the end of the generated DDL.
-        String resultDdl = sb.toString().trim();
-
-        // For custom DDL, substitute the relative custom DDL tokens with their values.
-        if (generateDdlRequest.customDdlEntity != null)
-        {
-            for (Map.Entry<String, String> entry : replacements.entrySet())
-            {
-                String token = entry.getKey();
-                String value = entry.getValue();
-                resultDdl = resultDdl.replaceAll(Pattern.quote(token), value);
-            }
-        }
-
-        return resultDdl;
+        // Write the rest of the generated DDL.
+        writeDdl(generateDdlRequest, sb, replacements, true);
     }
 
     /**
@@ -835,7 +876,8 @@ public class Hive13DdlGenerator extends DdlGenerator
 
     /**
      * Adds the relative "alter table add partition" statements for each storage unit entity. Please note that each request partition value might result in
-     * multiple available storage unit entities (subpartitions).
+     * multiple available storage unit entities (subpartitions). When the table is partitioned and enough storage units got selected, the statements get
+     * generated in parallel and then appended in the order of the storage unit entities, so the generated DDL does not depend on the thread count.
      *
      * @param sb the string builder to be updated with the "alter table add partition" statements
      * @param replacements the hash map of string values to be used to substitute the custom DDL tokens with their actual values
@@ -854,130 +896,263 @@ public class Hive13DdlGenerator extends DdlGenerator
             BooleanUtils.isTrue(generateDdlRequest.suppressScanForUnregisteredSubPartitions) ? new ArrayListValuedHashMap<>() :
                 storageFileDao.getStorageFilePathsByStorageUnitIds(storageUnitHelper.getStorageUnitIds(storageUnitEntities));
 
-        // Process all available business object data instances.
+        // Get business object data keys, S3 key prefixes, and S3 bucket names for all storage units. This is done on the calling thread,
+        // since it navigates the entity graph and might need to lazily load entities, which is not safe to do from multiple threads.
+        List<BusinessObjectDataKey> businessObjectDataKeys = new ArrayList<>(storageUnitEntities.size());
+        List<String> s3KeyPrefixes = new ArrayList<>(storageUnitEntities.size());
+        List<String> s3BucketNames = new ArrayList<>(storageUnitEntities.size());
         for (StorageUnitEntity storageUnitEntity : storageUnitEntities)
         {
-            // Get business object data key and S3 key prefix for this business object data.
             BusinessObjectDataKey businessObjectDataKey = businessObjectDataHelper.getBusinessObjectDataKey(storageUnitEntity.getBusinessObjectData());
-            String s3KeyPrefix = s3KeyPrefixHelper
-                .buildS3KeyPrefix(storageUnitEntity.getStorage(), storageUnitEntity.getBusinessObjectData().getBusinessObjectFormat(), businessObjectDataKey);
+            businessObjectDataKeys.add(businessObjectDataKey);
+            s3KeyPrefixes.add(s3KeyPrefixHelper
+                .buildS3KeyPrefix(storageUnitEntity.getStorage(), storageUnitEntity.getBusinessObjectData().getBusinessObjectFormat(), businessObjectDataKey));
+            s3BucketNames.add(getS3BucketName(storageUnitEntity.getStorage(), generateDdlRequest.s3BucketNames));
 
-            // If flag is set to suppress scan for unregistered sub-partitions, use the directory path or the S3 key prefix
-            // as the partition's location, otherwise, use storage files to discover all unregistered sub-partitions.
-            Collection<String> storageFilePaths = new ArrayList<>();
-            if (BooleanUtils.isTrue(generateDdlRequest.suppressScanForUnregisteredSubPartitions))
+            // Add the storage file paths compacted into the storage file manifest of this storage unit, if any.
+            if (!BooleanUtils.isTrue(generateDdlRequest.suppressScanForUnregisteredSubPartitions) && storageUnitEntity.getStorageFileManifest() != null)
             {
-                // Validate the directory path value if it is present.
-                if (storageUnitEntity.getDirectoryPath() != null)
+                for (StorageFile storageFile : storageFileManifestHelper
+                    .getStorageFilesFromManifest(storageUnitEntity.getStorageFileManifest().getManifest()))
                 {
-                    Assert.isTrue(storageUnitEntity.getDirectoryPath().equals(s3KeyPrefix), String.format(
-                        "Storage directory path \"%s\" registered with business object data {%s} " +
-                            "in \"%s\" storage does not match the expected S3 key prefix \"%s\".", storageUnitEntity.getDirectoryPath(),
-                        businessObjectDataHelper.businessObjectDataEntityAltKeyToString(storageUnitEntity.getBusinessObjectData()),
-                        storageUnitEntity.getStorage().getName(), s3KeyPrefix));
+                    storageUnitIdToStorageFilePathsMap.put(storageUnitEntity.getId(), storageFile.getFilePath());
                 }
-
-                // Add the S3 key prefix to the list of storage files.
-                // We add a trailing '/' character to the prefix, since it represents a directory.
-                storageFilePaths.add(StringUtils.appendIfMissing(s3KeyPrefix, "/"));
             }
-            else
+        }
+
+        // For partitioned table, create the matchers for the auto-discoverable sub-partition columns once for all storage units. The auto-discoverable
+        // sub-partition columns only depend on the number of sub-partition values of the business object data, so the matchers are indexed by that number.
+        List<HivePartitionPathMatcher> hivePartitionPathMatchers = new ArrayList<>();
+        if (generateDdlRequest.isPartitioned)
+        {
+            List<SchemaColumn> partitionColumns = businessObjectFormat.getSchema().getPartitions();
+            for (int subPartitionCount = 0; subPartitionCount < partitionColumns.size(); subPartitionCount++)
             {
-                // Retrieve storage file paths registered with this business object data in the specified storage.
-                storageFilePaths = storageUnitIdToStorageFilePathsMap.containsKey(storageUnitEntity.getId()) ?
-                    storageUnitIdToStorageFilePathsMap.get(storageUnitEntity.getId()) : new ArrayList<>();
+                hivePartitionPathMatchers.add(getHivePartitionPathMatcher(partitionColumns.subList(1 + subPartitionCount, partitionColumns.size())));
+            }
+        }
 
-                // Validate storage file paths registered with this business object data in the specified storage.
-                // The validation check below is required even if we have no storage files registered.
-                storageFileHelper.validateStorageFilePaths(storageFilePaths, s3KeyPrefix, storageUnitEntity.getBusinessObjectData(),
-                    storageUnitEntity.getStorage().getName());
+        // Only the partitioned table DDL gets generated in parallel, since a non-partitioned table DDL updates the custom DDL token replacements.
+        int threadPoolSize = configurationHelper.getProperty(ConfigurationValue.BUSINESS_OBJECT_DATA_DDL_THREAD_POOL_SIZE, Integer.class);
+        int storageUnitsPerTask =
+            Math.max(1, configurationHelper.getProperty(ConfigurationValue.BUSINESS_OBJECT_DATA_DDL_STORAGE_UNITS_PER_TASK, Integer.class));
+        if (!generateDdlRequest.isPartitioned || threadPoolSize <= 1 || storageUnitEntities.size() <= storageUnitsPerTask)
+        {
+            // Process all available business object data instances.
+            for (int i = 0; i < storageUnitEntities.size(); i++)
+            {
+                processStorageUnitForGenerateDdl(generateDdlRequest, sb, replacements, businessObjectFormatEntity, businessObjectFormat, ifNotExistsOption,
+                    storageUnitEntities.get(i), businessObjectDataKeys.get(i), s3KeyPrefixes.get(i), s3BucketNames.get(i), storageUnitIdToStorageFilePathsMap,
+                    hivePartitionPathMatchers);
 
-                // If there are no storage files registered for this storage unit, we should use the storage directory path value.
-                if (storageFilePaths.isEmpty())
+                // For partitioned table, write out the statements generated so far.
+                if (generateDdlRequest.isPartitioned)
                 {
-                    // Validate that directory path value is present and it matches the S3 key prefix.
-                    Assert.isTrue(storageUnitEntity.getDirectoryPath() != null && storageUnitEntity.getDirectoryPath().startsWith(s3KeyPrefix), String.format(
-                        "Storage directory path \"%s\" registered with business object data {%s} " +
-                            "in \"%s\" storage does not match the expected S3 key prefix \"%s\".", storageUnitEntity.getDirectoryPath(),
-                        businessObjectDataHelper.businessObjectDataEntityAltKeyToString(storageUnitEntity.getBusinessObjectData()),
-                        storageUnitEntity.getStorage().getName(), s3KeyPrefix));
-                    // Add storage directory path the empty storage files list.
-                    // We add a trailing '/' character to the path, since it represents a directory.
-                    storageFilePaths.add(storageUnitEntity.getDirectoryPath() + "/");
+                    writeDdl(generateDdlRequest, sb, replacements, false);
                 }
             }
+        }
+        else
+        {
+            // Split the storage units into contiguous ranges, so the statements generated for each range can simply be appended in the range order.
+            int taskCount = (storageUnitEntities.size() + storageUnitsPerTask - 1) / storageUnitsPerTask;
+            int threadCount = Math.min(threadPoolSize, taskCount);
 
-            // Retrieve the s3 bucket name.
-            String s3BucketName = getS3BucketName(storageUnitEntity.getStorage(), generateDdlRequest.s3BucketNames);
-
-            // For partitioned table, add the relative partitions to the generated DDL.
-            if (generateDdlRequest.isPartitioned)
+            // Keep no more than two ranges per thread in progress, so the statements generated ahead of the range being written stay bounded.
+            Deque<FutureTask<String>> futures = new ArrayDeque<>();
+            try
             {
-                // If flag is set to suppress scan for unregistered sub-partitions, validate that the number of primary and sub-partition values specified for
-                // the business object data equals to the number of partition columns defined in schema for the format selected for DDL generation.
-                if (BooleanUtils.isTrue(generateDdlRequest.suppressScanForUnregisteredSubPartitions))
+                int nextFromIndex = 0;
+                while (nextFromIndex < storageUnitEntities.size() || !futures.isEmpty())
                 {
-                    int businessObjectDataRegisteredPartitions = 1 + CollectionUtils.size(businessObjectDataKey.getSubPartitionValues());
-                    Assert.isTrue(businessObjectFormat.getSchema().getPartitions().size() == businessObjectDataRegisteredPartitions,
-                        String.format("Number of primary and sub-partition values (%d) specified for the business object data is not equal to " +
-                            "the number of partition columns (%d) defined in the schema of the business object format selected for DDL generation. " +
-                            "Business object data: {%s},  business object format: {%s}", businessObjectDataRegisteredPartitions,
-                            businessObjectFormat.getSchema().getPartitions().size(),
-                            businessObjectDataHelper.businessObjectDataKeyToString(businessObjectDataKey),
-                            businessObjectFormatHelper.businessObjectFormatEntityAltKeyToString(businessObjectFormatEntity)));
-                }
-                // Otherwise, since the format version selected for DDL generation might not match the relative business object format version that business
-                // object data is registered against, validate that the number of sub-partition values specified for the business object data is less than
-                // the number of partition columns defined in schema for the format selected for DDL generation.
-                else
-                {
-                    Assert.isTrue(businessObjectFormat.getSchema().getPartitions().size() > CollectionUtils.size(businessObjectDataKey.getSubPartitionValues()),
-                        String.format("Number of subpartition values specified for the business object data is greater than or equal to " +
-                            "the number of partition columns defined in the schema of the business object format selected for DDL generation. " +
-                            "Business object data: {%s},  business object format: {%s}",
-                            businessObjectDataHelper.businessObjectDataKeyToString(businessObjectDataKey),
-                            businessObjectFormatHelper.businessObjectFormatEntityAltKeyToString(businessObjectFormatEntity)));
-                }
-
-                // Get partition information. For multiple level partitioning, auto-discover subpartitions (subdirectories) not already included into the S3 key
-                // prefix. Each discovered partition requires a standalone "add partition" clause. Please note that due to the above validation check, there
-                // should be no auto discoverable sub-partition columns, when flag is set to suppress scan for unregistered sub-partitions.
-                List<SchemaColumn> autoDiscoverableSubPartitionColumns = businessObjectFormat.getSchema().getPartitions()
-                    .subList(1 + CollectionUtils.size(businessObjectDataKey.getSubPartitionValues()), businessObjectFormat.getSchema().getPartitions().size());
+                    while (nextFromIndex < storageUnitEntities.size() && futures.size() < 2 * threadCount)
+                    {
+                        final int rangeFromIndex = nextFromIndex;
+                        final int rangeToIndex = Math.min(nextFromIndex + storageUnitsPerTask, storageUnitEntities.size());
+                        FutureTask<String> future = new FutureTask<>(() ->
+                        {
+                            StringBuilder rangeSb = new StringBuilder();
+                            for (int i = rangeFromIndex; i < rangeToIndex; i++)
+                            {
+                                processStorageUnitForGenerateDdl(generateDdlRequest, rangeSb, replacements, businessObjectFormatEntity, businessObjectFormat,
+                                    ifNotExistsOption, storageUnitEntities.get(i), businessObjectDataKeys.get(i), s3KeyPrefixes.get(i), s3BucketNames.get(i),
+                                    storageUnitIdToStorageFilePathsMap, hivePartitionPathMatchers);
+                            }
+                            return rangeSb.toString();
+                        });
+                        futures.add(future);
+                        businessObjectDataDdlTaskExecutor.execute(future);
+                        nextFromIndex = rangeToIndex;
+                    }
 
-                for (HivePartitionDto hivePartition : getHivePartitions(businessObjectDataKey, autoDiscoverableSubPartitionColumns, s3KeyPrefix,
-                    storageFilePaths, storageUnitEntity.getBusinessObjectData(), storageUnitEntity.getStorage().getName()))
-                {
-                    sb.append(String.format("ALTER TABLE `%s` ADD %sPARTITION (", generateDdlRequest.tableName, ifNotExistsOption));
-                    // Specify all partition column values.
-                    List<String> partitionKeyValuePairs = new ArrayList<>();
-                    for (int i = 0; i < businessObjectFormat.getSchema().getPartitions().size(); i++)
+                    // Wait for the ranges in order, so the generated DDL and the reported validation error, if any, match the sequential processing.
+                    try
                     {
-                        String partitionColumnName = businessObjectFormat.getSchema().getPartitions().get(i).getName();
-                        String partitionValue = hivePartition.getPartitionValues().get(i);
-                        partitionKeyValuePairs.add(String.format("`%s`='%s'", partitionColumnName, partitionValue));
+                        sb.append(futures.remove().get());
                     }
-                    sb.append(StringUtils.join(partitionKeyValuePairs, ", "));
-                    sb.append(String.format(") LOCATION 's3n://%s/%s%s';\n", s3BucketName, s3KeyPrefix,
-                        StringUtils.isNotBlank(hivePartition.getPath()) ? hivePartition.getPath() : ""));
+                    catch (ExecutionException e)
+                    {
+                        if (e.getCause() instanceof RuntimeException)
+                        {
+                            throw (RuntimeException) e.getCause();
+                        }
+                        throw new IllegalStateException(e.getCause());
+                    }
+
+                    // Write out the statements generated so far.
+                    writeDdl(generateDdlRequest, sb, replacements, false);
                 }
             }
-            else // This is a non-partitioned table.
+            catch (InterruptedException e)
             {
-                // Get location for this non-partitioned table.
-                String tableLocation = String.format("s3n://%s/%s", s3BucketName, s3KeyPrefix);
-
-                if (generateDdlRequest.customDdlEntity == null)
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while generating the \"alter table add partition\" statements.", e);
+            }
+            finally
+            {
+                // Cancel the tasks that have not started yet, if we stopped waiting for them.
+                for (FutureTask<String> future : futures)
                 {
-                    // Since custom DDL was not specified and this table is not partitioned, add a LOCATION clause.
-                    // This is the last line in the non-partitioned table DDL.
-                    sb.append(String.format("LOCATION '%s';", tableLocation));
+                    future.cancel(false);
                 }
-                else
+            }
+        }
+    }
+
+    /**
+     * Adds the relative "alter table add partition" statements for a single storage unit entity. For a non-partitioned table, adds the LOCATION clause or
+     * substitutes the relative custom DDL token instead.
+     *
+     * @param generateDdlRequest the generate DDL request
+     * @param sb the string builder to be updated with the "alter table add partition" statements
+     * @param replacements the hash map of string values to be used to substitute the custom DDL tokens with their actual values
+     * @param businessObjectFormatEntity the business object format entity
+     * @param businessObjectFormat the business object format
+     * @param ifNotExistsOption specifies if generated DDL contains "if not exists" option
+     * @param storageUnitEntity the storage unit entity
+     * @param businessObjectDataKey the business object data key of the storage unit
+     * @param s3KeyPrefix the S3 key prefix of the storage unit
+     * @param s3BucketName the S3 bucket name of the storage unit
+     * @param storageUnitIdToStorageFilePathsMap the storage file paths keyed by storage unit ID
+     * @param hivePartitionPathMatchers the matchers for the auto-discoverable sub-partition columns indexed by the number of sub-partition values
+     */
+    private void processStorageUnitForGenerateDdl(GenerateDdlRequest generateDdlRequest, StringBuilder sb, HashMap<String, String> replacements,
+        BusinessObjectFormatEntity businessObjectFormatEntity, BusinessObjectFormat businessObjectFormat, String ifNotExistsOption,
+        StorageUnitEntity storageUnitEntity, BusinessObjectDataKey businessObjectDataKey, String s3KeyPrefix, String s3BucketName,
+        MultiValuedMap<Integer, String> storageUnitIdToStorageFilePathsMap, List<HivePartitionPathMatcher> hivePartitionPathMatchers)
+    {
+        // If flag is set to suppress scan for unregistered sub-partitions, use the directory path or the S3 key prefix
+        // as the partition's location, otherwise, use storage files to discover all unregistered sub-partitions.
+        Collection<String> storageFilePaths = new ArrayList<>();
+        if (BooleanUtils.isTrue(generateDdlRequest.suppressScanForUnregisteredSubPartitions))
+        {
+            // Validate the directory path value if it is present.
+            if (storageUnitEntity.getDirectoryPath() != null)
+            {
+                Assert.isTrue(storageUnitEntity.getDirectoryPath().equals(s3KeyPrefix), String.format(
+                    "Storage directory path \"%s\" registered with business object data {%s} " +
+                        "in \"%s\" storage does not match the expected S3 key prefix \"%s\".", storageUnitEntity.getDirectoryPath(),
+                    businessObjectDataHelper.businessObjectDataEntityAltKeyToString(storageUnitEntity.getBusinessObjectData()),
+                    storageUnitEntity.getStorage().getName(), s3KeyPrefix));
+            }
+
+            // Add the S3 key prefix to the list of storage files.
+            // We add a trailing '/' character to the prefix, since it represents a directory.
+            storageFilePaths.add(StringUtils.appendIfMissing(s3KeyPrefix, "/"));
+        }
+        else
+        {
+            // Retrieve storage file paths registered with this business object data in the specified storage.
+            storageFilePaths = storageUnitIdToStorageFilePathsMap.containsKey(storageUnitEntity.getId()) ?
+                storageUnitIdToStorageFilePathsMap.get(storageUnitEntity.getId()) : new ArrayList<>();
+
+            // Validate storage file paths registered with this business object data in the specified storage.
+            // The validation check below is required even if we have no storage files registered.
+            storageFileHelper.validateStorageFilePaths(storageFilePaths, s3KeyPrefix, storageUnitEntity.getBusinessObjectData(),
+                storageUnitEntity.getStorage().getName());
+
+            // If there are no storage files registered for this storage unit, we should use the storage directory path value.
+            if (storageFilePaths.isEmpty())
+            {
+                // Validate that directory path value is present and it matches the S3 key prefix.
+                Assert.isTrue(storageUnitEntity.getDirectoryPath() != null && storageUnitEntity.getDirectoryPath().startsWith(s3KeyPrefix), String.format(
+                    "Storage directory path \"%s\" registered with business object data {%s} " +
+                        "in \"%s\" storage does not match the expected S3 key prefix \"%s\".", storageUnitEntity.getDirectoryPath(),
+                    businessObjectDataHelper.businessObjectDataEntityAltKeyToString(storageUnitEntity.getBusinessObjectData()),
+                    storageUnitEntity.getStorage().getName(), s3KeyPrefix));
+                // Add storage directory path the empty storage files list.
+                // We add a trailing '/' character to the path, since it represents a directory.
+                storageFilePaths.add(storageUnitEntity.getDirectoryPath() + "/");
+            }
+        }
+
+        // For partitioned table, add the relative partitions to the generated DDL.
+        if (generateDdlRequest.isPartitioned)
+        {
+            // If flag is set to suppress scan for unregistered sub-partitions, validate that the number of primary and sub-partition values specified for
+            // the business object data equals to the number of partition columns defined in schema for the format selected for DDL generation.
+            if (BooleanUtils.isTrue(generateDdlRequest.suppressScanForUnregisteredSubPartitions))
+            {
+                int businessObjectDataRegisteredPartitions = 1 + CollectionUtils.size(businessObjectDataKey.getSubPartitionValues());
+                Assert.isTrue(businessObjectFormat.getSchema().getPartitions().size() == businessObjectDataRegisteredPartitions,
+                    String.format("Number of primary and sub-partition values (%d) specified for the business object data is not equal to " +
+                        "the number of partition columns (%d) defined in the schema of the business object format selected for DDL generation. " +
+                        "Business object data: {%s},  business object format: {%s}", businessObjectDataRegisteredPartitions,
+                        businessObjectFormat.getSchema().getPartitions().size(),
+                        businessObjectDataHelper.businessObjectDataKeyToString(businessObjectDataKey),
+                        businessObjectFormatHelper.businessObjectFormatEntityAltKeyToString(businessObjectFormatEntity)));
+            }
+            // Otherwise, since the format version selected for DDL generation might not match the relative business object format version that business
+            // object data is registered against, validate that the number of sub-partition values specified for the business object data is less than
+            // the number of partition columns defined in schema for the format selected for DDL generation.
+            else
+            {
+                Assert.isTrue(businessObjectFormat.getSchema().getPartitions().size() > CollectionUtils.size(businessObjectDataKey.getSubPartitionValues()),
+                    String.format("Number of subpartition values specified for the business object data is greater than or equal to " +
+                        "the number of partition columns defined in the schema of the business object format selected for DDL generation. " +
+                        "Business object data: {%s},  business object format: {%s}",
+                        businessObjectDataHelper.businessObjectDataKeyToString(businessObjectDataKey),
+                        businessObjectFormatHelper.businessObjectFormatEntityAltKeyToString(businessObjectFormatEntity)));
+            }
+
+            // Get partition information. For multiple level partitioning, auto-discover subpartitions (subdirectories) not already included into the S3 key
+            // prefix. Each discovered partition requires a standalone "add partition" clause. Please note that due to the above validation check, there
+            // should be no auto discoverable sub-partition columns, when flag is set to suppress scan for unregistered sub-partitions.
+            HivePartitionPathMatcher hivePartitionPathMatcher =
+                hivePartitionPathMatchers.get(CollectionUtils.size(businessObjectDataKey.getSubPartitionValues()));
+
+            for (HivePartitionDto hivePartition : getHivePartitions(businessObjectDataKey, hivePartitionPathMatcher, s3KeyPrefix, storageFilePaths,
+                storageUnitEntity.getBusinessObjectData(), storageUnitEntity.getStorage().getName()))
+            {
+                sb.append(String.format("ALTER TABLE `%s` ADD %sPARTITION (", generateDdlRequest.tableName, ifNotExistsOption));
+                // Specify all partition column values.
+                List<String> partitionKeyValuePairs = new ArrayList<>();
+                for (int i = 0; i < businessObjectFormat.getSchema().getPartitions().size(); i++)
                 {
-                    // Since custom DDL was used for a non-partitioned table, substitute the relative custom DDL token with the actual table location.
-                    replacements.put(NON_PARTITIONED_TABLE_LOCATION_CUSTOM_DDL_TOKEN, tableLocation);
+                    String partitionColumnName = businessObjectFormat.getSchema().getPartitions().get(i).getName();
+                    String partitionValue = hivePartition.getPartitionValues().get(i);
+                    partitionKeyValuePairs.add(String.format("`%s`='%s'", partitionColumnName, partitionValue));
                 }
+                sb.append(StringUtils.join(partitionKeyValuePairs, ", "));
+                sb.append(String.format(") LOCATION 's3n://%s/%s%s';\n", s3BucketName, s3KeyPrefix,
+                    StringUtils.isNotBlank(hivePartition.getPath()) ? hivePartition.getPath() : ""));
+            }
+        }
+        else // This is a non-partitioned table.
+        {
+            // Get location for this non-partitioned table.
+            String tableLocation = String.format("s3n://%s/%s", s3BucketName, s3KeyPrefix);
+
+            if (generateDdlRequest.customDdlEntity == null)
+            {
+                // Since custom DDL was not specified and this table is not partitioned, add a LOCATION clause.
+                // This is the last line in the non-partitioned table DDL.
+                sb.append(String.format("LOCATION '%s';", tableLocation));
+            }
+            else
+            {
+                // Since custom DDL was used for a non-partitioned table, substitute the relative custom DDL token with the actual table location.
+                replacements.put(NON_PARTITIONED_TABLE_LOCATION_CUSTOM_DDL_TOKEN, tableLocation);
             }
         }
     }
@@ -1010,6 +1185,68 @@ public class Hive13DdlGenerator extends DdlGenerator
         return s3BucketName;
     }
 
+    /**
+     * Writes the DDL accumulated in the string builder to the writer of the generate DDL request and removes it from the string builder. Just like the
+     * generated DDL used to get trimmed as a whole, leading whitespace of the DDL never gets written, while trailing whitespace stays in the string builder
+     * until more DDL follows it. For custom DDL, the custom DDL tokens get substituted with their values as the DDL is written.
+     *
+     * @param generateDdlRequest the generate DDL request
+     * @param sb the string builder with the DDL to be written
+     * @param replacements the hash map of string values to be used to substitute the custom DDL tokens with their actual values
+     * @param endOfDdl specifies whether the string builder holds the end of the DDL, otherwise the DDL is only written once enough of it got accumulated
+     */
+    private void writeDdl(GenerateDdlRequest generateDdlRequest, StringBuilder sb, Map<String, String> replacements, boolean endOfDdl)
+    {
+        if (!endOfDdl && sb.length() < DDL_WRITE_THRESHOLD)
+        {
+            return;
+        }
+
+        // Skip the leading whitespace of the DDL and hold back the trailing whitespace.
+        int startIndex = 0;
+        if (!generateDdlRequest.ddlWritten)
+        {
+            while (startIndex < sb.length() && sb.charAt(startIndex) <= ' ')
+            {
+                startIndex++;
+            }
+        }
+        int endIndex = sb.length();
+        while (endIndex > startIndex && sb.charAt(endIndex - 1) <= ' ')
+        {
+            endIndex--;
+        }
+
+        if (endIndex > startIndex)
+        {
+            String ddl = sb.substring(startIndex, endIndex);
+
+            // For custom DDL, substitute the relative custom DDL tokens with their values.
+            if (generateDdlRequest.customDdlEntity != null)
+            {
+                for (Map.Entry<String, String> entry : replacements.entrySet())
+                {
+                    String token = entry.getKey();
+                    String value = entry.getValue();
+                    ddl = ddl.replaceAll(Pattern.quote(token), value);
+                }
+            }
+
+            try
+            {
+                generateDdlRequest.writer.write(ddl);
+            }
+            catch (IOException e)
+            {
+                throw new IllegalStateException("Failed to write the generated DDL.", e);
+            }
+
+            generateDdlRequest.ddlWritten = true;
+        }
+
+        sb.delete(0, endIndex);
+    }
+
     /**
      * Parameters grouping for {@link Hive13DdlGenerator#generateCreateTableDdlHelper(GenerateDdlRequest)}
      */
@@ -1025,6 +1262,8 @@ public class Hive13DdlGenerator extends DdlGenerator
 
         private CustomDdlEntity customDdlEntity;
 
+        private boolean ddlWritten;
+
         private Boolean includeAllRegisteredSubPartitions;
 
         private Boolean includeDropPartitions;
@@ -1046,6 +1285,8 @@ public class Hive13DdlGenerator extends DdlGenerator
         private Boolean suppressScanForUnregisteredSubPartitions;
 
         private String tableName;
+
+        private Writer writer;
     }
 
     /**
@@ -0,0 +1,235 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.service.helper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.finra.herd.model.api.xml.SchemaColumn;
+
+/**
+ * Matches relative storage file paths against the expected Hive sub-directories of a list of partition columns and extracts the relative partition values.
+ * A path matches when it consists of a "/<COLUMN_NAME|COLUMN-NAME>=<VALUE>" sub-directory per partition column, followed by a trailing "/" and an optional
+ * file name. Partition column names are matched ignoring the case.
+ * <p/>
+ * The matcher produces the same results as the Hive path pattern it is created with, but, as long as all partition column names consist of ASCII letters,
+ * digits, underscores, and hyphens only, it matches the paths with a single scan over the path characters instead of the regular expression. The matcher is
+ * immutable, so a single instance can be shared by multiple threads.
+ */
+public class HivePartitionPathMatcher
+{
+    private final Pattern pattern;
+
+    /**
+     * The lower case spellings of each partition column name accepted by the scan, i.e. the name itself and the name with all underscores replaced with
+     * hyphens, or null when the paths have to be matched using the pattern.
+     */
+    private final char[][][] partitionColumnNameSpellings;
+
+    /**
+     * Creates a matcher for the specified partition columns.
+     *
+     * @param partitionColumns the list of partition columns
+     * @param pattern the Hive path pattern for the partition columns
+     */
+    public HivePartitionPathMatcher(List<SchemaColumn> partitionColumns, Pattern pattern)
+    {
+        this.pattern = pattern;
+
+        char[][][] spellings = new char[partitionColumns.size()][][];
+        for (int i = 0; i < partitionColumns.size() && spellings != null; i++)
+        {
+            String partitionColumnName = partitionColumns.get(i).getName();
+            if (isScannable(partitionColumnName))
+            {
+                spellings[i] = new char[][] {toLowerCaseAscii(partitionColumnName), toLowerCaseAscii(partitionColumnName.replace('_', '-'))};
+            }
+            else
+            {
+                spellings = null;
+            }
+        }
+        partitionColumnNameSpellings = spellings;
+    }
+
+    /**
+     * Gets the Hive path pattern for the partition columns.
+     *
+     * @return the Hive path pattern
+     */
+    public Pattern getPattern()
+    {
+        return pattern;
+    }
+
+    /**
+     * Matches the specified relative file path and extracts the relative partition values.
+     *
+     * @param relativeFilePath the relative file path
+     *
+     * @return the list of partition values, one per partition column, or null if the path does not match
+     */
+    public List<String> getPartitionValues(String relativeFilePath)
+    {
+        if (partitionColumnNameSpellings == null)
+        {
+            Matcher matcher = pattern.matcher(relativeFilePath);
+            if (!matcher.matches())
+            {
+                return null;
+            }
+
+            List<String> partitionValues = new ArrayList<>(matcher.groupCount());
+            for (int i = 1; i <= matcher.groupCount(); i++)
+            {
+                partitionValues.add(matcher.group(i));
+            }
+            return partitionValues;
+        }
+
+        List<String> partitionValues = new ArrayList<>(partitionColumnNameSpellings.length);
+        int index = 0;
+        for (char[][] spellings : partitionColumnNameSpellings)
+        {
+            // Match the "/" and the partition column name followed by "=".
+            if (!isCharAt(relativeFilePath, index, '/'))
+            {
+                return null;
+            }
+            index++;
+            if (!regionMatchesIgnoreCaseAscii(relativeFilePath, index, spellings[0]) && !regionMatchesIgnoreCaseAscii(relativeFilePath, index, spellings[1]))
+            {
+                return null;
+            }
+            index += spellings[0].length;
+            if (!isCharAt(relativeFilePath, index, '='))
+            {
+                return null;
+            }
+            index++;
+
+            // The partition value is a non-empty sequence of characters up to the next "/".
+            int valueEndIndex = relativeFilePath.indexOf('/', index);
+            if (valueEndIndex <= index)
+            {
+                return null;
+            }
+            partitionValues.add(relativeFilePath.substring(index, valueEndIndex));
+            index = valueEndIndex;
+        }
+
+        // Match the trailing "/" and an optional file name.
+        if (!isCharAt(relativeFilePath, index, '/') || relativeFilePath.indexOf('/', index + 1) != -1)
+        {
+            return null;
+        }
+
+        return partitionValues;
+    }
+
+    /**
+     * Checks whether the specified string has the specified character at the specified index.
+     *
+     * @param string the string
+     * @param index the index
+     * @param character the character
+     *
+     * @return true if the string has the character at the index, false otherwise
+     */
+    private boolean isCharAt(String string, int index, char character)
+    {
+        return index < string.length() && string.charAt(index) == character;
+    }
+
+    /**
+     * Checks whether the specified partition column name can be matched by the scan. This is the case when it only consists of the characters that the Hive
+     * path pattern matches literally and that have an ASCII only case-insensitive match.
+     *
+     * @param partitionColumnName the partition column name
+     *
+     * @return true if the partition column name can be matched by the scan, false otherwise
+     */
+    private boolean isScannable(String partitionColumnName)
+    {
+        for (int i = 0; i < partitionColumnName.length(); i++)
+        {
+            char character = partitionColumnName.charAt(i);
+            if (!((character >= 'a' && character <= 'z') || (character >= 'A' && character <= 'Z') || (character >= '0' && character <= '9') ||
+                character == '_' || character == '-'))
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Checks whether the specified region of a string matches the specified lower case characters, ignoring the case of the ASCII letters in the string just
+     * like a case-insensitive regular expression does.
+     *
+     * @param string the string
+     * @param offset the start of the region
+     * @param lowerCaseCharacters the lower case characters to match
+     *
+     * @return true if the region matches, false otherwise
+     */
+    private boolean regionMatchesIgnoreCaseAscii(String string, int offset, char[] lowerCaseCharacters)
+    {
+        if (offset + lowerCaseCharacters.length > string.length())
+        {
+            return false;
+        }
+
+        for (int i = 0; i < lowerCaseCharacters.length; i++)
+        {
+            char character = string.charAt(offset + i);
+            if (character >= 'A' && character <= 'Z')
+            {
+                character = (char) (character + ('a' - 'A'));
+            }
+            if (character != lowerCaseCharacters[i])
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Converts the ASCII letters of the specified string to lower case.
+     *
+     * @param string the string
+     *
+     * @return the characters of the string with the ASCII letters converted to lower case
+     */
+    private char[] toLowerCaseAscii(String string)
+    {
+        char[] characters = string.toCharArray();
+        for (int i = 0; i < characters.length; i++)
+        {
+            if (characters[i] >= 'A' && characters[i] <= 'Z')
+            {
+                characters[i] = (char) (characters[i] + ('a' - 'A'));
+            }
+        }
+
+        return characters;
+    }
+}
@@ -34,6 +34,7 @@ import org.springframework.stereotype.Component;
 import org.finra.herd.model.api.xml.NamespaceAuthorization;
 import org.finra.herd.model.api.xml.NamespacePermissionEnum;
 import org.finra.herd.model.dto.ApplicationUser;
+import org.finra.herd.model.dto.NamespaceAuthorizationSet;
 import org.finra.herd.model.dto.SecurityUserWrapper;
 
 /**
@@ -160,6 +161,12 @@ public class NamespaceSecurityHelper
      */
     private boolean isAuthorized(ApplicationUser applicationUser, String namespace, NamespacePermissionEnum... permissions)
     {
+        // Use the permission index of the namespace authorizations, if they are indexed.
+        if (applicationUser != null && applicationUser.getNamespaceAuthorizations() instanceof NamespaceAuthorizationSet)
+        {
+            return ((NamespaceAuthorizationSet) applicationUser.getNamespaceAuthorizations()).hasAnyNamespacePermission(namespace, permissions);
+        }
+
         if (applicationUser != null && applicationUser.getNamespaceAuthorizations() != null)
         {
             for (NamespaceAuthorization currentUserAuthorization : applicationUser.getNamespaceAuthorizations())
@@ -0,0 +1,228 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.service.helper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+import net.sf.ehcache.statistics.StatisticsGateway;
+import org.hibernate.cache.ehcache.internal.regions.EhcacheDataRegion;
+import org.hibernate.cache.spi.Region;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import org.finra.herd.dao.HerdDao;
+import org.finra.herd.dao.MetricsRegistry;
+import org.finra.herd.dao.config.DaoSpringModuleConfig;
+import org.finra.herd.model.jpa.BusinessObjectDataStatusEntity;
+import org.finra.herd.model.jpa.FileTypeEntity;
+import org.finra.herd.model.jpa.NamespaceEntity;
+import org.finra.herd.model.jpa.PartitionKeyGroupEntity;
+import org.finra.herd.model.jpa.StorageEntity;
+import org.finra.herd.model.jpa.StoragePlatformEntity;
+import org.finra.herd.model.jpa.StoragePolicyStatusEntity;
+import org.finra.herd.model.jpa.StorageUnitStatusEntity;
+import org.finra.herd.service.CacheEvictionService;
+
+/**
+ * A helper class for the reference data cache, i.e. the second-level cache regions of the small and rarely changing lookup entities and the query cache region
+ * of their lookups.
+ */
+@Component
+public class ReferenceDataCacheHelper implements InitializingBean
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReferenceDataCacheHelper.class);
+
+    /**
+     * The reference data entity classes that are cached in the second-level cache.
+     */
+    public static final List<Class<?>> REFERENCE_DATA_ENTITY_CLASSES = Collections.unmodifiableList(Arrays
+        .asList(BusinessObjectDataStatusEntity.class, FileTypeEntity.class, NamespaceEntity.class, PartitionKeyGroupEntity.class, StorageEntity.class,
+            StoragePlatformEntity.class, StoragePolicyStatusEntity.class, StorageUnitStatusEntity.class));
+
+    @Autowired
+    private CacheEvictionService cacheEvictionService;
+
+    @Autowired
+    private HerdDao herdDao;
+
+    @Autowired
+    private MetricsRegistry metricsRegistry;
+
+    /**
+     * Registers the hit and miss counts of the reference data cache regions as gauges in the metrics registry.
+     */
+    @Override
+    public void afterPropertiesSet()
+    {
+        List<String> cacheNames = new ArrayList<>();
+        cacheNames.add(DaoSpringModuleConfig.REFERENCE_DATA_QUERY_CACHE_NAME);
+        for (Class<?> entityClass : REFERENCE_DATA_ENTITY_CLASSES)
+        {
+            cacheNames.add(entityClass.getName());
+        }
+
+        for (String cacheName : cacheNames)
+        {
+            metricsRegistry.registerGauge("herd_reference_data_cache_hits", "The number of the reference data cache hits.", "cache", cacheName,
+                () -> getCacheStatistic(cacheName, CacheStatistics::getHitCount));
+            metricsRegistry.registerGauge("herd_reference_data_cache_misses", "The number of the reference data cache misses.", "cache", cacheName,
+                () -> getCacheStatistic(cacheName, CacheStatistics::getMissCount));
+        }
+    }
+
+    /**
+     * Evicts the specified reference data entity type and all cached reference data lookups from the reference data cache on all herd nodes, once the current
+     * transaction commits.
+     *
+     * @param entityClass the reference data entity class
+     */
+    public void evictReferenceData(Class<?> entityClass)
+    {
+        if (!REFERENCE_DATA_ENTITY_CLASSES.contains(entityClass))
+        {
+            throw new IllegalArgumentException(String.format("Entity class \"%s\" is not a cached reference data entity class.", entityClass.getName()));
+        }
+
+        // The reference data cache regions are named after the entity classes.
+        cacheEvictionService.publishCacheEviction(entityClass.getName());
+    }
+
+    /**
+     * Gets the statistics of the reference data cache regions.
+     *
+     * @return the map of cache region names to their statistics
+     */
+    public Map<String, CacheStatistics> getReferenceDataCacheStatistics()
+    {
+        SessionFactoryImplementor sessionFactory = getSessionFactory();
+
+        Map<String, CacheStatistics> cacheStatistics = new LinkedHashMap<>();
+        addCacheStatistics(cacheStatistics, sessionFactory.getCache().getQueryCache(DaoSpringModuleConfig.REFERENCE_DATA_QUERY_CACHE_NAME).getRegion());
+        for (Class<?> entityClass : REFERENCE_DATA_ENTITY_CLASSES)
+        {
+            addCacheStatistics(cacheStatistics, sessionFactory.getCache().getEntityRegionAccess(entityClass.getName()).getRegion());
+        }
+
+        return cacheStatistics;
+    }
+
+    /**
+     * Periodically logs the statistics of the reference data cache regions.
+     */
+    @Scheduled(fixedDelay = 300000)
+    public void logReferenceDataCacheStatistics()
+    {
+        try
+        {
+            for (Map.Entry<String, CacheStatistics> entry : getReferenceDataCacheStatistics().entrySet())
+            {
+                LOGGER.info("Reference data cache statistics. cacheName=\"{}\" hitCount={} missCount={} hitRatio={}", entry.getKey(),
+                    entry.getValue().getHitCount(), entry.getValue().getMissCount(), String.format("%.4f", entry.getValue().getHitRatio()));
+            }
+        }
+        catch (RuntimeException e)
+        {
+            LOGGER.warn("Failed to get the reference data cache statistics.", e);
+        }
+    }
+
+    /**
+     * Adds the statistics of the specified cache region to the map, if the region keeps statistics.
+     *
+     * @param cacheStatistics the map of cache region names to their statistics
+     * @param region the cache region
+     */
+    private void addCacheStatistics(Map<String, CacheStatistics> cacheStatistics, Region region)
+    {
+        if (region instanceof EhcacheDataRegion)
+        {
+            StatisticsGateway statisticsGateway = ((EhcacheDataRegion) region).getEhcache().getStatistics();
+            cacheStatistics.put(region.getName(), new CacheStatistics(statisticsGateway.cacheHitCount(), statisticsGateway.cacheMissCount()));
+        }
+    }
+
+    /**
+     * Gets a statistic of the specified reference data cache region.
+     *
+     * @param cacheName the name of the cache region
+     * @param statistic the function that gets the statistic from the cache statistics
+     *
+     * @return the statistic, or NaN if the cache region does not keep statistics
+     */
+    private double getCacheStatistic(String cacheName, ToLongFunction<CacheStatistics> statistic)
+    {
+        CacheStatistics cacheStatistics = getReferenceDataCacheStatistics().get(cacheName);
+        return cacheStatistics == null ? Double.NaN : statistic.applyAsLong(cacheStatistics);
+    }
+
+    /**
+     * Gets the Hibernate session factory that owns the reference data cache.
+     *
+     * @return the session factory
+     */
+    private SessionFactoryImplementor getSessionFactory()
+    {
+        return herdDao.getEntityManager().getEntityManagerFactory().unwrap(SessionFactoryImplementor.class);
+    }
+
+    /**
+     * The hit and miss counts of a cache region.
+     */
+    public static class CacheStatistics
+    {
+        private final long hitCount;
+
+        private final long missCount;
+
+        public CacheStatistics(long hitCount, long missCount)
+        {
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+        }
+
+        public long getHitCount()
+        {
+            return hitCount;
+        }
+
+        public long getMissCount()
+        {
+            return missCount;
+        }
+
+        /**
+         * Gets the ratio of the cache hits to all cache lookups.
+         *
+         * @return the hit ratio, or 0 if there were no cache lookups
+         */
+        public double getHitRatio()
+        {
+            long lookupCount = hitCount + missCount;
+            return lookupCount == 0 ? 0 : (double) hitCount / lookupCount;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.service.helper;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+
+import org.finra.herd.core.HerdDateUtils;
+import org.finra.herd.model.api.xml.SearchIndexProgress;
+
+/**
+ * Keeps track of the progress of the search indexes being built by this herd node. The progress of a search index is tracked only while it is being built.
+ */
+@Component
+public class SearchIndexProgressHelper
+{
+    private final Map<String, Progress> progressMap = new ConcurrentHashMap<>();
+
+    /**
+     * Starts tracking the progress of building the specified search index.
+     *
+     * @param searchIndexName the search index name
+     * @param totalEntityCount the number of entities to be indexed
+     */
+    public void startProgress(String searchIndexName, long totalEntityCount)
+    {
+        progressMap.put(searchIndexName, new Progress(totalEntityCount, System.currentTimeMillis()));
+    }
+
+    /**
+     * Adds the specified number of indexed entities to the progress of building the specified search index.
+     *
+     * @param searchIndexName the search index name
+     * @param processedEntityCount the number of entities that just got indexed
+     */
+    public void addProcessedEntityCount(String searchIndexName, long processedEntityCount)
+    {
+        Progress progress = progressMap.get(searchIndexName);
+        if (progress != null)
+        {
+            progress.processedEntityCount.addAndGet(processedEntityCount);
+        }
+    }
+
+    /**
+     * Stops tracking the progress of building the specified search index.
+     *
+     * @param searchIndexName the search index name
+     */
+    public void removeProgress(String searchIndexName)
+    {
+        progressMap.remove(searchIndexName);
+    }
+
+    /**
+     * Updates the specified search index progress with the entity counts and timestamps tracked by this herd node, if any. The estimated completion time is
+     * extrapolated from the indexing rate observed so far.
+     *
+     * @param searchIndexName the search index name
+     * @param searchIndexProgress the search index progress to update
+     */
+    public void updateSearchIndexProgress(String searchIndexName, SearchIndexProgress searchIndexProgress)
+    {
+        Progress progress = progressMap.get(searchIndexName);
+        if (progress != null)
+        {
+            long processedEntityCount = progress.processedEntityCount.get();
+
+            searchIndexProgress.setTotalEntityCount(progress.totalEntityCount);
+            searchIndexProgress.setProcessedEntityCount(processedEntityCount);
+            searchIndexProgress.setStartedOn(HerdDateUtils.getXMLGregorianCalendarValue(new Date(progress.startTimeMillis)));
+
+            if (processedEntityCount > 0)
+            {
+                long elapsedTimeMillis = System.currentTimeMillis() - progress.startTimeMillis;
+                long remainingEntityCount = Math.max(0, progress.totalEntityCount - processedEntityCount);
+                long completionTimeMillis = System.currentTimeMillis() + (long) ((double) elapsedTimeMillis / processedEntityCount * remainingEntityCount);
+                searchIndexProgress.setEstimatedCompletionOn(HerdDateUtils.getXMLGregorianCalendarValue(new Date(completionTimeMillis)));
+            }
+        }
+    }
+
+    /**
+     * The progress of building a single search index.
+     */
+    private static class Progress
+    {
+        private final long totalEntityCount;
+
+        private final long startTimeMillis;
+
+        private final AtomicLong processedEntityCount = new AtomicLong();
+
+        private Progress(long totalEntityCount, long startTimeMillis)
+        {
+            this.totalEntityCount = totalEntityCount;
+            this.startTimeMillis = startTimeMillis;
+        }
+    }
+}
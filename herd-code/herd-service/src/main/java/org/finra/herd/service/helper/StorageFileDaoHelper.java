@@ -42,16 +42,15 @@ public class StorageFileDaoHelper
     private StorageFileDao storageFileDao;
 
     /**
-     * Creates storage file entities from the list of storage files.
+     * Creates storage file entities from the list of storage files. The storage file entities are inserted in JDBC batches and are not kept in the persistence
+     * context, thus they are not added to the storage files of the storage unit entity.
      *
      * @param storageUnitEntity the storage unit entity
      * @param storageFiles the list of storage files
-     *
-     * @return the list storage file entities
      */
-    public List<StorageFileEntity> createStorageFileEntitiesFromStorageFiles(StorageUnitEntity storageUnitEntity, List<StorageFile> storageFiles)
+    public void createStorageFileEntitiesFromStorageFiles(StorageUnitEntity storageUnitEntity, List<StorageFile> storageFiles)
     {
-        List<StorageFileEntity> storageFileEntities = new ArrayList<>();
+        List<StorageFileEntity> storageFileEntities = new ArrayList<>(storageFiles.size());
 
         for (StorageFile storageFile : storageFiles)
         {
@@ -61,10 +60,9 @@ public class StorageFileDaoHelper
             storageFileEntity.setPath(storageFile.getFilePath());
             storageFileEntity.setFileSizeBytes(storageFile.getFileSizeBytes());
             storageFileEntity.setRowCount(storageFile.getRowCount());
-            storageFileDao.saveAndRefresh(storageFileEntity);
         }
 
-        return storageFileEntities;
+        storageFileDao.saveStorageFiles(storageFileEntities);
     }
 
     /**
@@ -89,9 +87,24 @@ public class StorageFileDaoHelper
         return storageFileEntity;
     }
 
+    /**
+     * Counts all storage files registered in the storage that start with the specified S3 key prefix. The count includes the storage files compacted into the
+     * storage file manifests of the storage units in the storage, when the S3 key prefix of the storage file manifest falls under the specified S3 key prefix.
+     *
+     * @param storageName the storage name
+     * @param s3KeyPrefix the S3 key prefix with a trailing '/' character
+     *
+     * @return the storage file count
+     */
+    public long getStorageFileCount(String storageName, String s3KeyPrefix)
+    {
+        return storageFileDao.getStorageFileCount(storageName, s3KeyPrefix) + storageFileDao.getStorageFileManifestFileCount(storageName, s3KeyPrefix);
+    }
+
     /**
      * Validates that storage does not have any other registered storage files that start with the specified S3 key prefix, but belong to some other business
-     * object data instances.
+     * object data instances. The storage files compacted into a storage file manifest are matched by the S3 key prefix of the manifest, which is the deepest
+     * directory that contains all of them.
      *
      * @param storageName the storage name
      * @param businessObjectDataKey the business object data key
@@ -103,7 +116,7 @@ public class StorageFileDaoHelper
         // Get count of all storage files from the storage that start with the specified S3 key prefix.
         // Since the S3 key prefix represents a directory, we add a trailing '/' character to it.
         String s3KeyPrefixWithTrailingSlash = StringUtils.appendIfMissing(s3KeyPrefix, "/");
-        Long registeredStorageFilesCount = storageFileDao.getStorageFileCount(storageName, s3KeyPrefixWithTrailingSlash);
+        long registeredStorageFilesCount = getStorageFileCount(storageName, s3KeyPrefixWithTrailingSlash);
 
         // Check if the number of registered storage files that match the S3 key prefix is equal to the expected value.
         if (registeredStorageFilesCount != expectedStorageFilesCount)
@@ -21,6 +21,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -53,6 +54,9 @@ public class StorageFileHelper
     @Autowired
     private BusinessObjectDataHelper businessObjectDataHelper;
 
+    @Autowired
+    private StorageFileManifestHelper storageFileManifestHelper;
+
     /**
      * Creates a storage file from the storage file entity.
      *
@@ -90,6 +94,45 @@ public class StorageFileHelper
         return storageFiles;
     }
 
+    /**
+     * Gets the storage files registered with the specified storage unit. This includes the storage files held by the storage file manifest of the storage unit,
+     * if it has one, followed by the storage files registered as individual storage file entities. The storage file manifest only gets loaded by this method.
+     *
+     * @param storageUnitEntity the storage unit entity
+     *
+     * @return the list of storage files
+     */
+    public List<StorageFile> getStorageFiles(StorageUnitEntity storageUnitEntity)
+    {
+        List<StorageFile> storageFiles = new ArrayList<>();
+
+        if (storageUnitEntity.getStorageFileManifest() != null)
+        {
+            storageFiles.addAll(storageFileManifestHelper.getStorageFilesFromManifest(storageUnitEntity.getStorageFileManifest().getManifest()));
+        }
+
+        if (storageUnitEntity.getStorageFiles() != null)
+        {
+            storageFiles.addAll(createStorageFilesFromEntities(storageUnitEntity.getStorageFiles()));
+        }
+
+        return storageFiles;
+    }
+
+    /**
+     * Gets the number of storage files registered with the specified storage unit, including the storage files held by its storage file manifest. Unlike
+     * {@link #getStorageFiles(StorageUnitEntity)}, this method does not need to read the storage file manifest itself.
+     *
+     * @param storageUnitEntity the storage unit entity
+     *
+     * @return the number of storage files
+     */
+    public int getStorageFileCount(StorageUnitEntity storageUnitEntity)
+    {
+        return (storageUnitEntity.getStorageFileManifest() != null ? storageUnitEntity.getStorageFileManifest().getFileCount() : 0) +
+            (storageUnitEntity.getStorageFiles() != null ? storageUnitEntity.getStorageFiles().size() : 0);
+    }
+
     /**
      * Creates a list of storage files from the list of S3 object summaries.
      *
@@ -124,7 +167,7 @@ public class StorageFileHelper
         BusinessObjectDataKey businessObjectDataKey)
     {
         // Check if the list of storage files is not empty.
-        if (CollectionUtils.isEmpty(storageUnitEntity.getStorageFiles()))
+        if (getStorageFileCount(storageUnitEntity) == 0)
         {
             throw new IllegalArgumentException(String
                 .format("Business object data has no storage files registered in \"%s\" storage. Business object data: {%s}", storageName,
@@ -132,7 +175,7 @@ public class StorageFileHelper
         }
 
         // Retrieve storage files.
-        List<StorageFile> storageFiles = createStorageFilesFromEntities(storageUnitEntity.getStorageFiles());
+        List<StorageFile> storageFiles = getStorageFiles(storageUnitEntity);
 
         // Validate storage file paths registered with this business object data in the specified storage.
         validateStorageFilePaths(getFilePathsFromStorageFiles(storageFiles), s3KeyPrefix, storageUnitEntity.getBusinessObjectData(), storageName);
@@ -155,7 +198,7 @@ public class StorageFileHelper
     public List<StorageFile> getAndValidateStorageFilesIfPresent(StorageUnitEntity storageUnitEntity, String s3KeyPrefix, String storageName,
         BusinessObjectDataKey businessObjectDataKey)
     {
-        return CollectionUtils.isEmpty(storageUnitEntity.getStorageFiles()) ? new ArrayList<>() :
+        return getStorageFileCount(storageUnitEntity) == 0 ? new ArrayList<>() :
             getAndValidateStorageFiles(storageUnitEntity, s3KeyPrefix, storageName, businessObjectDataKey);
     }
 
@@ -254,6 +297,32 @@ public class StorageFileHelper
         return result;
     }
 
+    /**
+     * Returns a map of file paths to the storage files build from the S3 object summaries returned by the specified iterator. Only S3 object summaries with
+     * keys matching the specified file paths are added to the map, so memory usage is bounded by the number of file paths regardless of the S3 listing size.
+     *
+     * @param s3ObjectSummaries the iterator over S3 object summaries
+     * @param filePaths the file paths of interest
+     *
+     * @return the map of file paths to storage files
+     */
+    public Map<String, StorageFile> getStorageFilesMapFromS3ObjectSummaries(Iterator<S3ObjectSummary> s3ObjectSummaries, Collection<String> filePaths)
+    {
+        Set<String> filePathsSet = new HashSet<>(filePaths);
+        Map<String, StorageFile> result = new LinkedHashMap<>();
+
+        while (s3ObjectSummaries.hasNext())
+        {
+            S3ObjectSummary s3ObjectSummary = s3ObjectSummaries.next();
+            if (filePathsSet.contains(s3ObjectSummary.getKey()))
+            {
+                result.put(s3ObjectSummary.getKey(), new StorageFile(s3ObjectSummary.getKey(), s3ObjectSummary.getSize(), null));
+            }
+        }
+
+        return result;
+    }
+
     /**
      * Validates copied S3 files per list of expected storage files.
      *
@@ -379,6 +448,40 @@ public class StorageFileHelper
         validateS3Files(expectedStorageFiles, actualS3Files, storageName, businessObjectDataKey, "registered");
     }
 
+    /**
+     * Validates registered S3 files per list of expected storage files. The actual S3 files are consumed from the specified iterator one at a time and only
+     * the ones matching the expected storage files are kept in memory.
+     *
+     * @param expectedStorageFiles the list of expected S3 files represented by storage files
+     * @param actualS3Files the iterator over actual S3 files represented by S3 object summaries
+     * @param storageName the storage name
+     * @param businessObjectDataKey the business object data key
+     */
+    public void validateRegisteredS3Files(List<StorageFile> expectedStorageFiles, Iterator<S3ObjectSummary> actualS3Files, String storageName,
+        BusinessObjectDataKey businessObjectDataKey)
+    {
+        // Get a set of expected file paths.
+        Set<String> expectedFilePaths = new HashSet<>(getFilePathsFromStorageFiles(expectedStorageFiles));
+
+        // Load the expected actual S3 files into a map and remember the first unexpected S3 file, if any.
+        Map<String, StorageFile> actualFilesMap = new HashMap<>();
+        String unexpectedFilePath = null;
+        while (actualS3Files.hasNext())
+        {
+            S3ObjectSummary s3ObjectSummary = actualS3Files.next();
+            if (expectedFilePaths.contains(s3ObjectSummary.getKey()))
+            {
+                actualFilesMap.put(s3ObjectSummary.getKey(), new StorageFile(s3ObjectSummary.getKey(), s3ObjectSummary.getSize(), null));
+            }
+            else if (unexpectedFilePath == null)
+            {
+                unexpectedFilePath = s3ObjectSummary.getKey();
+            }
+        }
+
+        validateS3Files(expectedStorageFiles, actualFilesMap, unexpectedFilePath, storageName, businessObjectDataKey, "registered");
+    }
+
     /**
      * Validates storage file against the actual S3 objects reported by S3.
      *
@@ -504,6 +607,32 @@ public class StorageFileHelper
         // Load all actual S3 files into a map for easy access.
         Map<String, StorageFile> actualFilesMap = getStorageFilesMapFromS3ObjectSummaries(actualS3Files);
 
+        // Get a list of actual S3 file paths.
+        List<String> actualFilePaths = new ArrayList<>(actualFilesMap.keySet());
+
+        // Get a list of expected file paths.
+        List<String> expectedFilePaths = getFilePathsFromStorageFiles(expectedStorageFiles);
+
+        // Find the first actual S3 file that is not expected.
+        actualFilePaths.removeAll(expectedFilePaths);
+        String unexpectedFilePath = actualFilePaths.isEmpty() ? null : actualFilePaths.get(0);
+
+        validateS3Files(expectedStorageFiles, actualFilesMap, unexpectedFilePath, storageName, businessObjectDataKey, fileDescription);
+    }
+
+    /**
+     * Validates S3 files per list of expected storage files.
+     *
+     * @param expectedStorageFiles the list of expected S3 files represented by storage files
+     * @param actualFilesMap the map of file paths to storage files for the actual S3 files that match the expected storage files
+     * @param unexpectedFilePath the path of the first actual S3 file that does not match any of the expected storage files, may be null
+     * @param storageName the storage name
+     * @param businessObjectDataKey the business object data key
+     * @param fileDescription the file description (i.e. "registered" or "copied") to be used in the relative error messages
+     */
+    private void validateS3Files(List<StorageFile> expectedStorageFiles, Map<String, StorageFile> actualFilesMap, String unexpectedFilePath,
+        String storageName, BusinessObjectDataKey businessObjectDataKey, String fileDescription)
+    {
         // Validate existence and file size for all expected files.
         for (StorageFile expectedFile : expectedStorageFiles)
         {
@@ -526,18 +655,11 @@ public class StorageFileHelper
             }
         }
 
-        // Get a list of actual S3 file paths.
-        List<String> actualFilePaths = new ArrayList<>(actualFilesMap.keySet());
-
-        // Get a list of expected file paths.
-        List<String> expectedFilePaths = getFilePathsFromStorageFiles(expectedStorageFiles);
-
         // Validate that no other files in S3 bucket except for expected files have the same S3 key prefix.
-        if (!expectedFilePaths.containsAll(actualFilePaths))
+        if (unexpectedFilePath != null)
         {
-            actualFilePaths.removeAll(expectedFilePaths);
             throw new IllegalStateException(String
-                .format("Found unexpected S3 file \"%s\" in \"%s\" storage while validating %s S3 files. Business object data {%s}", actualFilePaths.get(0),
+                .format("Found unexpected S3 file \"%s\" in \"%s\" storage while validating %s S3 files. Business object data {%s}", unexpectedFilePath,
                     storageName, fileDescription, businessObjectDataHelper.businessObjectDataKeyToString(businessObjectDataKey)));
         }
     }
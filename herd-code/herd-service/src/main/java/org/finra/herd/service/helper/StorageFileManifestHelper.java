@@ -0,0 +1,211 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.service.helper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.stereotype.Component;
+
+import org.finra.herd.model.api.xml.StorageFile;
+import org.finra.herd.model.jpa.StorageFileManifestEntity;
+
+/**
+ * A helper class for the compact storage file manifests.
+ * <p/>
+ * A storage file manifest is a GZIP compressed binary list of storage files sorted by file path. It starts with the format version and the number of storage
+ * files. Each storage file is then written as the length of the prefix its path shares with the path of the previous storage file, the rest of its path, a
+ * flags byte that tells which of the optional values are present, and the file size and the row count, if present.
+ */
+@Component
+public class StorageFileManifestHelper
+{
+    /**
+     * The current format version of the storage file manifest.
+     */
+    private static final int FORMAT_VERSION = 1;
+
+    private static final int FLAG_FILE_SIZE_PRESENT = 1;
+
+    private static final int FLAG_ROW_COUNT_PRESENT = 2;
+
+    /**
+     * Creates a storage file manifest entity for the specified storage files.
+     *
+     * @param storageFiles the storage files
+     *
+     * @return the storage file manifest entity
+     */
+    public StorageFileManifestEntity createStorageFileManifestEntity(Collection<StorageFile> storageFiles)
+    {
+        StorageFileManifestEntity storageFileManifestEntity = new StorageFileManifestEntity();
+        storageFileManifestEntity.setManifest(createManifest(storageFiles));
+        storageFileManifestEntity.setFileCount(storageFiles.size());
+        storageFileManifestEntity.setS3KeyPrefix(getS3KeyPrefix(storageFiles));
+        return storageFileManifestEntity;
+    }
+
+    /**
+     * Gets the S3 key prefix of the deepest directory that contains all of the specified storage files. The S3 key prefix ends with a '/' character, unless it
+     * is empty.
+     *
+     * @param storageFiles the storage files
+     *
+     * @return the S3 key prefix
+     */
+    public String getS3KeyPrefix(Collection<StorageFile> storageFiles)
+    {
+        // The lowest and the highest file paths share the prefix that is common to all of the file paths.
+        String minFilePath = null;
+        String maxFilePath = null;
+        for (StorageFile storageFile : storageFiles)
+        {
+            String filePath = storageFile.getFilePath();
+            minFilePath = minFilePath == null || filePath.compareTo(minFilePath) < 0 ? filePath : minFilePath;
+            maxFilePath = maxFilePath == null || filePath.compareTo(maxFilePath) > 0 ? filePath : maxFilePath;
+        }
+
+        if (minFilePath == null)
+        {
+            return "";
+        }
+
+        // Cut the common prefix after its last '/' character, so it represents a directory.
+        String commonPrefix = minFilePath.substring(0, getSharedPrefixLength(minFilePath, maxFilePath));
+        return commonPrefix.substring(0, commonPrefix.lastIndexOf('/') + 1);
+    }
+
+    /**
+     * Creates a storage file manifest for the specified storage files.
+     *
+     * @param storageFiles the storage files
+     *
+     * @return the storage file manifest
+     */
+    public byte[] createManifest(Collection<StorageFile> storageFiles)
+    {
+        // Sort the storage files by path, so the consecutive paths share the longest possible prefixes.
+        List<StorageFile> sortedStorageFiles = new ArrayList<>(storageFiles);
+        sortedStorageFiles.sort(Comparator.comparing(StorageFile::getFilePath));
+
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        try (DataOutputStream dataOutputStream = new DataOutputStream(new GZIPOutputStream(byteArrayOutputStream)))
+        {
+            dataOutputStream.writeInt(FORMAT_VERSION);
+            dataOutputStream.writeInt(sortedStorageFiles.size());
+
+            String previousFilePath = "";
+            for (StorageFile storageFile : sortedStorageFiles)
+            {
+                String filePath = storageFile.getFilePath();
+                int sharedPrefixLength = getSharedPrefixLength(previousFilePath, filePath);
+                dataOutputStream.writeInt(sharedPrefixLength);
+                dataOutputStream.writeUTF(filePath.substring(sharedPrefixLength));
+
+                int flags = (storageFile.getFileSizeBytes() != null ? FLAG_FILE_SIZE_PRESENT : 0) |
+                    (storageFile.getRowCount() != null ? FLAG_ROW_COUNT_PRESENT : 0);
+                dataOutputStream.writeByte(flags);
+                if (storageFile.getFileSizeBytes() != null)
+                {
+                    dataOutputStream.writeLong(storageFile.getFileSizeBytes());
+                }
+                if (storageFile.getRowCount() != null)
+                {
+                    dataOutputStream.writeLong(storageFile.getRowCount());
+                }
+
+                previousFilePath = filePath;
+            }
+        }
+        catch (IOException e)
+        {
+            throw new IllegalStateException("Failed to create the storage file manifest.", e);
+        }
+
+        return byteArrayOutputStream.toByteArray();
+    }
+
+    /**
+     * Gets the storage files from the specified storage file manifest.
+     *
+     * @param manifest the storage file manifest
+     *
+     * @return the list of storage files sorted by file path
+     */
+    public List<StorageFile> getStorageFilesFromManifest(byte[] manifest)
+    {
+        try (DataInputStream dataInputStream = new DataInputStream(new GZIPInputStream(new ByteArrayInputStream(manifest))))
+        {
+            int formatVersion = dataInputStream.readInt();
+            if (formatVersion != FORMAT_VERSION)
+            {
+                throw new IllegalStateException(String.format("Unsupported storage file manifest format version %d.", formatVersion));
+            }
+
+            int storageFileCount = dataInputStream.readInt();
+            List<StorageFile> storageFiles = new ArrayList<>(storageFileCount);
+
+            String previousFilePath = "";
+            for (int i = 0; i < storageFileCount; i++)
+            {
+                int sharedPrefixLength = dataInputStream.readInt();
+                String filePath = previousFilePath.substring(0, sharedPrefixLength) + dataInputStream.readUTF();
+
+                int flags = dataInputStream.readByte();
+                Long fileSizeBytes = (flags & FLAG_FILE_SIZE_PRESENT) != 0 ? dataInputStream.readLong() : null;
+                Long rowCount = (flags & FLAG_ROW_COUNT_PRESENT) != 0 ? dataInputStream.readLong() : null;
+
+                storageFiles.add(new StorageFile(filePath, fileSizeBytes, rowCount));
+                previousFilePath = filePath;
+            }
+
+            return storageFiles;
+        }
+        catch (IOException e)
+        {
+            throw new IllegalStateException("Failed to read the storage file manifest.", e);
+        }
+    }
+
+    /**
+     * Gets the length of the common prefix of the specified strings.
+     *
+     * @param string1 the first string
+     * @param string2 the second string
+     *
+     * @return the length of the common prefix
+     */
+    private int getSharedPrefixLength(String string1, String string2)
+    {
+        int maxLength = Math.min(string1.length(), string2.length());
+        int length = 0;
+        while (length < maxLength && string1.charAt(length) == string2.charAt(length))
+        {
+            length++;
+        }
+
+        return length;
+    }
+}
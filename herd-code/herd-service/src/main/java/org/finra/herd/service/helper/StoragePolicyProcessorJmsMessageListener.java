@@ -16,6 +16,8 @@
 package org.finra.herd.service.helper;
 
 import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 import org.slf4j.Logger;
@@ -98,7 +100,8 @@ public class StoragePolicyProcessorJmsMessageListener
     }
 
     /**
-     * Processes a JMS message.
+     * Processes a JMS message. The message payload is either a single storage policy selection or a JSON array of storage policy selections. Each storage
+     * policy selection is processed separately, so a failure to process one of them does not prevent processing the rest.
      *
      * @param payload the message payload
      * @param allHeaders the JMS headers
@@ -111,12 +114,44 @@ public class StoragePolicyProcessorJmsMessageListener
         LOGGER.info("Message received from the JMS queue. jmsQueueName=\"{}\" jmsMessageHeaders=\"{}\" jmsMessagePayload={}",
             HerdJmsDestinationResolver.SQS_DESTINATION_STORAGE_POLICY_SELECTOR_JOB_SQS_QUEUE, allHeaders, payload);
 
-        // Process the message as storage policy selection message.
+        // Get the storage policy selections from the message payload.
+        List<StoragePolicySelection> storagePolicySelections;
         try
         {
-            // Process messages coming from the storage policy selector job.
-            StoragePolicySelection storagePolicySelection = jsonHelper.unmarshallJsonToObject(StoragePolicySelection.class, payload);
+            // Messages coming from the storage policy selector job contain either a single storage policy selection or a JSON array of them.
+            if (payload.trim().startsWith("["))
+            {
+                storagePolicySelections = jsonHelper.unmarshallJsonToListOfObjects(StoragePolicySelection.class, payload);
+            }
+            else
+            {
+                storagePolicySelections = Collections.singletonList(jsonHelper.unmarshallJsonToObject(StoragePolicySelection.class, payload));
+            }
+        }
+        catch (RuntimeException | IOException e)
+        {
+            LOGGER.error("Failed to process message from the JMS queue. jmsQueueName=\"{}\" jmsMessagePayload={}",
+                HerdJmsDestinationResolver.SQS_DESTINATION_STORAGE_POLICY_SELECTOR_JOB_SQS_QUEUE, payload, e);
+            return;
+        }
+
+        for (StoragePolicySelection storagePolicySelection : storagePolicySelections)
+        {
+            processStoragePolicySelection(storagePolicySelection, payload);
+        }
+    }
 
+    /**
+     * Processes a single storage policy selection received from the JMS queue.
+     *
+     * @param storagePolicySelection the storage policy selection
+     * @param payload the message payload, used for logging
+     */
+    private void processStoragePolicySelection(StoragePolicySelection storagePolicySelection, String payload)
+    {
+        // Process the message as storage policy selection message.
+        try
+        {
             LOGGER.debug("Received storage policy selection message: businessObjectDataKey={} storagePolicyKey={} storagePolicyVersion={}",
                 jsonHelper.objectToJson(storagePolicySelection.getBusinessObjectDataKey()),
                 jsonHelper.objectToJson(storagePolicySelection.getStoragePolicyKey()), storagePolicySelection.getStoragePolicyVersion());
@@ -124,20 +159,22 @@ public class StoragePolicyProcessorJmsMessageListener
             // Process the storage policy selection message.
             storagePolicyProcessorService.processStoragePolicySelectionMessage(storagePolicySelection);
         }
-        catch (RuntimeException | IOException e)
+        catch (RuntimeException e)
         {
             // Log a warning message if storage unit status is already ARCHIVED. Such error case is typically caused by a duplicate SQS message.
             if (e instanceof IllegalArgumentException &&
                 e.getMessage().startsWith(String.format("Storage unit status is \"%s\"", StorageUnitStatusEntity.ARCHIVED)))
             {
-                LOGGER.warn("Failed to process message from the JMS queue. jmsQueueName=\"{}\" jmsMessagePayload={}",
-                    HerdJmsDestinationResolver.SQS_DESTINATION_STORAGE_POLICY_SELECTOR_JOB_SQS_QUEUE, payload, e);
+                LOGGER.warn("Failed to process message from the JMS queue. jmsQueueName=\"{}\" jmsMessagePayload={} businessObjectDataKey={}",
+                    HerdJmsDestinationResolver.SQS_DESTINATION_STORAGE_POLICY_SELECTOR_JOB_SQS_QUEUE, payload,
+                    jsonHelper.objectToJson(storagePolicySelection.getBusinessObjectDataKey()), e);
             }
             // Otherwise, log an error.
             else
             {
-                LOGGER.error("Failed to process message from the JMS queue. jmsQueueName=\"{}\" jmsMessagePayload={}",
-                    HerdJmsDestinationResolver.SQS_DESTINATION_STORAGE_POLICY_SELECTOR_JOB_SQS_QUEUE, payload, e);
+                LOGGER.error("Failed to process message from the JMS queue. jmsQueueName=\"{}\" jmsMessagePayload={} businessObjectDataKey={}",
+                    HerdJmsDestinationResolver.SQS_DESTINATION_STORAGE_POLICY_SELECTOR_JOB_SQS_QUEUE, payload,
+                    jsonHelper.objectToJson(storagePolicySelection.getBusinessObjectDataKey()), e);
             }
         }
     }
@@ -56,6 +56,9 @@ public class StorageUnitHelper
     @Autowired
     private StorageFileHelper storageFileHelper;
 
+    @Autowired
+    private StorageFileManifestHelper storageFileManifestHelper;
+
     /**
      * Creates a business object data storage unit key from business object data key and storage name.
      *
@@ -162,11 +165,17 @@ public class StorageUnitHelper
             }
 
             // Add the storage files.
-            if (!storageUnitEntity.getStorageFiles().isEmpty())
+            if (storageUnitEntity.getStorageFileManifest() != null || !storageUnitEntity.getStorageFiles().isEmpty())
             {
                 List<StorageFile> storageFiles = new ArrayList<>();
                 storageUnit.setStorageFiles(storageFiles);
 
+                // Add the storage files compacted into the storage file manifest.
+                if (storageUnitEntity.getStorageFileManifest() != null)
+                {
+                    storageFiles.addAll(storageFileManifestHelper.getStorageFilesFromManifest(storageUnitEntity.getStorageFileManifest().getManifest()));
+                }
+
                 for (StorageFileEntity storageFileEntity : storageUnitEntity.getStorageFiles())
                 {
                     storageFiles.add(storageFileHelper.createStorageFileFromEntity(storageFileEntity));
@@ -24,6 +24,8 @@ import java.util.Set;
 
 import org.apache.commons.lang3.BooleanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Component;
 
 import org.finra.herd.core.helper.ConfigurationHelper;
@@ -31,13 +33,16 @@ import org.finra.herd.core.helper.WildcardHelper;
 import org.finra.herd.dao.NamespaceDao;
 import org.finra.herd.dao.UserDao;
 import org.finra.herd.dao.UserNamespaceAuthorizationDao;
+import org.finra.herd.dao.config.DaoSpringModuleConfig;
 import org.finra.herd.model.api.xml.NamespaceAuthorization;
 import org.finra.herd.model.api.xml.NamespaceKey;
 import org.finra.herd.model.api.xml.NamespacePermissionEnum;
 import org.finra.herd.model.dto.ApplicationUser;
 import org.finra.herd.model.dto.ConfigurationValue;
+import org.finra.herd.model.dto.NamespaceAuthorizationSet;
 import org.finra.herd.model.jpa.UserEntity;
 import org.finra.herd.model.jpa.UserNamespaceAuthorizationEntity;
+import org.finra.herd.service.CacheEvictionService;
 
 /**
  * A helper class for UserNamespaceAuthorization related code.
@@ -45,6 +50,22 @@ import org.finra.herd.model.jpa.UserNamespaceAuthorizationEntity;
 @Component
 public class UserNamespaceAuthorizationHelper
 {
+    /**
+     * The namespace authorization cache key of the namespace authorizations shared by all users when user namespace authorization is not enabled.
+     */
+    private static final String ALL_NAMESPACE_AUTHORIZATIONS_CACHE_KEY = "ALL_NAMESPACES";
+
+    /**
+     * The prefix of the namespace authorization cache keys of the namespace authorizations of the individual users.
+     */
+    private static final String USER_NAMESPACE_AUTHORIZATIONS_CACHE_KEY_PREFIX = "USER:";
+
+    @Autowired
+    private CacheEvictionService cacheEvictionService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
     @Autowired
     private ConfigurationHelper configurationHelper;
 
@@ -61,7 +82,8 @@ public class UserNamespaceAuthorizationHelper
     private WildcardHelper wildcardHelper;
 
     /**
-     * Builds a set of namespace authorizations per specified user and adds them to the application user.
+     * Builds a set of namespace authorizations per specified user and adds them to the application user. The resolved namespace authorizations are kept in
+     * the namespace authorization cache, so the subsequent requests of the same user do not query the database.
      *
      * @param applicationUser the application user
      */
@@ -70,34 +92,53 @@ public class UserNamespaceAuthorizationHelper
         // Get the user id from the application user.
         String userId = applicationUser.getUserId();
 
-        // Check if user namespace authorization is not enabled or this user is a namespace authorization administrator.
-        if (BooleanUtils.isNotTrue(configurationHelper.getBooleanProperty(ConfigurationValue.USER_NAMESPACE_AUTHORIZATION_ENABLED)) ||
-            isNamespaceAuthorizationAdmin(userId))
+        // Check if user namespace authorization is enabled.
+        boolean userNamespaceAuthorizationEnabled =
+            BooleanUtils.isTrue(configurationHelper.getBooleanProperty(ConfigurationValue.USER_NAMESPACE_AUTHORIZATION_ENABLED));
+
+        // When user namespace authorization is not enabled, all users share the same namespace authorizations.
+        String cacheKey = !userNamespaceAuthorizationEnabled ? ALL_NAMESPACE_AUTHORIZATIONS_CACHE_KEY :
+            userId != null ? USER_NAMESPACE_AUTHORIZATIONS_CACHE_KEY_PREFIX + userId.toUpperCase() : null;
+
+        // Get the namespace authorizations from the cache, if they are there.
+        Cache namespaceAuthorizationCache = cacheManager.getCache(DaoSpringModuleConfig.NAMESPACE_AUTHORIZATION_CACHE_NAME);
+        if (cacheKey != null)
+        {
+            NamespaceAuthorizationSet namespaceAuthorizations = namespaceAuthorizationCache.get(cacheKey, NamespaceAuthorizationSet.class);
+            if (namespaceAuthorizations != null)
+            {
+                applicationUser.setNamespaceAuthorizations(namespaceAuthorizations);
+                return;
+            }
+        }
+
+        // Resolve the namespace authorizations and put them in the cache.
+        NamespaceAuthorizationSet namespaceAuthorizations;
+        if (!userNamespaceAuthorizationEnabled || isNamespaceAuthorizationAdmin(userId))
         {
             // Assign all permissions for all namespaces configured in the system.
-            applicationUser.setNamespaceAuthorizations(getAllNamespaceAuthorizations());
+            namespaceAuthorizations = new NamespaceAuthorizationSet(getAllNamespaceAuthorizations());
         }
         else
         {
             // Assign a set of namespace authorizations per specified user.
-            Set<NamespaceAuthorization> namespaceAuthorizations = new HashSet<>();
-            applicationUser.setNamespaceAuthorizations(namespaceAuthorizations);
-            for (UserNamespaceAuthorizationEntity userNamespaceAuthorizationEntity : userNamespaceAuthorizationDao
-                .getUserNamespaceAuthorizationsByUserId(userId))
-            {
-                namespaceAuthorizations.add(toNamespaceAuthorization(userNamespaceAuthorizationEntity));
-            }
-
-            // Search authorizations by wildcard token
-            for (UserNamespaceAuthorizationEntity wildcardEntity : userNamespaceAuthorizationDao
-                .getUserNamespaceAuthorizationsByUserIdStartsWith(WildcardHelper.WILDCARD_TOKEN))
-            {
-                if (wildcardHelper.matches(userId.toUpperCase(), wildcardEntity.getUserId().toUpperCase()))
-                {
-                    namespaceAuthorizations.add(toNamespaceAuthorization(wildcardEntity));
-                }
-            }
+            namespaceAuthorizations = new NamespaceAuthorizationSet(getUserNamespaceAuthorizations(userId));
+        }
+        if (cacheKey != null)
+        {
+            namespaceAuthorizationCache.put(cacheKey, namespaceAuthorizations);
         }
+
+        applicationUser.setNamespaceAuthorizations(namespaceAuthorizations);
+    }
+
+    /**
+     * Evicts the resolved namespace authorizations of all users from the namespace authorization cache on all herd nodes, once the current transaction
+     * commits. This has to be called whenever the user namespace authorizations or the namespaces change.
+     */
+    public void evictNamespaceAuthorizations()
+    {
+        cacheEvictionService.publishCacheEviction(DaoSpringModuleConfig.NAMESPACE_AUTHORIZATION_CACHE_NAME);
     }
 
     /**
@@ -156,6 +197,34 @@ public class UserNamespaceAuthorizationHelper
         return namespacePermissions;
     }
 
+    /**
+     * Returns a set of namespace authorizations that are explicitly granted to the specified user or granted to the user through the wildcard user ids.
+     *
+     * @param userId the user id
+     *
+     * @return the set of namespace authorizations
+     */
+    private Set<NamespaceAuthorization> getUserNamespaceAuthorizations(String userId)
+    {
+        Set<NamespaceAuthorization> namespaceAuthorizations = new HashSet<>();
+        for (UserNamespaceAuthorizationEntity userNamespaceAuthorizationEntity : userNamespaceAuthorizationDao.getUserNamespaceAuthorizationsByUserId(userId))
+        {
+            namespaceAuthorizations.add(toNamespaceAuthorization(userNamespaceAuthorizationEntity));
+        }
+
+        // Search authorizations by wildcard token
+        for (UserNamespaceAuthorizationEntity wildcardEntity : userNamespaceAuthorizationDao
+            .getUserNamespaceAuthorizationsByUserIdStartsWith(WildcardHelper.WILDCARD_TOKEN))
+        {
+            if (wildcardHelper.matches(userId.toUpperCase(), wildcardEntity.getUserId().toUpperCase()))
+            {
+                namespaceAuthorizations.add(toNamespaceAuthorization(wildcardEntity));
+            }
+        }
+
+        return namespaceAuthorizations;
+    }
+
     /**
      * Returns a list of all available namespace permissions.
      *
@@ -18,19 +18,41 @@ package org.finra.herd.service.helper;
 import java.io.Reader;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
+import org.apache.velocity.Template;
 import org.apache.velocity.VelocityContext;
 import org.apache.velocity.app.Velocity;
+import org.apache.velocity.exception.ParseErrorException;
 import org.apache.velocity.runtime.RuntimeConstants;
+import org.apache.velocity.runtime.RuntimeServices;
+import org.apache.velocity.runtime.RuntimeSingleton;
+import org.apache.velocity.runtime.parser.ParseException;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import org.finra.herd.core.helper.ConfigurationHelper;
+import org.finra.herd.model.dto.ConfigurationValue;
+
 /**
  * A helper to abstract operations around Apache Velocity.
  */
 @Component
 public class VelocityHelper
 {
+    @Autowired
+    private ConfigurationHelper configurationHelper;
+
+    /**
+     * The parsed templates keyed by the log tag and the template text, in the least recently used order. Since the template text is part of the key, a
+     * template that got changed in the configuration is parsed again, while its old version eventually gets evicted.
+     */
+    private final Map<List<String>, Template> templateCache = new LinkedHashMap<>(16, 0.75f, true);
+
     /**
      * Initializes the Velocity engine.
      */
@@ -41,42 +63,99 @@ public class VelocityHelper
     }
 
     /**
-     * Wrapper for {@link Velocity#evaluate(org.apache.velocity.context.Context, java.io.Writer, String, java.io.InputStream)}
+     * Evaluates a Velocity template. The template is parsed only once and then reused from the cache of parsed templates.
      *
-     * @param templateReader A {@link Reader} of a Velocity template.
+     * @param template The template {@link String}
      * @param variables Variables to add to context
      * @param logTag The log tag
      *
      * @return {@link String} result of evaluation
      */
-    public String evaluate(Reader templateReader, Map<String, Object> variables, String logTag)
+    public String evaluate(String template, Map<String, Object> variables, String logTag)
+    {
+        return evaluate(template, new VelocityContext(variables), logTag);
+    }
+
+    /**
+     * Evaluates a Velocity template using the specified Velocity context. The template is parsed only once and then reused from the cache of parsed
+     * templates. The context can chain a shared context with the values that do not change between evaluations.
+     *
+     * @param template The template {@link String}
+     * @param velocityContext The Velocity context
+     * @param logTag The log tag
+     *
+     * @return {@link String} result of evaluation
+     */
+    public String evaluate(String template, VelocityContext velocityContext, String logTag)
     {
-        VelocityContext velocityContext = new VelocityContext(variables);
         StringWriter writer = new StringWriter();
-        if (!Velocity.evaluate(velocityContext, writer, logTag, templateReader))
-        {
-            // Although the Velocity.evaluate method's Javadoc states that it will return false to indicate a failure when the template couldn't be
-            // processed and to see the Velocity log messages for more details, upon examining the method's implementation, it doesn't look like
-            // it will ever return false. Instead, other RuntimeExceptions will be thrown (e.g. ParseErrorException).
-            // Nonetheless, we'll leave this checking here to honor the method's contract in case the implementation changes in the future.
-            // Having said that, there will be no way to JUnit test this flow.
-            throw new IllegalStateException("Error evaluating velocity template. See velocity log message for more details.");
-        }
+        getTemplate(template, logTag).merge(velocityContext, writer);
         return writer.toString();
     }
 
     /**
-     * Wrapper for {@link Velocity#evaluate(org.apache.velocity.context.Context, java.io.Writer, String, java.io.InputStream)}
+     * Gets the parsed template from the cache, parsing and caching the template if it is not cached yet.
      *
      * @param template The template {@link String}
-     * @param variables Variables to add to context
      * @param logTag The log tag
      *
-     * @return {@link String} result of evaluation
+     * @return the parsed template
      */
-    public String evaluate(String template, Map<String, Object> variables, String logTag)
+    private Template getTemplate(String template, String logTag)
     {
-        StringReader templateReader = new StringReader(template);
-        return evaluate(templateReader, variables, logTag);
+        List<String> cacheKey = Arrays.asList(logTag, template);
+
+        Template parsedTemplate;
+        synchronized (templateCache)
+        {
+            parsedTemplate = templateCache.get(cacheKey);
+        }
+
+        if (parsedTemplate == null)
+        {
+            // Parse the template outside of the lock. If two threads parse the same template at the same time, the last one wins, which is harmless.
+            RuntimeServices runtimeServices = RuntimeSingleton.getRuntimeServices();
+            parsedTemplate = new Template();
+            parsedTemplate.setRuntimeServices(runtimeServices);
+            parsedTemplate.setName(logTag);
+            try
+            {
+                parsedTemplate.setData(runtimeServices.parse(new StringReader(template), logTag));
+            }
+            catch (ParseException e)
+            {
+                throw new ParseErrorException(e, logTag);
+            }
+            parsedTemplate.initDocument();
+
+            int maxCacheSize = configurationHelper.getProperty(ConfigurationValue.VELOCITY_TEMPLATE_CACHE_MAX_SIZE, Integer.class);
+            synchronized (templateCache)
+            {
+                templateCache.put(cacheKey, parsedTemplate);
+
+                // Evict the least recently used templates.
+                Iterator<List<String>> iterator = templateCache.keySet().iterator();
+                while (templateCache.size() > maxCacheSize && iterator.hasNext())
+                {
+                    iterator.next();
+                    iterator.remove();
+                }
+            }
+        }
+
+        return parsedTemplate;
+    }
+
+    /**
+     * Gets the number of parsed templates currently held by the cache.
+     *
+     * @return the number of cached templates
+     */
+    public int getCachedTemplateCount()
+    {
+        synchronized (templateCache)
+        {
+            return templateCache.size();
+        }
     }
 }
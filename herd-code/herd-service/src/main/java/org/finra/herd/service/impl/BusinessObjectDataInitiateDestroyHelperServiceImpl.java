@@ -15,13 +15,14 @@
 */
 package org.finra.herd.service.impl;
 
+import java.io.File;
 import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 
-import com.amazonaws.services.s3.model.S3ObjectSummary;
 import com.amazonaws.services.s3.model.Tag;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -36,6 +37,7 @@ import org.finra.herd.core.HerdDateUtils;
 import org.finra.herd.core.helper.ConfigurationHelper;
 import org.finra.herd.dao.BusinessObjectFormatDao;
 import org.finra.herd.dao.HerdDao;
+import org.finra.herd.dao.S3ObjectSummaryIterator;
 import org.finra.herd.dao.StorageUnitDao;
 import org.finra.herd.dao.helper.HerdStringHelper;
 import org.finra.herd.model.annotation.PublishNotificationMessages;
@@ -77,6 +79,11 @@ public class BusinessObjectDataInitiateDestroyHelperServiceImpl implements Busin
 
     private static final Logger LOGGER = LoggerFactory.getLogger(BusinessObjectDataInitiateDestroyHelperServiceImpl.class);
 
+    /**
+     * The maximum number of S3 files passed to a single S3 object tagging call.
+     */
+    private static final int S3_OBJECT_TAGGING_BATCH_SIZE = 1000;
+
     @Autowired
     private BusinessObjectDataDaoHelper businessObjectDataDaoHelper;
 
@@ -225,27 +232,33 @@ public class BusinessObjectDataInitiateDestroyHelperServiceImpl implements Busin
 
         // Get actual S3 files by selecting all S3 keys matching the S3 key prefix form the S3 bucket.
         // This time, we do not ignore 0 byte objects that represent S3 directories.
-        List<S3ObjectSummary> actualS3Files = s3Service.listDirectory(s3FileTransferRequestParamsDto, false);
-
-        // Set the list of files to be tagged for deletion.
-        s3FileTransferRequestParamsDto.setFiles(storageFileHelper.getFiles(storageFileHelper.createStorageFilesFromS3ObjectSummaries(actualS3Files)));
-
-        // Tag the S3 objects to initiate the deletion.
-        s3Service.tagObjects(s3FileTransferRequestParamsDto, s3ObjectTaggerParamsDto,
-            new Tag(businessObjectDataDestroyDto.getS3ObjectTagKey(), businessObjectDataDestroyDto.getS3ObjectTagValue()));
-
-        // Log a list of S3 files that got tagged.
-        if (LOGGER.isInfoEnabled())
+        // The S3 files are listed and tagged in batches, so the entire listing is never held in memory.
+        Tag tag = new Tag(businessObjectDataDestroyDto.getS3ObjectTagKey(), businessObjectDataDestroyDto.getS3ObjectTagValue());
+        int s3KeyCount = 0;
+        try (S3ObjectSummaryIterator actualS3Files = s3Service.iterateDirectory(s3FileTransferRequestParamsDto, false))
         {
-            LOGGER.info("Successfully tagged files in S3 bucket. s3BucketName=\"{}\" s3KeyCount={} s3ObjectTagKey=\"{}\" s3ObjectTagValue=\"{}\"",
-                s3FileTransferRequestParamsDto.getS3BucketName(), actualS3Files.size(), businessObjectDataDestroyDto.getS3ObjectTagKey(),
-                businessObjectDataDestroyDto.getS3ObjectTagValue());
-
-            for (S3ObjectSummary s3File : actualS3Files)
+            List<File> files = new ArrayList<>();
+            while (actualS3Files.hasNext())
             {
-                LOGGER.info("s3Key=\"{}\"", s3File.getKey());
+                String s3Key = actualS3Files.next().getKey();
+                files.add(new File(s3Key));
+                s3KeyCount++;
+                LOGGER.info("s3Key=\"{}\"", s3Key);
+
+                if (files.size() >= S3_OBJECT_TAGGING_BATCH_SIZE || !actualS3Files.hasNext())
+                {
+                    // Tag the current batch of S3 objects to initiate the deletion.
+                    s3FileTransferRequestParamsDto.setFiles(files);
+                    s3Service.tagObjects(s3FileTransferRequestParamsDto, s3ObjectTaggerParamsDto, tag);
+                    files = new ArrayList<>();
+                }
             }
         }
+
+        // Log the number of S3 files that got tagged.
+        LOGGER.info("Successfully tagged files in S3 bucket. s3BucketName=\"{}\" s3KeyCount={} s3ObjectTagKey=\"{}\" s3ObjectTagValue=\"{}\"",
+            s3FileTransferRequestParamsDto.getS3BucketName(), s3KeyCount, businessObjectDataDestroyDto.getS3ObjectTagKey(),
+            businessObjectDataDestroyDto.getS3ObjectTagValue());
     }
 
     /**
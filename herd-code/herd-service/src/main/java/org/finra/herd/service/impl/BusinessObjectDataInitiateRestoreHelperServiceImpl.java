@@ -16,6 +16,7 @@
 package org.finra.herd.service.impl;
 
 import java.sql.Timestamp;
+import java.util.Iterator;
 import java.util.List;
 
 import com.amazonaws.services.s3.model.S3ObjectSummary;
@@ -32,6 +33,7 @@ import org.springframework.util.Assert;
 
 import org.finra.herd.core.HerdDateUtils;
 import org.finra.herd.core.helper.ConfigurationHelper;
+import org.finra.herd.dao.S3ObjectSummaryIterator;
 import org.finra.herd.dao.StorageUnitDao;
 import org.finra.herd.dao.helper.HerdStringHelper;
 import org.finra.herd.dao.helper.JsonHelper;
@@ -200,30 +202,31 @@ public class BusinessObjectDataInitiateRestoreHelperServiceImpl implements Busin
             s3FileTransferRequestParamsDto.setS3Endpoint(businessObjectDataRestoreDto.getS3Endpoint());
             s3FileTransferRequestParamsDto.setS3KeyPrefix(StringUtils.appendIfMissing(businessObjectDataRestoreDto.getS3KeyPrefix(), "/"));
 
-            // Get a list of S3 files matching the S3 key prefix. When listing S3 files, we ignore 0 byte objects that represent S3 directories.
-            List<S3ObjectSummary> actualS3Files = s3Service.listDirectory(s3FileTransferRequestParamsDto, true);
-
-            // Validate existence and file size of the S3 files.
-            storageFileHelper
-                .validateRegisteredS3Files(businessObjectDataRestoreDto.getStorageFiles(), actualS3Files, businessObjectDataRestoreDto.getStorageName(),
-                    businessObjectDataRestoreDto.getBusinessObjectDataKey());
+            // Validate existence and file size of the S3 files matching the S3 key prefix. The S3 files are listed one page at a time, so the entire
+            // listing is never held in memory. When listing S3 files, we ignore 0 byte objects that represent S3 directories. The storage class of the
+            // S3 files is checked during the same pass over the listing, so the S3 key prefix is listed only once.
+            S3ObjectSummary notArchivedS3File;
+            try (S3ObjectSummaryIterator actualS3Files = s3Service.iterateDirectory(s3FileTransferRequestParamsDto, true))
+            {
+                StorageClassCheckingIterator storageClassCheckingIterator = new StorageClassCheckingIterator(actualS3Files);
+                storageFileHelper.validateRegisteredS3Files(businessObjectDataRestoreDto.getStorageFiles(), storageClassCheckingIterator,
+                    businessObjectDataRestoreDto.getStorageName(), businessObjectDataRestoreDto.getBusinessObjectDataKey());
+                notArchivedS3File = storageClassCheckingIterator.getFirstNotArchivedS3ObjectSummary();
+            }
 
             // Validate that all files to be restored are currently archived in Glacier (have Glacier storage class).
             // Fail on any S3 file that does not have Glacier storage class. This can happen when request to restore business object
             // data is posted after business object data archiving transition is executed (relative S3 objects get tagged),
             // but before AWS actually transitions the S3 files to Glacier (changes S3 object storage class to Glacier).
-            for (S3ObjectSummary s3ObjectSummary : actualS3Files)
+            if (notArchivedS3File != null)
             {
-                if (!StringUtils.equals(s3ObjectSummary.getStorageClass(), StorageClass.Glacier.toString()))
-                {
-                    throw new IllegalArgumentException(String
-                        .format("S3 file \"%s\" is not archived (found %s storage class when expecting %s). S3 Bucket Name: \"%s\"", s3ObjectSummary.getKey(),
-                            s3ObjectSummary.getStorageClass(), StorageClass.Glacier.toString(), s3FileTransferRequestParamsDto.getS3BucketName()));
-                }
+                throw new IllegalArgumentException(String
+                    .format("S3 file \"%s\" is not archived (found %s storage class when expecting %s). S3 Bucket Name: \"%s\"", notArchivedS3File.getKey(),
+                        notArchivedS3File.getStorageClass(), StorageClass.Glacier.toString(), s3FileTransferRequestParamsDto.getS3BucketName()));
             }
 
-            // Set a list of files to restore.
-            s3FileTransferRequestParamsDto.setFiles(storageFileHelper.getFiles(storageFileHelper.createStorageFilesFromS3ObjectSummaries(actualS3Files)));
+            // Set a list of files to restore. Since the registered storage files got validated to match the actual S3 files, we build the list from them.
+            s3FileTransferRequestParamsDto.setFiles(storageFileHelper.getFiles(businessObjectDataRestoreDto.getStorageFiles()));
 
             // Initiate restore requests for the list of objects in the Glacier bucket.
             // TODO: Make "expirationInDays" value configurable with default value set to 99 years (36135 days).
@@ -382,4 +385,42 @@ public class BusinessObjectDataInitiateRestoreHelperServiceImpl implements Busin
         // Return the parameters DTO.
         return businessObjectDataRestoreDto;
     }
+
+    /**
+     * An iterator over S3 object summaries that remembers the first S3 object that does not have Glacier storage class while the S3 object summaries are
+     * consumed.
+     */
+    private static class StorageClassCheckingIterator implements Iterator<S3ObjectSummary>
+    {
+        private final Iterator<S3ObjectSummary> s3ObjectSummaries;
+
+        private S3ObjectSummary firstNotArchivedS3ObjectSummary;
+
+        StorageClassCheckingIterator(Iterator<S3ObjectSummary> s3ObjectSummaries)
+        {
+            this.s3ObjectSummaries = s3ObjectSummaries;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return s3ObjectSummaries.hasNext();
+        }
+
+        @Override
+        public S3ObjectSummary next()
+        {
+            S3ObjectSummary s3ObjectSummary = s3ObjectSummaries.next();
+            if (firstNotArchivedS3ObjectSummary == null && !StringUtils.equals(s3ObjectSummary.getStorageClass(), StorageClass.Glacier.toString()))
+            {
+                firstNotArchivedS3ObjectSummary = s3ObjectSummary;
+            }
+            return s3ObjectSummary;
+        }
+
+        S3ObjectSummary getFirstNotArchivedS3ObjectSummary()
+        {
+            return firstNotArchivedS3ObjectSummary;
+        }
+    }
 }
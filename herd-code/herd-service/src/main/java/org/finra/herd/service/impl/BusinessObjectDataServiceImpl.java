@@ -16,6 +16,8 @@
 package org.finra.herd.service.impl;
 
 import java.io.File;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -69,6 +71,7 @@ import org.finra.herd.model.api.xml.BusinessObjectDefinitionKey;
 import org.finra.herd.model.api.xml.BusinessObjectFormatKey;
 import org.finra.herd.model.api.xml.CustomDdlKey;
 import org.finra.herd.model.api.xml.NamespacePermissionEnum;
+import org.finra.herd.model.api.xml.StorageFile;
 import org.finra.herd.model.dto.BusinessObjectDataDestroyDto;
 import org.finra.herd.model.dto.BusinessObjectDataRestoreDto;
 import org.finra.herd.model.dto.BusinessObjectDataSearchResultPagingInfoDto;
@@ -82,7 +85,6 @@ import org.finra.herd.model.jpa.CustomDdlEntity;
 import org.finra.herd.model.jpa.NotificationEventTypeEntity;
 import org.finra.herd.model.jpa.RetentionTypeEntity;
 import org.finra.herd.model.jpa.StorageEntity;
-import org.finra.herd.model.jpa.StorageFileEntity;
 import org.finra.herd.model.jpa.StoragePlatformEntity;
 import org.finra.herd.model.jpa.StorageUnitEntity;
 import org.finra.herd.service.BusinessObjectDataInitiateDestroyHelperService;
@@ -106,6 +108,7 @@ import org.finra.herd.service.helper.CustomDdlDaoHelper;
 import org.finra.herd.service.helper.DdlGeneratorFactory;
 import org.finra.herd.service.helper.S3KeyPrefixHelper;
 import org.finra.herd.service.helper.StorageDaoHelper;
+import org.finra.herd.service.helper.StorageFileHelper;
 import org.finra.herd.service.helper.StorageHelper;
 import org.finra.herd.service.helper.StorageUnitHelper;
 
@@ -202,6 +205,9 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
     @Autowired
     private StorageDaoHelper storageDaoHelper;
 
+    @Autowired
+    private StorageFileHelper storageFileHelper;
+
     @Autowired
     private StorageHelper storageHelper;
 
@@ -321,7 +327,7 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
                         S3FileTransferRequestParamsDto params = storageHelper.getS3BucketAccessParams(storageEntity);
 
                         // If only directory is registered delete all files/sub-folders found under it.
-                        if (StringUtils.isNotBlank(storageUnitEntity.getDirectoryPath()) && storageUnitEntity.getStorageFiles().isEmpty())
+                        if (StringUtils.isNotBlank(storageUnitEntity.getDirectoryPath()) && storageFileHelper.getStorageFileCount(storageUnitEntity) == 0)
                         {
                             // Since the directory path represents a directory, we add a trailing '/' character to it.
                             params.setS3KeyPrefix(storageUnitEntity.getDirectoryPath() + "/");
@@ -334,9 +340,9 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
                         {
                             // Create a list of files to delete.
                             List<File> files = new ArrayList<>();
-                            for (StorageFileEntity storageFileEntity : storageUnitEntity.getStorageFiles())
+                            for (StorageFile storageFile : storageFileHelper.getStorageFiles(storageUnitEntity))
                             {
-                                files.add(new File(storageFileEntity.getPath()));
+                                files.add(new File(storageFile.getFilePath()));
                             }
                             params.setFiles(files);
                             s3Service.deleteFileList(params);
@@ -405,6 +411,14 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
         return generateBusinessObjectDataDdlImpl(request, false);
     }
 
+    @NamespacePermission(fields = "#request.namespace", permissions = NamespacePermissionEnum.READ)
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void generateBusinessObjectDataDdl(BusinessObjectDataDdlRequest request, Writer writer)
+    {
+        generateBusinessObjectDataDdlImpl(request, false, writer);
+    }
+
     @NamespacePermission(fields = "#request?.businessObjectDataDdlRequests?.![namespace]", permissions = NamespacePermissionEnum.READ)
     @Override
     @Transactional(propagation = Propagation.REQUIRES_NEW)
@@ -941,6 +955,27 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
      * @return the business object data DDL information
      */
     protected BusinessObjectDataDdl generateBusinessObjectDataDdlImpl(BusinessObjectDataDdlRequest request, boolean skipRequestValidation)
+    {
+        // Generate the DDL into an in-memory writer.
+        StringWriter writer = new StringWriter();
+        generateBusinessObjectDataDdlImpl(request, skipRequestValidation, writer);
+
+        // Create and initialize a business object data DDL object instance.
+        BusinessObjectDataDdl businessObjectDataDdl = createBusinessObjectDataDdl(request);
+        businessObjectDataDdl.setDdl(writer.toString());
+
+        return businessObjectDataDdl;
+    }
+
+    /**
+     * Generates the DDL to initialize the specified type of the database system to perform queries for a range of requested business object data in the
+     * specified storage and writes it to the specified writer.
+     *
+     * @param request the business object data DDL request
+     * @param skipRequestValidation specifies whether to skip the request validation and trimming
+     * @param writer the writer to write the generated DDL to
+     */
+    protected void generateBusinessObjectDataDdlImpl(BusinessObjectDataDdlRequest request, boolean skipRequestValidation, Writer writer)
     {
         // Perform the validation.
         if (!skipRequestValidation)
@@ -1004,12 +1039,9 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
             s3BucketNames.put(storageEntity, s3BucketName);
         }
 
-        // Create and initialize a business object data DDL object instance.
-        BusinessObjectDataDdl businessObjectDataDdl = createBusinessObjectDataDdl(request);
-        businessObjectDataDdl.setDdl(ddlGeneratorFactory.getDdlGenerator(request.getOutputFormat())
-            .generateCreateTableDdl(request, businessObjectFormatEntity, customDdlEntity, storageNames, storageEntities, s3BucketNames));
-
-        return businessObjectDataDdl;
+        // Generate the DDL and write it to the writer.
+        ddlGeneratorFactory.getDdlGenerator(request.getOutputFormat())
+            .generateCreateTableDdl(request, businessObjectFormatEntity, customDdlEntity, storageNames, storageEntities, s3BucketNames, writer);
     }
 
     /**
@@ -16,8 +16,10 @@
 package org.finra.herd.service.impl;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.BooleanUtils;
@@ -29,6 +31,7 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Assert;
 
 import org.finra.herd.core.helper.ConfigurationHelper;
+import org.finra.herd.dao.S3ObjectSummaryIterator;
 import org.finra.herd.dao.StorageFileDao;
 import org.finra.herd.dao.config.DaoSpringModuleConfig;
 import org.finra.herd.model.AlreadyExistsException;
@@ -139,6 +142,11 @@ public class BusinessObjectDataStorageFileServiceImpl implements BusinessObjectD
             .format("Storage unit must be in the ENABLED status. Storage unit status {%s}, business object data {%s}", storageUnitEntity.getStatus().getCode(),
                 businessObjectDataHelper.businessObjectDataEntityAltKeyToString(businessObjectDataEntity)));
 
+        // Validate that the storage files of the storage unit are not compacted into a storage file manifest.
+        Assert.isNull(storageUnitEntity.getStorageFileManifest(),
+            String.format("Storage files can not be added to a storage unit with compacted storage files. Business object data {%s}",
+                businessObjectDataHelper.businessObjectDataEntityAltKeyToString(businessObjectDataEntity)));
+
         StorageEntity storageEntity = storageUnitEntity.getStorage();
 
         // Get the S3 validation flags.
@@ -298,8 +306,8 @@ public class BusinessObjectDataStorageFileServiceImpl implements BusinessObjectD
         // Validate that files in the request does not already exist in the database.
         if (StringUtils.isNotBlank(directoryPath))
         {
-            // Get a list of request storage file paths.
-            List<String> requestStorageFilePaths = storageFileHelper.getFilePathsFromStorageFiles(storageFiles);
+            // Get a set of request storage file paths, so each already registered storage file path is checked using a hash lookup.
+            Set<String> requestStorageFilePaths = new HashSet<>(storageFileHelper.getFilePathsFromStorageFiles(storageFiles));
 
             // Retrieve all already registered storage files from the storage that start with the directory path.
             List<String> registeredStorageFilePaths =
@@ -347,8 +355,17 @@ public class BusinessObjectDataStorageFileServiceImpl implements BusinessObjectD
             S3FileTransferRequestParamsDto params = storageHelper.getS3BucketAccessParams(storageUnitEntity.getStorage());
             params.setS3KeyPrefix(directoryPathWithTrailingSlash);
 
+            // Get the paths of all storage files to be validated.
+            List<String> filePaths = new ArrayList<>(storageFileEntities.keySet());
+            filePaths.addAll(storageFileHelper.getFilePathsFromStorageFiles(storageFiles));
+
             // When listing S3 files, we ignore 0 byte objects that represent S3 directories.
-            Map<String, StorageFile> actualS3Keys = storageFileHelper.getStorageFilesMapFromS3ObjectSummaries(s3Service.listDirectory(params, true));
+            // Only S3 files that match the storage files being validated are kept in memory.
+            Map<String, StorageFile> actualS3Keys;
+            try (S3ObjectSummaryIterator actualS3Files = s3Service.iterateDirectory(params, true))
+            {
+                actualS3Keys = storageFileHelper.getStorageFilesMapFromS3ObjectSummaries(actualS3Files, filePaths);
+            }
 
             // For the already registered storage files, validate each storage file against S3 keys and metadata reported by S3.
             for (Map.Entry<String, StorageFileEntity> entry : storageFileEntities.entrySet())
@@ -0,0 +1,131 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.service.impl;
+
+import java.sql.Timestamp;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import org.finra.herd.core.helper.ConfigurationHelper;
+import org.finra.herd.dao.CacheEvictionEventDao;
+import org.finra.herd.dao.config.DaoSpringModuleConfig;
+import org.finra.herd.model.dto.ConfigurationValue;
+import org.finra.herd.model.jpa.CacheEvictionEventEntity;
+import org.finra.herd.service.CacheEvictionService;
+import org.finra.herd.service.helper.CacheEvictionHelper;
+
+/**
+ * An implementation of the cache eviction service.
+ */
+@Service
+@Transactional(value = DaoSpringModuleConfig.HERD_TRANSACTION_MANAGER_BEAN_NAME)
+public class CacheEvictionServiceImpl implements CacheEvictionService
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(CacheEvictionServiceImpl.class);
+
+    @Autowired
+    private CacheEvictionEventDao cacheEvictionEventDao;
+
+    @Autowired
+    private CacheEvictionHelper cacheEvictionHelper;
+
+    @Autowired
+    private ConfigurationHelper configurationHelper;
+
+    /**
+     * The creation times of the cache eviction events already processed by this herd node, keyed by the cache eviction event ids. The events are forgotten once
+     * they fall out of the lookback period, since they are not selected again after that.
+     */
+    private final Map<Integer, Timestamp> processedCacheEvictionEvents = new ConcurrentHashMap<>();
+
+    @Override
+    public void publishCacheEviction(String cacheName)
+    {
+        if (!cacheEvictionHelper.isEvictableCache(cacheName))
+        {
+            throw new IllegalArgumentException(String.format("Cache \"%s\" can not be evicted.", cacheName));
+        }
+
+        // Persist the cache eviction event, so it only becomes visible to the other herd nodes if the current transaction commits.
+        CacheEvictionEventEntity cacheEvictionEventEntity = new CacheEvictionEventEntity();
+        cacheEvictionEventEntity.setCacheName(cacheName);
+        cacheEvictionEventEntity = cacheEvictionEventDao.saveAndRefresh(cacheEvictionEventEntity);
+
+        // Evict the cache on this herd node after the commit, so it is not re-populated with the values read before the change is committed. The event is
+        // marked as processed, so this herd node does not evict the cache again when it polls the cache eviction events.
+        Integer cacheEvictionEventId = cacheEvictionEventEntity.getId();
+        Timestamp cacheEvictionEventCreatedOn = cacheEvictionEventEntity.getCreatedOn();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter()
+        {
+            @Override
+            public void afterCommit()
+            {
+                processedCacheEvictionEvents.put(cacheEvictionEventId, cacheEvictionEventCreatedOn);
+                cacheEvictionHelper.evictCache(cacheName);
+            }
+        });
+    }
+
+    @Override
+    public void processCacheEvictionEvents()
+    {
+        long currentTimeMillis = System.currentTimeMillis();
+        Timestamp lookbackThreshold = new Timestamp(
+            currentTimeMillis - configurationHelper.getProperty(ConfigurationValue.HERD_CACHE_EVICTION_EVENT_LOOKBACK_SECONDS, Integer.class) * 1000L);
+
+        // Select the cache eviction events from the lookback period and evict each cache named by the events that have not been processed yet only once.
+        Set<String> cacheNames = new LinkedHashSet<>();
+        for (CacheEvictionEventEntity cacheEvictionEventEntity : cacheEvictionEventDao.getCacheEvictionEventsCreatedOnOrAfter(lookbackThreshold))
+        {
+            if (processedCacheEvictionEvents.putIfAbsent(cacheEvictionEventEntity.getId(), cacheEvictionEventEntity.getCreatedOn()) == null)
+            {
+                cacheNames.add(cacheEvictionEventEntity.getCacheName());
+            }
+        }
+        for (String cacheName : cacheNames)
+        {
+            if (cacheEvictionHelper.isEvictableCache(cacheName))
+            {
+                cacheEvictionHelper.evictCache(cacheName);
+            }
+            else
+            {
+                LOGGER.warn("Skipping cache eviction event for an unknown cache. cacheName=\"{}\"", cacheName);
+            }
+        }
+
+        // Forget the processed cache eviction events that fell out of the lookback period.
+        processedCacheEvictionEvents.values().removeIf(createdOn -> createdOn.before(lookbackThreshold));
+
+        // Delete the cache eviction events that are older than the retention period.
+        int deletedCacheEvictionEventCount = cacheEvictionEventDao.deleteCacheEvictionEventsCreatedBefore(new Timestamp(
+            currentTimeMillis - configurationHelper.getProperty(ConfigurationValue.HERD_CACHE_EVICTION_EVENT_RETENTION_SECONDS, Integer.class) * 1000L));
+        if (deletedCacheEvictionEventCount > 0)
+        {
+            LOGGER.info("Deleted expired cache eviction events. deletedCacheEvictionEventCount={}", deletedCacheEvictionEventCount);
+        }
+    }
+}
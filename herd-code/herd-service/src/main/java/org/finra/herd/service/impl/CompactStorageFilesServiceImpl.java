@@ -0,0 +1,144 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.service.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.Assert;
+
+import org.finra.herd.core.helper.ConfigurationHelper;
+import org.finra.herd.dao.StorageUnitDao;
+import org.finra.herd.dao.config.DaoSpringModuleConfig;
+import org.finra.herd.model.api.xml.BusinessObjectDataStorageUnitKey;
+import org.finra.herd.model.api.xml.StorageFile;
+import org.finra.herd.model.dto.ConfigurationValue;
+import org.finra.herd.model.jpa.StorageUnitEntity;
+import org.finra.herd.service.CompactStorageFilesService;
+import org.finra.herd.service.helper.BusinessObjectDataHelper;
+import org.finra.herd.service.helper.StorageFileHelper;
+import org.finra.herd.service.helper.StorageFileManifestHelper;
+import org.finra.herd.service.helper.StorageUnitDaoHelper;
+import org.finra.herd.service.helper.StorageUnitHelper;
+
+/**
+ * An implementation of the compact storage files service.
+ */
+@Service
+@Transactional(value = DaoSpringModuleConfig.HERD_TRANSACTION_MANAGER_BEAN_NAME)
+public class CompactStorageFilesServiceImpl implements CompactStorageFilesService
+{
+    @Autowired
+    private BusinessObjectDataHelper businessObjectDataHelper;
+
+    @Autowired
+    private ConfigurationHelper configurationHelper;
+
+    @Autowired
+    private StorageFileHelper storageFileHelper;
+
+    @Autowired
+    private StorageFileManifestHelper storageFileManifestHelper;
+
+    @Autowired
+    private StorageUnitDao storageUnitDao;
+
+    @Autowired
+    private StorageUnitDaoHelper storageUnitDaoHelper;
+
+    @Autowired
+    private StorageUnitHelper storageUnitHelper;
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * This implementation starts a new transaction.
+     */
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void compactS3StorageUnitStorageFiles(BusinessObjectDataStorageUnitKey businessObjectDataStorageUnitKey)
+    {
+        compactS3StorageUnitStorageFilesImpl(businessObjectDataStorageUnitKey);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * This implementation executes non-transactionally, suspends the current transaction if one exists.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<BusinessObjectDataStorageUnitKey> getS3StorageUnitsToCompactStorageFiles(int maxResult)
+    {
+        return getS3StorageUnitsToCompactStorageFilesImpl(maxResult);
+    }
+
+    /**
+     * Compacts the storage files registered with an S3 storage unit into a storage file manifest. The storage file entities of the storage unit get deleted.
+     *
+     * @param businessObjectDataStorageUnitKey the business object data storage unit key
+     */
+    void compactS3StorageUnitStorageFilesImpl(BusinessObjectDataStorageUnitKey businessObjectDataStorageUnitKey)
+    {
+        // Retrieve the storage unit entity.
+        StorageUnitEntity storageUnitEntity = storageUnitDaoHelper.getStorageUnitEntityByKey(businessObjectDataStorageUnitKey);
+
+        // Validate that the storage files of this storage unit are not compacted yet.
+        Assert.isNull(storageUnitEntity.getStorageFileManifest(), String
+            .format("Storage files are already compacted for the storage unit. Storage {%s}, business object data {%s}",
+                storageUnitEntity.getStorage().getName(),
+                businessObjectDataHelper.businessObjectDataEntityAltKeyToString(storageUnitEntity.getBusinessObjectData())));
+
+        // Create the storage file manifest from the storage files registered with the storage unit.
+        List<StorageFile> storageFiles = storageFileHelper.getStorageFiles(storageUnitEntity);
+        storageUnitEntity.setStorageFileManifest(storageFileManifestHelper.createStorageFileManifestEntity(storageFiles));
+
+        // Remove the storage file entities from the storage unit, so they get deleted as orphans.
+        storageUnitEntity.getStorageFiles().clear();
+
+        // Persist the changes.
+        storageUnitDao.saveAndRefresh(storageUnitEntity);
+    }
+
+    /**
+     * Retrieves a list of keys for S3 storage units that have enough storage files registered to get them compacted.
+     *
+     * @param maxResult the maximum number of results to retrieve
+     *
+     * @return the list of storage unit keys
+     */
+    List<BusinessObjectDataStorageUnitKey> getS3StorageUnitsToCompactStorageFilesImpl(int maxResult)
+    {
+        // Get the minimum number of storage files that an S3 storage unit must have registered to get its storage files compacted.
+        int minStorageFileCount = configurationHelper.getProperty(ConfigurationValue.COMPACT_STORAGE_FILES_MIN_STORAGE_FILES, Integer.class);
+
+        // Retrieve a list of enabled S3 storage units with enough storage files registered.
+        List<StorageUnitEntity> storageUnitEntities = storageUnitDao.getS3StorageUnitsToCompactStorageFiles(minStorageFileCount, maxResult);
+
+        // Build a list of storage unit keys.
+        List<BusinessObjectDataStorageUnitKey> storageUnitKeys = new ArrayList<>();
+        for (StorageUnitEntity storageUnitEntity : storageUnitEntities)
+        {
+            storageUnitKeys.add(storageUnitHelper.createStorageUnitKeyFromEntity(storageUnitEntity));
+        }
+
+        return storageUnitKeys;
+    }
+}
@@ -31,6 +31,7 @@ import org.finra.herd.model.jpa.FileTypeEntity;
 import org.finra.herd.service.FileTypeService;
 import org.finra.herd.service.helper.AlternateKeyHelper;
 import org.finra.herd.service.helper.FileTypeDaoHelper;
+import org.finra.herd.service.helper.ReferenceDataCacheHelper;
 
 /**
  * The file type service implementation.
@@ -48,6 +49,9 @@ public class FileTypeServiceImpl implements FileTypeService
     @Autowired
     private FileTypeDao fileTypeDao;
 
+    @Autowired
+    private ReferenceDataCacheHelper referenceDataCacheHelper;
+
     @Override
     public FileType createFileType(FileTypeCreateRequest fileTypeCreateRequest)
     {
@@ -68,6 +72,9 @@ public class FileTypeServiceImpl implements FileTypeService
         // Persist the new entity.
         fileTypeEntity = fileTypeDao.saveAndRefresh(fileTypeEntity);
 
+        // Evict the file types from the reference data cache.
+        referenceDataCacheHelper.evictReferenceData(FileTypeEntity.class);
+
         // Create and return the file type object from the persisted entity.
         return createFileTypeFromEntity(fileTypeEntity);
     }
@@ -97,6 +104,9 @@ public class FileTypeServiceImpl implements FileTypeService
         // Delete the file type
         fileTypeDao.delete(fileTypeEntity);
 
+        // Evict the file types from the reference data cache.
+        referenceDataCacheHelper.evictReferenceData(FileTypeEntity.class);
+
         // Create and return the file type object from the persisted entity.
         return createFileTypeFromEntity(fileTypeEntity);
     }
@@ -0,0 +1,48 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.service.impl;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import org.finra.herd.dao.MetricsRegistry;
+import org.finra.herd.service.MetricsService;
+
+/**
+ * The metrics service implementation.
+ */
+@Service
+public class MetricsServiceImpl implements MetricsService
+{
+    @Autowired
+    private MetricsRegistry metricsRegistry;
+
+    @Override
+    public void writeMetrics(Writer writer)
+    {
+        try
+        {
+            metricsRegistry.writeMetrics(writer);
+        }
+        catch (IOException e)
+        {
+            throw new IllegalStateException("Failed to write the metrics.", e);
+        }
+    }
+}
@@ -31,6 +31,8 @@ import org.finra.herd.service.NamespaceService;
 import org.finra.herd.service.helper.AlternateKeyHelper;
 import org.finra.herd.service.helper.NamespaceDaoHelper;
 import org.finra.herd.service.helper.NamespaceHelper;
+import org.finra.herd.service.helper.ReferenceDataCacheHelper;
+import org.finra.herd.service.helper.UserNamespaceAuthorizationHelper;
 
 /**
  * The namespace service implementation.
@@ -51,6 +53,12 @@ public class NamespaceServiceImpl implements NamespaceService
     @Autowired
     private NamespaceHelper namespaceHelper;
 
+    @Autowired
+    private ReferenceDataCacheHelper referenceDataCacheHelper;
+
+    @Autowired
+    private UserNamespaceAuthorizationHelper userNamespaceAuthorizationHelper;
+
     @Override
     public Namespace createNamespace(NamespaceCreateRequest request)
     {
@@ -73,6 +81,12 @@ public class NamespaceServiceImpl implements NamespaceService
         // Persist the new entity.
         namespaceEntity = namespaceDao.saveAndRefresh(namespaceEntity);
 
+        // Evict the namespaces from the reference data cache.
+        referenceDataCacheHelper.evictReferenceData(NamespaceEntity.class);
+
+        // Evict the resolved namespace authorizations of the users, since they include all namespaces for the namespace authorization administrators.
+        userNamespaceAuthorizationHelper.evictNamespaceAuthorizations();
+
         // Create and return the namespace object from the persisted entity.
         return createNamespaceFromEntity(namespaceEntity);
     }
@@ -102,6 +116,12 @@ public class NamespaceServiceImpl implements NamespaceService
         // Delete the namespace.
         namespaceDao.delete(namespaceEntity);
 
+        // Evict the namespaces from the reference data cache.
+        referenceDataCacheHelper.evictReferenceData(NamespaceEntity.class);
+
+        // Evict the resolved namespace authorizations of the users, since they include all namespaces for the namespace authorization administrators.
+        userNamespaceAuthorizationHelper.evictNamespaceAuthorizations();
+
         // Create and return the namespace object from the deleted entity.
         return createNamespaceFromEntity(namespaceEntity);
     }
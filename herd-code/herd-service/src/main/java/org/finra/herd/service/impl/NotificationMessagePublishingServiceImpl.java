@@ -16,15 +16,25 @@
 package org.finra.herd.service.impl;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 
 import com.amazonaws.services.sns.model.PublishResult;
+import com.amazonaws.services.sqs.model.BatchResultErrorEntry;
+import com.amazonaws.services.sqs.model.SendMessageBatchResult;
+import com.amazonaws.services.sqs.model.SendMessageBatchResultEntry;
 import com.amazonaws.services.sqs.model.SendMessageResult;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.time.StopWatch;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
@@ -35,6 +45,7 @@ import org.finra.herd.dao.SqsDao;
 import org.finra.herd.dao.config.DaoSpringModuleConfig;
 import org.finra.herd.dao.helper.AwsHelper;
 import org.finra.herd.dao.helper.JsonHelper;
+import org.finra.herd.model.dto.AwsParamsDto;
 import org.finra.herd.model.dto.MessageHeader;
 import org.finra.herd.model.dto.NotificationMessage;
 import org.finra.herd.model.jpa.MessageTypeEntity;
@@ -66,6 +77,9 @@ public class NotificationMessagePublishingServiceImpl implements NotificationMes
     @Autowired
     private SnsDao snsDao;
 
+    @Autowired
+    private TaskExecutor snsNotificationPublishingTaskExecutor;
+
     @Autowired
     private SqsDao sqsDao;
 
@@ -105,6 +119,18 @@ public class NotificationMessagePublishingServiceImpl implements NotificationMes
         return publishOldestNotificationMessageFromDatabaseQueueImpl();
     }
 
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * This implementation starts a new transaction.
+     */
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int publishOldestNotificationMessagesFromDatabaseQueue(int maxResults)
+    {
+        return publishOldestNotificationMessagesFromDatabaseQueueImpl(maxResults);
+    }
+
     /**
      * Adds a notification message to the database queue.
      *
@@ -195,27 +221,8 @@ public class NotificationMessagePublishingServiceImpl implements NotificationMes
         // If message is retrieved, publish and remove it from the queue.
         if (notificationMessageEntity != null)
         {
-            // Get the message headers from the entity.
-            List<MessageHeader> messageHeaders = null;
-            if (StringUtils.isNotBlank(notificationMessageEntity.getMessageHeaders()))
-            {
-                try
-                {
-                    messageHeaders = jsonHelper.unmarshallJsonToListOfObjects(MessageHeader.class, notificationMessageEntity.getMessageHeaders());
-                }
-                catch (IOException e)
-                {
-                    throw new IllegalStateException(String.format("Failed to unmarshall notification message headers. " +
-                        "messageId=%d messageType=%s messageDestination=%s messageText=%s messageHeaders=%s", notificationMessageEntity.getId(),
-                        notificationMessageEntity.getMessageType().getCode(), notificationMessageEntity.getMessageDestination(),
-                        notificationMessageEntity.getMessageText(), notificationMessageEntity.getMessageHeaders()), e);
-                }
-            }
-
             // Publish notification message.
-            publishNotificationMessageImpl(
-                new NotificationMessage(notificationMessageEntity.getMessageType().getCode(), notificationMessageEntity.getMessageDestination(),
-                    notificationMessageEntity.getMessageText(), messageHeaders));
+            publishNotificationMessageImpl(getNotificationMessage(notificationMessageEntity));
 
             // Delete this message from the queue.
             notificationMessageDao.delete(notificationMessageEntity);
@@ -226,4 +233,241 @@ public class NotificationMessagePublishingServiceImpl implements NotificationMes
 
         return result;
     }
+
+    /**
+     * Publishes and removes from the database queue a batch of the oldest notification messages. The SQS notification messages are published using SQS batch
+     * requests, grouped by their destination queues, and the SNS notification messages are published in parallel. Only the notification messages that were
+     * successfully published get removed from the queue, using a single delete statement.
+     *
+     * @param maxResults the maximum number of notification messages to publish
+     *
+     * @return the number of notification messages that were successfully published
+     */
+    protected int publishOldestNotificationMessagesFromDatabaseQueueImpl(int maxResults)
+    {
+        StopWatch stopWatch = new StopWatch();
+        stopWatch.start();
+
+        // Retrieve and lock the oldest notification messages from the database queue.
+        List<NotificationMessageEntity> notificationMessageEntities = notificationMessageDao.getOldestNotificationMessages(maxResults);
+
+        // Group the notification messages per message type and SQS destination.
+        Map<String, List<NotificationMessageEntity>> sqsNotificationMessageEntities = new LinkedHashMap<>();
+        List<NotificationMessageEntity> snsNotificationMessageEntities = new ArrayList<>();
+        for (NotificationMessageEntity notificationMessageEntity : notificationMessageEntities)
+        {
+            String messageType = notificationMessageEntity.getMessageType().getCode();
+
+            if (messageType.equals(MessageTypeEntity.MessageEventTypes.SQS.name()))
+            {
+                sqsNotificationMessageEntities.computeIfAbsent(notificationMessageEntity.getMessageDestination(), key -> new ArrayList<>())
+                    .add(notificationMessageEntity);
+            }
+            else if (messageType.equals(MessageTypeEntity.MessageEventTypes.SNS.name()))
+            {
+                snsNotificationMessageEntities.add(notificationMessageEntity);
+            }
+            else
+            {
+                LOGGER.error("Notification message type \"{}\" is not supported. messageId={} messageDestination=\"{}\"", messageType,
+                    notificationMessageEntity.getId(), notificationMessageEntity.getMessageDestination());
+            }
+        }
+
+        // Publish the notification messages and collect ids of the notification messages that were successfully published.
+        AwsParamsDto awsParamsDto = awsHelper.getAwsParamsDto();
+        List<Integer> publishedNotificationMessageIds = new ArrayList<>();
+        for (Map.Entry<String, List<NotificationMessageEntity>> entry : sqsNotificationMessageEntities.entrySet())
+        {
+            publishedNotificationMessageIds.addAll(publishSqsNotificationMessages(awsParamsDto, entry.getKey(), entry.getValue()));
+        }
+        publishedNotificationMessageIds.addAll(publishSnsNotificationMessages(snsNotificationMessageEntities));
+
+        // Delete the published messages from the queue.
+        notificationMessageDao.deleteNotificationMessages(publishedNotificationMessageIds);
+
+        // Log the batch metrics.
+        stopWatch.stop();
+        LOGGER.info("Published a batch of notification messages from the database queue. claimedMessageCount={} publishedMessageCount={} " +
+                "failedMessageCount={} sqsQueueCount={} snsMessageCount={} totalElapsedTimeMs={}", notificationMessageEntities.size(),
+            publishedNotificationMessageIds.size(), notificationMessageEntities.size() - publishedNotificationMessageIds.size(),
+            sqsNotificationMessageEntities.size(), snsNotificationMessageEntities.size(), stopWatch.getTime());
+
+        return publishedNotificationMessageIds.size();
+    }
+
+    /**
+     * Creates a notification message from the specified notification message entity.
+     *
+     * @param notificationMessageEntity the notification message entity
+     *
+     * @return the notification message
+     */
+    private NotificationMessage getNotificationMessage(NotificationMessageEntity notificationMessageEntity)
+    {
+        // Get the message headers from the entity.
+        List<MessageHeader> messageHeaders = null;
+        if (StringUtils.isNotBlank(notificationMessageEntity.getMessageHeaders()))
+        {
+            try
+            {
+                messageHeaders = jsonHelper.unmarshallJsonToListOfObjects(MessageHeader.class, notificationMessageEntity.getMessageHeaders());
+            }
+            catch (IOException e)
+            {
+                throw new IllegalStateException(String.format("Failed to unmarshall notification message headers. " +
+                    "messageId=%d messageType=%s messageDestination=%s messageText=%s messageHeaders=%s", notificationMessageEntity.getId(),
+                    notificationMessageEntity.getMessageType().getCode(), notificationMessageEntity.getMessageDestination(),
+                    notificationMessageEntity.getMessageText(), notificationMessageEntity.getMessageHeaders()), e);
+            }
+        }
+
+        return new NotificationMessage(notificationMessageEntity.getMessageType().getCode(), notificationMessageEntity.getMessageDestination(),
+            notificationMessageEntity.getMessageText(), messageHeaders);
+    }
+
+    /**
+     * Publishes SQS notification messages to a single SQS queue using SQS batch requests.
+     *
+     * @param awsParamsDto the AWS related parameters
+     * @param queueName the name of the SQS queue
+     * @param notificationMessageEntities the list of notification message entities to publish
+     *
+     * @return the list of ids of the notification messages that were successfully published
+     */
+    private List<Integer> publishSqsNotificationMessages(AwsParamsDto awsParamsDto, String queueName,
+        List<NotificationMessageEntity> notificationMessageEntities)
+    {
+        List<Integer> publishedNotificationMessageIds = new ArrayList<>();
+
+        // Build the notification messages. Messages with headers that can not be unmarshalled are kept in the queue.
+        List<NotificationMessageEntity> validNotificationMessageEntities = new ArrayList<>();
+        List<NotificationMessage> notificationMessages = new ArrayList<>();
+        for (NotificationMessageEntity notificationMessageEntity : notificationMessageEntities)
+        {
+            try
+            {
+                notificationMessages.add(getNotificationMessage(notificationMessageEntity));
+                validNotificationMessageEntities.add(notificationMessageEntity);
+            }
+            catch (IllegalStateException e)
+            {
+                LOGGER.error(e.getMessage(), e);
+            }
+        }
+
+        if (notificationMessages.isEmpty())
+        {
+            return publishedNotificationMessageIds;
+        }
+
+        try
+        {
+            List<String> messageTexts = new ArrayList<>();
+            List<List<MessageHeader>> messageHeaders = new ArrayList<>();
+            for (NotificationMessage notificationMessage : notificationMessages)
+            {
+                messageTexts.add(notificationMessage.getMessageText());
+                messageHeaders.add(notificationMessage.getMessageHeaders());
+            }
+            SendMessageBatchResult sendMessageBatchResult = sqsDao.sendMessageBatch(awsParamsDto, queueName, messageTexts, messageHeaders);
+
+            // The result entry ids are the indexes of the relative messages in the list of sent messages.
+            for (SendMessageBatchResultEntry sendMessageBatchResultEntry : sendMessageBatchResult.getSuccessful())
+            {
+                int index = Integer.parseInt(sendMessageBatchResultEntry.getId());
+                NotificationMessage notificationMessage = notificationMessages.get(index);
+                publishedNotificationMessageIds.add(validNotificationMessageEntities.get(index).getId());
+
+                LOGGER.info("Published {} notification message. messageDestination=\"{}\" messageText={} messageHeaders={} sendMessageBatchResultEntry={}",
+                    notificationMessage.getMessageType(), notificationMessage.getMessageDestination(), notificationMessage.getMessageText(),
+                    jsonHelper.objectToJson(notificationMessage.getMessageHeaders()), jsonHelper.objectToJson(sendMessageBatchResultEntry));
+            }
+
+            for (BatchResultErrorEntry batchResultErrorEntry : sendMessageBatchResult.getFailed())
+            {
+                NotificationMessage notificationMessage = notificationMessages.get(Integer.parseInt(batchResultErrorEntry.getId()));
+
+                LOGGER.error("Failed to publish {} notification message to \"{}\" destination. messageText={} messageHeaders={} batchResultErrorEntry={}",
+                    notificationMessage.getMessageType(), notificationMessage.getMessageDestination(), notificationMessage.getMessageText(),
+                    jsonHelper.objectToJson(notificationMessage.getMessageHeaders()), jsonHelper.objectToJson(batchResultErrorEntry));
+            }
+        }
+        catch (RuntimeException e)
+        {
+            // Keep all notification messages for this queue in the database queue.
+            LOGGER.error("Failed to publish {} notification messages to \"{}\" destination. messageCount={}", MessageTypeEntity.MessageEventTypes.SQS.name(),
+                queueName, notificationMessages.size(), e);
+        }
+
+        return publishedNotificationMessageIds;
+    }
+
+    /**
+     * Publishes SNS notification messages in parallel using the shared bounded SNS notification publishing thread pool.
+     *
+     * @param notificationMessageEntities the list of notification message entities to publish
+     *
+     * @return the list of ids of the notification messages that were successfully published
+     */
+    private List<Integer> publishSnsNotificationMessages(List<NotificationMessageEntity> notificationMessageEntities)
+    {
+        List<Integer> publishedNotificationMessageIds = new ArrayList<>();
+
+        if (notificationMessageEntities.isEmpty())
+        {
+            return publishedNotificationMessageIds;
+        }
+
+        // Submit a publish task per notification message. The notification messages are built on the current thread, since the entities are bound to the
+        // current persistence context. The publishing implementation logs both successes and failures.
+        Map<Integer, FutureTask<Void>> futures = new LinkedHashMap<>();
+        try
+        {
+            for (NotificationMessageEntity notificationMessageEntity : notificationMessageEntities)
+            {
+                try
+                {
+                    NotificationMessage notificationMessage = getNotificationMessage(notificationMessageEntity);
+                    FutureTask<Void> future = new FutureTask<>(() -> publishNotificationMessageImpl(notificationMessage), null);
+                    futures.put(notificationMessageEntity.getId(), future);
+                    snsNotificationPublishingTaskExecutor.execute(future);
+                }
+                catch (IllegalStateException e)
+                {
+                    LOGGER.error(e.getMessage(), e);
+                }
+            }
+
+            // Wait for the tasks to complete and collect the notification messages that were successfully published.
+            for (Map.Entry<Integer, FutureTask<Void>> entry : futures.entrySet())
+            {
+                try
+                {
+                    entry.getValue().get();
+                    publishedNotificationMessageIds.add(entry.getKey());
+                }
+                catch (ExecutionException e)
+                {
+                    LOGGER.error("Failed to publish {} notification message. messageId={}", MessageTypeEntity.MessageEventTypes.SNS.name(), entry.getKey(),
+                        e.getCause());
+                }
+            }
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while publishing SNS notification messages.", e);
+        }
+        finally
+        {
+            // Cancel the tasks that have not started yet, if we stopped waiting for them.
+            for (FutureTask<Void> future : futures.values())
+            {
+                future.cancel(false);
+            }
+        }
+
+        return publishedNotificationMessageIds;
+    }
 }
@@ -31,6 +31,7 @@ import org.finra.herd.model.jpa.PartitionKeyGroupEntity;
 import org.finra.herd.service.PartitionKeyGroupService;
 import org.finra.herd.service.helper.PartitionKeyGroupDaoHelper;
 import org.finra.herd.service.helper.PartitionKeyGroupHelper;
+import org.finra.herd.service.helper.ReferenceDataCacheHelper;
 
 /**
  * The partition key group service implementation.
@@ -51,6 +52,9 @@ public class PartitionKeyGroupServiceImpl implements PartitionKeyGroupService
     @Autowired
     private PartitionKeyGroupHelper partitionKeyGroupHelper;
 
+    @Autowired
+    private ReferenceDataCacheHelper referenceDataCacheHelper;
+
     /**
      * Creates a new partition key group.
      *
@@ -78,6 +82,9 @@ public class PartitionKeyGroupServiceImpl implements PartitionKeyGroupService
         // Persist the new entity.
         partitionKeyGroupEntity = partitionKeyGroupDao.saveAndRefresh(partitionKeyGroupEntity);
 
+        // Evict the partition key groups from the reference data cache.
+        referenceDataCacheHelper.evictReferenceData(PartitionKeyGroupEntity.class);
+
         // Create and return the partition key group object from the persisted entity.
         return createPartitionKeyGroupFromEntity(partitionKeyGroupEntity);
     }
@@ -128,6 +135,9 @@ public class PartitionKeyGroupServiceImpl implements PartitionKeyGroupService
         // Delete the partition key group.
         partitionKeyGroupDao.delete(partitionKeyGroupEntity);
 
+        // Evict the partition key groups from the reference data cache.
+        referenceDataCacheHelper.evictReferenceData(PartitionKeyGroupEntity.class);
+
         // Create and return the partition key group object from the deleted entity.
         return createPartitionKeyGroupFromEntity(partitionKeyGroupEntity);
     }
@@ -15,8 +15,10 @@
 */
 package org.finra.herd.service.impl;
 
+import java.io.InputStream;
 import java.util.List;
 
+import com.amazonaws.services.s3.model.PartETag;
 import com.amazonaws.services.s3.model.S3ObjectSummary;
 import com.amazonaws.services.s3.model.Tag;
 import org.slf4j.Logger;
@@ -26,6 +28,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import org.finra.herd.dao.S3Dao;
+import org.finra.herd.dao.S3ObjectSummaryIterator;
 import org.finra.herd.dao.config.DaoSpringModuleConfig;
 import org.finra.herd.model.dto.S3FileCopyRequestParamsDto;
 import org.finra.herd.model.dto.S3FileTransferRequestParamsDto;
@@ -46,6 +49,18 @@ public class S3ServiceImpl implements S3Service
     @Autowired
     private S3Dao s3Dao;
 
+    @Override
+    public void abortMultipartUpload(S3FileTransferRequestParamsDto params, String uploadId)
+    {
+        s3Dao.abortMultipartUpload(params, uploadId);
+    }
+
+    @Override
+    public String completeMultipartUpload(S3FileTransferRequestParamsDto params, String uploadId, List<PartETag> partETags)
+    {
+        return s3Dao.completeMultipartUpload(params, uploadId, partETags);
+    }
+
     @Override
     public S3FileTransferResultsDto copyFile(S3FileCopyRequestParamsDto params) throws InterruptedException
     {
@@ -95,6 +110,18 @@ public class S3ServiceImpl implements S3Service
         return s3Dao.downloadFile(params);
     }
 
+    @Override
+    public long downloadFileRange(S3FileTransferRequestParamsDto params, long startByte, long endByte)
+    {
+        return s3Dao.downloadFileRange(params, startByte, endByte);
+    }
+
+    @Override
+    public String initiateMultipartUpload(S3FileTransferRequestParamsDto params)
+    {
+        return s3Dao.initiateMultipartUpload(params);
+    }
+
     @Override
     public List<S3ObjectSummary> listDirectory(S3FileTransferRequestParamsDto params)
     {
@@ -108,6 +135,12 @@ public class S3ServiceImpl implements S3Service
         return s3Dao.listDirectory(params, ignoreZeroByteDirectoryMarkers);
     }
 
+    @Override
+    public S3ObjectSummaryIterator iterateDirectory(S3FileTransferRequestParamsDto params, boolean ignoreZeroByteDirectoryMarkers)
+    {
+        return s3Dao.iterateDirectory(params, ignoreZeroByteDirectoryMarkers);
+    }
+
     @Override
     public void restoreObjects(final S3FileTransferRequestParamsDto params, int expirationInDays)
     {
@@ -139,6 +172,12 @@ public class S3ServiceImpl implements S3Service
         return s3Dao.uploadFileList(params);
     }
 
+    @Override
+    public String uploadPart(S3FileTransferRequestParamsDto params, String uploadId, int partNumber, InputStream inputStream, long partSize, String md5Digest)
+    {
+        return s3Dao.uploadPart(params, uploadId, partNumber, inputStream, partSize, md5Digest);
+    }
+
     @Override
     public void validateGlacierS3FilesRestored(S3FileTransferRequestParamsDto params) throws RuntimeException
     {
@@ -0,0 +1,156 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.service.impl;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import org.finra.herd.core.helper.ConfigurationHelper;
+import org.finra.herd.dao.BusinessObjectDefinitionDao;
+import org.finra.herd.dao.IndexFunctionsDao;
+import org.finra.herd.dao.TagDao;
+import org.finra.herd.dao.config.DaoSpringModuleConfig;
+import org.finra.herd.model.dto.ConfigurationValue;
+import org.finra.herd.model.jpa.BusinessObjectDefinitionEntity;
+import org.finra.herd.model.jpa.TagEntity;
+import org.finra.herd.service.SearchIndexDocumentHelperService;
+import org.finra.herd.service.helper.BusinessObjectDefinitionHelper;
+import org.finra.herd.service.helper.TagHelper;
+
+/**
+ * An implementation of the helper service class that indexes chunks of entities when a search index gets fully built.
+ */
+@Service
+@Transactional(value = DaoSpringModuleConfig.HERD_TRANSACTION_MANAGER_BEAN_NAME)
+public class SearchIndexDocumentHelperServiceImpl implements SearchIndexDocumentHelperService
+{
+    @Autowired
+    private BusinessObjectDefinitionDao businessObjectDefinitionDao;
+
+    @Autowired
+    private BusinessObjectDefinitionHelper businessObjectDefinitionHelper;
+
+    @Autowired
+    private ConfigurationHelper configurationHelper;
+
+    @Autowired
+    private IndexFunctionsDao indexFunctionsDao;
+
+    @Autowired
+    private TagDao tagDao;
+
+    @Autowired
+    private TagHelper tagHelper;
+
+    @Override
+    public int indexBusinessObjectDefinitions(String searchIndexName, String documentType, List<Integer> businessObjectDefinitionIds)
+    {
+        List<BusinessObjectDefinitionEntity> businessObjectDefinitionEntities =
+            businessObjectDefinitionDao.getAllBusinessObjectDefinitionsByIds(businessObjectDefinitionIds);
+
+        // Convert the business object definition entities to JSON documents.
+        Map<String, String> documentMap = new LinkedHashMap<>();
+        for (BusinessObjectDefinitionEntity businessObjectDefinitionEntity : businessObjectDefinitionEntities)
+        {
+            // Fetch Join with .size()
+            businessObjectDefinitionEntity.getAttributes().size();
+            businessObjectDefinitionEntity.getBusinessObjectDefinitionTags().size();
+            businessObjectDefinitionEntity.getBusinessObjectFormats().size();
+            businessObjectDefinitionEntity.getColumns().size();
+            businessObjectDefinitionEntity.getSampleDataFiles().size();
+            businessObjectDefinitionEntity.getSubjectMatterExperts().size();
+
+            String jsonString = businessObjectDefinitionHelper.safeObjectMapperWriteValueAsString(businessObjectDefinitionEntity);
+
+            if (StringUtils.isNotEmpty(jsonString))
+            {
+                documentMap.put(businessObjectDefinitionEntity.getId().toString(), jsonString);
+            }
+        }
+
+        // Send the documents to the search index.
+        createIndexDocuments(searchIndexName, documentType, documentMap);
+
+        return businessObjectDefinitionEntities.size();
+    }
+
+    @Override
+    public int indexTags(String searchIndexName, String documentType, List<Integer> tagIds)
+    {
+        List<TagEntity> tagEntities = tagDao.getTagsByIds(tagIds);
+
+        // Convert the tag entities to JSON documents.
+        Map<String, String> documentMap = new LinkedHashMap<>();
+        for (TagEntity tagEntity : tagEntities)
+        {
+            // Fetch Join with .size()
+            tagEntity.getChildrenTagEntities().size();
+
+            String jsonString = tagHelper.safeObjectMapperWriteValueAsString(tagEntity);
+
+            if (StringUtils.isNotEmpty(jsonString))
+            {
+                documentMap.put(tagEntity.getId().toString(), jsonString);
+            }
+        }
+
+        // Send the documents to the search index.
+        createIndexDocuments(searchIndexName, documentType, documentMap);
+
+        return tagEntities.size();
+    }
+
+    /**
+     * Sends the documents to the search index using bulk requests, starting a new bulk request whenever the total size of the documents in the current
+     * request would exceed the configured maximum. A failed bulk request fails the indexing of the chunk.
+     *
+     * @param searchIndexName the name of the search index
+     * @param documentType the document type
+     * @param documentMap the map of document ids to JSON documents
+     */
+    private void createIndexDocuments(String searchIndexName, String documentType, Map<String, String> documentMap)
+    {
+        int maxBulkRequestBytes = configurationHelper.getProperty(ConfigurationValue.SEARCH_INDEX_REINDEX_BULK_REQUEST_MAX_BYTES, Integer.class);
+
+        Map<String, String> bulkDocumentMap = new LinkedHashMap<>();
+        long bulkRequestBytes = 0;
+        for (Map.Entry<String, String> entry : documentMap.entrySet())
+        {
+            // The string length is used as an approximation of the document size.
+            int documentBytes = entry.getValue().length();
+            if (!bulkDocumentMap.isEmpty() && bulkRequestBytes + documentBytes > maxBulkRequestBytes)
+            {
+                indexFunctionsDao.createIndexDocuments(searchIndexName, documentType, bulkDocumentMap);
+                bulkDocumentMap = new LinkedHashMap<>();
+                bulkRequestBytes = 0;
+            }
+
+            bulkDocumentMap.put(entry.getKey(), entry.getValue());
+            bulkRequestBytes += documentBytes;
+        }
+
+        if (!bulkDocumentMap.isEmpty())
+        {
+            indexFunctionsDao.createIndexDocuments(searchIndexName, documentType, bulkDocumentMap);
+        }
+    }
+}
@@ -15,30 +15,38 @@
 */
 package org.finra.herd.service.impl;
 
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
+import org.apache.commons.lang3.time.StopWatch;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.annotation.AsyncResult;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import org.finra.herd.core.helper.ConfigurationHelper;
 import org.finra.herd.dao.BusinessObjectDefinitionDao;
 import org.finra.herd.dao.IndexFunctionsDao;
 import org.finra.herd.dao.TagDao;
 import org.finra.herd.dao.config.DaoSpringModuleConfig;
 import org.finra.herd.model.api.xml.SearchIndexKey;
-import org.finra.herd.model.jpa.BusinessObjectDefinitionEntity;
+import org.finra.herd.model.dto.ConfigurationValue;
 import org.finra.herd.model.jpa.SearchIndexStatusEntity;
-import org.finra.herd.model.jpa.TagEntity;
+import org.finra.herd.service.SearchIndexDocumentHelperService;
 import org.finra.herd.service.SearchIndexHelperService;
-import org.finra.herd.service.helper.BusinessObjectDefinitionHelper;
 import org.finra.herd.service.helper.SearchIndexDaoHelper;
-import org.finra.herd.service.helper.TagHelper;
+import org.finra.herd.service.helper.SearchIndexProgressHelper;
 
 /**
  * An implementation of the helper service class for the search index service.
@@ -47,24 +55,28 @@ import org.finra.herd.service.helper.TagHelper;
 @Transactional(value = DaoSpringModuleConfig.HERD_TRANSACTION_MANAGER_BEAN_NAME)
 public class SearchIndexHelperServiceImpl implements SearchIndexHelperService
 {
-    public static final int BUSINESS_OBJECT_DEFINITIONS_CHUNK_SIZE = 100;
-
     private static final Logger LOGGER = LoggerFactory.getLogger(SearchIndexHelperServiceImpl.class);
 
     @Autowired
     private BusinessObjectDefinitionDao businessObjectDefinitionDao;
 
     @Autowired
-    private BusinessObjectDefinitionHelper businessObjectDefinitionHelper;
+    private ConfigurationHelper configurationHelper;
 
     @Autowired
     private SearchIndexDaoHelper searchIndexDaoHelper;
 
     @Autowired
-    private TagDao tagDao;
+    private SearchIndexDocumentHelperService searchIndexDocumentHelperService;
+
+    @Autowired
+    private SearchIndexProgressHelper searchIndexProgressHelper;
 
     @Autowired
-    private TagHelper tagHelper;
+    private TaskExecutor searchIndexReindexTaskExecutor;
+
+    @Autowired
+    private TagDao tagDao;
 
     @Autowired
     private IndexFunctionsDao indexFunctionsDao;
@@ -73,30 +85,27 @@ public class SearchIndexHelperServiceImpl implements SearchIndexHelperService
     @Async
     public Future<Void> indexAllBusinessObjectDefinitions(SearchIndexKey searchIndexKey, String documentType)
     {
-        // Index all business object definitions defined in the system using pagination.
-        int startPosition = 0;
-        int processedBusinessObjectDefinitionsCount = 0;
-        List<BusinessObjectDefinitionEntity> businessObjectDefinitionEntities;
-        while ((businessObjectDefinitionEntities =
-            businessObjectDefinitionDao.getAllBusinessObjectDefinitions(startPosition, BUSINESS_OBJECT_DEFINITIONS_CHUNK_SIZE)).size() > 0)
+        final String searchIndexName = searchIndexKey.getSearchIndexName();
+
+        // Index all business object definitions defined in the system using keyset pagination over the business object definition ids.
+        searchIndexProgressHelper.startProgress(searchIndexName, businessObjectDefinitionDao.getCountOfAllBusinessObjectDefinitions());
+        try
         {
-            // Index business object definitions selected for processing.
-            businessObjectDefinitionHelper
-                .executeFunctionForBusinessObjectDefinitionEntities(searchIndexKey.getSearchIndexName(), documentType, businessObjectDefinitionEntities,
-                    indexFunctionsDao::createIndexDocument);
+            int processedBusinessObjectDefinitionsCount = indexAllEntities(searchIndexName, businessObjectDefinitionDao::getBusinessObjectDefinitionIds,
+                businessObjectDefinitionIds -> searchIndexDocumentHelperService
+                    .indexBusinessObjectDefinitions(searchIndexName, documentType, businessObjectDefinitionIds));
 
-            // Increment the offset.
-            startPosition += BUSINESS_OBJECT_DEFINITIONS_CHUNK_SIZE;
+            // Perform a simple count validation, index size should equal entity list size.
+            validateSearchIndexSize(searchIndexName, documentType, processedBusinessObjectDefinitionsCount);
 
-            // Increment the total count of processed business object definition entities.
-            processedBusinessObjectDefinitionsCount += businessObjectDefinitionEntities.size();
+            // Update search index status to READY.
+            searchIndexDaoHelper.updateSearchIndexStatus(searchIndexKey, SearchIndexStatusEntity.SearchIndexStatuses.READY.name());
+        }
+        finally
+        {
+            // Stop tracking the progress whether the search index got built or not.
+            searchIndexProgressHelper.removeProgress(searchIndexName);
         }
-
-        // Perform a simple count validation, index size should equal entity list size.
-        validateSearchIndexSize(searchIndexKey.getSearchIndexName(), documentType, processedBusinessObjectDefinitionsCount);
-
-        // Update search index status to READY.
-        searchIndexDaoHelper.updateSearchIndexStatus(searchIndexKey, SearchIndexStatusEntity.SearchIndexStatuses.READY.name());
 
         // Return an AsyncResult so callers will know the future is "done". They can call "isDone" to know when this method has completed and they can call
         // "get" to see if any exceptions were thrown.
@@ -107,23 +116,153 @@ public class SearchIndexHelperServiceImpl implements SearchIndexHelperService
     @Async
     public Future<Void> indexAllTags(SearchIndexKey searchIndexKey, String documentType)
     {
-        // Get a list of all tags
-        final List<TagEntity> tagEntities = Collections.unmodifiableList(tagDao.getTags());
+        final String searchIndexName = searchIndexKey.getSearchIndexName();
 
-        // Index all tags.
-        tagHelper.executeFunctionForTagEntities(searchIndexKey.getSearchIndexName(), documentType, tagEntities, indexFunctionsDao::createIndexDocument);
+        // Index all tags using keyset pagination over the tag ids.
+        searchIndexProgressHelper.startProgress(searchIndexName, tagDao.getCountOfAllTags());
+        try
+        {
+            int processedTagsCount = indexAllEntities(searchIndexName, tagDao::getTagIds,
+                tagIds -> searchIndexDocumentHelperService.indexTags(searchIndexName, documentType, tagIds));
 
-        // Simple count validation, index size should equal entity list size.
-        validateSearchIndexSize(searchIndexKey.getSearchIndexName(), documentType, tagEntities.size());
+            // Simple count validation, index size should equal entity list size.
+            validateSearchIndexSize(searchIndexName, documentType, processedTagsCount);
 
-        // Update search index status to READY.
-        searchIndexDaoHelper.updateSearchIndexStatus(searchIndexKey, SearchIndexStatusEntity.SearchIndexStatuses.READY.name());
+            // Update search index status to READY.
+            searchIndexDaoHelper.updateSearchIndexStatus(searchIndexKey, SearchIndexStatusEntity.SearchIndexStatuses.READY.name());
+        }
+        finally
+        {
+            // Stop tracking the progress whether the search index got built or not.
+            searchIndexProgressHelper.removeProgress(searchIndexName);
+        }
 
         // Return an AsyncResult so callers will know the future is "done". They can call "isDone" to know when this method has completed and they can call
         // "get" to see if any exceptions were thrown.
         return new AsyncResult<>(null);
     }
 
+    /**
+     * Indexes all entities of a single type. The current thread pages through the entity ids using keyset pagination and hands each chunk of ids to the shared
+     * search index reindex thread pool, where the entities get loaded, converted to JSON documents, and sent to the search index. The number of chunks waiting
+     * for a worker is bounded, so the current thread stops reading ids when the workers fall behind, for instance when the search index throttles the bulk
+     * requests. The first chunk that fails to get indexed stops the reading of ids and fails the whole run, and the chunks that have not started yet
+     * get cancelled.
+     *
+     * @param searchIndexName the name of the search index
+     * @param idChunkFunction the function that returns a chunk of entity ids following the specified id, limited to the specified number of ids
+     * @param indexChunkFunction the function that indexes entities with the specified ids and returns the number of processed entities
+     *
+     * @return the number of processed entities
+     */
+    protected int indexAllEntities(String searchIndexName, BiFunction<Integer, Integer, List<Integer>> idChunkFunction,
+        Function<List<Integer>, Integer> indexChunkFunction)
+    {
+        int threadCount = Math.max(1, configurationHelper.getProperty(ConfigurationValue.SEARCH_INDEX_REINDEX_THREAD_COUNT, Integer.class));
+        int chunkSize = configurationHelper.getProperty(ConfigurationValue.SEARCH_INDEX_REINDEX_CHUNK_SIZE, Integer.class);
+
+        StopWatch stopWatch = new StopWatch();
+        stopWatch.start();
+
+        // Allow each worker to have one more chunk waiting in addition to the chunk it processes.
+        Semaphore pendingChunks = new Semaphore(threadCount * 2);
+
+        int processedEntitiesCount = 0;
+        List<FutureTask<Integer>> futures = new ArrayList<>();
+        try
+        {
+            Integer lastId = null;
+            List<Integer> ids;
+            while (!(ids = idChunkFunction.apply(lastId, chunkSize)).isEmpty())
+            {
+                final List<Integer> chunkIds = ids;
+                lastId = chunkIds.get(chunkIds.size() - 1);
+
+                pendingChunks.acquire();
+
+                // Stop reading ids as soon as one of the already submitted chunks failed to get indexed.
+                processedEntitiesCount += getProcessedEntitiesCountOfCompletedChunks(futures);
+
+                FutureTask<Integer> future = new FutureTask<>(() ->
+                {
+                    try
+                    {
+                        int chunkProcessedEntitiesCount = indexChunkFunction.apply(chunkIds);
+                        searchIndexProgressHelper.addProcessedEntityCount(searchIndexName, chunkProcessedEntitiesCount);
+                        return chunkProcessedEntitiesCount;
+                    }
+                    finally
+                    {
+                        pendingChunks.release();
+                    }
+                });
+                futures.add(future);
+                searchIndexReindexTaskExecutor.execute(future);
+            }
+
+            // Wait for all chunks to get indexed.
+            for (FutureTask<Integer> future : futures)
+            {
+                processedEntitiesCount += future.get();
+            }
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(String.format("Interrupted while building \"%s\" search index.", searchIndexName), e);
+        }
+        catch (ExecutionException e)
+        {
+            // Log the error, since nobody waits for the result of the asynchronous search index build, and rethrow the exception that caused the indexing of a
+            // chunk to fail.
+            LOGGER.error("Failed to build search index. searchIndexName=\"{}\"", searchIndexName, e.getCause());
+            if (e.getCause() instanceof RuntimeException)
+            {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+        finally
+        {
+            // Cancel the chunks that have not started yet, if we stopped waiting for them.
+            for (FutureTask<Integer> future : futures)
+            {
+                future.cancel(false);
+            }
+        }
+
+        stopWatch.stop();
+        LOGGER.info("Finished indexing entities. searchIndexName=\"{}\" processedEntitiesCount={} threadCount={} totalElapsedTimeMs={}", searchIndexName,
+            processedEntitiesCount, threadCount, stopWatch.getTime());
+
+        return processedEntitiesCount;
+    }
+
+    /**
+     * Removes the completed chunks from the specified list of submitted chunks and returns the number of entities processed by them.
+     *
+     * @param futures the futures of the submitted chunks
+     *
+     * @return the number of entities processed by the completed chunks
+     * @throws ExecutionException if any of the completed chunks failed to get indexed
+     * @throws InterruptedException if the current thread was interrupted
+     */
+    private int getProcessedEntitiesCountOfCompletedChunks(List<FutureTask<Integer>> futures) throws ExecutionException, InterruptedException
+    {
+        int processedEntitiesCount = 0;
+        for (Iterator<FutureTask<Integer>> iterator = futures.iterator(); iterator.hasNext(); )
+        {
+            FutureTask<Integer> future = iterator.next();
+            if (future.isDone())
+            {
+                processedEntitiesCount += future.get();
+                iterator.remove();
+            }
+        }
+
+        return processedEntitiesCount;
+    }
+
     /**
      * Performs a simple count validation on the specified search index.
      *
@@ -36,6 +36,7 @@ import org.finra.herd.model.api.xml.SearchIndex;
 import org.finra.herd.model.api.xml.SearchIndexCreateRequest;
 import org.finra.herd.model.api.xml.SearchIndexKey;
 import org.finra.herd.model.api.xml.SearchIndexKeys;
+import org.finra.herd.model.api.xml.SearchIndexProgress;
 import org.finra.herd.model.api.xml.SearchIndexStatistics;
 import org.finra.herd.model.dto.ConfigurationValue;
 import org.finra.herd.model.jpa.SearchIndexEntity;
@@ -46,6 +47,7 @@ import org.finra.herd.service.SearchIndexService;
 import org.finra.herd.service.helper.AlternateKeyHelper;
 import org.finra.herd.service.helper.ConfigurationDaoHelper;
 import org.finra.herd.service.helper.SearchIndexDaoHelper;
+import org.finra.herd.service.helper.SearchIndexProgressHelper;
 import org.finra.herd.service.helper.SearchIndexStatusDaoHelper;
 import org.finra.herd.service.helper.SearchIndexTypeDaoHelper;
 
@@ -74,6 +76,9 @@ public class SearchIndexServiceImpl implements SearchIndexService
     @Autowired
     private SearchIndexHelperService searchIndexHelperService;
 
+    @Autowired
+    private SearchIndexProgressHelper searchIndexProgressHelper;
+
     @Autowired
     private SearchIndexStatusDaoHelper searchIndexStatusDaoHelper;
 
@@ -128,6 +133,9 @@ public class SearchIndexServiceImpl implements SearchIndexService
         // Delete the search index.
         searchIndexDao.delete(searchIndexEntity);
 
+        // Stop tracking the progress of building the search index.
+        searchIndexProgressHelper.removeProgress(searchIndexEntity.getName());
+
         // Create and return the search index object from the deleted entity.
         return createSearchIndexFromEntity(searchIndexEntity);
     }
@@ -180,6 +188,24 @@ public class SearchIndexServiceImpl implements SearchIndexService
         return searchIndexKeys;
     }
 
+    @Override
+    public SearchIndexProgress getSearchIndexProgress(SearchIndexKey searchIndexKey)
+    {
+        // Perform validation and trim.
+        validateSearchIndexKey(searchIndexKey);
+
+        // Retrieve and ensure that a search index already exists with the specified key.
+        SearchIndexEntity searchIndexEntity = searchIndexDaoHelper.getSearchIndexEntity(searchIndexKey);
+
+        // Create the search index progress object and add the progress tracked by this herd node, if any.
+        SearchIndexProgress searchIndexProgress = new SearchIndexProgress();
+        searchIndexProgress.setSearchIndexKey(new SearchIndexKey(searchIndexEntity.getName()));
+        searchIndexProgress.setSearchIndexStatus(searchIndexEntity.getStatus().getCode());
+        searchIndexProgressHelper.updateSearchIndexProgress(searchIndexEntity.getName(), searchIndexProgress);
+
+        return searchIndexProgress;
+    }
+
     /**
      * Creates a new search index entity from the request information.
      *
@@ -30,6 +30,7 @@ import org.finra.herd.model.api.xml.SecurityFunctionCreateRequest;
 import org.finra.herd.model.api.xml.SecurityFunctionKey;
 import org.finra.herd.model.api.xml.SecurityFunctionKeys;
 import org.finra.herd.model.jpa.SecurityFunctionEntity;
+import org.finra.herd.service.CacheEvictionService;
 import org.finra.herd.service.SecurityFunctionService;
 import org.finra.herd.service.helper.AlternateKeyHelper;
 import org.finra.herd.service.helper.SecurityFunctionDaoHelper;
@@ -44,6 +45,9 @@ public class SecurityFunctionServiceImpl implements SecurityFunctionService
     @Autowired
     private AlternateKeyHelper alternateKeyHelper;
 
+    @Autowired
+    private CacheEvictionService cacheEvictionService;
+
     @Autowired
     private SecurityFunctionDao securityFunctionDao;
 
@@ -70,6 +74,9 @@ public class SecurityFunctionServiceImpl implements SecurityFunctionService
         // Persist the new entity.
         securityFunctionEntity = securityFunctionDao.saveAndRefresh(securityFunctionEntity);
 
+        // Evict the herd cache that holds the security role and function lookups on all herd nodes.
+        cacheEvictionService.publishCacheEviction(DaoSpringModuleConfig.HERD_CACHE_NAME);
+
         // Create and return the security function object from the persisted entity.
         return createSecurityFunctionFromEntity(securityFunctionEntity);
     }
@@ -101,6 +108,9 @@ public class SecurityFunctionServiceImpl implements SecurityFunctionService
         // Delete the security function.
         securityFunctionDao.delete(securityFunctionEntity);
 
+        // Evict the herd cache that holds the security role and function lookups on all herd nodes.
+        cacheEvictionService.publishCacheEviction(DaoSpringModuleConfig.HERD_CACHE_NAME);
+
         // Create and return the security function object from the deleted entity.
         return createSecurityFunctionFromEntity(securityFunctionEntity);
     }
@@ -31,6 +31,7 @@ import org.finra.herd.model.api.xml.SecurityRoleKey;
 import org.finra.herd.model.jpa.SecurityFunctionEntity;
 import org.finra.herd.model.jpa.SecurityRoleEntity;
 import org.finra.herd.model.jpa.SecurityRoleFunctionEntity;
+import org.finra.herd.service.CacheEvictionService;
 import org.finra.herd.service.SecurityRoleFunctionService;
 import org.finra.herd.service.helper.SecurityFunctionDaoHelper;
 import org.finra.herd.service.helper.SecurityFunctionHelper;
@@ -46,6 +47,9 @@ import org.finra.herd.service.helper.SecurityRoleHelper;
 @Transactional(value = DaoSpringModuleConfig.HERD_TRANSACTION_MANAGER_BEAN_NAME)
 public class SecurityRoleFunctionServiceImpl implements SecurityRoleFunctionService
 {
+    @Autowired
+    private CacheEvictionService cacheEvictionService;
+
     @Autowired
     private SecurityFunctionDaoHelper securityFunctionDaoHelper;
 
@@ -98,6 +102,9 @@ public class SecurityRoleFunctionServiceImpl implements SecurityRoleFunctionServ
         // Persist the new entity.
         securityRoleFunctionDao.saveAndRefresh(securityRoleFunctionEntity);
 
+        // Evict the herd cache that holds the security role and function lookups on all herd nodes.
+        cacheEvictionService.publishCacheEviction(DaoSpringModuleConfig.HERD_CACHE_NAME);
+
         // Create a security role to function mapping object from the entity and return it.
         return createSecurityRoleFunctionFromEntity(securityRoleFunctionEntity);
     }
@@ -114,6 +121,9 @@ public class SecurityRoleFunctionServiceImpl implements SecurityRoleFunctionServ
         // Delete this security role to function mapping.
         securityRoleFunctionDao.delete(securityRoleFunctionEntity);
 
+        // Evict the herd cache that holds the security role and function lookups on all herd nodes.
+        cacheEvictionService.publishCacheEviction(DaoSpringModuleConfig.HERD_CACHE_NAME);
+
         // Create a security role to function mapping object from the deleted entity and return it.
         return createSecurityRoleFunctionFromEntity(securityRoleFunctionEntity);
     }
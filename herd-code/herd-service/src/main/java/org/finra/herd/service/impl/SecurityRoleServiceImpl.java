@@ -30,6 +30,7 @@ import org.finra.herd.model.api.xml.SecurityRoleKey;
 import org.finra.herd.model.api.xml.SecurityRoleKeys;
 import org.finra.herd.model.api.xml.SecurityRoleUpdateRequest;
 import org.finra.herd.model.jpa.SecurityRoleEntity;
+import org.finra.herd.service.CacheEvictionService;
 import org.finra.herd.service.SecurityRoleService;
 import org.finra.herd.service.helper.AlternateKeyHelper;
 
@@ -43,6 +44,9 @@ public class SecurityRoleServiceImpl implements SecurityRoleService
     @Autowired
     private AlternateKeyHelper alternateKeyHelper;
 
+    @Autowired
+    private CacheEvictionService cacheEvictionService;
+
     @Autowired
     SecurityRoleDao securityRoleDao;
 
@@ -68,6 +72,9 @@ public class SecurityRoleServiceImpl implements SecurityRoleService
         // Persist the new entity.
         securityRoleEntity = securityRoleDao.saveAndRefresh(securityRoleEntity);
 
+        // Evict the herd cache that holds the security role and function lookups on all herd nodes.
+        cacheEvictionService.publishCacheEviction(DaoSpringModuleConfig.HERD_CACHE_NAME);
+
         // Create and return the security role object from the persisted entity.
         return createSecurityRoleFromEntity(securityRoleEntity);
     }
@@ -97,6 +104,9 @@ public class SecurityRoleServiceImpl implements SecurityRoleService
         // Delete the security role.
         securityRoleDao.delete(securityRoleEntity);
 
+        // Evict the herd cache that holds the security role and function lookups on all herd nodes.
+        cacheEvictionService.publishCacheEviction(DaoSpringModuleConfig.HERD_CACHE_NAME);
+
         // Create and return the security role object from the deleted entity.
         return createSecurityRoleFromEntity(securityRoleEntity);
     }
@@ -119,6 +129,9 @@ public class SecurityRoleServiceImpl implements SecurityRoleService
         // Persist the entity.
         securityRoleEntity = securityRoleDao.saveAndRefresh(securityRoleEntity);
 
+        // Evict the herd cache that holds the security role and function lookups on all herd nodes.
+        cacheEvictionService.publishCacheEviction(DaoSpringModuleConfig.HERD_CACHE_NAME);
+
         // Create and return the security role from the security role entity.
         return createSecurityRoleFromEntity(securityRoleEntity);
     }
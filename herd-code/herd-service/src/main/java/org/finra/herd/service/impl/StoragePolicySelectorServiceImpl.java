@@ -18,13 +18,15 @@ package org.finra.herd.service.impl;
 import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.Date;
-import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
+import com.amazonaws.services.sqs.model.BatchResultErrorEntry;
+import com.amazonaws.services.sqs.model.SendMessageBatchResult;
+import com.amazonaws.services.sqs.model.SendMessageBatchResultEntry;
 import org.apache.commons.collections4.CollectionUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -121,9 +123,13 @@ public class StoragePolicySelectorServiceImpl implements StoragePolicySelectorSe
         // the current database timestamp and the threshold value configured in the system.
         Timestamp updatedOnThresholdTimestamp = HerdDateUtils.addDays(currentTimestamp, -updatedOnThresholdInDays);
 
-        // Keep track of all business object data entities selected per storage policies. This is need to avoid a lower priority selection policy
-        // to be executed ahead of a higher priority one.
-        Set<BusinessObjectDataEntity> selectedBusinessObjectDataEntities = new LinkedHashSet<>();
+        // Keep track of ids of all business object data entities selected per storage policies. This is need to avoid a lower priority selection policy
+        // to be executed ahead of a higher priority one. Business object data ids are dense sequence values, so a bit set keeps this compact.
+        BitSet selectedBusinessObjectDataIds = new BitSet();
+
+        // Get the lowest storage policy priority level. Business object data matching this level can not be matched by any higher priority level storage
+        // policies that are not already processed, so the storage policy rules for this level can be evaluated by the database query.
+        StoragePolicyPriorityLevel lowestStoragePolicyPriorityLevel = STORAGE_POLICY_PRIORITY_LEVELS.get(STORAGE_POLICY_PRIORITY_LEVELS.size() - 1);
 
         // Separately process all possible storage policy priority levels in order of priorities. This is done to assure that higher priority level storage
         // policies will be listed earlier in the final result map.
@@ -131,26 +137,34 @@ public class StoragePolicySelectorServiceImpl implements StoragePolicySelectorSe
         {
             // Until we reach maximum number of results or run out of entities to select, retrieve and process business object data entities mapped to their
             // corresponding storage policy entities, where the business object data status is supported by the storage policy feature and the business object
-            // data alternate key values match storage policy's filter and transition (not taking into account storage policy rules).
-            int startPosition = 0;
+            // data alternate key values match storage policy's filter and transition. The storage policy rules are taken into account by the query only for
+            // the lowest priority level, since at higher levels the business object data must still be marked as selected when the rule is not satisfied.
+            boolean applyStoragePolicyRules = storagePolicyPriorityLevel.equals(lowestStoragePolicyPriorityLevel);
+            Timestamp lastBusinessObjectDataCreatedOn = null;
+            Integer lastBusinessObjectDataId = null;
             while (true)
             {
                 Map<BusinessObjectDataEntity, StoragePolicyEntity> map = businessObjectDataDao
                     .getBusinessObjectDataEntitiesMatchingStoragePolicies(storagePolicyPriorityLevel, SUPPORTED_BUSINESS_OBJECT_DATA_STATUSES,
-                        maxAllowedTransitionAttempts, startPosition, maxResult);
+                        maxAllowedTransitionAttempts, applyStoragePolicyRules ? currentTimestamp : null,
+                        applyStoragePolicyRules ? updatedOnThresholdTimestamp : null, lastBusinessObjectDataCreatedOn, lastBusinessObjectDataId, maxResult);
 
                 for (Map.Entry<BusinessObjectDataEntity, StoragePolicyEntity> entry : map.entrySet())
                 {
                     BusinessObjectDataEntity businessObjectDataEntity = entry.getKey();
 
+                    // Remember the last business object data, so the next query would continue right after it.
+                    lastBusinessObjectDataCreatedOn = businessObjectDataEntity.getCreatedOn();
+                    lastBusinessObjectDataId = businessObjectDataEntity.getId();
+
                     // Process this storage policy selection, only if this business object data has not been selected earlier.
-                    if (!selectedBusinessObjectDataEntities.contains(businessObjectDataEntity))
+                    if (!selectedBusinessObjectDataIds.get(businessObjectDataEntity.getId()))
                     {
                         boolean createStoragePolicySelection = false;
 
                         // Remember that we got this business object data entity as matching to a storage policy.
                         // This is done so we would not try to select this business object data again later by a lower level storage policy.
-                        selectedBusinessObjectDataEntities.add(businessObjectDataEntity);
+                        selectedBusinessObjectDataIds.set(businessObjectDataEntity.getId());
 
                         // Get the storage policy entity, so we can validate the storage policy rule against this business object data.
                         StoragePolicyEntity storagePolicyEntity = entry.getValue();
@@ -225,9 +239,6 @@ public class StoragePolicySelectorServiceImpl implements StoragePolicySelectorSe
                 {
                     break;
                 }
-
-                // Increment start position for the next select.
-                startPosition += maxResult;
             }
 
             // Stop processing storage policies if we reached the max result limit.
@@ -237,40 +248,74 @@ public class StoragePolicySelectorServiceImpl implements StoragePolicySelectorSe
             }
         }
 
-        // Send all storage policy selections to the specified SQS queue.
-        sendStoragePolicySelectionToSqsQueue(sqsQueueName, storagePolicySelections);
-
-        return storagePolicySelections;
+        // Send all storage policy selections to the specified SQS queue and return the ones that got sent.
+        return sendStoragePolicySelectionToSqsQueue(sqsQueueName, storagePolicySelections);
     }
 
     /**
-     * Sends storage policy selections to the specified AWS SQS queue.
+     * Sends storage policy selections to the specified AWS SQS queue. The storage policy selections are grouped into messages of up to the configured number
+     * of selections each and the messages are sent using SQS batch requests. The messages that fail to get sent are logged and skipped, so the storage policy
+     * selections that did get sent are not sent again when the job fails. Only when none of the messages get sent, an exception is thrown.
      *
      * @param sqsQueueName the SQS queue name to send storage policy selections to
      * @param storagePolicySelections the list of storage policy selections
+     *
+     * @return the list of storage policy selections that were sent to the SQS queue
      */
-    private void sendStoragePolicySelectionToSqsQueue(String sqsQueueName, List<StoragePolicySelection> storagePolicySelections)
+    private List<StoragePolicySelection> sendStoragePolicySelectionToSqsQueue(String sqsQueueName, List<StoragePolicySelection> storagePolicySelections)
     {
+        List<StoragePolicySelection> sentStoragePolicySelections = new ArrayList<>();
+
         if (CollectionUtils.isNotEmpty(storagePolicySelections))
         {
             AwsParamsDto awsParamsDto = awsHelper.getAwsParamsDto();
 
-            for (StoragePolicySelection storagePolicySelection : storagePolicySelections)
+            // Get the maximum number of storage policy selections to be sent in a single message.
+            int maxSelectionsPerMessage =
+                Math.max(1, herdStringHelper.getConfigurationValueAsInteger(ConfigurationValue.STORAGE_POLICY_SELECTOR_JOB_MAX_SELECTIONS_PER_MESSAGE));
+
+            // Build the messages. A single storage policy selection is sent as is, while a group of storage policy selections is sent as a JSON array.
+            List<List<StoragePolicySelection>> messageStoragePolicySelectionsList = new ArrayList<>();
+            List<String> messageTexts = new ArrayList<>();
+            for (int fromIndex = 0; fromIndex < storagePolicySelections.size(); fromIndex += maxSelectionsPerMessage)
             {
-                String messageText = null;
+                List<StoragePolicySelection> messageStoragePolicySelections =
+                    storagePolicySelections.subList(fromIndex, Math.min(fromIndex + maxSelectionsPerMessage, storagePolicySelections.size()));
+                messageStoragePolicySelectionsList.add(messageStoragePolicySelections);
+                messageTexts.add(jsonHelper
+                    .objectToJson(messageStoragePolicySelections.size() == 1 ? messageStoragePolicySelections.get(0) : messageStoragePolicySelections));
+            }
 
-                try
-                {
-                    messageText = jsonHelper.objectToJson(storagePolicySelection);
-                    sqsDao.sendMessage(awsParamsDto, sqsQueueName, messageText, null);
-                }
-                catch (Exception e)
-                {
-                    // Log the error and throw the exception up.
-                    LOGGER.error("Failed to publish message to the JMS queue. jmsQueueName=\"{}\" jmsMessagePayload={}", sqsQueueName, messageText);
-                    throw new IllegalStateException(e.getMessage(), e);
-                }
+            SendMessageBatchResult sendMessageBatchResult;
+            try
+            {
+                sendMessageBatchResult = sqsDao.sendMessageBatch(awsParamsDto, sqsQueueName, messageTexts, null);
+            }
+            catch (Exception e)
+            {
+                // Log the error and throw the exception up.
+                LOGGER.error("Failed to publish messages to the JMS queue. jmsQueueName=\"{}\" jmsMessageCount={}", sqsQueueName, messageTexts.size());
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+
+            // The result entry ids are the indexes of the relative messages in the list of sent messages.
+            for (SendMessageBatchResultEntry sendMessageBatchResultEntry : sendMessageBatchResult.getSuccessful())
+            {
+                sentStoragePolicySelections.addAll(messageStoragePolicySelectionsList.get(Integer.parseInt(sendMessageBatchResultEntry.getId())));
+            }
+            for (BatchResultErrorEntry batchResultErrorEntry : sendMessageBatchResult.getFailed())
+            {
+                LOGGER.error("Failed to publish message to the JMS queue. jmsQueueName=\"{}\" jmsMessagePayload={} batchResultErrorEntry={}", sqsQueueName,
+                    messageTexts.get(Integer.parseInt(batchResultErrorEntry.getId())), jsonHelper.objectToJson(batchResultErrorEntry));
+            }
+
+            // Fail the job if none of the messages got sent, so the problem does not go unnoticed.
+            if (sendMessageBatchResult.getSuccessful().isEmpty() && !sendMessageBatchResult.getFailed().isEmpty())
+            {
+                throw new IllegalStateException(sendMessageBatchResult.getFailed().get(0).getMessage());
             }
         }
+
+        return sentStoragePolicySelections;
     }
 }
@@ -43,6 +43,7 @@ import org.finra.herd.model.jpa.StoragePlatformEntity;
 import org.finra.herd.service.StorageService;
 import org.finra.herd.service.helper.AlternateKeyHelper;
 import org.finra.herd.service.helper.AttributeHelper;
+import org.finra.herd.service.helper.ReferenceDataCacheHelper;
 import org.finra.herd.service.helper.StorageDaoHelper;
 import org.finra.herd.service.helper.StoragePlatformHelper;
 
@@ -59,6 +60,9 @@ public class StorageServiceImpl implements StorageService
     @Autowired
     private AttributeHelper attributeHelper;
 
+    @Autowired
+    private ReferenceDataCacheHelper referenceDataCacheHelper;
+
     @Autowired
     private StorageDao storageDao;
 
@@ -107,6 +111,9 @@ public class StorageServiceImpl implements StorageService
         // Persist the storage entity.
         storageEntity = storageDao.saveAndRefresh(storageEntity);
 
+        // Evict the storages from the reference data cache.
+        referenceDataCacheHelper.evictReferenceData(StorageEntity.class);
+
         // Return the storage information.
         return createStorageFromEntity(storageEntity);
     }
@@ -123,6 +130,9 @@ public class StorageServiceImpl implements StorageService
         // Delete the storage.
         storageDao.delete(storageEntity);
 
+        // Evict the storages from the reference data cache.
+        referenceDataCacheHelper.evictReferenceData(StorageEntity.class);
+
         // Return the storage information.
         return createStorageFromEntity(storageEntity);
     }
@@ -162,6 +172,9 @@ public class StorageServiceImpl implements StorageService
         // Update and persist the storage entity.
         storageEntity = storageDao.saveAndRefresh(storageEntity);
 
+        // Evict the storages from the reference data cache.
+        referenceDataCacheHelper.evictReferenceData(StorageEntity.class);
+
         // Return the storage information.
         return createStorageFromEntity(storageEntity);
     }
@@ -184,6 +197,9 @@ public class StorageServiceImpl implements StorageService
         // Persist and refresh the entity.
         storageEntity = storageDao.saveAndRefresh(storageEntity);
 
+        // Evict the storages from the reference data cache.
+        referenceDataCacheHelper.evictReferenceData(StorageEntity.class);
+
         // Return the storage information.
         return createStorageFromEntity(storageEntity);
     }
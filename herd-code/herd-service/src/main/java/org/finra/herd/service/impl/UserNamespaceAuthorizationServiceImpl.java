@@ -93,6 +93,9 @@ public class UserNamespaceAuthorizationServiceImpl implements UserNamespaceAutho
         // Create and persist a new user namespace authorization entity from the request information.
         userNamespaceAuthorizationEntity = createUserNamespaceAuthorizationEntity(key.getUserId(), namespaceEntity, request.getNamespacePermissions());
 
+        // Evict the resolved namespace authorizations of the users.
+        userNamespaceAuthorizationHelper.evictNamespaceAuthorizations();
+
         // Create and return the user namespace authorization object from the persisted entity.
         return createUserNamespaceAuthorizationFromEntity(userNamespaceAuthorizationEntity);
     }
@@ -127,6 +130,9 @@ public class UserNamespaceAuthorizationServiceImpl implements UserNamespaceAutho
         updateNamespacePermissions(userNamespaceAuthorizationEntity, request.getNamespacePermissions());
         userNamespaceAuthorizationDao.saveAndRefresh(userNamespaceAuthorizationEntity);
 
+        // Evict the resolved namespace authorizations of the users.
+        userNamespaceAuthorizationHelper.evictNamespaceAuthorizations();
+
         // Create and return the user namespace authorization object from the updated entity.
         return createUserNamespaceAuthorizationFromEntity(userNamespaceAuthorizationEntity);
     }
@@ -158,6 +164,9 @@ public class UserNamespaceAuthorizationServiceImpl implements UserNamespaceAutho
         // Delete the business object definition.
         userNamespaceAuthorizationDao.delete(userNamespaceAuthorizationEntity);
 
+        // Evict the resolved namespace authorizations of the users.
+        userNamespaceAuthorizationHelper.evictNamespaceAuthorizations();
+
         // Create and return the user namespace authorization object from the deleted entity.
         return createUserNamespaceAuthorizationFromEntity(userNamespaceAuthorizationEntity);
     }
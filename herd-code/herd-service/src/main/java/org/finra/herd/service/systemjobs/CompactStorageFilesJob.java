@@ -0,0 +1,137 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.service.systemjobs;
+
+import java.util.List;
+
+import org.quartz.DisallowConcurrentExecution;
+import org.quartz.JobDataMap;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+import org.springframework.util.CollectionUtils;
+
+import org.finra.herd.dao.helper.JsonHelper;
+import org.finra.herd.model.api.xml.BusinessObjectDataStorageUnitKey;
+import org.finra.herd.model.api.xml.Parameter;
+import org.finra.herd.model.dto.ConfigurationValue;
+import org.finra.herd.service.CompactStorageFilesService;
+import org.finra.herd.service.helper.BusinessObjectDataHelper;
+import org.finra.herd.service.helper.ParameterHelper;
+
+/**
+ * The system job that compacts the storage files of the S3 storage units with many registered storage files into storage file manifests.
+ */
+@Component(CompactStorageFilesJob.JOB_NAME)
+@DisallowConcurrentExecution
+public class CompactStorageFilesJob extends AbstractSystemJob
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(CompactStorageFilesJob.class);
+
+    public static final String JOB_NAME = "compactStorageFiles";
+
+    @Autowired
+    private BusinessObjectDataHelper businessObjectDataHelper;
+
+    @Autowired
+    private CompactStorageFilesService compactStorageFilesService;
+
+    @Autowired
+    private JsonHelper jsonHelper;
+
+    @Autowired
+    private ParameterHelper parameterHelper;
+
+    @Override
+    protected void executeInternal(JobExecutionContext context) throws JobExecutionException
+    {
+        // Log that the system job is started.
+        LOGGER.info("Started system job. systemJobName=\"{}\"", JOB_NAME);
+
+        // Get the parameter values.
+        int maxStorageUnitsToProcess = parameterHelper.getParameterValueAsInteger(parameters, ConfigurationValue.COMPACT_STORAGE_FILES_JOB_MAX_STORAGE_UNITS);
+
+        // Log the parameter values.
+        LOGGER.info("systemJobName=\"{}\" {}={}", JOB_NAME, ConfigurationValue.COMPACT_STORAGE_FILES_JOB_MAX_STORAGE_UNITS, maxStorageUnitsToProcess);
+
+        // Continue the processing only if the maximum number of storage units that is allowed to be processed in a single run of this system job is greater
+        // than zero.
+        int processedStorageUnits = 0;
+        if (maxStorageUnitsToProcess > 0)
+        {
+            // Select S3 storage units with enough storage files registered.
+            List<BusinessObjectDataStorageUnitKey> businessObjectDataStorageUnitKeys =
+                compactStorageFilesService.getS3StorageUnitsToCompactStorageFiles(maxStorageUnitsToProcess);
+
+            // Log the number of storage units selected for processing.
+            LOGGER
+                .info("Selected for processing S3 storage units. systemJobName=\"{}\" storageUnitCount={}", JOB_NAME, businessObjectDataStorageUnitKeys.size());
+
+            // Try to compact the storage files of each of the selected storage units.
+            for (BusinessObjectDataStorageUnitKey businessObjectDataStorageUnitKey : businessObjectDataStorageUnitKeys)
+            {
+                try
+                {
+                    compactStorageFilesService.compactS3StorageUnitStorageFiles(businessObjectDataStorageUnitKey);
+                    processedStorageUnits += 1;
+                }
+                catch (RuntimeException runtimeException)
+                {
+                    // Log the exception.
+                    LOGGER.error("Failed to compact storage files of a storage unit. systemJobName=\"{}\" storageName=\"{}\" businessObjectDataKey={}",
+                        JOB_NAME, businessObjectDataStorageUnitKey.getStorageName(),
+                        jsonHelper.objectToJson(businessObjectDataHelper.createBusinessObjectDataKeyFromStorageUnitKey(businessObjectDataStorageUnitKey)),
+                        runtimeException);
+                }
+            }
+        }
+
+        // Log the number of storage units with compacted storage files.
+        LOGGER.info("Compacted storage files of S3 storage units. systemJobName=\"{}\" storageUnitCount={}", JOB_NAME, processedStorageUnits);
+
+        // Log that the system job is ended.
+        LOGGER.info("Completed system job. systemJobName=\"{}\"", JOB_NAME);
+    }
+
+    @Override
+    public void validateParameters(List<Parameter> parameters)
+    {
+        // This system job accepts only one optional parameter with an integer value.
+        if (!CollectionUtils.isEmpty(parameters))
+        {
+            Assert.isTrue(parameters.size() == 1, String.format("Too many parameters are specified for \"%s\" system job.", JOB_NAME));
+            Assert.isTrue(parameters.get(0).getName().equalsIgnoreCase(ConfigurationValue.COMPACT_STORAGE_FILES_JOB_MAX_STORAGE_UNITS.getKey()),
+                String.format("Parameter \"%s\" is not supported by \"%s\" system job.", parameters.get(0).getName(), JOB_NAME));
+            parameterHelper.getParameterValueAsInteger(parameters.get(0));
+        }
+    }
+
+    @Override
+    public JobDataMap getJobDataMap()
+    {
+        return getJobDataMap(ConfigurationValue.COMPACT_STORAGE_FILES_JOB_MAX_STORAGE_UNITS);
+    }
+
+    @Override
+    public String getCronExpression()
+    {
+        return configurationHelper.getProperty(ConfigurationValue.COMPACT_STORAGE_FILES_JOB_CRON_EXPRESSION);
+    }
+}
@@ -71,13 +71,28 @@ public class JmsPublishingJob extends AbstractSystemJob
         // Log that the system job is started.
         LOGGER.info("Started system job. systemJobName=\"{}\"", JOB_NAME);
 
+        // Get the maximum number of notification messages to publish per transaction.
+        int batchSize = configurationHelper.getProperty(ConfigurationValue.JMS_PUBLISHING_JOB_BATCH_SIZE, Integer.class);
+
         // Publish all notification messages stored in the database queue.
         int count = 0;
         try
         {
-            while (notificationMessagePublishingService.publishOldestNotificationMessageFromDatabaseQueue())
+            if (batchSize > 1)
+            {
+                // Keep publishing batches of notification messages till a batch gets no messages published.
+                int batchCount;
+                while ((batchCount = notificationMessagePublishingService.publishOldestNotificationMessagesFromDatabaseQueue(batchSize)) > 0)
+                {
+                    count += batchCount;
+                }
+            }
+            else
             {
-                count++;
+                while (notificationMessagePublishingService.publishOldestNotificationMessageFromDatabaseQueue())
+                {
+                    count++;
+                }
             }
         }
         catch (Exception e)
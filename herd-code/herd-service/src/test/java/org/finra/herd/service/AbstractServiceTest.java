@@ -49,6 +49,7 @@ import org.finra.herd.core.HerdDateUtils;
 import org.finra.herd.dao.AbstractDaoTest;
 import org.finra.herd.dao.TagDaoTestHelper;
 import org.finra.herd.dao.TagTypeDaoTestHelper;
+import org.finra.herd.dao.config.DaoSpringModuleConfig;
 import org.finra.herd.dao.helper.AwsHelper;
 import org.finra.herd.dao.helper.EmrHelper;
 import org.finra.herd.dao.helper.HerdStringHelper;
@@ -91,6 +92,7 @@ import org.finra.herd.service.helper.BusinessObjectDataRetryStoragePolicyTransit
 import org.finra.herd.service.helper.BusinessObjectDataSearchHelper;
 import org.finra.herd.service.helper.BusinessObjectDefinitionColumnDaoHelper;
 import org.finra.herd.service.helper.BusinessObjectFormatHelper;
+import org.finra.herd.service.helper.CacheEvictionHelper;
 import org.finra.herd.service.helper.EmrClusterDefinitionHelper;
 import org.finra.herd.service.helper.EmrStepHelperFactory;
 import org.finra.herd.service.helper.Hive13DdlGenerator;
@@ -100,13 +102,16 @@ import org.finra.herd.service.helper.NotificationActionFactory;
 import org.finra.herd.service.helper.NotificationMessageBuilder;
 import org.finra.herd.service.helper.NotificationRegistrationDaoHelper;
 import org.finra.herd.service.helper.NotificationRegistrationStatusDaoHelper;
+import org.finra.herd.service.helper.ReferenceDataCacheHelper;
 import org.finra.herd.service.helper.S3KeyPrefixHelper;
 import org.finra.herd.service.helper.S3PropertiesLocationHelper;
 import org.finra.herd.service.helper.SearchIndexDaoHelper;
 import org.finra.herd.service.helper.SearchIndexStatusDaoHelper;
 import org.finra.herd.service.helper.SearchIndexTypeDaoHelper;
 import org.finra.herd.service.helper.StorageDaoHelper;
+import org.finra.herd.service.helper.StorageFileDaoHelper;
 import org.finra.herd.service.helper.StorageFileHelper;
+import org.finra.herd.service.helper.StorageFileManifestHelper;
 import org.finra.herd.service.helper.StorageHelper;
 import org.finra.herd.service.helper.StorageUnitDaoHelper;
 import org.finra.herd.service.helper.StorageUnitHelper;
@@ -882,9 +887,18 @@ public abstract class AbstractServiceTest extends AbstractDaoTest
     @Autowired
     protected BusinessObjectFormatServiceTestHelper businessObjectFormatServiceTestHelper;
 
+    @Autowired
+    protected CacheEvictionHelper cacheEvictionHelper;
+
+    @Autowired
+    protected CacheEvictionService cacheEvictionService;
+
     @Autowired
     protected CleanupDestroyedBusinessObjectDataService cleanupDestroyedBusinessObjectDataService;
 
+    @Autowired
+    protected CompactStorageFilesService compactStorageFilesService;
+
     @Autowired
     protected CurrentUserService currentUserService;
 
@@ -963,6 +977,9 @@ public abstract class AbstractServiceTest extends AbstractDaoTest
     @Autowired
     protected MessageTypeDaoHelper messageTypeDaoHelper;
 
+    @Autowired
+    protected MetricsService metricsService;
+
     @Autowired
     protected NamespaceService namespaceService;
 
@@ -996,6 +1013,9 @@ public abstract class AbstractServiceTest extends AbstractDaoTest
     @Autowired
     protected PartitionKeyGroupServiceTestHelper partitionKeyGroupServiceTestHelper;
 
+    @Autowired
+    protected ReferenceDataCacheHelper referenceDataCacheHelper;
+
     @Autowired
     protected RelationalTableRegistrationHelperService relationalTableRegistrationHelperService;
 
@@ -1032,9 +1052,15 @@ public abstract class AbstractServiceTest extends AbstractDaoTest
     @Autowired
     protected StorageDaoHelper storageDaoHelper;
 
+    @Autowired
+    protected StorageFileDaoHelper storageFileDaoHelper;
+
     @Autowired
     protected StorageFileHelper storageFileHelper;
 
+    @Autowired
+    protected StorageFileManifestHelper storageFileManifestHelper;
+
     @Autowired
     protected StorageHelper storageHelper;
 
@@ -1172,6 +1198,9 @@ public abstract class AbstractServiceTest extends AbstractDaoTest
     public void after()
     {
         SecurityContextHolder.clearContext();
+
+        // Evict the namespace authorizations resolved by this test, since the test data they were resolved from is rolled back.
+        cacheEvictionHelper.evictCache(DaoSpringModuleConfig.NAMESPACE_AUTHORIZATION_CACHE_NAME);
     }
 
     /**
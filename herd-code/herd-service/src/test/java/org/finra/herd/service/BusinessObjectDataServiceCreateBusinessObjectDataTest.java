@@ -1195,6 +1195,43 @@ public class BusinessObjectDataServiceCreateBusinessObjectDataTest extends Abstr
         }
     }
 
+    @Test
+    public void testCreateBusinessObjectDataS3ManagedBucketFileAlreadyRegisteredInStorageFileManifest()
+    {
+        // Create relative database entities including a storage file entity registered by a test business object data with PARTITION_VALUE_2 partition value.
+        BusinessObjectDataEntity businessObjectDataEntity = businessObjectDataDaoTestHelper
+            .createBusinessObjectDataEntity(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, INITIAL_FORMAT_VERSION, PARTITION_VALUE_2,
+                INITIAL_DATA_VERSION, true, BDATA_STATUS);
+        StorageUnitEntity storageUnitEntity = storageUnitDaoTestHelper
+            .createStorageUnitEntity(storageDao.getStorageByName(StorageEntity.MANAGED_STORAGE), businessObjectDataEntity, StorageUnitStatusEntity.ENABLED,
+                NO_STORAGE_DIRECTORY_PATH);
+        storageFileDaoTestHelper
+            .createStorageFileEntity(storageUnitEntity, String.format("%s/%s", testS3KeyPrefix, LOCAL_FILE), FILE_SIZE_1_KB, ROW_COUNT_1000);
+        storageUnitDao.saveAndRefresh(storageUnitEntity);
+
+        // Compact the storage files of the storage unit into a storage file manifest, so no storage file entities are left.
+        compactStorageFilesService.compactS3StorageUnitStorageFiles(storageUnitHelper.createStorageUnitKeyFromEntity(storageUnitEntity));
+
+        // Build a new business object data create request containing the already registered storage file.
+        BusinessObjectDataCreateRequest request = businessObjectDataServiceTestHelper
+            .createBusinessObjectDataCreateRequest(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, INITIAL_FORMAT_VERSION, PARTITION_KEY,
+                PARTITION_VALUE, BDATA_STATUS, StorageEntity.MANAGED_STORAGE, testS3KeyPrefix,
+                businessObjectDataServiceTestHelper.getTestStorageFiles(testS3KeyPrefix, Arrays.asList(LOCAL_FILE)));
+
+        try
+        {
+            // Try to create a business object data instance.
+            businessObjectDataService.createBusinessObjectData(request);
+            fail("Should throw an AlreadyExistsException when a storage file in S3 managed storage is already registered by another business object data.");
+        }
+        catch (AlreadyExistsException e)
+        {
+            assertEquals(String
+                .format("Found 1 storage file(s) matching \"%s\" S3 key prefix in \"%s\" storage that is registered with another business object data.",
+                    testS3KeyPrefix, StorageEntity.MANAGED_STORAGE), e.getMessage());
+        }
+    }
+
     @Test
     public void testCreateBusinessObjectDataS3ManagedBucketS3FileNotFound()
     {
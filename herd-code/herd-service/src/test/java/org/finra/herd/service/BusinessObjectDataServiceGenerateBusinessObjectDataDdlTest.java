@@ -20,10 +20,12 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.Ignore;
 import org.junit.Test;
@@ -136,6 +138,56 @@ public class BusinessObjectDataServiceGenerateBusinessObjectDataDdlTest extends
         businessObjectDataServiceTestHelper.validateBusinessObjectDataDdl(request, expectedDdl, resultDdl);
     }
 
+    @Test
+    public void testGenerateBusinessObjectDataDdlPartitionValueRangeInParallel() throws Exception
+    {
+        // Prepare test data.
+        businessObjectDataServiceTestHelper.createDatabaseEntitiesForBusinessObjectDataDdlTesting();
+        expectedPartitionValueDaoTestHelper.createExpectedPartitionValueProcessDatesForApril2014(PARTITION_KEY_GROUP);
+
+        // Override configuration, so each storage unit gets processed by a standalone parallel task.
+        Map<String, Object> overrideMap = new HashMap<>();
+        overrideMap.put(ConfigurationValue.BUSINESS_OBJECT_DATA_DDL_THREAD_POOL_SIZE.getKey(), 3);
+        overrideMap.put(ConfigurationValue.BUSINESS_OBJECT_DATA_DDL_STORAGE_UNITS_PER_TASK.getKey(), 1);
+        modifyPropertySourceInEnvironment(overrideMap);
+
+        try
+        {
+            // Retrieve business object data ddl for a partition value range that selects multiple storage units.
+            BusinessObjectDataDdlRequest request =
+                businessObjectDataServiceTestHelper.getTestBusinessObjectDataDdlRequest(START_PARTITION_VALUE, END_PARTITION_VALUE, CUSTOM_DDL_NAME);
+            BusinessObjectDataDdl resultDdl = businessObjectDataService.generateBusinessObjectDataDdl(request);
+
+            // Validate that the partitions got added in the same order as by the sequential processing.
+            String expectedDdl = businessObjectDataServiceTestHelper
+                .getExpectedBusinessObjectDataDdl(PARTITION_COLUMNS.length, FIRST_COLUMN_NAME, FIRST_COLUMN_DATA_TYPE, ROW_FORMAT,
+                    Hive13DdlGenerator.TEXT_HIVE_FILE_FORMAT, FileTypeEntity.TXT_FILE_TYPE, BusinessObjectDataEntity.FIRST_PARTITION_COLUMN_POSITION,
+                    PROCESS_DATE_AVAILABLE_PARTITION_VALUES, SUBPARTITION_VALUES, false, true, true);
+            businessObjectDataServiceTestHelper.validateBusinessObjectDataDdl(request, expectedDdl, resultDdl);
+        }
+        finally
+        {
+            // Restore the property sources so we don't affect other tests.
+            restorePropertySourceInEnvironment();
+        }
+    }
+
+    @Test
+    public void testGenerateBusinessObjectDataDdlPartitionValueListToWriter()
+    {
+        // Prepare test data.
+        businessObjectDataServiceTestHelper.createDatabaseEntitiesForBusinessObjectDataDdlTesting();
+
+        // Retrieve business object data ddl by writing it to a writer.
+        BusinessObjectDataDdlRequest request =
+            businessObjectDataServiceTestHelper.getTestBusinessObjectDataDdlRequest(UNSORTED_PARTITION_VALUES, CUSTOM_DDL_NAME);
+        StringWriter writer = new StringWriter();
+        businessObjectDataService.generateBusinessObjectDataDdl(request, writer);
+
+        // Validate the results.
+        assertEquals(businessObjectDataServiceTestHelper.getExpectedBusinessObjectDataDdl(), writer.toString());
+    }
+
     @Test
     public void testGenerateBusinessObjectDataDdlLatestBeforePartitionValue()
     {
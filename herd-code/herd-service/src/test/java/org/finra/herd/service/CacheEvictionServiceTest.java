@@ -0,0 +1,154 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import org.finra.herd.dao.config.DaoSpringModuleConfig;
+import org.finra.herd.model.dto.ConfigurationValue;
+import org.finra.herd.model.jpa.CacheEvictionEventEntity;
+import org.finra.herd.model.jpa.NamespaceEntity;
+
+/**
+ * This class tests the cache eviction service functionality.
+ */
+public class CacheEvictionServiceTest extends AbstractServiceTest
+{
+    private static final String CACHE_KEY = "UT_Cache_Key_1_" + RANDOM_SUFFIX;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Test
+    public void testPublishCacheEviction()
+    {
+        // Publish a cache eviction for the herd cache.
+        Timestamp lookbackThreshold = new Timestamp(System.currentTimeMillis() - 1000);
+        cacheEvictionService.publishCacheEviction(DaoSpringModuleConfig.HERD_CACHE_NAME);
+
+        // Validate that the cache eviction event got persisted.
+        List<CacheEvictionEventEntity> cacheEvictionEventEntities = cacheEvictionEventDao.getCacheEvictionEventsCreatedOnOrAfter(lookbackThreshold);
+        assertEquals(1, cacheEvictionEventEntities.size());
+        assertEquals(DaoSpringModuleConfig.HERD_CACHE_NAME, cacheEvictionEventEntities.get(0).getCacheName());
+    }
+
+    @Test
+    public void testPublishCacheEvictionInvalidCacheName()
+    {
+        try
+        {
+            cacheEvictionService.publishCacheEviction(I_DO_NOT_EXIST);
+            fail();
+        }
+        catch (IllegalArgumentException e)
+        {
+            assertEquals(String.format("Cache \"%s\" can not be evicted.", I_DO_NOT_EXIST), e.getMessage());
+        }
+    }
+
+    @Test
+    public void testProcessCacheEvictionEvents()
+    {
+        Cache herdCache = cacheManager.getCache(DaoSpringModuleConfig.HERD_CACHE_NAME);
+        try
+        {
+            // Put an entry into the herd cache and create a cache eviction event the way another herd node would publish it.
+            herdCache.put(CACHE_KEY, CACHE_KEY);
+            createCacheEvictionEventEntity(DaoSpringModuleConfig.HERD_CACHE_NAME, new Timestamp(System.currentTimeMillis()));
+
+            // Process the cache eviction events and validate that the herd cache got evicted.
+            cacheEvictionService.processCacheEvictionEvents();
+            assertNull(herdCache.get(CACHE_KEY));
+
+            // Process the cache eviction events again and validate that the already processed event does not evict the herd cache again.
+            herdCache.put(CACHE_KEY, CACHE_KEY);
+            cacheEvictionService.processCacheEvictionEvents();
+            assertNotNull(herdCache.get(CACHE_KEY));
+        }
+        finally
+        {
+            herdCache.evict(CACHE_KEY);
+        }
+    }
+
+    @Test
+    public void testProcessCacheEvictionEventsDeleteExpiredEvents()
+    {
+        // Create a cache eviction event that is older than the retention period and one of an unknown cache, which is expected to be skipped.
+        long currentTimeMillis = System.currentTimeMillis();
+        createCacheEvictionEventEntity(NamespaceEntity.class.getName(),
+            new Timestamp(currentTimeMillis - ((Integer) ConfigurationValue.HERD_CACHE_EVICTION_EVENT_RETENTION_SECONDS.getDefaultValue() + 60) * 1000L));
+        CacheEvictionEventEntity cacheEvictionEventEntity = createCacheEvictionEventEntity(I_DO_NOT_EXIST, new Timestamp(currentTimeMillis));
+
+        // Process the cache eviction events.
+        cacheEvictionService.processCacheEvictionEvents();
+
+        // Validate that only the expired cache eviction event got deleted.
+        cacheEvictionEventDao.getEntityManager().clear();
+        List<CacheEvictionEventEntity> cacheEvictionEventEntities = cacheEvictionEventDao.getCacheEvictionEventsCreatedOnOrAfter(new Timestamp(0));
+        assertEquals(1, cacheEvictionEventEntities.size());
+        assertEquals(cacheEvictionEventEntity.getId(), cacheEvictionEventEntities.get(0).getId());
+    }
+
+    @Test
+    public void testEvictCache()
+    {
+        // Evict the herd cache and a reference data cache region.
+        assertTrue(cacheEvictionHelper.isEvictableCache(DaoSpringModuleConfig.HERD_CACHE_NAME));
+        cacheEvictionHelper.evictCache(DaoSpringModuleConfig.HERD_CACHE_NAME);
+        assertTrue(cacheEvictionHelper.isEvictableCache(NamespaceEntity.class.getName()));
+        cacheEvictionHelper.evictCache(NamespaceEntity.class.getName());
+
+        // Try to evict an unknown cache.
+        try
+        {
+            cacheEvictionHelper.evictCache(I_DO_NOT_EXIST);
+            fail();
+        }
+        catch (IllegalArgumentException e)
+        {
+            assertEquals(String.format("Cache \"%s\" can not be evicted.", I_DO_NOT_EXIST), e.getMessage());
+        }
+    }
+
+    /**
+     * Creates and persists a cache eviction event entity.
+     *
+     * @param cacheName the name of the cache to evict
+     * @param createdOn the creation time of the cache eviction event
+     *
+     * @return the newly created cache eviction event entity
+     */
+    private CacheEvictionEventEntity createCacheEvictionEventEntity(String cacheName, Timestamp createdOn)
+    {
+        CacheEvictionEventEntity cacheEvictionEventEntity = new CacheEvictionEventEntity();
+        cacheEvictionEventEntity.setCacheName(cacheName);
+        cacheEvictionEventEntity.setCreatedOn(createdOn);
+        return cacheEvictionEventDao.saveAndRefresh(cacheEvictionEventEntity);
+    }
+}
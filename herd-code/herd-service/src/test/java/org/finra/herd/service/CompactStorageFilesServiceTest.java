@@ -0,0 +1,113 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import org.finra.herd.model.api.xml.BusinessObjectDataKey;
+import org.finra.herd.model.api.xml.BusinessObjectDataStorageUnitKey;
+import org.finra.herd.model.api.xml.StorageFile;
+import org.finra.herd.model.dto.ConfigurationValue;
+import org.finra.herd.model.jpa.StorageUnitEntity;
+import org.finra.herd.model.jpa.StorageUnitStatusEntity;
+
+/**
+ * This class tests functionality within the compact storage files service.
+ */
+public class CompactStorageFilesServiceTest extends AbstractServiceTest
+{
+    @Test
+    public void testCompactS3StorageUnitStorageFiles() throws Exception
+    {
+        // Create a business object data key.
+        BusinessObjectDataKey businessObjectDataKey =
+            new BusinessObjectDataKey(BDEF_NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE,
+                SUBPARTITION_VALUES, DATA_VERSION);
+
+        // Create an enabled S3 storage unit with storage files registered.
+        StorageUnitEntity storageUnitEntity =
+            storageUnitDaoTestHelper.createStorageUnitEntity(STORAGE_NAME, businessObjectDataKey, StorageUnitStatusEntity.ENABLED);
+        List<StorageFile> storageFiles = new ArrayList<>();
+        for (int i = 0; i < 3; i++)
+        {
+            StorageFile storageFile = new StorageFile(String.format("%s/%d/%s", TEST_S3_KEY_PREFIX, i, LOCAL_FILE), FILE_SIZE_1_KB, ROW_COUNT_1000);
+            storageFileDaoTestHelper.createStorageFileEntity(storageUnitEntity, storageFile.getFilePath(), storageFile.getFileSizeBytes(),
+                storageFile.getRowCount());
+            storageFiles.add(storageFile);
+        }
+        storageUnitDao.saveAndRefresh(storageUnitEntity);
+
+        // Override the configuration, so the storage unit has enough storage files registered to get its storage files compacted.
+        Map<String, Object> overrideMap = new HashMap<>();
+        overrideMap.put(ConfigurationValue.COMPACT_STORAGE_FILES_MIN_STORAGE_FILES.getKey(), storageFiles.size());
+        modifyPropertySourceInEnvironment(overrideMap);
+
+        try
+        {
+            // Select the storage units to compact and validate that the storage unit gets selected.
+            BusinessObjectDataStorageUnitKey businessObjectDataStorageUnitKey = storageUnitHelper.createStorageUnitKeyFromEntity(storageUnitEntity);
+            assertTrue(compactStorageFilesService.getS3StorageUnitsToCompactStorageFiles(MAX_RESULT).contains(businessObjectDataStorageUnitKey));
+
+            // Compact the storage files of the storage unit.
+            compactStorageFilesService.compactS3StorageUnitStorageFiles(businessObjectDataStorageUnitKey);
+
+            // Validate that the storage files got moved from the storage file entities to the storage file manifest.
+            storageUnitEntity = storageUnitDaoHelper.getStorageUnitEntityByKey(businessObjectDataStorageUnitKey);
+            assertNotNull(storageUnitEntity.getStorageFileManifest());
+            assertTrue(storageUnitEntity.getStorageFiles().isEmpty());
+            assertEquals(storageFiles.size(), storageFileHelper.getStorageFileCount(storageUnitEntity));
+
+            // Validate that the compacted storage files are still matched by the S3 key prefix of the business object data.
+            assertEquals(TEST_S3_KEY_PREFIX + "/", storageUnitEntity.getStorageFileManifest().getS3KeyPrefix());
+            assertEquals(storageFiles.size(), storageFileDaoHelper.getStorageFileCount(STORAGE_NAME, TEST_S3_KEY_PREFIX + "/"));
+            assertEquals(storageFiles, storageFileHelper.getStorageFiles(storageUnitEntity));
+            assertEquals(storageFiles,
+                storageUnitHelper.createStorageUnitsFromEntities(Collections.singletonList(storageUnitEntity), NO_INCLUDE_STORAGE_UNIT_STATUS_HISTORY).get(0)
+                    .getStorageFiles());
+
+            // Validate that the storage unit does not get selected again.
+            assertFalse(compactStorageFilesService.getS3StorageUnitsToCompactStorageFiles(MAX_RESULT).contains(businessObjectDataStorageUnitKey));
+
+            // Try to compact the storage files of the storage unit again.
+            try
+            {
+                compactStorageFilesService.compactS3StorageUnitStorageFiles(businessObjectDataStorageUnitKey);
+                fail();
+            }
+            catch (IllegalArgumentException e)
+            {
+                assertEquals(String.format("Storage files are already compacted for the storage unit. Storage {%s}, business object data {%s}", STORAGE_NAME,
+                    businessObjectDataHelper.businessObjectDataEntityAltKeyToString(storageUnitEntity.getBusinessObjectData())), e.getMessage());
+            }
+        }
+        finally
+        {
+            restorePropertySourceInEnvironment();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.service;
+
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringWriter;
+
+import org.junit.Test;
+
+import org.finra.herd.dao.config.DaoSpringModuleConfig;
+import org.finra.herd.service.impl.NamespaceServiceImpl;
+
+/**
+ * This class tests functionality within the metrics service.
+ */
+public class MetricsServiceTest extends AbstractServiceTest
+{
+    @Test
+    public void testWriteMetrics()
+    {
+        // Call a service method.
+        namespaceService.getNamespaces();
+
+        // Write the metrics.
+        StringWriter writer = new StringWriter();
+        metricsService.writeMetrics(writer);
+        String metrics = writer.toString();
+
+        // Validate that the service method call got recorded and the reference data cache statistics are reported.
+        assertTrue(metrics.contains("# TYPE herd_service_method_duration_seconds summary\n"));
+        assertTrue(metrics
+            .contains("herd_service_method_duration_seconds_count{class=\"" + NamespaceServiceImpl.class.getName() + "\",method=\"getNamespaces\"}"));
+        assertTrue(metrics.contains("# TYPE herd_dao_method_duration_seconds summary\n"));
+        assertTrue(metrics.contains("# TYPE herd_reference_data_cache_hits gauge\n"));
+        assertTrue(metrics.contains("herd_reference_data_cache_hits{cache=\"" + DaoSpringModuleConfig.REFERENCE_DATA_QUERY_CACHE_NAME + "\"}"));
+        assertTrue(metrics.contains("herd_reference_data_cache_misses{cache=\"" + DaoSpringModuleConfig.REFERENCE_DATA_QUERY_CACHE_NAME + "\"}"));
+    }
+}
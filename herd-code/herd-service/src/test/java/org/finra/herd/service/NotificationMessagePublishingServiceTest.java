@@ -22,6 +22,7 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -110,6 +111,9 @@ public class NotificationMessagePublishingServiceTest extends AbstractServiceTes
         // Publish the notification message from the database queue.
         assertTrue(notificationMessagePublishingServiceImpl.publishOldestNotificationMessageFromDatabaseQueue());
 
+        // Validate that there are no more notification messages to publish from the database queue.
+        assertEquals(0, notificationMessagePublishingServiceImpl.publishOldestNotificationMessagesFromDatabaseQueue(MAX_RESULT));
+
         // Publish notification message directly - not from the database queue.
         notificationMessagePublishingServiceImpl.publishNotificationMessage(
             new NotificationMessage(MessageTypeEntity.MessageEventTypes.SQS.name(), MESSAGE_DESTINATION, MESSAGE_TEXT,
@@ -206,4 +210,46 @@ public class NotificationMessagePublishingServiceTest extends AbstractServiceTes
         // Check that the test notification message is still the oldest message in the database queue.
         assertEquals(notificationMessageDao.getOldestNotificationMessage(), notificationMessageEntity);
     }
+
+    @Test
+    public void testPublishOldestNotificationMessagesFromDatabaseQueue()
+    {
+        // Create notification messages and add them to the database queue.
+        notificationMessageDaoTestHelper.createNotificationMessageEntity(MessageTypeEntity.MessageEventTypes.SQS.name(), AWS_SQS_QUEUE_NAME, MESSAGE_TEXT);
+        notificationMessageDaoTestHelper.createNotificationMessageEntity(MessageTypeEntity.MessageEventTypes.SNS.name(), AWS_SNS_TOPIC_ARN, MESSAGE_TEXT);
+        notificationMessageDaoTestHelper.createNotificationMessageEntity(MessageTypeEntity.MessageEventTypes.SQS.name(), AWS_SQS_QUEUE_NAME, MESSAGE_TEXT_2);
+
+        // Publish two notification messages from the database queue.
+        assertEquals(2, notificationMessagePublishingService.publishOldestNotificationMessagesFromDatabaseQueue(2));
+
+        // Publish the remaining notification message.
+        assertEquals(1, notificationMessagePublishingService.publishOldestNotificationMessagesFromDatabaseQueue(2));
+
+        // Confirm that the database queue is empty now.
+        assertEquals(0, notificationMessagePublishingService.publishOldestNotificationMessagesFromDatabaseQueue(2));
+        assertNull(notificationMessageDao.getOldestNotificationMessage());
+    }
+
+    @Test
+    public void testPublishOldestNotificationMessagesFromDatabaseQueuePartialFailure()
+    {
+        // Create notification messages and add them to the database queue, including messages that fail to get published.
+        notificationMessageDaoTestHelper.createNotificationMessageEntity(MessageTypeEntity.MessageEventTypes.SQS.name(), AWS_SQS_QUEUE_NAME, MESSAGE_TEXT);
+        NotificationMessageEntity failedBatchEntryNotificationMessageEntity = notificationMessageDaoTestHelper
+            .createNotificationMessageEntity(MessageTypeEntity.MessageEventTypes.SQS.name(), AWS_SQS_QUEUE_NAME,
+                MockSqsOperationsImpl.MOCK_SQS_BATCH_ENTRY_FAILURE_MESSAGE_TEXT);
+        NotificationMessageEntity queueNotFoundNotificationMessageEntity = notificationMessageDaoTestHelper
+            .createNotificationMessageEntity(MessageTypeEntity.MessageEventTypes.SQS.name(), MockSqsOperationsImpl.MOCK_SQS_QUEUE_NOT_FOUND_NAME, MESSAGE_TEXT);
+        notificationMessageDaoTestHelper.createNotificationMessageEntity(MessageTypeEntity.MessageEventTypes.SNS.name(), AWS_SNS_TOPIC_ARN, MESSAGE_TEXT);
+        NotificationMessageEntity invalidMessageTypeNotificationMessageEntity =
+            notificationMessageDaoTestHelper.createNotificationMessageEntity(MESSAGE_TYPE, MESSAGE_DESTINATION, MESSAGE_TEXT);
+
+        // Publish the notification messages from the database queue.
+        assertEquals(2, notificationMessagePublishingService.publishOldestNotificationMessagesFromDatabaseQueue(MAX_RESULT));
+
+        // Validate that only the notification messages that failed to get published are kept in the database queue.
+        assertEquals(
+            Arrays.asList(failedBatchEntryNotificationMessageEntity, queueNotFoundNotificationMessageEntity, invalidMessageTypeNotificationMessageEntity),
+            notificationMessageDao.getOldestNotificationMessages(MAX_RESULT));
+    }
 }
@@ -21,10 +21,13 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.InputStream;
 import java.util.Arrays;
 import java.util.List;
 
+import com.amazonaws.services.s3.model.PartETag;
 import com.amazonaws.services.s3.model.S3ObjectSummary;
 import com.amazonaws.services.s3.model.Tag;
 import org.junit.Before;
@@ -56,6 +59,43 @@ public class S3ServiceTest extends AbstractServiceTest
         MockitoAnnotations.initMocks(this);
     }
 
+    @Test
+    public void testAbortMultipartUpload()
+    {
+        // Create an S3 file transfer request parameters DTO.
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = new S3FileTransferRequestParamsDto();
+
+        // Call the method under test.
+        s3Service.abortMultipartUpload(s3FileTransferRequestParamsDto, STRING_VALUE);
+
+        // Verify the external calls.
+        verify(s3Dao).abortMultipartUpload(s3FileTransferRequestParamsDto, STRING_VALUE);
+        verifyNoMoreInteractions(s3Dao);
+    }
+
+    @Test
+    public void testCompleteMultipartUpload()
+    {
+        // Create an S3 file transfer request parameters DTO.
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = new S3FileTransferRequestParamsDto();
+
+        // Create a list of part ETags.
+        List<PartETag> partETags = Arrays.asList(new PartETag(1, STRING_VALUE_2));
+
+        // Mock the external calls.
+        when(s3Dao.completeMultipartUpload(s3FileTransferRequestParamsDto, STRING_VALUE, partETags)).thenReturn(STRING_VALUE_2);
+
+        // Call the method under test.
+        String result = s3Service.completeMultipartUpload(s3FileTransferRequestParamsDto, STRING_VALUE, partETags);
+
+        // Verify the external calls.
+        verify(s3Dao).completeMultipartUpload(s3FileTransferRequestParamsDto, STRING_VALUE, partETags);
+        verifyNoMoreInteractions(s3Dao);
+
+        // Validate the returned object.
+        assertEquals(STRING_VALUE_2, result);
+    }
+
     @Test
     public void testCopyFile() throws InterruptedException
     {
@@ -198,6 +238,46 @@ public class S3ServiceTest extends AbstractServiceTest
         assertEquals(s3FileTransferResultsDto, result);
     }
 
+    @Test
+    public void testDownloadFileRange()
+    {
+        // Create an S3 file transfer request parameters DTO.
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = new S3FileTransferRequestParamsDto();
+
+        // Mock the external calls.
+        when(s3Dao.downloadFileRange(s3FileTransferRequestParamsDto, 0L, FILE_SIZE_1_KB - 1)).thenReturn(FILE_SIZE_1_KB);
+
+        // Call the method under test.
+        long result = s3Service.downloadFileRange(s3FileTransferRequestParamsDto, 0L, FILE_SIZE_1_KB - 1);
+
+        // Verify the external calls.
+        verify(s3Dao).downloadFileRange(s3FileTransferRequestParamsDto, 0L, FILE_SIZE_1_KB - 1);
+        verifyNoMoreInteractions(s3Dao);
+
+        // Validate the returned object.
+        assertEquals(FILE_SIZE_1_KB, result);
+    }
+
+    @Test
+    public void testInitiateMultipartUpload()
+    {
+        // Create an S3 file transfer request parameters DTO.
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = new S3FileTransferRequestParamsDto();
+
+        // Mock the external calls.
+        when(s3Dao.initiateMultipartUpload(s3FileTransferRequestParamsDto)).thenReturn(STRING_VALUE);
+
+        // Call the method under test.
+        String result = s3Service.initiateMultipartUpload(s3FileTransferRequestParamsDto);
+
+        // Verify the external calls.
+        verify(s3Dao).initiateMultipartUpload(s3FileTransferRequestParamsDto);
+        verifyNoMoreInteractions(s3Dao);
+
+        // Validate the returned object.
+        assertEquals(STRING_VALUE, result);
+    }
+
     @Test
     public void testListDirectory()
     {
@@ -351,6 +431,29 @@ public class S3ServiceTest extends AbstractServiceTest
         assertEquals(s3FileTransferResultsDto, result);
     }
 
+    @Test
+    public void testUploadPart()
+    {
+        // Create an S3 file transfer request parameters DTO.
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = new S3FileTransferRequestParamsDto();
+
+        // Create an input stream for the part data.
+        InputStream inputStream = new ByteArrayInputStream(new byte[(int) FILE_SIZE_1_KB]);
+
+        // Mock the external calls.
+        when(s3Dao.uploadPart(s3FileTransferRequestParamsDto, STRING_VALUE, 1, inputStream, FILE_SIZE_1_KB, null)).thenReturn(STRING_VALUE_2);
+
+        // Call the method under test.
+        String result = s3Service.uploadPart(s3FileTransferRequestParamsDto, STRING_VALUE, 1, inputStream, FILE_SIZE_1_KB, null);
+
+        // Verify the external calls.
+        verify(s3Dao).uploadPart(s3FileTransferRequestParamsDto, STRING_VALUE, 1, inputStream, FILE_SIZE_1_KB, null);
+        verifyNoMoreInteractions(s3Dao);
+
+        // Validate the returned object.
+        assertEquals(STRING_VALUE_2, result);
+    }
+
     @Test
     public void testValidateGlacierS3FilesRestored() throws RuntimeException
     {
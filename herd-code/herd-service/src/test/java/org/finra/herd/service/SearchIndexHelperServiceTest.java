@@ -17,17 +17,15 @@ package org.finra.herd.service;
 
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
-import static org.mockito.Matchers.any;
-import static org.mockito.Matchers.eq;
-import static org.mockito.Mockito.doNothing;
+import static org.junit.Assert.fail;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.Future;
 
@@ -36,17 +34,19 @@ import org.junit.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
 
+import org.finra.herd.core.helper.ConfigurationHelper;
 import org.finra.herd.dao.BusinessObjectDefinitionDao;
 import org.finra.herd.dao.IndexFunctionsDao;
 import org.finra.herd.dao.TagDao;
 import org.finra.herd.model.api.xml.SearchIndexKey;
-import org.finra.herd.model.jpa.BusinessObjectDefinitionEntity;
+import org.finra.herd.model.dto.ConfigurationValue;
 import org.finra.herd.model.jpa.SearchIndexStatusEntity;
-import org.finra.herd.model.jpa.TagEntity;
-import org.finra.herd.service.helper.BusinessObjectDefinitionHelper;
 import org.finra.herd.service.helper.SearchIndexDaoHelper;
-import org.finra.herd.service.helper.TagHelper;
+import org.finra.herd.service.helper.SearchIndexProgressHelper;
 import org.finra.herd.service.impl.SearchIndexHelperServiceImpl;
 
 /**
@@ -54,11 +54,15 @@ import org.finra.herd.service.impl.SearchIndexHelperServiceImpl;
  */
 public class SearchIndexHelperServiceTest extends AbstractServiceTest
 {
+    private static final int REINDEX_CHUNK_SIZE = 2;
+
+    private static final int REINDEX_THREAD_COUNT = 2;
+
     @Mock
     private BusinessObjectDefinitionDao businessObjectDefinitionDao;
 
     @Mock
-    private BusinessObjectDefinitionHelper businessObjectDefinitionHelper;
+    private ConfigurationHelper configurationHelper;
 
     @Mock
     private IndexFunctionsDao indexFunctionsDao;
@@ -66,14 +70,20 @@ public class SearchIndexHelperServiceTest extends AbstractServiceTest
     @Mock
     private SearchIndexDaoHelper searchIndexDaoHelper;
 
+    @Mock
+    private SearchIndexDocumentHelperService searchIndexDocumentHelperService;
+
     @InjectMocks
     private SearchIndexHelperServiceImpl searchIndexHelperService;
 
     @Mock
-    private TagDao tagDao;
+    private SearchIndexProgressHelper searchIndexProgressHelper;
+
+    @Spy
+    private TaskExecutor searchIndexReindexTaskExecutor = new SyncTaskExecutor();
 
     @Mock
-    private TagHelper tagHelper;
+    private TagDao tagDao;
 
     @Before
     public void before()
@@ -87,34 +97,43 @@ public class SearchIndexHelperServiceTest extends AbstractServiceTest
         // Create a search index key.
         SearchIndexKey searchIndexKey = new SearchIndexKey(SEARCH_INDEX_NAME);
 
-        // Create a list of business object definition entities.
-        final List<BusinessObjectDefinitionEntity> businessObjectDefinitionEntities = Collections.unmodifiableList(Arrays.asList(
-            businessObjectDefinitionDaoTestHelper.createBusinessObjectDefinitionEntity(BDEF_NAMESPACE, BDEF_NAME, DATA_PROVIDER_NAME, BDEF_DESCRIPTION,
-                businessObjectDefinitionServiceTestHelper.getNewAttributes()), businessObjectDefinitionDaoTestHelper
-            .createBusinessObjectDefinitionEntity(BDEF_NAMESPACE_2, BDEF_NAME_2, DATA_PROVIDER_NAME_2, BDEF_DESCRIPTION_2,
-                businessObjectDefinitionServiceTestHelper.getNewAttributes2())));
-
-        // Get a chunk size.
-        int chunkSize = SearchIndexHelperServiceImpl.BUSINESS_OBJECT_DEFINITIONS_CHUNK_SIZE;
-
-        // Mock the external calls. Please note that we mock index size is set to be equal to the business object definition entity list size.
-        when(businessObjectDefinitionDao.getAllBusinessObjectDefinitions(0, chunkSize)).thenReturn(businessObjectDefinitionEntities);
-        when(businessObjectDefinitionDao.getAllBusinessObjectDefinitions(chunkSize, chunkSize)).thenReturn(new ArrayList<>());
-
-        when(indexFunctionsDao.getNumberOfTypesInIndex(any(), any())).thenReturn(2L);
+        // Create two chunks of business object definition ids.
+        List<Integer> businessObjectDefinitionIds = Arrays.asList(ID, ID_2);
+        List<Integer> businessObjectDefinitionIds2 = Arrays.asList(ID_2 + 1);
+
+        // Mock the external calls. Please note that we mock index size is set to be equal to the number of business object definition ids.
+        when(configurationHelper.getProperty(ConfigurationValue.SEARCH_INDEX_REINDEX_THREAD_COUNT, Integer.class)).thenReturn(REINDEX_THREAD_COUNT);
+        when(configurationHelper.getProperty(ConfigurationValue.SEARCH_INDEX_REINDEX_CHUNK_SIZE, Integer.class)).thenReturn(REINDEX_CHUNK_SIZE);
+        when(businessObjectDefinitionDao.getCountOfAllBusinessObjectDefinitions()).thenReturn(3L);
+        when(businessObjectDefinitionDao.getBusinessObjectDefinitionIds(null, REINDEX_CHUNK_SIZE)).thenReturn(businessObjectDefinitionIds);
+        when(businessObjectDefinitionDao.getBusinessObjectDefinitionIds(ID_2, REINDEX_CHUNK_SIZE)).thenReturn(businessObjectDefinitionIds2);
+        when(businessObjectDefinitionDao.getBusinessObjectDefinitionIds(ID_2 + 1, REINDEX_CHUNK_SIZE)).thenReturn(new ArrayList<>());
+        when(searchIndexDocumentHelperService.indexBusinessObjectDefinitions(SEARCH_INDEX_NAME, SEARCH_INDEX_DOCUMENT_TYPE, businessObjectDefinitionIds))
+            .thenReturn(2);
+        when(searchIndexDocumentHelperService.indexBusinessObjectDefinitions(SEARCH_INDEX_NAME, SEARCH_INDEX_DOCUMENT_TYPE, businessObjectDefinitionIds2))
+            .thenReturn(1);
+        when(indexFunctionsDao.getNumberOfTypesInIndex(SEARCH_INDEX_NAME, SEARCH_INDEX_DOCUMENT_TYPE)).thenReturn(3L);
 
         // Index all business object definitions defined in the system.
         Future<Void> response = searchIndexHelperService.indexAllBusinessObjectDefinitions(searchIndexKey, SEARCH_INDEX_DOCUMENT_TYPE);
 
         // Verify the external calls.
-        verify(businessObjectDefinitionDao).getAllBusinessObjectDefinitions(0, chunkSize);
-        verify(businessObjectDefinitionDao).getAllBusinessObjectDefinitions(chunkSize, chunkSize);
-        verify(businessObjectDefinitionHelper)
-            .executeFunctionForBusinessObjectDefinitionEntities(eq(SEARCH_INDEX_NAME), eq(SEARCH_INDEX_DOCUMENT_TYPE), eq(businessObjectDefinitionEntities),
-                any());
-        verify(indexFunctionsDao).getNumberOfTypesInIndex(any(), any());
+        verify(configurationHelper).getProperty(ConfigurationValue.SEARCH_INDEX_REINDEX_THREAD_COUNT, Integer.class);
+        verify(configurationHelper).getProperty(ConfigurationValue.SEARCH_INDEX_REINDEX_CHUNK_SIZE, Integer.class);
+        verify(businessObjectDefinitionDao).getCountOfAllBusinessObjectDefinitions();
+        verify(businessObjectDefinitionDao).getBusinessObjectDefinitionIds(null, REINDEX_CHUNK_SIZE);
+        verify(businessObjectDefinitionDao).getBusinessObjectDefinitionIds(ID_2, REINDEX_CHUNK_SIZE);
+        verify(businessObjectDefinitionDao).getBusinessObjectDefinitionIds(ID_2 + 1, REINDEX_CHUNK_SIZE);
+        verify(searchIndexDocumentHelperService).indexBusinessObjectDefinitions(SEARCH_INDEX_NAME, SEARCH_INDEX_DOCUMENT_TYPE, businessObjectDefinitionIds);
+        verify(searchIndexDocumentHelperService).indexBusinessObjectDefinitions(SEARCH_INDEX_NAME, SEARCH_INDEX_DOCUMENT_TYPE, businessObjectDefinitionIds2);
+        verify(searchIndexProgressHelper).startProgress(SEARCH_INDEX_NAME, 3L);
+        verify(searchIndexProgressHelper).addProcessedEntityCount(SEARCH_INDEX_NAME, 2L);
+        verify(searchIndexProgressHelper).addProcessedEntityCount(SEARCH_INDEX_NAME, 1L);
+        verify(searchIndexProgressHelper).removeProgress(SEARCH_INDEX_NAME);
+        verify(indexFunctionsDao).getNumberOfTypesInIndex(SEARCH_INDEX_NAME, SEARCH_INDEX_DOCUMENT_TYPE);
         verify(searchIndexDaoHelper).updateSearchIndexStatus(searchIndexKey, SearchIndexStatusEntity.SearchIndexStatuses.READY.name());
-        verifyNoMoreInteractions(businessObjectDefinitionDao, businessObjectDefinitionHelper, searchIndexDaoHelper, tagDao, tagHelper);
+        verifyNoMoreInteractions(businessObjectDefinitionDao, configurationHelper, indexFunctionsDao, searchIndexDaoHelper, searchIndexDocumentHelperService,
+            searchIndexProgressHelper, tagDao);
 
         // Validate the results.
         assertNotNull(response);
@@ -122,32 +141,82 @@ public class SearchIndexHelperServiceTest extends AbstractServiceTest
     }
 
     @Test
-    public void testIndexAllTags()
+    public void testIndexAllBusinessObjectDefinitionsChunkIndexingFails()
     {
         // Create a search index key.
         SearchIndexKey searchIndexKey = new SearchIndexKey(SEARCH_INDEX_NAME);
 
-        // Create a list of tag entities.
-        final List<TagEntity> tagEntities = Collections.unmodifiableList(Arrays
-            .asList(tagDaoTestHelper.createTagEntity(TAG_TYPE, TAG_CODE, TAG_DISPLAY_NAME, TAG_DESCRIPTION),
-                tagDaoTestHelper.createTagEntity(TAG_TYPE_2, TAG_CODE_2, TAG_DISPLAY_NAME_2, TAG_DESCRIPTION_2)));
+        // Create a chunk of business object definition ids.
+        List<Integer> businessObjectDefinitionIds = Arrays.asList(ID, ID_2);
+
+        // Mock the external calls.
+        when(configurationHelper.getProperty(ConfigurationValue.SEARCH_INDEX_REINDEX_THREAD_COUNT, Integer.class)).thenReturn(REINDEX_THREAD_COUNT);
+        when(configurationHelper.getProperty(ConfigurationValue.SEARCH_INDEX_REINDEX_CHUNK_SIZE, Integer.class)).thenReturn(REINDEX_CHUNK_SIZE);
+        when(businessObjectDefinitionDao.getCountOfAllBusinessObjectDefinitions()).thenReturn(2L);
+        when(businessObjectDefinitionDao.getBusinessObjectDefinitionIds(null, REINDEX_CHUNK_SIZE)).thenReturn(businessObjectDefinitionIds);
+        when(businessObjectDefinitionDao.getBusinessObjectDefinitionIds(ID_2, REINDEX_CHUNK_SIZE)).thenReturn(new ArrayList<>());
+        when(searchIndexDocumentHelperService.indexBusinessObjectDefinitions(SEARCH_INDEX_NAME, SEARCH_INDEX_DOCUMENT_TYPE, businessObjectDefinitionIds))
+            .thenThrow(new IllegalStateException(ERROR_MESSAGE));
+
+        // Try to index all business object definitions defined in the system.
+        try
+        {
+            searchIndexHelperService.indexAllBusinessObjectDefinitions(searchIndexKey, SEARCH_INDEX_DOCUMENT_TYPE);
+            fail();
+        }
+        catch (IllegalStateException e)
+        {
+            assertEquals(ERROR_MESSAGE, e.getMessage());
+        }
+
+        // Verify the external calls.
+        verify(configurationHelper).getProperty(ConfigurationValue.SEARCH_INDEX_REINDEX_THREAD_COUNT, Integer.class);
+        verify(configurationHelper).getProperty(ConfigurationValue.SEARCH_INDEX_REINDEX_CHUNK_SIZE, Integer.class);
+        verify(businessObjectDefinitionDao).getCountOfAllBusinessObjectDefinitions();
+        verify(businessObjectDefinitionDao).getBusinessObjectDefinitionIds(null, REINDEX_CHUNK_SIZE);
+        verify(businessObjectDefinitionDao).getBusinessObjectDefinitionIds(ID_2, REINDEX_CHUNK_SIZE);
+        verify(searchIndexDocumentHelperService).indexBusinessObjectDefinitions(SEARCH_INDEX_NAME, SEARCH_INDEX_DOCUMENT_TYPE, businessObjectDefinitionIds);
+        verify(searchIndexProgressHelper).startProgress(SEARCH_INDEX_NAME, 2L);
+        verify(searchIndexProgressHelper).removeProgress(SEARCH_INDEX_NAME);
+        verifyNoMoreInteractions(businessObjectDefinitionDao, configurationHelper, indexFunctionsDao, searchIndexDaoHelper, searchIndexDocumentHelperService,
+            searchIndexProgressHelper, tagDao);
+    }
+
+    @Test
+    public void testIndexAllTags()
+    {
+        // Create a search index key.
+        SearchIndexKey searchIndexKey = new SearchIndexKey(SEARCH_INDEX_NAME);
 
-        // Mock the external calls. Please note that we mock index size is set to be equal to the tag entity list size.
-        when(tagDao.getTags()).thenReturn(tagEntities);
-        doNothing().when(indexFunctionsDao).createIndexDocument(any(), any(), any(), any());
+        // Create a chunk of tag ids.
+        List<Integer> tagIds = Arrays.asList(ID, ID_2);
 
+        // Mock the external calls. Please note that we mock index size is set to be equal to the number of tag ids.
+        when(configurationHelper.getProperty(ConfigurationValue.SEARCH_INDEX_REINDEX_THREAD_COUNT, Integer.class)).thenReturn(REINDEX_THREAD_COUNT);
+        when(configurationHelper.getProperty(ConfigurationValue.SEARCH_INDEX_REINDEX_CHUNK_SIZE, Integer.class)).thenReturn(REINDEX_CHUNK_SIZE);
+        when(tagDao.getCountOfAllTags()).thenReturn(2L);
+        when(tagDao.getTagIds(null, REINDEX_CHUNK_SIZE)).thenReturn(tagIds);
+        when(tagDao.getTagIds(ID_2, REINDEX_CHUNK_SIZE)).thenReturn(new ArrayList<>());
+        when(searchIndexDocumentHelperService.indexTags(SEARCH_INDEX_NAME, SEARCH_INDEX_DOCUMENT_TYPE, tagIds)).thenReturn(2);
         when(indexFunctionsDao.getNumberOfTypesInIndex(SEARCH_INDEX_NAME, SEARCH_INDEX_DOCUMENT_TYPE)).thenReturn(2L);
 
         // Index all tags defined in the system.
         Future<Void> response = searchIndexHelperService.indexAllTags(searchIndexKey, SEARCH_INDEX_DOCUMENT_TYPE);
 
         // Verify the external calls.
-        verify(tagDao).getTags();
-        //verify(indexFunctionsDao).createIndexDocument(any(), any(), any(), any());
-        verify(tagHelper).executeFunctionForTagEntities(eq(SEARCH_INDEX_NAME), eq(SEARCH_INDEX_DOCUMENT_TYPE), eq(tagEntities), any());
+        verify(configurationHelper).getProperty(ConfigurationValue.SEARCH_INDEX_REINDEX_THREAD_COUNT, Integer.class);
+        verify(configurationHelper).getProperty(ConfigurationValue.SEARCH_INDEX_REINDEX_CHUNK_SIZE, Integer.class);
+        verify(tagDao).getCountOfAllTags();
+        verify(tagDao).getTagIds(null, REINDEX_CHUNK_SIZE);
+        verify(tagDao).getTagIds(ID_2, REINDEX_CHUNK_SIZE);
+        verify(searchIndexDocumentHelperService).indexTags(SEARCH_INDEX_NAME, SEARCH_INDEX_DOCUMENT_TYPE, tagIds);
+        verify(searchIndexProgressHelper).startProgress(SEARCH_INDEX_NAME, 2L);
+        verify(searchIndexProgressHelper).addProcessedEntityCount(SEARCH_INDEX_NAME, 2L);
+        verify(searchIndexProgressHelper).removeProgress(SEARCH_INDEX_NAME);
         verify(indexFunctionsDao).getNumberOfTypesInIndex(SEARCH_INDEX_NAME, SEARCH_INDEX_DOCUMENT_TYPE);
         verify(searchIndexDaoHelper).updateSearchIndexStatus(searchIndexKey, SearchIndexStatusEntity.SearchIndexStatuses.READY.name());
-        verifyNoMoreInteractions(businessObjectDefinitionDao, businessObjectDefinitionHelper, searchIndexDaoHelper, tagDao, tagHelper);
+        verifyNoMoreInteractions(businessObjectDefinitionDao, configurationHelper, indexFunctionsDao, searchIndexDaoHelper, searchIndexDocumentHelperService,
+            searchIndexProgressHelper, tagDao);
 
         // Validate the results.
         assertNotNull(response);
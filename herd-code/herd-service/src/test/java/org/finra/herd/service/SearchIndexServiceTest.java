@@ -17,6 +17,8 @@ package org.finra.herd.service;
 
 import static org.junit.Assert.assertEquals;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -46,6 +48,7 @@ import org.finra.herd.model.api.xml.SearchIndex;
 import org.finra.herd.model.api.xml.SearchIndexCreateRequest;
 import org.finra.herd.model.api.xml.SearchIndexKey;
 import org.finra.herd.model.api.xml.SearchIndexKeys;
+import org.finra.herd.model.api.xml.SearchIndexProgress;
 import org.finra.herd.model.api.xml.SearchIndexStatistics;
 import org.finra.herd.model.dto.ConfigurationValue;
 import org.finra.herd.model.jpa.SearchIndexEntity;
@@ -55,6 +58,7 @@ import org.finra.herd.service.helper.AlternateKeyHelper;
 import org.finra.herd.service.helper.BusinessObjectDefinitionHelper;
 import org.finra.herd.service.helper.ConfigurationDaoHelper;
 import org.finra.herd.service.helper.SearchIndexDaoHelper;
+import org.finra.herd.service.helper.SearchIndexProgressHelper;
 import org.finra.herd.service.helper.SearchIndexStatusDaoHelper;
 import org.finra.herd.service.helper.SearchIndexTypeDaoHelper;
 import org.finra.herd.service.impl.SearchIndexServiceImpl;
@@ -94,6 +98,9 @@ public class SearchIndexServiceTest extends AbstractServiceTest
     @InjectMocks
     private SearchIndexServiceImpl searchIndexService;
 
+    @Mock
+    private SearchIndexProgressHelper searchIndexProgressHelper;
+
     @Mock
     private SearchIndexStatusDaoHelper searchIndexStatusDaoHelper;
 
@@ -171,7 +178,8 @@ public class SearchIndexServiceTest extends AbstractServiceTest
 
         verify(searchIndexHelperService).indexAllBusinessObjectDefinitions(searchIndexKey, SEARCH_INDEX_DOCUMENT_TYPE);
         verifyNoMoreInteractions(alternateKeyHelper, businessObjectDefinitionDao, businessObjectDefinitionHelper, configurationDaoHelper, configurationHelper,
-            indexFunctionsDao, searchIndexDao, searchIndexDaoHelper, searchIndexHelperService, searchIndexStatusDaoHelper, searchIndexTypeDaoHelper);
+            indexFunctionsDao, searchIndexDao, searchIndexDaoHelper, searchIndexHelperService, searchIndexProgressHelper, searchIndexStatusDaoHelper,
+            searchIndexTypeDaoHelper);
 
         // Validate the returned object.
         assertEquals(new SearchIndex(searchIndexKey, searchIndexType, searchIndexStatus, SEARCH_INDEX_DEFAULT_ACTIVE_FLAG, NO_SEARCH_INDEX_STATISTICS, USER_ID,
@@ -204,8 +212,10 @@ public class SearchIndexServiceTest extends AbstractServiceTest
         verify(indexFunctionsDao).deleteIndex(any());
 
         verify(searchIndexDao).delete(searchIndexEntity);
+        verify(searchIndexProgressHelper).removeProgress(SEARCH_INDEX_NAME);
         verifyNoMoreInteractions(alternateKeyHelper, businessObjectDefinitionDao, businessObjectDefinitionHelper, configurationDaoHelper, configurationHelper,
-            indexFunctionsDao, searchIndexDao, searchIndexDaoHelper, searchIndexHelperService, searchIndexStatusDaoHelper, searchIndexTypeDaoHelper);
+            indexFunctionsDao, searchIndexDao, searchIndexDaoHelper, searchIndexHelperService, searchIndexProgressHelper, searchIndexStatusDaoHelper,
+            searchIndexTypeDaoHelper);
 
         // Validate the returned object.
         assertEquals(
@@ -256,7 +266,8 @@ public class SearchIndexServiceTest extends AbstractServiceTest
         verify(indexFunctionsDao).getNumberOfTypesInIndex(any(), any());
 
         verifyNoMoreInteractions(alternateKeyHelper, businessObjectDefinitionDao, businessObjectDefinitionHelper, configurationDaoHelper, configurationHelper,
-            indexFunctionsDao, searchIndexDao, searchIndexDaoHelper, searchIndexHelperService, searchIndexStatusDaoHelper, searchIndexTypeDaoHelper);
+            indexFunctionsDao, searchIndexDao, searchIndexDaoHelper, searchIndexHelperService, searchIndexProgressHelper, searchIndexStatusDaoHelper,
+            searchIndexTypeDaoHelper);
 
         //response.getSearchIndexStatistics().setIndexCreationDate(SEARCH_INDEX_STATISTICS_CREATION_DATE);
         // Validate the returned object.
@@ -280,12 +291,48 @@ public class SearchIndexServiceTest extends AbstractServiceTest
         // Verify the external calls.
         verify(searchIndexDao).getSearchIndexes();
         verifyNoMoreInteractions(alternateKeyHelper, businessObjectDefinitionDao, businessObjectDefinitionHelper, configurationDaoHelper, configurationHelper,
-            indexFunctionsDao, searchIndexDao, searchIndexDaoHelper, searchIndexHelperService, searchIndexStatusDaoHelper, searchIndexTypeDaoHelper);
+            indexFunctionsDao, searchIndexDao, searchIndexDaoHelper, searchIndexHelperService, searchIndexProgressHelper, searchIndexStatusDaoHelper,
+            searchIndexTypeDaoHelper);
 
         // Validate the returned object.
         assertEquals(new SearchIndexKeys(searchIndexKeys), response);
     }
 
+    @Test
+    public void testGetSearchIndexProgress()
+    {
+        // Create a search index key.
+        SearchIndexKey searchIndexKey = new SearchIndexKey(SEARCH_INDEX_NAME);
+
+        // Create the search index entity.
+        SearchIndexEntity searchIndexEntity = createTestSearchIndexEntity();
+
+        // Mock the external calls.
+        when(alternateKeyHelper.validateStringParameter("Search index name", SEARCH_INDEX_NAME)).thenReturn(SEARCH_INDEX_NAME);
+        when(searchIndexDaoHelper.getSearchIndexEntity(searchIndexKey)).thenReturn(searchIndexEntity);
+        doAnswer(invocation ->
+        {
+            SearchIndexProgress searchIndexProgress = (SearchIndexProgress) invocation.getArguments()[1];
+            searchIndexProgress.setTotalEntityCount(2L);
+            searchIndexProgress.setProcessedEntityCount(1L);
+            return null;
+        }).when(searchIndexProgressHelper).updateSearchIndexProgress(eq(SEARCH_INDEX_NAME), any(SearchIndexProgress.class));
+
+        // Get the search index progress.
+        SearchIndexProgress response = searchIndexService.getSearchIndexProgress(searchIndexKey);
+
+        // Verify the external calls.
+        verify(alternateKeyHelper).validateStringParameter("Search index name", SEARCH_INDEX_NAME);
+        verify(searchIndexDaoHelper).getSearchIndexEntity(searchIndexKey);
+        verify(searchIndexProgressHelper).updateSearchIndexProgress(eq(SEARCH_INDEX_NAME), any(SearchIndexProgress.class));
+        verifyNoMoreInteractions(alternateKeyHelper, businessObjectDefinitionDao, businessObjectDefinitionHelper, configurationDaoHelper, configurationHelper,
+            indexFunctionsDao, searchIndexDao, searchIndexDaoHelper, searchIndexHelperService, searchIndexProgressHelper, searchIndexStatusDaoHelper,
+            searchIndexTypeDaoHelper);
+
+        // Validate the returned object.
+        assertEquals(new SearchIndexProgress(searchIndexKey, SEARCH_INDEX_STATUS, 2L, 1L, null, null), response);
+    }
+
     /**
      * Creates a test search index entity along with the relative database entities.
      *
@@ -129,6 +129,51 @@ public class NamespaceSecurityAdviceTest extends AbstractServiceTest
         }
     }
 
+    /**
+     * Test the case where the same method gets called many times with different arguments, so the cached permission checks and the compiled field expressions
+     * get evaluated against the current arguments.
+     */
+    @Test
+    public void checkPermissionAssertCachedPermissionChecksUseCurrentArguments() throws Exception
+    {
+        // Mock a join point of the method call
+        // mockMethod("foo");
+        JoinPoint joinPoint = mock(JoinPoint.class);
+        MethodSignature methodSignature = mock(MethodSignature.class);
+        Method method = NamespaceSecurityAdviceTest.class.getDeclaredMethod("mockMethod", String.class);
+        when(methodSignature.getParameterNames()).thenReturn(new String[] {"namespace"});
+        when(methodSignature.getMethod()).thenReturn(method);
+        when(joinPoint.getSignature()).thenReturn(methodSignature);
+        when(joinPoint.getArgs()).thenReturn(new Object[] {"foo"});
+
+        String userId = "userId";
+        ApplicationUser applicationUser = new ApplicationUser(getClass());
+        applicationUser.setUserId(userId);
+        applicationUser.setNamespaceAuthorizations(new HashSet<>());
+        applicationUser.getNamespaceAuthorizations().add(new NamespaceAuthorization("foo", Arrays.asList(NamespacePermissionEnum.READ)));
+        SecurityContextHolder.getContext().setAuthentication(
+            new TestingAuthenticationToken(new SecurityUserWrapper(userId, "", false, false, false, false, Arrays.asList(), applicationUser), null));
+
+        // Call the method often enough for the field expression to get compiled.
+        for (int i = 0; i < 200; i++)
+        {
+            namespaceSecurityAdvice.checkPermission(joinPoint);
+        }
+
+        // Call the method with a namespace the user has no permissions to.
+        when(joinPoint.getArgs()).thenReturn(new Object[] {"bar"});
+        try
+        {
+            namespaceSecurityAdvice.checkPermission(joinPoint);
+            fail();
+        }
+        catch (Exception e)
+        {
+            assertEquals(AccessDeniedException.class, e.getClass());
+            assertEquals(String.format("User \"%s\" does not have \"[READ]\" permission(s) to the namespace \"bar\"", userId), e.getMessage());
+        }
+    }
+
     /**
      * Test the case where user has the namespace but does not have the permission
      */
@@ -15,7 +15,14 @@
 */
 package org.finra.herd.service.advice;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.lang.reflect.Method;
@@ -25,16 +32,24 @@ import org.aspectj.lang.reflect.MethodSignature;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.InjectMocks;
+import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import org.finra.herd.core.Command;
 import org.finra.herd.core.MockProceedingJoinPoint;
 import org.finra.herd.core.SuppressLogging;
 import org.finra.herd.core.helper.LogLevel;
+import org.finra.herd.dao.MetricsRegistry;
 import org.finra.herd.service.AbstractServiceTest;
 
 public class StopWatchAdviceTest extends AbstractServiceTest
 {
+    @Mock
+    private MetricsRegistry.MethodTimer methodTimer;
+
+    @Mock
+    private MetricsRegistry metricsRegistry;
+
     @InjectMocks
     private StopWatchAdvice stopWatchAdvice;
 
@@ -42,6 +57,44 @@ public class StopWatchAdviceTest extends AbstractServiceTest
     public void before()
     {
         MockitoAnnotations.initMocks(this);
+
+        when(metricsRegistry.getMethodTimer(eq(StopWatchAdvice.SERVICE_METHOD_METRIC_NAME), anyString(), any(), anyString())).thenReturn(methodTimer);
+    }
+
+    @Test
+    public void testLogMethodTimeRecordsMethodTime() throws Throwable
+    {
+        // Mock a join point of the method call.
+        ProceedingJoinPoint joinPoint = getMockedProceedingJoinPoint(new StopWatchAdviceTest(), StopWatchAdviceTest.class.getDeclaredMethod("mockMethod"));
+
+        // Call the method under test.
+        stopWatchAdvice.logMethodTime(joinPoint);
+
+        // Validate that the method time got recorded.
+        verify(metricsRegistry).getMethodTimer(eq(StopWatchAdvice.SERVICE_METHOD_METRIC_NAME), anyString(), eq(StopWatchAdviceTest.class), eq("mockMethod"));
+        verify(methodTimer).record(anyLong(), eq(false));
+    }
+
+    @Test
+    public void testLogMethodTimeRecordsFailedMethodTime() throws Throwable
+    {
+        // Mock a join point of the method call that throws an exception.
+        ProceedingJoinPoint joinPoint = getMockedProceedingJoinPoint(new StopWatchAdviceTest(), StopWatchAdviceTest.class.getDeclaredMethod("mockMethod"));
+        when(joinPoint.proceed()).thenThrow(new IllegalArgumentException(ERROR_MESSAGE));
+
+        // Call the method under test.
+        try
+        {
+            stopWatchAdvice.logMethodTime(joinPoint);
+            fail();
+        }
+        catch (IllegalArgumentException e)
+        {
+            assertEquals(ERROR_MESSAGE, e.getMessage());
+        }
+
+        // Validate that the failed method call got recorded.
+        verify(methodTimer).record(anyLong(), eq(true));
     }
 
     @Test
@@ -23,6 +23,7 @@ import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.regex.Matcher;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -157,6 +158,38 @@ public class Hive13DdlGeneratorTest extends AbstractServiceTest
         }
     }
 
+    @Test
+    public void testGetHivePartitionPathMatcher()
+    {
+        List<String> filePaths = Arrays.asList("/column1=a/column_2=b/file.dat", "/COLUMN1=a/COLUMN_2=b/", "/Column1=a/column-2=b/file.dat",
+            "/column1=a=b/column_2=c d/file.dat", "/column1=a/column_2=b/extra-folder/file.dat", "/column_2=a/column1=b/file.dat", "/column1=a/file.dat",
+            "/column1=a/column_2=/file.dat", "/column1=a/column_2/file.dat", "/column1=a/a/column_2=2/file.dat", "/column1=a/column_2=2",
+            "/column1=a/column.2=b/", "/column1x=a/column_2=b/", "", "/");
+
+        // Validate that the matcher produces the same results as the Hive path pattern, including the column names that are matched using the pattern.
+        for (List<String> partitionColumnNames : Arrays
+            .asList(new ArrayList<String>(), Arrays.asList("Column1", "column_2"), Arrays.asList("Column1", "column.2"), Arrays.asList("Column1", "column+2")))
+        {
+            List<SchemaColumn> partitionColumns = getPartitionColumns(partitionColumnNames);
+            HivePartitionPathMatcher hivePartitionPathMatcher = hive13DdlGenerator.getHivePartitionPathMatcher(partitionColumns);
+
+            for (String filePath : filePaths)
+            {
+                Matcher matcher = hive13DdlGenerator.getHivePathPattern(partitionColumns).matcher(filePath);
+                List<String> expectedPartitionValues = null;
+                if (matcher.matches())
+                {
+                    expectedPartitionValues = new ArrayList<>();
+                    for (int i = 1; i <= matcher.groupCount(); i++)
+                    {
+                        expectedPartitionValues.add(matcher.group(i));
+                    }
+                }
+                assertEquals(partitionColumnNames + " " + filePath, expectedPartitionValues, hivePartitionPathMatcher.getPartitionValues(filePath));
+            }
+        }
+    }
+
     @Test
     public void testGetDdlCharacterValueEmptyString()
     {
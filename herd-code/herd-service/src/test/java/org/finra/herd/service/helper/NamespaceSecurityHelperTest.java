@@ -17,6 +17,7 @@ package org.finra.herd.service.helper;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.util.Arrays;
 import java.util.Collections;
@@ -26,12 +27,14 @@ import java.util.Set;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.TestingAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 import org.finra.herd.model.api.xml.NamespaceAuthorization;
 import org.finra.herd.model.api.xml.NamespacePermissionEnum;
 import org.finra.herd.model.dto.ApplicationUser;
+import org.finra.herd.model.dto.NamespaceAuthorizationSet;
 import org.finra.herd.model.dto.SecurityUserWrapper;
 
 public class NamespaceSecurityHelperTest
@@ -95,4 +98,41 @@ public class NamespaceSecurityHelperTest
         Set<String> authorizedNamespaces = namespaceSecurityHelper.getAuthorizedNamespaces(NamespacePermissionEnum.READ);
         assertEquals(0, authorizedNamespaces.size());
     }
+
+    @Test
+    public void checkPermissionWhenUserHasIndexedPermissionAssertNoException()
+    {
+        ApplicationUser applicationUser = new ApplicationUser(getClass());
+        applicationUser.setNamespaceAuthorizations(new NamespaceAuthorizationSet(Arrays
+            .asList(new NamespaceAuthorization("namespace", Arrays.asList(NamespacePermissionEnum.READ, NamespacePermissionEnum.WRITE)),
+                new NamespaceAuthorization("namespace2", null))));
+        SecurityContextHolder.getContext().setAuthentication(
+            new TestingAuthenticationToken(new SecurityUserWrapper("username", "", true, true, true, true, Collections.emptyList(), applicationUser), null));
+
+        namespaceSecurityHelper.checkPermission(" NAMESPACE ", new NamespacePermissionEnum[] {NamespacePermissionEnum.GRANT, NamespacePermissionEnum.WRITE});
+    }
+
+    @Test
+    public void checkPermissionWhenUserHasNoIndexedPermissionAssertAccessDenied()
+    {
+        ApplicationUser applicationUser = new ApplicationUser(getClass());
+        applicationUser.setUserId("userId");
+        applicationUser.setNamespaceAuthorizations(new NamespaceAuthorizationSet(Arrays
+            .asList(new NamespaceAuthorization("namespace", Arrays.asList(NamespacePermissionEnum.READ)), new NamespaceAuthorization("namespace2", null))));
+        SecurityContextHolder.getContext().setAuthentication(
+            new TestingAuthenticationToken(new SecurityUserWrapper("username", "", true, true, true, true, Collections.emptyList(), applicationUser), null));
+
+        for (String namespace : Arrays.asList("namespace", "namespace2", "namespace3"))
+        {
+            try
+            {
+                namespaceSecurityHelper.checkPermission(namespace, new NamespacePermissionEnum[] {NamespacePermissionEnum.WRITE});
+                fail();
+            }
+            catch (AccessDeniedException e)
+            {
+                assertEquals(String.format("User \"userId\" does not have \"[WRITE]\" permission(s) to the namespace \"%s\"", namespace), e.getMessage());
+            }
+        }
+    }
 }
@@ -0,0 +1,151 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.service.helper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import org.finra.herd.dao.config.DaoSpringModuleConfig;
+import org.finra.herd.model.jpa.CacheEvictionEventEntity;
+import org.finra.herd.model.jpa.NamespaceEntity;
+import org.finra.herd.model.jpa.SecurityRoleEntity;
+import org.finra.herd.service.AbstractServiceTest;
+
+/**
+ * This class tests functionality within the reference data cache helper.
+ */
+public class ReferenceDataCacheHelperTest extends AbstractServiceTest
+{
+    @Test
+    public void testEvictReferenceData()
+    {
+        // Create a namespace and look it up, so its lookup gets cached.
+        NamespaceEntity namespaceEntity = namespaceDaoTestHelper.createNamespaceEntity(NAMESPACE);
+        assertEquals(namespaceEntity, namespaceDao.getNamespaceByCd(NAMESPACE));
+        ReferenceDataCacheHelper.CacheStatistics queryCacheStatisticsBeforeEviction = getQueryCacheStatistics();
+
+        // Evict the namespaces from the reference data cache.
+        Timestamp lookbackThreshold = new Timestamp(System.currentTimeMillis() - 1000);
+        referenceDataCacheHelper.evictReferenceData(NamespaceEntity.class);
+
+        // Validate that the cache eviction event got published.
+        List<CacheEvictionEventEntity> cacheEvictionEventEntities = cacheEvictionEventDao.getCacheEvictionEventsCreatedOnOrAfter(lookbackThreshold);
+        assertEquals(1, cacheEvictionEventEntities.size());
+        assertEquals(NamespaceEntity.class.getName(), cacheEvictionEventEntities.get(0).getCacheName());
+
+        // The test transaction never commits, so evict the cache on this herd node the way the cache eviction service does after the commit.
+        cacheEvictionHelper.evictCache(NamespaceEntity.class.getName());
+
+        // Look up the namespace again and validate that the cached lookup got evicted, so the lookup missed the query cache.
+        assertEquals(namespaceEntity, namespaceDao.getNamespaceByCd(NAMESPACE));
+        ReferenceDataCacheHelper.CacheStatistics queryCacheStatistics = getQueryCacheStatistics();
+        assertEquals(queryCacheStatisticsBeforeEviction.getHitCount(), queryCacheStatistics.getHitCount());
+        assertEquals(queryCacheStatisticsBeforeEviction.getMissCount() + 1, queryCacheStatistics.getMissCount());
+    }
+
+    @Test
+    public void testGetNamespaceByCdEmptyCachedLookup()
+    {
+        // Look up a namespace that does not exist yet, so the empty lookup gets cached.
+        assertNull(namespaceDao.getNamespaceByCd(NAMESPACE));
+        ReferenceDataCacheHelper.CacheStatistics queryCacheStatisticsBeforeLookup = getQueryCacheStatistics();
+
+        // Insert the namespace bypassing Hibernate, the way another herd node would, so the cached empty lookup does not get invalidated.
+        new JdbcTemplate(DaoSpringModuleConfig.getHerdDataSource()).update(String
+            .format("insert into %s (name_space_cd, creat_ts, creat_user_id, updt_ts, updt_user_id) values (?, current_timestamp, ?, current_timestamp, ?)",
+                NamespaceEntity.TABLE_NAME), NAMESPACE, USER_ID, USER_ID);
+
+        // Look up the namespace again and validate that it is found, even though the cached empty lookup got returned by the query cache.
+        NamespaceEntity namespaceEntity = namespaceDao.getNamespaceByCd(NAMESPACE);
+        assertNotNull(namespaceEntity);
+        assertEquals(NAMESPACE, namespaceEntity.getCode());
+        assertEquals(queryCacheStatisticsBeforeLookup.getHitCount() + 1, getQueryCacheStatistics().getHitCount());
+    }
+
+    @Test
+    public void testEvictReferenceDataInvalidEntityClass()
+    {
+        try
+        {
+            referenceDataCacheHelper.evictReferenceData(SecurityRoleEntity.class);
+            fail();
+        }
+        catch (IllegalArgumentException e)
+        {
+            assertEquals(String.format("Entity class \"%s\" is not a cached reference data entity class.", SecurityRoleEntity.class.getName()), e.getMessage());
+        }
+    }
+
+    @Test
+    public void testGetReferenceDataCacheStatistics()
+    {
+        // Create a namespace and look it up, so its lookup gets cached.
+        NamespaceEntity namespaceEntity = namespaceDaoTestHelper.createNamespaceEntity(NAMESPACE);
+        assertEquals(namespaceEntity, namespaceDao.getNamespaceByCd(NAMESPACE));
+
+        // Get the reference data cache statistics.
+        Map<String, ReferenceDataCacheHelper.CacheStatistics> result = referenceDataCacheHelper.getReferenceDataCacheStatistics();
+
+        // Validate that there are statistics for the query cache region and all reference data entity cache regions.
+        List<String> expectedCacheNames = new ArrayList<>();
+        expectedCacheNames.add(DaoSpringModuleConfig.REFERENCE_DATA_QUERY_CACHE_NAME);
+        for (Class<?> entityClass : ReferenceDataCacheHelper.REFERENCE_DATA_ENTITY_CLASSES)
+        {
+            expectedCacheNames.add(entityClass.getName());
+        }
+        assertEquals(expectedCacheNames, new ArrayList<>(result.keySet()));
+
+        // Look up the namespace again and validate that the lookup hit the query cache.
+        ReferenceDataCacheHelper.CacheStatistics queryCacheStatisticsBeforeLookup = result.get(DaoSpringModuleConfig.REFERENCE_DATA_QUERY_CACHE_NAME);
+        assertEquals(namespaceEntity, namespaceDao.getNamespaceByCd(NAMESPACE.toLowerCase()));
+        ReferenceDataCacheHelper.CacheStatistics queryCacheStatistics = getQueryCacheStatistics();
+        assertEquals(queryCacheStatisticsBeforeLookup.getHitCount() + 1, queryCacheStatistics.getHitCount());
+        assertEquals(queryCacheStatisticsBeforeLookup.getMissCount(), queryCacheStatistics.getMissCount());
+    }
+
+    @Test
+    public void testCacheStatisticsHitRatio()
+    {
+        assertEquals(0.75, new ReferenceDataCacheHelper.CacheStatistics(3, 1).getHitRatio(), 0);
+        assertEquals(0, new ReferenceDataCacheHelper.CacheStatistics(0, 0).getHitRatio(), 0);
+    }
+
+    @Test
+    public void testLogReferenceDataCacheStatistics()
+    {
+        referenceDataCacheHelper.logReferenceDataCacheStatistics();
+    }
+
+    /**
+     * Gets the statistics of the reference data query cache region.
+     *
+     * @return the statistics of the reference data query cache region
+     */
+    private ReferenceDataCacheHelper.CacheStatistics getQueryCacheStatistics()
+    {
+        return referenceDataCacheHelper.getReferenceDataCacheStatistics().get(DaoSpringModuleConfig.REFERENCE_DATA_QUERY_CACHE_NAME);
+    }
+}
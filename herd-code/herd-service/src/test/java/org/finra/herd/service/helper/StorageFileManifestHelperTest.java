@@ -0,0 +1,107 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.service.helper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import org.finra.herd.model.api.xml.StorageFile;
+import org.finra.herd.model.jpa.StorageFileManifestEntity;
+import org.finra.herd.service.AbstractServiceTest;
+
+/**
+ * This class tests functionality within the storage file manifest helper.
+ */
+public class StorageFileManifestHelperTest extends AbstractServiceTest
+{
+    @Test
+    public void testCreateStorageFileManifestEntity()
+    {
+        // Create a list of storage files that are not sorted by file path and have some optional values missing.
+        List<StorageFile> storageFiles = Arrays
+            .asList(new StorageFile("prefix/b/" + LOCAL_FILE, FILE_SIZE_1_KB, ROW_COUNT_1000), new StorageFile("prefix/a/" + LOCAL_FILE, null, ROW_COUNT_1000),
+                new StorageFile("prefix/a/", FILE_SIZE_1_KB, null), new StorageFile("other/" + LOCAL_FILE, null, null));
+
+        // Create a storage file manifest entity.
+        StorageFileManifestEntity storageFileManifestEntity = storageFileManifestHelper.createStorageFileManifestEntity(storageFiles);
+
+        // Validate the results. The storage files are expected to be read back sorted by file path.
+        assertEquals(Integer.valueOf(storageFiles.size()), storageFileManifestEntity.getFileCount());
+        assertEquals("", storageFileManifestEntity.getS3KeyPrefix());
+        assertEquals(Arrays.asList(storageFiles.get(3), storageFiles.get(2), storageFiles.get(1), storageFiles.get(0)),
+            storageFileManifestHelper.getStorageFilesFromManifest(storageFileManifestEntity.getManifest()));
+    }
+
+    @Test
+    public void testCreateManifestLargeNumberOfStorageFiles()
+    {
+        // Create a large list of storage files with long shared path prefixes.
+        List<StorageFile> storageFiles = new ArrayList<>();
+        for (int i = 0; i < 10000; i++)
+        {
+            storageFiles.add(new StorageFile(String.format("%s/%s/%05d.dat", TEST_S3_KEY_PREFIX, "partition-column=2017-01-01", i), FILE_SIZE_1_KB, (long) i));
+        }
+
+        // Create a storage file manifest.
+        byte[] manifest = storageFileManifestHelper.createManifest(storageFiles);
+
+        // Validate the results. The manifest is expected to take a small fraction of the size of the storage file paths.
+        assertEquals(storageFiles, storageFileManifestHelper.getStorageFilesFromManifest(manifest));
+        assertTrue(manifest.length < storageFiles.size() * storageFiles.get(0).getFilePath().length() / 10);
+    }
+
+    @Test
+    public void testCreateManifestNoStorageFiles()
+    {
+        assertEquals(Collections.emptyList(),
+            storageFileManifestHelper.getStorageFilesFromManifest(storageFileManifestHelper.createManifest(Collections.emptyList())));
+    }
+
+    @Test
+    public void testGetS3KeyPrefix()
+    {
+        // The S3 key prefix is expected to be cut after the last '/' character of the prefix shared by all file paths.
+        assertEquals("prefix/a/", storageFileManifestHelper
+            .getS3KeyPrefix(Arrays.asList(new StorageFile("prefix/a/file-1", null, null), new StorageFile("prefix/a/file-2", null, null))));
+        assertEquals("prefix/", storageFileManifestHelper
+            .getS3KeyPrefix(Arrays.asList(new StorageFile("prefix/ab/file", null, null), new StorageFile("prefix/a/file", null, null))));
+        assertEquals("prefix/a/", storageFileManifestHelper.getS3KeyPrefix(Collections.singletonList(new StorageFile("prefix/a/file", null, null))));
+        assertEquals("", storageFileManifestHelper.getS3KeyPrefix(Collections.singletonList(new StorageFile("file", null, null))));
+        assertEquals("", storageFileManifestHelper.getS3KeyPrefix(Collections.emptyList()));
+    }
+
+    @Test
+    public void testGetStorageFilesFromManifestInvalidManifest()
+    {
+        try
+        {
+            storageFileManifestHelper.getStorageFilesFromManifest(new byte[] {1, 2, 3});
+            fail();
+        }
+        catch (IllegalStateException e)
+        {
+            assertEquals("Failed to read the storage file manifest.", e.getMessage());
+        }
+    }
+}
@@ -49,6 +49,7 @@ import org.finra.herd.model.jpa.StoragePolicyTransitionTypeEntity;
 import org.finra.herd.model.jpa.StorageUnitEntity;
 import org.finra.herd.model.jpa.StorageUnitStatusEntity;
 import org.finra.herd.service.AbstractServiceTest;
+import org.finra.herd.service.StoragePolicyProcessorService;
 
 /**
  * This class tests functionality within the StoragePolicyProcessorJmsMessageListener.
@@ -244,6 +245,51 @@ public class StoragePolicyProcessorJmsMessageListenerTest extends AbstractServic
         });
     }
 
+    @Test
+    public void testProcessMessageMultipleStoragePolicySelections() throws Exception
+    {
+        // Create two business object data keys.
+        BusinessObjectDataKey businessObjectDataKey =
+            new BusinessObjectDataKey(BDEF_NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE,
+                NO_SUBPARTITION_VALUES, DATA_VERSION);
+        BusinessObjectDataKey businessObjectDataKey2 =
+            new BusinessObjectDataKey(BDEF_NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE_2,
+                NO_SUBPARTITION_VALUES, DATA_VERSION);
+
+        // Create a storage policy key.
+        StoragePolicyKey storagePolicyKey = new StoragePolicyKey(STORAGE_POLICY_NAMESPACE_CD, STORAGE_POLICY_NAME);
+
+        // Mock the storage policy processor service.
+        StoragePolicyProcessorService originalStoragePolicyProcessorService =
+            (StoragePolicyProcessorService) ReflectionTestUtils.getField(storagePolicyProcessorJmsMessageListener, "storagePolicyProcessorService");
+        StoragePolicyProcessorService mockStoragePolicyProcessorService = Mockito.mock(StoragePolicyProcessorService.class);
+        ReflectionTestUtils.setField(storagePolicyProcessorJmsMessageListener, "storagePolicyProcessorService", mockStoragePolicyProcessorService);
+
+        try
+        {
+            // Make processing of the first storage policy selection fail.
+            StoragePolicySelection storagePolicySelection = new StoragePolicySelection(businessObjectDataKey, storagePolicyKey, INITIAL_VERSION);
+            StoragePolicySelection storagePolicySelection2 = new StoragePolicySelection(businessObjectDataKey2, storagePolicyKey, INITIAL_VERSION);
+            Mockito.doThrow(new IllegalArgumentException(ERROR_MESSAGE)).when(mockStoragePolicyProcessorService)
+                .processStoragePolicySelectionMessage(storagePolicySelection);
+
+            // Process a message that contains both storage policy selections.
+            executeWithoutLogging(StoragePolicyProcessorJmsMessageListener.class, () -> {
+                storagePolicyProcessorJmsMessageListener
+                    .processMessage(jsonHelper.objectToJson(Arrays.asList(storagePolicySelection, storagePolicySelection2)), null);
+            });
+
+            // Validate that both storage policy selections got processed.
+            verify(mockStoragePolicyProcessorService).processStoragePolicySelectionMessage(storagePolicySelection);
+            verify(mockStoragePolicyProcessorService).processStoragePolicySelectionMessage(storagePolicySelection2);
+            Mockito.verifyNoMoreInteractions(mockStoragePolicyProcessorService);
+        }
+        finally
+        {
+            ReflectionTestUtils.setField(storagePolicyProcessorJmsMessageListener, "storagePolicyProcessorService", originalStoragePolicyProcessorService);
+        }
+    }
+
     @Test
     public void testControlListener()
     {
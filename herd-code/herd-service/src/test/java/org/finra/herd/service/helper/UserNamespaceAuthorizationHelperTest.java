@@ -16,6 +16,8 @@
 package org.finra.herd.service.helper;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.verify;
@@ -31,16 +33,22 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
 
 import org.finra.herd.core.helper.ConfigurationHelper;
 import org.finra.herd.core.helper.WildcardHelper;
 import org.finra.herd.dao.NamespaceDao;
 import org.finra.herd.dao.UserDao;
 import org.finra.herd.dao.UserNamespaceAuthorizationDao;
+import org.finra.herd.dao.config.DaoSpringModuleConfig;
 import org.finra.herd.model.api.xml.NamespaceAuthorization;
+import org.finra.herd.model.api.xml.NamespacePermissionEnum;
 import org.finra.herd.model.dto.ApplicationUser;
+import org.finra.herd.model.dto.NamespaceAuthorizationSet;
 import org.finra.herd.model.jpa.NamespaceEntity;
 import org.finra.herd.model.jpa.UserNamespaceAuthorizationEntity;
+import org.finra.herd.service.CacheEvictionService;
 
 public class UserNamespaceAuthorizationHelperTest
 {
@@ -50,6 +58,12 @@ public class UserNamespaceAuthorizationHelperTest
     @Mock
     private NamespaceDao namespaceDao;
 
+    @Mock
+    private CacheEvictionService cacheEvictionService;
+
+    @Mock
+    private CacheManager cacheManager;
+
     @Mock
     private ConfigurationHelper configurationHelper;
 
@@ -66,6 +80,53 @@ public class UserNamespaceAuthorizationHelperTest
     public void before()
     {
         initMocks(this);
+
+        when(cacheManager.getCache(DaoSpringModuleConfig.NAMESPACE_AUTHORIZATION_CACHE_NAME))
+            .thenReturn(new ConcurrentMapCache(DaoSpringModuleConfig.NAMESPACE_AUTHORIZATION_CACHE_NAME));
+    }
+
+    @Test
+    public void testBuildNamespaceAuthorizationsAssertCachedPerUserId()
+    {
+        when(configurationHelper.getBooleanProperty(any())).thenReturn(true);
+
+        List<UserNamespaceAuthorizationEntity> userNamespaceAuthorizationEntities = new ArrayList<>();
+        UserNamespaceAuthorizationEntity userNamespaceAuthorizationEntity = new UserNamespaceAuthorizationEntity();
+        userNamespaceAuthorizationEntity.setUserId("userId");
+        NamespaceEntity namespaceEntity = new NamespaceEntity();
+        namespaceEntity.setCode("namespace");
+        userNamespaceAuthorizationEntity.setNamespace(namespaceEntity);
+        userNamespaceAuthorizationEntity.setReadPermission(true);
+        userNamespaceAuthorizationEntities.add(userNamespaceAuthorizationEntity);
+        when(userNamespaceAuthorizationDao.getUserNamespaceAuthorizationsByUserId(any())).thenReturn(userNamespaceAuthorizationEntities);
+
+        // Build the namespace authorizations twice for the same user, with the user ids in different case.
+        ApplicationUser applicationUser = new ApplicationUser(getClass());
+        applicationUser.setUserId("userId");
+        userNamespaceAuthorizationHelper.buildNamespaceAuthorizations(applicationUser);
+        ApplicationUser cachedApplicationUser = new ApplicationUser(getClass());
+        cachedApplicationUser.setUserId("USERID");
+        userNamespaceAuthorizationHelper.buildNamespaceAuthorizations(cachedApplicationUser);
+
+        assertEquals(applicationUser.getNamespaceAuthorizations(), cachedApplicationUser.getNamespaceAuthorizations());
+        NamespaceAuthorizationSet namespaceAuthorizations = (NamespaceAuthorizationSet) cachedApplicationUser.getNamespaceAuthorizations();
+        assertTrue(namespaceAuthorizations.hasAnyNamespacePermission("NAMESPACE", NamespacePermissionEnum.READ));
+        assertFalse(namespaceAuthorizations.hasAnyNamespacePermission("namespace", NamespacePermissionEnum.WRITE));
+
+        // The namespace authorizations are only resolved once.
+        verify(userDao).getUserByUserId("userId");
+        verify(userNamespaceAuthorizationDao).getUserNamespaceAuthorizationsByUserId(eq("userId"));
+        verify(userNamespaceAuthorizationDao).getUserNamespaceAuthorizationsByUserIdStartsWith(eq(WildcardHelper.WILDCARD_TOKEN));
+        verifyNoMoreInteractions(userDao, userNamespaceAuthorizationDao, wildcardHelper);
+    }
+
+    @Test
+    public void testEvictNamespaceAuthorizations()
+    {
+        userNamespaceAuthorizationHelper.evictNamespaceAuthorizations();
+
+        verify(cacheEvictionService).publishCacheEviction(DaoSpringModuleConfig.NAMESPACE_AUTHORIZATION_CACHE_NAME);
+        verifyNoMoreInteractions(cacheEvictionService);
     }
 
     @Test
@@ -18,11 +18,14 @@ package org.finra.herd.service.helper;
 import java.util.HashMap;
 import java.util.Map;
 
-import org.finra.herd.service.AbstractServiceTest;
-
+import org.apache.velocity.VelocityContext;
+import org.apache.velocity.exception.ParseErrorException;
 import org.junit.Assert;
 import org.junit.Test;
 
+import org.finra.herd.model.dto.ConfigurationValue;
+import org.finra.herd.service.AbstractServiceTest;
+
 public class VelocityHelperTest extends AbstractServiceTest
 {
     @Test
@@ -35,4 +38,79 @@ public class VelocityHelperTest extends AbstractServiceTest
         String result = velocityHelper.evaluate(template, variables, logTag);
         Assert.assertEquals("result", "bar", result);
     }
+
+    @Test
+    public void testEvaluateCachedTemplate()
+    {
+        String template = "${foo}-" + RANDOM_SUFFIX;
+        String logTag = "testEvaluateCachedTemplate";
+
+        // Evaluate the same template twice with different variables.
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("foo", "bar");
+        Assert.assertEquals("bar-" + RANDOM_SUFFIX, velocityHelper.evaluate(template, variables, logTag));
+        int cachedTemplateCount = velocityHelper.getCachedTemplateCount();
+
+        variables.put("foo", "baz");
+        Assert.assertEquals("baz-" + RANDOM_SUFFIX, velocityHelper.evaluate(template, variables, logTag));
+
+        // Validate that the parsed template got reused.
+        Assert.assertEquals(cachedTemplateCount, velocityHelper.getCachedTemplateCount());
+    }
+
+    @Test
+    public void testEvaluateChainedVelocityContext()
+    {
+        // Create a shared velocity context and chain it with a velocity context with values specific to this evaluation.
+        Map<String, Object> baseVariables = new HashMap<>();
+        baseVariables.put("foo", "bar");
+        baseVariables.put("baz", "qux");
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("foo", "quux");
+
+        String result = velocityHelper.evaluate("${foo}/${baz}", new VelocityContext(variables, new VelocityContext(baseVariables)), "test");
+
+        // Validate that the values specific to this evaluation take precedence.
+        Assert.assertEquals("quux/qux", result);
+    }
+
+    @Test
+    public void testEvaluateInvalidTemplate()
+    {
+        try
+        {
+            velocityHelper.evaluate("#if($foo", new HashMap<>(), "testEvaluateInvalidTemplate");
+            Assert.fail();
+        }
+        catch (ParseErrorException e)
+        {
+            Assert.assertEquals("testEvaluateInvalidTemplate", e.getTemplateName());
+        }
+    }
+
+    @Test
+    public void testEvaluateTemplateCacheFull() throws Exception
+    {
+        // Override configuration to allow only a single cached template.
+        Map<String, Object> overrideMap = new HashMap<>();
+        overrideMap.put(ConfigurationValue.VELOCITY_TEMPLATE_CACHE_MAX_SIZE.getKey(), 1);
+        modifyPropertySourceInEnvironment(overrideMap);
+
+        try
+        {
+            Map<String, Object> variables = new HashMap<>();
+            variables.put("foo", "bar");
+
+            // Evaluate two different templates.
+            Assert.assertEquals("bar", velocityHelper.evaluate("${foo}", variables, "test"));
+            Assert.assertEquals("bar!", velocityHelper.evaluate("${foo}!", variables, "test"));
+
+            // Validate that only the last template is cached.
+            Assert.assertEquals(1, velocityHelper.getCachedTemplateCount());
+        }
+        finally
+        {
+            restorePropertySourceInEnvironment();
+        }
+    }
 }
@@ -18,6 +18,7 @@ package org.finra.herd.service.impl;
 import static junit.framework.Assert.fail;
 import static org.junit.Assert.assertEquals;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -45,6 +46,7 @@ import org.finra.herd.core.helper.ConfigurationHelper;
 import org.finra.herd.core.helper.LogLevel;
 import org.finra.herd.dao.BusinessObjectFormatDao;
 import org.finra.herd.dao.HerdDao;
+import org.finra.herd.dao.S3ObjectSummaryIterator;
 import org.finra.herd.dao.StorageUnitDao;
 import org.finra.herd.dao.helper.HerdStringHelper;
 import org.finra.herd.model.api.xml.BusinessObjectData;
@@ -877,11 +879,14 @@ public class BusinessObjectDataInitiateDestroyHelperServiceImplTest extends Abst
         s3ObjectTaggerParamsDto.setAwsSecretKey(AWS_ASSUMED_ROLE_SECRET_KEY);
         s3ObjectTaggerParamsDto.setSessionToken(AWS_ASSUMED_ROLE_SESSION_TOKEN);
 
-        // Create a list of all S3 files matching the S3 key prefix form the S3 bucket.
-        List<S3ObjectSummary> actualS3Files = Arrays.asList(new S3ObjectSummary());
+        // Create an S3 object summary for the S3 file matching the S3 key prefix form the S3 bucket.
+        S3ObjectSummary s3ObjectSummary = new S3ObjectSummary();
+        s3ObjectSummary.setKey(storageFilePath);
 
-        // Create a list of storage files selected for S3 object tagging.
-        List<StorageFile> storageFilesSelectedForTagging = Arrays.asList(new StorageFile());
+        // Create a mock iterator over all S3 files matching the S3 key prefix form the S3 bucket.
+        S3ObjectSummaryIterator actualS3Files = mock(S3ObjectSummaryIterator.class);
+        when(actualS3Files.hasNext()).thenReturn(true, false);
+        when(actualS3Files.next()).thenReturn(s3ObjectSummary);
 
         // Create a list of storage files selected for S3 object tagging.
         List<File> filesSelectedForTagging = Arrays.asList(new File(storageFilePath));
@@ -904,9 +909,7 @@ public class BusinessObjectDataInitiateDestroyHelperServiceImplTest extends Abst
         when(storageHelper.getS3FileTransferRequestParamsDto()).thenReturn(s3FileTransferRequestParamsDto);
         when(storageHelper.getS3FileTransferRequestParamsDtoByRole(S3_OBJECT_TAGGER_ROLE_ARN, S3_OBJECT_TAGGER_ROLE_SESSION_NAME))
             .thenReturn(s3ObjectTaggerParamsDto);
-        when(s3Service.listDirectory(s3FileTransferRequestParamsDto, false)).thenReturn(actualS3Files);
-        when(storageFileHelper.createStorageFilesFromS3ObjectSummaries(actualS3Files)).thenReturn(storageFilesSelectedForTagging);
-        when(storageFileHelper.getFiles(storageFilesSelectedForTagging)).thenReturn(filesSelectedForTagging);
+        when(s3Service.iterateDirectory(s3FileTransferRequestParamsDto, false)).thenReturn(actualS3Files);
 
         // Call the method under test.
         businessObjectDataInitiateDestroyHelperServiceImpl.executeS3SpecificSteps(businessObjectDataDestroyDto);
@@ -914,9 +917,8 @@ public class BusinessObjectDataInitiateDestroyHelperServiceImplTest extends Abst
         // Verify the external calls.
         verify(storageHelper).getS3FileTransferRequestParamsDto();
         verify(storageHelper).getS3FileTransferRequestParamsDtoByRole(S3_OBJECT_TAGGER_ROLE_ARN, S3_OBJECT_TAGGER_ROLE_SESSION_NAME);
-        verify(s3Service).listDirectory(s3FileTransferRequestParamsDto, false);
-        verify(storageFileHelper).createStorageFilesFromS3ObjectSummaries(actualS3Files);
-        verify(storageFileHelper).getFiles(storageFilesSelectedForTagging);
+        verify(s3Service).iterateDirectory(s3FileTransferRequestParamsDto, false);
+        verify(actualS3Files).close();
         verify(s3Service).tagObjects(updatedS3FileTransferRequestParamsDto, updatedS3ObjectTaggerParamsDto, new Tag(S3_OBJECT_TAG_KEY, S3_OBJECT_TAG_VALUE));
         verifyNoMoreInteractionsHelper();
 
@@ -20,6 +20,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -29,6 +30,7 @@ import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 
 import com.amazonaws.services.s3.model.S3ObjectSummary;
@@ -40,6 +42,7 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import org.finra.herd.core.helper.ConfigurationHelper;
+import org.finra.herd.dao.S3ObjectSummaryIterator;
 import org.finra.herd.dao.StorageUnitDao;
 import org.finra.herd.dao.helper.HerdStringHelper;
 import org.finra.herd.dao.helper.JsonHelper;
@@ -145,11 +148,10 @@ public class BusinessObjectDataInitiateRestoreHelperServiceImplTest extends Abst
         S3ObjectSummary glacierS3ObjectSummary = mock(S3ObjectSummary.class);
         when(glacierS3ObjectSummary.getStorageClass()).thenReturn(StorageClass.Glacier.toString());
 
-        // Create a list of actual S3 files.
-        List<S3ObjectSummary> actualS3Files = Collections.singletonList(glacierS3ObjectSummary);
-
-        // Create a list of storage files that represent actual S3 objects.
-        List<StorageFile> storageFilesCreatedFromActualS3Files = Collections.singletonList(new StorageFile(S3_KEY, FILE_SIZE, ROW_COUNT));
+        // Create a mock iterator over actual S3 files.
+        S3ObjectSummaryIterator actualS3Files = mock(S3ObjectSummaryIterator.class);
+        when(actualS3Files.hasNext()).thenReturn(true, false);
+        when(actualS3Files.next()).thenReturn(glacierS3ObjectSummary);
 
         // Create a list of files selected for S3 object tagging.
         List<File> filesToBeRestored = Collections.singletonList(new File(S3_KEY));
@@ -163,19 +165,27 @@ public class BusinessObjectDataInitiateRestoreHelperServiceImplTest extends Abst
 
         // Mock the external calls.
         when(storageHelper.getS3FileTransferRequestParamsDto()).thenReturn(initialS3FileTransferRequestParamsDto);
-        when(s3Service.listDirectory(updatedS3FileTransferRequestParamsDto, true)).thenReturn(actualS3Files);
-        when(storageFileHelper.createStorageFilesFromS3ObjectSummaries(actualS3Files)).thenReturn(storageFilesCreatedFromActualS3Files);
-        when(storageFileHelper.getFiles(storageFilesCreatedFromActualS3Files)).thenReturn(filesToBeRestored);
+        when(s3Service.iterateDirectory(updatedS3FileTransferRequestParamsDto, true)).thenReturn(actualS3Files);
+        doAnswer(invocation -> {
+            // Consume the actual S3 files, as the storage file helper does when validating the registered S3 files.
+            Iterator<?> iterator = (Iterator<?>) invocation.getArguments()[1];
+            while (iterator.hasNext())
+            {
+                iterator.next();
+            }
+            return null;
+        }).when(storageFileHelper).validateRegisteredS3Files(eq(storageFiles), any(Iterator.class), eq(STORAGE_NAME), eq(businessObjectDataKey));
+        when(storageFileHelper.getFiles(storageFiles)).thenReturn(filesToBeRestored);
 
         // Call the method under test.
         businessObjectDataInitiateRestoreHelperServiceImpl.executeS3SpecificSteps(businessObjectDataRestoreDto);
 
         // Verify the external calls.
         verify(storageHelper).getS3FileTransferRequestParamsDto();
-        verify(s3Service).listDirectory(any(S3FileTransferRequestParamsDto.class), eq(true));
-        verify(storageFileHelper).validateRegisteredS3Files(storageFiles, actualS3Files, STORAGE_NAME, businessObjectDataKey);
-        verify(storageFileHelper).createStorageFilesFromS3ObjectSummaries(actualS3Files);
-        verify(storageFileHelper).getFiles(storageFilesCreatedFromActualS3Files);
+        verify(s3Service).iterateDirectory(any(S3FileTransferRequestParamsDto.class), eq(true));
+        verify(storageFileHelper).validateRegisteredS3Files(eq(storageFiles), any(Iterator.class), eq(STORAGE_NAME), eq(businessObjectDataKey));
+        verify(actualS3Files).close();
+        verify(storageFileHelper).getFiles(storageFiles);
         verify(s3Service).restoreObjects(finalS3FileTransferRequestParamsDto, 36135);
         verifyNoMoreInteractionsHelper();
 
@@ -214,20 +224,32 @@ public class BusinessObjectDataInitiateRestoreHelperServiceImplTest extends Abst
         when(standardS3ObjectSummary.getKey()).thenReturn(S3_KEY);
         when(standardS3ObjectSummary.getStorageClass()).thenReturn(StorageClass.Standard.toString());
 
-        // Create a list of actual S3 files.
-        List<S3ObjectSummary> actualS3Files = Collections.singletonList(standardS3ObjectSummary);
+        // Create a mock iterator over actual S3 files.
+        S3ObjectSummaryIterator actualS3Files = mock(S3ObjectSummaryIterator.class);
+        when(actualS3Files.hasNext()).thenReturn(true, false);
+        when(actualS3Files.next()).thenReturn(standardS3ObjectSummary);
 
         // Mock the external calls.
         when(storageHelper.getS3FileTransferRequestParamsDto()).thenReturn(initialS3FileTransferRequestParamsDto);
-        when(s3Service.listDirectory(updatedS3FileTransferRequestParamsDto, true)).thenReturn(actualS3Files);
+        when(s3Service.iterateDirectory(updatedS3FileTransferRequestParamsDto, true)).thenReturn(actualS3Files);
+        doAnswer(invocation -> {
+            // Consume the actual S3 files, as the storage file helper does when validating the registered S3 files.
+            Iterator<?> iterator = (Iterator<?>) invocation.getArguments()[1];
+            while (iterator.hasNext())
+            {
+                iterator.next();
+            }
+            return null;
+        }).when(storageFileHelper).validateRegisteredS3Files(eq(storageFiles), any(Iterator.class), eq(STORAGE_NAME), eq(businessObjectDataKey));
 
         // Call the method under test.
         businessObjectDataInitiateRestoreHelperServiceImpl.executeS3SpecificSteps(businessObjectDataRestoreDto);
 
         // Verify the external calls.
         verify(storageHelper).getS3FileTransferRequestParamsDto();
-        verify(s3Service).listDirectory(any(S3FileTransferRequestParamsDto.class), eq(true));
-        verify(storageFileHelper).validateRegisteredS3Files(storageFiles, actualS3Files, STORAGE_NAME, businessObjectDataKey);
+        verify(s3Service).iterateDirectory(any(S3FileTransferRequestParamsDto.class), eq(true));
+        verify(storageFileHelper).validateRegisteredS3Files(eq(storageFiles), any(Iterator.class), eq(STORAGE_NAME), eq(businessObjectDataKey));
+        verify(actualS3Files).close();
         verify(jsonHelper).objectToJson(businessObjectDataKey);
         verifyNoMoreInteractionsHelper();
 
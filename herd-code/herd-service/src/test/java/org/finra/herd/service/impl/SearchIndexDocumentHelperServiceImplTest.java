@@ -0,0 +1,206 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.service.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import org.finra.herd.core.helper.ConfigurationHelper;
+import org.finra.herd.dao.BusinessObjectDefinitionDao;
+import org.finra.herd.dao.IndexFunctionsDao;
+import org.finra.herd.dao.TagDao;
+import org.finra.herd.model.dto.ConfigurationValue;
+import org.finra.herd.model.jpa.TagEntity;
+import org.finra.herd.service.AbstractServiceTest;
+import org.finra.herd.service.helper.BusinessObjectDefinitionHelper;
+import org.finra.herd.service.helper.TagHelper;
+
+/**
+ * This class tests functionality within the search index document helper service implementation.
+ */
+public class SearchIndexDocumentHelperServiceImplTest extends AbstractServiceTest
+{
+    @Mock
+    private BusinessObjectDefinitionDao businessObjectDefinitionDao;
+
+    @Mock
+    private BusinessObjectDefinitionHelper businessObjectDefinitionHelper;
+
+    @Mock
+    private ConfigurationHelper configurationHelper;
+
+    @Mock
+    private IndexFunctionsDao indexFunctionsDao;
+
+    @InjectMocks
+    private SearchIndexDocumentHelperServiceImpl searchIndexDocumentHelperServiceImpl;
+
+    @Mock
+    private TagDao tagDao;
+
+    @Mock
+    private TagHelper tagHelper;
+
+    @Before
+    public void before()
+    {
+        MockitoAnnotations.initMocks(this);
+    }
+
+    @Test
+    public void testIndexTags()
+    {
+        // Create two tag entities.
+        TagEntity tagEntity = createTagEntity(ID);
+        TagEntity tagEntity2 = createTagEntity(ID_2);
+        List<Integer> tagIds = Arrays.asList(ID, ID_2);
+
+        // Create the expected bulk request, which fits both documents.
+        Map<String, String> documentMap = new LinkedHashMap<>();
+        documentMap.put(ID.toString(), JSON_STRING);
+        documentMap.put(ID_2.toString(), JSON_STRING);
+
+        // Mock the external calls.
+        when(tagDao.getTagsByIds(tagIds)).thenReturn(Arrays.asList(tagEntity, tagEntity2));
+        when(tagHelper.safeObjectMapperWriteValueAsString(tagEntity)).thenReturn(JSON_STRING);
+        when(tagHelper.safeObjectMapperWriteValueAsString(tagEntity2)).thenReturn(JSON_STRING);
+        when(configurationHelper.getProperty(ConfigurationValue.SEARCH_INDEX_REINDEX_BULK_REQUEST_MAX_BYTES, Integer.class))
+            .thenReturn(JSON_STRING.length() * 2);
+
+        // Index the tags.
+        int result = searchIndexDocumentHelperServiceImpl.indexTags(SEARCH_INDEX_NAME, SEARCH_INDEX_DOCUMENT_TYPE, tagIds);
+
+        // Verify the external calls.
+        verify(tagDao).getTagsByIds(tagIds);
+        verify(tagHelper).safeObjectMapperWriteValueAsString(tagEntity);
+        verify(tagHelper).safeObjectMapperWriteValueAsString(tagEntity2);
+        verify(configurationHelper).getProperty(ConfigurationValue.SEARCH_INDEX_REINDEX_BULK_REQUEST_MAX_BYTES, Integer.class);
+        verify(indexFunctionsDao).createIndexDocuments(SEARCH_INDEX_NAME, SEARCH_INDEX_DOCUMENT_TYPE, documentMap);
+        verifyNoMoreInteractions(businessObjectDefinitionDao, businessObjectDefinitionHelper, configurationHelper, indexFunctionsDao, tagDao, tagHelper);
+
+        // Validate the result.
+        assertEquals(2, result);
+    }
+
+    @Test
+    public void testIndexTagsBulkRequestFails()
+    {
+        // Create two tag entities.
+        TagEntity tagEntity = createTagEntity(ID);
+        TagEntity tagEntity2 = createTagEntity(ID_2);
+        List<Integer> tagIds = Arrays.asList(ID, ID_2);
+
+        // Create the expected bulk request for the first document.
+        Map<String, String> documentMap = new LinkedHashMap<>();
+        documentMap.put(ID.toString(), JSON_STRING);
+
+        // Mock the external calls. The first bulk request fails, which should stop the indexing of the chunk.
+        when(tagDao.getTagsByIds(tagIds)).thenReturn(Arrays.asList(tagEntity, tagEntity2));
+        when(tagHelper.safeObjectMapperWriteValueAsString(tagEntity)).thenReturn(JSON_STRING);
+        when(tagHelper.safeObjectMapperWriteValueAsString(tagEntity2)).thenReturn(JSON_STRING);
+        when(configurationHelper.getProperty(ConfigurationValue.SEARCH_INDEX_REINDEX_BULK_REQUEST_MAX_BYTES, Integer.class))
+            .thenReturn(JSON_STRING.length());
+        doThrow(new IllegalStateException(ERROR_MESSAGE)).when(indexFunctionsDao)
+            .createIndexDocuments(SEARCH_INDEX_NAME, SEARCH_INDEX_DOCUMENT_TYPE, documentMap);
+
+        // Try to index the tags.
+        try
+        {
+            searchIndexDocumentHelperServiceImpl.indexTags(SEARCH_INDEX_NAME, SEARCH_INDEX_DOCUMENT_TYPE, tagIds);
+            fail();
+        }
+        catch (IllegalStateException e)
+        {
+            assertEquals(ERROR_MESSAGE, e.getMessage());
+        }
+
+        // Verify the external calls.
+        verify(tagDao).getTagsByIds(tagIds);
+        verify(tagHelper).safeObjectMapperWriteValueAsString(tagEntity);
+        verify(tagHelper).safeObjectMapperWriteValueAsString(tagEntity2);
+        verify(configurationHelper).getProperty(ConfigurationValue.SEARCH_INDEX_REINDEX_BULK_REQUEST_MAX_BYTES, Integer.class);
+        verify(indexFunctionsDao).createIndexDocuments(SEARCH_INDEX_NAME, SEARCH_INDEX_DOCUMENT_TYPE, documentMap);
+        verifyNoMoreInteractions(businessObjectDefinitionDao, businessObjectDefinitionHelper, configurationHelper, indexFunctionsDao, tagDao, tagHelper);
+    }
+
+    @Test
+    public void testIndexTagsBulkRequestSizeExceeded()
+    {
+        // Create two tag entities.
+        TagEntity tagEntity = createTagEntity(ID);
+        TagEntity tagEntity2 = createTagEntity(ID_2);
+        List<Integer> tagIds = Arrays.asList(ID, ID_2);
+
+        // Create the expected bulk requests, one per document.
+        Map<String, String> documentMap = new LinkedHashMap<>();
+        documentMap.put(ID.toString(), JSON_STRING);
+        Map<String, String> documentMap2 = new LinkedHashMap<>();
+        documentMap2.put(ID_2.toString(), JSON_STRING);
+
+        // Mock the external calls.
+        when(tagDao.getTagsByIds(tagIds)).thenReturn(Arrays.asList(tagEntity, tagEntity2));
+        when(tagHelper.safeObjectMapperWriteValueAsString(tagEntity)).thenReturn(JSON_STRING);
+        when(tagHelper.safeObjectMapperWriteValueAsString(tagEntity2)).thenReturn(JSON_STRING);
+        when(configurationHelper.getProperty(ConfigurationValue.SEARCH_INDEX_REINDEX_BULK_REQUEST_MAX_BYTES, Integer.class))
+            .thenReturn(JSON_STRING.length());
+
+        // Index the tags.
+        int result = searchIndexDocumentHelperServiceImpl.indexTags(SEARCH_INDEX_NAME, SEARCH_INDEX_DOCUMENT_TYPE, tagIds);
+
+        // Verify the external calls.
+        verify(tagDao).getTagsByIds(tagIds);
+        verify(tagHelper).safeObjectMapperWriteValueAsString(tagEntity);
+        verify(tagHelper).safeObjectMapperWriteValueAsString(tagEntity2);
+        verify(configurationHelper).getProperty(ConfigurationValue.SEARCH_INDEX_REINDEX_BULK_REQUEST_MAX_BYTES, Integer.class);
+        verify(indexFunctionsDao).createIndexDocuments(SEARCH_INDEX_NAME, SEARCH_INDEX_DOCUMENT_TYPE, documentMap);
+        verify(indexFunctionsDao).createIndexDocuments(SEARCH_INDEX_NAME, SEARCH_INDEX_DOCUMENT_TYPE, documentMap2);
+        verifyNoMoreInteractions(businessObjectDefinitionDao, businessObjectDefinitionHelper, configurationHelper, indexFunctionsDao, tagDao, tagHelper);
+
+        // Validate the result.
+        assertEquals(2, result);
+    }
+
+    /**
+     * Creates a tag entity with the specified id and no children.
+     *
+     * @param id the tag id
+     *
+     * @return the tag entity
+     */
+    private TagEntity createTagEntity(Integer id)
+    {
+        TagEntity tagEntity = new TagEntity();
+        tagEntity.setId(id);
+        tagEntity.setChildrenTagEntities(new ArrayList<>());
+        return tagEntity;
+    }
+}
@@ -15,23 +15,37 @@
 */
 package org.finra.herd.service.impl;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+
+import org.finra.herd.core.helper.ConfigurationHelper;
 
 import org.finra.herd.dao.BusinessObjectDefinitionDao;
 import org.finra.herd.dao.IndexFunctionsDao;
+import org.finra.herd.model.dto.ConfigurationValue;
 import org.finra.herd.service.AbstractServiceTest;
 import org.finra.herd.service.helper.BusinessObjectDefinitionHelper;
 import org.finra.herd.service.helper.SearchIndexDaoHelper;
+import org.finra.herd.service.helper.SearchIndexProgressHelper;
 
 /**
  * This class tests functionality within the search index helper service implementation.
@@ -44,9 +58,18 @@ public class SearchIndexHelperServiceImplTest extends AbstractServiceTest
     @Mock
     private BusinessObjectDefinitionHelper businessObjectDefinitionHelper;
 
+    @Mock
+    private ConfigurationHelper configurationHelper;
+
     @Mock
     private SearchIndexDaoHelper searchIndexDaoHelper;
 
+    @Mock
+    private SearchIndexProgressHelper searchIndexProgressHelper;
+
+    @Spy
+    private TaskExecutor searchIndexReindexTaskExecutor = new SyncTaskExecutor();
+
     @InjectMocks
     private SearchIndexHelperServiceImpl searchIndexHelperServiceImpl;
 
@@ -93,4 +116,38 @@ public class SearchIndexHelperServiceImplTest extends AbstractServiceTest
         // Validate the results.
         assertTrue(response);
     }
+
+    @Test
+    public void testIndexAllEntitiesChunkFails()
+    {
+        // Mock the external calls, so each chunk holds a single entity id.
+        when(configurationHelper.getProperty(ConfigurationValue.SEARCH_INDEX_REINDEX_THREAD_COUNT, Integer.class)).thenReturn(1);
+        when(configurationHelper.getProperty(ConfigurationValue.SEARCH_INDEX_REINDEX_CHUNK_SIZE, Integer.class)).thenReturn(1);
+
+        // Create a list of entity ids, where the second chunk fails to get indexed.
+        List<Integer> entityIds = IntStream.rangeClosed(1, 10).boxed().collect(Collectors.toList());
+        List<Integer> indexedEntityIds = new ArrayList<>();
+
+        try
+        {
+            searchIndexHelperServiceImpl.indexAllEntities(SEARCH_INDEX_NAME,
+                (lastId, chunkSize) -> entityIds.stream().filter(id -> lastId == null || id > lastId).limit(chunkSize).collect(Collectors.toList()), ids ->
+                {
+                    indexedEntityIds.addAll(ids);
+                    if (ids.contains(2))
+                    {
+                        throw new IllegalStateException(ERROR_MESSAGE);
+                    }
+                    return ids.size();
+                });
+            fail();
+        }
+        catch (IllegalStateException e)
+        {
+            assertEquals(ERROR_MESSAGE, e.getMessage());
+        }
+
+        // Validate that the chunks following the failed chunk did not get indexed.
+        assertEquals(entityIds.subList(0, 2), indexedEntityIds);
+    }
 }
@@ -27,12 +27,14 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import org.finra.herd.dao.SecurityFunctionDao;
+import org.finra.herd.dao.config.DaoSpringModuleConfig;
 import org.finra.herd.model.AlreadyExistsException;
 import org.finra.herd.model.api.xml.SecurityFunction;
 import org.finra.herd.model.api.xml.SecurityFunctionCreateRequest;
 import org.finra.herd.model.api.xml.SecurityFunctionKey;
 import org.finra.herd.model.api.xml.SecurityFunctionKeys;
 import org.finra.herd.model.jpa.SecurityFunctionEntity;
+import org.finra.herd.service.CacheEvictionService;
 import org.finra.herd.service.helper.AlternateKeyHelper;
 import org.finra.herd.service.helper.SecurityFunctionDaoHelper;
 
@@ -79,6 +81,9 @@ public class SecurityFunctionServiceImplTest
     @Mock
     private AlternateKeyHelper alternateKeyHelper;
 
+    @Mock
+    private CacheEvictionService cacheEvictionService;
+
     @Mock
     private SecurityFunctionDao securityFunctionDao;
 
@@ -108,6 +113,7 @@ public class SecurityFunctionServiceImplTest
         verify(alternateKeyHelper).validateStringParameter("security function name", SECURITY_FUNCTION);
         verify(securityFunctionDao).getSecurityFunctionByName(SECURITY_FUNCTION);
         verify(securityFunctionDao).saveAndRefresh(any(SecurityFunctionEntity.class));
+        verify(cacheEvictionService).publishCacheEviction(DaoSpringModuleConfig.HERD_CACHE_NAME);
 
         verifyNoMoreInteractionsHelper();
     }
@@ -158,6 +164,7 @@ public class SecurityFunctionServiceImplTest
         verify(alternateKeyHelper).validateStringParameter("security function name", SECURITY_FUNCTION);
         verify(securityFunctionDaoHelper).getSecurityFunctionEntity(SECURITY_FUNCTION);
         verify(securityFunctionDao).delete(SECURITY_FUNCTION_ENTITY);
+        verify(cacheEvictionService).publishCacheEviction(DaoSpringModuleConfig.HERD_CACHE_NAME);
 
         verifyNoMoreInteractionsHelper();
     }
@@ -233,6 +240,6 @@ public class SecurityFunctionServiceImplTest
      */
     private void verifyNoMoreInteractionsHelper()
     {
-        verifyNoMoreInteractions(securityFunctionDaoHelper, alternateKeyHelper, securityFunctionDao);
+        verifyNoMoreInteractions(securityFunctionDaoHelper, alternateKeyHelper, cacheEvictionService, securityFunctionDao);
     }
 }
@@ -24,6 +24,7 @@ import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 
 import org.finra.herd.dao.SecurityRoleFunctionDao;
+import org.finra.herd.dao.config.DaoSpringModuleConfig;
 import org.finra.herd.model.AlreadyExistsException;
 import org.finra.herd.model.api.xml.SecurityFunctionKey;
 import org.finra.herd.model.api.xml.SecurityRoleFunction;
@@ -34,6 +35,7 @@ import org.finra.herd.model.api.xml.SecurityRoleKey;
 import org.finra.herd.model.jpa.SecurityFunctionEntity;
 import org.finra.herd.model.jpa.SecurityRoleEntity;
 import org.finra.herd.model.jpa.SecurityRoleFunctionEntity;
+import org.finra.herd.service.CacheEvictionService;
 import org.finra.herd.service.helper.SecurityFunctionDaoHelper;
 import org.finra.herd.service.helper.SecurityFunctionHelper;
 import org.finra.herd.service.helper.SecurityRoleDaoHelper;
@@ -46,6 +48,9 @@ public class SecurityRoleFunctionServiceImplTest
     @Rule
     public ExpectedException expectedException = ExpectedException.none();
 
+    @Mock
+    private CacheEvictionService cacheEvictionService;
+
     @Mock
     private SecurityFunctionDaoHelper securityFunctionDaoHelper;
 
@@ -120,6 +125,7 @@ public class SecurityRoleFunctionServiceImplTest
         verify(securityRoleDaoHelper).getSecurityRoleEntity(SECURITY_ROLE);
         verify(securityFunctionDaoHelper).getSecurityFunctionEntity(SECURITY_FUNCTION);
         verify(securityRoleFunctionDao).saveAndRefresh(any(SecurityRoleFunctionEntity.class));
+        verify(cacheEvictionService).publishCacheEviction(DaoSpringModuleConfig.HERD_CACHE_NAME);
         verifyNoMoreInteractionsHelper();
     }
 
@@ -186,6 +192,7 @@ public class SecurityRoleFunctionServiceImplTest
         verify(securityRoleFunctionHelper).validateAndTrimSecurityRoleFunctionKey(securityRoleFunctionKey);
         verify(securityRoleFunctionDaoHelper).getSecurityRoleFunctionEntity(securityRoleFunctionKey);
         verify(securityRoleFunctionDao).delete(securityRoleFunctionEntity);
+        verify(cacheEvictionService).publishCacheEviction(DaoSpringModuleConfig.HERD_CACHE_NAME);
         verifyNoMoreInteractionsHelper();
     }
 
@@ -297,7 +304,7 @@ public class SecurityRoleFunctionServiceImplTest
      */
     private void verifyNoMoreInteractionsHelper()
     {
-        verifyNoMoreInteractions(securityFunctionDaoHelper, securityFunctionHelper, securityRoleDaoHelper, securityRoleFunctionDao,
+        verifyNoMoreInteractions(cacheEvictionService, securityFunctionDaoHelper, securityFunctionHelper, securityRoleDaoHelper, securityRoleFunctionDao,
             securityRoleFunctionDaoHelper, securityRoleFunctionHelper, securityRoleHelper);
     }
 }
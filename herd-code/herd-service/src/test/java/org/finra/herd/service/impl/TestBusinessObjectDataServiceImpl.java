@@ -15,6 +15,8 @@
 */
 package org.finra.herd.service.impl;
 
+import java.io.Writer;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Service;
@@ -105,6 +107,17 @@ public class TestBusinessObjectDataServiceImpl extends BusinessObjectDataService
         return generateBusinessObjectDataDdlImpl(request, false);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * This implementation keeps the current transaction context.
+     */
+    @Override
+    public void generateBusinessObjectDataDdl(BusinessObjectDataDdlRequest request, Writer writer)
+    {
+        generateBusinessObjectDataDdlImpl(request, false, writer);
+    }
+
     /**
      * {@inheritDoc}
      * <p/>
@@ -59,4 +59,15 @@ public class TestNotificationMessagePublishingServiceImpl extends NotificationMe
     {
         return publishOldestNotificationMessageFromDatabaseQueueImpl();
     }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * This implementation keeps the current transaction context.
+     */
+    @Override
+    public int publishOldestNotificationMessagesFromDatabaseQueue(int maxResults)
+    {
+        return publishOldestNotificationMessagesFromDatabaseQueueImpl(maxResults);
+    }
 }
@@ -15,6 +15,7 @@
 */
 package org.finra.herd.tools.downloader;
 
+import org.apache.commons.cli.Option;
 import org.apache.logging.log4j.core.LoggerContext;
 import org.apache.logging.log4j.core.config.Configurator;
 import org.slf4j.Logger;
@@ -34,6 +35,11 @@ public class DownloaderApp extends DataBridgeApp
 {
     private static final Logger LOGGER = LoggerFactory.getLogger(DownloaderApp.class);
 
+    // The downloader specific command line options.
+    private Option resumeOpt;
+
+    private Option validateMd5Opt;
+
     // An argument parser for the application.
     private ArgumentParser argParser;
 
@@ -43,6 +49,13 @@ public class DownloaderApp extends DataBridgeApp
     public DownloaderApp()
     {
         argParser = new ArgumentParser("herd-downloader-app");
+
+        // Create command line options specific to the downloader. Other common options will be handled by the base class.
+        resumeOpt = argParser.addArgument("r", "resume", false,
+            "If set, the download can be resumed after a failure, skipping the files that were already downloaded and validated by a previous attempt.", false);
+        validateMd5Opt = argParser.addArgument("M", "validateMd5", false,
+            "If set along with the resume option, validates the MD5 checksum of each downloaded file against its S3 ETag, when the ETag is an MD5 checksum.",
+            false);
     }
 
     /**
@@ -78,7 +91,8 @@ public class DownloaderApp extends DataBridgeApp
             RegServerAccessParamsDto.builder().withRegServerHost(regServerHost).withRegServerPort(regServerPort).withUseSsl(useSsl)
                 .withUsername(argParser.getStringValue(usernameOpt)).withPassword(argParser.getStringValue(passwordOpt))
                 .withTrustSelfSignedCertificate(trustSelfSignedCertificate).withDisableHostnameVerification(disableHostnameVerification).build();
-        controller.performDownload(regServerAccessParamsDto, argParser.getFileValue(manifestPathOpt), params);
+        controller.performDownload(regServerAccessParamsDto, argParser.getFileValue(manifestPathOpt), params, argParser.getBooleanValue(resumeOpt),
+            argParser.getBooleanValue(validateMd5Opt));
 
         // No exceptions were returned so return success.
         return ReturnValue.SUCCESS;
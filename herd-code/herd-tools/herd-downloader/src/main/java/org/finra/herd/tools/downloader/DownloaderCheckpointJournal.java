@@ -0,0 +1,143 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.tools.downloader;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+
+/**
+ * An append-only journal of the S3 files that got completely downloaded and validated by a resumable download. Each line of the journal records the S3 key,
+ * the size and the ETag of a single S3 file, so a restarted download can skip the files that did not change in S3 since they were downloaded.
+ */
+public class DownloaderCheckpointJournal
+{
+    private static final String FIELD_SEPARATOR = "\t";
+
+    private final File journalFile;
+
+    private final Map<String, S3ObjectSummary> completedS3Files = new HashMap<>();
+
+    private BufferedWriter writer;
+
+    /**
+     * Opens the specified checkpoint journal, loading the S3 files recorded by the previous download attempts, if any.
+     *
+     * @param journalFile the checkpoint journal file
+     *
+     * @throws IOException if an I/O error was encountered
+     */
+    public DownloaderCheckpointJournal(File journalFile) throws IOException
+    {
+        this.journalFile = journalFile;
+
+        if (journalFile.isFile())
+        {
+            List<String> lines = Files.readAllLines(journalFile.toPath(), StandardCharsets.UTF_8);
+            for (String line : lines)
+            {
+                // Ignore a partially written last line left behind by an interrupted download.
+                String[] fields = line.split(FIELD_SEPARATOR, -1);
+                if (fields.length == 3)
+                {
+                    try
+                    {
+                        S3ObjectSummary s3ObjectSummary = new S3ObjectSummary();
+                        s3ObjectSummary.setKey(fields[0]);
+                        s3ObjectSummary.setSize(Long.parseLong(fields[1]));
+                        s3ObjectSummary.setETag(fields[2].isEmpty() ? null : fields[2]);
+                        completedS3Files.put(s3ObjectSummary.getKey(), s3ObjectSummary);
+                    }
+                    catch (NumberFormatException e)
+                    {
+                        // The line is corrupt, so the file will simply get downloaded again.
+                    }
+                }
+            }
+        }
+
+        writer = Files.newBufferedWriter(journalFile.toPath(), StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Checks whether the specified S3 file was already downloaded by a previous download attempt. The S3 file is considered downloaded when the journal has a
+     * record for it with the same size and ETag and the local file still has the expected size.
+     *
+     * @param s3ObjectSummary the S3 object summary of the S3 file
+     * @param localFile the local file
+     *
+     * @return true if the S3 file does not need to be downloaded again, false otherwise
+     */
+    public synchronized boolean isCompleted(S3ObjectSummary s3ObjectSummary, File localFile)
+    {
+        S3ObjectSummary completedS3File = completedS3Files.get(s3ObjectSummary.getKey());
+
+        return completedS3File != null && completedS3File.getSize() == s3ObjectSummary.getSize() &&
+            Objects.equals(completedS3File.getETag(), s3ObjectSummary.getETag()) && localFile.isFile() && localFile.length() == s3ObjectSummary.getSize();
+    }
+
+    /**
+     * Records the specified S3 file as downloaded and validated. The record is flushed to the journal file right away, so it survives a failure of the
+     * download.
+     *
+     * @param s3ObjectSummary the S3 object summary of the S3 file
+     *
+     * @throws IOException if an I/O error was encountered
+     */
+    public synchronized void recordCompleted(S3ObjectSummary s3ObjectSummary) throws IOException
+    {
+        writer.write(String.join(FIELD_SEPARATOR, s3ObjectSummary.getKey(), String.valueOf(s3ObjectSummary.getSize()),
+            s3ObjectSummary.getETag() == null ? "" : s3ObjectSummary.getETag()));
+        writer.newLine();
+        writer.flush();
+
+        completedS3Files.put(s3ObjectSummary.getKey(), s3ObjectSummary);
+    }
+
+    /**
+     * Closes the checkpoint journal, keeping the journal file so that a subsequent download attempt can resume from it.
+     *
+     * @throws IOException if an I/O error was encountered
+     */
+    public synchronized void close() throws IOException
+    {
+        if (writer != null)
+        {
+            writer.close();
+            writer = null;
+        }
+    }
+
+    /**
+     * Closes the checkpoint journal and deletes the journal file once the download has completed.
+     *
+     * @throws IOException if an I/O error was encountered
+     */
+    public synchronized void delete() throws IOException
+    {
+        close();
+        Files.deleteIfExists(journalFile.toPath());
+    }
+}
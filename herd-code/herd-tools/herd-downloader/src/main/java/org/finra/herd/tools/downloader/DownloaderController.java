@@ -16,8 +16,12 @@
 package org.finra.herd.tools.downloader;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
 import java.net.URISyntaxException;
+import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.security.KeyManagementException;
 import java.security.KeyStoreException;
@@ -26,10 +30,19 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Pattern;
 
 import javax.xml.bind.JAXBException;
 
+import com.amazonaws.services.s3.model.S3ObjectSummary;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.io.filefilter.TrueFileFilter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -92,6 +105,16 @@ public class DownloaderController extends DataBridgeController
      */
     private static final String OUTPUT_MANIFEST_FILE_NAME = "manifest.json";
 
+    /**
+     * The suffix appended to the target local directory path to get the checkpoint journal file name of a resumable download.
+     */
+    private static final String CHECKPOINT_JOURNAL_FILE_NAME_SUFFIX = ".herd-downloader-checkpoint";
+
+    /**
+     * The pattern of an S3 ETag that is an MD5 checksum of the S3 object.
+     */
+    private static final Pattern MD5_ETAG_PATTERN = Pattern.compile("[0-9a-fA-F]{32}");
+
     /**
      * Executes the downloader workflow.
      *
@@ -107,15 +130,43 @@ public class DownloaderController extends DataBridgeController
      * @throws NoSuchAlgorithmException if a no such algorithm exception occurs
      * @throws KeyManagementException if key management exception
      */
+    public void performDownload(RegServerAccessParamsDto regServerAccessParamsDto, File manifestPath,
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto)
+        throws InterruptedException, JAXBException, IOException, URISyntaxException, NoSuchAlgorithmException, KeyStoreException, KeyManagementException
+    {
+        performDownload(regServerAccessParamsDto, manifestPath, s3FileTransferRequestParamsDto, false, false);
+    }
+
+    /**
+     * Executes the downloader workflow. A resumable download records each S3 file that got downloaded and validated in a checkpoint journal kept next to the
+     * target local directory. When restarted, a resumable download skips the S3 files recorded in the checkpoint journal, downloads the remaining S3 files as
+     * parallel byte ranges, and validates each file as soon as it completes. A failed resumable download does not clean up the target local directory.
+     *
+     * @param regServerAccessParamsDto the DTO for the parameters required to communicate with the herd registration server
+     * @param manifestPath the local path to the manifest file
+     * @param s3FileTransferRequestParamsDto the S3 file transfer DTO request parameters
+     * @param resumable specifies whether to perform a resumable download
+     * @param validateMd5 specifies whether a resumable download validates the MD5 checksum of each downloaded file against the S3 ETag, when the ETag is an
+     * MD5 checksum
+     *
+     * @throws InterruptedException if the upload thread was interrupted
+     * @throws JAXBException if a JAXB error was encountered
+     * @throws IOException if an I/O error was encountered
+     * @throws URISyntaxException if a URI syntax error was encountered
+     * @throws KeyStoreException if a key store exception occurs
+     * @throws NoSuchAlgorithmException if a no such algorithm exception occurs
+     * @throws KeyManagementException if key management exception
+     */
     @SuppressFBWarnings(value = {"BC_UNCONFIRMED_CAST_OF_RETURN_VALUE", "NP_NULL_ON_SOME_PATH_FROM_RETURN_VALUE"}, justification =
         "manifestReader.readJsonManifest will always return an DownloaderInputManifestDto object. targetLocalDirectory.list().length will not" +
             " return a NullPointerException.")
     public void performDownload(RegServerAccessParamsDto regServerAccessParamsDto, File manifestPath,
-        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto)
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto, boolean resumable, boolean validateMd5)
         throws InterruptedException, JAXBException, IOException, URISyntaxException, NoSuchAlgorithmException, KeyStoreException, KeyManagementException
     {
         boolean cleanUpTargetLocalDirectoryOnFailure = false;
         File targetLocalDirectory = null;
+        DownloaderCheckpointJournal checkpointJournal = null;
 
         try
         {
@@ -157,8 +208,8 @@ public class DownloaderController extends DataBridgeController
             }
             else
             {
-                // Check if the target local directory is empty.
-                if (targetLocalDirectory.list().length > 0)
+                // Check if the target local directory is empty, unless a resumable download is allowed to continue where a previous attempt left off.
+                if (!resumable && targetLocalDirectory.list().length > 0)
                 {
                     throw new IllegalArgumentException(String.format("The target local directory \"%s\" is not empty.", targetLocalDirectory.getPath()));
                 }
@@ -176,7 +227,8 @@ public class DownloaderController extends DataBridgeController
             // Since the S3 key prefix represents a directory, we add a trailing '/' character to it.
             s3FileTransferRequestParamsDto.setS3KeyPrefix(s3KeyPrefixInformation.getS3KeyPrefix() + "/");
             // When listing S3 files, we ignore 0 byte objects that represent S3 directories.
-            List<String> actualS3Files = storageFileHelper.getFilePathsFromS3ObjectSummaries(s3Service.listDirectory(s3FileTransferRequestParamsDto, true));
+            List<S3ObjectSummary> s3ObjectSummaries = s3Service.listDirectory(s3FileTransferRequestParamsDto, true);
+            List<String> actualS3Files = storageFileHelper.getFilePathsFromS3ObjectSummaries(s3ObjectSummaries);
 
             // Validate S3 files before we start the download.
             storageFileHelper.validateStorageUnitS3Files(storageUnit, actualS3Files, s3KeyPrefixInformation.getS3KeyPrefix());
@@ -186,8 +238,16 @@ public class DownloaderController extends DataBridgeController
 
             // Download S3 files to the target local directory.
             s3FileTransferRequestParamsDto.setRecursive(true);
-            cleanUpTargetLocalDirectoryOnFailure = true;
-            s3Service.downloadDirectory(s3FileTransferRequestParamsDto);
+            if (resumable)
+            {
+                checkpointJournal = new DownloaderCheckpointJournal(new File(targetLocalDirectory.getPath() + CHECKPOINT_JOURNAL_FILE_NAME_SUFFIX));
+                downloadS3FilesResumable(s3FileTransferRequestParamsDto, s3ObjectSummaries, checkpointJournal, validateMd5);
+            }
+            else
+            {
+                cleanUpTargetLocalDirectoryOnFailure = true;
+                s3Service.downloadDirectory(s3FileTransferRequestParamsDto);
+            }
 
             // Validate the downloaded files.
             storageFileHelper.validateDownloadedS3Files(s3FileTransferRequestParamsDto.getLocalPath(), s3KeyPrefixInformation.getS3KeyPrefix(), storageUnit);
@@ -202,6 +262,12 @@ public class DownloaderController extends DataBridgeController
             DownloaderOutputManifestDto downloaderOutputManifestDto =
                 createDownloaderOutputManifestDto(businessObjectData, storageUnit, s3KeyPrefixInformation.getS3KeyPrefix());
             manifestWriter.writeJsonManifest(targetLocalDirectory, OUTPUT_MANIFEST_FILE_NAME, downloaderOutputManifestDto);
+
+            // The download has completed, so there is nothing left to resume.
+            if (checkpointJournal != null)
+            {
+                checkpointJournal.delete();
+            }
         }
         catch (InterruptedException | JAXBException | IOException | URISyntaxException e)
         {
@@ -215,6 +281,164 @@ public class DownloaderController extends DataBridgeController
 
             throw e;
         }
+        finally
+        {
+            if (checkpointJournal != null)
+            {
+                checkpointJournal.close();
+            }
+        }
+    }
+
+    /**
+     * Downloads the specified S3 files to the local directory, skipping the S3 files recorded in the checkpoint journal. Each S3 file is downloaded as one or
+     * more byte ranges in parallel and the size of each byte range is validated. Once all byte ranges of an S3 file are downloaded, the local file is validated
+     * and recorded in the checkpoint journal.
+     *
+     * @param s3FileTransferRequestParamsDto the S3 file transfer DTO request parameters
+     * @param s3ObjectSummaries the list of S3 object summaries for the S3 files to download
+     * @param checkpointJournal the checkpoint journal
+     * @param validateMd5 specifies whether to validate the MD5 checksum of each downloaded file
+     *
+     * @throws InterruptedException if the download thread was interrupted
+     * @throws IOException if an I/O error was encountered
+     */
+    private void downloadS3FilesResumable(S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto, List<S3ObjectSummary> s3ObjectSummaries,
+        DownloaderCheckpointJournal checkpointJournal, boolean validateMd5) throws InterruptedException, IOException
+    {
+        long partSizeBytes = configurationHelper.getProperty(ConfigurationValue.DOWNLOADER_RESUMABLE_DOWNLOAD_PART_SIZE_BYTES, Integer.class).longValue();
+
+        ExecutorService executorService = Executors.newFixedThreadPool(s3FileTransferRequestParamsDto.getMaxThreads());
+
+        try
+        {
+            List<Future<Void>> futures = new ArrayList<>();
+
+            for (S3ObjectSummary s3ObjectSummary : s3ObjectSummaries)
+            {
+                File localFile = Paths.get(s3FileTransferRequestParamsDto.getLocalPath(), s3ObjectSummary.getKey()).toFile();
+
+                if (checkpointJournal.isCompleted(s3ObjectSummary, localFile))
+                {
+                    LOGGER.info(String.format("Skipping \"%s\" S3 file downloaded by a previous attempt.", s3ObjectSummary.getKey()));
+                    continue;
+                }
+
+                // Preallocate the local file, so its byte ranges can be written in parallel.
+                Files.createDirectories(localFile.getParentFile().toPath());
+                try (RandomAccessFile randomAccessFile = new RandomAccessFile(localFile, "rw"))
+                {
+                    randomAccessFile.setLength(s3ObjectSummary.getSize());
+                }
+
+                S3FileTransferRequestParamsDto fileParams =
+                    s3FileTransferRequestParamsDto.newCopyBuilder().withS3KeyPrefix(s3ObjectSummary.getKey()).withLocalPath(localFile.getPath()).build();
+
+                List<CompletableFuture<Long>> partFutures = new ArrayList<>();
+                for (long startByte = 0; startByte < s3ObjectSummary.getSize(); startByte += partSizeBytes)
+                {
+                    long partStartByte = startByte;
+                    long partEndByte = Math.min(startByte + partSizeBytes, s3ObjectSummary.getSize()) - 1;
+                    partFutures.add(CompletableFuture.supplyAsync(() -> downloadS3FileRange(fileParams, partStartByte, partEndByte), executorService));
+                }
+
+                // Validate the file on the thread that downloads its last byte range, so files get validated as they complete.
+                futures.add(CompletableFuture.allOf(partFutures.toArray(new CompletableFuture<?>[partFutures.size()]))
+                    .thenRun(() -> validateAndCheckpointDownloadedS3File(s3ObjectSummary, localFile, checkpointJournal, validateMd5)));
+            }
+
+            for (Future<Void> future : futures)
+            {
+                try
+                {
+                    future.get();
+                }
+                catch (ExecutionException e)
+                {
+                    Throwable cause = e.getCause() instanceof CompletionException ? e.getCause().getCause() : e.getCause();
+                    if (cause instanceof RuntimeException)
+                    {
+                        throw (RuntimeException) cause;
+                    }
+                    throw new IllegalStateException(cause);
+                }
+            }
+        }
+        finally
+        {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Downloads a byte range of an S3 file to the same offset within the local file and validates that the whole byte range got downloaded. Since the local
+     * file is preallocated, a short byte range would otherwise go unnoticed by the file size validation.
+     *
+     * @param s3FileTransferRequestParamsDto the S3 file transfer DTO request parameters for the S3 file
+     * @param startByte the index of the first byte of the range
+     * @param endByte the index of the last byte of the range
+     *
+     * @return the number of downloaded bytes
+     */
+    private long downloadS3FileRange(S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto, long startByte, long endByte)
+    {
+        long bytesDownloaded = s3Service.downloadFileRange(s3FileTransferRequestParamsDto, startByte, endByte);
+
+        if (bytesDownloaded != endByte - startByte + 1)
+        {
+            throw new IllegalStateException(String
+                .format("Size of the downloaded byte range %d-%d of \"%s\" S3 file does not match the expected value (expected %d bytes, actual %d bytes).",
+                    startByte, endByte, s3FileTransferRequestParamsDto.getLocalPath(), endByte - startByte + 1, bytesDownloaded));
+        }
+
+        return bytesDownloaded;
+    }
+
+    /**
+     * Validates a downloaded S3 file and records it in the checkpoint journal.
+     *
+     * @param s3ObjectSummary the S3 object summary of the downloaded S3 file
+     * @param localFile the local file
+     * @param checkpointJournal the checkpoint journal
+     * @param validateMd5 specifies whether to validate the MD5 checksum of the local file against the S3 ETag, when the ETag is an MD5 checksum
+     */
+    private void validateAndCheckpointDownloadedS3File(S3ObjectSummary s3ObjectSummary, File localFile, DownloaderCheckpointJournal checkpointJournal,
+        boolean validateMd5)
+    {
+        try
+        {
+            // Validate the file size.
+            if (localFile.length() != s3ObjectSummary.getSize())
+            {
+                throw new IllegalStateException(String
+                    .format("Size of the downloaded \"%s\" S3 file does not match the expected value (expected %d bytes, actual %d bytes).",
+                        localFile.getPath(), s3ObjectSummary.getSize(), localFile.length()));
+            }
+
+            // Validate the MD5 checksum. Please note that the ETag of an S3 object uploaded using multipart upload is not an MD5 checksum of the object.
+            if (validateMd5 && s3ObjectSummary.getETag() != null && MD5_ETAG_PATTERN.matcher(s3ObjectSummary.getETag()).matches())
+            {
+                String md5;
+                try (InputStream inputStream = new FileInputStream(localFile))
+                {
+                    md5 = DigestUtils.md5Hex(inputStream);
+                }
+
+                if (!md5.equalsIgnoreCase(s3ObjectSummary.getETag()))
+                {
+                    throw new IllegalStateException(String
+                        .format("MD5 checksum of the downloaded \"%s\" S3 file does not match the expected value (expected \"%s\", actual \"%s\").",
+                            localFile.getPath(), s3ObjectSummary.getETag(), md5));
+                }
+            }
+
+            checkpointJournal.recordCompleted(s3ObjectSummary);
+        }
+        catch (IOException e)
+        {
+            throw new IllegalStateException(
+                String.format("Failed to validate the downloaded \"%s\" S3 file. Reason: %s", localFile.getPath(), e.getMessage()), e);
+        }
     }
 
     /**
@@ -16,9 +16,12 @@
 package org.finra.herd.tools.downloader;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -26,6 +29,7 @@ import static org.mockito.Mockito.when;
 import java.io.File;
 import java.io.IOException;
 import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -36,6 +40,8 @@ import java.util.List;
 
 import javax.xml.datatype.DatatypeFactory;
 
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.io.FileUtils;
 import org.junit.Before;
 import org.junit.Test;
@@ -52,9 +58,11 @@ import org.finra.herd.model.api.xml.S3KeyPrefixInformation;
 import org.finra.herd.model.api.xml.Storage;
 import org.finra.herd.model.api.xml.StorageUnit;
 import org.finra.herd.model.api.xml.StorageUnitDownloadCredential;
+import org.finra.herd.model.dto.ConfigurationValue;
 import org.finra.herd.model.dto.DownloaderInputManifestDto;
 import org.finra.herd.model.dto.DownloaderOutputManifestDto;
 import org.finra.herd.model.dto.HerdAWSCredentialsProvider;
+import org.finra.herd.model.dto.ManifestFile;
 import org.finra.herd.model.dto.RegServerAccessParamsDto;
 import org.finra.herd.model.dto.S3FileTransferRequestParamsDto;
 import org.finra.herd.model.dto.S3FileTransferResultsDto;
@@ -150,6 +158,145 @@ public class DownloaderControllerTest extends AbstractDownloaderTest
         }
     }
 
+    @Test
+    public void testPerformDownloadResumable() throws Exception
+    {
+        // Use a small part size, so each test file gets downloaded as multiple byte ranges.
+        System.setProperty(ConfigurationValue.DOWNLOADER_RESUMABLE_DOWNLOAD_PART_SIZE_BYTES.getKey(), "100");
+
+        try
+        {
+            runDownload(getTestDownloaderInputManifestDto(), LOCAL_TEMP_PATH_OUTPUT.toString(), DownloaderController.MIN_THREADS, null, true, true);
+        }
+        finally
+        {
+            System.clearProperty(ConfigurationValue.DOWNLOADER_RESUMABLE_DOWNLOAD_PART_SIZE_BYTES.getKey());
+        }
+
+        // Validate the downloaded files and that the checkpoint journal got deleted once the download completed.
+        File targetLocalDirectory = Paths.get(LOCAL_TEMP_PATH_OUTPUT.toString(), S3_SIMPLE_TEST_PATH).toFile();
+        for (ManifestFile manifestFile : testManifestFiles)
+        {
+            assertEquals(FILE_SIZE_1_KB, Paths.get(targetLocalDirectory.getPath(), manifestFile.getFileName()).toFile().length());
+        }
+        assertTrue(Paths.get(targetLocalDirectory.getPath(), "manifest.json").toFile().isFile());
+        assertFalse(new File(targetLocalDirectory.getPath() + ".herd-downloader-checkpoint").exists());
+    }
+
+    @Test
+    public void testPerformDownloadResumableSkipCompletedFiles() throws Exception
+    {
+        File targetLocalDirectory = Paths.get(LOCAL_TEMP_PATH_OUTPUT.toString(), S3_SIMPLE_TEST_PATH).toFile();
+        String completedFileName = testManifestFiles.get(0).getFileName();
+        String completedS3Key = S3_SIMPLE_TEST_PATH + "/" + completedFileName;
+
+        // Create a local file of the expected size, but with content that differs from the S3 file, so we can tell whether it got downloaded again.
+        byte[] completedFileData = new byte[(int) FILE_SIZE_1_KB];
+        Arrays.fill(completedFileData, (byte) 'X');
+        File completedLocalFile = Paths.get(targetLocalDirectory.getPath(), completedFileName).toFile();
+        assertTrue(completedLocalFile.getParentFile().mkdirs());
+        Files.write(completedLocalFile.toPath(), completedFileData);
+
+        // Record the local file in the checkpoint journal as if a previous download attempt completed it. The mock S3 ETag is an MD5 checksum of the S3 file.
+        File journalFile = new File(targetLocalDirectory.getPath() + ".herd-downloader-checkpoint");
+        Files.write(journalFile.toPath(),
+            Arrays.asList(completedS3Key + "\t" + FILE_SIZE_1_KB + "\t" + DigestUtils.md5Hex(new byte[(int) FILE_SIZE_1_KB]), "partial-line"),
+            StandardCharsets.UTF_8);
+
+        // Resume the download into the non-empty target local directory.
+        runDownload(getTestDownloaderInputManifestDto(), LOCAL_TEMP_PATH_OUTPUT.toString(), DownloaderController.MIN_THREADS, null, true, false);
+
+        // Validate that the completed file was skipped, while the remaining files got downloaded.
+        assertTrue(Arrays.equals(completedFileData, Files.readAllBytes(completedLocalFile.toPath())));
+        for (ManifestFile manifestFile : testManifestFiles)
+        {
+            assertEquals(FILE_SIZE_1_KB, Paths.get(targetLocalDirectory.getPath(), manifestFile.getFileName()).toFile().length());
+        }
+        assertFalse(journalFile.exists());
+    }
+
+    @Test
+    public void testPerformDownloadResumableMd5Mismatch() throws Exception
+    {
+        File targetLocalDirectory = Paths.get(LOCAL_TEMP_PATH_OUTPUT.toString(), S3_SIMPLE_TEST_PATH).toFile();
+        String corruptFileName = testManifestFiles.get(0).getFileName();
+
+        // Make the S3 listing report an ETag that does not match the content of one of the S3 files.
+        S3Service mockS3Service = mock(S3Service.class);
+        S3Service originalS3Service = (S3Service) ReflectionTestUtils.getField(downloaderController, "s3Service");
+        ReflectionTestUtils.setField(downloaderController, "s3Service", mockS3Service);
+
+        try
+        {
+            when(mockS3Service.listDirectory(any(S3FileTransferRequestParamsDto.class), eq(true))).thenAnswer(invocation ->
+            {
+                List<S3ObjectSummary> s3ObjectSummaries =
+                    originalS3Service.listDirectory((S3FileTransferRequestParamsDto) invocation.getArguments()[0], true);
+                for (S3ObjectSummary s3ObjectSummary : s3ObjectSummaries)
+                {
+                    if (s3ObjectSummary.getKey().endsWith("/" + corruptFileName))
+                    {
+                        s3ObjectSummary.setETag(DigestUtils.md5Hex("corrupt"));
+                    }
+                }
+                return s3ObjectSummaries;
+            });
+            when(mockS3Service.downloadFileRange(any(S3FileTransferRequestParamsDto.class), anyLong(), anyLong())).thenAnswer(invocation -> originalS3Service
+                .downloadFileRange((S3FileTransferRequestParamsDto) invocation.getArguments()[0], (Long) invocation.getArguments()[1],
+                    (Long) invocation.getArguments()[2]));
+
+            runDownload(getTestDownloaderInputManifestDto(), LOCAL_TEMP_PATH_OUTPUT.toString(), DownloaderController.MIN_THREADS, null, true, true);
+            fail();
+        }
+        catch (IllegalStateException e)
+        {
+            assertTrue(e.getMessage().startsWith(String
+                .format("MD5 checksum of the downloaded \"%s\" S3 file does not match the expected value",
+                    Paths.get(targetLocalDirectory.getPath(), corruptFileName).toString())));
+        }
+        finally
+        {
+            ReflectionTestUtils.setField(downloaderController, "s3Service", originalS3Service);
+        }
+
+        // A failed resumable download keeps the downloaded files and the checkpoint journal, so the download can be resumed.
+        assertTrue(Paths.get(targetLocalDirectory.getPath(), corruptFileName).toFile().isFile());
+        assertTrue(new File(targetLocalDirectory.getPath() + ".herd-downloader-checkpoint").isFile());
+    }
+
+    @Test
+    public void testPerformDownloadResumableShortByteRange() throws Exception
+    {
+        // Make the byte range downloads report one byte less than requested, as if the S3 object content ended early.
+        S3Service mockS3Service = mock(S3Service.class);
+        S3Service originalS3Service = (S3Service) ReflectionTestUtils.getField(downloaderController, "s3Service");
+        ReflectionTestUtils.setField(downloaderController, "s3Service", mockS3Service);
+
+        try
+        {
+            when(mockS3Service.listDirectory(any(S3FileTransferRequestParamsDto.class), eq(true))).thenAnswer(
+                invocation -> originalS3Service.listDirectory((S3FileTransferRequestParamsDto) invocation.getArguments()[0], true));
+            when(mockS3Service.downloadFileRange(any(S3FileTransferRequestParamsDto.class), anyLong(), anyLong())).thenAnswer(invocation -> originalS3Service
+                .downloadFileRange((S3FileTransferRequestParamsDto) invocation.getArguments()[0], (Long) invocation.getArguments()[1],
+                    (Long) invocation.getArguments()[2]) - 1);
+
+            runDownload(getTestDownloaderInputManifestDto(), LOCAL_TEMP_PATH_OUTPUT.toString(), DownloaderController.MIN_THREADS, null, true, false);
+            fail();
+        }
+        catch (IllegalStateException e)
+        {
+            assertTrue(e.getMessage().startsWith("Size of the downloaded byte range 0-" + (FILE_SIZE_1_KB - 1)));
+        }
+        finally
+        {
+            ReflectionTestUtils.setField(downloaderController, "s3Service", originalS3Service);
+        }
+
+        // No file got recorded as completed, so the checkpoint journal has nothing to skip on resume.
+        File journalFile = new File(Paths.get(LOCAL_TEMP_PATH_OUTPUT.toString(), S3_SIMPLE_TEST_PATH).toString() + ".herd-downloader-checkpoint");
+        assertTrue(!journalFile.exists() || Files.readAllLines(journalFile.toPath(), StandardCharsets.UTF_8).isEmpty());
+    }
+
     @Test
     public void testPerformDownloadWithLoggerLevelSetToWarn() throws Exception
     {
@@ -214,6 +361,22 @@ public class DownloaderControllerTest extends AbstractDownloaderTest
      * @param hostname optional override of the default web service hostname.
      */
     protected void runDownload(DownloaderInputManifestDto downloaderInputManifestDto, String localPath, Integer numOfThreads, String hostname) throws Exception
+    {
+        runDownload(downloaderInputManifestDto, localPath, numOfThreads, hostname, false, false);
+    }
+
+    /**
+     * Prepares test data and runs a download scenario.
+     *
+     * @param downloaderInputManifestDto the downloader input manifest object instance
+     * @param localPath the local target directory
+     * @param numOfThreads the maximum number of threads to use for file transfer to S3
+     * @param hostname optional override of the default web service hostname.
+     * @param resumable specifies whether to perform a resumable download
+     * @param validateMd5 specifies whether to validate the MD5 checksum of each downloaded file
+     */
+    protected void runDownload(DownloaderInputManifestDto downloaderInputManifestDto, String localPath, Integer numOfThreads, String hostname,
+        boolean resumable, boolean validateMd5) throws Exception
     {
         String hostnameToUse = hostname == null ? WEB_SERVICE_HOSTNAME : hostname;
 
@@ -235,7 +398,7 @@ public class DownloaderControllerTest extends AbstractDownloaderTest
             RegServerAccessParamsDto.builder().withRegServerHost(hostnameToUse).withRegServerPort(WEB_SERVICE_HTTPS_PORT).withUseSsl(true)
                 .withUsername(WEB_SERVICE_HTTPS_USERNAME).withPassword(WEB_SERVICE_HTTPS_PASSWORD).withTrustSelfSignedCertificate(true)
                 .withDisableHostnameVerification(true).build();
-        downloaderController.performDownload(regServerAccessParamsDto, downloaderInputManifestFile, s3FileTransferRequestParamsDto);
+        downloaderController.performDownload(regServerAccessParamsDto, downloaderInputManifestFile, s3FileTransferRequestParamsDto, resumable, validateMd5);
     }
 
     @Test
@@ -23,22 +23,37 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
 
+import com.google.common.util.concurrent.RateLimiter;
 import com.opencsv.CSVReader;
-import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import org.finra.herd.core.helper.ConfigurationHelper;
 import org.finra.herd.dao.helper.JsonHelper;
 import org.finra.herd.model.api.xml.BusinessObjectDataKey;
+import org.finra.herd.model.dto.ConfigurationValue;
 import org.finra.herd.model.dto.RegServerAccessParamsDto;
+import org.finra.herd.tools.common.databridge.HttpErrorResponseException;
 
 @Component
 public class RetentionExpirationDestroyerController
 {
+    /**
+     * The suffix appended to the input file path to get the path of the progress journal that records the business object data marked for destruction.
+     */
+    static final String PROGRESS_JOURNAL_FILE_SUFFIX = ".herd-destroyer-progress";
+
     private static final String[] CSV_FILE_HEADER_COLUMNS =
         {"Namespace", "Business Object Definition Name", "Business Object Format Usage", "Business Object Format File Type", "Business Object Format Version",
             "Primary Partition Value", "Sub-Partition Value 1", "Sub-Partition Value 2", "Sub-Partition Value 3", "Sub-Partition Value 4",
@@ -46,6 +61,9 @@ public class RetentionExpirationDestroyerController
 
     private static final Logger LOGGER = LoggerFactory.getLogger(RetentionExpirationDestroyerController.class);
 
+    @Autowired
+    private ConfigurationHelper configurationHelper;
+
     @Autowired
     private JsonHelper jsonHelper;
 
@@ -53,7 +71,10 @@ public class RetentionExpirationDestroyerController
     private RetentionExpirationDestroyerWebClient retentionExpirationDestroyerWebClient;
 
     /**
-     * Executes the retention expiration destroyer workflow.
+     * Executes the retention expiration destroyer workflow. The input CSV file is streamed twice: first to validate all of its lines, so a malformed file does
+     * not get partially processed, and then to mark the business object data for destruction using a pool of worker threads at a rate limited throughput.
+     * The business object data marked for destruction get recorded in a progress journal kept next to the input file, so a failed run can be restarted
+     * without destroying the same business object data again.
      *
      * @param localInputFile the local input file
      * @param regServerAccessParamsDto the DTO for the parameters required to communicate with the registration server
@@ -62,21 +83,95 @@ public class RetentionExpirationDestroyerController
      */
     public void performRetentionExpirationDestruction(File localInputFile, RegServerAccessParamsDto regServerAccessParamsDto) throws Exception
     {
-        // Read business object data keys from the input CSV file.
-        List<BusinessObjectDataKey> businessObjectDataKeys = getBusinessObjectDataKeys(localInputFile);
+        // Validate the input CSV file without keeping its business object data keys in memory.
+        long businessObjectDataCount = processBusinessObjectDataKeys(localInputFile, businessObjectDataKey -> true);
 
         // Initialize the web client.
         retentionExpirationDestroyerWebClient.setRegServerAccessParamsDto(regServerAccessParamsDto);
 
-        // Process business object data keys one by one.
-        LOGGER.info("Processing {} business object data instances for destruction.", CollectionUtils.size(businessObjectDataKeys));
-        for (BusinessObjectDataKey businessObjectDataKey : businessObjectDataKeys)
+        int maxThreads = configurationHelper.getProperty(ConfigurationValue.RETENTION_EXPIRATION_DESTROYER_MAX_THREADS, Integer.class);
+        int maxRequestsPerSecond = configurationHelper.getProperty(ConfigurationValue.RETENTION_EXPIRATION_DESTROYER_MAX_REQUESTS_PER_SECOND, Integer.class);
+        RateLimiter rateLimiter = maxRequestsPerSecond > 0 ? RateLimiter.create(maxRequestsPerSecond) : null;
+
+        // Open the progress journal, so the business object data marked for destruction by a previous run get skipped.
+        RetentionExpirationDestroyerProgressJournal progressJournal =
+            new RetentionExpirationDestroyerProgressJournal(new File(localInputFile.getPath() + PROGRESS_JOURNAL_FILE_SUFFIX));
+
+        LOGGER.info("Processing {} business object data instances for destruction using {} threads.", businessObjectDataCount, maxThreads);
+
+        // Limit the number of the business object data keys that are read ahead of the worker threads.
+        Semaphore pendingKeys = new Semaphore(maxThreads * 2);
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        AtomicLong destroyedCount = new AtomicLong();
+        AtomicLong skippedCount = new AtomicLong();
+
+        ExecutorService executorService = Executors.newFixedThreadPool(maxThreads);
+        try
         {
-            retentionExpirationDestroyerWebClient.destroyBusinessObjectData(businessObjectDataKey);
-            LOGGER.info("Successfully marked for destruction. Business object data {}", jsonHelper.objectToJson(businessObjectDataKey));
+            processBusinessObjectDataKeys(localInputFile, businessObjectDataKey -> {
+                String progressJournalKey = jsonHelper.objectToJson(businessObjectDataKey);
+                if (progressJournal.isCompleted(progressJournalKey))
+                {
+                    skippedCount.incrementAndGet();
+                    return true;
+                }
+
+                // Stop reading the input file once any business object data failed to get destroyed.
+                pendingKeys.acquireUninterruptibly();
+                if (failure.get() != null)
+                {
+                    pendingKeys.release();
+                    return false;
+                }
+
+                executorService.execute(() -> {
+                    try
+                    {
+                        // Skip the business object data still queued when another business object data failed to get destroyed.
+                        if (failure.get() != null)
+                        {
+                            return;
+                        }
+
+                        destroyBusinessObjectData(businessObjectDataKey, rateLimiter);
+                        progressJournal.recordCompleted(progressJournalKey);
+                        destroyedCount.incrementAndGet();
+                    }
+                    catch (Exception e)
+                    {
+                        failure.compareAndSet(null, e);
+                    }
+                    finally
+                    {
+                        pendingKeys.release();
+                    }
+                });
+
+                return true;
+            });
+
+            // Wait for the worker threads to complete the business object data already submitted.
+            executorService.shutdown();
+            executorService.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        }
+        finally
+        {
+            executorService.shutdownNow();
+            progressJournal.close();
         }
 
-        LOGGER.info("Successfully processed {} business object data instances for destruction.", CollectionUtils.size(businessObjectDataKeys));
+        if (failure.get() != null)
+        {
+            LOGGER.error("Marked {} business object data instances for destruction before the failure. Progress is saved to \"{}\".", destroyedCount.get(),
+                localInputFile.getPath() + PROGRESS_JOURNAL_FILE_SUFFIX);
+            throw failure.get();
+        }
+
+        // All the business object data got marked for destruction, so the progress journal is no longer needed.
+        progressJournal.delete();
+
+        LOGGER.info("Successfully processed {} business object data instances for destruction. destroyedCount={} skippedCount={}", businessObjectDataCount,
+            destroyedCount.get(), skippedCount.get());
     }
 
     /**
@@ -151,7 +246,25 @@ public class RetentionExpirationDestroyerController
     {
         List<BusinessObjectDataKey> businessObjectDataKeyList = new ArrayList<>();
 
-        // Read the input CSV file and populate business object data key list.
+        processBusinessObjectDataKeys(inputCsvFile, businessObjectDataKeyList::add);
+
+        return businessObjectDataKeyList;
+    }
+
+    /**
+     * Streams business object data keys from the input CSV file to the specified handler one line at a time. This method also validates the input file format.
+     *
+     * @param inputCsvFile the input CSV file
+     * @param businessObjectDataKeyHandler the handler of the business object data keys that returns false to stop reading the input file
+     *
+     * @return the number of business object data keys read from the input file
+     * @throws IOException if any problems were encountered
+     */
+    protected long processBusinessObjectDataKeys(File inputCsvFile, Predicate<BusinessObjectDataKey> businessObjectDataKeyHandler) throws IOException
+    {
+        long businessObjectDataKeyCount = 0;
+
+        // Read the input CSV file and pass the business object data keys to the handler.
         try (CSVReader csvReader = new CSVReader(new InputStreamReader(new FileInputStream(inputCsvFile), StandardCharsets.UTF_8)))
         {
             String[] line;
@@ -166,10 +279,57 @@ public class RetentionExpirationDestroyerController
             int lineCount = 2;
             while ((line = csvReader.readNext()) != null)
             {
-                businessObjectDataKeyList.add(getBusinessObjectDataKey(line, lineCount++, inputCsvFile));
+                businessObjectDataKeyCount++;
+                if (!businessObjectDataKeyHandler.test(getBusinessObjectDataKey(line, lineCount++, inputCsvFile)))
+                {
+                    break;
+                }
             }
         }
 
-        return businessObjectDataKeyList;
+        return businessObjectDataKeyCount;
+    }
+
+    /**
+     * Marks the specified business object data for destruction. The request is retried with an exponential backoff when the registration server responds with
+     * a server error or the request fails with an I/O error.
+     *
+     * @param businessObjectDataKey the business object data key
+     * @param rateLimiter the rate limiter that each request has to acquire a permit from, or null if the requests are not rate limited
+     *
+     * @throws Exception if the business object data failed to be marked for destruction
+     */
+    private void destroyBusinessObjectData(BusinessObjectDataKey businessObjectDataKey, RateLimiter rateLimiter) throws Exception
+    {
+        int maxAttempts = configurationHelper.getProperty(ConfigurationValue.RETENTION_EXPIRATION_DESTROYER_MAX_ATTEMPTS, Integer.class);
+        long retryBackoffMillis = configurationHelper.getProperty(ConfigurationValue.RETENTION_EXPIRATION_DESTROYER_RETRY_BACKOFF_MILLIS, Integer.class);
+
+        for (int attempt = 1; ; attempt++)
+        {
+            if (rateLimiter != null)
+            {
+                rateLimiter.acquire();
+            }
+
+            try
+            {
+                retentionExpirationDestroyerWebClient.destroyBusinessObjectData(businessObjectDataKey);
+                LOGGER.info("Successfully marked for destruction. Business object data {}", jsonHelper.objectToJson(businessObjectDataKey));
+                return;
+            }
+            catch (HttpErrorResponseException | IOException e)
+            {
+                // Only server errors and I/O errors are considered transient.
+                if ((e instanceof HttpErrorResponseException && ((HttpErrorResponseException) e).getStatusCode() < 500) || attempt >= maxAttempts)
+                {
+                    throw e;
+                }
+
+                LOGGER.warn("Failed to mark for destruction, retrying. attempt={} maxAttempts={} reason=\"{}\" businessObjectDataKey={}", attempt, maxAttempts,
+                    e.toString(), jsonHelper.objectToJson(businessObjectDataKey));
+            }
+
+            Thread.sleep(retryBackoffMillis << (attempt - 1));
+        }
     }
 }
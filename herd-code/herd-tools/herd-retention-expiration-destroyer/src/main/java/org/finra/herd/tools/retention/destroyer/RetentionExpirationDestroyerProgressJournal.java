@@ -0,0 +1,116 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.tools.retention.destroyer;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * An append-only journal of the business object data that got successfully marked for destruction by the retention expiration destroyer. Each line of the
+ * journal records a single business object data key, so a restarted destroyer run can skip the business object data already marked for destruction.
+ */
+public class RetentionExpirationDestroyerProgressJournal
+{
+    private final File journalFile;
+
+    private final Set<String> completedKeys = new HashSet<>();
+
+    private BufferedWriter writer;
+
+    /**
+     * Opens the specified progress journal, loading the business object data keys recorded by the previous destroyer runs, if any.
+     *
+     * @param journalFile the progress journal file
+     *
+     * @throws IOException if an I/O error was encountered
+     */
+    public RetentionExpirationDestroyerProgressJournal(File journalFile) throws IOException
+    {
+        this.journalFile = journalFile;
+
+        if (journalFile.isFile())
+        {
+            // A partially written last line left behind by an interrupted run never matches a key, so the business object data simply gets destroyed again.
+            completedKeys.addAll(Files.readAllLines(journalFile.toPath(), StandardCharsets.UTF_8));
+        }
+
+        writer = Files.newBufferedWriter(journalFile.toPath(), StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Checks whether the business object data with the specified key was already marked for destruction by a previous destroyer run.
+     *
+     * @param key the business object data key in its single line string form
+     *
+     * @return true if the business object data does not need to be destroyed again, false otherwise
+     */
+    public synchronized boolean isCompleted(String key)
+    {
+        return completedKeys.contains(key);
+    }
+
+    /**
+     * Records the business object data with the specified key as marked for destruction. The record is flushed to the journal file right away, so it survives
+     * a failure of the destroyer run.
+     *
+     * @param key the business object data key in its single line string form
+     *
+     * @throws IOException if an I/O error was encountered
+     */
+    public synchronized void recordCompleted(String key) throws IOException
+    {
+        // Nothing gets written once the journal is closed, which happens when a request still in progress completes after the run as a whole failed.
+        if (writer != null)
+        {
+            writer.write(key);
+            writer.newLine();
+            writer.flush();
+        }
+
+        completedKeys.add(key);
+    }
+
+    /**
+     * Closes the progress journal, keeping the journal file so that a subsequent destroyer run can resume from it.
+     *
+     * @throws IOException if an I/O error was encountered
+     */
+    public synchronized void close() throws IOException
+    {
+        if (writer != null)
+        {
+            writer.close();
+            writer = null;
+        }
+    }
+
+    /**
+     * Closes the progress journal and deletes the journal file once all the business object data got marked for destruction.
+     *
+     * @throws IOException if an I/O error was encountered
+     */
+    public synchronized void delete() throws IOException
+    {
+        close();
+        Files.deleteIfExists(journalFile.toPath());
+    }
+}
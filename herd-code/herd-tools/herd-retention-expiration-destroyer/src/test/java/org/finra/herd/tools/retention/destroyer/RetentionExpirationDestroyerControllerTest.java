@@ -16,7 +16,15 @@
 package org.finra.herd.tools.retention.destroyer;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
 
 import java.io.File;
 import java.io.IOException;
@@ -25,16 +33,25 @@ import java.util.Arrays;
 import java.util.List;
 
 import org.apache.commons.io.FileUtils;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import org.finra.herd.core.helper.LogLevel;
+import org.finra.herd.dao.helper.JsonHelper;
 import org.finra.herd.model.api.xml.BusinessObjectDataKey;
+import org.finra.herd.model.dto.ConfigurationValue;
 import org.finra.herd.model.dto.RegServerAccessParamsDto;
 import org.finra.herd.tools.common.databridge.DataBridgeWebClient;
+import org.finra.herd.tools.common.databridge.HttpErrorResponseException;
 
 public class RetentionExpirationDestroyerControllerTest extends AbstractRetentionExpirationDestroyerTest
 {
+    @Autowired
+    private JsonHelper jsonHelper;
+
     @Before
     @Override
     public void setup() throws Exception
@@ -44,6 +61,15 @@ public class RetentionExpirationDestroyerControllerTest extends AbstractRetentio
         // Set the web client logger to warn level so we don't get unnecessary info level logging on the output.
         setLogLevel(DataBridgeWebClient.class, LogLevel.WARN);
         setLogLevel(RetentionExpirationDestroyerWebClient.class, LogLevel.WARN);
+
+        // Do not wait between the retries of the failed destroy requests.
+        System.setProperty(ConfigurationValue.RETENTION_EXPIRATION_DESTROYER_RETRY_BACKOFF_MILLIS.getKey(), "0");
+    }
+
+    @After
+    public void clearRetryBackoff()
+    {
+        System.clearProperty(ConfigurationValue.RETENTION_EXPIRATION_DESTROYER_RETRY_BACKOFF_MILLIS.getKey());
     }
 
     @Test
@@ -159,6 +185,134 @@ public class RetentionExpirationDestroyerControllerTest extends AbstractRetentio
         retentionExpirationDestroyerController.performRetentionExpirationDestruction(inputCsvFile, regServerAccessParamsDto);
     }
 
+    @Test
+    public void testPerformRetentionExpirationDestructionClientErrorNotRetried() throws Exception
+    {
+        File inputCsvFile = createLocalInputCsvFile();
+        List<BusinessObjectDataKey> businessObjectDataKeys = retentionExpirationDestroyerController.getBusinessObjectDataKeys(inputCsvFile);
+        HttpErrorResponseException clientError = new HttpErrorResponseException("Failed to destroy business object data", 400, "Bad Request", STRING_VALUE);
+
+        RetentionExpirationDestroyerWebClient mockWebClient = mock(RetentionExpirationDestroyerWebClient.class);
+        when(mockWebClient.destroyBusinessObjectData(businessObjectDataKeys.get(0))).thenThrow(clientError);
+
+        try
+        {
+            performRetentionExpirationDestruction(inputCsvFile, mockWebClient);
+            fail();
+        }
+        catch (HttpErrorResponseException e)
+        {
+            assertEquals(clientError, e);
+        }
+
+        // Validate that the client error was not retried and that the progress journal was kept for the next run.
+        verify(mockWebClient).destroyBusinessObjectData(businessObjectDataKeys.get(0));
+        assertTrue(getProgressJournalFile(inputCsvFile).isFile());
+    }
+
+    @Test
+    public void testPerformRetentionExpirationDestructionResume() throws Exception
+    {
+        File inputCsvFile = createLocalInputCsvFile();
+        List<BusinessObjectDataKey> businessObjectDataKeys = retentionExpirationDestroyerController.getBusinessObjectDataKeys(inputCsvFile);
+
+        // Simulate a previous run that marked the first business object data for destruction before it failed.
+        RetentionExpirationDestroyerProgressJournal progressJournal = new RetentionExpirationDestroyerProgressJournal(getProgressJournalFile(inputCsvFile));
+        progressJournal.recordCompleted(jsonHelper.objectToJson(businessObjectDataKeys.get(0)));
+        progressJournal.close();
+
+        RetentionExpirationDestroyerWebClient mockWebClient = mock(RetentionExpirationDestroyerWebClient.class);
+        performRetentionExpirationDestruction(inputCsvFile, mockWebClient);
+
+        // Validate that only the remaining business object data got destroyed and that the progress journal got deleted.
+        verify(mockWebClient).setRegServerAccessParamsDto(any(RegServerAccessParamsDto.class));
+        verify(mockWebClient).destroyBusinessObjectData(businessObjectDataKeys.get(1));
+        verify(mockWebClient).destroyBusinessObjectData(businessObjectDataKeys.get(2));
+        verifyNoMoreInteractions(mockWebClient);
+        assertFalse(getProgressJournalFile(inputCsvFile).exists());
+    }
+
+    @Test
+    public void testPerformRetentionExpirationDestructionServerErrorRetried() throws Exception
+    {
+        File inputCsvFile = createLocalInputCsvFile();
+        List<BusinessObjectDataKey> businessObjectDataKeys = retentionExpirationDestroyerController.getBusinessObjectDataKeys(inputCsvFile);
+
+        // Fail the first attempt to destroy the first business object data with a server error.
+        RetentionExpirationDestroyerWebClient mockWebClient = mock(RetentionExpirationDestroyerWebClient.class);
+        when(mockWebClient.destroyBusinessObjectData(businessObjectDataKeys.get(0)))
+            .thenThrow(new HttpErrorResponseException("Failed to destroy business object data", 503, "Service Unavailable", STRING_VALUE)).thenReturn(null);
+
+        performRetentionExpirationDestruction(inputCsvFile, mockWebClient);
+
+        // Validate that the failed request got retried.
+        verify(mockWebClient, times(2)).destroyBusinessObjectData(businessObjectDataKeys.get(0));
+        verify(mockWebClient).destroyBusinessObjectData(businessObjectDataKeys.get(1));
+        verify(mockWebClient).destroyBusinessObjectData(businessObjectDataKeys.get(2));
+        assertFalse(getProgressJournalFile(inputCsvFile).exists());
+    }
+
+    @Test
+    public void testPerformRetentionExpirationDestructionServerErrorRetriesExhausted() throws Exception
+    {
+        File inputCsvFile = createLocalInputCsvFile();
+        List<BusinessObjectDataKey> businessObjectDataKeys = retentionExpirationDestroyerController.getBusinessObjectDataKeys(inputCsvFile);
+        HttpErrorResponseException serverError =
+            new HttpErrorResponseException("Failed to destroy business object data", 500, "Internal Server Error", STRING_VALUE);
+
+        RetentionExpirationDestroyerWebClient mockWebClient = mock(RetentionExpirationDestroyerWebClient.class);
+        when(mockWebClient.destroyBusinessObjectData(businessObjectDataKeys.get(0))).thenThrow(serverError);
+
+        try
+        {
+            performRetentionExpirationDestruction(inputCsvFile, mockWebClient);
+            fail();
+        }
+        catch (HttpErrorResponseException e)
+        {
+            assertEquals(serverError, e);
+        }
+
+        // Validate that the request got attempted the configured number of times.
+        verify(mockWebClient, times((Integer) ConfigurationValue.RETENTION_EXPIRATION_DESTROYER_MAX_ATTEMPTS.getDefaultValue()))
+            .destroyBusinessObjectData(businessObjectDataKeys.get(0));
+        assertTrue(getProgressJournalFile(inputCsvFile).isFile());
+    }
+
+    /**
+     * Gets the progress journal file for the specified input CSV file.
+     *
+     * @param inputCsvFile the input CSV file
+     *
+     * @return the progress journal file
+     */
+    private File getProgressJournalFile(File inputCsvFile)
+    {
+        return new File(inputCsvFile.getPath() + RetentionExpirationDestroyerController.PROGRESS_JOURNAL_FILE_SUFFIX);
+    }
+
+    /**
+     * Performs the retention expiration destruction using the specified web client in place of the actual one.
+     *
+     * @param inputCsvFile the input CSV file
+     * @param webClient the web client to use
+     *
+     * @throws Exception if any problems were encountered
+     */
+    private void performRetentionExpirationDestruction(File inputCsvFile, RetentionExpirationDestroyerWebClient webClient) throws Exception
+    {
+        Object originalWebClient = ReflectionTestUtils.getField(retentionExpirationDestroyerController, "retentionExpirationDestroyerWebClient");
+        ReflectionTestUtils.setField(retentionExpirationDestroyerController, "retentionExpirationDestroyerWebClient", webClient);
+        try
+        {
+            retentionExpirationDestroyerController.performRetentionExpirationDestruction(inputCsvFile, RegServerAccessParamsDto.builder().build());
+        }
+        finally
+        {
+            ReflectionTestUtils.setField(retentionExpirationDestroyerController, "retentionExpirationDestroyerWebClient", originalWebClient);
+        }
+    }
+
     /**
      * Creates a local SCV file with a header and two business object data entries.
      *
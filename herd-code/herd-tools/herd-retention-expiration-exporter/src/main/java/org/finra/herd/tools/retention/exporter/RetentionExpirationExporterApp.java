@@ -173,7 +173,8 @@ public class RetentionExpirationExporterApp
         {
             namespaceOpt = argParser.addArgument("n", "namespace", true, "Namespace.", true);
             businessObjectDefinitionNameOpt = argParser.addArgument("b", "businessObjectDefinitionName", true, "Business object definition.", true);
-            localOutputFileOpt = argParser.addArgument("o", "localOutputFile", true, "The path to files on your local file system.", true);
+            localOutputFileOpt = argParser.addArgument("o", "localOutputFile", true,
+                "The path to files on your local file system. The output is gzip compressed when the file name ends with \".gz\".", true);
             regServerHostOpt = argParser.addArgument("H", "regServerHost", true, "Registration Service hostname.", true);
             Option regServerPortOpt = argParser.addArgument("P", "regServerPort", true, "Registration Service port.", true);
             udcServerHostOpt = argParser.addArgument("c", "udcServerHost", true, "UDC application server hostname.", true);
@@ -15,20 +15,31 @@
  */
 package org.finra.herd.tools.retention.exporter;
 
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
+import java.io.Reader;
 import java.io.Writer;
 import java.net.MalformedURLException;
 import java.net.URISyntaxException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.GZIPOutputStream;
 
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.client.utils.URIBuilder;
 import org.slf4j.Logger;
@@ -36,24 +47,44 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import org.finra.herd.core.helper.ConfigurationHelper;
 import org.finra.herd.model.api.xml.BusinessObjectData;
 import org.finra.herd.model.api.xml.BusinessObjectDataSearchFilter;
 import org.finra.herd.model.api.xml.BusinessObjectDataSearchKey;
 import org.finra.herd.model.api.xml.BusinessObjectDataSearchRequest;
 import org.finra.herd.model.api.xml.BusinessObjectDataSearchResult;
 import org.finra.herd.model.api.xml.BusinessObjectDefinition;
+import org.finra.herd.model.api.xml.BusinessObjectFormatKey;
+import org.finra.herd.model.dto.ConfigurationValue;
 import org.finra.herd.model.dto.RegServerAccessParamsDto;
 
 @Component
 class RetentionExpirationExporterController
 {
+    /**
+     * The extension of the local output file names that get written gzip compressed.
+     */
+    static final String GZIP_FILE_EXTENSION = ".gz";
+
+    /**
+     * The suffix appended to the local output file path to get the paths of the temporary files that the business object formats get exported to in parallel.
+     */
+    static final String PART_FILE_SUFFIX = ".part";
+
+    private static final int WRITER_BUFFER_SIZE = 64 * 1024;
+
     private static final Logger LOGGER = LoggerFactory.getLogger(RetentionExpirationExporterController.class);
 
+    @Autowired
+    private ConfigurationHelper configurationHelper;
+
     @Autowired
     private RetentionExpirationExporterWebClient retentionExpirationExporterWebClient;
 
     /**
-     * Executes the retention expiration exporter workflow.
+     * Executes the retention expiration exporter workflow. The business object data get streamed to the output CSV file one search result page at a time, so
+     * the memory use does not depend on the number of the exported business object data. The output file gets gzip compressed when its name ends with the
+     * ".gz" extension.
      *
      * @param namespace the namespace of business object data
      * @param businessObjectDefinitionName the business object definition name of business object data
@@ -82,34 +113,45 @@ class RetentionExpirationExporterController
         // Get business object display name.
         String businessObjectDefinitionDisplayName = getBusinessObjectDefinitionDisplayName(businessObjectDefinition);
 
-        // Create a search request for business object data with the filter on retention expiration option.
-        BusinessObjectDataSearchKey businessObjectDataSearchKey = new BusinessObjectDataSearchKey();
-        businessObjectDataSearchKey.setNamespace(namespace);
-        businessObjectDataSearchKey.setBusinessObjectDefinitionName(businessObjectDefinitionName);
-        businessObjectDataSearchKey.setFilterOnRetentionExpiration(true);
-        List<BusinessObjectDataSearchKey> businessObjectDataSearchKeys = new ArrayList<>();
-        businessObjectDataSearchKeys.add(businessObjectDataSearchKey);
-        BusinessObjectDataSearchFilter businessObjectDataSearchFilter = new BusinessObjectDataSearchFilter(businessObjectDataSearchKeys);
-        BusinessObjectDataSearchRequest request = new BusinessObjectDataSearchRequest(Collections.singletonList(businessObjectDataSearchFilter));
+        // Create business object definition URI.
+        String businessObjectDefinitionUdcUri = getBusinessObjectDefinitionUdcUri(udcServerHost, businessObjectDefinition.getNamespace(),
+            businessObjectDefinition.getBusinessObjectDefinitionName());
 
-        // Create a result list for business object data.
-        List<BusinessObjectData> businessObjectDataList = new ArrayList<>();
+        int maxThreads = configurationHelper.getProperty(ConfigurationValue.RETENTION_EXPIRATION_EXPORTER_MAX_THREADS, Integer.class);
 
-        // Fetch business object data from server until no records found.
-        int pageNumber = 1;
-        BusinessObjectDataSearchResult businessObjectDataSearchResult = retentionExpirationExporterWebClient.searchBusinessObjectData(request, pageNumber);
-        while (CollectionUtils.isNotEmpty(businessObjectDataSearchResult.getBusinessObjectDataElements()))
+        boolean exportCompleted = false;
+        try (Writer writer = createOutputFileWriter(localOutputFile))
         {
-            LOGGER.info("Fetched {} business object data records from the registration server.",
-                CollectionUtils.size(businessObjectDataSearchResult.getBusinessObjectDataElements()));
-            businessObjectDataList.addAll(businessObjectDataSearchResult.getBusinessObjectDataElements());
-            pageNumber++;
-            businessObjectDataSearchResult = retentionExpirationExporterWebClient.searchBusinessObjectData(request, pageNumber);
-        }
+            // Write csv file header.
+            writeLine(writer, Arrays.asList("Namespace", "Business Object Definition Name", "Business Object Format Usage", "Business Object Format File Type",
+                "Business Object Format Version", "Primary Partition Value", "Sub-Partition Value 1", "Sub-Partition Value 2", "Sub-Partition Value 3",
+                "Sub-Partition Value 4", "Business Object Data Version", "Business Object Definition Display Name", "Business Object Definition URI"));
 
-        // Write business object data to the output CSV file.
-        writeToCsvFile(localOutputFile, businessObjectDefinition.getNamespace(), businessObjectDefinition.getBusinessObjectDefinitionName(),
-            businessObjectDefinitionDisplayName, udcServerHost, businessObjectDataList);
+            long businessObjectDataCount;
+            if (maxThreads > 1)
+            {
+                businessObjectDataCount =
+                    exportBusinessObjectFormatsInParallel(namespace, businessObjectDefinitionName, localOutputFile, writer, maxThreads,
+                        businessObjectDefinitionDisplayName, businessObjectDefinitionUdcUri);
+            }
+            else
+            {
+                businessObjectDataCount =
+                    exportBusinessObjectData(createSearchRequest(namespace, businessObjectDefinitionName, null), writer, businessObjectDefinitionDisplayName,
+                        businessObjectDefinitionUdcUri);
+            }
+
+            exportCompleted = true;
+            LOGGER.info("Exported {} business object data records to \"{}\".", businessObjectDataCount, localOutputFile.toString());
+        }
+        finally
+        {
+            // Do not leave a partially written output file behind, so the export can simply be run again.
+            if (!exportCompleted)
+            {
+                Files.deleteIfExists(localOutputFile.toPath());
+            }
+        }
     }
 
     /**
@@ -157,71 +199,235 @@ class RetentionExpirationExporterController
     }
 
     /**
-     * Write one line in the csv file.
+     * Creates a search request for business object data with the filter on retention expiration option.
      *
-     * @param writer file write object
-     * @param values value to write
+     * @param namespace the namespace of business object definition
+     * @param businessObjectDefinitionName the name of the business object definition
+     * @param businessObjectFormatKey the business object format to limit the search to, or null to search across all the business object formats
+     *
+     * @return the business object data search request
+     */
+    private BusinessObjectDataSearchRequest createSearchRequest(String namespace, String businessObjectDefinitionName,
+        BusinessObjectFormatKey businessObjectFormatKey)
+    {
+        BusinessObjectDataSearchKey businessObjectDataSearchKey = new BusinessObjectDataSearchKey();
+        businessObjectDataSearchKey.setNamespace(namespace);
+        businessObjectDataSearchKey.setBusinessObjectDefinitionName(businessObjectDefinitionName);
+        businessObjectDataSearchKey.setFilterOnRetentionExpiration(true);
+
+        // The business object format version is not specified, so the search covers all versions of the business object format.
+        if (businessObjectFormatKey != null)
+        {
+            businessObjectDataSearchKey.setBusinessObjectFormatUsage(businessObjectFormatKey.getBusinessObjectFormatUsage());
+            businessObjectDataSearchKey.setBusinessObjectFormatFileType(businessObjectFormatKey.getBusinessObjectFormatFileType());
+        }
+
+        List<BusinessObjectDataSearchKey> businessObjectDataSearchKeys = new ArrayList<>();
+        businessObjectDataSearchKeys.add(businessObjectDataSearchKey);
+        BusinessObjectDataSearchFilter businessObjectDataSearchFilter = new BusinessObjectDataSearchFilter(businessObjectDataSearchKeys);
+        return new BusinessObjectDataSearchRequest(Collections.singletonList(businessObjectDataSearchFilter));
+    }
+
+    /**
+     * Creates a buffered writer for the local output file that gzip compresses the output when the file name ends with the gzip file extension.
      *
+     * @param localOutputFile the local output file
+     *
+     * @return the writer
      * @throws IOException if any problems were encountered
      */
-    private void writeLine(Writer writer, List<String> values) throws IOException
+    private Writer createOutputFileWriter(File localOutputFile) throws IOException
     {
-        final char customQuote = '"';
+        OutputStream outputStream = new FileOutputStream(localOutputFile);
 
-        StringBuilder stringBuilder = new StringBuilder();
-        boolean first = true;
-        for (String value : values)
+        if (localOutputFile.getName().endsWith(GZIP_FILE_EXTENSION))
         {
-            if (!first)
+            try
             {
-                stringBuilder.append(',');
+                outputStream = new GZIPOutputStream(outputStream, WRITER_BUFFER_SIZE);
+            }
+            catch (IOException e)
+            {
+                outputStream.close();
+                throw e;
             }
-            stringBuilder.append(customQuote).append(applyCsvFormatting(value)).append(customQuote);
-            first = false;
         }
-        stringBuilder.append(System.lineSeparator());
-        writer.append(stringBuilder.toString());
+
+        return new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), WRITER_BUFFER_SIZE);
     }
 
     /**
-     * Writes business object data to the CSV file.
+     * Pages through the business object data search results and writes the business object data to the CSV file as each page arrives.
+     *
+     * @param request the business object data search request
+     * @param writer the CSV file writer
+     * @param businessObjectDefinitionDisplayName the display name of the business object definition
+     * @param businessObjectDefinitionUdcUri the UDC URI of the business object definition
+     *
+     * @return the number of the exported business object data
+     * @throws Exception if any problems were encountered
+     */
+    private long exportBusinessObjectData(BusinessObjectDataSearchRequest request, Writer writer, String businessObjectDefinitionDisplayName,
+        String businessObjectDefinitionUdcUri) throws Exception
+    {
+        long businessObjectDataCount = 0;
+
+        // Fetch business object data from server until no records found.
+        int pageNumber = 1;
+        BusinessObjectDataSearchResult businessObjectDataSearchResult = retentionExpirationExporterWebClient.searchBusinessObjectData(request, pageNumber);
+        while (CollectionUtils.isNotEmpty(businessObjectDataSearchResult.getBusinessObjectDataElements()))
+        {
+            LOGGER.info("Fetched {} business object data records from the registration server.",
+                CollectionUtils.size(businessObjectDataSearchResult.getBusinessObjectDataElements()));
+
+            for (BusinessObjectData businessObjectData : businessObjectDataSearchResult.getBusinessObjectDataElements())
+            {
+                writeBusinessObjectData(writer, businessObjectData, businessObjectDefinitionDisplayName, businessObjectDefinitionUdcUri);
+                businessObjectDataCount++;
+            }
+
+            pageNumber++;
+            businessObjectDataSearchResult = retentionExpirationExporterWebClient.searchBusinessObjectData(request, pageNumber);
+        }
+
+        return businessObjectDataCount;
+    }
+
+    /**
+     * Exports the business object data of each business object format usage and file type of the business object definition in parallel. Each business object
+     * format gets exported to its own temporary file, and the temporary files get appended to the CSV file in the order of the business object formats as soon
+     * as they are complete.
      *
-     * @param localOutputFile the file to write
      * @param namespace the namespace of business object definition
      * @param businessObjectDefinitionName the name of the business object definition
+     * @param localOutputFile the local output file
+     * @param writer the CSV file writer
+     * @param maxThreads the maximum number of business object formats to export in parallel
      * @param businessObjectDefinitionDisplayName the display name of the business object definition
-     * @param udcServerHost the hostname of the UDC application server
-     * @param businessObjectDataList the list of business object data
+     * @param businessObjectDefinitionUdcUri the UDC URI of the business object definition
      *
-     * @throws IOException if any problems were encountered
+     * @return the number of the exported business object data
+     * @throws Exception if any problems were encountered
      */
-    private void writeToCsvFile(File localOutputFile, String namespace, String businessObjectDefinitionName, String businessObjectDefinitionDisplayName,
-        String udcServerHost, List<BusinessObjectData> businessObjectDataList) throws IOException, URISyntaxException
+    private long exportBusinessObjectFormatsInParallel(String namespace, String businessObjectDefinitionName, File localOutputFile, Writer writer,
+        int maxThreads, String businessObjectDefinitionDisplayName, String businessObjectDefinitionUdcUri) throws Exception
     {
-        // Create business object definition URI.
-        String businessObjectDefinitionUdcUri = getBusinessObjectDefinitionUdcUri(udcServerHost, namespace, businessObjectDefinitionName);
+        // The latest versions of the business object formats identify each business object format usage and file type once.
+        List<BusinessObjectFormatKey> businessObjectFormatKeys =
+            retentionExpirationExporterWebClient.getBusinessObjectFormats(namespace, businessObjectDefinitionName).getBusinessObjectFormatKeys();
 
-        // Create the local output file.
-        try (Writer writer = new OutputStreamWriter(new FileOutputStream(localOutputFile), StandardCharsets.UTF_8))
+        LOGGER.info("Exporting {} business object formats using {} threads.", businessObjectFormatKeys.size(), maxThreads);
+
+        List<File> partFiles = new ArrayList<>();
+        List<CompletableFuture<Long>> futures = new ArrayList<>();
+        ExecutorService executorService = Executors.newFixedThreadPool(maxThreads);
+        try
         {
-            // Write csv file header.
-            writeLine(writer, Arrays.asList("Namespace", "Business Object Definition Name", "Business Object Format Usage", "Business Object Format File Type",
-                "Business Object Format Version", "Primary Partition Value", "Sub-Partition Value 1", "Sub-Partition Value 2", "Sub-Partition Value 3",
-                "Sub-Partition Value 4", "Business Object Data Version", "Business Object Definition Display Name", "Business Object Definition URI"));
+            for (BusinessObjectFormatKey businessObjectFormatKey : businessObjectFormatKeys)
+            {
+                File partFile = new File(localOutputFile.getPath() + PART_FILE_SUFFIX + partFiles.size());
+                partFiles.add(partFile);
+                BusinessObjectDataSearchRequest request = createSearchRequest(namespace, businessObjectDefinitionName, businessObjectFormatKey);
+
+                futures.add(CompletableFuture.supplyAsync(() -> {
+                    try (Writer partFileWriter = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(partFile), StandardCharsets.UTF_8),
+                        WRITER_BUFFER_SIZE))
+                    {
+                        return exportBusinessObjectData(request, partFileWriter, businessObjectDefinitionDisplayName, businessObjectDefinitionUdcUri);
+                    }
+                    catch (Exception e)
+                    {
+                        throw new CompletionException(e);
+                    }
+                }, executorService));
+            }
 
-            for (BusinessObjectData businessObjectData : businessObjectDataList)
+            long businessObjectDataCount = 0;
+            for (int i = 0; i < futures.size(); i++)
             {
-                int subPartitionsCount = CollectionUtils.size(businessObjectData.getSubPartitionValues());
-                List<String> businessObjectDataRecords = Arrays.asList(businessObjectData.getNamespace(), businessObjectData.getBusinessObjectDefinitionName(),
-                    businessObjectData.getBusinessObjectFormatUsage(), businessObjectData.getBusinessObjectFormatFileType(),
-                    Integer.toString(businessObjectData.getBusinessObjectFormatVersion()), businessObjectData.getPartitionValue(),
-                    subPartitionsCount > 0 ? businessObjectData.getSubPartitionValues().get(0) : "",
-                    subPartitionsCount > 1 ? businessObjectData.getSubPartitionValues().get(1) : "",
-                    subPartitionsCount > 2 ? businessObjectData.getSubPartitionValues().get(2) : "",
-                    subPartitionsCount > 3 ? businessObjectData.getSubPartitionValues().get(3) : "", Integer.toString(businessObjectData.getVersion()),
-                    businessObjectDefinitionDisplayName, businessObjectDefinitionUdcUri);
-                writeLine(writer, businessObjectDataRecords);
+                try
+                {
+                    businessObjectDataCount += futures.get(i).get();
+                }
+                catch (ExecutionException e)
+                {
+                    // Rethrow the original exception thrown while exporting the business object format.
+                    if (e.getCause() instanceof Exception)
+                    {
+                        throw (Exception) e.getCause();
+                    }
+                    throw new IllegalStateException(e.getCause());
+                }
+
+                try (Reader reader = Files.newBufferedReader(partFiles.get(i).toPath(), StandardCharsets.UTF_8))
+                {
+                    IOUtils.copy(reader, writer);
+                }
+                Files.delete(partFiles.get(i).toPath());
             }
+
+            return businessObjectDataCount;
         }
+        finally
+        {
+            executorService.shutdownNow();
+
+            for (File partFile : partFiles)
+            {
+                Files.deleteIfExists(partFile.toPath());
+            }
+        }
+    }
+
+    /**
+     * Writes a single business object data to the CSV file.
+     *
+     * @param writer the CSV file writer
+     * @param businessObjectData the business object data
+     * @param businessObjectDefinitionDisplayName the display name of the business object definition
+     * @param businessObjectDefinitionUdcUri the UDC URI of the business object definition
+     *
+     * @throws IOException if any problems were encountered
+     */
+    private void writeBusinessObjectData(Writer writer, BusinessObjectData businessObjectData, String businessObjectDefinitionDisplayName,
+        String businessObjectDefinitionUdcUri) throws IOException
+    {
+        int subPartitionsCount = CollectionUtils.size(businessObjectData.getSubPartitionValues());
+        List<String> businessObjectDataRecords = Arrays.asList(businessObjectData.getNamespace(), businessObjectData.getBusinessObjectDefinitionName(),
+            businessObjectData.getBusinessObjectFormatUsage(), businessObjectData.getBusinessObjectFormatFileType(),
+            Integer.toString(businessObjectData.getBusinessObjectFormatVersion()), businessObjectData.getPartitionValue(),
+            subPartitionsCount > 0 ? businessObjectData.getSubPartitionValues().get(0) : "",
+            subPartitionsCount > 1 ? businessObjectData.getSubPartitionValues().get(1) : "",
+            subPartitionsCount > 2 ? businessObjectData.getSubPartitionValues().get(2) : "",
+            subPartitionsCount > 3 ? businessObjectData.getSubPartitionValues().get(3) : "", Integer.toString(businessObjectData.getVersion()),
+            businessObjectDefinitionDisplayName, businessObjectDefinitionUdcUri);
+        writeLine(writer, businessObjectDataRecords);
+    }
+
+    /**
+     * Write one line in the csv file.
+     *
+     * @param writer file write object
+     * @param values value to write
+     *
+     * @throws IOException if any problems were encountered
+     */
+    private void writeLine(Writer writer, List<String> values) throws IOException
+    {
+        final char customQuote = '"';
+
+        StringBuilder stringBuilder = new StringBuilder();
+        boolean first = true;
+        for (String value : values)
+        {
+            if (!first)
+            {
+                stringBuilder.append(',');
+            }
+            stringBuilder.append(customQuote).append(applyCsvFormatting(value)).append(customQuote);
+            first = false;
+        }
+        stringBuilder.append(System.lineSeparator());
+        writer.append(stringBuilder.toString());
     }
 }
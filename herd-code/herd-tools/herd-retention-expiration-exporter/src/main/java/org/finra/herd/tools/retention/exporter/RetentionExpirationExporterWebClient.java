@@ -42,6 +42,7 @@ import org.springframework.stereotype.Component;
 import org.finra.herd.model.api.xml.BusinessObjectDataSearchRequest;
 import org.finra.herd.model.api.xml.BusinessObjectDataSearchResult;
 import org.finra.herd.model.api.xml.BusinessObjectDefinition;
+import org.finra.herd.model.api.xml.BusinessObjectFormatKeys;
 import org.finra.herd.tools.common.databridge.DataBridgeWebClient;
 
 /**
@@ -103,6 +104,58 @@ class RetentionExpirationExporterWebClient extends DataBridgeWebClient
         }
     }
 
+    /**
+     * Retrieves the keys of the latest versions of all business object formats registered for the business object definition from the herd registration
+     * server.
+     *
+     * @param namespace the namespace of the business object definition
+     * @param businessObjectDefinitionName the name of the business object definition
+     *
+     * @return the business object format keys
+     * @throws JAXBException if a JAXB error was encountered
+     * @throws IOException if an I/O error was encountered
+     * @throws URISyntaxException if a URI syntax error was encountered
+     * @throws KeyStoreException if a key store exception occurs
+     * @throws NoSuchAlgorithmException if a no such algorithm exception occurs
+     * @throws KeyManagementException if key management exception
+     */
+    BusinessObjectFormatKeys getBusinessObjectFormats(String namespace, String businessObjectDefinitionName)
+        throws IOException, JAXBException, URISyntaxException, NoSuchAlgorithmException, KeyStoreException, KeyManagementException
+    {
+        LOGGER.info("Retrieving business object formats from the registration server...");
+
+        String uriPathBuilder = HERD_APP_REST_URI_PREFIX + "/businessObjectFormats" + "/namespaces/" + namespace + "/businessObjectDefinitionNames/" +
+            businessObjectDefinitionName;
+
+        URIBuilder uriBuilder =
+            new URIBuilder().setScheme(getUriScheme()).setHost(regServerAccessParamsDto.getRegServerHost()).setPort(regServerAccessParamsDto.getRegServerPort())
+                .setPath(uriPathBuilder).setParameter("latestBusinessObjectFormatVersion", "true");
+
+        URI uri = uriBuilder.build();
+
+        try (CloseableHttpClient client = httpClientHelper
+            .createHttpClient(regServerAccessParamsDto.isTrustSelfSignedCertificate(), regServerAccessParamsDto.isDisableHostnameVerification()))
+        {
+            HttpGet request = new HttpGet(uri);
+            request.addHeader("Accepts", DEFAULT_ACCEPT);
+
+            // If SSL is enabled, set the client authentication header.
+            if (regServerAccessParamsDto.isUseSsl())
+            {
+                request.addHeader(getAuthorizationHeader());
+            }
+
+            LOGGER.info(String.format("    HTTP GET URI: %s", request.getURI().toString()));
+            LOGGER.info(String.format("    HTTP GET Headers: %s", Arrays.toString(request.getAllHeaders())));
+
+            BusinessObjectFormatKeys businessObjectFormatKeys = getBusinessObjectFormatKeys(httpClientOperations.execute(client, request));
+
+            LOGGER.info("Successfully retrieved business object formats from the registration server.");
+
+            return businessObjectFormatKeys;
+        }
+    }
+
     /**
      * Retrieves business object definition from the herd registration server.
      *
@@ -188,4 +241,17 @@ class RetentionExpirationExporterWebClient extends DataBridgeWebClient
         return (BusinessObjectDefinition) processXmlHttpResponse(httpResponse, "retrieve business object definition from the registration server",
             BusinessObjectDefinition.class);
     }
+
+    /**
+     * Extracts BusinessObjectFormatKeys object from the registration server HTTP response.
+     *
+     * @param httpResponse the response received from the supported options
+     *
+     * @return the BusinessObjectFormatKeys object extracted from the registration server response
+     */
+    private BusinessObjectFormatKeys getBusinessObjectFormatKeys(CloseableHttpResponse httpResponse)
+    {
+        return (BusinessObjectFormatKeys) processXmlHttpResponse(httpResponse, "retrieve business object formats from the registration server",
+            BusinessObjectFormatKeys.class);
+    }
 }
@@ -16,19 +16,25 @@
 package org.finra.herd.tools.retention.exporter;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.IOException;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
 
 import org.apache.commons.io.IOUtils;
 import org.junit.Before;
 import org.junit.Test;
 
 import org.finra.herd.core.helper.LogLevel;
+import org.finra.herd.dao.impl.MockHttpClientOperationsImpl;
 import org.finra.herd.model.api.xml.BusinessObjectDefinition;
+import org.finra.herd.model.dto.ConfigurationValue;
 import org.finra.herd.model.dto.RegServerAccessParamsDto;
 import org.finra.herd.tools.common.databridge.DataBridgeWebClient;
 
@@ -134,4 +140,108 @@ public class RetentionExpirationExporterControllerTest extends AbstractExporterT
         }
         assertEquals(expectedOutputFileContent, outputFileContent);
     }
+
+    @Test
+    public void testPerformRetentionExpirationExportGzip() throws Exception
+    {
+        File outputFile = new File(LOCAL_OUTPUT_FILE + RetentionExpirationExporterController.GZIP_FILE_EXTENSION);
+
+        // Perform the retention expiration export to a gzip compressed output file.
+        retentionExpirationExporterController
+            .performRetentionExpirationExport(NAMESPACE, BUSINESS_OBJECT_DEFINITION_NAME, outputFile, getRegServerAccessParamsDto(), UDC_SERVICE_HOSTNAME);
+
+        // Validate the decompressed output file.
+        String outputFileContent;
+        try (GZIPInputStream inputStream = new GZIPInputStream(new FileInputStream(outputFile)))
+        {
+            outputFileContent = IOUtils.toString(inputStream, StandardCharsets.UTF_8);
+        }
+        assertEquals(getExpectedOutputFileContent(), outputFileContent);
+    }
+
+    @Test
+    public void testPerformRetentionExpirationExportInParallel() throws Exception
+    {
+        File outputFile = new File(LOCAL_OUTPUT_FILE);
+
+        // Export the business object formats in parallel.
+        System.setProperty(ConfigurationValue.RETENTION_EXPIRATION_EXPORTER_MAX_THREADS.getKey(), "2");
+        try
+        {
+            retentionExpirationExporterController
+                .performRetentionExpirationExport(NAMESPACE, BUSINESS_OBJECT_DEFINITION_NAME, outputFile, getRegServerAccessParamsDto(), UDC_SERVICE_HOSTNAME);
+        }
+        finally
+        {
+            System.clearProperty(ConfigurationValue.RETENTION_EXPIRATION_EXPORTER_MAX_THREADS.getKey());
+        }
+
+        // Validate the output file and that the temporary file of the only business object format got deleted.
+        String outputFileContent;
+        try (FileInputStream inputStream = new FileInputStream(outputFile))
+        {
+            outputFileContent = IOUtils.toString(inputStream, Charset.defaultCharset());
+        }
+        assertEquals(getExpectedOutputFileContent(), outputFileContent);
+        assertFalse(new File(LOCAL_OUTPUT_FILE + RetentionExpirationExporterController.PART_FILE_SUFFIX + 0).exists());
+    }
+
+    @Test
+    public void testPerformRetentionExpirationExportSearchFailure() throws Exception
+    {
+        File outputFile = new File(LOCAL_OUTPUT_FILE);
+
+        // Try to perform the retention expiration export when the business object data search fails.
+        RegServerAccessParamsDto regServerAccessParamsDto = getRegServerAccessParamsDto();
+        regServerAccessParamsDto.setRegServerHost(MockHttpClientOperationsImpl.HOSTNAME_THROW_IO_EXCEPTION_DURING_SEARCH_BDATA);
+        try
+        {
+            retentionExpirationExporterController
+                .performRetentionExpirationExport(NAMESPACE, BUSINESS_OBJECT_DEFINITION_NAME, outputFile, regServerAccessParamsDto, UDC_SERVICE_HOSTNAME);
+            fail();
+        }
+        catch (IOException e)
+        {
+            assertEquals(MockHttpClientOperationsImpl.HOSTNAME_THROW_IO_EXCEPTION_DURING_SEARCH_BDATA, e.getMessage());
+        }
+
+        // Validate that no partially written output file was left behind.
+        assertFalse(outputFile.exists());
+    }
+
+    /**
+     * Gets the expected output file content for the business object data returned by the mock business object data search.
+     *
+     * @return the expected output file content
+     */
+    private String getExpectedOutputFileContent()
+    {
+        // Create the expected URI.
+        String expectedUri = String.format("https://%s/data-entities/%s/%s", UDC_SERVICE_HOSTNAME, NAMESPACE, BUSINESS_OBJECT_DEFINITION_NAME);
+
+        // Create the expected output file content.
+        return ("\"Namespace\",\"Business Object Definition Name\",\"Business Object Format Usage\",\"Business Object Format File Type\"," +
+            "\"Business Object Format Version\",\"Primary Partition Value\",\"Sub-Partition Value 1\",\"Sub-Partition Value 2\"," +
+            "\"Sub-Partition Value 3\",\"Sub-Partition Value 4\",\"Business Object Data Version\",\"Business Object Definition Display Name\"," +
+            "\"Business Object Definition URI\"") + System.lineSeparator() + String
+            .format("\"%s\",\"%s\",\"%s\",\"%s\",\"%d\",\"%s\",\"%s\",\"%s\",\"%s\",\"%s\",\"%d\",\"%s\",\"%s\"%n", NAMESPACE,
+                BUSINESS_OBJECT_DEFINITION_NAME, BUSINESS_OBJECT_FORMAT_USAGE, BUSINESS_OBJECT_FORMAT_FILE_TYPE, BUSINESS_OBJECT_FORMAT_VERSION,
+                "primaryPartitionValue", "subPartitionValue1", "subPartitionValue2", "subPartitionValue3", "subPartitionValue4", BUSINESS_OBJECT_DATA_VERSION,
+                BUSINESS_OBJECT_DEFINITION_DISPLAY_NAME, expectedUri) + String
+            .format("\"%s\",\"%s\",\"%s\",\"%s\",\"%d\",\"%s\",\"%s\",\"%s\",\"%s\",\"%s\",\"%d\",\"%s\",\"%s\"%n", NAMESPACE,
+                BUSINESS_OBJECT_DEFINITION_NAME, BUSINESS_OBJECT_FORMAT_USAGE, BUSINESS_OBJECT_FORMAT_FILE_TYPE, BUSINESS_OBJECT_FORMAT_VERSION,
+                "primaryPartitionValue", "", "", "", "", BUSINESS_OBJECT_DATA_VERSION, BUSINESS_OBJECT_DEFINITION_DISPLAY_NAME, expectedUri);
+    }
+
+    /**
+     * Creates and initializes the registration server DTO.
+     *
+     * @return the registration server DTO
+     */
+    private RegServerAccessParamsDto getRegServerAccessParamsDto()
+    {
+        return RegServerAccessParamsDto.builder().withRegServerHost(WEB_SERVICE_HOSTNAME).withRegServerPort(WEB_SERVICE_HTTPS_PORT).withUseSsl(true)
+            .withUsername(WEB_SERVICE_HTTPS_USERNAME).withPassword(WEB_SERVICE_HTTPS_PASSWORD).withTrustSelfSignedCertificate(true)
+            .withDisableHostnameVerification(true).build();
+    }
 }
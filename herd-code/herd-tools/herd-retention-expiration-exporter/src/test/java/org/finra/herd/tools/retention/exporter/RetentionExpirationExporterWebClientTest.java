@@ -27,6 +27,7 @@ import org.finra.herd.dao.impl.MockHttpClientOperationsImpl;
 import org.finra.herd.model.api.xml.BusinessObjectDataSearchRequest;
 import org.finra.herd.model.api.xml.BusinessObjectDataSearchResult;
 import org.finra.herd.model.api.xml.BusinessObjectDefinition;
+import org.finra.herd.model.api.xml.BusinessObjectFormatKeys;
 
 public class RetentionExpirationExporterWebClientTest extends AbstractExporterTest
 {
@@ -61,6 +62,25 @@ public class RetentionExpirationExporterWebClientTest extends AbstractExporterTe
         assertNotNull(result);
     }
 
+    @Test
+    public void testGetBusinessObjectFormats() throws Exception
+    {
+        retentionExpirationExporterWebClient.getRegServerAccessParamsDto().setUseSsl(false);
+        BusinessObjectFormatKeys result = retentionExpirationExporterWebClient.getBusinessObjectFormats(NAMESPACE, BUSINESS_OBJECT_DEFINITION_NAME);
+        assertNotNull(result);
+        assertEquals(1, CollectionUtils.size(result.getBusinessObjectFormatKeys()));
+        assertEquals(NAMESPACE, result.getBusinessObjectFormatKeys().get(0).getNamespace());
+        assertEquals(BUSINESS_OBJECT_DEFINITION_NAME, result.getBusinessObjectFormatKeys().get(0).getBusinessObjectDefinitionName());
+    }
+
+    @Test
+    public void testGetBusinessObjectFormatsUseSsl() throws Exception
+    {
+        retentionExpirationExporterWebClient.getRegServerAccessParamsDto().setUseSsl(true);
+        BusinessObjectFormatKeys result = retentionExpirationExporterWebClient.getBusinessObjectFormats(NAMESPACE, BUSINESS_OBJECT_DEFINITION_NAME);
+        assertNotNull(result);
+    }
+
     @Test
     public void testSearchBusinessObjectDataException() throws Exception
     {
@@ -18,6 +18,7 @@ package org.finra.herd.tools.common.config;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import org.finra.herd.dao.MetricsRegistry;
 import org.finra.herd.service.advice.StopWatchAdvice;
 
 /**
@@ -26,6 +27,13 @@ import org.finra.herd.service.advice.StopWatchAdvice;
 @Configuration
 public class DataBridgeAopSpringModuleConfig
 {
+    // This dependency is required when StopWatchAdvice is used.
+    @Bean
+    public MetricsRegistry metricsRegistry()
+    {
+        return new MetricsRegistry();
+    }
+
     @Bean
     public StopWatchAdvice stopWatchAdvice()
     {
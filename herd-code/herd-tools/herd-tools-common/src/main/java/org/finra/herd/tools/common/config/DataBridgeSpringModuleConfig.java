@@ -21,9 +21,12 @@ import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.FilterType;
 import org.springframework.context.annotation.Import;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
 
 import org.finra.herd.core.helper.ConfigurationHelper;
 import org.finra.herd.dao.RetryPolicyFactory;
+import org.finra.herd.dao.S3ClientCache;
 import org.finra.herd.dao.S3Dao;
 import org.finra.herd.dao.SimpleExponentialBackoffStrategy;
 import org.finra.herd.dao.StsDao;
@@ -38,6 +41,7 @@ import org.finra.herd.service.S3Service;
 import org.finra.herd.service.helper.AlternateKeyHelper;
 import org.finra.herd.service.helper.BusinessObjectDataHelper;
 import org.finra.herd.service.helper.StorageFileHelper;
+import org.finra.herd.service.helper.StorageFileManifestHelper;
 import org.finra.herd.service.helper.StorageHelper;
 import org.finra.herd.service.helper.StorageUnitHelper;
 import org.finra.herd.service.impl.S3ServiceImpl;
@@ -117,12 +121,26 @@ public class DataBridgeSpringModuleConfig
         return new RetryPolicyFactory();
     }
 
+    // This dependency is required when S3Dao is used.
+    @Bean
+    public S3ClientCache s3ClientCache()
+    {
+        return new S3ClientCache();
+    }
+
     @Bean
     public S3Dao s3Dao()
     {
         return new S3DaoImpl();
     }
 
+    // This dependency is required when S3Dao is used. The tools do not tag S3 objects, so there is no need for a thread pool.
+    @Bean
+    public TaskExecutor s3ObjectTaggingTaskExecutor()
+    {
+        return new SyncTaskExecutor();
+    }
+
     @Bean
     public S3Service s3Service()
     {
@@ -135,6 +153,13 @@ public class DataBridgeSpringModuleConfig
         return new StorageFileHelper();
     }
 
+    // This dependency is required when StorageFileHelper is used.
+    @Bean
+    public StorageFileManifestHelper storageFileManifestHelper()
+    {
+        return new StorageFileManifestHelper();
+    }
+
     @Bean
     public StorageHelper storageHelper()
     {
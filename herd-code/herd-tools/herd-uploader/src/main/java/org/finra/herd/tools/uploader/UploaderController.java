@@ -85,6 +85,9 @@ public class UploaderController extends DataBridgeController
     @Autowired
     private StorageHelper storageHelper;
 
+    @Autowired
+    private UploaderMultipartUploadEngine uploaderMultipartUploadEngine;
+
     @Autowired
     private UploaderWebClient uploaderWebClient;
 
@@ -203,7 +206,7 @@ public class UploaderController extends DataBridgeController
             }
 
             // Upload files.
-            s3Service.uploadFileList(params);
+            uploaderMultipartUploadEngine.uploadFileList(params);
 
             // Get the list of files uploaded to S3 key prefix.
             if (LOGGER.isInfoEnabled())
@@ -0,0 +1,472 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.tools.uploader;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.text.DecimalFormat;
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.amazonaws.services.s3.model.PartETag;
+import org.apache.commons.codec.binary.Base64;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import org.finra.herd.core.helper.ConfigurationHelper;
+import org.finra.herd.dao.helper.AwsHelper;
+import org.finra.herd.model.dto.ConfigurationValue;
+import org.finra.herd.model.dto.S3FileTransferRequestParamsDto;
+import org.finra.herd.model.dto.S3FileTransferResultsDto;
+import org.finra.herd.service.S3Service;
+
+/**
+ * Uploads a list of local files to S3 using multipart uploads. Each file larger than the configured part size is split into parts of that size and the parts
+ * of all the files are uploaded in parallel using up to maxThreads threads. The MD5 and SHA-256 checksums of each part are computed in a single pass over the
+ * memory-mapped part data before the part gets uploaded, so S3 validates every part it receives. Files that fit in a single part are uploaded by the transfer
+ * manager with a single PUT request each. If the upload fails, the multipart uploads that did not complete are aborted, so S3 frees the storage used by their
+ * parts.
+ */
+@Component
+public class UploaderMultipartUploadEngine
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(UploaderMultipartUploadEngine.class);
+
+    /**
+     * The maximum number of parts allowed by S3 for a single multipart upload.
+     */
+    private static final int MAX_PART_COUNT = 10000;
+
+    private static final int DIGEST_BUFFER_SIZE = 64 * 1024;
+
+    @Autowired
+    private AwsHelper awsHelper;
+
+    @Autowired
+    private ConfigurationHelper configurationHelper;
+
+    @Autowired
+    private S3Service s3Service;
+
+    /**
+     * Uploads a list of local files into S3. The S3 key of each file is calculated relative to the local path and the S3 key prefix. The files that are not
+     * larger than the configured part size are uploaded first using a single PUT request each, then the remaining files are uploaded using multipart uploads.
+     *
+     * @param params the S3 file transfer request parameters. The S3 bucket name, S3 key prefix, and the file list (files) are for the target of the upload.
+     * The local path is the common parent directory of the local files. The maximum number of threads limits the number of parts uploaded in parallel.
+     *
+     * @return the file transfer results
+     * @throws InterruptedException if the upload thread was interrupted
+     */
+    public S3FileTransferResultsDto uploadFileList(S3FileTransferRequestParamsDto params) throws InterruptedException
+    {
+        long configuredPartSize = configurationHelper.getProperty(ConfigurationValue.UPLOADER_MULTIPART_UPLOAD_PART_SIZE_BYTES, Integer.class).longValue();
+        File localDirectory = new File(params.getLocalPath()).getAbsoluteFile();
+        long startTimeMillis = System.currentTimeMillis();
+
+        // A multipart upload of a file that fits in a single part would take three requests instead of one, so such files are uploaded with a single PUT.
+        List<File> singlePartFiles = new ArrayList<>();
+        List<File> multipartFiles = new ArrayList<>();
+        for (File file : params.getFiles())
+        {
+            if (file.length() <= configuredPartSize)
+            {
+                singlePartFiles.add(file);
+            }
+            else
+            {
+                multipartFiles.add(file);
+            }
+        }
+
+        AtomicLong totalBytesTransferred = new AtomicLong();
+        if (!singlePartFiles.isEmpty())
+        {
+            S3FileTransferRequestParamsDto singlePartParams = params.newCopyBuilder().withFiles(singlePartFiles).build();
+            totalBytesTransferred.addAndGet(s3Service.uploadFileList(singlePartParams).getTotalBytesTransferred());
+        }
+
+        LOGGER.info("Uploading a list of files to S3 using multipart uploads... localDirectory=\"{}\" s3KeyPrefix=\"{}\" s3BucketName=\"{}\" s3KeyCount={} " +
+            "partSizeBytes={} maxThreads={}", localDirectory, params.getS3KeyPrefix(), params.getS3BucketName(), multipartFiles.size(), configuredPartSize,
+            params.getMaxThreads());
+
+        ExecutorService executorService = Executors.newFixedThreadPool(params.getMaxThreads());
+        Map<String, S3FileTransferRequestParamsDto> incompleteUploads = new ConcurrentHashMap<>();
+
+        try
+        {
+            List<Future<Void>> futures = new ArrayList<>();
+
+            for (File file : multipartFiles)
+            {
+                futures.add(uploadFile(params, localDirectory, file, configuredPartSize, executorService, incompleteUploads, totalBytesTransferred));
+            }
+
+            for (Future<Void> future : futures)
+            {
+                try
+                {
+                    future.get();
+                }
+                catch (ExecutionException e)
+                {
+                    Throwable cause = e.getCause() instanceof CompletionException ? e.getCause().getCause() : e.getCause();
+                    if (cause instanceof RuntimeException)
+                    {
+                        throw (RuntimeException) cause;
+                    }
+                    throw new IllegalStateException(cause);
+                }
+            }
+        }
+        finally
+        {
+            executorService.shutdownNow();
+
+            // Abort the multipart uploads that did not complete, since there is no way to resume them.
+            for (Map.Entry<String, S3FileTransferRequestParamsDto> entry : incompleteUploads.entrySet())
+            {
+                abortUpload(entry.getValue(), entry.getKey());
+            }
+        }
+
+        S3FileTransferResultsDto results = new S3FileTransferResultsDto();
+        results.setTotalFilesTransferred((long) params.getFiles().size());
+        results.setTotalBytesTransferred(totalBytesTransferred.get());
+        results.setDurationMillis(System.currentTimeMillis() - startTimeMillis);
+
+        if (LOGGER.isInfoEnabled())
+        {
+            NumberFormat formatter = new DecimalFormat("#0.00");
+
+            LOGGER.info("Uploaded list of files to S3 using multipart uploads. s3KeyPrefix=\"{}\" s3BucketName=\"{}\" s3KeyCount={} totalBytesTransferred={} " +
+                "transferDurationMillis={} overallTransferRateKiloBytesPerSecond={} overallTransferRateMegaBitsPerSecond={}", params.getS3KeyPrefix(),
+                params.getS3BucketName(), results.getTotalFilesTransferred(), results.getTotalBytesTransferred(), results.getDurationMillis(),
+                formatter.format(awsHelper.getTransferRateInKilobytesPerSecond(results.getTotalBytesTransferred(), results.getDurationMillis())),
+                formatter.format(awsHelper.getTransferRateInMegabitsPerSecond(results.getTotalBytesTransferred(), results.getDurationMillis())));
+        }
+
+        return results;
+    }
+
+    /**
+     * Starts a multipart upload of a single local file and submits its parts for upload. The multipart upload gets completed on the thread
+     * that uploads the last part of the file.
+     *
+     * @param params the S3 file transfer request parameters
+     * @param localDirectory the common parent directory of the local files
+     * @param file the local file to upload
+     * @param configuredPartSize the configured part size in bytes
+     * @param executorService the executor service to upload the parts with
+     * @param incompleteUploads the S3 file transfer request parameters of the multipart uploads that are not completed yet keyed by upload ID
+     * @param totalBytesTransferred the counter of the bytes uploaded to S3
+     *
+     * @return the future that completes once the multipart upload of the file is completed
+     */
+    private CompletableFuture<Void> uploadFile(S3FileTransferRequestParamsDto params, File localDirectory, File file, long configuredPartSize,
+        ExecutorService executorService, Map<String, S3FileTransferRequestParamsDto> incompleteUploads, AtomicLong totalBytesTransferred)
+    {
+        String s3Key = StringUtils.appendIfMissing(params.getS3KeyPrefix(), "/") +
+            localDirectory.toPath().relativize(file.getAbsoluteFile().toPath()).toString().replace('\\', '/');
+        S3FileTransferRequestParamsDto fileParams = params.newCopyBuilder().withS3KeyPrefix(s3Key).withLocalPath(file.getPath()).build();
+
+        // Grow the part size if needed to stay within the maximum number of parts allowed by S3.
+        long fileSize = file.length();
+        long partSize = Math.max(configuredPartSize, (fileSize + MAX_PART_COUNT - 1) / MAX_PART_COUNT);
+        int partCount = fileSize == 0 ? 1 : (int) ((fileSize + partSize - 1) / partSize);
+
+        String uploadId = s3Service.initiateMultipartUpload(fileParams);
+        incompleteUploads.put(uploadId, fileParams);
+
+        CompletedPart[] parts = new CompletedPart[partCount];
+        List<CompletableFuture<Void>> partFutures = new ArrayList<>();
+        long startTimeMillis = System.currentTimeMillis();
+
+        for (int partNumber = 1; partNumber <= partCount; partNumber++)
+        {
+            int partIndex = partNumber - 1;
+            long partOffset = partIndex * partSize;
+            long partLength = Math.min(partSize, fileSize - partOffset);
+
+            int finalPartNumber = partNumber;
+            partFutures.add(CompletableFuture.runAsync(
+                () -> parts[partIndex] = uploadPart(fileParams, uploadId, finalPartNumber, partOffset, partLength, totalBytesTransferred), executorService));
+        }
+
+        return CompletableFuture.allOf(partFutures.toArray(new CompletableFuture<?>[partFutures.size()]))
+            .thenRun(() -> completeUpload(fileParams, uploadId, parts, fileSize, startTimeMillis, incompleteUploads));
+    }
+
+    /**
+     * Uploads a single part of a local file. The part data is memory-mapped and its MD5 and SHA-256 checksums are computed in a single pass over it. The part
+     * is then uploaded straight from the mapped memory along with its MD5 checksum, which S3 uses to validate the received data.
+     *
+     * @param fileParams the S3 file transfer request parameters of the file
+     * @param uploadId the upload ID of the multipart upload
+     * @param partNumber the part number
+     * @param partOffset the offset of the part within the local file
+     * @param partLength the length of the part in bytes
+     * @param totalBytesTransferred the counter of the bytes uploaded to S3
+     *
+     * @return the uploaded part
+     */
+    private CompletedPart uploadPart(S3FileTransferRequestParamsDto fileParams, String uploadId, int partNumber, long partOffset, long partLength,
+        AtomicLong totalBytesTransferred)
+    {
+        try (FileChannel fileChannel = FileChannel.open(new File(fileParams.getLocalPath()).toPath(), StandardOpenOption.READ))
+        {
+            MappedByteBuffer mappedByteBuffer = fileChannel.map(FileChannel.MapMode.READ_ONLY, partOffset, partLength);
+
+            MessageDigest md5MessageDigest = DigestUtils.getMd5Digest();
+            MessageDigest sha256MessageDigest = DigestUtils.getSha256Digest();
+            ByteBuffer digestBuffer = mappedByteBuffer.duplicate();
+            byte[] buffer = new byte[(int) Math.min(DIGEST_BUFFER_SIZE, partLength)];
+            while (digestBuffer.hasRemaining())
+            {
+                int length = Math.min(buffer.length, digestBuffer.remaining());
+                digestBuffer.get(buffer, 0, length);
+                md5MessageDigest.update(buffer, 0, length);
+                sha256MessageDigest.update(buffer, 0, length);
+            }
+            byte[] md5Digest = md5MessageDigest.digest();
+            byte[] sha256Digest = sha256MessageDigest.digest();
+
+            String eTag = s3Service.uploadPart(fileParams, uploadId, partNumber, new ByteBufferInputStream(mappedByteBuffer), partLength,
+                Base64.encodeBase64String(md5Digest));
+
+            CompletedPart completedPart = new CompletedPart(partNumber, eTag, md5Digest, sha256Digest);
+            totalBytesTransferred.addAndGet(partLength);
+
+            LOGGER.debug("Uploaded part. localFile=\"{}\" s3Key=\"{}\" uploadId=\"{}\" partNumber={} partSizeBytes={}", fileParams.getLocalPath(),
+                fileParams.getS3KeyPrefix(), uploadId, partNumber, partLength);
+
+            return completedPart;
+        }
+        catch (IOException e)
+        {
+            throw new IllegalStateException(String
+                .format("Failed to upload part %d of \"%s\" local file to S3 key \"%s\". Reason: %s", partNumber, fileParams.getLocalPath(),
+                    fileParams.getS3KeyPrefix(), e.getMessage()), e);
+        }
+    }
+
+    /**
+     * Completes the multipart upload of a local file. Unless the S3 object is encrypted with a KMS key, the ETag returned by S3 is validated against the
+     * composite MD5 checksum of the uploaded parts.
+     *
+     * @param fileParams the S3 file transfer request parameters of the file
+     * @param uploadId the upload ID of the multipart upload
+     * @param parts the uploaded parts ordered by part number
+     * @param fileSize the size of the local file in bytes
+     * @param startTimeMillis the time the upload of the file was started at
+     * @param incompleteUploads the S3 file transfer request parameters of the multipart uploads that are not completed yet keyed by upload ID
+     */
+    private void completeUpload(S3FileTransferRequestParamsDto fileParams, String uploadId, CompletedPart[] parts, long fileSize, long startTimeMillis,
+        Map<String, S3FileTransferRequestParamsDto> incompleteUploads)
+    {
+        List<PartETag> partETags = new ArrayList<>();
+        ByteArrayOutputStream md5Digests = new ByteArrayOutputStream();
+        ByteArrayOutputStream sha256Digests = new ByteArrayOutputStream();
+        for (CompletedPart part : parts)
+        {
+            partETags.add(new PartETag(part.getPartNumber(), part.getETag()));
+            byte[] md5Digest = part.getMd5Digest();
+            md5Digests.write(md5Digest, 0, md5Digest.length);
+            byte[] sha256Digest = part.getSha256Digest();
+            sha256Digests.write(sha256Digest, 0, sha256Digest.length);
+        }
+
+        String eTag = s3Service.completeMultipartUpload(fileParams, uploadId, partETags);
+        incompleteUploads.remove(uploadId);
+
+        // S3 computes the ETag of a multipart upload as the MD5 checksum of the concatenated part MD5 checksums followed by the number of parts.
+        String compositeMd5 = DigestUtils.md5Hex(md5Digests.toByteArray()) + "-" + parts.length;
+        String compositeSha256 = DigestUtils.sha256Hex(sha256Digests.toByteArray()) + "-" + parts.length;
+        if (fileParams.getKmsKeyId() == null && !compositeMd5.equals(stripQuotes(eTag)))
+        {
+            throw new IllegalStateException(String
+                .format("The ETag \"%s\" of S3 key \"%s\" does not match the \"%s\" composite MD5 checksum of \"%s\" local file.", eTag,
+                    fileParams.getS3KeyPrefix(), compositeMd5, fileParams.getLocalPath()));
+        }
+
+        if (LOGGER.isInfoEnabled())
+        {
+            long durationMillis = System.currentTimeMillis() - startTimeMillis;
+            NumberFormat formatter = new DecimalFormat("#0.00");
+
+            LOGGER.info("Uploaded file. localFile=\"{}\" s3Key=\"{}\" fileSizeBytes={} partCount={} compositeMd5=\"{}\" compositeSha256=\"{}\" " +
+                "transferDurationMillis={} transferRateMegaBitsPerSecond={}", fileParams.getLocalPath(), fileParams.getS3KeyPrefix(), fileSize, parts.length,
+                compositeMd5, compositeSha256, durationMillis, formatter.format(awsHelper.getTransferRateInMegabitsPerSecond(fileSize, durationMillis)));
+        }
+    }
+
+    /**
+     * Aborts a multipart upload of a local file. A failure to abort the multipart upload is only logged, so it does not hide the reason the upload failed.
+     *
+     * @param fileParams the S3 file transfer request parameters of the file
+     * @param uploadId the upload ID of the multipart upload
+     */
+    private void abortUpload(S3FileTransferRequestParamsDto fileParams, String uploadId)
+    {
+        try
+        {
+            s3Service.abortMultipartUpload(fileParams, uploadId);
+
+            LOGGER.info("Aborted multipart upload. localFile=\"{}\" s3Key=\"{}\" uploadId=\"{}\"", fileParams.getLocalPath(), fileParams.getS3KeyPrefix(),
+                uploadId);
+        }
+        catch (RuntimeException e)
+        {
+            LOGGER.warn("Failed to abort multipart upload. localFile=\"{}\" s3Key=\"{}\" uploadId=\"{}\"", fileParams.getLocalPath(),
+                fileParams.getS3KeyPrefix(), uploadId, e);
+        }
+    }
+
+    /**
+     * Removes the surrounding double quotes from an ETag, if any.
+     *
+     * @param eTag the ETag
+     *
+     * @return the ETag without the surrounding double quotes
+     */
+    private String stripQuotes(String eTag)
+    {
+        return StringUtils.strip(eTag, "\"");
+    }
+
+    /**
+     * An input stream over a byte buffer, which supports mark and reset so that the AWS SDK can retry a failed part upload without copying the part data.
+     */
+    private static class ByteBufferInputStream extends InputStream
+    {
+        private final ByteBuffer byteBuffer;
+
+        private ByteBufferInputStream(ByteBuffer byteBuffer)
+        {
+            this.byteBuffer = byteBuffer;
+        }
+
+        @Override
+        public int read()
+        {
+            return byteBuffer.hasRemaining() ? byteBuffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length)
+        {
+            if (length == 0)
+            {
+                return 0;
+            }
+            if (!byteBuffer.hasRemaining())
+            {
+                return -1;
+            }
+
+            int bytesRead = Math.min(length, byteBuffer.remaining());
+            byteBuffer.get(bytes, offset, bytesRead);
+            return bytesRead;
+        }
+
+        @Override
+        public int available()
+        {
+            return byteBuffer.remaining();
+        }
+
+        @Override
+        public boolean markSupported()
+        {
+            return true;
+        }
+
+        @Override
+        public synchronized void mark(int readLimit)
+        {
+            byteBuffer.mark();
+        }
+
+        @Override
+        public synchronized void reset()
+        {
+            byteBuffer.reset();
+        }
+    }
+
+    /**
+     * An uploaded part of a multipart upload along with the checksums of its data.
+     */
+    private static class CompletedPart
+    {
+        private final int partNumber;
+
+        private final String eTag;
+
+        private final byte[] md5Digest;
+
+        private final byte[] sha256Digest;
+
+        private CompletedPart(int partNumber, String eTag, byte[] md5Digest, byte[] sha256Digest)
+        {
+            this.partNumber = partNumber;
+            this.eTag = eTag;
+            this.md5Digest = md5Digest;
+            this.sha256Digest = sha256Digest;
+        }
+
+        private int getPartNumber()
+        {
+            return partNumber;
+        }
+
+        private String getETag()
+        {
+            return eTag;
+        }
+
+        private byte[] getMd5Digest()
+        {
+            return md5Digest;
+        }
+
+        private byte[] getSha256Digest()
+        {
+            return sha256Digest;
+        }
+    }
+}
@@ -0,0 +1,215 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.tools.uploader;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import org.finra.herd.dao.impl.MockS3OperationsImpl;
+import org.finra.herd.model.dto.ConfigurationValue;
+import org.finra.herd.model.dto.S3FileTransferRequestParamsDto;
+import org.finra.herd.model.dto.S3FileTransferResultsDto;
+
+/**
+ * Unit tests for UploaderMultipartUploadEngine class.
+ */
+public class UploaderMultipartUploadEngineTest extends AbstractUploaderTest
+{
+    private static final long TEST_PART_SIZE_BYTES = 100L;
+
+    @Autowired
+    private UploaderMultipartUploadEngine uploaderMultipartUploadEngine;
+
+    @Before
+    public void setPartSize()
+    {
+        // Use a small part size, so each test file gets uploaded as multiple parts.
+        System.setProperty(ConfigurationValue.UPLOADER_MULTIPART_UPLOAD_PART_SIZE_BYTES.getKey(), String.valueOf(TEST_PART_SIZE_BYTES));
+    }
+
+    @After
+    public void clearPartSize()
+    {
+        System.clearProperty(ConfigurationValue.UPLOADER_MULTIPART_UPLOAD_PART_SIZE_BYTES.getKey());
+    }
+
+    @Test
+    public void testUploadFileList() throws Exception
+    {
+        // Create local test files with non-uniform content, so parts assembled out of order would get detected.
+        List<File> files = createTestFiles(LOCAL_FILES);
+
+        S3FileTransferResultsDto results = uploaderMultipartUploadEngine.uploadFileList(getTestParams(files, 4));
+
+        // Validate the results.
+        assertEquals(Long.valueOf(files.size()), results.getTotalFilesTransferred());
+        assertEquals(Long.valueOf(files.size() * FILE_SIZE_1_KB), results.getTotalBytesTransferred());
+        assertNotNull(results.getDurationMillis());
+
+        // Validate the uploaded S3 files against the local files.
+        validateUploadedFiles(files);
+    }
+
+    @Test
+    public void testUploadFileListEmptyFile() throws Exception
+    {
+        File file = createLocalFile(LOCAL_TEMP_PATH_INPUT.toString(), LOCAL_FILE, 0);
+
+        S3FileTransferResultsDto results = uploaderMultipartUploadEngine.uploadFileList(getTestParams(Arrays.asList(file), 1));
+
+        assertEquals(Long.valueOf(1), results.getTotalFilesTransferred());
+        assertEquals(Long.valueOf(0), results.getTotalBytesTransferred());
+        validateUploadedFiles(Arrays.asList(file));
+    }
+
+    @Test
+    public void testUploadFileListSinglePartFiles() throws Exception
+    {
+        // Use a part size that is large enough for the test files to fit in a single part.
+        System.setProperty(ConfigurationValue.UPLOADER_MULTIPART_UPLOAD_PART_SIZE_BYTES.getKey(), String.valueOf(FILE_SIZE_1_KB));
+
+        List<File> files = createTestFiles(LOCAL_FILES);
+
+        S3FileTransferResultsDto results = uploaderMultipartUploadEngine.uploadFileList(getTestParams(files, 4));
+
+        // Validate the results.
+        assertEquals(Long.valueOf(files.size()), results.getTotalFilesTransferred());
+        assertEquals(Long.valueOf(files.size() * FILE_SIZE_1_KB), results.getTotalBytesTransferred());
+
+        // Validate the uploaded S3 files against the local files.
+        validateUploadedFiles(files);
+    }
+
+    @Test
+    public void testUploadFileListPartUploadFailure() throws Exception
+    {
+        // The mock S3 operations fail to upload all parts but the first one of this file.
+        List<File> files = createTestFiles(Arrays.asList(LOCAL_FILE + MockS3OperationsImpl.MOCK_S3_FILE_NAME_SERVICE_EXCEPTION));
+
+        String uploadId = null;
+        try
+        {
+            uploaderMultipartUploadEngine.uploadFileList(getTestParams(files, 1));
+            fail();
+        }
+        catch (IllegalStateException e)
+        {
+            assertTrue(e.getMessage().startsWith("Failed to upload part 2 of multipart upload"));
+            uploadId = StringUtils.substringBetween(e.getMessage(), "\"");
+        }
+
+        // Validate that the multipart upload got aborted, so S3 no longer accepts parts for it.
+        S3FileTransferRequestParamsDto fileParams = getTestS3FileTransferRequestParamsDto(S3_SIMPLE_TEST_PATH + "/" + files.get(0).getName());
+        byte[] partData = new byte[1];
+        try
+        {
+            s3Service.uploadPart(fileParams, uploadId, 1, new ByteArrayInputStream(partData), partData.length, null);
+            fail();
+        }
+        catch (IllegalStateException e)
+        {
+            assertTrue(e.getMessage().contains("NoSuchUpload"));
+        }
+    }
+
+    /**
+     * Creates local test files with non-uniform content in the local input directory.
+     *
+     * @param fileNames the file names relative to the local input directory
+     *
+     * @return the list of the created files
+     * @throws Exception if any problems were encountered
+     */
+    private List<File> createTestFiles(List<String> fileNames) throws Exception
+    {
+        byte[] data = new byte[(int) FILE_SIZE_1_KB];
+        for (int i = 0; i < data.length; i++)
+        {
+            data[i] = (byte) i;
+        }
+
+        File[] files = new File[fileNames.size()];
+        for (int i = 0; i < files.length; i++)
+        {
+            files[i] = createLocalFile(LOCAL_TEMP_PATH_INPUT.toString(), fileNames.get(i), FILE_SIZE_1_KB);
+            data[0] = (byte) i;
+            Files.write(files[i].toPath(), data);
+        }
+
+        return Arrays.asList(files);
+    }
+
+    /**
+     * Gets the S3 file transfer request parameters to upload the specified files to the test S3 key prefix.
+     *
+     * @param files the local files
+     * @param maxThreads the maximum number of threads
+     *
+     * @return the S3 file transfer request parameters
+     */
+    private S3FileTransferRequestParamsDto getTestParams(List<File> files, int maxThreads)
+    {
+        S3FileTransferRequestParamsDto params = getTestS3FileTransferRequestParamsDto(S3_SIMPLE_TEST_PATH + "/");
+        params.setFiles(files);
+        params.setMaxThreads(maxThreads);
+        return params;
+    }
+
+    /**
+     * Validates that the specified local files got uploaded to the test S3 key prefix with the same content.
+     *
+     * @param files the local files
+     *
+     * @throws Exception if any problems were encountered
+     */
+    private void validateUploadedFiles(List<File> files) throws Exception
+    {
+        Map<String, S3ObjectSummary> s3ObjectSummaries = new HashMap<>();
+        for (S3ObjectSummary s3ObjectSummary : s3Service.listDirectory(getTestS3FileTransferRequestParamsDto(S3_SIMPLE_TEST_PATH + "/")))
+        {
+            s3ObjectSummaries.put(s3ObjectSummary.getKey(), s3ObjectSummary);
+        }
+
+        assertEquals(files.size(), s3ObjectSummaries.size());
+        for (File file : files)
+        {
+            String s3Key = S3_SIMPLE_TEST_PATH + "/" +
+                LOCAL_TEMP_PATH_INPUT.toFile().getAbsoluteFile().toPath().relativize(file.getAbsoluteFile().toPath()).toString().replace('\\', '/');
+            S3ObjectSummary s3ObjectSummary = s3ObjectSummaries.get(s3Key);
+            assertNotNull(s3Key, s3ObjectSummary);
+            assertEquals(file.length(), s3ObjectSummary.getSize());
+            assertEquals(DigestUtils.md5Hex(Files.readAllBytes(file.toPath())), s3ObjectSummary.getETag());
+        }
+    }
+}